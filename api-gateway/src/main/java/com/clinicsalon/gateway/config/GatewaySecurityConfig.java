@@ -0,0 +1,22 @@
+package com.clinicsalon.gateway.config;
+
+import com.clinicsalon.security.gateway.GatewayHeaderSigner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class GatewaySecurityConfig {
+
+    /**
+     * Assina os cabeçalhos de identidade repassados aos microsserviços
+     */
+    @Bean
+    public GatewayHeaderSigner gatewayHeaderSigner(
+            @Value("${clinicsalon.security.gateway.signing-key}") String signingKey,
+            @Value("${clinicsalon.security.gateway.max-age:60s}") Duration maxAge) {
+        return new GatewayHeaderSigner(signingKey, maxAge);
+    }
+}
@@ -1,6 +1,8 @@
 package com.clinicsalon.gateway.filter;
 
 import com.clinicsalon.gateway.security.JwtUtil;
+import com.clinicsalon.security.gateway.GatewayHeaderSigner;
+import com.clinicsalon.security.gateway.GatewayHeaders;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -18,20 +20,28 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
 
     private final JwtUtil jwtUtil;
     private final RouteValidator routeValidator;
+    private final GatewayHeaderSigner headerSigner;
 
-    public AuthenticationFilter(JwtUtil jwtUtil, RouteValidator routeValidator) {
+    public AuthenticationFilter(JwtUtil jwtUtil, RouteValidator routeValidator, GatewayHeaderSigner headerSigner) {
         super(Config.class);
         this.jwtUtil = jwtUtil;
         this.routeValidator = routeValidator;
+        this.headerSigner = headerSigner;
     }
 
     @Override
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
             ServerHttpRequest request = exchange.getRequest();
+            boolean secured = routeValidator.isSecured.test(request);
+
+            // Cabeçalhos de identidade só podem vir do próprio gateway
+            request = request.mutate()
+                    .headers(headers -> GatewayHeaders.ALL.forEach(headers::remove))
+                    .build();
 
             // Verificar se a rota está isenta de autenticação
-            if (routeValidator.isSecured.test(request)) {
+            if (secured) {
                 if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
                     log.error("Authorization header is missing");
                     return onError(exchange, HttpStatus.UNAUTHORIZED);
@@ -52,10 +62,13 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
                     String username = jwtUtil.extractUsername(token);
                     String roles = jwtUtil.extractRoles(token);
                     
-                    // Adicionar claims como headers para os microsserviços
-                    ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
-                            .header("X-User-Name", username)
-                            .header("X-User-Roles", roles)
+                    // Adicionar claims como headers assinados para os microsserviços
+                    long timestamp = System.currentTimeMillis();
+                    ServerHttpRequest modifiedRequest = request.mutate()
+                            .header(GatewayHeaders.USER_NAME, username)
+                            .header(GatewayHeaders.USER_ROLES, roles)
+                            .header(GatewayHeaders.TIMESTAMP, String.valueOf(timestamp))
+                            .header(GatewayHeaders.SIGNATURE, headerSigner.sign(username, roles, timestamp))
                             .build();
                     
                     return chain.filter(exchange.mutate().request(modifiedRequest).build());
@@ -65,7 +78,7 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
                 }
             }
             
-            return chain.filter(exchange);
+            return chain.filter(exchange.mutate().request(request).build());
         };
     }
 
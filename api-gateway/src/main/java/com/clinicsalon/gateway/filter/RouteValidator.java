@@ -13,6 +13,8 @@ public class RouteValidator {
     public static final List<String> openApiEndpoints = List.of(
             "/auth/register",
             "/auth/login",
+            // O access token pode já ter expirado; o refresh token é validado pelo auth-service
+            "/auth/refresh",
             "/actuator/**",
             "/eureka/**"
     );
@@ -1,9 +1,8 @@
 package com.clinicsalon.gateway.security;
 
+import com.clinicsalon.security.jwt.JwtKeys;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -81,7 +80,7 @@ public class JwtUtil {
     }
 
     private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        // Mesma derivação de chave usada pelo auth-service ao emitir o token
+        return JwtKeys.signingKey(secretKey);
     }
 }
@@ -1,9 +1,12 @@
 package com.clinicsalon.gateway.filter;
 
 import com.clinicsalon.gateway.security.JwtUtil;
+import com.clinicsalon.security.gateway.GatewayHeaderSigner;
+import com.clinicsalon.security.gateway.GatewayHeaders;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
@@ -16,9 +19,12 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
@@ -41,6 +47,8 @@ public class AuthenticationFilterTest {
     private GatewayFilterChain filterChain;
 
     private ServerWebExchange exchange;
+
+    private final GatewayHeaderSigner headerSigner = new GatewayHeaderSigner("test-signing-key", Duration.ofSeconds(60));
     
     private static final String VALID_TOKEN = "valid.jwt.token";
     private static final String USERNAME = "testuser";
@@ -52,7 +60,7 @@ public class AuthenticationFilterTest {
         // Mock do predicato isSecured com lenient() para evitar UnnecessaryStubbingException
         routeValidator.isSecured = mock(Predicate.class);
         
-        authenticationFilter = new AuthenticationFilter(jwtUtil, routeValidator);
+        authenticationFilter = new AuthenticationFilter(jwtUtil, routeValidator, headerSigner);
         
         // Configuração padrão do filterChain que será usada em todos os testes
         lenient().when(filterChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
@@ -207,7 +215,42 @@ public class AuthenticationFilterTest {
                 .verify();
         
         // Verificar que o filtro adicionou os headers esperados e continuou a chain
-        verify(filterChain).filter(any(ServerWebExchange.class));
+        ArgumentCaptor<ServerWebExchange> forwarded = ArgumentCaptor.forClass(ServerWebExchange.class);
+        verify(filterChain).filter(forwarded.capture());
+        HttpHeaders headers = forwarded.getValue().getRequest().getHeaders();
+        assertEquals(USERNAME, headers.getFirst(GatewayHeaders.USER_NAME));
+        assertEquals(ROLES, headers.getFirst(GatewayHeaders.USER_ROLES));
+        assertTrue(headerSigner.verify(USERNAME, ROLES, headers.getFirst(GatewayHeaders.TIMESTAMP),
+                headers.getFirst(GatewayHeaders.SIGNATURE), System.currentTimeMillis()));
+    }
+
+    @Test
+    public void testFilter_OpenEndpoint_StripsSpoofedIdentityHeaders() {
+        // Arrange
+        // Cliente tentando se passar por administrador com cabeçalhos forjados
+        MockServerHttpRequest request = MockServerHttpRequest
+                .get("http://localhost:8080/auth/login")
+                .header(GatewayHeaders.USER_NAME, "admin")
+                .header(GatewayHeaders.USER_ROLES, "ROLE_ADMIN")
+                .header(GatewayHeaders.SIGNATURE, "forged")
+                .build();
+        exchange = MockServerWebExchange.from(request);
+        lenient().when(routeValidator.isSecured.test(request)).thenReturn(false);
+
+        GatewayFilter filter = authenticationFilter.apply(new AuthenticationFilter.Config());
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, filterChain))
+                .expectComplete()
+                .verify();
+
+        // Assert
+        ArgumentCaptor<ServerWebExchange> forwarded = ArgumentCaptor.forClass(ServerWebExchange.class);
+        verify(filterChain).filter(forwarded.capture());
+        HttpHeaders headers = forwarded.getValue().getRequest().getHeaders();
+        assertNull(headers.getFirst(GatewayHeaders.USER_NAME));
+        assertNull(headers.getFirst(GatewayHeaders.USER_ROLES));
+        assertNull(headers.getFirst(GatewayHeaders.SIGNATURE));
     }
     
     // Não precisamos mais deste método auxiliar porque estamos usando o assertEquals do JUnit
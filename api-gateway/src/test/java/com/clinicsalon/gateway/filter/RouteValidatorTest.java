@@ -63,6 +63,20 @@ public class RouteValidatorTest {
         assertFalse(isSecured, "O endpoint /auth/register não deve ser protegido");
     }
     
+    @Test
+    public void testIsSecured_RefreshEndpoint() {
+        // Arrange - Criar uma request para o endpoint de renovação de token (não protegido)
+        ServerHttpRequest request = MockServerHttpRequest
+                .post("http://localhost:8080/auth/refresh")
+                .build();
+        
+        // Act
+        boolean isSecured = routeValidator.isSecured.test(request);
+        
+        // Assert
+        assertFalse(isSecured, "O endpoint /auth/refresh não deve ser protegido");
+    }
+    
     @Test
     public void testIsSecured_ActuatorEndpoint() {
         // Arrange - Criar uma request para um endpoint do Actuator (não protegido)
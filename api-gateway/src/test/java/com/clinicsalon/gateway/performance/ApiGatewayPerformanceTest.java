@@ -3,6 +3,7 @@ package com.clinicsalon.gateway.performance;
 import com.clinicsalon.gateway.filter.AuthenticationFilter;
 import com.clinicsalon.gateway.filter.RouteValidator;
 import com.clinicsalon.gateway.security.JwtUtil;
+import com.clinicsalon.security.gateway.GatewayHeaderSigner;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -56,7 +57,8 @@ public class ApiGatewayPerformanceTest {
     @BeforeEach
     public void setup() {
         routeValidator.isSecured = mock(Predicate.class);
-        authenticationFilter = new AuthenticationFilter(jwtUtil, routeValidator);
+        authenticationFilter = new AuthenticationFilter(jwtUtil, routeValidator,
+                new GatewayHeaderSigner("test-signing-key", Duration.ofSeconds(60)));
         
         when(filterChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
         when(jwtUtil.validateToken(VALID_TOKEN)).thenReturn(true);
@@ -1,5 +1,6 @@
 package com.clinicsalon.gateway.security;
 
+import com.clinicsalon.security.jwt.JwtKeys;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -11,6 +12,7 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Base64;
 import java.util.Date;
@@ -26,18 +28,17 @@ public class JwtUtilTest {
     @InjectMocks
     private JwtUtil jwtUtil;
 
-    // Removido SECRET_KEY não utilizado e substituído pelo uso de Keys.secretKeyFor
+    private static final String SECRET = "gatewaytestsecretkeythatshouldbelongerthanthis";
     private static final String USERNAME = "testuser";
     private Key key;
 
     @BeforeEach
     public void setup() {
-        // Criar uma chave segura para testes usando o utilitário Keys
-        key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-        String encodedKey = Base64.getEncoder().encodeToString(key.getEncoded());
-        
-        // Configurar o jwtUtil com a chave de teste
-        ReflectionTestUtils.setField(jwtUtil, "secretKey", encodedKey);
+        // Mesma derivação de chave do gateway e do auth-service
+        key = JwtKeys.signingKey(SECRET);
+
+        // Configurar o jwtUtil com o segredo de teste
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET);
     }
 
     @Test
@@ -108,6 +109,28 @@ public class JwtUtilTest {
         });
     }
 
+    @Test
+    public void testValidateToken_TokenIssuedByAuthService() {
+        // Arrange - Token emitido como no JwtService do auth-service, com o mesmo segredo configurado
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("roles", List.of("ROLE_ADMIN"));
+        String token = issueAsAuthService(SECRET, claims);
+
+        // Act & Assert
+        assertTrue(jwtUtil.validateToken(token));
+        assertEquals(USERNAME, jwtUtil.extractUsername(token));
+        assertEquals("ROLE_ADMIN", jwtUtil.extractRoles(token));
+    }
+
+    @Test
+    public void testValidateToken_TokenSignedWithOtherSecret() {
+        // Arrange
+        String token = issueAsAuthService("othersecretkeythatshouldbelongerthanthisoneinprod", new HashMap<>());
+
+        // Act & Assert
+        assertFalse(jwtUtil.validateToken(token));
+    }
+
     // Métodos auxiliares para criar tokens
     private String createValidToken() {
         return Jwts.builder()
@@ -128,6 +151,21 @@ public class JwtUtilTest {
                 .compact();
     }
 
+    /**
+     * Reproduz a emissão do auth-service (JwtService): chave HMAC a partir do segredo em Base64
+     */
+    private String issueAsAuthService(String secret, Map<String, Object> claims) {
+        String encoded = Base64.getEncoder().encodeToString(secret.getBytes(StandardCharsets.UTF_8));
+        Key authServiceKey = Keys.hmacShaKeyFor(encoded.getBytes(StandardCharsets.UTF_8));
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(USERNAME)
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(authServiceKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
     private String createExpiredToken() {
         return Jwts.builder()
                 .setSubject(USERNAME)
@@ -1,15 +1,18 @@
 package com.clinicsalon.appointment;
 
+import com.clinicsalon.professional.client.config.ProfessionalClientConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableFeignClients
 @EnableScheduling
+@Import(ProfessionalClientConfig.class)
 public class AppointmentServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,18 @@
+package com.clinicsalon.appointment.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Requisição de POST /api/clients/batch; sem campos informados o client-service retorna ID e nome
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientBatchRequest {
+
+    private List<Long> ids;
+}
@@ -0,0 +1,17 @@
+package com.clinicsalon.appointment.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ID e nome de um cliente, como retornados pela consulta em lote do client-service
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientNameResponse {
+
+    private Long id;
+    private String name;
+}
@@ -3,6 +3,10 @@ package com.clinicsalon.appointment.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
 
 @FeignClient(name = "client-service", fallbackFactory = ClientServiceClientFallbackFactory.class)
 public interface ClientServiceClient {
@@ -15,4 +19,7 @@ public interface ClientServiceClient {
     
     @GetMapping("/api/clients/{id}/name")
     String findNameById(@PathVariable("id") Long id);
+    
+    @PostMapping("/api/clients/batch")
+    List<ClientNameResponse> findNamesByIds(@RequestBody ClientBatchRequest request);
 }
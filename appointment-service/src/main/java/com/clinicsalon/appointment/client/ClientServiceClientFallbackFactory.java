@@ -6,6 +6,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.List;
+
 @Component
 public class ClientServiceClientFallbackFactory implements FallbackFactory<ClientServiceClient> {
     
@@ -33,6 +36,12 @@ public class ClientServiceClientFallbackFactory implements FallbackFactory<Clien
                 log.warn("Usando fallback para findNameById do cliente com ID: {}", id);
                 return "Cliente " + id;
             }
+            
+            @Override
+            public List<ClientNameResponse> findNamesByIds(ClientBatchRequest request) {
+                log.warn("Usando fallback para findNamesByIds com {} clientes", request.getIds().size());
+                return Collections.emptyList();
+            }
         };
     }
 }
@@ -17,7 +17,7 @@ public interface FinanceServiceClient {
     ResponseEntity<Map<String, String>> createPaymentLink(
             @RequestBody Map<String, Object> paymentRequest);
     
-    @GetMapping("/api/payments/appointment/{appointmentId}")
+    @GetMapping("/finance-service/api/v1/payments/status/{appointmentId}")
     ResponseEntity<Map<String, Object>> getPaymentStatusByAppointmentId(
             @PathVariable("appointmentId") Long appointmentId);
     
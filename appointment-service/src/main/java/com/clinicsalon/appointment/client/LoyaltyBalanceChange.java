@@ -0,0 +1,25 @@
+package com.clinicsalon.appointment.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Saldo e nível de uma conta de fidelidade alterada. O par (updatedAt, accountId) é o cursor
+ * da próxima página do feed de alterações
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyBalanceChange {
+
+    private Long accountId;
+    private Long clientId;
+    private Integer pointsBalance;
+    private String tier;
+    private LocalDateTime updatedAt;
+}
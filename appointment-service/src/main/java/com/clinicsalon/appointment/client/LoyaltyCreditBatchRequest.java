@@ -0,0 +1,18 @@
+package com.clinicsalon.appointment.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Requisição de POST /api/v1/loyalty/credits/batch; o lote é aplicado em uma única transação
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyCreditBatchRequest {
+
+    private List<LoyaltyCreditRequest> credits;
+}
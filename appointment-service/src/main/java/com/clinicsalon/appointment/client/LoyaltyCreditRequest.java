@@ -0,0 +1,23 @@
+package com.clinicsalon.appointment.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Crédito de pontos no loyalty-service. O par (sourceType, sourceId) identifica o evento:
+ * reenviar o mesmo crédito não soma os pontos de novo, e a conta é criada se não existir
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyCreditRequest {
+
+    private Long clientId;
+    private Integer points;
+    private String sourceType;
+    private String sourceId;
+    private String description;
+}
@@ -0,0 +1,24 @@
+package com.clinicsalon.appointment.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um crédito: CREDITED, ou DUPLICATE quando o evento já havia sido creditado
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyCreditResponse {
+
+    public static final String CREDITED = "CREDITED";
+    public static final String DUPLICATE = "DUPLICATE";
+
+    private Long clientId;
+    private String sourceType;
+    private String sourceId;
+    private Integer points;
+    private String status;
+    private Long transactionId;
+}
@@ -1,12 +1,16 @@
 package com.clinicsalon.appointment.client;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @FeignClient(name = "loyalty-service", fallbackFactory = LoyaltyServiceClientFallbackFactory.class)
@@ -15,8 +19,23 @@ public interface LoyaltyServiceClient {
     @GetMapping("/api/loyalty/accounts/{clientId}")
     ResponseEntity<Map<String, Object>> getLoyaltyAccount(@PathVariable("clientId") Long clientId);
     
-    @PostMapping("/api/loyalty/points/add")
-    ResponseEntity<Map<String, Object>> addPoints(@RequestBody Map<String, Object> pointsRequest);
+    /**
+     * Credita os pontos de um evento, criando a conta se necessário; idempotente por (sourceType, sourceId)
+     */
+    @PostMapping("/api/v1/loyalty/credits")
+    LoyaltyCreditResponse credit(@RequestBody LoyaltyCreditRequest request);
+    
+    @PostMapping("/api/v1/loyalty/credits/batch")
+    List<LoyaltyCreditResponse> creditBatch(@RequestBody LoyaltyCreditBatchRequest request);
+    
+    /**
+     * Saldos e níveis alterados após o cursor (updatedAt, accountId), na ordem de alteração
+     */
+    @GetMapping("/api/v1/loyalty/accounts/changes")
+    List<LoyaltyBalanceChange> getBalanceChanges(
+            @RequestParam(value = "modifiedAfter", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime modifiedAfter,
+            @RequestParam(value = "afterId", required = false) Long afterId,
+            @RequestParam("limit") int limit);
     
     @GetMapping("/api/loyalty/points/balance/{clientId}")
     ResponseEntity<Map<String, Object>> getPointsBalance(@PathVariable("clientId") Long clientId);
@@ -1,12 +1,15 @@
 package com.clinicsalon.appointment.client;
 
+import feign.FeignException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -29,12 +32,25 @@ public class LoyaltyServiceClientFallbackFactory implements FallbackFactory<Loya
             }
             
             @Override
-            public ResponseEntity<Map<String, Object>> addPoints(Map<String, Object> pointsRequest) {
-                log.warn("Usando fallback para addPoints: {}", pointsRequest.get("clientId"));
-                Map<String, Object> response = new HashMap<>();
-                response.put("status", "ERROR");
-                response.put("message", "Serviço de fidelidade indisponível no momento");
-                return ResponseEntity.ok(response);
+            public LoyaltyCreditResponse credit(LoyaltyCreditRequest request) {
+                rethrowRejection(cause);
+                log.warn("Usando fallback para credit: {} {}", request.getSourceType(), request.getSourceId());
+                // Nulo indica que o crédito não foi confirmado e deve ser reenviado
+                return null;
+            }
+            
+            @Override
+            public List<LoyaltyCreditResponse> creditBatch(LoyaltyCreditBatchRequest request) {
+                rethrowRejection(cause);
+                log.warn("Usando fallback para creditBatch com {} créditos", request.getCredits().size());
+                return null;
+            }
+            
+            @Override
+            public List<LoyaltyBalanceChange> getBalanceChanges(LocalDateTime modifiedAfter, Long afterId, int limit) {
+                log.warn("Usando fallback para getBalanceChanges a partir de {}", modifiedAfter);
+                // Nulo indica que a página não foi lida; a cópia local mantém o cursor atual
+                return null;
             }
             
             @Override
@@ -48,4 +64,16 @@ public class LoyaltyServiceClientFallbackFactory implements FallbackFactory<Loya
             }
         };
     }
+
+    /**
+     * Créditos recusados pelo loyalty-service (4xx) não são falhas transitórias: a exceção é
+     * propagada para que o crédito não seja reenviado indefinidamente
+     */
+    private static void rethrowRejection(Throwable cause) {
+        if (cause instanceof FeignException feignException
+                && feignException.status() >= 400 && feignException.status() < 500
+                && feignException.status() != 408 && feignException.status() != 429) {
+            throw feignException;
+        }
+    }
 }
@@ -0,0 +1,28 @@
+package com.clinicsalon.appointment.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Status de pagamento de um agendamento enviado pelo finance-service a cada alteração.
+ * A versão cresce a cada evento aplicado ao agendamento; versões menores que a já conhecida
+ * são descartadas
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentStatusUpdate {
+
+    private String appointmentId;
+    private String status;
+    private BigDecimal amount;
+    private String gatewayPaymentId;
+    private LocalDateTime occurredAt;
+    private Long version;
+}
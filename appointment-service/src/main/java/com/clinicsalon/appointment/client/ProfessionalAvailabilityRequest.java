@@ -0,0 +1,21 @@
+package com.clinicsalon.appointment.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Requisição de POST /api/v1/professionals/availability para o intervalo de datas [from, to]
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfessionalAvailabilityRequest {
+
+    private List<Long> professionalIds;
+    private LocalDate from;
+    private LocalDate to;
+}
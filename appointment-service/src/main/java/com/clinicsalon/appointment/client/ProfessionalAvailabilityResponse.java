@@ -0,0 +1,24 @@
+package com.clinicsalon.appointment.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Disponibilidade de um profissional: {@code days[i]} é o mapa de bits em Base64 dos minutos
+ * em que ele atende no dia {@code from + i} (formato de {@link java.util.BitSet#toByteArray()}).
+ * Sem expediente cadastrado ({@code scheduleConfigured} falso), os dias vêm inteiros, menos as ausências
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfessionalAvailabilityResponse {
+
+    private Long professionalId;
+    private LocalDate from;
+    private List<String> days;
+    private boolean scheduleConfigured;
+}
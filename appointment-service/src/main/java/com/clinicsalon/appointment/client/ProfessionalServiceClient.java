@@ -3,16 +3,23 @@ package com.clinicsalon.appointment.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
 
 @FeignClient(name = "professional-service", fallbackFactory = ProfessionalServiceClientFallbackFactory.class)
 public interface ProfessionalServiceClient {
 
-    @GetMapping("/api/professionals/{id}")
+    @GetMapping("/api/v1/professionals/{id}")
     Object findById(@PathVariable("id") Long id);
     
-    @GetMapping("/api/professionals/{id}/name")
+    @GetMapping("/api/v1/professionals/{id}/name")
     String getProfessionalName(@PathVariable("id") Long id);
     
-    @GetMapping("/api/professionals/{id}/name")
+    @GetMapping("/api/v1/professionals/{id}/name")
     String findNameById(@PathVariable("id") Long id);
+    
+    @PostMapping("/api/v1/professionals/availability")
+    List<ProfessionalAvailabilityResponse> findAvailability(@RequestBody ProfessionalAvailabilityRequest request);
 }
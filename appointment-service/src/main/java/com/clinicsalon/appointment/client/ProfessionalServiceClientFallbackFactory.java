@@ -5,6 +5,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.List;
+
 @Component
 public class ProfessionalServiceClientFallbackFactory implements FallbackFactory<ProfessionalServiceClient> {
     
@@ -32,6 +35,12 @@ public class ProfessionalServiceClientFallbackFactory implements FallbackFactory
                 log.warn("Usando fallback para findNameById do profissional com ID: {}", id);
                 return "Profissional " + id;
             }
+            
+            @Override
+            public List<ProfessionalAvailabilityResponse> findAvailability(ProfessionalAvailabilityRequest request) {
+                log.warn("Usando fallback para findAvailability com {} profissionais", request.getProfessionalIds().size());
+                return Collections.emptyList();
+            }
         };
     }
 }
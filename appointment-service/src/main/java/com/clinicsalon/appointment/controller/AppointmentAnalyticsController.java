@@ -0,0 +1,91 @@
+package com.clinicsalon.appointment.controller;
+
+import com.clinicsalon.appointment.dto.AppointmentFactResponse;
+import com.clinicsalon.appointment.dto.ClientVisitStatsResponse;
+import com.clinicsalon.appointment.dto.PeriodRevenueResponse;
+import com.clinicsalon.appointment.dto.ProfessionalStatsResponse;
+import com.clinicsalon.appointment.dto.RevenueGranularity;
+import com.clinicsalon.appointment.dto.RevenueSummaryResponse;
+import com.clinicsalon.appointment.dto.ServiceStatsResponse;
+import com.clinicsalon.appointment.service.AppointmentAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Tag(name = "Análises de agendamentos", description = "API de agregados de agendamentos para relatórios")
+@RestController
+@RequestMapping("/api/appointments/analytics")
+@RequiredArgsConstructor
+public class AppointmentAnalyticsController {
+
+    private final AppointmentAnalyticsService analyticsService;
+
+    @Operation(summary = "Resumo de receitas", description = "Retorna quantidade de atendimentos, receita total, ticket médio e serviços de destaque do período")
+    @GetMapping("/revenue")
+    public ResponseEntity<RevenueSummaryResponse> getRevenueSummary(
+            @Parameter(description = "Data inicial (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Data final (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(analyticsService.getRevenueSummary(startDate, endDate));
+    }
+
+    @Operation(summary = "Receita por serviço", description = "Retorna a receita de cada serviço no período, da maior para a menor")
+    @GetMapping("/revenue/by-service")
+    public ResponseEntity<List<ServiceStatsResponse>> getRevenueByService(
+            @Parameter(description = "Data inicial (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Data final (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(analyticsService.getRevenueByService(startDate, endDate));
+    }
+
+    @Operation(summary = "Receita por profissional", description = "Retorna a receita de cada profissional no período, da maior para a menor")
+    @GetMapping("/revenue/by-professional")
+    public ResponseEntity<List<ProfessionalStatsResponse>> getRevenueByProfessional(
+            @Parameter(description = "Data inicial (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Data final (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(analyticsService.getRevenueByProfessional(startDate, endDate));
+    }
+
+    @Operation(summary = "Receita por período", description = "Retorna a receita agrupada por dia ou por mês")
+    @GetMapping("/revenue/by-period")
+    public ResponseEntity<List<PeriodRevenueResponse>> getRevenueByPeriod(
+            @Parameter(description = "Data inicial (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Data final (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Agrupamento (DAY ou MONTH)") @RequestParam(defaultValue = "DAY") RevenueGranularity granularity) {
+        return ResponseEntity.ok(analyticsService.getRevenueByPeriod(startDate, endDate, granularity));
+    }
+
+    @Operation(summary = "Popularidade dos serviços", description = "Retorna os serviços do período ordenados pela quantidade de atendimentos")
+    @GetMapping("/services/popularity")
+    public ResponseEntity<List<ServiceStatsResponse>> getServicePopularity(
+            @Parameter(description = "Data inicial (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Data final (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(analyticsService.getServicePopularity(startDate, endDate));
+    }
+
+    @Operation(summary = "Fatos de agendamento alterados", description = "Retorna, na ordem de alteração, os agendamentos alterados após o cursor (updatedAt, appointmentId) com seus serviços, para cópias analíticas incrementais")
+    @GetMapping("/facts")
+    public ResponseEntity<List<AppointmentFactResponse>> getFacts(
+            @Parameter(description = "Cursor: data da última alteração já lida (yyyy-MM-dd'T'HH:mm:ss)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime modifiedAfter,
+            @Parameter(description = "Cursor: ID do último agendamento já lido") @RequestParam(required = false) Long afterId,
+            @Parameter(description = "Quantidade máxima de agendamentos (até 10000)") @RequestParam(defaultValue = "5000") int limit) {
+        return ResponseEntity.ok(analyticsService.getFacts(modifiedAfter, afterId, limit));
+    }
+
+    @Operation(summary = "Estatísticas de visitas do cliente", description = "Retorna totais de visitas, gastos, serviços e profissionais preferidos de um cliente")
+    @GetMapping("/clients/{clientId}/visits")
+    public ResponseEntity<ClientVisitStatsResponse> getClientVisitStats(
+            @Parameter(description = "ID do cliente") @PathVariable Long clientId) {
+        return ResponseEntity.ok(analyticsService.getClientVisitStats(clientId));
+    }
+}
@@ -2,6 +2,7 @@ package com.clinicsalon.appointment.controller;
 
 import com.clinicsalon.appointment.dto.AppointmentRequest;
 import com.clinicsalon.appointment.dto.AppointmentResponse;
+import com.clinicsalon.appointment.dto.DataVersionResponse;
 import com.clinicsalon.appointment.model.AppointmentStatus;
 import com.clinicsalon.appointment.service.AppointmentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -57,6 +58,12 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentService.findByStatus(status, pageable));
     }
 
+    @Operation(summary = "Versão dos dados de agendamentos", description = "Retorna a marca d'água dos agendamentos, que muda a cada alteração, para invalidação de caches derivados")
+    @GetMapping("/data-version")
+    public ResponseEntity<DataVersionResponse> getDataVersion() {
+        return ResponseEntity.ok(appointmentService.getDataVersion());
+    }
+
     @Operation(summary = "Buscar agendamento por ID", description = "Retorna um agendamento específico pelo seu ID")
     @GetMapping("/{id}")
     public ResponseEntity<AppointmentResponse> findById(
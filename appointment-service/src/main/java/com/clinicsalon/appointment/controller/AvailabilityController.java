@@ -0,0 +1,37 @@
+package com.clinicsalon.appointment.controller;
+
+import com.clinicsalon.appointment.dto.AvailableSlotsResponse;
+import com.clinicsalon.appointment.service.AvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Tag(name = "Disponibilidade", description = "API para busca de horários disponíveis dos profissionais")
+@RestController
+@RequestMapping("/api/appointments/availability")
+@RequiredArgsConstructor
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    @Operation(summary = "Buscar horários disponíveis",
+               description = "Retorna, para cada profissional, os horários em que um atendimento da duração informada pode começar")
+    @GetMapping
+    public ResponseEntity<List<AvailableSlotsResponse>> findAvailableSlots(
+            @Parameter(description = "IDs dos profissionais") @RequestParam List<Long> professionalIds,
+            @Parameter(description = "Data (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Duração do atendimento em minutos") @RequestParam int duration,
+            @Parameter(description = "Intervalo entre os horários sugeridos, em minutos") @RequestParam(defaultValue = "15") int step) {
+        return ResponseEntity.ok(availabilityService.findAvailableSlots(professionalIds, date, duration, step));
+    }
+}
@@ -1,5 +1,6 @@
 package com.clinicsalon.appointment.controller;
 
+import com.clinicsalon.appointment.service.LoyaltyBalanceReadModel;
 import com.clinicsalon.appointment.service.LoyaltyIntegrationService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -24,17 +25,21 @@ public class LoyaltyController {
     private static final Logger log = LoggerFactory.getLogger(LoyaltyController.class);
     
     private final LoyaltyIntegrationService loyaltyService;
+    private final LoyaltyBalanceReadModel balanceReadModel;
     
     /**
-     * Retorna o saldo de pontos de fidelidade de um cliente
+     * Retorna o saldo de pontos de fidelidade de um cliente, da cópia local quando possível
+     * (source LOCAL, com asOf e stalenessSeconds) ou do loyalty-service
      * 
      * @param clientId ID do cliente
      * @return Saldo e informações da conta de fidelidade
      */
     @GetMapping("/points/balance/{clientId}")
     public ResponseEntity<Map<String, Object>> getPointsBalance(@PathVariable Long clientId) {
-        log.info("Obtendo saldo de pontos de fidelidade para cliente ID: {}", clientId);
-        Map<String, Object> result = loyaltyService.getPointsBalance(clientId);
+        log.debug("Obtendo saldo de pontos de fidelidade para cliente ID: {}", clientId);
+        Map<String, Object> result = balanceReadModel.find(clientId)
+                .map(LoyaltyBalanceReadModel.LocalBalance::toResponse)
+                .orElseGet(() -> loyaltyService.getPointsBalance(clientId));
         return ResponseEntity.ok(result);
     }
     
@@ -1,6 +1,8 @@
 package com.clinicsalon.appointment.controller;
 
+import com.clinicsalon.appointment.client.PaymentStatusUpdate;
 import com.clinicsalon.appointment.service.AppointmentPaymentService;
+import com.clinicsalon.appointment.service.PaymentStatusCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @Tag(name = "Integração com Pagamentos", description = "API para integração com o serviço financeiro")
@@ -19,6 +22,7 @@ import java.util.Map;
 public class PaymentIntegrationController {
 
     private final AppointmentPaymentService paymentService;
+    private final PaymentStatusCache paymentStatusCache;
 
     @Operation(summary = "Gerar link de pagamento", description = "Gera um link de pagamento para um agendamento específico")
     @PostMapping("/generate-link/{appointmentId}")
@@ -46,4 +50,12 @@ public class PaymentIntegrationController {
         Map<String, Object> refundResult = paymentService.processRefund(appointmentId);
         return ResponseEntity.ok(refundResult);
     }
+
+    @Operation(summary = "Receber status de pagamento", description = "Recebe do serviço financeiro os status de pagamento alterados pelo gateway")
+    @PostMapping("/status-updates")
+    public ResponseEntity<Map<String, Object>> receiveStatusUpdates(@RequestBody List<PaymentStatusUpdate> updates) {
+        log.debug("Recebendo {} status de pagamento do serviço financeiro", updates.size());
+        int applied = paymentStatusCache.apply(updates);
+        return ResponseEntity.ok(Map.of("received", updates.size(), "applied", applied));
+    }
 }
@@ -0,0 +1,26 @@
+package com.clinicsalon.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Serviço de um fato de agendamento, com o preço cobrado no agendamento
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentFactItemResponse {
+
+    private Long serviceId;
+    private String serviceName;
+    private BigDecimal price;
+}
@@ -0,0 +1,35 @@
+package com.clinicsalon.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Fato de agendamento para cópias analíticas mantidas por outros serviços: apenas os
+ * identificadores, valores e datas, sem nomes de cliente ou profissional. O par
+ * (updatedAt, appointmentId) do último item de uma página é o cursor da página seguinte
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentFactResponse {
+
+    private Long appointmentId;
+    private Long clientId;
+    private Long professionalId;
+    private LocalDateTime startTime;
+    private String status;
+    private BigDecimal price;
+    private LocalDateTime updatedAt;
+    private List<AppointmentFactItemResponse> services;
+}
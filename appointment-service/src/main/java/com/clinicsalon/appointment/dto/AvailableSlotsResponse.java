@@ -0,0 +1,29 @@
+package com.clinicsalon.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlotsResponse {
+
+    private Long professionalId;
+    private LocalDate date;
+    private int durationMinutes;
+
+    @JsonFormat(pattern = "HH:mm")
+    private List<LocalTime> slots;
+}
@@ -0,0 +1,35 @@
+package com.clinicsalon.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Estatísticas de visitas de um cliente, calculadas no banco sem carregar o histórico
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientVisitStatsResponse {
+
+    private Long clientId;
+    private long totalAppointments;
+    private long completedAppointments;
+    private long cancelledAppointments;
+    private long noShowAppointments;
+    private BigDecimal totalSpent;
+    private LocalDateTime firstVisit;
+    private LocalDateTime lastVisit;
+    private List<ServiceStatsResponse> services;
+    private List<ProfessionalStatsResponse> favoriteProfessionals;
+}
@@ -0,0 +1,29 @@
+package com.clinicsalon.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca d'água dos dados de agendamentos. A versão muda sempre que um agendamento
+ * é criado, alterado ou removido, ou quando o catálogo de serviços é alterado,
+ * e é usada por quem mantém resultados derivados desses dados em cache (ex.: relatórios)
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataVersionResponse {
+
+    private String source;
+    private long records;
+    private LocalDateTime lastModified;
+    private String version;
+}
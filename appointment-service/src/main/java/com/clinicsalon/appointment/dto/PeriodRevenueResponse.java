@@ -0,0 +1,27 @@
+package com.clinicsalon.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Receita de um intervalo (dia ou mês, identificado pela data inicial)
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodRevenueResponse {
+
+    private LocalDate periodStart;
+    private long count;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,27 @@
+package com.clinicsalon.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Atendimentos e receita de um profissional, com a participação percentual na receita
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfessionalStatsResponse {
+
+    private Long professionalId;
+    private long count;
+    private BigDecimal revenue;
+    private double revenuePercentage;
+}
@@ -0,0 +1,9 @@
+package com.clinicsalon.appointment.dto;
+
+/**
+ * Intervalo de agrupamento da receita por período
+ */
+public enum RevenueGranularity {
+    DAY,
+    MONTH
+}
@@ -0,0 +1,32 @@
+package com.clinicsalon.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais de receita de um período, calculados no banco. Só agendamentos concluídos
+ * entram na receita; agendados, cancelados e ausências ficam de fora
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueSummaryResponse {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long appointmentsCount;
+    private BigDecimal totalRevenue;
+    private BigDecimal averageTicket;
+    private String mostPopularService;
+    private String mostRevenueService;
+}
@@ -0,0 +1,33 @@
+package com.clinicsalon.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Atendimentos e receita de um serviço, com a participação percentual no total
+ * de atendimentos e de receita do período
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceStatsResponse {
+
+    private Long serviceId;
+    private String serviceName;
+    private long count;
+    private double countPercentage;
+    private BigDecimal revenue;
+    private double revenuePercentage;
+    private BigDecimal averagePrice;
+    private LocalDateTime lastAppointment;
+}
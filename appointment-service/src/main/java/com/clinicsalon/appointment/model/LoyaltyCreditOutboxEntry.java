@@ -0,0 +1,54 @@
+package com.clinicsalon.appointment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Crédito de fidelidade pendente de confirmação pelo loyalty-service
+ */
+@Entity
+@Table(name = "loyalty_credit_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_loyalty_credit_outbox_source",
+                columnNames = {"source_type", "source_id"}))
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoyaltyCreditOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long clientId;
+
+    @Column(nullable = false)
+    private Integer points;
+
+    @Column(name = "source_type", nullable = false, length = 30)
+    private String sourceType;
+
+    @Column(name = "source_id", nullable = false, length = 100)
+    private String sourceId;
+
+    @Column
+    private String description;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -9,7 +9,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -37,6 +40,19 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
     
+    /**
+     * Agendamentos ativos dos profissionais que se sobrepõem ao período [from, to)
+     */
+    @Query("SELECT a FROM Appointment a WHERE " +
+           "a.professionalId IN :professionalIds AND " +
+           "a.startTime < :to AND " +
+           "a.endTime > :from AND " +
+           "a.status NOT IN ('CANCELLED', 'NO_SHOW')")
+    List<Appointment> findOverlappingAppointments(
+            @Param("professionalIds") Collection<Long> professionalIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+    
     @Query("SELECT a FROM Appointment a WHERE " +
            "a.startTime >= :startDate AND " +
            "a.endTime <= :endDate AND " +
@@ -68,4 +84,125 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
      */
     List<Appointment> findByStatusAndCreatedAtBefore(
             AppointmentStatus status, LocalDateTime createdAt);
+
+    /**
+     * Marca d'água dos agendamentos e do catálogo de serviços, usada para invalidar
+     * resultados derivados (ex.: relatórios em cache)
+     */
+    @Query("SELECT COUNT(a) AS records, MAX(a.id) AS lastId, MAX(a.updatedAt) AS lastModified, " +
+           "(SELECT MAX(s.updatedAt) FROM ServiceEntity s) AS catalogModified " +
+           "FROM Appointment a")
+    DataWatermark findDataWatermark();
+
+    /**
+     * Quantidade, maior ID e última alteração dos agendamentos
+     */
+    interface DataWatermark {
+        Long getRecords();
+        Long getLastId();
+        LocalDateTime getLastModified();
+        LocalDateTime getCatalogModified();
+    }
+
+    // Agregados para relatórios: apenas agendamentos concluídos contam como receita; os ainda
+    // agendados podem ser cancelados ou virar ausência
+
+    @Query("SELECT COUNT(a) AS count, SUM(a.price) AS revenue FROM Appointment a WHERE " +
+           "a.startTime >= :from AND a.startTime < :to AND " +
+           "a.status = 'COMPLETED'")
+    RevenueAggregate aggregateRevenue(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT a.professionalId AS professionalId, COUNT(a) AS count, SUM(a.price) AS revenue " +
+           "FROM Appointment a WHERE " +
+           "a.startTime >= :from AND a.startTime < :to AND " +
+           "a.status = 'COMPLETED' " +
+           "GROUP BY a.professionalId ORDER BY SUM(a.price) DESC")
+    List<ProfessionalAggregate> aggregateRevenueByProfessional(
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT CAST(a.startTime AS LocalDate) AS day, COUNT(a) AS count, SUM(a.price) AS revenue " +
+           "FROM Appointment a WHERE " +
+           "a.startTime >= :from AND a.startTime < :to AND " +
+           "a.status = 'COMPLETED' " +
+           "GROUP BY CAST(a.startTime AS LocalDate) ORDER BY CAST(a.startTime AS LocalDate)")
+    List<DailyAggregate> aggregateRevenueByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT YEAR(a.startTime) AS year, MONTH(a.startTime) AS month, COUNT(a) AS count, SUM(a.price) AS revenue " +
+           "FROM Appointment a WHERE " +
+           "a.startTime >= :from AND a.startTime < :to AND " +
+           "a.status = 'COMPLETED' " +
+           "GROUP BY YEAR(a.startTime), MONTH(a.startTime) ORDER BY YEAR(a.startTime), MONTH(a.startTime)")
+    List<MonthlyAggregate> aggregateRevenueByMonth(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT COUNT(a) AS total, " +
+           "COUNT(CASE WHEN a.status = 'COMPLETED' THEN 1 END) AS completed, " +
+           "COUNT(CASE WHEN a.status = 'CANCELLED' THEN 1 END) AS cancelled, " +
+           "COUNT(CASE WHEN a.status = 'NO_SHOW' THEN 1 END) AS noShows, " +
+           "SUM(CASE WHEN a.status = 'COMPLETED' THEN a.price END) AS spent, " +
+           "MIN(a.startTime) AS firstVisit, MAX(a.startTime) AS lastVisit " +
+           "FROM Appointment a WHERE a.clientId = :clientId")
+    ClientAggregate aggregateClient(@Param("clientId") Long clientId);
+
+    @Query("SELECT a.professionalId AS professionalId, COUNT(a) AS count, SUM(a.price) AS revenue " +
+           "FROM Appointment a WHERE a.clientId = :clientId AND " +
+           "a.status = 'COMPLETED' " +
+           "GROUP BY a.professionalId ORDER BY COUNT(a) DESC, a.professionalId")
+    List<ProfessionalAggregate> aggregateClientProfessionals(@Param("clientId") Long clientId, Pageable pageable);
+
+    /**
+     * Agendamentos alterados após o cursor (updatedAt, id), na ordem do cursor, para
+     * quem mantém uma cópia incremental dos fatos de agendamento
+     */
+    @Query("SELECT a.id AS id, a.clientId AS clientId, a.professionalId AS professionalId, " +
+           "a.startTime AS startTime, a.status AS status, a.price AS price, a.updatedAt AS updatedAt " +
+           "FROM Appointment a WHERE " +
+           "a.updatedAt > :modifiedAfter OR (a.updatedAt = :modifiedAfter AND a.id > :afterId) " +
+           "ORDER BY a.updatedAt, a.id")
+    List<AppointmentFact> findFactsModifiedAfter(@Param("modifiedAfter") LocalDateTime modifiedAfter,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+
+    interface AppointmentFact {
+        Long getId();
+        Long getClientId();
+        Long getProfessionalId();
+        LocalDateTime getStartTime();
+        AppointmentStatus getStatus();
+        BigDecimal getPrice();
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface RevenueAggregate {
+        Long getCount();
+        BigDecimal getRevenue();
+    }
+
+    interface ProfessionalAggregate {
+        Long getProfessionalId();
+        Long getCount();
+        BigDecimal getRevenue();
+    }
+
+    interface DailyAggregate {
+        LocalDate getDay();
+        Long getCount();
+        BigDecimal getRevenue();
+    }
+
+    interface MonthlyAggregate {
+        Integer getYear();
+        Integer getMonth();
+        Long getCount();
+        BigDecimal getRevenue();
+    }
+
+    interface ClientAggregate {
+        Long getTotal();
+        Long getCompleted();
+        Long getCancelled();
+        Long getNoShows();
+        BigDecimal getSpent();
+        LocalDateTime getFirstVisit();
+        LocalDateTime getLastVisit();
+    }
 }
@@ -3,8 +3,13 @@ package com.clinicsalon.appointment.repository;
 import com.clinicsalon.appointment.model.Appointment;
 import com.clinicsalon.appointment.model.AppointmentServiceItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,4 +20,49 @@ public interface AppointmentServiceRepository extends JpaRepository<AppointmentS
     List<AppointmentServiceItem> findByAppointmentId(Long appointmentId);
     
     void deleteByAppointmentId(Long appointmentId);
+
+    /**
+     * Atendimentos concluídos e receita por serviço no período, dos mais realizados aos menos
+     */
+    @Query("SELECT s.id AS serviceId, s.name AS serviceName, COUNT(i) AS count, SUM(i.price) AS revenue, " +
+           "MAX(a.startTime) AS lastAppointment " +
+           "FROM AppointmentServiceItem i JOIN i.service s JOIN i.appointment a WHERE " +
+           "a.startTime >= :from AND a.startTime < :to AND " +
+           "a.status = 'COMPLETED' " +
+           "GROUP BY s.id, s.name ORDER BY COUNT(i) DESC, s.name")
+    List<ServiceAggregate> aggregateByService(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Serviços realizados por um cliente em todo o histórico
+     */
+    @Query("SELECT s.id AS serviceId, s.name AS serviceName, COUNT(i) AS count, SUM(i.price) AS revenue, " +
+           "MAX(a.startTime) AS lastAppointment " +
+           "FROM AppointmentServiceItem i JOIN i.service s JOIN i.appointment a WHERE " +
+           "a.clientId = :clientId AND " +
+           "a.status = 'COMPLETED' " +
+           "GROUP BY s.id, s.name ORDER BY COUNT(i) DESC, s.name")
+    List<ServiceAggregate> aggregateClientServices(@Param("clientId") Long clientId);
+
+    /**
+     * Serviços de um lote de agendamentos, para a cópia incremental dos fatos de agendamento
+     */
+    @Query("SELECT i.appointment.id AS appointmentId, s.id AS serviceId, s.name AS serviceName, i.price AS price " +
+           "FROM AppointmentServiceItem i JOIN i.service s WHERE i.appointment.id IN :appointmentIds " +
+           "ORDER BY i.appointment.id, i.id")
+    List<FactItem> findFactItems(@Param("appointmentIds") Collection<Long> appointmentIds);
+
+    interface FactItem {
+        Long getAppointmentId();
+        Long getServiceId();
+        String getServiceName();
+        BigDecimal getPrice();
+    }
+
+    interface ServiceAggregate {
+        Long getServiceId();
+        String getServiceName();
+        Long getCount();
+        BigDecimal getRevenue();
+        LocalDateTime getLastAppointment();
+    }
 }
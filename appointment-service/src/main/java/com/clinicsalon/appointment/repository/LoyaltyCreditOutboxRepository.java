@@ -0,0 +1,28 @@
+package com.clinicsalon.appointment.repository;
+
+import com.clinicsalon.appointment.model.LoyaltyCreditOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface LoyaltyCreditOutboxRepository extends JpaRepository<LoyaltyCreditOutboxEntry, Long> {
+
+    /**
+     * Créditos pendentes mais antigos, na ordem em que foram gravados
+     */
+    List<LoyaltyCreditOutboxEntry> findAllByOrderByIdAsc(Pageable pageable);
+
+    boolean existsBySourceTypeAndSourceId(String sourceType, String sourceId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM LoyaltyCreditOutboxEntry e WHERE e.sourceType = :sourceType AND e.sourceId = :sourceId")
+    int deleteBySource(@Param("sourceType") String sourceType, @Param("sourceId") String sourceId);
+}
@@ -0,0 +1,69 @@
+package com.clinicsalon.appointment.scheduling;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Operações sobre mapas de bits de um dia em resolução de minuto (bit m = minuto m, de 0 a
+ * {@value #MINUTES_PER_DAY} - 1), o formato em que o professional-service publica a
+ * disponibilidade dos profissionais.
+ */
+public final class MinuteBitmaps {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private MinuteBitmaps() {
+    }
+
+    public static BitSet decode(String encoded) {
+        return encoded == null || encoded.isEmpty()
+                ? new BitSet(0)
+                : BitSet.valueOf(Base64.getDecoder().decode(encoded));
+    }
+
+    /**
+     * Primeiro minuto do dia alcançado pelo instante (arredondado para baixo e limitado ao dia)
+     */
+    public static int startMinute(LocalDate day, LocalDateTime time) {
+        long minutes = ChronoUnit.MINUTES.between(day.atStartOfDay(), time);
+        return (int) Math.max(0, Math.min(MINUTES_PER_DAY, minutes));
+    }
+
+    /**
+     * Minuto do dia (exclusivo) em que o instante termina (arredondado para cima e limitado ao dia)
+     */
+    public static int endMinute(LocalDate day, LocalDateTime time) {
+        long minutes = ChronoUnit.MINUTES.between(day.atStartOfDay(), time.plusMinutes(1).minusNanos(1));
+        return (int) Math.max(0, Math.min(MINUTES_PER_DAY, minutes));
+    }
+
+    /**
+     * Indica se todos os minutos de [from, to) estão marcados
+     */
+    public static boolean covers(BitSet minutes, int from, int to) {
+        return from >= to || minutes.nextClearBit(from) >= to;
+    }
+
+    /**
+     * Inícios possíveis, alinhados a múltiplos de {@code step} minutos, para um bloco contínuo
+     * de {@code duration} minutos marcados a partir de {@code fromMinute}
+     */
+    public static List<Integer> findStarts(BitSet free, int fromMinute, int duration, int step) {
+        List<Integer> starts = new ArrayList<>();
+        int runStart = free.nextSetBit(fromMinute);
+        while (runStart >= 0 && runStart < MINUTES_PER_DAY) {
+            int runEnd = Math.min(free.nextClearBit(runStart), MINUTES_PER_DAY);
+            int candidate = ((runStart + step - 1) / step) * step;
+            for (; candidate + duration <= runEnd; candidate += step) {
+                starts.add(candidate);
+            }
+            runStart = free.nextSetBit(runEnd);
+        }
+        return starts;
+    }
+}
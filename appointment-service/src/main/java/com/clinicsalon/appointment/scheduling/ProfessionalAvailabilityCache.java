@@ -0,0 +1,103 @@
+package com.clinicsalon.appointment.scheduling;
+
+import com.clinicsalon.appointment.client.ProfessionalAvailabilityRequest;
+import com.clinicsalon.appointment.client.ProfessionalAvailabilityResponse;
+import com.clinicsalon.appointment.client.ProfessionalServiceClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Disponibilidade dos profissionais por dia, em cache local por tempo
+ * (appointment.availability.cache-ttl). As entradas ausentes são buscadas no
+ * professional-service em uma única chamada para todos os profissionais e datas que faltam.
+ * Profissionais cuja disponibilidade não pôde ser obtida ficam fora do resultado e não são
+ * armazenados. Os mapas retornados são compartilhados e não devem ser alterados.
+ */
+@Component
+public class ProfessionalAvailabilityCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfessionalAvailabilityCache.class);
+
+    private final ProfessionalServiceClient professionalServiceClient;
+    private final Cache<Key, BitSet> cache;
+
+    public ProfessionalAvailabilityCache(ProfessionalServiceClient professionalServiceClient,
+                                         @Value("${appointment.availability.cache-ttl:5m}") Duration ttl,
+                                         @Value("${appointment.availability.cache-size:20000}") long maximumSize) {
+        this.professionalServiceClient = professionalServiceClient;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Minutos em que cada profissional atende na data
+     *
+     * @return Mapa de ID do profissional para o mapa de bits do dia; profissionais sem resposta ficam de fora
+     */
+    public Map<Long, BitSet> getDay(Collection<Long> professionalIds, LocalDate date) {
+        List<Key> keys = new ArrayList<>(professionalIds.size());
+        for (Long professionalId : new LinkedHashSet<>(professionalIds)) {
+            keys.add(new Key(professionalId, date));
+        }
+
+        Map<Key, BitSet> found = cache.getAll(keys, this::load);
+        Map<Long, BitSet> days = new HashMap<>(found.size() * 2);
+        found.forEach((key, minutes) -> days.put(key.professionalId(), minutes));
+        return days;
+    }
+
+    private Map<Key, BitSet> load(Set<? extends Key> missing) {
+        Set<Long> professionalIds = new LinkedHashSet<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (Key key : missing) {
+            professionalIds.add(key.professionalId());
+            from = from == null || key.date().isBefore(from) ? key.date() : from;
+            to = to == null || key.date().isAfter(to) ? key.date() : to;
+        }
+
+        log.debug("Buscando disponibilidade de {} profissional(is) de {} a {}", professionalIds.size(), from, to);
+        List<ProfessionalAvailabilityResponse> responses = professionalServiceClient.findAvailability(
+                new ProfessionalAvailabilityRequest(new ArrayList<>(professionalIds), from, to));
+
+        Map<Key, BitSet> loaded = new HashMap<>(missing.size() * 2);
+        if (responses == null) {
+            return loaded;
+        }
+        for (ProfessionalAvailabilityResponse response : responses) {
+            List<String> days = response.getDays();
+            for (int i = 0; days != null && i < days.size(); i++) {
+                Key key = new Key(response.getProfessionalId(), response.getFrom().plusDays(i));
+                if (missing.contains(key)) {
+                    loaded.put(key, MinuteBitmaps.decode(days.get(i)));
+                }
+            }
+        }
+        if (loaded.size() < missing.size()) {
+            log.warn("Disponibilidade obtida para {} de {} dia(s) de profissionais solicitados",
+                    loaded.size(), missing.size());
+        }
+        return loaded;
+    }
+
+    private record Key(Long professionalId, LocalDate date) {
+    }
+}
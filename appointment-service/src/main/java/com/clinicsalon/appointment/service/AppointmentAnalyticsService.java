@@ -0,0 +1,257 @@
+package com.clinicsalon.appointment.service;
+
+import com.clinicsalon.appointment.dto.AppointmentFactItemResponse;
+import com.clinicsalon.appointment.dto.AppointmentFactResponse;
+import com.clinicsalon.appointment.dto.ClientVisitStatsResponse;
+import com.clinicsalon.appointment.dto.PeriodRevenueResponse;
+import com.clinicsalon.appointment.dto.ProfessionalStatsResponse;
+import com.clinicsalon.appointment.dto.RevenueGranularity;
+import com.clinicsalon.appointment.dto.RevenueSummaryResponse;
+import com.clinicsalon.appointment.dto.ServiceStatsResponse;
+import com.clinicsalon.appointment.exception.BusinessException;
+import com.clinicsalon.appointment.repository.AppointmentRepository;
+import com.clinicsalon.appointment.repository.AppointmentServiceRepository;
+import com.clinicsalon.monitoring.aspect.MonitorPerformance;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Agregados de agendamentos para relatórios e análises. Os totais são calculados
+ * com GROUP BY no banco, de modo que apenas as linhas agregadas saem do serviço
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AppointmentAnalyticsService {
+
+    private static final int FAVORITE_PROFESSIONALS = 5;
+    private static final int MAX_FACTS_PAGE = 10_000;
+    private static final LocalDateTime FACTS_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentServiceRepository appointmentServiceRepository;
+
+    @MonitorPerformance(description = "Resumo de receitas", thresholdMillis = 800)
+    public RevenueSummaryResponse getRevenueSummary(LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+
+        AppointmentRepository.RevenueAggregate totals = appointmentRepository.aggregateRevenue(from, to);
+        long count = countOf(totals.getCount());
+        BigDecimal revenue = amountOf(totals.getRevenue());
+        List<AppointmentServiceRepository.ServiceAggregate> services =
+                appointmentServiceRepository.aggregateByService(from, to);
+
+        log.debug("Revenue summary from {} to {}: {} appointments, {} services", startDate, endDate,
+                count, services.size());
+        return RevenueSummaryResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .appointmentsCount(count)
+                .totalRevenue(revenue)
+                .averageTicket(average(revenue, count))
+                // A consulta já vem ordenada pela quantidade de atendimentos
+                .mostPopularService(services.isEmpty() ? null : services.get(0).getServiceName())
+                .mostRevenueService(services.stream()
+                        .max(Comparator.comparing(service -> amountOf(service.getRevenue())))
+                        .map(AppointmentServiceRepository.ServiceAggregate::getServiceName)
+                        .orElse(null))
+                .build();
+    }
+
+    /**
+     * Serviços do período ordenados pela receita
+     */
+    @MonitorPerformance(description = "Receita por serviço", thresholdMillis = 800)
+    public List<ServiceStatsResponse> getRevenueByService(LocalDate startDate, LocalDate endDate) {
+        return getServicePopularity(startDate, endDate).stream()
+                .sorted(Comparator.comparing(ServiceStatsResponse::getRevenue).reversed())
+                .toList();
+    }
+
+    /**
+     * Serviços do período ordenados pela quantidade de atendimentos
+     */
+    @MonitorPerformance(description = "Popularidade dos serviços", thresholdMillis = 800)
+    public List<ServiceStatsResponse> getServicePopularity(LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
+        return toServiceStats(appointmentServiceRepository.aggregateByService(
+                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay()));
+    }
+
+    @MonitorPerformance(description = "Receita por profissional", thresholdMillis = 800)
+    public List<ProfessionalStatsResponse> getRevenueByProfessional(LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
+        return toProfessionalStats(appointmentRepository.aggregateRevenueByProfessional(
+                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay()));
+    }
+
+    @MonitorPerformance(description = "Receita por período", thresholdMillis = 800)
+    public List<PeriodRevenueResponse> getRevenueByPeriod(LocalDate startDate, LocalDate endDate,
+                                                          RevenueGranularity granularity) {
+        validatePeriod(startDate, endDate);
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+
+        if (granularity == RevenueGranularity.MONTH) {
+            return appointmentRepository.aggregateRevenueByMonth(from, to).stream()
+                    .map(month -> PeriodRevenueResponse.builder()
+                            .periodStart(LocalDate.of(month.getYear(), month.getMonth(), 1))
+                            .count(countOf(month.getCount()))
+                            .revenue(amountOf(month.getRevenue()))
+                            .build())
+                    .toList();
+        }
+        return appointmentRepository.aggregateRevenueByDay(from, to).stream()
+                .map(day -> PeriodRevenueResponse.builder()
+                        .periodStart(day.getDay())
+                        .count(countOf(day.getCount()))
+                        .revenue(amountOf(day.getRevenue()))
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Estatísticas de visitas do cliente; substitui a leitura do histórico completo
+     */
+    @MonitorPerformance(description = "Estatísticas de visitas do cliente", thresholdMillis = 800)
+    public ClientVisitStatsResponse getClientVisitStats(Long clientId) {
+        AppointmentRepository.ClientAggregate totals = appointmentRepository.aggregateClient(clientId);
+
+        return ClientVisitStatsResponse.builder()
+                .clientId(clientId)
+                .totalAppointments(countOf(totals.getTotal()))
+                .completedAppointments(countOf(totals.getCompleted()))
+                .cancelledAppointments(countOf(totals.getCancelled()))
+                .noShowAppointments(countOf(totals.getNoShows()))
+                .totalSpent(amountOf(totals.getSpent()))
+                .firstVisit(totals.getFirstVisit())
+                .lastVisit(totals.getLastVisit())
+                .services(toServiceStats(appointmentServiceRepository.aggregateClientServices(clientId)))
+                .favoriteProfessionals(toProfessionalStats(appointmentRepository.aggregateClientProfessionals(
+                        clientId, PageRequest.of(0, FAVORITE_PROFESSIONALS))))
+                .build();
+    }
+
+    /**
+     * Página de fatos de agendamento alterados após o cursor (updatedAt, appointmentId),
+     * com os serviços de cada agendamento buscados em uma única consulta
+     */
+    @MonitorPerformance(description = "Fatos de agendamento alterados", thresholdMillis = 1000)
+    public List<AppointmentFactResponse> getFacts(LocalDateTime modifiedAfter, Long afterId, int limit) {
+        List<AppointmentRepository.AppointmentFact> appointments = appointmentRepository.findFactsModifiedAfter(
+                modifiedAfter != null ? modifiedAfter : FACTS_START,
+                afterId != null ? afterId : 0L,
+                PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_FACTS_PAGE)));
+        if (appointments.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<AppointmentFactItemResponse>> services = appointmentServiceRepository.findFactItems(
+                        appointments.stream().map(AppointmentRepository.AppointmentFact::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(AppointmentServiceRepository.FactItem::getAppointmentId,
+                        Collectors.mapping(item -> AppointmentFactItemResponse.builder()
+                                .serviceId(item.getServiceId())
+                                .serviceName(item.getServiceName())
+                                .price(item.getPrice())
+                                .build(), Collectors.toList())));
+
+        return appointments.stream()
+                .map(appointment -> AppointmentFactResponse.builder()
+                        .appointmentId(appointment.getId())
+                        .clientId(appointment.getClientId())
+                        .professionalId(appointment.getProfessionalId())
+                        .startTime(appointment.getStartTime())
+                        .status(appointment.getStatus().name())
+                        .price(appointment.getPrice())
+                        .updatedAt(appointment.getUpdatedAt())
+                        .services(services.getOrDefault(appointment.getId(), List.of()))
+                        .build())
+                .toList();
+    }
+
+    private List<ServiceStatsResponse> toServiceStats(List<AppointmentServiceRepository.ServiceAggregate> rows) {
+        long totalCount = rows.stream().mapToLong(row -> countOf(row.getCount())).sum();
+        BigDecimal totalRevenue = rows.stream()
+                .map(row -> amountOf(row.getRevenue()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return rows.stream()
+                .map(row -> {
+                    long count = countOf(row.getCount());
+                    BigDecimal revenue = amountOf(row.getRevenue());
+                    return ServiceStatsResponse.builder()
+                            .serviceId(row.getServiceId())
+                            .serviceName(row.getServiceName())
+                            .count(count)
+                            .countPercentage(percentage(BigDecimal.valueOf(count), BigDecimal.valueOf(totalCount)))
+                            .revenue(revenue)
+                            .revenuePercentage(percentage(revenue, totalRevenue))
+                            .averagePrice(average(revenue, count))
+                            .lastAppointment(row.getLastAppointment())
+                            .build();
+                })
+                .toList();
+    }
+
+    private List<ProfessionalStatsResponse> toProfessionalStats(
+            List<AppointmentRepository.ProfessionalAggregate> rows) {
+        BigDecimal totalRevenue = rows.stream()
+                .map(row -> amountOf(row.getRevenue()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return rows.stream()
+                .map(row -> ProfessionalStatsResponse.builder()
+                        .professionalId(row.getProfessionalId())
+                        .count(countOf(row.getCount()))
+                        .revenue(amountOf(row.getRevenue()))
+                        .revenuePercentage(percentage(amountOf(row.getRevenue()), totalRevenue))
+                        .build())
+                .toList();
+    }
+
+    private void validatePeriod(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new BusinessException("Data inicial e data final são obrigatórias");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new BusinessException("Data final deve ser igual ou posterior à data inicial");
+        }
+    }
+
+    private long countOf(Long count) {
+        return count != null ? count : 0;
+    }
+
+    private BigDecimal amountOf(BigDecimal amount) {
+        return amount != null ? amount : BigDecimal.ZERO;
+    }
+
+    private BigDecimal average(BigDecimal total, long count) {
+        return count > 0 ? total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+
+    private double percentage(BigDecimal part, BigDecimal total) {
+        if (total.signum() == 0) {
+            return 0.0;
+        }
+        return part.multiply(BigDecimal.valueOf(100))
+                .divide(total, 2, RoundingMode.HALF_UP)
+                .doubleValue();
+    }
+}
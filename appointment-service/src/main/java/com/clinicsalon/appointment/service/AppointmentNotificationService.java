@@ -5,6 +5,8 @@ import com.clinicsalon.appointment.client.NotificationServiceClient;
 import com.clinicsalon.appointment.client.ProfessionalServiceClient;
 import com.clinicsalon.appointment.model.Appointment;
 import com.clinicsalon.appointment.model.AppointmentStatus;
+import com.clinicsalon.professional.client.ProfessionalResponse;
+import com.clinicsalon.professional.client.ProfessionalRosterReplica;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +30,7 @@ public class AppointmentNotificationService {
     private final NotificationServiceClient notificationServiceClient;
     private final ClientServiceClient clientServiceClient;
     private final ProfessionalServiceClient professionalServiceClient;
+    private final ProfessionalRosterReplica professionalRoster;
     
     /**
      * Envia notificação de confirmação de agendamento
@@ -36,7 +39,7 @@ public class AppointmentNotificationService {
         CompletableFuture.runAsync(() -> {
             try {
                 String clientName = clientServiceClient.findNameById(appointment.getClientId());
-                String professionalName = professionalServiceClient.findNameById(appointment.getProfessionalId());
+                String professionalName = findProfessionalName(appointment.getProfessionalId());
                 
                 Map<String, Object> emailData = new HashMap<>();
                 emailData.put("to", "cliente@email.com"); // Em uma implementação real, obteria o email do cliente
@@ -67,7 +70,7 @@ public class AppointmentNotificationService {
         CompletableFuture.runAsync(() -> {
             try {
                 String clientName = clientServiceClient.findNameById(appointment.getClientId());
-                String professionalName = professionalServiceClient.findNameById(appointment.getProfessionalId());
+                String professionalName = findProfessionalName(appointment.getProfessionalId());
                 
                 Map<String, Object> emailData = new HashMap<>();
                 emailData.put("to", "cliente@email.com"); // Em uma implementação real, obteria o email do cliente
@@ -96,7 +99,7 @@ public class AppointmentNotificationService {
         CompletableFuture.runAsync(() -> {
             try {
                 String clientName = clientServiceClient.findNameById(appointment.getClientId());
-                String professionalName = professionalServiceClient.findNameById(appointment.getProfessionalId());
+                String professionalName = findProfessionalName(appointment.getProfessionalId());
                 
                 Map<String, Object> emailData = new HashMap<>();
                 emailData.put("to", "cliente@email.com"); // Em uma implementação real, obteria o email do cliente
@@ -126,7 +129,7 @@ public class AppointmentNotificationService {
         CompletableFuture.runAsync(() -> {
             try {
                 String clientName = clientServiceClient.findNameById(appointment.getClientId());
-                String professionalName = professionalServiceClient.findNameById(appointment.getProfessionalId());
+                String professionalName = findProfessionalName(appointment.getProfessionalId());
                 
                 Map<String, Object> emailData = new HashMap<>();
                 emailData.put("to", "cliente@email.com"); // Em uma implementação real, obteria o email do cliente
@@ -205,6 +208,15 @@ public class AppointmentNotificationService {
         });
     }
     
+    /**
+     * Nome do profissional pela réplica local do cadastro; consulta o professional-service só se não o encontrar
+     */
+    private String findProfessionalName(Long professionalId) {
+        return professionalRoster.findById(professionalId)
+                .map(ProfessionalResponse::getName)
+                .orElseGet(() -> professionalServiceClient.findNameById(professionalId));
+    }
+    
     // Métodos auxiliares com Circuit Breaker
     
     @CircuitBreaker(name = "notificationService", fallbackMethod = "sendEmailFallback")
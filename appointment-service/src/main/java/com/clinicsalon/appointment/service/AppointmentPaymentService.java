@@ -16,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +26,7 @@ public class AppointmentPaymentService {
     
     private final AppointmentRepository appointmentRepository;
     private final FinanceServiceClient financeServiceClient;
+    private final PaymentStatusCache paymentStatusCache;
     
     /**
      * Gera um link de pagamento para um agendamento
@@ -66,7 +68,10 @@ public class AppointmentPaymentService {
     }
     
     /**
-     * Verifica o status de pagamento de um agendamento
+     * Verifica o status de pagamento de um agendamento. O status vem do cache mantido pelos
+     * envios do finance-service; o finance-service só é consultado se o agendamento não está em cache.
+     * O cache é local a cada instância e pode estar defasado: decisões que dependem do status
+     * (reembolso, crédito de fidelidade) devem usar {@link #getCurrentPaymentStatus(Long)}
      * @param appointmentId ID do agendamento
      * @return Mapa contendo o status do pagamento e outras informações
      */
@@ -74,6 +79,26 @@ public class AppointmentPaymentService {
     @Retry(name = "financeService")
     @Transactional(readOnly = true)
     public Map<String, Object> getPaymentStatus(Long appointmentId) {
+        Optional<Map<String, Object>> cached = paymentStatusCache.find(appointmentId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        return fetchPaymentStatus(appointmentId);
+    }
+
+    /**
+     * Consulta o status de pagamento diretamente no finance-service, sem passar pelo cache
+     * @param appointmentId ID do agendamento
+     * @return Mapa contendo o status do pagamento e outras informações
+     */
+    @CircuitBreaker(name = "financeService", fallbackMethod = "getPaymentStatusFallback")
+    @Retry(name = "financeService")
+    @Transactional(readOnly = true)
+    public Map<String, Object> getCurrentPaymentStatus(Long appointmentId) {
+        return fetchPaymentStatus(appointmentId);
+    }
+
+    private Map<String, Object> fetchPaymentStatus(Long appointmentId) {
         Appointment appointment = getAppointmentById(appointmentId);
         
         ResponseEntity<Map<String, Object>> response = 
@@ -85,6 +110,7 @@ public class AppointmentPaymentService {
                 Object status = body.get("status");
                 log.info("Status de pagamento obtido para o agendamento ID: {}: {}", 
                         appointmentId, status);
+                paymentStatusCache.put(appointmentId, body);
                 return body;
             }
         }
@@ -1,11 +1,14 @@
 package com.clinicsalon.appointment.service;
 
+import com.clinicsalon.appointment.client.ClientBatchRequest;
+import com.clinicsalon.appointment.client.ClientNameResponse;
 import com.clinicsalon.appointment.client.ClientServiceClient;
 import com.clinicsalon.appointment.client.ProfessionalServiceClient;
 import com.clinicsalon.appointment.dto.AppointmentRequest;
 import com.clinicsalon.appointment.dto.AppointmentResponse;
 import com.clinicsalon.appointment.dto.AppointmentServiceRequest;
 import com.clinicsalon.appointment.dto.AppointmentServiceResponse;
+import com.clinicsalon.appointment.dto.DataVersionResponse;
 import com.clinicsalon.appointment.exception.BusinessException;
 import com.clinicsalon.appointment.exception.ResourceNotFoundException;
 import com.clinicsalon.appointment.mapper.AppointmentMapper;
@@ -13,10 +16,10 @@ import com.clinicsalon.appointment.mapper.AppointmentServiceMapper;
 import com.clinicsalon.appointment.model.Appointment;
 import com.clinicsalon.appointment.model.AppointmentServiceItem;
 import com.clinicsalon.appointment.model.AppointmentStatus;
-import com.clinicsalon.appointment.model.ServiceEntity;
 import com.clinicsalon.appointment.repository.AppointmentRepository;
 import com.clinicsalon.appointment.repository.AppointmentServiceRepository;
-import com.clinicsalon.appointment.repository.ServiceRepository;
+import com.clinicsalon.professional.client.ProfessionalResponse;
+import com.clinicsalon.professional.client.ProfessionalRosterReplica;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -25,13 +28,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import com.clinicsalon.monitoring.aspect.MonitorPerformance;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -42,37 +48,35 @@ public class AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
     private final AppointmentServiceRepository appointmentServiceRepository;
-    private final ServiceRepository serviceRepository;
+    private final ServiceCatalog serviceCatalog;
     private final AppointmentMapper appointmentMapper;
     private final AppointmentServiceMapper appointmentServiceMapper;
     private final ClientServiceClient clientServiceClient;
     private final ProfessionalServiceClient professionalServiceClient;
+    private final ProfessionalRosterReplica professionalRoster;
     private final AppointmentPaymentService paymentService;
     private final AppointmentNotificationService notificationService;
     private final LoyaltyIntegrationService loyaltyService;
+    private final AvailabilityService availabilityService;
 
     @Transactional(readOnly = true)
     public Page<AppointmentResponse> findAll(Pageable pageable) {
-        return appointmentRepository.findAll(pageable)
-                .map(this::enrichAppointmentResponse);
+        return enrichPage(appointmentRepository.findAll(pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<AppointmentResponse> findByClientId(Long clientId, Pageable pageable) {
-        return appointmentRepository.findByClientId(clientId, pageable)
-                .map(this::enrichAppointmentResponse);
+        return enrichPage(appointmentRepository.findByClientId(clientId, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<AppointmentResponse> findByProfessionalId(Long professionalId, Pageable pageable) {
-        return appointmentRepository.findByProfessionalId(professionalId, pageable)
-                .map(this::enrichAppointmentResponse);
+        return enrichPage(appointmentRepository.findByProfessionalId(professionalId, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<AppointmentResponse> findByStatus(AppointmentStatus status, Pageable pageable) {
-        return appointmentRepository.findByStatus(status, pageable)
-                .map(this::enrichAppointmentResponse);
+        return enrichPage(appointmentRepository.findByStatus(status, pageable));
     }
 
     @Transactional(readOnly = true)
@@ -86,11 +90,39 @@ public class AppointmentService {
         LocalDateTime startOfDay = day.toLocalDate().atStartOfDay();
         LocalDateTime endOfDay = startOfDay.plusDays(1).minusSeconds(1);
 
-        return appointmentRepository.findProfessionalAppointmentsForDateRange(professionalId, startOfDay, endOfDay)
-                .stream()
-                .map(this::enrichAppointmentResponse)
+        List<Appointment> appointments = appointmentRepository
+                .findProfessionalAppointmentsForDateRange(professionalId, startOfDay, endOfDay);
+        Map<Long, String> clientNames = findClientNames(appointments);
+        return appointments.stream()
+                .map(appointment -> enrichAppointmentResponse(appointment, clientNames))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Versão atual dos dados de agendamentos, derivada da quantidade, do maior ID e da
+     * última alteração dos agendamentos e do catálogo de serviços
+     */
+    @Transactional(readOnly = true)
+    public DataVersionResponse getDataVersion() {
+        AppointmentRepository.DataWatermark watermark = appointmentRepository.findDataWatermark();
+        long records = watermark.getRecords() != null ? watermark.getRecords() : 0;
+        long lastId = watermark.getLastId() != null ? watermark.getLastId() : 0;
+        LocalDateTime lastModified = latest(watermark.getLastModified(), watermark.getCatalogModified());
+
+        return DataVersionResponse.builder()
+                .source("appointments")
+                .records(records)
+                .lastModified(lastModified)
+                .version(records + "-" + lastId + "-" + (lastModified != null ? lastModified.toString() : "0"))
+                .build();
+    }
+
+    private LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        return second != null && second.isAfter(first) ? second : first;
+    }
     
     /**
      * Busca todos os agendamentos completados e pendentes de pagamento
@@ -105,21 +137,22 @@ public class AppointmentService {
         Page<Appointment> completedAppointments = appointmentRepository.findByStatus(AppointmentStatus.COMPLETED, pageable);
         
         // Cria uma lista com agendamentos pendentes de pagamento
+        Map<Long, String> clientNames = findClientNames(completedAppointments.getContent());
         return completedAppointments.map(appointment -> {
             // Consulta o serviço de pagamento para verificar se o agendamento já foi pago
             try {
                 Map<String, Object> paymentStatus = paymentService.getPaymentStatus(appointment.getId());
                 if (paymentStatus != null && !"PAID".equals(paymentStatus.get("status"))) {
                     // Retorna apenas se não estiver pago
-                    return enrichAppointmentResponse(appointment);
+                    return enrichAppointmentResponse(appointment, clientNames);
                 }
                 // Se já estiver pago, retorna o appointment response normalmente para manter a estrutura da Page
                 // O filtro será aplicado depois na interface (frontend)
-                return enrichAppointmentResponse(appointment);
+                return enrichAppointmentResponse(appointment, clientNames);
             } catch (Exception e) {
                 log.error("Erro ao verificar status de pagamento para o agendamento {}: {}", appointment.getId(), e.getMessage());
                 // Em caso de erro na verificação, assume que está pendente
-                return enrichAppointmentResponse(appointment);
+                return enrichAppointmentResponse(appointment, clientNames);
             }
         });
     }
@@ -139,21 +172,22 @@ public class AppointmentService {
                 clientId, AppointmentStatus.COMPLETED, pageable);
         
         // Cria uma lista com agendamentos pendentes de pagamento
+        Map<Long, String> clientNames = findClientNames(clientCompletedAppointments.getContent());
         return clientCompletedAppointments.map(appointment -> {
             // Consulta o serviço de pagamento para verificar se o agendamento já foi pago
             try {
                 Map<String, Object> paymentStatus = paymentService.getPaymentStatus(appointment.getId());
                 if (paymentStatus != null && !"PAID".equals(paymentStatus.get("status"))) {
                     // Retorna apenas se não estiver pago
-                    return enrichAppointmentResponse(appointment);
+                    return enrichAppointmentResponse(appointment, clientNames);
                 }
                 // Se já estiver pago, retorna o appointment response normalmente para manter a estrutura da Page
                 // O filtro será aplicado depois na interface (frontend)
-                return enrichAppointmentResponse(appointment);
+                return enrichAppointmentResponse(appointment, clientNames);
             } catch (Exception e) {
                 log.error("Erro ao verificar status de pagamento para o agendamento {}: {}", appointment.getId(), e.getMessage());
                 // Em caso de erro na verificação, assume que está pendente
-                return enrichAppointmentResponse(appointment);
+                return enrichAppointmentResponse(appointment, clientNames);
             }
         });
     }
@@ -166,29 +200,14 @@ public class AppointmentService {
         Appointment appointment = appointmentMapper.toEntity(request);
         appointment.setStatus(AppointmentStatus.PENDING);
         
-        BigDecimal totalPrice = BigDecimal.ZERO;
-        List<AppointmentServiceItem> appointmentServices = new ArrayList<>();
+        // Resolvendo os serviços e calculando o preço total em uma única consulta ao catálogo
+        ServiceCatalog.PricedServices pricedServices = serviceCatalog.price(request.getServices());
         
-        // Calculando o preço total
-        for (AppointmentServiceRequest serviceRequest : request.getServices()) {
-            ServiceEntity service = serviceRepository.findById(serviceRequest.getServiceId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Serviço", "id", serviceRequest.getServiceId()));
-            
-            totalPrice = totalPrice.add(service.getPrice());
-        }
-        
-        appointment.setPrice(totalPrice);
+        appointment.setPrice(pricedServices.totalPrice());
         appointment = appointmentRepository.save(appointment);
         
         // Salvando os serviços associados ao agendamento
-        for (AppointmentServiceRequest serviceRequest : request.getServices()) {
-            ServiceEntity service = serviceRepository.findById(serviceRequest.getServiceId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Serviço", "id", serviceRequest.getServiceId()));
-            
-            AppointmentServiceItem appointmentService = appointmentServiceMapper.toEntity(
-                    serviceRequest, appointment, service);
-            appointmentServices.add(appointmentService);
-        }
+        List<AppointmentServiceItem> appointmentServices = buildServiceItems(request, appointment, pricedServices);
         
         appointmentServiceRepository.saveAll(appointmentServices);
         log.info("Agendamento criado com ID: {}", appointment.getId());
@@ -228,21 +247,10 @@ public class AppointmentService {
         appointmentServiceRepository.deleteByAppointmentId(id);
         
         // Calculando o novo preço total
-        BigDecimal totalPrice = BigDecimal.ZERO;
-        List<AppointmentServiceItem> appointmentServices = new ArrayList<>();
+        ServiceCatalog.PricedServices pricedServices = serviceCatalog.price(request.getServices());
+        List<AppointmentServiceItem> appointmentServices = buildServiceItems(request, appointment, pricedServices);
         
-        for (AppointmentServiceRequest serviceRequest : request.getServices()) {
-            ServiceEntity service = serviceRepository.findById(serviceRequest.getServiceId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Serviço", "id", serviceRequest.getServiceId()));
-            
-            totalPrice = totalPrice.add(service.getPrice());
-            
-            AppointmentServiceItem appointmentService = appointmentServiceMapper.toEntity(
-                    serviceRequest, appointment, service);
-            appointmentServices.add(appointmentService);
-        }
-        
-        appointment.setPrice(totalPrice);
+        appointment.setPrice(pricedServices.totalPrice());
         appointment = appointmentRepository.save(appointment);
         appointmentServiceRepository.saveAll(appointmentServices);
         
@@ -284,6 +292,17 @@ public class AppointmentService {
         return enrichAppointmentResponse(appointment);
     }
 
+    private List<AppointmentServiceItem> buildServiceItems(AppointmentRequest request, Appointment appointment,
+                                                          ServiceCatalog.PricedServices pricedServices) {
+        List<AppointmentServiceRequest> serviceRequests = request.getServices();
+        List<AppointmentServiceItem> items = new ArrayList<>(serviceRequests.size());
+        for (int i = 0; i < serviceRequests.size(); i++) {
+            items.add(appointmentServiceMapper.toEntity(
+                    serviceRequests.get(i), appointment, pricedServices.services().get(i)));
+        }
+        return items;
+    }
+
     private Appointment getAppointmentById(Long id) {
         return appointmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Agendamento", "id", id));
@@ -313,10 +332,14 @@ public class AppointmentService {
             throw new BusinessException("A hora de término deve ser posterior à hora de início");
         }
 
-        // Verificar se há conflito de horário com outro agendamento
+        // Verificar se o horário está dentro do expediente do profissional (em memória)
+        availabilityService.validateWorkingHours(
+                request.getProfessionalId(), request.getStartTime(), request.getEndTime());
+
+        // Verificar se há conflito de horário com outro agendamento que se sobreponha ao período
         List<Appointment> conflictingAppointments = appointmentRepository
-                .findProfessionalAppointmentsForDateRange(
-                        request.getProfessionalId(), 
+                .findOverlappingAppointments(
+                        List.of(request.getProfessionalId()), 
                         request.getStartTime(), 
                         request.getEndTime());
 
@@ -325,6 +348,33 @@ public class AppointmentService {
         }
     }
 
+    private Page<AppointmentResponse> enrichPage(Page<Appointment> appointments) {
+        Map<Long, String> clientNames = findClientNames(appointments.getContent());
+        return appointments.map(appointment -> enrichAppointmentResponse(appointment, clientNames));
+    }
+
+    /**
+     * Resolve os nomes dos clientes de uma lista de agendamentos em uma única chamada ao client-service
+     */
+    private Map<Long, String> findClientNames(List<Appointment> appointments) {
+        Set<Long> clientIds = appointments.stream()
+                .map(Appointment::getClientId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (clientIds.isEmpty()) {
+            return Map.of();
+        }
+        
+        try {
+            return clientServiceClient.findNamesByIds(new ClientBatchRequest(new ArrayList<>(clientIds))).stream()
+                    .filter(client -> client.getName() != null)
+                    .collect(Collectors.toMap(ClientNameResponse::getId, ClientNameResponse::getName,
+                            (first, second) -> first));
+        } catch (Exception e) {
+            log.error("Erro ao buscar nomes dos clientes em lote: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
     private AppointmentResponse enrichAppointmentResponse(Appointment appointment) {
         AppointmentResponse response = appointmentMapper.toResponse(appointment);
         
@@ -335,8 +385,23 @@ public class AppointmentService {
             response.setClientName("Cliente não encontrado");
         }
         
+        return enrichDetails(appointment, response);
+    }
+
+    private AppointmentResponse enrichAppointmentResponse(Appointment appointment, Map<Long, String> clientNames) {
+        AppointmentResponse response = appointmentMapper.toResponse(appointment);
+        response.setClientName(clientNames.getOrDefault(appointment.getClientId(), "Cliente não encontrado"));
+        return enrichDetails(appointment, response);
+    }
+
+    private AppointmentResponse enrichDetails(Appointment appointment, AppointmentResponse response) {
+        
         try {
-            response.setProfessionalName(professionalServiceClient.findNameById(appointment.getProfessionalId()));
+            // Réplica local do cadastro; o professional-service só é consultado para quem ainda não está nela
+            Long professionalId = appointment.getProfessionalId();
+            response.setProfessionalName(professionalRoster.findById(professionalId)
+                    .map(ProfessionalResponse::getName)
+                    .orElseGet(() -> professionalServiceClient.findNameById(professionalId)));
         } catch (Exception e) {
             log.error("Erro ao buscar nome do profissional: {}", e.getMessage());
             response.setProfessionalName("Profissional não encontrado");
@@ -383,45 +448,74 @@ public class AppointmentService {
      * Lida com pagamentos baseados em mudanças de status do agendamento
      */
     private void handlePaymentForStatusChange(Appointment appointment, AppointmentStatus newStatus) {
+        if (newStatus == AppointmentStatus.COMPLETED) {
+            // Fora do try: se o crédito não puder ser gravado, a conclusão é desfeita junto
+            if (isPaid(appointment)) {
+                loyaltyService.recordLoyaltyCredit(appointment);
+                afterCommit(() -> sendLoyaltyPoints(appointment));
+            }
+            return;
+        }
         try {
+            // O status é consultado no finance-service: o cache local pode não ter recebido a última alteração
             if (newStatus == AppointmentStatus.CANCELLED || newStatus == AppointmentStatus.NO_SHOW) {
                 // Verificar status do pagamento e processar reembolso se necessário
-                Map<String, Object> paymentStatus = paymentService.getPaymentStatus(appointment.getId());
+                Map<String, Object> paymentStatus = paymentService.getCurrentPaymentStatus(appointment.getId());
                 
                 if (paymentStatus != null && "PAID".equals(paymentStatus.get("status"))) {
                     paymentService.processRefund(appointment.getId());
                     notificationService.sendRefundProcessedNotification(appointment);
                     log.info("Reembolso processado para o agendamento ID: {}", appointment.getId());
                 }
-            } else if (newStatus == AppointmentStatus.COMPLETED) {
-                // Verificar status do pagamento
-                Map<String, Object> paymentStatus = paymentService.getPaymentStatus(appointment.getId());
-                
-                if (paymentStatus != null && "PAID".equals(paymentStatus.get("status"))) {
-                    // Atualizar sistema de fidelidade com os pontos do agendamento
-                    try {
-                        // Garantir que o cliente tenha uma conta de fidelidade
-                        loyaltyService.ensureLoyaltyAccount(appointment.getClientId());
-                        
-                        // Adicionar pontos baseados no valor do agendamento
-                        Map<String, Object> loyaltyResult = loyaltyService.addLoyaltyPoints(appointment);
-                        
-                        if ("SUCCESS".equals(loyaltyResult.get("status"))) {
-                            log.info("Pontos de fidelidade adicionados para o cliente ID: {} pelo agendamento ID: {}", 
-                                    appointment.getClientId(), appointment.getId());
-                            
-                            // Notificar o cliente sobre os pontos adicionados
-                            notificationService.sendPaymentApprovedNotification(appointment);
-                        }
-                    } catch (Exception e) {
-                        log.error("Erro ao processar pontos de fidelidade para o agendamento ID {}: {}", 
-                                appointment.getId(), e.getMessage());
-                        // Falha no sistema de fidelidade não deve impedir a conclusão do agendamento
-                    }
-                }
             }
         } catch (Exception e) {
             log.error("Erro ao processar pagamento para agendamento ID {}: {}", appointment.getId(), e.getMessage());
         }
     }
+
+    private boolean isPaid(Appointment appointment) {
+        // O status é consultado no finance-service: o cache local pode não ter recebido a última alteração
+        try {
+            Map<String, Object> paymentStatus = paymentService.getCurrentPaymentStatus(appointment.getId());
+            return paymentStatus != null && "PAID".equals(paymentStatus.get("status"));
+        } catch (Exception e) {
+            log.error("Erro ao verificar pagamento do agendamento ID {}: {}", appointment.getId(), e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Envia o crédito de fidelidade já gravado na conclusão; se o loyalty-service não o
+     * confirmar, o crédito continua pendente e é reenviado em lote
+     */
+    private void sendLoyaltyPoints(Appointment appointment) {
+        try {
+            Map<String, Object> loyaltyResult = loyaltyService.addLoyaltyPoints(appointment);
+            
+            if ("SUCCESS".equals(loyaltyResult.get("status"))) {
+                log.info("Pontos de fidelidade adicionados para o cliente ID: {} pelo agendamento ID: {}", 
+                        appointment.getClientId(), appointment.getId());
+                
+                // Notificar o cliente sobre os pontos adicionados
+                notificationService.sendPaymentApprovedNotification(appointment);
+            }
+        } catch (Exception e) {
+            log.error("Erro ao processar pontos de fidelidade para o agendamento ID {}: {}", 
+                    appointment.getId(), e.getMessage());
+            // Falha no sistema de fidelidade não deve impedir a conclusão do agendamento
+        }
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
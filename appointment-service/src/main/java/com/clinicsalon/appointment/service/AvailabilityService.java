@@ -0,0 +1,127 @@
+package com.clinicsalon.appointment.service;
+
+import com.clinicsalon.appointment.dto.AvailableSlotsResponse;
+import com.clinicsalon.appointment.exception.BusinessException;
+import com.clinicsalon.appointment.model.Appointment;
+import com.clinicsalon.appointment.repository.AppointmentRepository;
+import com.clinicsalon.appointment.scheduling.MinuteBitmaps;
+import com.clinicsalon.appointment.scheduling.ProfessionalAvailabilityCache;
+import com.clinicsalon.monitoring.aspect.MonitorPerformance;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Busca de horários livres e validação de expediente sobre os mapas de bits de disponibilidade
+ * publicados pelo professional-service. Para cada profissional, os horários livres do dia são
+ * a disponibilidade menos os minutos ocupados por agendamentos ativos, carregados em uma única
+ * consulta para todos os profissionais.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityService.class);
+
+    static final int MAX_PROFESSIONALS = 50;
+
+    private final AppointmentRepository appointmentRepository;
+    private final ProfessionalAvailabilityCache availabilityCache;
+
+    /**
+     * Horários em que cada profissional pode iniciar um atendimento com a duração informada
+     *
+     * @param professionalIds IDs dos profissionais
+     * @param date            Data da busca
+     * @param durationMinutes Duração do atendimento em minutos
+     * @param stepMinutes     Intervalo entre os inícios sugeridos, a partir da meia-noite
+     * @return Horários livres de cada profissional, na ordem informada
+     */
+    @Transactional(readOnly = true)
+    @MonitorPerformance(description = "Buscar horários disponíveis", thresholdMillis = 300)
+    public List<AvailableSlotsResponse> findAvailableSlots(List<Long> professionalIds, LocalDate date,
+                                                           int durationMinutes, int stepMinutes) {
+        Set<Long> distinctIds = new LinkedHashSet<>(professionalIds);
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_PROFESSIONALS) {
+            throw new BusinessException("Informe entre 1 e " + MAX_PROFESSIONALS + " profissionais");
+        }
+        if (durationMinutes < 5 || durationMinutes > MinuteBitmaps.MINUTES_PER_DAY) {
+            throw new BusinessException("A duração deve estar entre 5 e " + MinuteBitmaps.MINUTES_PER_DAY + " minutos");
+        }
+        if (stepMinutes < 5 || stepMinutes > 240) {
+            throw new BusinessException("O intervalo entre horários deve estar entre 5 e 240 minutos");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (date.isBefore(now.toLocalDate())) {
+            throw new BusinessException("A data da busca deve ser hoje ou futura");
+        }
+
+        Map<Long, BitSet> availability = availabilityCache.getDay(distinctIds, date);
+        if (availability.size() < distinctIds.size()) {
+            List<Long> unknown = distinctIds.stream().filter(id -> !availability.containsKey(id)).toList();
+            throw new BusinessException("Não foi possível consultar a disponibilidade dos profissionais " + unknown);
+        }
+
+        Map<Long, BitSet> free = new HashMap<>(distinctIds.size() * 2);
+        availability.forEach((professionalId, minutes) -> free.put(professionalId, (BitSet) minutes.clone()));
+        for (Appointment appointment : appointmentRepository.findOverlappingAppointments(
+                distinctIds, date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+            free.get(appointment.getProfessionalId()).clear(
+                    MinuteBitmaps.startMinute(date, appointment.getStartTime()),
+                    MinuteBitmaps.endMinute(date, appointment.getEndTime()));
+        }
+
+        // Hoje, apenas horários a partir do próximo minuto
+        int fromMinute = date.equals(now.toLocalDate()) ? MinuteBitmaps.endMinute(date, now) : 0;
+
+        List<AvailableSlotsResponse> responses = new ArrayList<>(distinctIds.size());
+        for (Long professionalId : distinctIds) {
+            List<LocalTime> slots = MinuteBitmaps.findStarts(free.get(professionalId), fromMinute, durationMinutes, stepMinutes)
+                    .stream()
+                    .map(minute -> LocalTime.of(minute / 60, minute % 60))
+                    .toList();
+            responses.add(AvailableSlotsResponse.builder()
+                    .professionalId(professionalId)
+                    .date(date)
+                    .durationMinutes(durationMinutes)
+                    .slots(slots)
+                    .build());
+        }
+        log.debug("Horários disponíveis calculados para {} profissional(is) em {}", responses.size(), date);
+        return responses;
+    }
+
+    /**
+     * Garante que o profissional atende em todo o período [start, end). Se a disponibilidade
+     * não puder ser consultada, a validação de expediente é ignorada e apenas registrada.
+     *
+     * @throws BusinessException se algum minuto do período estiver fora do expediente
+     */
+    public void validateWorkingHours(Long professionalId, LocalDateTime start, LocalDateTime end) {
+        for (LocalDate date = start.toLocalDate(); date.atStartOfDay().isBefore(end); date = date.plusDays(1)) {
+            BitSet minutes = availabilityCache.getDay(List.of(professionalId), date).get(professionalId);
+            if (minutes == null) {
+                log.warn("Disponibilidade do profissional ID: {} indisponível; expediente não validado para {}",
+                        professionalId, date);
+                return;
+            }
+            if (!MinuteBitmaps.covers(minutes, MinuteBitmaps.startMinute(date, start), MinuteBitmaps.endMinute(date, end))) {
+                throw new BusinessException("O profissional não atende em todo o horário solicitado");
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.clinicsalon.appointment.service;
+
+import com.clinicsalon.appointment.client.LoyaltyBalanceChange;
+import com.clinicsalon.appointment.client.LoyaltyServiceClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cópia local do saldo e do nível de fidelidade por cliente, para que as telas de agendamento
+ * não consultem o loyalty-service a cada leitura. A cópia é alimentada pelo feed de alterações
+ * de contas do loyalty-service: a cada ciclo (appointment.loyalty.balances.sync-interval) são
+ * lidas as contas alteradas desde o último cursor, recuando uma janela de sobreposição para
+ * pegar transações confirmadas fora de ordem, e a cada reconcile-interval todas as contas são
+ * relidas. Uma alteração só substitui a entrada do cliente se não for mais antiga que ela.
+ * <p>
+ * Toda leitura informa o início da última sincronização concluída (asOf): o saldo servido
+ * reflete todas as alterações anteriores a esse instante. Isso pressupõe que toda transação do
+ * loyalty-service é confirmada em menos de appointment.loyalty.balances.overlap depois do
+ * updatedAt que grava, e que os relógios dos dois serviços estão sincronizados dentro dessa
+ * mesma janela; uma alteração confirmada mais tarde fica fora do feed incremental e só entra
+ * na próxima releitura completa. Enquanto a primeira releitura completa não termina, ou se
+ * entradas foram descartadas por tamanho (appointment.loyalty.balances.max-size), clientes
+ * ausentes não são respondidos localmente e a consulta segue para o loyalty-service.
+ * <p>
+ * Se a última sincronização concluída tem mais de appointment.loyalty.balances.max-staleness
+ * (loyalty-service fora do ar ou feed parado), a cópia deixa de responder e as consultas
+ * voltam a ir ao loyalty-service.
+ */
+@Component
+public class LoyaltyBalanceReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyBalanceReadModel.class);
+
+    // Maior página aceita pelo feed de alterações do loyalty-service
+    private static final int MAX_PAGE_SIZE = 5_000;
+
+    private final LoyaltyServiceClient loyaltyServiceClient;
+    private final boolean enabled;
+    private final int pageSize;
+    private final Duration overlap;
+    private final Duration reconcileInterval;
+    private final Duration maxStaleness;
+    private final Cache<Long, Balance> balances;
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Estado da sincronização, alterado apenas dentro de sync()
+    private LocalDateTime cursor;
+    private Instant reconciledAt;
+
+    private volatile Instant asOf;
+    private volatile boolean complete;
+
+    public LoyaltyBalanceReadModel(LoyaltyServiceClient loyaltyServiceClient,
+                                   @Value("${appointment.loyalty.balances.enabled:true}") boolean enabled,
+                                   @Value("${appointment.loyalty.balances.page-size:1000}") int pageSize,
+                                   @Value("${appointment.loyalty.balances.overlap:PT10S}") Duration overlap,
+                                   @Value("${appointment.loyalty.balances.reconcile-interval:PT15M}") Duration reconcileInterval,
+                                   @Value("${appointment.loyalty.balances.max-staleness:PT1M}") Duration maxStaleness,
+                                   @Value("${appointment.loyalty.balances.max-size:200000}") long maximumSize) {
+        this.loyaltyServiceClient = loyaltyServiceClient;
+        this.enabled = enabled;
+        this.pageSize = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+        this.overlap = overlap;
+        this.reconcileInterval = reconcileInterval;
+        this.maxStaleness = maxStaleness;
+        this.balances = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .evictionListener((Long clientId, Balance balance, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictions.incrementAndGet();
+                        complete = false;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Saldo local do cliente
+     *
+     * @return Saldo e nível do cliente (zero, sem conta, se a cópia está completa e o cliente não
+     * aparece nela), ou vazio se a cópia não pode responder (ausente ou defasada além de
+     * max-staleness) e o loyalty-service deve ser consultado
+     */
+    public Optional<LocalBalance> find(Long clientId) {
+        // Lido antes da entrada: a entrada é pelo menos tão recente quanto o asOf informado
+        Instant syncedAt = asOf;
+        if (syncedAt == null || !syncedAt.plus(maxStaleness).isAfter(Instant.now())) {
+            return Optional.empty();
+        }
+        Balance balance = balances.getIfPresent(clientId);
+        if (balance != null) {
+            return Optional.of(new LocalBalance(clientId, balance.points(), balance.tier(), true, syncedAt));
+        }
+        if (complete) {
+            return Optional.of(new LocalBalance(clientId, 0, null, false, syncedAt));
+        }
+        return Optional.empty();
+    }
+
+    public boolean isReady() {
+        return asOf != null;
+    }
+
+    public long size() {
+        return balances.estimatedSize();
+    }
+
+    /**
+     * Aplica as alterações desde o último cursor ou, no intervalo de reconciliação, relê todas
+     * as contas. Falhas mantêm o cursor e o asOf anteriores; o próximo ciclo tenta de novo
+     */
+    @Scheduled(fixedDelayString = "${appointment.loyalty.balances.sync-interval:PT5S}")
+    public synchronized void sync() {
+        if (!enabled) {
+            return;
+        }
+        Instant started = Instant.now();
+        boolean reconcile = reconciledAt == null || !started.isBefore(reconciledAt.plus(reconcileInterval));
+        try {
+            if (reconcile) {
+                reconcile(started);
+            } else {
+                LocalDateTime from = cursor != null ? cursor.minus(overlap) : null;
+                int read = readChanges(from, null);
+                asOf = started;
+                log.debug("Saldos de fidelidade sincronizados: {} alteração(ões) lida(s)", read);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Erro ao sincronizar saldos de fidelidade (última sincronização: {}): {}", asOf, e.getMessage());
+        }
+    }
+
+    private void reconcile(Instant started) {
+        long evictionsBefore = evictions.get();
+        Set<Long> seen = new HashSet<>();
+        int read = readChanges(null, seen);
+
+        // Contas que não existem mais no loyalty-service
+        balances.asMap().keySet().retainAll(seen);
+        reconciledAt = started;
+        complete = evictions.get() == evictionsBefore;
+        asOf = started;
+        log.info("Saldos de fidelidade reconciliados: {} conta(s){}", read,
+                complete ? "" : "; cópia parcial, clientes ausentes serão consultados no loyalty-service");
+    }
+
+    /**
+     * Lê todas as páginas do feed a partir de modifiedAfter e aplica cada alteração
+     *
+     * @param seen Se informado, recebe os IDs de cliente lidos
+     * @return Quantidade de alterações lidas
+     */
+    private int readChanges(LocalDateTime modifiedAfter, Set<Long> seen) {
+        LocalDateTime after = modifiedAfter;
+        Long afterId = null;
+        int read = 0;
+        while (true) {
+            List<LoyaltyBalanceChange> page = loyaltyServiceClient.getBalanceChanges(after, afterId, pageSize);
+            if (page == null) {
+                throw new IllegalStateException("Loyalty-service indisponível");
+            }
+            for (LoyaltyBalanceChange change : page) {
+                apply(change);
+                if (seen != null) {
+                    seen.add(change.getClientId());
+                }
+            }
+            read += page.size();
+            if (!page.isEmpty()) {
+                LoyaltyBalanceChange last = page.get(page.size() - 1);
+                after = last.getUpdatedAt();
+                afterId = last.getAccountId();
+                if (cursor == null || after.isAfter(cursor)) {
+                    cursor = after;
+                }
+            }
+            if (page.size() < pageSize) {
+                return read;
+            }
+        }
+    }
+
+    private void apply(LoyaltyBalanceChange change) {
+        Balance incoming = new Balance(
+                change.getPointsBalance() != null ? change.getPointsBalance() : 0,
+                change.getTier(),
+                change.getUpdatedAt());
+        balances.asMap().merge(change.getClientId(), incoming,
+                (current, candidate) -> candidate.updatedAt().isBefore(current.updatedAt()) ? current : candidate);
+    }
+
+    private record Balance(int points, String tier, LocalDateTime updatedAt) {
+    }
+
+    /**
+     * Saldo servido pela cópia local
+     *
+     * @param hasAccount Falso quando o cliente ainda não tem conta de fidelidade
+     * @param asOf       Início da última sincronização concluída
+     */
+    public record LocalBalance(Long clientId, int points, String tier, boolean hasAccount, Instant asOf) {
+
+        public long stalenessSeconds() {
+            return Math.max(Duration.between(asOf, Instant.now()).toSeconds(), 0);
+        }
+
+        /**
+         * Resposta no mesmo formato da consulta de saldo ao loyalty-service, com a origem e a defasagem
+         */
+        public Map<String, Object> toResponse() {
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "SUCCESS");
+            response.put("clientId", clientId);
+            response.put("points", points);
+            response.put("tier", tier);
+            response.put("hasAccount", hasAccount);
+            response.put("source", "LOCAL");
+            response.put("asOf", asOf.toString());
+            response.put("stalenessSeconds", stalenessSeconds());
+            return response;
+        }
+    }
+}
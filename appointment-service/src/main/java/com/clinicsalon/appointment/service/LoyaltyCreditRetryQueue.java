@@ -0,0 +1,215 @@
+package com.clinicsalon.appointment.service;
+
+import com.clinicsalon.appointment.client.LoyaltyCreditBatchRequest;
+import com.clinicsalon.appointment.client.LoyaltyCreditRequest;
+import com.clinicsalon.appointment.client.LoyaltyCreditResponse;
+import com.clinicsalon.appointment.client.LoyaltyServiceClient;
+import com.clinicsalon.appointment.model.LoyaltyCreditOutboxEntry;
+import com.clinicsalon.appointment.repository.LoyaltyCreditOutboxRepository;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Créditos de fidelidade ainda não confirmados pelo loyalty-service, guardados na tabela
+ * loyalty_credit_outbox. O crédito é gravado na mesma transação que conclui o agendamento
+ * e removido quando o loyalty-service o confirma, então sobrevive a deploys e quedas da
+ * instância. Os pendentes (falha, timeout ou circuito aberto no envio imediato) são
+ * reenviados periodicamente em lotes pelo endpoint de lote; como o crédito é idempotente
+ * por agendamento, reenviar um crédito que já tinha sido aplicado, inclusive por outra
+ * instância, não soma os pontos de novo.
+ * <p>
+ * Apenas falhas transitórias (indisponibilidade, 5xx, erros de I/O) mantêm o lote na tabela.
+ * Um lote recusado com 4xx é reenviado crédito a crédito, e os créditos recusados
+ * individualmente são descartados, para que um crédito inválido não bloqueie os demais.
+ * Descartes são contados na métrica loyalty.credits.dropped (tag reason) e o número de
+ * pendentes, lido a cada reenvio, é exportado em loyalty.credits.pending.
+ */
+@Component
+public class LoyaltyCreditRetryQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyCreditRetryQueue.class);
+
+    private final LoyaltyServiceClient loyaltyServiceClient;
+    private final LoyaltyCreditOutboxRepository outboxRepository;
+    private final int batchSize;
+    private final Counter rejectedCounter;
+    private final AtomicLong pending = new AtomicLong();
+
+    public LoyaltyCreditRetryQueue(LoyaltyServiceClient loyaltyServiceClient,
+                                   LoyaltyCreditOutboxRepository outboxRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${appointment.loyalty.credit-batch-size:100}") int batchSize) {
+        this.loyaltyServiceClient = loyaltyServiceClient;
+        this.outboxRepository = outboxRepository;
+        this.batchSize = Math.max(batchSize, 1);
+        this.rejectedCounter = meterRegistry.counter("loyalty.credits.dropped", "reason", "rejected");
+        meterRegistry.gauge("loyalty.credits.pending", Tags.empty(), pending);
+    }
+
+    /**
+     * Grava o crédito como pendente, na transação corrente: se a gravação falhar, a transação
+     * que o originou também é desfeita
+     */
+    public void enqueue(LoyaltyCreditRequest request) {
+        if (request.getPoints() == null || request.getPoints() <= 0) {
+            log.debug("Crédito de fidelidade sem pontos não enfileirado: {} {}",
+                    request.getSourceType(), request.getSourceId());
+            return;
+        }
+        if (outboxRepository.existsBySourceTypeAndSourceId(request.getSourceType(), request.getSourceId())) {
+            log.debug("Crédito de fidelidade já pendente: {} {}", request.getSourceType(), request.getSourceId());
+            return;
+        }
+        outboxRepository.save(LoyaltyCreditOutboxEntry.builder()
+                .clientId(request.getClientId())
+                .points(request.getPoints())
+                .sourceType(request.getSourceType())
+                .sourceId(request.getSourceId())
+                .description(request.getDescription())
+                .build());
+    }
+
+    /**
+     * Remove o crédito confirmado pelo loyalty-service
+     */
+    public void confirm(LoyaltyCreditRequest request) {
+        outboxRepository.deleteBySource(request.getSourceType(), request.getSourceId());
+    }
+
+    /**
+     * Descarta o crédito recusado definitivamente pelo loyalty-service
+     */
+    public void reject(LoyaltyCreditRequest request, String reason) {
+        countRejection(request, reason);
+        outboxRepository.deleteBySource(request.getSourceType(), request.getSourceId());
+    }
+
+    public int size() {
+        return (int) outboxRepository.count();
+    }
+
+    /**
+     * Reenvia os créditos pendentes em lotes, até a tabela esvaziar ou o loyalty-service falhar
+     */
+    @Scheduled(fixedDelayString = "${appointment.loyalty.credit-retry-interval:PT1M}")
+    public void flush() {
+        try {
+            sendPending();
+        } finally {
+            pending.set(outboxRepository.count());
+        }
+    }
+
+    private void sendPending() {
+        while (true) {
+            List<LoyaltyCreditOutboxEntry> batch = outboxRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<LoyaltyCreditRequest> credits = batch.stream().map(LoyaltyCreditRetryQueue::requestOf).toList();
+
+            List<LoyaltyCreditResponse> responses;
+            try {
+                responses = loyaltyServiceClient.creditBatch(new LoyaltyCreditBatchRequest(credits));
+            } catch (RuntimeException e) {
+                if (isRejection(e)) {
+                    log.warn("Lote de {} créditos de fidelidade recusado ({}); reenviando individualmente",
+                            batch.size(), e.getMessage());
+                    if (!sendIndividually(batch)) {
+                        return;
+                    }
+                    continue;
+                }
+                log.warn("Erro ao reenviar créditos de fidelidade: {}", e.getMessage());
+                responses = null;
+            }
+            if (responses == null) {
+                log.warn("Loyalty-service indisponível; créditos de fidelidade mantidos para a próxima tentativa");
+                return;
+            }
+
+            outboxRepository.deleteAllByIdInBatch(batch.stream().map(LoyaltyCreditOutboxEntry::getId).toList());
+            long duplicates = responses.stream()
+                    .filter(response -> LoyaltyCreditResponse.DUPLICATE.equals(response.getStatus()))
+                    .count();
+            log.info("Créditos de fidelidade reenviados: {} ({} já aplicados anteriormente)",
+                    responses.size(), duplicates);
+        }
+    }
+
+    /**
+     * Envia os créditos de um lote recusado um a um, descartando os recusados
+     *
+     * @return false se o loyalty-service ficou indisponível; os créditos restantes continuam pendentes
+     */
+    private boolean sendIndividually(List<LoyaltyCreditOutboxEntry> batch) {
+        List<Long> done = new ArrayList<>(batch.size());
+        try {
+            for (LoyaltyCreditOutboxEntry entry : batch) {
+                LoyaltyCreditRequest credit = requestOf(entry);
+                LoyaltyCreditResponse response;
+                try {
+                    response = loyaltyServiceClient.credit(credit);
+                } catch (RuntimeException e) {
+                    if (isRejection(e)) {
+                        countRejection(credit, e.getMessage());
+                        done.add(entry.getId());
+                        continue;
+                    }
+                    log.warn("Erro ao reenviar crédito de fidelidade: {}", e.getMessage());
+                    response = null;
+                }
+                if (response == null) {
+                    log.warn("Loyalty-service indisponível; {} créditos de fidelidade mantidos para a próxima tentativa",
+                            batch.size() - done.size());
+                    return false;
+                }
+                done.add(entry.getId());
+            }
+            return true;
+        } finally {
+            if (!done.isEmpty()) {
+                outboxRepository.deleteAllByIdInBatch(done);
+            }
+        }
+    }
+
+    private void countRejection(LoyaltyCreditRequest credit, String reason) {
+        rejectedCounter.increment();
+        log.error("Crédito de fidelidade recusado pelo loyalty-service e descartado: {} {} ({} pontos): {}",
+                credit.getSourceType(), credit.getSourceId(), credit.getPoints(), reason);
+    }
+
+    private static LoyaltyCreditRequest requestOf(LoyaltyCreditOutboxEntry entry) {
+        return LoyaltyCreditRequest.builder()
+                .clientId(entry.getClientId())
+                .points(entry.getPoints())
+                .sourceType(entry.getSourceType())
+                .sourceId(entry.getSourceId())
+                .description(entry.getDescription())
+                .build();
+    }
+
+    /**
+     * Recusa definitiva (4xx, exceto 408 e 429): reenviar a mesma requisição não muda o resultado
+     */
+    static boolean isRejection(Throwable e) {
+        if (!(e instanceof FeignException feignException)) {
+            return false;
+        }
+        int status = feignException.status();
+        return status >= 400 && status < 500 && status != 408 && status != 429;
+    }
+}
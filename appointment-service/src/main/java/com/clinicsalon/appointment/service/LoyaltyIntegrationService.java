@@ -1,5 +1,7 @@
 package com.clinicsalon.appointment.service;
 
+import com.clinicsalon.appointment.client.LoyaltyCreditRequest;
+import com.clinicsalon.appointment.client.LoyaltyCreditResponse;
 import com.clinicsalon.appointment.client.LoyaltyServiceClient;
 import com.clinicsalon.appointment.model.Appointment;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -25,11 +27,29 @@ public class LoyaltyIntegrationService {
     
     private static final Logger log = LoggerFactory.getLogger(LoyaltyIntegrationService.class);
     
+    private static final String SOURCE_APPOINTMENT = "APPOINTMENT";
+    
     private final LoyaltyServiceClient loyaltyServiceClient;
+    private final LoyaltyCreditRetryQueue creditRetryQueue;
+    
+    /**
+     * Registra o crédito de fidelidade do agendamento concluído como pendente, na transação
+     * da conclusão. O envio acontece depois do commit, por {@link #addLoyaltyPoints}, ou pelo
+     * reenvio em lote da {@link LoyaltyCreditRetryQueue} se o envio imediato não for confirmado
+     * 
+     * @param appointment Agendamento concluído
+     */
+    public void recordLoyaltyCredit(Appointment appointment) {
+        creditRetryQueue.enqueue(creditRequestOf(appointment));
+    }
     
     /**
      * Adiciona pontos de fidelidade para o cliente baseado no agendamento concluído
      * A regra padrão é 1 ponto para cada R$ 1,00 gasto
+     * Uma única chamada cria a conta, se necessário, e credita os pontos. O crédito é
+     * identificado pelo agendamento, então retentativas não creditam os pontos duas vezes.
+     * O crédito deve ter sido registrado por {@link #recordLoyaltyCredit}: confirmado, sai
+     * dos pendentes; caso contrário, continua pendente para o reenvio em lote
      * 
      * @param appointment Agendamento concluído
      * @return Mapa contendo o status da operação e informações dos pontos adicionados
@@ -40,28 +60,35 @@ public class LoyaltyIntegrationService {
         log.info("Adicionando pontos de fidelidade para cliente ID: {} pelo agendamento ID: {}", 
                 appointment.getClientId(), appointment.getId());
         
-        // Calcula os pontos baseado no valor gasto (1 ponto para cada real)
-        int points = appointment.getPrice().setScale(0, RoundingMode.DOWN).intValue();
-        
-        Map<String, Object> pointsRequest = new HashMap<>();
-        pointsRequest.put("clientId", appointment.getClientId());
-        pointsRequest.put("points", points);
-        pointsRequest.put("description", "Pontos pelo agendamento #" + appointment.getId());
-        pointsRequest.put("sourceId", appointment.getId().toString());
-        pointsRequest.put("sourceType", "APPOINTMENT");
-        
-        ResponseEntity<Map<String, Object>> response = loyaltyServiceClient.addPoints(pointsRequest);
+        LoyaltyCreditRequest request = creditRequestOf(appointment);
+        if (request.getPoints() <= 0) {
+            // Valores abaixo de R$ 1,00 não geram pontos; o loyalty-service recusaria o crédito
+            log.info("Agendamento ID: {} não gera pontos de fidelidade (valor: {})",
+                    appointment.getId(), appointment.getPrice());
+            Map<String, Object> result = new HashMap<>();
+            result.put("status", "SUCCESS");
+            result.put("pointsAdded", 0);
+            result.put("duplicate", false);
+            return result;
+        }
+        LoyaltyCreditResponse response = loyaltyServiceClient.credit(request);
         
-        if (response != null && response.hasBody()) {
-            Map<String, Object> body = response.getBody();
-            if (body != null && "SUCCESS".equals(body.get("status"))) {
-                log.info("Pontos de fidelidade adicionados com sucesso: {} pontos para cliente ID: {}", 
-                        points, appointment.getClientId());
-                return body;
-            }
+        if (response != null && response.getStatus() != null) {
+            boolean duplicate = LoyaltyCreditResponse.DUPLICATE.equals(response.getStatus());
+            creditRetryQueue.confirm(request);
+            log.info("Pontos de fidelidade {}: {} pontos para cliente ID: {}", 
+                    duplicate ? "já creditados anteriormente" : "adicionados com sucesso",
+                    request.getPoints(), appointment.getClientId());
+            Map<String, Object> result = new HashMap<>();
+            result.put("status", "SUCCESS");
+            result.put("pointsAdded", duplicate ? 0 : request.getPoints());
+            result.put("duplicate", duplicate);
+            result.put("transactionId", response.getTransactionId());
+            return result;
         }
         
-        log.error("Erro ao adicionar pontos de fidelidade para cliente ID: {}", appointment.getClientId());
+        log.error("Erro ao adicionar pontos de fidelidade para cliente ID: {}; crédito mantido para reenvio", 
+                appointment.getClientId());
         Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("status", "ERROR");
         errorResponse.put("message", "Não foi possível adicionar os pontos de fidelidade");
@@ -128,6 +155,10 @@ public class LoyaltyIntegrationService {
     
     public Map<String, Object> addLoyaltyPointsFallback(Appointment appointment, Throwable t) {
         log.error("Fallback para adição de pontos de fidelidade ativado: {}", t.getMessage());
+        if (LoyaltyCreditRetryQueue.isRejection(t)) {
+            // Recusa definitiva: reenviar o mesmo crédito não muda o resultado
+            creditRetryQueue.reject(creditRequestOf(appointment), t.getMessage());
+        }
         Map<String, Object> fallbackResponse = new HashMap<>();
         fallbackResponse.put("status", "ERROR");
         fallbackResponse.put("message", "Serviço de fidelidade temporariamente indisponível");
@@ -151,4 +182,16 @@ public class LoyaltyIntegrationService {
         fallbackResponse.put("message", "Serviço de fidelidade temporariamente indisponível");
         return fallbackResponse;
     }
+    
+    private LoyaltyCreditRequest creditRequestOf(Appointment appointment) {
+        // Calcula os pontos baseado no valor gasto (1 ponto para cada real)
+        int points = appointment.getPrice().setScale(0, RoundingMode.DOWN).intValue();
+        return LoyaltyCreditRequest.builder()
+                .clientId(appointment.getClientId())
+                .points(points)
+                .sourceType(SOURCE_APPOINTMENT)
+                .sourceId(appointment.getId().toString())
+                .description("Pontos pelo agendamento #" + appointment.getId())
+                .build();
+    }
 }
@@ -0,0 +1,112 @@
+package com.clinicsalon.appointment.service;
+
+import com.clinicsalon.appointment.client.PaymentStatusUpdate;
+import com.clinicsalon.monitoring.cache.CacheConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Status de pagamento por agendamento no cache {@link CacheConfig#PAYMENT_STATUS_CACHE}.
+ * O cache é mantido pelo finance-service, que envia cada alteração de status recebida do
+ * gateway; consultas ao finance-service só acontecem para agendamentos ausentes do cache.
+ * Cada entrada guarda a versão do status no finance-service, e uma entrada só é substituída
+ * por outra de versão maior ou igual, de modo que uma resposta de consulta atrasada não
+ * sobrescreve um status mais novo recebido por envio.
+ * <p>
+ * O cache é local a cada instância e cada envio chega a apenas uma delas, então uma entrada
+ * pode ficar defasada até expirar. Ele atende apenas leituras de exibição (listagens);
+ * decisões de reembolso e de crédito de fidelidade consultam o finance-service
+ * ({@link AppointmentPaymentService#getCurrentPaymentStatus(Long)}).
+ */
+@Component
+public class PaymentStatusCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentStatusCache.class);
+
+    private final Cache cache;
+
+    public PaymentStatusCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.PAYMENT_STATUS_CACHE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<Map<String, Object>> find(Long appointmentId) {
+        Map<String, Object> cached = cache != null ? cache.get(appointmentId, Map.class) : null;
+        return Optional.ofNullable(cached);
+    }
+
+    /**
+     * Guarda o status obtido por consulta ao finance-service. Respostas sem versão
+     * (erros e fallbacks) e agendamentos sem nenhum evento de pagamento (versão 0) não são
+     * guardados, para que a próxima leitura consulte o finance-service de novo
+     */
+    public synchronized void put(Long appointmentId, Map<String, Object> status) {
+        if (status.get("version") instanceof Number version && version.longValue() > 0) {
+            putIfNewer(appointmentId, status, version.longValue());
+        }
+    }
+
+    /**
+     * Aplica os status enviados pelo finance-service
+     *
+     * @return Quantidade de status que substituíram a entrada do agendamento
+     */
+    public synchronized int apply(List<PaymentStatusUpdate> updates) {
+        int applied = 0;
+        for (PaymentStatusUpdate update : updates) {
+            Long appointmentId = parseAppointmentId(update.getAppointmentId());
+            if (appointmentId == null || update.getVersion() == null) {
+                log.warn("Status de pagamento ignorado para agendamento inválido: {}", update.getAppointmentId());
+                continue;
+            }
+            if (putIfNewer(appointmentId, toMap(appointmentId, update), update.getVersion())) {
+                applied++;
+            }
+        }
+        log.debug("Status de pagamento recebidos: {} ({} aplicados)", updates.size(), applied);
+        return applied;
+    }
+
+    private boolean putIfNewer(Long appointmentId, Map<String, Object> status, long version) {
+        if (cache == null) {
+            return false;
+        }
+        Optional<Map<String, Object>> current = find(appointmentId);
+        if (current.isPresent() && current.get().get("version") instanceof Number currentVersion
+                && currentVersion.longValue() > version) {
+            return false;
+        }
+        cache.put(appointmentId, status);
+        return true;
+    }
+
+    private static Map<String, Object> toMap(Long appointmentId, PaymentStatusUpdate update) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("appointmentId", appointmentId);
+        status.put("status", update.getStatus());
+        status.put("amount", update.getAmount());
+        status.put("gatewayPaymentId", update.getGatewayPaymentId());
+        status.put("occurredAt", update.getOccurredAt());
+        status.put("version", update.getVersion());
+        return status;
+    }
+
+    private static Long parseAppointmentId(String appointmentId) {
+        if (appointmentId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(appointmentId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
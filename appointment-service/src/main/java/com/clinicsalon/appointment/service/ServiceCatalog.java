@@ -0,0 +1,133 @@
+package com.clinicsalon.appointment.service;
+
+import com.clinicsalon.appointment.dto.AppointmentServiceRequest;
+import com.clinicsalon.appointment.exception.ResourceNotFoundException;
+import com.clinicsalon.appointment.model.ServiceEntity;
+import com.clinicsalon.appointment.repository.ServiceRepository;
+import com.clinicsalon.monitoring.cache.CacheConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Catálogo de serviços com leitura através do cache {@link CacheConfig#SERVICES_CACHE}.
+ * Os serviços ausentes do cache são carregados em uma única consulta {@code findAllById};
+ * apenas serviços ativos são mantidos em cache. As escritas em {@link ServiceService}
+ * invalidam as entradas correspondentes após o commit.
+ */
+@Component
+public class ServiceCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceCatalog.class);
+
+    private final ServiceRepository serviceRepository;
+    private final Cache cache;
+
+    public ServiceCatalog(ServiceRepository serviceRepository, CacheManager cacheManager) {
+        this.serviceRepository = serviceRepository;
+        this.cache = cacheManager.getCache(CacheConfig.SERVICES_CACHE);
+    }
+
+    /**
+     * Busca os serviços informados, consultando o banco apenas para os que não estão em cache
+     *
+     * @param ids IDs dos serviços
+     * @return Mapa de ID para serviço
+     * @throws ResourceNotFoundException se algum dos serviços não existir
+     */
+    public Map<Long, ServiceEntity> findAllById(Collection<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        Map<Long, ServiceEntity> services = new HashMap<>(distinctIds.size() * 2);
+        List<Long> missing = new ArrayList<>();
+
+        for (Long id : distinctIds) {
+            ServiceEntity cached = cache != null ? cache.get(id, ServiceEntity.class) : null;
+            if (cached != null) {
+                services.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            log.debug("Carregando {} serviço(s) ausentes do catálogo", missing.size());
+            for (ServiceEntity service : serviceRepository.findAllById(missing)) {
+                services.put(service.getId(), service);
+                if (cache != null && Boolean.TRUE.equals(service.getActive())) {
+                    cache.put(service.getId(), service);
+                }
+            }
+            for (Long id : missing) {
+                if (!services.containsKey(id)) {
+                    throw new ResourceNotFoundException("Serviço", "id", id);
+                }
+            }
+        }
+
+        return services;
+    }
+
+    /**
+     * Resolve os serviços de um agendamento e calcula o preço total em uma única passagem
+     *
+     * @param requests Serviços solicitados, na ordem do agendamento
+     * @return Serviços na mesma ordem dos itens e o preço total
+     */
+    public PricedServices price(List<AppointmentServiceRequest> requests) {
+        Map<Long, ServiceEntity> services = findAllById(
+                requests.stream().map(AppointmentServiceRequest::getServiceId).toList());
+
+        List<ServiceEntity> ordered = new ArrayList<>(requests.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (AppointmentServiceRequest request : requests) {
+            ServiceEntity service = services.get(request.getServiceId());
+            ordered.add(service);
+            total = total.add(service.getPrice());
+        }
+
+        return new PricedServices(ordered, total);
+    }
+
+    /**
+     * Remove um serviço do catálogo em cache. Dentro de uma transação, a remoção acontece só
+     * depois do commit: uma leitura concorrente feita antes disso ainda veria o serviço antigo
+     * no banco e o colocaria de volta no cache.
+     */
+    public void evict(Long id) {
+        if (cache == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(id);
+                }
+            });
+        } else {
+            cache.evict(id);
+        }
+    }
+
+    /**
+     * Serviços resolvidos para os itens de um agendamento
+     *
+     * @param services Serviço correspondente a cada item, na ordem da requisição
+     * @param totalPrice Soma exata dos preços dos itens
+     */
+    public record PricedServices(List<ServiceEntity> services, BigDecimal totalPrice) {
+    }
+}
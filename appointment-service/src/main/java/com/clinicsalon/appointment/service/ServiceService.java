@@ -25,6 +25,7 @@ public class ServiceService {
 
     private final ServiceRepository serviceRepository;
     private final ServiceMapper serviceMapper;
+    private final ServiceCatalog serviceCatalog;
 
     @Transactional(readOnly = true)
     public Page<ServiceResponse> findAllActive(Pageable pageable) {
@@ -67,6 +68,7 @@ public class ServiceService {
 
         serviceMapper.updateEntityFromRequest(request, service);
         service = serviceRepository.save(service);
+        serviceCatalog.evict(id);
         log.info("Serviço atualizado com ID: {}", id);
         return serviceMapper.toResponse(service);
     }
@@ -78,6 +80,7 @@ public class ServiceService {
 
         service.setActive(false);
         serviceRepository.save(service);
+        serviceCatalog.evict(id);
         log.info("Serviço desativado com ID: {}", id);
     }
 
@@ -88,6 +91,7 @@ public class ServiceService {
 
         service.setActive(true);
         service = serviceRepository.save(service);
+        serviceCatalog.evict(id);
         log.info("Serviço ativado com ID: {}", id);
         return serviceMapper.toResponse(service);
     }
@@ -0,0 +1,2 @@
+-- Leitura incremental dos agendamentos alterados (cursor por updated_at, id)
+CREATE INDEX IF NOT EXISTS idx_appointments_updated_at_id ON appointments (updated_at, id);
@@ -0,0 +1,12 @@
+-- Créditos de fidelidade ainda não confirmados pelo loyalty-service. Gravados na mesma
+-- transação que conclui o agendamento e removidos quando o crédito é confirmado
+CREATE TABLE IF NOT EXISTS loyalty_credit_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    client_id BIGINT NOT NULL,
+    points INT NOT NULL,
+    source_type VARCHAR(30) NOT NULL,
+    source_id VARCHAR(100) NOT NULL,
+    description VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_loyalty_credit_outbox_source UNIQUE (source_type, source_id)
+);
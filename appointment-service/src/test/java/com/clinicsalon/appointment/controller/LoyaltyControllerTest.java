@@ -1,5 +1,6 @@
 package com.clinicsalon.appointment.controller;
 
+import com.clinicsalon.appointment.service.LoyaltyBalanceReadModel;
 import com.clinicsalon.appointment.service.LoyaltyIntegrationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,10 +12,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -28,6 +32,9 @@ class LoyaltyControllerTest {
     @Mock
     private LoyaltyIntegrationService loyaltyService;
 
+    @Mock
+    private LoyaltyBalanceReadModel balanceReadModel;
+
     @InjectMocks
     private LoyaltyController loyaltyController;
 
@@ -54,6 +61,24 @@ class LoyaltyControllerTest {
                 .andExpect(jsonPath("$.points").value(250));
     }
 
+    @Test
+    void getPointsBalance_FromLocalCopy_DoesNotCallLoyaltyService() throws Exception {
+        // Arrange
+        when(balanceReadModel.find(1L)).thenReturn(Optional.of(
+                new LoyaltyBalanceReadModel.LocalBalance(1L, 320, "SILVER", true, Instant.now())));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/appointments/loyalty/points/balance/1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.points").value(320))
+                .andExpect(jsonPath("$.tier").value("SILVER"))
+                .andExpect(jsonPath("$.source").value("LOCAL"))
+                .andExpect(jsonPath("$.stalenessSeconds").exists());
+        verifyNoInteractions(loyaltyService);
+    }
+
     @Test
     void getLoyaltyAccount_Success() throws Exception {
         // Arrange
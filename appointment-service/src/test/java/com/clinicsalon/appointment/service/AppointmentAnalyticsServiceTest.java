@@ -0,0 +1,124 @@
+package com.clinicsalon.appointment.service;
+
+import com.clinicsalon.appointment.dto.RevenueSummaryResponse;
+import com.clinicsalon.appointment.dto.ServiceStatsResponse;
+import com.clinicsalon.appointment.exception.BusinessException;
+import com.clinicsalon.appointment.repository.AppointmentRepository;
+import com.clinicsalon.appointment.repository.AppointmentServiceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentAnalyticsServiceTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private AppointmentServiceRepository appointmentServiceRepository;
+
+    @InjectMocks
+    private AppointmentAnalyticsService analyticsService;
+
+    private final LocalDate startDate = LocalDate.of(2024, 3, 1);
+    private final LocalDate endDate = LocalDate.of(2024, 3, 31);
+
+    @Test
+    void getRevenueSummary_QueriesHalfOpenPeriodAndPicksHighlights() {
+        // Arrange
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = LocalDate.of(2024, 4, 1).atStartOfDay();
+        when(appointmentRepository.aggregateRevenue(from, to)).thenReturn(revenue(3L, "250.00"));
+        when(appointmentServiceRepository.aggregateByService(from, to)).thenReturn(List.of(
+                service(1L, "Corte", 3L, "150.00"),
+                service(2L, "Coloração", 1L, "200.00")));
+
+        // Act
+        RevenueSummaryResponse summary = analyticsService.getRevenueSummary(startDate, endDate);
+
+        // Assert
+        assertEquals(3, summary.getAppointmentsCount());
+        assertEquals(new BigDecimal("250.00"), summary.getTotalRevenue());
+        assertEquals(new BigDecimal("83.33"), summary.getAverageTicket());
+        assertEquals("Corte", summary.getMostPopularService());
+        assertEquals("Coloração", summary.getMostRevenueService());
+    }
+
+    @Test
+    void getRevenueByService_ComputesSharesAndOrdersByRevenue() {
+        // Arrange
+        when(appointmentServiceRepository.aggregateByService(any(), any())).thenReturn(List.of(
+                service(1L, "Corte", 3L, "150.00"),
+                service(2L, "Coloração", 1L, "200.00")));
+
+        // Act
+        List<ServiceStatsResponse> services = analyticsService.getRevenueByService(startDate, endDate);
+
+        // Assert
+        assertEquals("Coloração", services.get(0).getServiceName());
+        assertEquals(57.14, services.get(0).getRevenuePercentage());
+        assertEquals(25.0, services.get(0).getCountPercentage());
+        assertEquals(new BigDecimal("50.00"), services.get(1).getAveragePrice());
+    }
+
+    @Test
+    void getRevenueSummary_EndBeforeStart_ThrowsException() {
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> analyticsService.getRevenueSummary(endDate, startDate));
+        verifyNoInteractions(appointmentRepository, appointmentServiceRepository);
+    }
+
+    private AppointmentRepository.RevenueAggregate revenue(Long count, String amount) {
+        return new AppointmentRepository.RevenueAggregate() {
+            @Override
+            public Long getCount() {
+                return count;
+            }
+
+            @Override
+            public BigDecimal getRevenue() {
+                return new BigDecimal(amount);
+            }
+        };
+    }
+
+    private AppointmentServiceRepository.ServiceAggregate service(Long id, String name, Long count, String amount) {
+        return new AppointmentServiceRepository.ServiceAggregate() {
+            @Override
+            public Long getServiceId() {
+                return id;
+            }
+
+            @Override
+            public String getServiceName() {
+                return name;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+
+            @Override
+            public BigDecimal getRevenue() {
+                return new BigDecimal(amount);
+            }
+
+            @Override
+            public LocalDateTime getLastAppointment() {
+                return null;
+            }
+        };
+    }
+}
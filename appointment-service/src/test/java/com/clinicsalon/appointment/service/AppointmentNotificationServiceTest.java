@@ -5,6 +5,7 @@ import com.clinicsalon.appointment.client.NotificationServiceClient;
 import com.clinicsalon.appointment.client.ProfessionalServiceClient;
 import com.clinicsalon.appointment.model.Appointment;
 import com.clinicsalon.appointment.model.AppointmentStatus;
+import com.clinicsalon.professional.client.ProfessionalRosterReplica;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +34,9 @@ class AppointmentNotificationServiceTest {
     @Mock
     private ProfessionalServiceClient professionalServiceClient;
 
+    @Mock
+    private ProfessionalRosterReplica professionalRoster;
+
     @InjectMocks
     private AppointmentNotificationService notificationService;
 
@@ -22,6 +22,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +35,9 @@ class AppointmentPaymentServiceTest {
     @Mock
     private FinanceServiceClient financeServiceClient;
 
+    @Mock
+    private PaymentStatusCache paymentStatusCache;
+
     @InjectMocks
     private AppointmentPaymentService paymentService;
 
@@ -105,6 +110,42 @@ class AppointmentPaymentServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("PAID", result.get("status"));
+        verify(paymentStatusCache).put(appointmentId, statusResponse);
+    }
+
+    @Test
+    void getPaymentStatus_Cached_DoesNotCallFinanceService() {
+        // Arrange
+        Map<String, Object> cached = new HashMap<>();
+        cached.put("status", "PAID");
+        cached.put("version", 3L);
+        when(paymentStatusCache.find(appointmentId)).thenReturn(Optional.of(cached));
+
+        // Act
+        Map<String, Object> result = paymentService.getPaymentStatus(appointmentId);
+
+        // Assert
+        assertEquals("PAID", result.get("status"));
+        verify(financeServiceClient, never()).getPaymentStatusByAppointmentId(any());
+    }
+
+    @Test
+    void getCurrentPaymentStatus_BypassesCache() {
+        // Arrange
+        when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.of(testAppointment));
+        Map<String, Object> statusResponse = new HashMap<>();
+        statusResponse.put("status", "PAID");
+        statusResponse.put("version", 2L);
+        when(financeServiceClient.getPaymentStatusByAppointmentId(appointmentId))
+                .thenReturn(ResponseEntity.ok(statusResponse));
+
+        // Act
+        Map<String, Object> result = paymentService.getCurrentPaymentStatus(appointmentId);
+
+        // Assert
+        assertEquals("PAID", result.get("status"));
+        verify(paymentStatusCache, never()).find(any());
+        verify(paymentStatusCache).put(appointmentId, statusResponse);
     }
 
     @Test
@@ -10,6 +10,7 @@ import com.clinicsalon.appointment.model.AppointmentStatus;
 import com.clinicsalon.appointment.repository.AppointmentRepository;
 import com.clinicsalon.appointment.repository.AppointmentServiceRepository;
 import com.clinicsalon.appointment.repository.ServiceRepository;
+import com.clinicsalon.professional.client.ProfessionalRosterReplica;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -48,6 +49,9 @@ public class AppointmentServiceIntegrationTest {
     
     @Mock
     private ProfessionalServiceClient professionalServiceClient;
+
+    @Mock
+    private ProfessionalRosterReplica professionalRoster;
     
     @Mock
     private AppointmentPaymentService paymentService;
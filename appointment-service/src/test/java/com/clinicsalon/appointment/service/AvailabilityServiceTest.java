@@ -0,0 +1,94 @@
+package com.clinicsalon.appointment.service;
+
+import com.clinicsalon.appointment.dto.AvailableSlotsResponse;
+import com.clinicsalon.appointment.exception.BusinessException;
+import com.clinicsalon.appointment.model.Appointment;
+import com.clinicsalon.appointment.repository.AppointmentRepository;
+import com.clinicsalon.appointment.scheduling.ProfessionalAvailabilityCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(7);
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private ProfessionalAvailabilityCache availabilityCache;
+
+    @InjectMocks
+    private AvailabilityService availabilityService;
+
+    @Test
+    void findAvailableSlots_SubtractsBookedMinutesFromWorkingHours() {
+        // Arrange
+        BitSet workingHours = minutes("09:00", "12:00");
+        when(availabilityCache.getDay(anyCollection(), eq(DATE))).thenReturn(Map.of(1L, workingHours));
+        when(appointmentRepository.findOverlappingAppointments(anyCollection(), any(), any())).thenReturn(List.of(
+                Appointment.builder().professionalId(1L)
+                        .startTime(DATE.atTime(10, 0)).endTime(DATE.atTime(10, 45)).build()));
+
+        // Act
+        List<AvailableSlotsResponse> result = availabilityService.findAvailableSlots(List.of(1L), DATE, 60, 30);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(11, 0)), result.get(0).getSlots());
+        assertEquals(3 * 60, workingHours.cardinality(), "O mapa em cache não deve ser alterado");
+    }
+
+    @Test
+    void findAvailableSlots_UnknownAvailability_ThrowsBusinessException() {
+        // Arrange
+        when(availabilityCache.getDay(anyCollection(), eq(DATE))).thenReturn(Map.of(1L, minutes("09:00", "12:00")));
+
+        // Act & Assert
+        assertThrows(BusinessException.class,
+                () -> availabilityService.findAvailableSlots(List.of(1L, 2L), DATE, 60, 15));
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    void validateWorkingHours_OutsideWorkingHours_ThrowsBusinessException() {
+        // Arrange
+        when(availabilityCache.getDay(List.of(1L), DATE)).thenReturn(Map.of(1L, minutes("09:00", "12:00")));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> availabilityService.validateWorkingHours(1L, DATE.atTime(11, 0), DATE.atTime(12, 0)));
+        assertThrows(BusinessException.class,
+                () -> availabilityService.validateWorkingHours(1L, DATE.atTime(11, 30), DATE.atTime(12, 30)));
+    }
+
+    @Test
+    void validateWorkingHours_AvailabilityUnavailable_SkipsValidation() {
+        // Arrange
+        when(availabilityCache.getDay(List.of(1L), DATE)).thenReturn(Map.of());
+
+        // Act & Assert
+        assertDoesNotThrow(() -> availabilityService.validateWorkingHours(1L, DATE.atTime(22, 0), DATE.atTime(23, 0)));
+    }
+
+    private static BitSet minutes(String from, String to) {
+        BitSet minutes = new BitSet(24 * 60);
+        minutes.set(LocalTime.parse(from).toSecondOfDay() / 60, LocalTime.parse(to).toSecondOfDay() / 60);
+        return minutes;
+    }
+}
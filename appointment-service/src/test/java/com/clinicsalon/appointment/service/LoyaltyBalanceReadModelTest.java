@@ -0,0 +1,140 @@
+package com.clinicsalon.appointment.service;
+
+import com.clinicsalon.appointment.client.LoyaltyBalanceChange;
+import com.clinicsalon.appointment.client.LoyaltyServiceClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoyaltyBalanceReadModelTest {
+
+    @Mock
+    private LoyaltyServiceClient loyaltyServiceClient;
+
+    private LoyaltyBalanceReadModel readModel;
+
+    private final LocalDateTime t0 = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        readModel = new LoyaltyBalanceReadModel(loyaltyServiceClient, true, 2,
+                Duration.ofSeconds(10), Duration.ofHours(1), Duration.ofMinutes(1), 1000);
+    }
+
+    @Test
+    void find_BeforeFirstSync_IsEmpty() {
+        // Act & Assert
+        assertFalse(readModel.isReady());
+        assertTrue(readModel.find(1L).isEmpty());
+    }
+
+    @Test
+    void sync_FirstRun_ReadsAllPages_AndServesClientsWithoutAccount() {
+        // Arrange
+        LoyaltyBalanceChange first = change(1L, 10L, 100, "BRONZE", t0);
+        LoyaltyBalanceChange second = change(2L, 20L, 600, "SILVER", t0.plusSeconds(1));
+        LoyaltyBalanceChange third = change(3L, 30L, 50, "BRONZE", t0.plusSeconds(2));
+        when(loyaltyServiceClient.getBalanceChanges(isNull(), isNull(), eq(2))).thenReturn(List.of(first, second));
+        when(loyaltyServiceClient.getBalanceChanges(eq(second.getUpdatedAt()), eq(2L), eq(2))).thenReturn(List.of(third));
+
+        // Act
+        readModel.sync();
+
+        // Assert
+        assertTrue(readModel.isReady());
+        assertEquals(3, readModel.size());
+        LoyaltyBalanceReadModel.LocalBalance balance = readModel.find(20L).orElseThrow();
+        assertEquals(600, balance.points());
+        assertEquals("SILVER", balance.tier());
+        assertTrue(balance.hasAccount());
+
+        LoyaltyBalanceReadModel.LocalBalance missing = readModel.find(99L).orElseThrow();
+        assertFalse(missing.hasAccount());
+        assertEquals(0, missing.points());
+
+        Map<String, Object> response = balance.toResponse();
+        assertEquals("SUCCESS", response.get("status"));
+        assertEquals("LOCAL", response.get("source"));
+        assertNotNull(response.get("asOf"));
+        assertNotNull(response.get("stalenessSeconds"));
+    }
+
+    @Test
+    void sync_AfterFirstRun_ReadsFromCursorMinusOverlap_AndKeepsNewerEntries() {
+        // Arrange
+        LoyaltyBalanceChange credited = change(1L, 10L, 150, "BRONZE", t0.plusSeconds(30));
+        when(loyaltyServiceClient.getBalanceChanges(isNull(), isNull(), eq(2)))
+                .thenReturn(List.of(change(2L, 20L, 600, "SILVER", t0), credited));
+        readModel.sync();
+
+        LoyaltyBalanceChange older = change(1L, 10L, 100, "BRONZE", t0.plusSeconds(25));
+        LoyaltyBalanceChange redeemed = change(2L, 20L, 400, "SILVER", t0.plusSeconds(31));
+        when(loyaltyServiceClient.getBalanceChanges(eq(t0.plusSeconds(20)), isNull(), eq(2)))
+                .thenReturn(List.of(older));
+
+        // Act
+        readModel.sync();
+        when(loyaltyServiceClient.getBalanceChanges(eq(t0.plusSeconds(20)), isNull(), eq(2)))
+                .thenReturn(List.of(credited, redeemed));
+        readModel.sync();
+
+        // Assert
+        assertEquals(150, readModel.find(10L).orElseThrow().points());
+        assertEquals(400, readModel.find(20L).orElseThrow().points());
+    }
+
+    @Test
+    void sync_LoyaltyServiceUnavailable_KeepsLastSnapshot() {
+        // Arrange
+        when(loyaltyServiceClient.getBalanceChanges(isNull(), isNull(), eq(2)))
+                .thenReturn(List.of(change(1L, 10L, 100, "BRONZE", t0)));
+        readModel.sync();
+        LoyaltyBalanceReadModel.LocalBalance before = readModel.find(10L).orElseThrow();
+        when(loyaltyServiceClient.getBalanceChanges(any(), any(), anyInt())).thenReturn(null);
+
+        // Act
+        readModel.sync();
+
+        // Assert
+        LoyaltyBalanceReadModel.LocalBalance after = readModel.find(10L).orElseThrow();
+        assertEquals(100, after.points());
+        assertEquals(before.asOf(), after.asOf());
+    }
+
+    @Test
+    void find_SnapshotOlderThanMaxStaleness_IsEmpty() {
+        // Arrange
+        LoyaltyBalanceReadModel staleReadModel = new LoyaltyBalanceReadModel(loyaltyServiceClient, true, 2,
+                Duration.ofSeconds(10), Duration.ofHours(1), Duration.ZERO, 1000);
+        when(loyaltyServiceClient.getBalanceChanges(isNull(), isNull(), eq(2)))
+                .thenReturn(List.of(change(1L, 10L, 100, "BRONZE", t0)));
+        staleReadModel.sync();
+
+        // Act & Assert
+        assertTrue(staleReadModel.isReady());
+        assertTrue(staleReadModel.find(10L).isEmpty());
+        assertTrue(staleReadModel.find(99L).isEmpty());
+    }
+
+    private LoyaltyBalanceChange change(Long accountId, Long clientId, int points, String tier, LocalDateTime updatedAt) {
+        return LoyaltyBalanceChange.builder()
+                .accountId(accountId)
+                .clientId(clientId)
+                .pointsBalance(points)
+                .tier(tier)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,214 @@
+package com.clinicsalon.appointment.service;
+
+import com.clinicsalon.appointment.client.LoyaltyCreditBatchRequest;
+import com.clinicsalon.appointment.client.LoyaltyCreditRequest;
+import com.clinicsalon.appointment.client.LoyaltyCreditResponse;
+import com.clinicsalon.appointment.client.LoyaltyServiceClient;
+import com.clinicsalon.appointment.model.LoyaltyCreditOutboxEntry;
+import com.clinicsalon.appointment.repository.LoyaltyCreditOutboxRepository;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoyaltyCreditRetryQueueTest {
+
+    @Mock
+    private LoyaltyServiceClient loyaltyServiceClient;
+
+    @Mock
+    private LoyaltyCreditOutboxRepository outboxRepository;
+
+    private final List<LoyaltyCreditOutboxEntry> rows = new ArrayList<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private LoyaltyCreditRetryQueue queue;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        // Tabela loyalty_credit_outbox em memória
+        lenient().when(outboxRepository.save(any())).thenAnswer(invocation -> {
+            LoyaltyCreditOutboxEntry entry = invocation.getArgument(0);
+            entry.setId(sequence.incrementAndGet());
+            rows.add(entry);
+            return entry;
+        });
+        lenient().when(outboxRepository.findAllByOrderByIdAsc(any())).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            return rows.stream().limit(pageable.getPageSize()).toList();
+        });
+        lenient().when(outboxRepository.existsBySourceTypeAndSourceId(anyString(), anyString())).thenAnswer(invocation ->
+                rows.stream().anyMatch(row -> row.getSourceType().equals(invocation.getArgument(0))
+                        && row.getSourceId().equals(invocation.getArgument(1))));
+        lenient().doAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            rows.removeIf(row -> ids.contains(row.getId()));
+            return null;
+        }).when(outboxRepository).deleteAllByIdInBatch(any());
+        lenient().when(outboxRepository.count()).thenAnswer(invocation -> (long) rows.size());
+
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new LoyaltyCreditRetryQueue(loyaltyServiceClient, outboxRepository, meterRegistry, 2);
+    }
+
+    @Test
+    void flush_SendsPendingCreditsInBatches() {
+        // Arrange
+        for (long id = 1; id <= 3; id++) {
+            queue.enqueue(credit(id));
+        }
+        when(loyaltyServiceClient.creditBatch(any())).thenAnswer(invocation -> {
+            LoyaltyCreditBatchRequest request = invocation.getArgument(0);
+            return request.getCredits().stream()
+                    .map(credit -> new LoyaltyCreditResponse(credit.getClientId(), credit.getSourceType(),
+                            credit.getSourceId(), credit.getPoints(), LoyaltyCreditResponse.CREDITED, 1L))
+                    .toList();
+        });
+
+        // Act
+        queue.flush();
+
+        // Assert
+        ArgumentCaptor<LoyaltyCreditBatchRequest> batches = ArgumentCaptor.forClass(LoyaltyCreditBatchRequest.class);
+        verify(loyaltyServiceClient, times(2)).creditBatch(batches.capture());
+        assertEquals(List.of(2, 1), batches.getAllValues().stream().map(batch -> batch.getCredits().size()).toList());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void enqueue_PendingCreditsSurviveRestart() {
+        // Arrange
+        queue.enqueue(credit(1L));
+        queue.enqueue(credit(1L));
+        when(loyaltyServiceClient.creditBatch(any())).thenAnswer(invocation -> {
+            LoyaltyCreditBatchRequest request = invocation.getArgument(0);
+            return request.getCredits().stream().map(this::response).toList();
+        });
+
+        // Act: outra instância, ou esta mesma depois de um deploy
+        LoyaltyCreditRetryQueue restarted = new LoyaltyCreditRetryQueue(loyaltyServiceClient, outboxRepository,
+                new SimpleMeterRegistry(), 2);
+        restarted.flush();
+
+        // Assert
+        ArgumentCaptor<LoyaltyCreditBatchRequest> batches = ArgumentCaptor.forClass(LoyaltyCreditBatchRequest.class);
+        verify(loyaltyServiceClient).creditBatch(batches.capture());
+        assertEquals(List.of("1"), batches.getValue().getCredits().stream()
+                .map(LoyaltyCreditRequest::getSourceId).toList());
+        assertEquals(0, restarted.size());
+    }
+
+    @Test
+    void flush_ServiceUnavailable_KeepsCreditsInOrder() {
+        // Arrange
+        queue.enqueue(credit(1L));
+        queue.enqueue(credit(2L));
+        queue.enqueue(credit(3L));
+        when(loyaltyServiceClient.creditBatch(any())).thenReturn(null);
+
+        // Act
+        queue.flush();
+
+        // Assert
+        verify(loyaltyServiceClient, times(1)).creditBatch(any());
+        assertEquals(3, queue.size());
+        assertEquals(3.0, meterRegistry.get("loyalty.credits.pending").gauge().value());
+
+        // A próxima tentativa começa pelo mesmo lote
+        queue.flush();
+        ArgumentCaptor<LoyaltyCreditBatchRequest> batches = ArgumentCaptor.forClass(LoyaltyCreditBatchRequest.class);
+        verify(loyaltyServiceClient, times(2)).creditBatch(batches.capture());
+        assertEquals(List.of("1", "2"), batches.getValue().getCredits().stream()
+                .map(LoyaltyCreditRequest::getSourceId).toList());
+    }
+
+    @Test
+    void flush_RejectedBatch_DropsOnlyTheRejectedCredit() {
+        // Arrange
+        queue.enqueue(credit(1L));
+        queue.enqueue(credit(2L));
+        queue.enqueue(credit(3L));
+        when(loyaltyServiceClient.creditBatch(any())).thenAnswer(invocation -> {
+            LoyaltyCreditBatchRequest request = invocation.getArgument(0);
+            if (request.getCredits().stream().anyMatch(credit -> "1".equals(credit.getSourceId()))) {
+                throw badRequest();
+            }
+            return List.of(response(request.getCredits().get(0)));
+        });
+        when(loyaltyServiceClient.credit(any())).thenAnswer(invocation -> {
+            LoyaltyCreditRequest credit = invocation.getArgument(0);
+            if ("1".equals(credit.getSourceId())) {
+                throw badRequest();
+            }
+            return response(credit);
+        });
+
+        // Act
+        queue.flush();
+
+        // Assert
+        assertEquals(0, queue.size());
+        verify(loyaltyServiceClient, times(2)).credit(any());
+        verify(loyaltyServiceClient, times(2)).creditBatch(any());
+        assertEquals(1.0, meterRegistry.counter("loyalty.credits.dropped", "reason", "rejected").count());
+
+        // Um novo ciclo não reenvia o crédito recusado
+        queue.flush();
+        verifyNoMoreInteractions(loyaltyServiceClient);
+    }
+
+    @Test
+    void enqueue_CreditWithoutPoints_IsIgnored() {
+        // Arrange
+        LoyaltyCreditRequest zero = credit(1L);
+        zero.setPoints(0);
+
+        // Act
+        queue.enqueue(zero);
+
+        // Assert
+        assertEquals(0, queue.size());
+    }
+
+    private FeignException badRequest() {
+        Request request = Request.create(Request.HttpMethod.POST, "/api/v1/loyalty/credits", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+        return new FeignException.BadRequest("points must be at least 1", request, null, Map.of());
+    }
+
+    private LoyaltyCreditResponse response(LoyaltyCreditRequest credit) {
+        return new LoyaltyCreditResponse(credit.getClientId(), credit.getSourceType(),
+                credit.getSourceId(), credit.getPoints(), LoyaltyCreditResponse.CREDITED, 1L);
+    }
+
+    private LoyaltyCreditRequest credit(Long appointmentId) {
+        return LoyaltyCreditRequest.builder()
+                .clientId(10L)
+                .points(50)
+                .sourceType("APPOINTMENT")
+                .sourceId(appointmentId.toString())
+                .build();
+    }
+}
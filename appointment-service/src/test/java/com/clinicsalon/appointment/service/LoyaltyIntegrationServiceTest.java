@@ -1,8 +1,11 @@
 package com.clinicsalon.appointment.service;
 
+import com.clinicsalon.appointment.client.LoyaltyCreditResponse;
 import com.clinicsalon.appointment.client.LoyaltyServiceClient;
 import com.clinicsalon.appointment.model.Appointment;
 import com.clinicsalon.appointment.model.AppointmentStatus;
+import feign.FeignException;
+import feign.Request;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +15,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,6 +23,7 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +32,9 @@ class LoyaltyIntegrationServiceTest {
     @Mock
     private LoyaltyServiceClient loyaltyServiceClient;
 
+    @Mock
+    private LoyaltyCreditRetryQueue creditRetryQueue;
+
     @InjectMocks
     private LoyaltyIntegrationService loyaltyService;
 
@@ -47,12 +55,8 @@ class LoyaltyIntegrationServiceTest {
     @Test
     void addLoyaltyPoints_Success() {
         // Arrange
-        Map<String, Object> successResponse = new HashMap<>();
-        successResponse.put("status", "SUCCESS");
-        successResponse.put("pointsAdded", 150);
-        successResponse.put("newBalance", 300);
-        
-        when(loyaltyServiceClient.addPoints(any())).thenReturn(ResponseEntity.ok(successResponse));
+        when(loyaltyServiceClient.credit(any())).thenReturn(
+                new LoyaltyCreditResponse(1L, "APPOINTMENT", "1", 150, LoyaltyCreditResponse.CREDITED, 10L));
         
         // Act
         Map<String, Object> result = loyaltyService.addLoyaltyPoints(testAppointment);
@@ -61,17 +65,32 @@ class LoyaltyIntegrationServiceTest {
         assertNotNull(result);
         assertEquals("SUCCESS", result.get("status"));
         assertEquals(150, result.get("pointsAdded"));
-        verify(loyaltyServiceClient, times(1)).addPoints(any());
+        verify(loyaltyServiceClient, times(1)).credit(argThat(request ->
+                "APPOINTMENT".equals(request.getSourceType()) && "1".equals(request.getSourceId())
+                        && request.getPoints() == 150));
+        verify(loyaltyServiceClient, never()).getLoyaltyAccount(anyLong());
+        verify(creditRetryQueue).confirm(argThat(request -> "1".equals(request.getSourceId())));
     }
     
     @Test
-    void addLoyaltyPoints_Failure() {
+    void addLoyaltyPoints_AlreadyCredited_ReportsNoNewPoints() {
         // Arrange
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("status", "ERROR");
-        errorResponse.put("message", "Cliente não encontrado");
+        when(loyaltyServiceClient.credit(any())).thenReturn(
+                new LoyaltyCreditResponse(1L, "APPOINTMENT", "1", 150, LoyaltyCreditResponse.DUPLICATE, 10L));
         
-        when(loyaltyServiceClient.addPoints(any())).thenReturn(ResponseEntity.ok(errorResponse));
+        // Act
+        Map<String, Object> result = loyaltyService.addLoyaltyPoints(testAppointment);
+        
+        // Assert
+        assertEquals("SUCCESS", result.get("status"));
+        assertEquals(0, result.get("pointsAdded"));
+        assertEquals(true, result.get("duplicate"));
+    }
+    
+    @Test
+    void addLoyaltyPoints_Failure() {
+        // Arrange
+        when(loyaltyServiceClient.credit(any())).thenReturn(null);
         
         // Act
         Map<String, Object> result = loyaltyService.addLoyaltyPoints(testAppointment);
@@ -79,7 +98,20 @@ class LoyaltyIntegrationServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("ERROR", result.get("status"));
-        verify(loyaltyServiceClient, times(1)).addPoints(any());
+        verify(loyaltyServiceClient, times(1)).credit(any());
+        // O crédito gravado na conclusão continua pendente para o reenvio em lote
+        verifyNoInteractions(creditRetryQueue);
+    }
+
+    @Test
+    void recordLoyaltyCredit_EnqueuesCreditForTheAppointment() {
+        // Act
+        loyaltyService.recordLoyaltyCredit(testAppointment);
+
+        // Assert
+        verify(creditRetryQueue).enqueue(argThat(request -> "APPOINTMENT".equals(request.getSourceType())
+                && "1".equals(request.getSourceId()) && request.getPoints() == 150));
+        verifyNoInteractions(loyaltyServiceClient);
     }
     
     @Test
@@ -124,17 +156,47 @@ class LoyaltyIntegrationServiceTest {
     }
     
     @Test
-    void handleServiceUnavailableException() {
+    void addLoyaltyPoints_NoPoints_SkipsCreditAndRetryQueue() {
         // Arrange
-        when(loyaltyServiceClient.addPoints(any())).thenThrow(new RuntimeException("Service unavailable"));
-        
+        testAppointment.setPrice(new BigDecimal("0.50"));
+
         // Act
         Map<String, Object> result = loyaltyService.addLoyaltyPoints(testAppointment);
-        
+
         // Assert
-        assertNotNull(result);
+        assertEquals("SUCCESS", result.get("status"));
+        assertEquals(0, result.get("pointsAdded"));
+        verifyNoInteractions(loyaltyServiceClient, creditRetryQueue);
+    }
+
+    @Test
+    void addLoyaltyPointsFallback_Rejection_DiscardsPendingCredit() {
+        // Arrange
+        Request request = Request.create(Request.HttpMethod.POST, "/api/v1/loyalty/credits", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+
+        // Act
+        Map<String, Object> result = loyaltyService.addLoyaltyPointsFallback(testAppointment,
+                new FeignException.UnprocessableEntity("client not found", request, null, Map.of()));
+
+        // Assert
+        assertEquals("ERROR", result.get("status"));
+        verify(creditRetryQueue).reject(argThat(credit -> "1".equals(credit.getSourceId())), any());
+        verify(creditRetryQueue, never()).enqueue(any());
+    }
+
+    @Test
+    void handleServiceUnavailableException() {
+        // Arrange
+        when(loyaltyServiceClient.credit(any())).thenThrow(new RuntimeException("Service unavailable"));
+        
+        // Act & Assert
+        // Sem o proxy do Resilience4j a exceção chega ao chamador; o crédito continua pendente
+        assertThrows(RuntimeException.class, () -> loyaltyService.addLoyaltyPoints(testAppointment));
+        Map<String, Object> result = loyaltyService.addLoyaltyPointsFallback(testAppointment,
+                new RuntimeException("Service unavailable"));
         assertEquals("ERROR", result.get("status"));
         assertTrue(result.containsKey("message"));
-        verify(loyaltyServiceClient, times(1)).addPoints(any());
+        verifyNoInteractions(creditRetryQueue);
     }
 }
@@ -0,0 +1,86 @@
+package com.clinicsalon.appointment.service;
+
+import com.clinicsalon.appointment.client.PaymentStatusUpdate;
+import com.clinicsalon.monitoring.cache.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentStatusCacheTest {
+
+    private PaymentStatusCache paymentStatusCache;
+
+    @BeforeEach
+    void setUp() {
+        paymentStatusCache = new PaymentStatusCache(new ConcurrentMapCacheManager(CacheConfig.PAYMENT_STATUS_CACHE));
+    }
+
+    @Test
+    void apply_NewerVersions_ReplaceEntries_AndInvalidIdsAreSkipped() {
+        // Arrange
+        List<PaymentStatusUpdate> updates = List.of(
+                update("10", "PENDING", 1L),
+                update("10", "PAID", 2L),
+                update("not-a-number", "PAID", 1L));
+
+        // Act
+        int applied = paymentStatusCache.apply(updates);
+
+        // Assert
+        assertEquals(2, applied);
+        Map<String, Object> status = paymentStatusCache.find(10L).orElseThrow();
+        assertEquals("PAID", status.get("status"));
+        assertEquals(2L, status.get("version"));
+    }
+
+    @Test
+    void apply_OlderVersion_KeepsCurrentEntry() {
+        // Arrange
+        paymentStatusCache.apply(List.of(update("10", "REFUNDED", 5L)));
+
+        // Act
+        int applied = paymentStatusCache.apply(List.of(update("10", "PAID", 4L)));
+
+        // Assert
+        assertEquals(0, applied);
+        assertEquals("REFUNDED", paymentStatusCache.find(10L).orElseThrow().get("status"));
+    }
+
+    @Test
+    void put_RemoteResult_DoesNotOverwritePushedStatus_AndIgnoresResponsesWithoutEvents() {
+        // Arrange
+        paymentStatusCache.apply(List.of(update("10", "PAID", 2L)));
+        Map<String, Object> stale = new HashMap<>();
+        stale.put("status", "PENDING");
+        stale.put("version", 1);
+        Map<String, Object> error = new HashMap<>();
+        error.put("status", "ERROR");
+        Map<String, Object> noEvents = new HashMap<>();
+        noEvents.put("status", "PENDING");
+        noEvents.put("version", 0);
+
+        // Act
+        paymentStatusCache.put(10L, stale);
+        paymentStatusCache.put(20L, error);
+        paymentStatusCache.put(30L, noEvents);
+
+        // Assert
+        assertEquals("PAID", paymentStatusCache.find(10L).orElseThrow().get("status"));
+        assertTrue(paymentStatusCache.find(20L).isEmpty());
+        assertTrue(paymentStatusCache.find(30L).isEmpty());
+    }
+
+    private PaymentStatusUpdate update(String appointmentId, String status, Long version) {
+        return PaymentStatusUpdate.builder()
+                .appointmentId(appointmentId)
+                .status(status)
+                .version(version)
+                .build();
+    }
+}
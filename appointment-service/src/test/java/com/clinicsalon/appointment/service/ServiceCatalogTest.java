@@ -0,0 +1,140 @@
+package com.clinicsalon.appointment.service;
+
+import com.clinicsalon.appointment.dto.AppointmentServiceRequest;
+import com.clinicsalon.appointment.exception.ResourceNotFoundException;
+import com.clinicsalon.appointment.model.ServiceEntity;
+import com.clinicsalon.appointment.repository.ServiceRepository;
+import com.clinicsalon.monitoring.cache.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceCatalogTest {
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    private ServiceCatalog serviceCatalog;
+
+    private ServiceEntity haircut;
+    private ServiceEntity manicure;
+
+    @BeforeEach
+    void setUp() {
+        serviceCatalog = new ServiceCatalog(serviceRepository,
+                new ConcurrentMapCacheManager(CacheConfig.SERVICES_CACHE));
+
+        haircut = ServiceEntity.builder().id(1L).name("Corte").price(new BigDecimal("45.10")).active(true).build();
+        manicure = ServiceEntity.builder().id(2L).name("Manicure").price(new BigDecimal("30.05")).active(true).build();
+    }
+
+    @Test
+    void price_LoadsAllServicesInOneQueryAndSumsExactly() {
+        // Arrange
+        when(serviceRepository.findAllById(anyIterable())).thenReturn(List.of(haircut, manicure));
+
+        // Act
+        ServiceCatalog.PricedServices priced = serviceCatalog.price(List.of(item(1L), item(2L), item(1L)));
+
+        // Assert
+        assertEquals(new BigDecimal("120.25"), priced.totalPrice());
+        assertEquals(List.of(haircut, manicure, haircut), priced.services());
+        verify(serviceRepository, times(1)).findAllById(List.of(1L, 2L));
+    }
+
+    @Test
+    void price_WarmCache_DoesNotQueryRepository() {
+        // Arrange
+        when(serviceRepository.findAllById(anyIterable())).thenReturn(List.of(haircut, manicure));
+        serviceCatalog.price(List.of(item(1L), item(2L)));
+
+        // Act
+        ServiceCatalog.PricedServices priced = serviceCatalog.price(List.of(item(2L), item(1L)));
+
+        // Assert
+        assertEquals(new BigDecimal("75.15"), priced.totalPrice());
+        verify(serviceRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void evict_ReloadsServiceOnNextLookup() {
+        // Arrange
+        when(serviceRepository.findAllById(anyIterable())).thenReturn(List.of(haircut));
+        serviceCatalog.findAllById(List.of(1L));
+
+        // Act
+        serviceCatalog.evict(1L);
+        serviceCatalog.findAllById(List.of(1L));
+
+        // Assert
+        verify(serviceRepository, times(2)).findAllById(List.of(1L));
+    }
+
+    @Test
+    void evict_InsideTransaction_WaitsForCommit() {
+        // Arrange
+        when(serviceRepository.findAllById(anyIterable())).thenReturn(List.of(haircut));
+        serviceCatalog.findAllById(List.of(1L));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            serviceCatalog.evict(1L);
+
+            // Assert: antes do commit, o serviço continua em cache
+            serviceCatalog.findAllById(List.of(1L));
+            verify(serviceRepository, times(1)).findAllById(List.of(1L));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        serviceCatalog.findAllById(List.of(1L));
+        verify(serviceRepository, times(2)).findAllById(List.of(1L));
+    }
+
+    @Test
+    void findAllById_InactiveServicesAreNotCached() {
+        // Arrange
+        haircut.setActive(false);
+        when(serviceRepository.findAllById(anyIterable())).thenReturn(List.of(haircut));
+
+        // Act
+        serviceCatalog.findAllById(List.of(1L));
+        serviceCatalog.findAllById(List.of(1L));
+
+        // Assert
+        verify(serviceRepository, times(2)).findAllById(List.of(1L));
+    }
+
+    @Test
+    void price_UnknownService_ThrowsResourceNotFound() {
+        // Arrange
+        when(serviceRepository.findAllById(anyIterable())).thenReturn(List.of(haircut));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> serviceCatalog.price(List.of(item(1L), item(99L))));
+    }
+
+    private AppointmentServiceRequest item(Long serviceId) {
+        AppointmentServiceRequest request = new AppointmentServiceRequest();
+        request.setServiceId(serviceId);
+        request.setQuantity(1);
+        return request;
+    }
+}
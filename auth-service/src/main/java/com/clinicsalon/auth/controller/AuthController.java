@@ -2,6 +2,7 @@ package com.clinicsalon.auth.controller;
 
 import com.clinicsalon.auth.dto.AuthRequest;
 import com.clinicsalon.auth.dto.AuthResponse;
+import com.clinicsalon.auth.dto.RefreshTokenRequest;
 import com.clinicsalon.auth.dto.RegisterRequest;
 import com.clinicsalon.auth.service.AuthService;
 import jakarta.validation.Valid;
@@ -32,4 +33,10 @@ public class AuthController {
         log.info("Received authentication request for user: {}", request.getUsername());
         return ResponseEntity.ok(authService.authenticate(request));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        log.info("Received token refresh request");
+        return ResponseEntity.ok(authService.refresh(request));
+    }
 }
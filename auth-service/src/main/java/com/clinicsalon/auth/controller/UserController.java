@@ -9,6 +9,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -39,4 +40,11 @@ public class UserController {
         log.info("Getting user by username: {}", username);
         return ResponseEntity.ok(userService.getUserByUsername(username));
     }
+
+    @PutMapping("/{id}/roles")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserDTO> updateUserRoles(@PathVariable UUID id, @RequestBody Set<String> roles) {
+        log.info("Updating roles of user {}", id);
+        return ResponseEntity.ok(userService.updateUserRoles(id, roles));
+    }
 }
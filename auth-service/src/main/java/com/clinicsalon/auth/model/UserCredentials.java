@@ -0,0 +1,17 @@
+package com.clinicsalon.auth.model;
+
+import java.util.UUID;
+
+/**
+ * Projeção com os dados necessários para o login, carregada sem o join de papéis
+ * e permissões da entidade {@link User}
+ */
+public record UserCredentials(
+        UUID id,
+        String username,
+        String password,
+        String email,
+        String firstName,
+        String lastName,
+        boolean active) {
+}
@@ -2,11 +2,23 @@ package com.clinicsalon.auth.repository;
 
 import com.clinicsalon.auth.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface RoleRepository extends JpaRepository<Role, UUID> {
     Optional<Role> findByName(String name);
     boolean existsByName(String name);
+
+    /**
+     * Nomes dos papéis atribuídos a um usuário
+     */
+    @Query("SELECT r.name FROM User u JOIN u.roles r WHERE u.id = :userId ORDER BY r.name")
+    List<String> findRoleNamesByUserId(@Param("userId") UUID userId);
+
+    List<Role> findByNameIn(Collection<String> names);
 }
@@ -1,7 +1,10 @@
 package com.clinicsalon.auth.repository;
 
 import com.clinicsalon.auth.model.User;
+import com.clinicsalon.auth.model.UserCredentials;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -11,4 +14,20 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    /**
+     * Busca as credenciais do usuário em uma única consulta, sem carregar papéis e permissões
+     */
+    @Query("SELECT new com.clinicsalon.auth.model.UserCredentials(" +
+           "u.id, u.username, u.password, u.email, u.firstName, u.lastName, u.active) " +
+           "FROM User u WHERE u.username = :username")
+    Optional<UserCredentials> findCredentialsByUsername(@Param("username") String username);
+
+    /**
+     * Busca as credenciais do usuário pelo ID (usado na renovação de tokens)
+     */
+    @Query("SELECT new com.clinicsalon.auth.model.UserCredentials(" +
+           "u.id, u.username, u.password, u.email, u.firstName, u.lastName, u.active) " +
+           "FROM User u WHERE u.id = :id")
+    Optional<UserCredentials> findCredentialsById(@Param("id") UUID id);
 }
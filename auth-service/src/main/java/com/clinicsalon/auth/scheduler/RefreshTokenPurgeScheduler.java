@@ -0,0 +1,31 @@
+package com.clinicsalon.auth.scheduler;
+
+import com.clinicsalon.auth.service.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Agendador da limpeza de refresh tokens expirados
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenPurgeScheduler {
+
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Remove os refresh tokens expirados
+     * Executa todos os dias às 04:00 por padrão
+     */
+    @Scheduled(cron = "${auth.refresh-token.purge-cron:0 0 4 * * ?}")
+    public void purgeExpiredTokens() {
+        try {
+            refreshTokenService.purgeExpired();
+        } catch (Exception e) {
+            log.error("Error while purging expired refresh tokens: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.clinicsalon.auth.security;
 
+import com.clinicsalon.security.jwt.JwtKeys;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,7 +11,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
-import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -31,9 +30,9 @@ public class JwtService {
     
     @PostConstruct
     public void init() {
-        secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
-        key = Keys.hmacShaKeyFor(secretKey.getBytes());
-        log.info("JWT Service initialized with key length: {}", secretKey.length());
+        // Mesma derivação de chave usada pelo gateway e pelos serviços ao validar o token
+        key = JwtKeys.signingKey(secretKey);
+        log.info("JWT Service initialized with key length: {}", key.getEncoded().length);
     }
     
     public String generateToken(UserDetails userDetails) {
@@ -41,10 +40,21 @@ public class JwtService {
     }
     
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        log.debug("Generating token for user: {}", userDetails.getUsername());
+        return generateToken(extraClaims, userDetails.getUsername());
+    }
+    
+    /**
+     * Gera um token JWT para o usuário sem precisar da entidade completa
+     * 
+     * @param extraClaims claims adicionais
+     * @param username nome do usuário (subject do token)
+     * @return token JWT
+     */
+    public String generateToken(Map<String, Object> extraClaims, String username) {
+        log.debug("Generating token for user: {}", username);
         return Jwts.builder()
                 .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
+                .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -2,25 +2,29 @@ package com.clinicsalon.auth.service;
 
 import com.clinicsalon.auth.dto.AuthRequest;
 import com.clinicsalon.auth.dto.AuthResponse;
+import com.clinicsalon.auth.dto.RefreshTokenRequest;
 import com.clinicsalon.auth.dto.RegisterRequest;
 import com.clinicsalon.auth.exception.AuthenticationException;
 import com.clinicsalon.auth.model.Role;
 import com.clinicsalon.auth.model.User;
+import com.clinicsalon.auth.model.UserCredentials;
 import com.clinicsalon.auth.repository.RoleRepository;
 import com.clinicsalon.auth.repository.UserRepository;
 import com.clinicsalon.auth.security.JwtService;
+import com.clinicsalon.auth.security.PasswordHasher;
+import com.clinicsalon.security.jwt.JwtTokenVerifier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import com.clinicsalon.monitoring.aspect.MonitorPerformance;
 
@@ -29,11 +33,18 @@ import com.clinicsalon.monitoring.aspect.MonitorPerformance;
 @Slf4j
 public class AuthService {
 
+    /**
+     * Hash BCrypt de uma senha aleatória, usado quando o usuário não existe
+     */
+    private static final String UNKNOWN_USER_PASSWORD_HASH =
+            "$2a$10$7zvZq.uS8E1h3BFdXJbcV.9CHsZk2zYeOv7Y0MrizERLWVehPVX5S";
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+    private final UserRoleCache userRoleCache;
+    private final RefreshTokenService refreshTokenService;
 
     @Transactional
     @MonitorPerformance(description = "Registro de novo usuário", thresholdMillis = 1000, logParameters = true, alertOnError = true)
@@ -54,7 +65,7 @@ public class AuthService {
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHasher.encode(request.getPassword()))
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .active(true)
@@ -64,30 +75,86 @@ public class AuthService {
         
         User savedUser = userRepository.save(user);
         
-        String jwtToken = jwtService.generateToken(user);
+        String jwtToken = generateToken(savedUser.getUsername(), List.of(userRole.getName()));
+        String refreshToken = refreshTokenService.issue(savedUser.getId());
         
-        return buildAuthResponse(savedUser, jwtToken, null);
+        return buildAuthResponse(savedUser, jwtToken, refreshToken);
     }
 
+    /**
+     * Login em uma única consulta: carrega apenas as credenciais do usuário, verifica a senha
+     * no pool dedicado de hashing e obtém os papéis do cache
+     */
     @MonitorPerformance(description = "Autenticação de usuário", thresholdMillis = 500, logParameters = true, alertOnError = true)
     public AuthResponse authenticate(AuthRequest request) {
         log.info("Authenticating user: {}", request.getUsername());
         
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(),
-                        request.getPassword()
-                )
-        );
+        UserCredentials credentials = userRepository.findCredentialsByUsername(request.getUsername())
+                .orElse(null);
         
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new AuthenticationException("User not found"));
+        // Usuário inexistente também paga o custo do hash, para não revelar quais usernames existem
+        String encodedPassword = credentials != null ? credentials.password() : UNKNOWN_USER_PASSWORD_HASH;
+        boolean passwordMatches = passwordHasher.matches(request.getPassword(), encodedPassword);
         
-        String jwtToken = jwtService.generateToken(user);
+        if (credentials == null || !passwordMatches) {
+            throw new AuthenticationException("Invalid username or password");
+        }
+        if (!credentials.active()) {
+            throw new AuthenticationException("User account is disabled");
+        }
+        
+        return buildAuthResponse(credentials, refreshTokenService.issue(credentials.id()));
+    }
+
+    /**
+     * Renova a sessão a partir de um refresh token, sem verificar a senha novamente.
+     * O token apresentado é trocado por um novo (rotação) apenas se o usuário existir e
+     * estiver ativo
+     */
+    @MonitorPerformance(description = "Renovação de token", thresholdMillis = 200, alertOnError = true)
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation<UserCredentials> rotation =
+                refreshTokenService.rotate(request.getRefreshToken(), this::findActiveCredentials);
+
+        UserCredentials credentials = rotation.owner();
+        log.debug("Refreshed session for user: {}", credentials.username());
+        return buildAuthResponse(credentials, rotation.refreshToken());
+    }
+
+    private UserCredentials findActiveCredentials(UUID userId) {
+        UserCredentials credentials = userRepository.findCredentialsById(userId)
+                .orElseThrow(() -> new AuthenticationException("Invalid refresh token"));
+        if (!credentials.active()) {
+            throw new AuthenticationException("User account is disabled");
+        }
+        return credentials;
+    }
+
+    private AuthResponse buildAuthResponse(UserCredentials credentials, String refreshToken) {
+        List<String> roles = userRoleCache.getRoleNames(credentials.id());
+        String jwtToken = generateToken(credentials.username(), roles);
         
-        return buildAuthResponse(user, jwtToken, null);
+        return AuthResponse.builder()
+                .token(jwtToken)
+                .refreshToken(refreshToken)
+                .userId(credentials.id())
+                .username(credentials.username())
+                .email(credentials.email())
+                .firstName(credentials.firstName())
+                .lastName(credentials.lastName())
+                .roles(roles)
+                .build();
     }
     
+    /**
+     * Os papéis vão no token para que os demais serviços não precisem consultá-los
+     */
+    private String generateToken(String username, List<String> roles) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtTokenVerifier.ROLES_CLAIM, roles);
+        return jwtService.generateToken(claims, username);
+    }
+
     private AuthResponse buildAuthResponse(User user, String token, String refreshToken) {
         List<String> roles = user.getRoles().stream()
                 .map(Role::getName)
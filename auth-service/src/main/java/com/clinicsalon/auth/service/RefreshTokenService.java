@@ -0,0 +1,134 @@
+package com.clinicsalon.auth.service;
+
+import com.clinicsalon.auth.exception.AuthenticationException;
+import com.clinicsalon.auth.model.RefreshToken;
+import com.clinicsalon.auth.repository.RefreshTokenRepository;
+import com.clinicsalon.monitoring.aspect.MonitorPerformance;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Emissão e rotação de refresh tokens.
+ * O token entregue ao cliente é um valor aleatório opaco; no banco fica apenas o seu hash.
+ * Cada renovação revoga o token usado e emite o sucessor na mesma família. Apresentar um
+ * token já revogado indica que ele vazou, e toda a família é revogada.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration expiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${auth.refresh-token.expiration:30d}") Duration expiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expiration = expiration;
+    }
+
+    /**
+     * Emite um refresh token para o usuário, iniciando uma nova família
+     *
+     * @return Valor do token a ser entregue ao cliente
+     */
+    @Transactional
+    public String issue(UUID userId) {
+        return create(userId, UUID.randomUUID(), LocalDateTime.now()).rawToken();
+    }
+
+    /**
+     * Troca um refresh token válido por um novo token da mesma família
+     *
+     * @param rawToken    Token apresentado pelo cliente
+     * @param ownerLoader Carrega e valida o dono do token antes da troca; se lançar exceção,
+     *                    o token apresentado continua válido e nenhum sucessor é gravado
+     * @return Dono do token, como carregado por ownerLoader, e o novo token
+     */
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    @MonitorPerformance(description = "Rotação de refresh token", thresholdMillis = 200, alertOnError = true)
+    public <T> Rotation<T> rotate(String rawToken, Function<UUID, T> ownerLoader) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHashForUpdate(hash(rawToken))
+                .orElseThrow(() -> new AuthenticationException("Invalid refresh token"));
+
+        if (current.isRevoked()) {
+            // A revogação da família precisa ser gravada mesmo com a exceção
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reuse detected for user {}, revoked {} token(s) of family {}",
+                    current.getUserId(), revoked, current.getFamilyId());
+            throw new AuthenticationException("Invalid refresh token");
+        }
+        if (current.isExpired(now)) {
+            throw new AuthenticationException("Refresh token expired");
+        }
+        T owner = ownerLoader.apply(current.getUserId());
+
+        IssuedToken next = create(current.getUserId(), current.getFamilyId(), now);
+        current.setRevokedAt(now);
+        current.setReplacedBy(next.id());
+        refreshTokenRepository.save(current);
+
+        return new Rotation<>(owner, next.rawToken());
+    }
+
+    /**
+     * Remove os tokens expirados
+     *
+     * @return Quantidade de tokens removidos
+     */
+    @Transactional
+    public int purgeExpired() {
+        int removed = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Purged {} expired refresh tokens", removed);
+        return removed;
+    }
+
+    private IssuedToken create(UUID userId, UUID familyId, LocalDateTime now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .createdAt(now)
+                .expiresAt(now.plus(expiration))
+                .build());
+        return new IssuedToken(token.getId(), rawToken);
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Resultado de uma rotação: o dono do token e o token sucessor
+     */
+    public record Rotation<T>(T owner, String refreshToken) {
+    }
+
+    private record IssuedToken(UUID id, String rawToken) {
+    }
+}
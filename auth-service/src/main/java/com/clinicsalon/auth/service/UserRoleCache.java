@@ -0,0 +1,71 @@
+package com.clinicsalon.auth.service;
+
+import com.clinicsalon.auth.repository.RoleRepository;
+import com.clinicsalon.monitoring.cache.CacheConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cache dos papéis de cada usuário ({@link CacheConfig#USER_ROLES_CACHE}).
+ * Toda alteração de papéis de um usuário deve chamar {@link #evict(UUID)}.
+ */
+@Component
+@Slf4j
+public class UserRoleCache {
+
+    private final RoleRepository roleRepository;
+    private final Cache cache;
+
+    public UserRoleCache(RoleRepository roleRepository, CacheManager cacheManager) {
+        this.roleRepository = roleRepository;
+        this.cache = cacheManager.getCache(CacheConfig.USER_ROLES_CACHE);
+    }
+
+    /**
+     * Nomes dos papéis do usuário, consultando o banco apenas quando não estão em cache
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getRoleNames(UUID userId) {
+        if (cache != null) {
+            List<String> cached = cache.get(userId, List.class);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        log.debug("Loading roles for user {}", userId);
+        List<String> roles = List.copyOf(roleRepository.findRoleNamesByUserId(userId));
+        if (cache != null) {
+            cache.put(userId, roles);
+        }
+        return roles;
+    }
+
+    /**
+     * Remove os papéis do usuário do cache. Dentro de uma transação, a remoção acontece só
+     * depois do commit: uma leitura concorrente feita antes disso ainda veria os papéis antigos
+     * no banco e os colocaria de volta no cache.
+     */
+    public void evict(UUID userId) {
+        if (cache == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(userId);
+                }
+            });
+        } else {
+            cache.evict(userId);
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.clinicsalon.auth.service;
 
 import com.clinicsalon.auth.dto.UserDTO;
 import com.clinicsalon.auth.exception.ResourceNotFoundException;
+import com.clinicsalon.auth.model.Role;
 import com.clinicsalon.auth.model.User;
+import com.clinicsalon.auth.repository.RoleRepository;
 import com.clinicsalon.auth.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,8 +12,11 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import com.clinicsalon.monitoring.aspect.MonitorPerformance;
@@ -22,6 +27,8 @@ import com.clinicsalon.monitoring.aspect.MonitorPerformance;
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final UserRoleCache userRoleCache;
 
     @Override
     @MonitorPerformance(description = "Carregar usuário por username", thresholdMillis = 300, alertOnError = true)
@@ -55,6 +62,28 @@ public class UserService implements UserDetailsService {
         return mapToDTO(user);
     }
 
+    /**
+     * Substitui os papéis de um usuário e invalida o cache de papéis dele após o commit
+     */
+    @Transactional
+    @MonitorPerformance(description = "Atualizar papéis do usuário", thresholdMillis = 300, alertOnError = true)
+    public UserDTO updateUserRoles(UUID id, Set<String> roleNames) {
+        log.debug("Updating roles of user {} to {}", id, roleNames);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        
+        List<Role> roles = roleRepository.findByNameIn(roleNames);
+        if (roles.size() != roleNames.size()) {
+            throw new ResourceNotFoundException("One or more roles not found: " + roleNames);
+        }
+        
+        user.setRoles(new HashSet<>(roles));
+        User savedUser = userRepository.save(user);
+        userRoleCache.evict(id);
+        
+        return mapToDTO(savedUser);
+    }
+
     public boolean existsByUsername(String username) {
         return userRepository.existsByUsername(username);
     }
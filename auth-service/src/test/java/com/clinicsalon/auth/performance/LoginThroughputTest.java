@@ -0,0 +1,168 @@
+package com.clinicsalon.auth.performance;
+
+import com.clinicsalon.auth.dto.AuthRequest;
+import com.clinicsalon.auth.exception.AuthenticationException;
+import com.clinicsalon.auth.model.UserCredentials;
+import com.clinicsalon.auth.repository.RoleRepository;
+import com.clinicsalon.auth.repository.UserRepository;
+import com.clinicsalon.auth.security.JwtService;
+import com.clinicsalon.auth.security.PasswordHasher;
+import com.clinicsalon.auth.service.AuthService;
+import com.clinicsalon.auth.service.RefreshTokenService;
+import com.clinicsalon.auth.service.UserRoleCache;
+import com.clinicsalon.monitoring.cache.CacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Carga sustentada de logins com BCrypt real: muitos clientes concorrentes disputam um pool
+ * de hash limitado. Mede logins/s e latências, e verifica que o número de hashes simultâneos
+ * nunca passa do tamanho do pool e que os papéis são consultados uma única vez.
+ */
+@Tag("performance")
+public class LoginThroughputTest {
+
+    private static final int CLIENTS = 32;
+    private static final int HASHING_THREADS = 4;
+    private static final Duration RUN_TIME = Duration.ofSeconds(5);
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private PasswordHasher passwordHasher;
+    private AuthService authService;
+    private RoleRepository roleRepository;
+    private final AtomicInteger activeHashes = new AtomicInteger();
+    private final AtomicInteger maxActiveHashes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        String hash = bcrypt.encode("password123");
+
+        // Encoder instrumentado para medir a concorrência real de hashes
+        PasswordEncoder encoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return track(() -> bcrypt.encode(rawPassword));
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return track(() -> bcrypt.matches(rawPassword, encodedPassword));
+            }
+        };
+        passwordHasher = new PasswordHasher(encoder, new SimpleMeterRegistry(),
+                HASHING_THREADS, CLIENTS, Duration.ofSeconds(10));
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.of(
+                new UserCredentials(USER_ID, "testuser", hash, "test@example.com", "Test", "User", true)));
+
+        roleRepository = mock(RoleRepository.class);
+        when(roleRepository.findRoleNamesByUserId(any())).thenReturn(List.of("ROLE_USER"));
+
+        JwtService jwtService = mock(JwtService.class);
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("jwt-token");
+
+        RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+        when(refreshTokenService.issue(any())).thenReturn("refresh-token");
+
+        UserRoleCache userRoleCache = new UserRoleCache(roleRepository,
+                new ConcurrentMapCacheManager(CacheConfig.USER_ROLES_CACHE));
+        authService = new AuthService(userRepository, roleRepository, passwordHasher, jwtService, userRoleCache,
+                refreshTokenService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    public void testSustainedLoginThroughput() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong logins = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AuthRequest request = AuthRequest.builder().username("testuser").password("password123").build();
+
+        long deadline = System.nanoTime() + RUN_TIME.toNanos();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            futures.add(clients.submit(() -> {
+                start.await();
+                while (System.nanoTime() < deadline) {
+                    long begin = System.nanoTime();
+                    try {
+                        authService.authenticate(request);
+                        logins.incrementAndGet();
+                        latencies.add(System.nanoTime() - begin);
+                    } catch (AuthenticationException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(RUN_TIME.toSeconds() + 30, TimeUnit.SECONDS);
+        }
+        clients.shutdown();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        assertTrue(sorted.length > 0);
+        assertTrue(maxActiveHashes.get() <= HASHING_THREADS);
+        assertEquals(0, rejected.get());
+        verify(roleRepository, times(1)).findRoleNamesByUserId(USER_ID);
+
+        System.out.println("Clientes concorrentes: " + CLIENTS + ", threads de hash: " + HASHING_THREADS);
+        System.out.println("Logins: " + logins.get() + " (recusados: " + rejected.get() + ")");
+        System.out.println("Vazão: " + (logins.get() / Math.max(1, RUN_TIME.toSeconds())) + " logins/s");
+        System.out.println("Latência p50: " + millis(sorted, 0.50) + " ms, p99: " + millis(sorted, 0.99) + " ms");
+        System.out.println("Hashes simultâneos (máx): " + maxActiveHashes.get());
+    }
+
+    private <T> T track(Supplier<T> hashing) {
+        int active = activeHashes.incrementAndGet();
+        maxActiveHashes.accumulateAndGet(active, Math::max);
+        try {
+            return hashing.get();
+        } finally {
+            activeHashes.decrementAndGet();
+        }
+    }
+
+    private static long millis(long[] sorted, double percentile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(index, 0)]);
+    }
+}
@@ -1,5 +1,7 @@
 package com.clinicsalon.auth.security;
 
+import com.clinicsalon.security.UserIdentity;
+import com.clinicsalon.security.jwt.JwtTokenVerifier;
 import io.jsonwebtoken.ExpiredJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,7 +14,9 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -116,4 +120,18 @@ public class JwtServiceTest {
             jwtService.extractUsername(token);
         });
     }
+
+    @Test
+    public void testTokenAcceptedByServicesWithSameSecret() {
+        // Token emitido pelo auth-service deve ser aceito pelo verificador usado nos demais serviços
+        Map<String, Object> extraClaims = new HashMap<>();
+        extraClaims.put(JwtTokenVerifier.ROLES_CLAIM, List.of("ROLE_ADMIN"));
+        String token = jwtService.generateToken(extraClaims, userDetails);
+
+        // Verify the identity is extracted with the same secret
+        Optional<UserIdentity> identity = new JwtTokenVerifier(testSecretKey).verify(token);
+        assertTrue(identity.isPresent());
+        assertEquals("test@example.com", identity.get().username());
+        assertEquals(List.of("ROLE_ADMIN"), identity.get().roles());
+    }
 }
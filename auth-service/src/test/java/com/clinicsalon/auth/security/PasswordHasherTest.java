@@ -0,0 +1,90 @@
+package com.clinicsalon.auth.security;
+
+import com.clinicsalon.auth.exception.AuthenticationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        if (passwordHasher != null) {
+            passwordHasher.shutdown();
+        }
+    }
+
+    @Test
+    void matches_DelegatesToEncoder() {
+        // Arrange
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches("secret", "hash")).thenReturn(true);
+        passwordHasher = new PasswordHasher(encoder, new SimpleMeterRegistry(), 1, 1, Duration.ofSeconds(1));
+
+        // Act & Assert
+        assertTrue(passwordHasher.matches("secret", "hash"));
+        verify(encoder).matches("secret", "hash");
+    }
+
+    @Test
+    void matches_QueueFull_RejectsImmediately() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        passwordHasher = new PasswordHasher(encoder, new SimpleMeterRegistry(), 1, 1, Duration.ofSeconds(5));
+
+        // Uma verificação em execução e outra na fila ocupam toda a capacidade
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordHasher.matches("a", "hash"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHasher.matches("b", "hash"));
+        awaitQueued();
+
+        try {
+            // Act & Assert
+            AuthenticationException exception = assertThrows(AuthenticationException.class,
+                    () -> passwordHasher.matches("c", "hash"));
+            assertEquals("Authentication service is busy, try again later", exception.getMessage());
+        } finally {
+            release.countDown();
+        }
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_SlowHash_TimesOut() {
+        // Arrange
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return true;
+        });
+        passwordHasher = new PasswordHasher(encoder, new SimpleMeterRegistry(), 1, 1, Duration.ofMillis(50));
+
+        // Act & Assert
+        assertThrows(AuthenticationException.class, () -> passwordHasher.matches("secret", "hash"));
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        // A fila não é exposta; aguarda o tempo suficiente para a segunda tarefa ser enfileirada
+        Thread.sleep(200);
+    }
+}
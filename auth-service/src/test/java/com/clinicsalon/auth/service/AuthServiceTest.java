@@ -2,30 +2,36 @@ package com.clinicsalon.auth.service;
 
 import com.clinicsalon.auth.dto.AuthRequest;
 import com.clinicsalon.auth.dto.AuthResponse;
+import com.clinicsalon.auth.dto.RefreshTokenRequest;
 import com.clinicsalon.auth.dto.RegisterRequest;
 import com.clinicsalon.auth.exception.AuthenticationException;
 import com.clinicsalon.auth.model.Role;
 import com.clinicsalon.auth.model.User;
+import com.clinicsalon.auth.model.UserCredentials;
 import com.clinicsalon.auth.repository.RoleRepository;
 import com.clinicsalon.auth.repository.UserRepository;
 import com.clinicsalon.auth.security.JwtService;
+import com.clinicsalon.auth.security.PasswordHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,13 +44,16 @@ public class AuthServiceTest {
     private RoleRepository roleRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private JwtService jwtService;
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private UserRoleCache userRoleCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
 
     @InjectMocks
     private AuthService authService;
@@ -91,9 +100,9 @@ public class AuthServiceTest {
         when(userRepository.existsByUsername("testuser")).thenReturn(false);
         when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
         when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(role));
-        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(passwordHasher.encode("password123")).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
-        when(jwtService.generateToken(any(User.class))).thenReturn("jwt-token");
+        when(jwtService.generateToken(anyMap(), eq("testuser"))).thenReturn("jwt-token");
 
         // Call the service method
         AuthResponse response = authService.register(registerRequest);
@@ -112,9 +121,9 @@ public class AuthServiceTest {
         verify(userRepository, times(1)).existsByUsername("testuser");
         verify(userRepository, times(1)).existsByEmail("test@example.com");
         verify(roleRepository, times(1)).findByName("ROLE_USER");
-        verify(passwordEncoder, times(1)).encode("password123");
+        verify(passwordHasher, times(1)).encode("password123");
         verify(userRepository, times(1)).save(any(User.class));
-        verify(jwtService, times(1)).generateToken(any(User.class));
+        verify(jwtService, times(1)).generateToken(anyMap(), eq("testuser"));
     }
 
     @Test
@@ -159,8 +168,11 @@ public class AuthServiceTest {
     @Test
     public void testAuthenticateSuccess() {
         // Mock repository and service behaviors
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
-        when(jwtService.generateToken(user)).thenReturn("jwt-token");
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.of(credentials(true)));
+        when(passwordHasher.matches("password123", "encodedPassword")).thenReturn(true);
+        when(userRoleCache.getRoleNames(TEST_UUID)).thenReturn(List.of("ROLE_USER"));
+        when(jwtService.generateToken(anyMap(), eq("testuser"))).thenReturn("jwt-token");
+        when(refreshTokenService.issue(TEST_UUID)).thenReturn("refresh-token");
 
         // Call the service method
         AuthResponse response = authService.authenticate(authRequest);
@@ -168,6 +180,7 @@ public class AuthServiceTest {
         // Verify the response
         assertNotNull(response);
         assertEquals("jwt-token", response.getToken());
+        assertEquals("refresh-token", response.getRefreshToken());
         assertEquals(TEST_UUID, response.getUserId());
         assertEquals("testuser", response.getUsername());
         assertEquals("test@example.com", response.getEmail());
@@ -175,23 +188,98 @@ public class AuthServiceTest {
         assertEquals("User", response.getLastName());
         assertEquals(Collections.singletonList("ROLE_USER"), response.getRoles());
 
-        // Verify that the repositories and services were called correctly
-        verify(authenticationManager, times(1)).authenticate(
-                new UsernamePasswordAuthenticationToken("testuser", "password123"));
-        verify(userRepository, times(1)).findByUsername("testuser");
-        verify(jwtService, times(1)).generateToken(user);
+        // Uma única consulta de usuário, sem carregar a entidade completa
+        verify(userRepository, times(1)).findCredentialsByUsername("testuser");
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(passwordHasher, times(1)).matches("password123", "encodedPassword");
+        // Papéis no token, para os demais serviços autenticarem sem consulta
+        verify(jwtService).generateToken(argThat(claims -> List.of("ROLE_USER").equals(claims.get("roles"))),
+                eq("testuser"));
     }
 
     @Test
     public void testAuthenticateUserNotFound() {
         // Mock repository behavior
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.empty());
         
         // Verify that the service throws an exception
-        assertThrows(AuthenticationException.class, () -> {
-            // Mock authentication manager to not throw exception when called
-            when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(null);
-            authService.authenticate(authRequest);
+        assertThrows(AuthenticationException.class, () -> authService.authenticate(authRequest));
+        
+        // O hash é verificado mesmo para usuários inexistentes
+        verify(passwordHasher, times(1)).matches(eq("password123"), anyString());
+        verify(jwtService, never()).generateToken(anyMap(), anyString());
+    }
+
+    @Test
+    public void testAuthenticateWrongPassword() {
+        // Mock repository behavior
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.of(credentials(true)));
+        when(passwordHasher.matches("password123", "encodedPassword")).thenReturn(false);
+
+        // Verify that the service throws an exception
+        AuthenticationException exception = assertThrows(AuthenticationException.class,
+                () -> authService.authenticate(authRequest));
+
+        assertEquals("Invalid username or password", exception.getMessage());
+        verify(userRoleCache, never()).getRoleNames(any());
+    }
+
+    @Test
+    public void testAuthenticateInactiveUser() {
+        // Mock repository behavior
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.of(credentials(false)));
+        when(passwordHasher.matches("password123", "encodedPassword")).thenReturn(true);
+
+        // Verify that the service throws an exception
+        AuthenticationException exception = assertThrows(AuthenticationException.class,
+                () -> authService.authenticate(authRequest));
+
+        assertEquals("User account is disabled", exception.getMessage());
+    }
+
+    @Test
+    public void testRefreshSkipsPasswordVerification() {
+        // Mock refresh token rotation and user lookup
+        mockRotation("old-refresh-token", "new-refresh-token");
+        when(userRepository.findCredentialsById(TEST_UUID)).thenReturn(Optional.of(credentials(true)));
+        when(userRoleCache.getRoleNames(TEST_UUID)).thenReturn(List.of("ROLE_USER"));
+        when(jwtService.generateToken(anyMap(), eq("testuser"))).thenReturn("jwt-token");
+
+        // Call the service method
+        AuthResponse response = authService.refresh(new RefreshTokenRequest("old-refresh-token"));
+
+        // Verify the response
+        assertEquals("jwt-token", response.getToken());
+        assertEquals("new-refresh-token", response.getRefreshToken());
+        assertEquals(TEST_UUID, response.getUserId());
+        verify(passwordHasher, never()).matches(any(), any());
+    }
+
+    @Test
+    public void testRefreshInactiveUser() {
+        // Mock refresh token rotation and user lookup
+        mockRotation("old-refresh-token", "new-refresh-token");
+        when(userRepository.findCredentialsById(TEST_UUID)).thenReturn(Optional.of(credentials(false)));
+
+        // Verify that the service throws an exception
+        AuthenticationException exception = assertThrows(AuthenticationException.class,
+                () -> authService.refresh(new RefreshTokenRequest("old-refresh-token")));
+        assertEquals("User account is disabled", exception.getMessage());
+        verify(jwtService, never()).generateToken(anyMap(), anyString());
+    }
+
+    /**
+     * Simula a rotação: o dono do token é carregado (e validado) antes de o sucessor ser emitido
+     */
+    private void mockRotation(String rawToken, String nextToken) {
+        when(refreshTokenService.rotate(eq(rawToken), any())).thenAnswer(invocation -> {
+            Function<UUID, ?> ownerLoader = invocation.getArgument(1);
+            return new RefreshTokenService.Rotation<>(ownerLoader.apply(TEST_UUID), nextToken);
         });
     }
+
+    private UserCredentials credentials(boolean active) {
+        return new UserCredentials(TEST_UUID, "testuser", "encodedPassword",
+                "test@example.com", "Test", "User", active);
+    }
 }
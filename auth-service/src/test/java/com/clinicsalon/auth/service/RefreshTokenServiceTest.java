@@ -0,0 +1,141 @@
+package com.clinicsalon.auth.service;
+
+import com.clinicsalon.auth.exception.AuthenticationException;
+import com.clinicsalon.auth.model.RefreshToken;
+import com.clinicsalon.auth.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:auth_refresh_tokens;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RefreshTokenService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenServiceTest {
+
+    private static final UUID USER_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository.deleteAll();
+    }
+
+    @Test
+    void issue_StoresOnlyTheHash() {
+        // Act
+        String rawToken = refreshTokenService.issue(USER_ID);
+
+        // Assert
+        RefreshToken stored = refreshTokenRepository.findAll().get(0);
+        assertNotEquals(rawToken, stored.getTokenHash());
+        assertEquals(RefreshTokenService.hash(rawToken), stored.getTokenHash());
+        assertEquals(USER_ID, stored.getUserId());
+    }
+
+    @Test
+    void rotate_ReturnsNewTokenAndRevokesPrevious() {
+        // Arrange
+        String first = refreshTokenService.issue(USER_ID);
+
+        // Act
+        RefreshTokenService.Rotation<UUID> rotation = refreshTokenService.rotate(first, userId -> userId);
+
+        // Assert
+        assertEquals(USER_ID, rotation.owner());
+        assertNotEquals(first, rotation.refreshToken());
+        List<RefreshToken> tokens = refreshTokenRepository.findAll();
+        assertEquals(2, tokens.size());
+        assertEquals(1, tokens.stream().filter(RefreshToken::isRevoked).count());
+        assertEquals(1, tokens.stream().map(RefreshToken::getFamilyId).distinct().count());
+    }
+
+    @Test
+    void rotate_ReusedToken_RevokesWholeFamily() {
+        // Arrange
+        String first = refreshTokenService.issue(USER_ID);
+        String second = refreshTokenService.rotate(first, userId -> userId).refreshToken();
+
+        // Act
+        assertThrows(AuthenticationException.class, () -> refreshTokenService.rotate(first, userId -> userId));
+
+        // Assert: o sucessor legítimo também deixa de valer
+        assertTrue(refreshTokenRepository.findAll().stream().allMatch(RefreshToken::isRevoked));
+        assertThrows(AuthenticationException.class, () -> refreshTokenService.rotate(second, userId -> userId));
+    }
+
+    @Test
+    void rotate_RejectedOwner_KeepsTokenUnrotated() {
+        // Arrange
+        String rawToken = refreshTokenService.issue(USER_ID);
+
+        // Act
+        assertThrows(AuthenticationException.class, () -> refreshTokenService.rotate(rawToken, userId -> {
+            throw new AuthenticationException("User account is disabled");
+        }));
+
+        // Assert: nenhum sucessor gravado e o token apresentado continua válido
+        List<RefreshToken> tokens = refreshTokenRepository.findAll();
+        assertEquals(1, tokens.size());
+        assertFalse(tokens.get(0).isRevoked());
+        assertEquals(USER_ID, refreshTokenService.rotate(rawToken, userId -> userId).owner());
+    }
+
+    @Test
+    void rotate_UnknownToken_Throws() {
+        // Act & Assert
+        assertThrows(AuthenticationException.class, () -> refreshTokenService.rotate("unknown", userId -> userId));
+    }
+
+    @Test
+    void rotate_ExpiredToken_Throws() {
+        // Arrange
+        String rawToken = refreshTokenService.issue(USER_ID);
+        expireAll();
+
+        // Act & Assert
+        AuthenticationException exception = assertThrows(AuthenticationException.class,
+                () -> refreshTokenService.rotate(rawToken, userId -> userId));
+        assertEquals("Refresh token expired", exception.getMessage());
+    }
+
+    @Test
+    void purgeExpired_RemovesOnlyExpiredTokens() {
+        // Arrange
+        refreshTokenService.issue(USER_ID);
+        expireAll();
+        refreshTokenService.issue(USER_ID);
+
+        // Act
+        int removed = refreshTokenService.purgeExpired();
+
+        // Assert
+        assertEquals(1, removed);
+        assertEquals(1, refreshTokenRepository.count());
+    }
+
+    private void expireAll() {
+        List<RefreshToken> tokens = refreshTokenRepository.findAll();
+        tokens.forEach(token -> token.setExpiresAt(LocalDateTime.now().minusMinutes(1)));
+        refreshTokenRepository.saveAll(tokens);
+    }
+}
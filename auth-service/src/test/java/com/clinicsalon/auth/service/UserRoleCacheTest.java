@@ -0,0 +1,91 @@
+package com.clinicsalon.auth.service;
+
+import com.clinicsalon.auth.repository.RoleRepository;
+import com.clinicsalon.monitoring.cache.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserRoleCacheTest {
+
+    private static final UUID USER_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    private UserRoleCache userRoleCache;
+
+    @BeforeEach
+    void setUp() {
+        userRoleCache = new UserRoleCache(roleRepository,
+                new ConcurrentMapCacheManager(CacheConfig.USER_ROLES_CACHE));
+    }
+
+    @Test
+    void getRoleNames_WarmCache_DoesNotQueryRepository() {
+        // Arrange
+        when(roleRepository.findRoleNamesByUserId(USER_ID)).thenReturn(List.of("ROLE_ADMIN", "ROLE_USER"));
+        userRoleCache.getRoleNames(USER_ID);
+
+        // Act
+        List<String> roles = userRoleCache.getRoleNames(USER_ID);
+
+        // Assert
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), roles);
+        verify(roleRepository, times(1)).findRoleNamesByUserId(USER_ID);
+    }
+
+    @Test
+    void evict_ReloadsRolesOnNextLookup() {
+        // Arrange
+        when(roleRepository.findRoleNamesByUserId(USER_ID))
+                .thenReturn(List.of("ROLE_USER"))
+                .thenReturn(List.of("ROLE_ADMIN", "ROLE_USER"));
+        userRoleCache.getRoleNames(USER_ID);
+
+        // Act
+        userRoleCache.evict(USER_ID);
+        List<String> roles = userRoleCache.getRoleNames(USER_ID);
+
+        // Assert
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), roles);
+        verify(roleRepository, times(2)).findRoleNamesByUserId(USER_ID);
+    }
+
+    @Test
+    void evict_InsideTransaction_WaitsForCommit() {
+        // Arrange
+        when(roleRepository.findRoleNamesByUserId(USER_ID))
+                .thenReturn(List.of("ROLE_USER"))
+                .thenReturn(List.of("ROLE_ADMIN", "ROLE_USER"));
+        userRoleCache.getRoleNames(USER_ID);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            userRoleCache.evict(USER_ID);
+
+            // Assert: antes do commit, o cache continua com os papéis antigos
+            assertEquals(List.of("ROLE_USER"), userRoleCache.getRoleNames(USER_ID));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), userRoleCache.getRoleNames(USER_ID));
+        verify(roleRepository, times(2)).findRoleNamesByUserId(USER_ID);
+    }
+}
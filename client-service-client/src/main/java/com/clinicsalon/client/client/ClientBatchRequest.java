@@ -0,0 +1,26 @@
+package com.clinicsalon.client.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Requisição da consulta em lote (até 1000 IDs). Sem campos informados, retorna ID e nome.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientBatchRequest {
+
+    private List<Long> ids;
+    private Set<ClientField> fields;
+
+    public static ClientBatchRequest of(List<Long> ids, ClientField... fields) {
+        return new ClientBatchRequest(ids, fields.length == 0 ? null : Set.of(fields));
+    }
+}
@@ -4,11 +4,21 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.service.annotation.GetExchange;
+import org.springframework.web.service.annotation.HttpExchange;
+import org.springframework.web.service.annotation.PostExchange;
+
+import java.util.List;
 
 /**
- * Cliente Feign para comunicação com o serviço de clientes
+ * Cliente Feign para comunicação com o serviço de clientes.
+ * As anotações {@code @HttpExchange} permitem usar a mesma interface com o transporte
+ * por interface HTTP em threads virtuais ({@code clinicsalon.clients.client-service.transport}).
  */
-@FeignClient(name = "client-service", path = "/api/v1/clients")
+@FeignClient(name = "client-service", path = "/api/clients", fallbackFactory = ClientClientFallbackFactory.class, primary = false)
+@HttpExchange("/api/clients")
 public interface ClientClient {
 
     /**
@@ -18,6 +28,7 @@ public interface ClientClient {
      * @return Resposta contendo os dados do cliente
      */
     @GetMapping("/{id}")
+    @GetExchange("/{id}")
     ResponseEntity<ClientResponse> getClientById(@PathVariable("id") Long id);
     
     /**
@@ -27,5 +38,26 @@ public interface ClientClient {
      * @return Resposta True se existe, False caso contrário
      */
     @GetMapping("/{id}/exists")
+    @GetExchange("/{id}/exists")
     ResponseEntity<Boolean> clientExists(@PathVariable("id") Long id);
+    
+    /**
+     * Buscar vários clientes em uma única chamada, apenas com os campos desejados
+     *
+     * @param request IDs (até 1000) e campos desejados
+     * @return Clientes encontrados; IDs inexistentes são omitidos
+     */
+    @PostMapping("/batch")
+    @PostExchange("/batch")
+    ResponseEntity<List<ClientProjection>> getClientsBatch(@RequestBody ClientBatchRequest request);
+    
+    /**
+     * Verificar a existência de vários clientes em uma única chamada
+     *
+     * @param request IDs dos clientes (até 1000)
+     * @return Mapa de bits alinhado com a lista de IDs enviada
+     */
+    @PostMapping("/exists")
+    @PostExchange("/exists")
+    ResponseEntity<ClientExistenceResponse> clientsExist(@RequestBody ClientIdsRequest request);
 }
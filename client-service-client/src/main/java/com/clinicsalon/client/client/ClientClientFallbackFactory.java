@@ -0,0 +1,66 @@
+package com.clinicsalon.client.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fábrica de fallback para o cliente Feign do serviço de clientes.
+ * Nas consultas em lote retorna 503 sem corpo, para que o chamador possa distinguir
+ * "serviço indisponível" de "clientes inexistentes".
+ */
+@Component
+public class ClientClientFallbackFactory implements FallbackFactory<ClientClient> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientClientFallbackFactory.class);
+
+    @Override
+    public ClientClient create(Throwable cause) {
+        return new ClientClientFallback(cause);
+    }
+
+    /**
+     * Implementação de fallback para o cliente de clientes
+     */
+    static class ClientClientFallback implements ClientClient {
+
+        private final Throwable cause;
+
+        ClientClientFallback(Throwable cause) {
+            this.cause = cause;
+        }
+
+        @Override
+        public ResponseEntity<ClientResponse> getClientById(Long id) {
+            logger.error("Falha ao buscar cliente por ID: {}, causa: {}", id, cause.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        @Override
+        public ResponseEntity<Boolean> clientExists(Long id) {
+            logger.error("Falha ao verificar existência do cliente: {}, causa: {}", id, cause.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        @Override
+        public ResponseEntity<List<ClientProjection>> getClientsBatch(ClientBatchRequest request) {
+            logger.error("Falha ao buscar {} clientes em lote, causa: {}", size(request.getIds()), cause.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        @Override
+        public ResponseEntity<ClientExistenceResponse> clientsExist(ClientIdsRequest request) {
+            logger.error("Falha ao verificar existência de {} clientes, causa: {}", size(request.getIds()), cause.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        private static int size(List<Long> ids) {
+            return ids != null ? ids.size() : 0;
+        }
+    }
+}
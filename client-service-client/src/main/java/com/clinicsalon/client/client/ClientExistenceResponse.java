@@ -0,0 +1,40 @@
+package com.clinicsalon.client.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resposta da verificação de existência em lote: o bit i (Base64 de {@link BitSet#toByteArray()})
+ * indica se o i-ésimo ID da requisição existe
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientExistenceResponse {
+
+    private int size;
+    private String bits;
+
+    public boolean exists(int index) {
+        return BitSet.valueOf(Base64.getDecoder().decode(bits)).get(index);
+    }
+
+    /**
+     * IDs existentes, dada a mesma lista enviada na requisição
+     */
+    public Set<Long> existingIds(List<Long> requestedIds) {
+        BitSet bitSet = BitSet.valueOf(Base64.getDecoder().decode(bits));
+        Set<Long> existing = new HashSet<>();
+        for (int i = bitSet.nextSetBit(0); i >= 0 && i < requestedIds.size(); i = bitSet.nextSetBit(i + 1)) {
+            existing.add(requestedIds.get(i));
+        }
+        return existing;
+    }
+}
@@ -0,0 +1,12 @@
+package com.clinicsalon.client.client;
+
+/**
+ * Campos que podem ser solicitados em {@link ClientClient#getClientsBatch}. O ID é sempre retornado.
+ */
+public enum ClientField {
+    NAME,
+    EMAIL,
+    PHONE,
+    CPF,
+    ACTIVE
+}
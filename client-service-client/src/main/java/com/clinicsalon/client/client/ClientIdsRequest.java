@@ -0,0 +1,18 @@
+package com.clinicsalon.client.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Lista de IDs para verificação de existência (até 1000)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientIdsRequest {
+
+    private List<Long> ids;
+}
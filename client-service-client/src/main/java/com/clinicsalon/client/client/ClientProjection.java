@@ -0,0 +1,23 @@
+package com.clinicsalon.client.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cliente retornado pela consulta em lote; apenas os campos solicitados vêm preenchidos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientProjection {
+
+    private Long id;
+    private String name;
+    private String email;
+    private String phone;
+    private String cpf;
+    private Boolean active;
+}
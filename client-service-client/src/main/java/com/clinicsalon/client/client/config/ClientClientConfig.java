@@ -0,0 +1,32 @@
+package com.clinicsalon.client.client.config;
+
+import com.clinicsalon.client.client.ClientClient;
+import com.clinicsalon.client.client.ClientClientFallbackFactory;
+import com.clinicsalon.serviceclient.HttpInterfaceClientConfig;
+import com.clinicsalon.serviceclient.HttpInterfaceClientFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Configuração para habilitar o cliente Feign do módulo client-service-client.
+ * Esta configuração deve ser importada para usar o cliente e seu fallback.
+ * Com {@code clinicsalon.clients.client-service.transport=http-interface}, o {@link ClientClient}
+ * injetado passa a ser a interface HTTP em threads virtuais, com o mesmo fallback.
+ */
+@Configuration
+@EnableFeignClients(basePackages = "com.clinicsalon.client.client")
+@Import({ClientClientFallbackFactory.class, HttpInterfaceClientConfig.class})
+public class ClientClientConfig {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "clinicsalon.clients.client-service", name = "transport", havingValue = "http-interface")
+    public ClientClient clientClientHttpInterface(HttpInterfaceClientFactory httpInterfaceClientFactory,
+                                                  ClientClientFallbackFactory fallbackFactory) {
+        return httpInterfaceClientFactory.create(ClientClient.class, "client-service", fallbackFactory);
+    }
+}
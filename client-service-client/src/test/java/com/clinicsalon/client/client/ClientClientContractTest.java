@@ -0,0 +1,40 @@
+package com.clinicsalon.client.client;
+
+import feign.MethodMetadata;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.support.RestClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A mesma interface precisa ser aceita pelos dois transportes: Feign e interface HTTP
+ */
+class ClientClientContractTest {
+
+    @Test
+    void feignContract_ParsesEveryMethod() {
+        // Act
+        List<MethodMetadata> methods = new SpringMvcContract().parseAndValidateMetadata(ClientClient.class);
+
+        // Assert
+        assertEquals(ClientClient.class.getMethods().length, methods.size());
+        assertTrue(methods.stream().anyMatch(m -> "/{id}/exists".equals(m.template().url())));
+    }
+
+    @Test
+    void httpInterface_CreatesProxyForEveryMethod() {
+        // Act
+        ClientClient client = HttpServiceProxyFactory
+                .builderFor(RestClientAdapter.create(RestClient.create("http://client-service")))
+                .build()
+                .createClient(ClientClient.class);
+
+        // Assert
+        assertNotNull(client);
+    }
+}
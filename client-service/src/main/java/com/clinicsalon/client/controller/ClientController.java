@@ -1,7 +1,17 @@
 package com.clinicsalon.client.controller;
 
+import com.clinicsalon.client.dto.ClientBatchRequest;
+import com.clinicsalon.client.dto.ClientExistenceResponse;
+import com.clinicsalon.client.dto.ClientIdsRequest;
+import com.clinicsalon.client.dto.ClientImportReport;
+import com.clinicsalon.client.dto.ClientProjection;
 import com.clinicsalon.client.dto.ClientRequest;
 import com.clinicsalon.client.dto.ClientResponse;
+import com.clinicsalon.client.dto.ClientSearchPage;
+import com.clinicsalon.client.dto.ClientSummary;
+import com.clinicsalon.client.imports.ClientImportFormat;
+import com.clinicsalon.client.service.ClientImportService;
+import com.clinicsalon.client.service.ClientSearchService;
 import com.clinicsalon.client.service.ClientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,10 +21,15 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 @Tag(name = "Clients", description = "API for managing clients")
 @RestController
 @RequestMapping("/api/clients")
@@ -22,6 +37,8 @@ import org.springframework.web.bind.annotation.*;
 public class ClientController {
 
     private final ClientService clientService;
+    private final ClientSearchService clientSearchService;
+    private final ClientImportService clientImportService;
 
     @Operation(summary = "Get all clients with pagination")
     @GetMapping
@@ -31,6 +48,44 @@ public class ClientController {
         return ResponseEntity.ok(clientService.findAll(pageable));
     }
 
+    @Operation(summary = "Search clients by name, CPF or phone with cursor pagination")
+    @GetMapping("/search")
+    public ResponseEntity<ClientSearchPage> searchClients(
+            @Parameter(description = "Name (or start of any word of it), CPF prefix or part of the phone number")
+            @RequestParam String q,
+            @Parameter(description = "Cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(clientSearchService.search(q, cursor, size));
+    }
+
+    @Operation(summary = "Type-ahead suggestions of clients by name prefix")
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<ClientSummary>> suggestClients(
+            @Parameter(description = "Prefix typed so far")
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of suggestions (max 20)")
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(clientSearchService.suggest(q, limit));
+    }
+
+    @Operation(summary = "Get several clients by ID with only the requested fields")
+    @PostMapping("/batch")
+    public ResponseEntity<List<ClientProjection>> getClientsBatch(
+            @Parameter(description = "Client IDs and fields to return (id and name by default)")
+            @Valid @RequestBody ClientBatchRequest request) {
+        return ResponseEntity.ok(clientService.findBatch(request));
+    }
+
+    @Operation(summary = "Check which of the given client IDs exist, as a bitset aligned with the request")
+    @PostMapping("/exists")
+    public ResponseEntity<ClientExistenceResponse> clientsExist(
+            @Parameter(description = "Client IDs to check")
+            @Valid @RequestBody ClientIdsRequest request) {
+        return ResponseEntity.ok(clientService.exists(request.getIds()));
+    }
+
     @Operation(summary = "Get a client by ID")
     @GetMapping("/{id}")
     public ResponseEntity<ClientResponse> getClientById(
@@ -39,6 +94,14 @@ public class ClientController {
         return ResponseEntity.ok(clientService.findById(id));
     }
 
+    @Operation(summary = "Check whether a client exists")
+    @GetMapping("/{id}/exists")
+    public ResponseEntity<Boolean> clientExists(
+            @Parameter(description = "ID of the client to be checked")
+            @PathVariable Long id) {
+        return ResponseEntity.ok(clientService.exists(id));
+    }
+
     @Operation(summary = "Create a new client")
     @PostMapping
     public ResponseEntity<ClientResponse> createClient(
@@ -47,6 +110,14 @@ public class ClientController {
         return new ResponseEntity<>(clientService.create(request), HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Bulk import clients from CSV or NDJSON, upserting by email")
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ClientImportReport> importClients(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(clientImportService.importClients(body, ClientImportFormat.fromContentType(contentType)));
+    }
+
     @Operation(summary = "Update an existing client")
     @PutMapping("/{id}")
     public ResponseEntity<ClientResponse> updateClient(
@@ -0,0 +1,28 @@
+package com.clinicsalon.client.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Consulta de vários clientes de uma vez, com os campos desejados.
+ * Sem campos informados, retorna apenas ID e nome.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientBatchRequest {
+
+    public static final int MAX_IDS = 1000;
+
+    @NotEmpty(message = "At least one ID is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " IDs per request")
+    private List<Long> ids;
+
+    private Set<ClientField> fields;
+}
@@ -0,0 +1,38 @@
+package com.clinicsalon.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Existência de uma lista de clientes como mapa de bits: o bit i indica se o
+ * i-ésimo ID da requisição existe. Os bits são serializados em Base64 (little-endian,
+ * formato de {@link BitSet#toByteArray()}).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientExistenceResponse {
+
+    private int size;
+    private String bits;
+
+    public static ClientExistenceResponse of(List<Long> ids, Set<Long> existing) {
+        BitSet bitSet = new BitSet(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (existing.contains(ids.get(i))) {
+                bitSet.set(i);
+            }
+        }
+        return new ClientExistenceResponse(ids.size(), Base64.getEncoder().encodeToString(bitSet.toByteArray()));
+    }
+
+    public boolean exists(int index) {
+        return BitSet.valueOf(Base64.getDecoder().decode(bits)).get(index);
+    }
+}
@@ -0,0 +1,16 @@
+package com.clinicsalon.client.dto;
+
+import java.util.Set;
+
+/**
+ * Campos que podem ser solicitados na consulta em lote. O ID é sempre retornado.
+ */
+public enum ClientField {
+    NAME,
+    EMAIL,
+    PHONE,
+    CPF,
+    ACTIVE;
+
+    public static final Set<ClientField> CONTACT = Set.of(NAME, EMAIL, PHONE);
+}
@@ -0,0 +1,22 @@
+package com.clinicsalon.client.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Lista de IDs de clientes para verificação de existência
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientIdsRequest {
+
+    @NotEmpty(message = "At least one ID is required")
+    @Size(max = ClientBatchRequest.MAX_IDS, message = "At most " + ClientBatchRequest.MAX_IDS + " IDs per request")
+    private List<Long> ids;
+}
@@ -0,0 +1,20 @@
+package com.clinicsalon.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Registro rejeitado na importação, com a linha do arquivo e os motivos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientImportError {
+
+    private long line;
+    private String email;
+    private List<String> errors;
+}
@@ -0,0 +1,31 @@
+package com.clinicsalon.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação em massa de clientes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientImportReport {
+
+    private long totalRows;
+    private long inserted;
+    private long updated;
+    private long rejected;
+    private int batches;
+    private long durationMillis;
+
+    /**
+     * Erros por linha, limitados a client.import.max-reported-errors
+     */
+    private List<ClientImportError> errors;
+    private boolean errorsTruncated;
+}
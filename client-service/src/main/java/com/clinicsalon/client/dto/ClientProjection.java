@@ -0,0 +1,25 @@
+package com.clinicsalon.client.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cliente com apenas os campos solicitados na consulta em lote; os demais não são serializados
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClientProjection {
+
+    private Long id;
+    private String name;
+    private String email;
+    private String phone;
+    private String cpf;
+    private Boolean active;
+}
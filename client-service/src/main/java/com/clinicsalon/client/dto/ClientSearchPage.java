@@ -0,0 +1,25 @@
+package com.clinicsalon.client.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de resultados da busca de clientes com paginação por cursor (keyset)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClientSearchPage {
+
+    private List<ClientSummary> content;
+
+    /**
+     * Cursor da próxima página, ou nulo se esta for a última
+     */
+    private String nextCursor;
+}
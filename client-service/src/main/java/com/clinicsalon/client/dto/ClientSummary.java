@@ -0,0 +1,30 @@
+package com.clinicsalon.client.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dados resumidos do cliente retornados pela busca
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClientSummary {
+
+    private Long id;
+    private String name;
+    private String email;
+    private String phone;
+    private String cpf;
+    private boolean active;
+
+    /**
+     * Nome normalizado, usado na ordenação e no cursor de paginação
+     */
+    @JsonIgnore
+    private String searchName;
+}
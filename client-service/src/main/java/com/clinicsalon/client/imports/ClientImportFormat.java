@@ -0,0 +1,42 @@
+package com.clinicsalon.client.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+
+/**
+ * Formatos aceitos pela importação em massa, identificados pelo Content-Type
+ */
+public enum ClientImportFormat {
+
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    ClientImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public ClientRecordReader reader(BufferedReader reader, ObjectMapper objectMapper) {
+        return this == CSV ? new CsvClientRecordReader(reader) : new NdjsonClientRecordReader(reader, objectMapper);
+    }
+
+    /**
+     * @throws IllegalArgumentException se o Content-Type não for suportado
+     */
+    public static ClientImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            for (ClientImportFormat format : values()) {
+                if (contentType.toLowerCase().startsWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+}
@@ -0,0 +1,14 @@
+package com.clinicsalon.client.imports;
+
+import java.io.IOException;
+
+/**
+ * Leitura incremental dos registros de um arquivo de importação de clientes
+ */
+public interface ClientRecordReader {
+
+    /**
+     * Próximo registro, ou nulo no fim do arquivo
+     */
+    ImportRecord next() throws IOException;
+}
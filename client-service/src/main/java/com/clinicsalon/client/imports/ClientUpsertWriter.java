@@ -0,0 +1,128 @@
+package com.clinicsalon.client.imports;
+
+import com.clinicsalon.client.model.Client;
+import com.clinicsalon.client.search.SearchNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Gravação em lote dos clientes importados via JDBC.
+ * No PostgreSQL usa INSERT ... ON CONFLICT (email) DO UPDATE; nos demais bancos (H2 nos testes)
+ * usa o MERGE padrão com a mesma semântica. Em ambos os casos created_at e active
+ * são preservados para clientes já existentes.
+ */
+@Component
+@Slf4j
+public class ClientUpsertWriter {
+
+    private static final String COLUMNS =
+            "name, email, phone, birth_date, cpf, address, notes, search_name, phone_digits, cpf_digits";
+
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO clients (" + COLUMNS + ", active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, ?, ?) " +
+            "ON CONFLICT (email) DO UPDATE SET name = EXCLUDED.name, phone = EXCLUDED.phone, " +
+            "birth_date = EXCLUDED.birth_date, cpf = EXCLUDED.cpf, address = EXCLUDED.address, " +
+            "notes = EXCLUDED.notes, search_name = EXCLUDED.search_name, " +
+            "phone_digits = EXCLUDED.phone_digits, cpf_digits = EXCLUDED.cpf_digits, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String STANDARD_MERGE =
+            "MERGE INTO clients t USING (VALUES (?, ?, ?, CAST(? AS DATE), ?, ?, ?, ?, ?, ?, " +
+            "CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))) " +
+            "AS s(" + COLUMNS + ", created_at, updated_at) ON t.email = s.email " +
+            "WHEN MATCHED THEN UPDATE SET name = s.name, phone = s.phone, birth_date = s.birth_date, " +
+            "cpf = s.cpf, address = s.address, notes = s.notes, search_name = s.search_name, " +
+            "phone_digits = s.phone_digits, cpf_digits = s.cpf_digits, updated_at = s.updated_at " +
+            "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ", active, created_at, updated_at) " +
+            "VALUES (s.name, s.email, s.phone, s.birth_date, s.cpf, s.address, s.notes, s.search_name, " +
+            "s.phone_digits, s.cpf_digits, TRUE, s.created_at, s.updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final String upsertSql;
+
+    public ClientUpsertWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.upsertSql = isPostgres(dataSource) ? POSTGRES_UPSERT : STANDARD_MERGE;
+    }
+
+    /**
+     * Clientes já cadastrados com algum dos e-mails, CPFs ou telefones informados
+     */
+    public List<ExistingClient> findConflicts(Collection<String> emails, Collection<String> cpfs,
+                                              Collection<String> phones) {
+        List<String> conditions = new ArrayList<>(3);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (!emails.isEmpty()) {
+            conditions.add("email IN (:emails)");
+            params.addValue("emails", emails);
+        }
+        if (!cpfs.isEmpty()) {
+            conditions.add("cpf IN (:cpfs)");
+            params.addValue("cpfs", cpfs);
+        }
+        if (!phones.isEmpty()) {
+            conditions.add("phone IN (:phones)");
+            params.addValue("phones", phones);
+        }
+        if (conditions.isEmpty()) {
+            return List.of();
+        }
+
+        return namedJdbcTemplate.query(
+                "SELECT email, cpf, phone FROM clients WHERE " + String.join(" OR ", conditions),
+                params,
+                (rs, rowNum) -> new ExistingClient(rs.getString("email"), rs.getString("cpf"), rs.getString("phone")));
+    }
+
+    /**
+     * Insere ou atualiza (pelo e-mail) os clientes em um único lote JDBC
+     */
+    public void upsert(List<Client> clients) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(upsertSql, clients, clients.size(), (ps, client) -> {
+            ps.setString(1, client.getName());
+            ps.setString(2, client.getEmail());
+            ps.setString(3, client.getPhone());
+            ps.setDate(4, client.getBirthDate() != null ? Date.valueOf(client.getBirthDate()) : null);
+            ps.setString(5, client.getCpf());
+            ps.setString(6, client.getAddress());
+            ps.setString(7, client.getNotes());
+            ps.setString(8, SearchNormalizer.normalizeName(client.getName()));
+            ps.setString(9, SearchNormalizer.digits(client.getPhone()));
+            ps.setString(10, SearchNormalizer.digits(client.getCpf()));
+            ps.setTimestamp(11, now);
+            ps.setTimestamp(12, now);
+        });
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Could not detect database product, using standard MERGE for client import: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    public record ExistingClient(String email, String cpf, String phone) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.clinicsalon.client.imports;
+
+import com.clinicsalon.client.dto.ClientRequest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lê CSV (RFC 4180) com cabeçalho, um registro por vez. Aceita campos entre aspas,
+ * inclusive com quebras de linha, e separador vírgula ou ponto e vírgula
+ * (detectado pelo cabeçalho). As colunas são identificadas pelo nome:
+ * name, email, phone, birthDate (yyyy-MM-dd), cpf, address e notes.
+ */
+public class CsvClientRecordReader implements ClientRecordReader {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private Map<String, Integer> columns;
+    private char separator = ',';
+    private long line = 1;
+    private int pending = -2;
+
+    public CsvClientRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        if (columns == null) {
+            readHeader();
+            if (columns == null) {
+                return null;
+            }
+        }
+
+        List<String> values;
+        long recordLine;
+        do {
+            recordLine = line;
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+
+        try {
+            return ImportRecord.of(recordLine, toRequest(values));
+        } catch (DateTimeParseException e) {
+            return ImportRecord.failed(recordLine, "birthDate: should be in the format yyyy-MM-dd");
+        }
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            return;
+        }
+        if (header.size() == 1 && header.get(0).indexOf(';') >= 0) {
+            separator = ';';
+            header = List.of(header.get(0).split(";", -1));
+        }
+
+        columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).strip().replace("_", "").toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name.startsWith("\uFEFF") ? name.substring(1) : name, i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("email")) {
+            throw new IllegalArgumentException("CSV header must contain at least the columns name and email");
+        }
+    }
+
+    private ClientRequest toRequest(List<String> values) {
+        ClientRequest request = new ClientRequest();
+        request.setName(value(values, "name"));
+        request.setEmail(value(values, "email"));
+        request.setPhone(value(values, "phone"));
+        request.setCpf(value(values, "cpf"));
+        request.setAddress(value(values, "address"));
+        request.setNotes(value(values, "notes"));
+        String birthDate = value(values, "birthdate");
+        request.setBirthDate(birthDate != null ? LocalDate.parse(birthDate) : null);
+        return request;
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Lê o próximo registro, ou nulo no fim do arquivo
+     */
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field at line " + line);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == separator) {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pending = following;
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                values.add(field.toString());
+                return values;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,18 @@
+package com.clinicsalon.client.imports;
+
+import com.clinicsalon.client.dto.ClientRequest;
+
+/**
+ * Registro lido do arquivo de importação: a linha de origem e o cliente,
+ * ou a mensagem de erro quando o registro não pôde ser interpretado
+ */
+public record ImportRecord(long line, ClientRequest request, String error) {
+
+    public static ImportRecord of(long line, ClientRequest request) {
+        return new ImportRecord(line, request, null);
+    }
+
+    public static ImportRecord failed(long line, String error) {
+        return new ImportRecord(line, null, error);
+    }
+}
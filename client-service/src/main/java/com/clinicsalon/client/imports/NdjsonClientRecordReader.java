@@ -0,0 +1,43 @@
+package com.clinicsalon.client.imports;
+
+import com.clinicsalon.client.dto.ClientRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Lê um objeto JSON por linha. Cada linha é interpretada separadamente,
+ * então uma linha inválida não interrompe a leitura das seguintes.
+ */
+public class NdjsonClientRecordReader implements ClientRecordReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long line;
+
+    public NdjsonClientRecordReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectReader = objectMapper.readerFor(ClientRequest.class);
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        try {
+            return ImportRecord.of(line, objectReader.readValue(text));
+        } catch (JsonProcessingException e) {
+            return ImportRecord.failed(line, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.clinicsalon.client.mapper;
 
 import com.clinicsalon.client.dto.ClientRequest;
 import com.clinicsalon.client.dto.ClientResponse;
+import com.clinicsalon.client.dto.ClientSummary;
 import com.clinicsalon.client.model.Client;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -24,6 +25,8 @@ public interface ClientMapper {
     
     ClientResponse toResponse(Client client);
     
+    ClientSummary toSummary(Client client);
+    
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
@@ -1,5 +1,6 @@
 package com.clinicsalon.client.model;
 
+import com.clinicsalon.client.search.SearchNormalizer;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -63,4 +64,24 @@ public class Client {
     
     @Column(name = "active", nullable = false, columnDefinition = "boolean default true")
     private boolean active = true;
+    
+    /**
+     * Colunas normalizadas para busca; mantidas a partir de nome, telefone e CPF
+     */
+    @Column(name = "search_name", nullable = false, length = 100)
+    private String searchName;
+    
+    @Column(name = "phone_digits", length = 20)
+    private String phoneDigits;
+    
+    @Column(name = "cpf_digits", length = 11)
+    private String cpfDigits;
+    
+    @PrePersist
+    @PreUpdate
+    protected void updateSearchColumns() {
+        searchName = SearchNormalizer.normalizeName(name);
+        phoneDigits = SearchNormalizer.digits(phone);
+        cpfDigits = SearchNormalizer.digits(cpf);
+    }
 }
@@ -1,9 +1,15 @@
 package com.clinicsalon.client.repository;
 
+import com.clinicsalon.client.dto.ClientSummary;
 import com.clinicsalon.client.model.Client;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +24,57 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
     boolean existsByCpf(String cpf);
     
     boolean existsByPhone(String phone);
+    
+    /**
+     * Busca por prefixo do nome completo ou de qualquer palavra do nome normalizado,
+     * continuando após a posição (afterName, afterId)
+     */
+    @Query("SELECT new com.clinicsalon.client.dto.ClientSummary(" +
+           "c.id, c.name, c.email, c.phone, c.cpf, c.active, c.searchName) FROM Client c " +
+           "WHERE (c.searchName LIKE :prefix OR c.searchName LIKE :wordPrefix) " +
+           "AND (c.searchName > :afterName OR (c.searchName = :afterName AND c.id > :afterId)) " +
+           "ORDER BY c.searchName, c.id")
+    List<ClientSummary> searchByName(@Param("prefix") String prefix,
+                                     @Param("wordPrefix") String wordPrefix,
+                                     @Param("afterName") String afterName,
+                                     @Param("afterId") Long afterId,
+                                     Pageable limit);
+    
+    /**
+     * Busca por prefixo do CPF ou trecho do telefone (apenas dígitos)
+     */
+    @Query("SELECT new com.clinicsalon.client.dto.ClientSummary(" +
+           "c.id, c.name, c.email, c.phone, c.cpf, c.active, c.searchName) FROM Client c " +
+           "WHERE (c.cpfDigits LIKE :cpfPrefix OR c.phoneDigits LIKE :phonePattern) " +
+           "AND (c.searchName > :afterName OR (c.searchName = :afterName AND c.id > :afterId)) " +
+           "ORDER BY c.searchName, c.id")
+    List<ClientSummary> searchByDigits(@Param("cpfPrefix") String cpfPrefix,
+                                       @Param("phonePattern") String phonePattern,
+                                       @Param("afterName") String afterName,
+                                       @Param("afterId") Long afterId,
+                                       Pageable limit);
+    
+    /**
+     * Resumos em ordem de ID, para carregar o índice de prefixos em lotes
+     */
+    @Query("SELECT new com.clinicsalon.client.dto.ClientSummary(" +
+           "c.id, c.name, c.email, c.phone, c.cpf, c.active, c.searchName) FROM Client c " +
+           "WHERE c.id > :afterId ORDER BY c.id")
+    List<ClientSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable limit);
+    
+    /**
+     * Resumos dos clientes com os e-mails informados, para atualizar o índice após a importação
+     */
+    @Query("SELECT new com.clinicsalon.client.dto.ClientSummary(" +
+           "c.id, c.name, c.email, c.phone, c.cpf, c.active, c.searchName) FROM Client c " +
+           "WHERE c.email IN :emails")
+    List<ClientSummary> findSummariesByEmailIn(@Param("emails") Collection<String> emails);
+    
+    /**
+     * Clientes com os IDs informados, na projeção solicitada (ver pacote projection)
+     */
+    <T> List<T> findByIdIn(Collection<Long> ids, Class<T> type);
+    
+    @Query("SELECT c.id FROM Client c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
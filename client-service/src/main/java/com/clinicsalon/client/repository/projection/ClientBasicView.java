@@ -0,0 +1,11 @@
+package com.clinicsalon.client.repository.projection;
+
+/**
+ * Projeção com todos os campos disponíveis na consulta em lote
+ */
+public interface ClientBasicView extends ClientContactView {
+
+    String getCpf();
+
+    boolean isActive();
+}
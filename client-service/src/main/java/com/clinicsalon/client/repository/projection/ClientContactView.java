@@ -0,0 +1,11 @@
+package com.clinicsalon.client.repository.projection;
+
+/**
+ * Projeção com os dados de contato do cliente
+ */
+public interface ClientContactView extends ClientNameView {
+
+    String getEmail();
+
+    String getPhone();
+}
@@ -0,0 +1,11 @@
+package com.clinicsalon.client.repository.projection;
+
+/**
+ * Projeção mínima do cliente: apenas ID e nome
+ */
+public interface ClientNameView {
+
+    Long getId();
+
+    String getName();
+}
@@ -0,0 +1,293 @@
+package com.clinicsalon.client.search;
+
+import com.clinicsalon.client.dto.ClientSummary;
+import com.clinicsalon.client.repository.ClientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Índice em memória para sugestões por prefixo de nome (type-ahead).
+ * Cada palavra do nome normalizado é inserida em uma trie compacta (filhos em arrays ordenados,
+ * IDs em arrays de long), o que permite responder sem acesso ao banco.
+ * Carregado em lotes na inicialização e atualizado após o commit de cada gravação.
+ */
+@Component
+@Slf4j
+public class ClientNameIndex {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private final ClientRepository clientRepository;
+    private final boolean enabled;
+
+    private final Node root = new Node();
+    private final Map<Long, ClientSummary> summaries = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public ClientNameIndex(ClientRepository clientRepository,
+                           @Value("${client.search.prefix-index.enabled:true}") boolean enabled) {
+        this.clientRepository = clientRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Carrega todos os clientes no índice
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("Client prefix index is disabled");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        long afterId = 0L;
+        List<ClientSummary> batch;
+        do {
+            batch = clientRepository.findSummariesAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            batch.forEach(this::index);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        ready = true;
+        log.info("Client prefix index loaded with {} clients in {} ms",
+                summaries.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indica se o índice está habilitado e carregado
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Inclui ou atualiza um cliente, após o commit da transação corrente
+     */
+    public void put(ClientSummary summary) {
+        if (enabled) {
+            afterCommit(() -> index(summary));
+        }
+    }
+
+    /**
+     * Remove um cliente, após o commit da transação corrente
+     */
+    public void remove(Long clientId) {
+        if (enabled) {
+            afterCommit(() -> unindex(clientId));
+        }
+    }
+
+    /**
+     * Clientes cujo nome contém palavras começando por cada termo da consulta,
+     * em ordem alfabética da palavra encontrada
+     *
+     * @param normalizedQuery Consulta já normalizada por {@link SearchNormalizer#normalizeName}
+     * @param limit           Quantidade máxima de resultados
+     */
+    public List<ClientSummary> suggest(String normalizedQuery, int limit) {
+        String[] terms = normalizedQuery.split(" ");
+        String lastTerm = terms[terms.length - 1];
+        String[] otherTerms = Arrays.copyOf(terms, terms.length - 1);
+
+        Set<Long> ids = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            Node node = root.find(lastTerm);
+            if (node != null) {
+                node.collect(ids, limit, id -> matchesAll(summaries.get(id), otherTerms));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<ClientSummary> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ClientSummary summary = summaries.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    private void index(ClientSummary summary) {
+        // O nome é a fonte: search_name só é recalculado pela entidade no flush
+        summary.setSearchName(SearchNormalizer.normalizeName(summary.getName()));
+        lock.writeLock().lock();
+        try {
+            ClientSummary previous = summaries.put(summary.getId(), summary);
+            if (previous != null) {
+                tokens(previous).forEach(token -> root.removeId(token, previous.getId()));
+            }
+            tokens(summary).forEach(token -> root.addId(token, summary.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(Long clientId) {
+        lock.writeLock().lock();
+        try {
+            ClientSummary previous = summaries.remove(clientId);
+            if (previous != null) {
+                tokens(previous).forEach(token -> root.removeId(token, clientId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Set<String> tokens(ClientSummary summary) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : summary.getSearchName().split(" ")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean matchesAll(ClientSummary summary, String[] terms) {
+        if (summary == null) {
+            return false;
+        }
+        if (terms.length == 0) {
+            return true;
+        }
+        Set<String> tokens = tokens(summary);
+        for (String term : terms) {
+            if (tokens.stream().noneMatch(token -> token.startsWith(term))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Nó da trie: filhos em arrays paralelos ordenados por caractere e os IDs
+     * dos clientes com uma palavra terminando neste nó
+     */
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final long[] NO_IDS = new long[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private long[] ids = NO_IDS;
+
+        Node find(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                int index = Arrays.binarySearch(node.keys, prefix.charAt(i));
+                node = index >= 0 ? node.children[index] : null;
+            }
+            return node;
+        }
+
+        void addId(String token, long id) {
+            Node node = this;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.childOrCreate(token.charAt(i));
+            }
+            int index = Arrays.binarySearch(node.ids, id);
+            if (index < 0) {
+                int insertAt = -index - 1;
+                long[] ids = new long[node.ids.length + 1];
+                System.arraycopy(node.ids, 0, ids, 0, insertAt);
+                ids[insertAt] = id;
+                System.arraycopy(node.ids, insertAt, ids, insertAt + 1, node.ids.length - insertAt);
+                node.ids = ids;
+            }
+        }
+
+        void removeId(String token, long id) {
+            Node node = find(token);
+            if (node == null) {
+                return;
+            }
+            int index = Arrays.binarySearch(node.ids, id);
+            if (index >= 0) {
+                long[] ids = new long[node.ids.length - 1];
+                System.arraycopy(node.ids, 0, ids, 0, index);
+                System.arraycopy(node.ids, index + 1, ids, index, node.ids.length - index - 1);
+                node.ids = ids.length == 0 ? NO_IDS : ids;
+            }
+        }
+
+        /**
+         * Percorre a subárvore em ordem alfabética até reunir o limite de IDs aceitos
+         */
+        boolean collect(Set<Long> result, int limit, LongPredicate accept) {
+            for (long id : ids) {
+                if (!result.contains(id) && accept.test(id)) {
+                    result.add(id);
+                    if (result.size() >= limit) {
+                        return true;
+                    }
+                }
+            }
+            for (Node child : children) {
+                if (child.collect(result, limit, accept)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+    }
+}
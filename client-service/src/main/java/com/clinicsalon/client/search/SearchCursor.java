@@ -0,0 +1,43 @@
+package com.clinicsalon.client.search;
+
+import com.clinicsalon.client.dto.ClientSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição na ordenação (search_name, id) usada para buscar a próxima página.
+ * O valor entregue ao cliente é opaco (Base64 URL-safe de "id:nome normalizado").
+ */
+public record SearchCursor(String searchName, long id) {
+
+    /**
+     * Posição anterior a qualquer cliente
+     */
+    public static final SearchCursor START = new SearchCursor("", 0L);
+
+    public static SearchCursor after(ClientSummary summary) {
+        return new SearchCursor(summary.getSearchName(), summary.getId());
+    }
+
+    public String encode() {
+        String raw = id + ":" + searchName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new SearchCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.clinicsalon.client.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização usada nas colunas e no índice de busca de clientes.
+ * A migração V1_1_0 aplica a mesma regra aos registros existentes.
+ */
+public final class SearchNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern NON_DIGIT = Pattern.compile("\\D+");
+
+    private SearchNormalizer() {
+    }
+
+    /**
+     * Nome em minúsculas, sem acentos e com as palavras separadas por um único espaço
+     */
+    public static String normalizeName(String value) {
+        if (value == null) {
+            return "";
+        }
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Apenas os dígitos do valor (telefone, CPF), ou nulo se não houver nenhum
+     */
+    public static String digits(String value) {
+        if (value == null) {
+            return null;
+        }
+        String digits = NON_DIGIT.matcher(value).replaceAll("");
+        return digits.isEmpty() ? null : digits;
+    }
+
+    /**
+     * Indica se o termo digitado é numérico (telefone ou CPF, com ou sem pontuação)
+     */
+    public static boolean isNumericQuery(String query) {
+        return query != null && !query.isBlank() && query.chars().noneMatch(Character::isLetter)
+                && query.chars().anyMatch(Character::isDigit);
+    }
+}
@@ -0,0 +1,309 @@
+package com.clinicsalon.client.service;
+
+import com.clinicsalon.client.dto.ClientImportError;
+import com.clinicsalon.client.dto.ClientImportReport;
+import com.clinicsalon.client.imports.ClientImportFormat;
+import com.clinicsalon.client.imports.ClientRecordReader;
+import com.clinicsalon.client.imports.ClientUpsertWriter;
+import com.clinicsalon.client.imports.ImportRecord;
+import com.clinicsalon.client.mapper.ClientMapper;
+import com.clinicsalon.client.model.Client;
+import com.clinicsalon.client.repository.ClientRepository;
+import com.clinicsalon.client.search.ClientNameIndex;
+import com.clinicsalon.monitoring.aspect.MonitorPerformance;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Importação em massa de clientes a partir de CSV ou NDJSON.
+ * O arquivo é lido registro a registro; cada cliente é validado com as regras de
+ * {@link Client}, duplicidades dentro do arquivo são rejeitadas na leitura e, a cada lote,
+ * uma única consulta verifica e-mails, CPFs e telefones já cadastrados antes do upsert
+ * em lote via JDBC. Cada lote roda em sua própria transação, então uma falha afeta apenas
+ * as linhas daquele lote.
+ */
+@Service
+@Slf4j
+public class ClientImportService {
+
+    private final ClientUpsertWriter upsertWriter;
+    private final ClientRepository clientRepository;
+    private final ClientMapper clientMapper;
+    private final ClientNameIndex clientNameIndex;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    private final Counter insertedCounter;
+    private final Counter updatedCounter;
+    private final Counter rejectedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong currentRunRows = new AtomicLong();
+
+    public ClientImportService(ClientUpsertWriter upsertWriter,
+                               ClientRepository clientRepository,
+                               ClientMapper clientMapper,
+                               ClientNameIndex clientNameIndex,
+                               Validator validator,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${client.import.batch-size:500}") int batchSize,
+                               @Value("${client.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.upsertWriter = upsertWriter;
+        this.clientRepository = clientRepository;
+        this.clientMapper = clientMapper;
+        this.clientNameIndex = clientNameIndex;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+
+        this.insertedCounter = rowsCounter(meterRegistry, "inserted");
+        this.updatedCounter = rowsCounter(meterRegistry, "updated");
+        this.rejectedCounter = rowsCounter(meterRegistry, "rejected");
+        this.batchTimer = Timer.builder("clients.import.batch")
+                .description("Tempo de gravação de cada lote da importação de clientes")
+                .register(meterRegistry);
+        meterRegistry.gauge("clients.import.current.run.rows", currentRunRows);
+    }
+
+    /**
+     * Importa os clientes do arquivo, inserindo novos e atualizando os existentes pelo e-mail
+     *
+     * @param input  Conteúdo do arquivo (UTF-8)
+     * @param format Formato do arquivo
+     * @return Relatório com totais e erros por linha
+     */
+    @MonitorPerformance(description = "Importar clientes em massa", thresholdMillis = 60000, alertOnError = true)
+    public ClientImportReport importClients(InputStream input, ClientImportFormat format) throws IOException {
+        log.info("Starting {} client import (batch size {})", format, batchSize);
+        long start = System.nanoTime();
+        currentRunRows.set(0);
+
+        Run run = new Run();
+        BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ClientRecordReader reader = format.reader(bufferedReader, objectMapper);
+
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        ImportRecord record;
+        while ((record = reader.next()) != null) {
+            run.totalRows++;
+            currentRunRows.incrementAndGet();
+
+            PendingRow row = accept(record, run);
+            if (row != null) {
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    flush(batch, run);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        flush(batch, run);
+
+        long durationMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        log.info("Client import finished: {} rows, {} inserted, {} updated, {} rejected in {} batches, {} ms",
+                run.totalRows, run.inserted, run.updated, run.rejected, run.batches, durationMillis);
+
+        return ClientImportReport.builder()
+                .totalRows(run.totalRows)
+                .inserted(run.inserted)
+                .updated(run.updated)
+                .rejected(run.rejected)
+                .batches(run.batches)
+                .durationMillis(durationMillis)
+                .errors(run.errors)
+                .errorsTruncated(run.rejected > run.errors.size())
+                .build();
+    }
+
+    /**
+     * Valida o registro e verifica duplicidade dentro do arquivo
+     */
+    private PendingRow accept(ImportRecord record, Run run) {
+        if (record.error() != null) {
+            run.reject(record.line(), null, List.of(record.error()));
+            return null;
+        }
+
+        Client client = clientMapper.toEntity(record.request());
+        Set<ConstraintViolation<Client>> violations = validator.validate(client);
+        if (!violations.isEmpty()) {
+            run.reject(record.line(), client.getEmail(), violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .toList());
+            return null;
+        }
+
+        List<String> duplicates = new ArrayList<>(3);
+        checkDuplicate(run.emailLines, client.getEmail(), record.line(), "Email", duplicates);
+        checkDuplicate(run.cpfLines, client.getCpf(), record.line(), "CPF", duplicates);
+        checkDuplicate(run.phoneLines, client.getPhone(), record.line(), "Phone number", duplicates);
+        if (!duplicates.isEmpty()) {
+            run.reject(record.line(), client.getEmail(), duplicates);
+            return null;
+        }
+
+        return new PendingRow(record.line(), client);
+    }
+
+    private void checkDuplicate(Map<String, Long> seen, String value, long line, String label, List<String> errors) {
+        if (value == null) {
+            return;
+        }
+        Long firstLine = seen.putIfAbsent(value, line);
+        if (firstLine != null) {
+            errors.add(label + " duplicated in file (first seen at line " + firstLine + ")");
+        }
+    }
+
+    private void flush(List<PendingRow> batch, Run run) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        run.batches++;
+        try {
+            BatchResult result = batchTimer.record(() -> transactionTemplate.execute(status -> writeBatch(batch)));
+            run.inserted += result.inserted();
+            run.updated += result.updated();
+            result.rejected().forEach(error -> run.reject(error.getLine(), error.getEmail(), error.getErrors()));
+            insertedCounter.increment(result.inserted());
+            updatedCounter.increment(result.updated());
+        } catch (DataAccessException e) {
+            log.error("Client import batch {} failed: {}", run.batches, e.getMessage());
+            for (PendingRow row : batch) {
+                run.reject(row.line(), row.client().getEmail(),
+                        List.of("Batch could not be saved: " + e.getMostSpecificCause().getMessage()));
+            }
+        }
+        log.info("Client import progress: {} rows read, {} inserted, {} updated, {} rejected",
+                run.totalRows, run.inserted, run.updated, run.rejected);
+    }
+
+    /**
+     * Verifica conflitos com o banco e grava o lote
+     */
+    private BatchResult writeBatch(List<PendingRow> batch) {
+        Set<String> emails = new LinkedHashSet<>();
+        Set<String> cpfs = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        for (PendingRow row : batch) {
+            emails.add(row.client().getEmail());
+            if (row.client().getCpf() != null) {
+                cpfs.add(row.client().getCpf());
+            }
+            phones.add(row.client().getPhone());
+        }
+
+        Set<String> existingEmails = new HashSet<>();
+        Map<String, String> cpfOwners = new HashMap<>();
+        Map<String, Set<String>> phoneOwners = new HashMap<>();
+        for (ClientUpsertWriter.ExistingClient existing : upsertWriter.findConflicts(emails, cpfs, phones)) {
+            existingEmails.add(existing.email());
+            if (existing.cpf() != null) {
+                cpfOwners.put(existing.cpf(), existing.email());
+            }
+            phoneOwners.computeIfAbsent(existing.phone(), phone -> new HashSet<>()).add(existing.email());
+        }
+
+        List<Client> accepted = new ArrayList<>(batch.size());
+        List<ClientImportError> rejected = new ArrayList<>();
+        int updated = 0;
+        for (PendingRow row : batch) {
+            Client client = row.client();
+            List<String> errors = new ArrayList<>(2);
+            String cpfOwner = client.getCpf() != null ? cpfOwners.get(client.getCpf()) : null;
+            if (cpfOwner != null && !cpfOwner.equals(client.getEmail())) {
+                errors.add("CPF already registered: " + client.getCpf());
+            }
+            Set<String> phoneOwner = phoneOwners.getOrDefault(client.getPhone(), Set.of());
+            if (!phoneOwner.isEmpty() && !phoneOwner.equals(Set.of(client.getEmail()))) {
+                errors.add("Phone number already in use: " + client.getPhone());
+            }
+
+            if (!errors.isEmpty()) {
+                rejected.add(new ClientImportError(row.line(), client.getEmail(), errors));
+            } else {
+                accepted.add(client);
+                if (existingEmails.contains(client.getEmail())) {
+                    updated++;
+                }
+            }
+        }
+
+        upsertWriter.upsert(accepted);
+
+        if (!accepted.isEmpty()) {
+            List<String> acceptedEmails = accepted.stream().map(Client::getEmail).toList();
+            clientRepository.findSummariesByEmailIn(acceptedEmails).forEach(clientNameIndex::put);
+        }
+
+        return new BatchResult(accepted.size() - updated, updated, rejected);
+    }
+
+    private static Counter rowsCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("clients.import.rows")
+                .description("Linhas processadas pela importação de clientes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record PendingRow(long line, Client client) {
+    }
+
+    private record BatchResult(int inserted, int updated, List<ClientImportError> rejected) {
+    }
+
+    /**
+     * Estado de uma execução: totais, erros reportados e valores já vistos no arquivo
+     */
+    private final class Run {
+        private long totalRows;
+        private long inserted;
+        private long updated;
+        private long rejected;
+        private int batches;
+        private final List<ClientImportError> errors = new ArrayList<>();
+        private final Map<String, Long> emailLines = new HashMap<>();
+        private final Map<String, Long> cpfLines = new HashMap<>();
+        private final Map<String, Long> phoneLines = new HashMap<>();
+
+        void reject(long line, String email, List<String> messages) {
+            rejected++;
+            rejectedCounter.increment();
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ClientImportError(line, email, messages));
+            }
+        }
+    }
+}
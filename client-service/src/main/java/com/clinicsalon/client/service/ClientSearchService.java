@@ -0,0 +1,95 @@
+package com.clinicsalon.client.service;
+
+import com.clinicsalon.client.dto.ClientSearchPage;
+import com.clinicsalon.client.dto.ClientSummary;
+import com.clinicsalon.client.repository.ClientRepository;
+import com.clinicsalon.client.search.ClientNameIndex;
+import com.clinicsalon.client.search.SearchCursor;
+import com.clinicsalon.client.search.SearchNormalizer;
+import com.clinicsalon.monitoring.aspect.MonitorPerformance;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Busca de clientes por nome, CPF ou telefone.
+ * Usa as colunas normalizadas (search_name, cpf_digits, phone_digits) e paginação por
+ * chave (search_name, id), de modo que o custo de cada página não cresce com o deslocamento.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClientSearchService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private final ClientRepository clientRepository;
+    private final ClientNameIndex clientNameIndex;
+
+    /**
+     * Busca uma página de clientes
+     *
+     * @param query  Nome (ou início de qualquer palavra do nome), prefixo do CPF ou trecho do telefone
+     * @param cursor Cursor devolvido pela página anterior, ou nulo para a primeira
+     * @param size   Tamanho da página (máximo {@value #MAX_PAGE_SIZE})
+     */
+    @Transactional(readOnly = true)
+    @MonitorPerformance(description = "Buscar clientes", thresholdMillis = 300)
+    public ClientSearchPage search(String query, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        SearchCursor position = SearchCursor.decode(cursor);
+        log.debug("Searching clients for '{}' after {} (size {})", query, position, pageSize);
+
+        List<ClientSummary> rows = fetch(query, position, pageSize + 1);
+        if (rows == null) {
+            return new ClientSearchPage(List.of(), null);
+        }
+
+        if (rows.size() > pageSize) {
+            List<ClientSummary> content = rows.subList(0, pageSize);
+            return new ClientSearchPage(List.copyOf(content),
+                    SearchCursor.after(content.get(pageSize - 1)).encode());
+        }
+        return new ClientSearchPage(rows, null);
+    }
+
+    /**
+     * Sugestões para preenchimento automático. Usa o índice em memória quando disponível
+     * e, caso contrário, a primeira página da busca no banco.
+     */
+    @Transactional(readOnly = true)
+    @MonitorPerformance(description = "Sugerir clientes", thresholdMillis = 100)
+    public List<ClientSummary> suggest(String query, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        String normalized = SearchNormalizer.normalizeName(query);
+
+        if (!SearchNormalizer.isNumericQuery(query) && !normalized.isEmpty() && clientNameIndex.isReady()) {
+            return clientNameIndex.suggest(normalized, max);
+        }
+
+        List<ClientSummary> rows = fetch(query, SearchCursor.START, max);
+        return rows != null ? rows : List.of();
+    }
+
+    private List<ClientSummary> fetch(String query, SearchCursor position, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+
+        if (SearchNormalizer.isNumericQuery(query)) {
+            String digits = SearchNormalizer.digits(query);
+            return clientRepository.searchByDigits(digits + "%", "%" + digits + "%",
+                    position.searchName(), position.id(), page);
+        }
+
+        String normalized = SearchNormalizer.normalizeName(query);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        return clientRepository.searchByName(normalized + "%", "% " + normalized + "%",
+                position.searchName(), position.id(), page);
+    }
+}
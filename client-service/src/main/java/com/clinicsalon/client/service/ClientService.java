@@ -1,5 +1,9 @@
 package com.clinicsalon.client.service;
 
+import com.clinicsalon.client.dto.ClientBatchRequest;
+import com.clinicsalon.client.dto.ClientExistenceResponse;
+import com.clinicsalon.client.dto.ClientField;
+import com.clinicsalon.client.dto.ClientProjection;
 import com.clinicsalon.client.dto.ClientRequest;
 import com.clinicsalon.client.dto.ClientResponse;
 import com.clinicsalon.client.exception.ResourceAlreadyExistsException;
@@ -7,6 +11,10 @@ import com.clinicsalon.client.exception.ResourceNotFoundException;
 import com.clinicsalon.client.mapper.ClientMapper;
 import com.clinicsalon.client.model.Client;
 import com.clinicsalon.client.repository.ClientRepository;
+import com.clinicsalon.client.repository.projection.ClientBasicView;
+import com.clinicsalon.client.repository.projection.ClientContactView;
+import com.clinicsalon.client.repository.projection.ClientNameView;
+import com.clinicsalon.client.search.ClientNameIndex;
 import com.clinicsalon.monitoring.aspect.MonitorPerformance;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +23,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -22,6 +36,7 @@ public class ClientService {
     
     private final ClientRepository clientRepository;
     private final ClientMapper clientMapper;
+    private final ClientNameIndex clientNameIndex;
     
     @Transactional(readOnly = true)
     @MonitorPerformance(description = "Listar todos os clientes", thresholdMillis = 500)
@@ -40,6 +55,70 @@ public class ClientService {
                 .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
     }
     
+    /**
+     * Busca vários clientes em uma consulta, lendo apenas as colunas necessárias para os campos pedidos
+     */
+    @Transactional(readOnly = true)
+    @MonitorPerformance(description = "Buscar clientes em lote", thresholdMillis = 300)
+    public List<ClientProjection> findBatch(ClientBatchRequest request) {
+        Set<ClientField> fields = request.getFields() == null || request.getFields().isEmpty()
+                ? EnumSet.of(ClientField.NAME)
+                : EnumSet.copyOf(request.getFields());
+        Set<Long> ids = new LinkedHashSet<>(request.getIds());
+        log.info("Fetching {} clients in batch with fields {}", ids.size(), fields);
+        
+        if (ClientField.CONTACT.containsAll(fields)) {
+            Class<? extends ClientNameView> view = fields.equals(EnumSet.of(ClientField.NAME))
+                    ? ClientNameView.class
+                    : ClientContactView.class;
+            return clientRepository.findByIdIn(ids, view).stream()
+                    .map(client -> project(client, fields))
+                    .toList();
+        }
+        return clientRepository.findByIdIn(ids, ClientBasicView.class).stream()
+                .map(client -> project(client, fields))
+                .toList();
+    }
+    
+    @Transactional(readOnly = true)
+    public boolean exists(Long id) {
+        return clientRepository.existsById(id);
+    }
+    
+    /**
+     * Verifica a existência de vários clientes em uma consulta
+     */
+    @Transactional(readOnly = true)
+    @MonitorPerformance(description = "Verificar existência de clientes em lote", thresholdMillis = 200)
+    public ClientExistenceResponse exists(List<Long> ids) {
+        Set<Long> existing = new HashSet<>(clientRepository.findExistingIds(new HashSet<>(ids)));
+        return ClientExistenceResponse.of(ids, existing);
+    }
+    
+    private ClientProjection project(ClientNameView client, Set<ClientField> fields) {
+        ClientProjection.ClientProjectionBuilder projection = ClientProjection.builder().id(client.getId());
+        if (fields.contains(ClientField.NAME)) {
+            projection.name(client.getName());
+        }
+        if (client instanceof ClientContactView contact) {
+            if (fields.contains(ClientField.EMAIL)) {
+                projection.email(contact.getEmail());
+            }
+            if (fields.contains(ClientField.PHONE)) {
+                projection.phone(contact.getPhone());
+            }
+        }
+        if (client instanceof ClientBasicView basic) {
+            if (fields.contains(ClientField.CPF)) {
+                projection.cpf(basic.getCpf());
+            }
+            if (fields.contains(ClientField.ACTIVE)) {
+                projection.active(basic.isActive());
+            }
+        }
+        return projection.build();
+    }
+    
     @Transactional
     @MonitorPerformance(description = "Criar cliente", thresholdMillis = 500, logParameters = true, alertOnError = true)
     public ClientResponse create(ClientRequest request) {
@@ -59,6 +138,7 @@ public class ClientService {
         
         Client client = clientMapper.toEntity(request);
         client = clientRepository.save(client);
+        clientNameIndex.put(clientMapper.toSummary(client));
         
         log.info("Created client with id: {}", client.getId());
         return clientMapper.toResponse(client);
@@ -92,6 +172,7 @@ public class ClientService {
         
         clientMapper.updateEntity(request, existingClient);
         Client updatedClient = clientRepository.save(existingClient);
+        clientNameIndex.put(clientMapper.toSummary(updatedClient));
         
         log.info("Updated client with id: {}", id);
         return clientMapper.toResponse(updatedClient);
@@ -107,6 +188,7 @@ public class ClientService {
         }
         
         clientRepository.deleteById(id);
+        clientNameIndex.remove(id);
         log.info("Deleted client with id: {}", id);
     }
     
@@ -124,6 +206,7 @@ public class ClientService {
         
         client.setActive(false);
         client = clientRepository.save(client);
+        clientNameIndex.put(clientMapper.toSummary(client));
         
         log.info("Deactivated client with id: {}", id);
         return clientMapper.toResponse(client);
@@ -143,6 +226,7 @@ public class ClientService {
         
         client.setActive(true);
         client = clientRepository.save(client);
+        clientNameIndex.put(clientMapper.toSummary(client));
         
         log.info("Activated client with id: {}", id);
         return clientMapper.toResponse(client);
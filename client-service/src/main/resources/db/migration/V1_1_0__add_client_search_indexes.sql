@@ -0,0 +1,30 @@
+-- Colunas normalizadas para a busca de clientes (nome sem acentos em minúsculas, apenas dígitos
+-- de telefone e CPF). A aplicação mantém os valores em cada gravação (Client#updateSearchColumns).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE clients ADD COLUMN IF NOT EXISTS search_name VARCHAR(100);
+ALTER TABLE clients ADD COLUMN IF NOT EXISTS phone_digits VARCHAR(20);
+ALTER TABLE clients ADD COLUMN IF NOT EXISTS cpf_digits VARCHAR(11);
+
+UPDATE clients SET
+    search_name = trim(regexp_replace(
+        lower(translate(name,
+            'áàâãäéèêëíìîïóòôõöúùûüçñÁÀÂÃÄÉÈÊËÍÌÎÏÓÒÔÕÖÚÙÛÜÇÑ',
+            'aaaaaeeeeiiiiooooouuuucnAAAAAEEEEIIIIOOOOOUUUUCN')),
+        '[^a-z0-9]+', ' ', 'g')),
+    phone_digits = nullif(regexp_replace(phone, '\D', '', 'g'), ''),
+    cpf_digits = nullif(regexp_replace(coalesce(cpf, ''), '\D', '', 'g'), '');
+
+ALTER TABLE clients ALTER COLUMN search_name SET NOT NULL;
+
+-- Prefixo do nome completo com paginação por (search_name, id)
+CREATE INDEX IF NOT EXISTS idx_clients_search_name ON clients (search_name text_pattern_ops, id);
+-- Trigramas para prefixos de palavras no meio do nome e trechos do telefone
+CREATE INDEX IF NOT EXISTS idx_clients_search_name_trgm ON clients USING gin (search_name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_clients_phone_digits_trgm ON clients USING gin (phone_digits gin_trgm_ops);
+-- Prefixo do CPF
+CREATE INDEX IF NOT EXISTS idx_clients_cpf_digits ON clients (cpf_digits text_pattern_ops);
+
+COMMENT ON COLUMN clients.search_name IS 'Normalized name used for search (lowercase, no accents)';
+COMMENT ON COLUMN clients.phone_digits IS 'Phone number digits used for search';
+COMMENT ON COLUMN clients.cpf_digits IS 'CPF digits used for search';
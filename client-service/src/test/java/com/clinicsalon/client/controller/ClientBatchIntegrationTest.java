@@ -0,0 +1,97 @@
+package com.clinicsalon.client.controller;
+
+import com.clinicsalon.client.BaseIntegrationTest;
+import com.clinicsalon.client.dto.ClientBatchRequest;
+import com.clinicsalon.client.dto.ClientExistenceResponse;
+import com.clinicsalon.client.dto.ClientField;
+import com.clinicsalon.client.dto.ClientIdsRequest;
+import com.clinicsalon.client.model.Client;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class ClientBatchIntegrationTest extends BaseIntegrationTest {
+
+    @Test
+    void givenIds_whenGetBatchWithoutFields_thenReturnsOnlyIdAndName() throws Exception {
+        // given
+        Client ana = save("Ana Souza", "ana@example.com", "(11) 90000-0001");
+        Client bia = save("Bia Lima", "bia@example.com", "(11) 90000-0002");
+        ClientBatchRequest request = new ClientBatchRequest(List.of(ana.getId(), bia.getId(), ana.getId(), 999L), null);
+
+        // when / then
+        mockMvc.perform(post("/api/clients/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].name").exists())
+                .andExpect(jsonPath("$[0].email").doesNotExist())
+                .andExpect(jsonPath("$[0].active").doesNotExist());
+    }
+
+    @Test
+    void givenFields_whenGetBatch_thenReturnsRequestedFields() throws Exception {
+        // given
+        Client ana = save("Ana Souza", "ana@example.com", "(11) 90000-0001");
+        ClientBatchRequest request = new ClientBatchRequest(List.of(ana.getId()), Set.of(ClientField.EMAIL, ClientField.ACTIVE));
+
+        // when / then
+        mockMvc.perform(post("/api/clients/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(ana.getId().intValue())))
+                .andExpect(jsonPath("$[0].email", is("ana@example.com")))
+                .andExpect(jsonPath("$[0].active", is(true)))
+                .andExpect(jsonPath("$[0].name").doesNotExist())
+                .andExpect(jsonPath("$[0].phone").doesNotExist());
+    }
+
+    @Test
+    void givenIds_whenExists_thenBitsAreAlignedWithRequest() throws Exception {
+        // given
+        Client ana = save("Ana Souza", "ana@example.com", "(11) 90000-0001");
+        Client bia = save("Bia Lima", "bia@example.com", "(11) 90000-0002");
+        ClientIdsRequest request = new ClientIdsRequest(List.of(999L, ana.getId(), 998L, bia.getId()));
+
+        // when
+        String body = mockMvc.perform(post("/api/clients/exists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        ClientExistenceResponse response = objectMapper.readValue(body, ClientExistenceResponse.class);
+        assertEquals(4, response.getSize());
+        assertFalse(response.exists(0));
+        assertTrue(response.exists(1));
+        assertFalse(response.exists(2));
+        assertTrue(response.exists(3));
+    }
+
+    @Test
+    void givenEmptyIds_whenExists_thenBadRequest() throws Exception {
+        mockMvc.perform(post("/api/clients/exists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Client save(String name, String email, String phone) {
+        Client client = new Client();
+        client.setName(name);
+        client.setEmail(email);
+        client.setPhone(phone);
+        client.setActive(true);
+        return clientRepository.save(client);
+    }
+}
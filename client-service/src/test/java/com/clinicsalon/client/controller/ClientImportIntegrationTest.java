@@ -0,0 +1,83 @@
+package com.clinicsalon.client.controller;
+
+import com.clinicsalon.client.BaseIntegrationTest;
+import com.clinicsalon.client.model.Client;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = "client.import.batch-size=2")
+public class ClientImportIntegrationTest extends BaseIntegrationTest {
+
+    @Test
+    void givenCsv_whenImport_thenUpsertsByEmailAndReportsRowErrors() throws Exception {
+        // given
+        Client existing = new Client();
+        existing.setName("Old Name");
+        existing.setEmail("ana@example.com");
+        existing.setPhone("(11) 90000-0001");
+        existing.setCpf("111.111.111-11");
+        existing.setActive(false);
+        clientRepository.save(existing);
+
+        Client other = new Client();
+        other.setName("Zoe");
+        other.setEmail("zoe@example.com");
+        other.setPhone("(11) 90000-0009");
+        other.setCpf("222.222.222-22");
+        clientRepository.save(other);
+
+        String csv = "name,email,phone,cpf\n"
+                + "Ana Souza,ana@example.com,(11) 90000-0001,111.111.111-11\n"
+                + "Bia Lima,bia@example.com,(11) 90000-0002,\n"
+                + "Caio,not-an-email,(11) 90000-0003,\n"
+                + "Bia Again,bia@example.com,(11) 90000-0004,\n"
+                + "Duda,duda@example.com,(11) 90000-0005,222.222.222-22\n"
+                + "Eva,eva@example.com,(11) 90000-0006,\n";
+
+        // when / then
+        mockMvc.perform(post("/api/clients/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows", is(6)))
+                .andExpect(jsonPath("$.inserted", is(2)))
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.rejected", is(3)))
+                .andExpect(jsonPath("$.errors[0].line", is(4)))
+                .andExpect(jsonPath("$.errors[1].line", is(5)))
+                .andExpect(jsonPath("$.errors[2].line", is(6)))
+                .andExpect(jsonPath("$.errors[2].errors[0]", is("CPF already registered: 222.222.222-22")));
+
+        Map<String, Client> clients = clientRepository.findAll().stream()
+                .collect(Collectors.toMap(Client::getEmail, Function.identity()));
+        assertEquals(4, clients.size());
+        assertEquals("Ana Souza", clients.get("ana@example.com").getName());
+        assertFalse(clients.get("ana@example.com").isActive(), "Upsert must keep the active flag");
+        assertEquals("ana souza", clients.get("ana@example.com").getSearchName());
+        assertEquals("11900000006", clients.get("eva@example.com").getPhoneDigits());
+    }
+
+    @Test
+    void givenNdjson_whenImport_thenInsertsAndReportsInvalidLines() throws Exception {
+        // given
+        String ndjson = "{\"name\":\"Gil\",\"email\":\"gil@example.com\",\"phone\":\"(21) 91234-0001\",\"birthDate\":\"1985-01-31\"}\n"
+                + "{not json}\n"
+                + "{\"name\":\"Hugo\",\"email\":\"hugo@example.com\",\"phone\":\"12345\"}\n";
+
+        // when / then
+        mockMvc.perform(post("/api/clients/import").contentType("application/x-ndjson").content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted", is(1)))
+                .andExpect(jsonPath("$.rejected", is(2)))
+                .andExpect(jsonPath("$.errors[1].email", is("hugo@example.com")));
+
+        assertEquals(1, clientRepository.count());
+    }
+}
@@ -0,0 +1,90 @@
+package com.clinicsalon.client.controller;
+
+import com.clinicsalon.client.BaseIntegrationTest;
+import com.clinicsalon.client.model.Client;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class ClientSearchIntegrationTest extends BaseIntegrationTest {
+
+    @Test
+    void givenClients_whenSearchByNamePrefix_thenMatchesAnyWordIgnoringAccents() throws Exception {
+        // given
+        save("Mário Souza", "mario@example.com", "(11) 90000-0001", "111.222.333-44");
+        save("Ana Maria Costa", "ana@example.com", "(11) 90000-0002", null);
+        save("Pedro Lima", "pedro@example.com", "(11) 90000-0003", null);
+
+        // when / then
+        mockMvc.perform(get("/api/clients/search").param("q", "mar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()", is(2)))
+                .andExpect(jsonPath("$.content[0].name", is("Ana Maria Costa")))
+                .andExpect(jsonPath("$.content[1].name", is("Mário Souza")))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void givenClients_whenSearchByDigits_thenMatchesCpfPrefixOrPhone() throws Exception {
+        // given
+        save("Mário Souza", "mario@example.com", "(11) 98765-0001", "111.222.333-44");
+        save("Pedro Lima", "pedro@example.com", "(21) 91234-0002", null);
+
+        // when / then
+        mockMvc.perform(get("/api/clients/search").param("q", "111.222"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()", is(1)))
+                .andExpect(jsonPath("$.content[0].name", is("Mário Souza")));
+
+        mockMvc.perform(get("/api/clients/search").param("q", "91234"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()", is(1)))
+                .andExpect(jsonPath("$.content[0].name", is("Pedro Lima")));
+    }
+
+    @Test
+    void givenManyMatches_whenFollowingCursor_thenPagesWithoutRepeats() throws Exception {
+        // given
+        for (int i = 0; i < 5; i++) {
+            save("Silva " + i, "silva" + i + "@example.com", "(11) 90000-100" + i, null);
+        }
+
+        // when
+        JsonNode first = objectMapper.readTree(mockMvc.perform(get("/api/clients/search")
+                        .param("q", "silva").param("size", "3"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        JsonNode second = objectMapper.readTree(mockMvc.perform(get("/api/clients/search")
+                        .param("q", "silva").param("size", "3")
+                        .param("cursor", first.get("nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        // then
+        assertEquals(3, first.get("content").size());
+        assertEquals("Silva 2", first.get("content").get(2).get("name").asText());
+        assertEquals(2, second.get("content").size());
+        assertEquals("Silva 3", second.get("content").get(0).get("name").asText());
+        assertTrue(second.path("nextCursor").isMissingNode() || second.get("nextCursor").isNull());
+    }
+
+    @Test
+    void givenInvalidCursor_whenSearch_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/api/clients/search").param("q", "silva").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void save(String name, String email, String phone, String cpf) {
+        Client client = new Client();
+        client.setName(name);
+        client.setEmail(email);
+        client.setPhone(phone);
+        client.setCpf(cpf);
+        client.setActive(true);
+        clientRepository.save(client);
+    }
+}
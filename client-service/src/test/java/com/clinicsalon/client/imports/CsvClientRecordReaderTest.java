@@ -0,0 +1,63 @@
+package com.clinicsalon.client.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvClientRecordReaderTest {
+
+    @Test
+    void next_ParsesQuotedFieldsAndMapsColumnsByName() throws IOException {
+        // Arrange
+        String csv = "email,name,phone,birth_date,address\r\n"
+                + "ana@example.com,\"Souza, Ana\",(11) 90000-0001,1990-05-15,\"Rua \"\"A\"\"\n12\"\r\n"
+                + "\n"
+                + "bia@example.com,Bia,(11) 90000-0002,,\n";
+        CsvClientRecordReader reader = new CsvClientRecordReader(new StringReader(csv));
+
+        // Act
+        ImportRecord first = reader.next();
+        ImportRecord second = reader.next();
+
+        // Assert
+        assertEquals(2, first.line());
+        assertEquals("Souza, Ana", first.request().getName());
+        assertEquals("ana@example.com", first.request().getEmail());
+        assertEquals(LocalDate.of(1990, 5, 15), first.request().getBirthDate());
+        assertEquals("Rua \"A\"\n12", first.request().getAddress());
+
+        assertEquals(5, second.line());
+        assertEquals("Bia", second.request().getName());
+        assertNull(second.request().getBirthDate());
+        assertNull(second.request().getAddress());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_SemicolonSeparatorAndInvalidDate_ReportsRowError() throws IOException {
+        // Arrange
+        String csv = "name;email;birthDate\nAna;ana@example.com;15/05/1990\nBia;bia@example.com;\n";
+        CsvClientRecordReader reader = new CsvClientRecordReader(new StringReader(csv));
+
+        // Act
+        ImportRecord first = reader.next();
+        ImportRecord second = reader.next();
+
+        // Assert
+        assertNull(first.request());
+        assertEquals(2, first.line());
+        assertTrue(first.error().startsWith("birthDate"));
+        assertEquals("bia@example.com", second.request().getEmail());
+    }
+
+    @Test
+    void next_HeaderWithoutRequiredColumns_Throws() {
+        CsvClientRecordReader reader = new CsvClientRecordReader(new StringReader("nome,telefone\n"));
+
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+}
@@ -0,0 +1,107 @@
+package com.clinicsalon.client.search;
+
+import com.clinicsalon.client.dto.ClientSummary;
+import com.clinicsalon.client.repository.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ClientNameIndexTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    private ClientNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ClientNameIndex(clientRepository, true);
+    }
+
+    @Test
+    void normalizeName_RemovesAccentsAndPunctuation() {
+        assertEquals("joao da silva", SearchNormalizer.normalizeName("  João  da Silva!"));
+        assertEquals("12345678909", SearchNormalizer.digits("123.456.789-09"));
+        assertTrue(SearchNormalizer.isNumericQuery("(11) 9876"));
+        assertFalse(SearchNormalizer.isNumericQuery("Ana 2"));
+    }
+
+    @Test
+    void load_IndexesAllBatchesAndSuggestsByWordPrefix() {
+        // Arrange
+        when(clientRepository.findSummariesAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(summary(1L, "Maria Souza"), summary(2L, "Mário Lima"), summary(3L, "Ana Maria Costa")));
+
+        // Act
+        index.load();
+
+        // Assert
+        assertTrue(index.isReady());
+        // "maria" (1 e 3) vem antes de "mario" (2)
+        assertEquals(List.of(1L, 3L, 2L), ids(index.suggest("mar", 10)));
+        assertEquals(List.of(3L), ids(index.suggest("ana mar", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("lim", 10)));
+        assertEquals(1, index.suggest("mar", 1).size());
+        assertTrue(index.suggest("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void put_ReplacesTokensOfPreviousName() {
+        // Arrange
+        index.put(summary(1L, "Carla Dias"));
+
+        // Act
+        index.put(summary(1L, "Beatriz Dias"));
+
+        // Assert
+        assertTrue(index.suggest("car", 10).isEmpty());
+        assertEquals("Beatriz Dias", index.suggest("bea", 10).get(0).getName());
+        assertEquals(1, index.suggest("dias", 10).size());
+    }
+
+    @Test
+    void remove_DropsClientFromSuggestions() {
+        // Arrange
+        index.put(summary(1L, "Paula Reis"));
+        index.put(summary(2L, "Paulo Reis"));
+
+        // Act
+        index.remove(1L);
+
+        // Assert
+        assertEquals(List.of(2L), ids(index.suggest("reis", 10)));
+    }
+
+    @Test
+    void disabled_IgnoresUpdatesAndIsNeverReady() {
+        // Arrange
+        ClientNameIndex disabled = new ClientNameIndex(clientRepository, false);
+
+        // Act
+        disabled.load();
+        disabled.put(summary(1L, "Paula Reis"));
+
+        // Assert
+        assertFalse(disabled.isReady());
+        assertTrue(disabled.suggest("pau", 10).isEmpty());
+    }
+
+    private ClientSummary summary(Long id, String name) {
+        return new ClientSummary(id, name, null, null, null, true, null);
+    }
+
+    private List<Long> ids(List<ClientSummary> summaries) {
+        return summaries.stream().map(ClientSummary::getId).toList();
+    }
+}
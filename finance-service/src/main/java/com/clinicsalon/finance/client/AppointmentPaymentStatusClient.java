@@ -0,0 +1,20 @@
+package com.clinicsalon.finance.client;
+
+import com.clinicsalon.finance.dto.PaymentStatusResponse;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
+import java.util.Map;
+
+@FeignClient(name = "appointment-service", contextId = "appointmentPaymentStatusClient",
+        path = "/api/payments", fallback = AppointmentPaymentStatusClientFallback.class)
+public interface AppointmentPaymentStatusClient {
+
+    /**
+     * Envia os status de pagamento alterados; o appointment-service descarta versões antigas
+     */
+    @PostMapping("/status-updates")
+    Map<String, Object> pushStatusUpdates(@RequestBody List<PaymentStatusResponse> updates);
+}
@@ -0,0 +1,20 @@
+package com.clinicsalon.finance.client;
+
+import com.clinicsalon.finance.dto.PaymentStatusResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+public class AppointmentPaymentStatusClientFallback implements AppointmentPaymentStatusClient {
+
+    @Override
+    public Map<String, Object> pushStatusUpdates(List<PaymentStatusResponse> updates) {
+        log.warn("Fallback executed for pushStatusUpdates with {} update(s)", updates.size());
+        // Nulo indica que o envio não foi confirmado; as projeções continuam pendentes
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.clinicsalon.finance.controller;
+
+import com.clinicsalon.finance.dto.PaymentStatusResponse;
+import com.clinicsalon.finance.dto.WebhookReceipt;
+import com.clinicsalon.finance.service.PaymentStatusService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/payments")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Payments", description = "API para webhooks do gateway e status de pagamento por agendamento")
+public class PaymentWebhookController {
+
+    public static final String SIGNATURE_HEADER = "X-Webhook-Signature";
+
+    private final PaymentStatusService paymentStatusService;
+
+    @PostMapping("/webhooks/{gateway}")
+    @Operation(summary = "Receber evento de pagamento do gateway")
+    public ResponseEntity<WebhookReceipt> receiveWebhook(
+            @PathVariable String gateway,
+            @RequestHeader(value = SIGNATURE_HEADER, required = false) String signature,
+            @RequestBody byte[] payload) {
+        log.debug("REST request to receive {} webhook ({} bytes)", gateway, payload.length);
+        return ResponseEntity.ok(paymentStatusService.receiveWebhook(gateway, payload, signature));
+    }
+
+    @GetMapping("/status/{appointmentId}")
+    @Operation(summary = "Buscar status de pagamento do agendamento")
+    public ResponseEntity<PaymentStatusResponse> getPaymentStatus(@PathVariable String appointmentId) {
+        log.debug("REST request to get payment status for appointment: {}", appointmentId);
+        return ResponseEntity.ok(paymentStatusService.getPaymentStatus(appointmentId));
+    }
+}
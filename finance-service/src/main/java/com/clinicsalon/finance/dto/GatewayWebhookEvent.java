@@ -0,0 +1,29 @@
+package com.clinicsalon.finance.dto;
+
+import com.clinicsalon.finance.model.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de webhook já interpretado pelo gateway. O status é nulo para eventos que não
+ * alteram o status do pagamento
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GatewayWebhookEvent {
+    private String eventId;
+    private String eventType;
+    private String gatewayPaymentId;
+    private String externalReference;
+    private String gatewayStatus;
+    private PaymentStatus status;
+    private BigDecimal amount;
+    private LocalDateTime occurredAt;
+}
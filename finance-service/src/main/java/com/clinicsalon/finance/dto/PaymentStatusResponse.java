@@ -0,0 +1,29 @@
+package com.clinicsalon.finance.dto;
+
+import com.clinicsalon.finance.model.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Status de pagamento de um agendamento. A versão aumenta a cada evento aplicado e
+ * permite ao destinatário descartar atualizações antigas
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentStatusResponse {
+    private String appointmentId;
+    private UUID transactionId;
+    private String gatewayPaymentId;
+    private PaymentStatus status;
+    private BigDecimal amount;
+    private LocalDateTime occurredAt;
+    private Long version;
+}
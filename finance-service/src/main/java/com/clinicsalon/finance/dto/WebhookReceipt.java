@@ -0,0 +1,20 @@
+package com.clinicsalon.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Confirmação de recebimento de um webhook: ACCEPTED, ou DUPLICATE quando o evento já havia sido recebido
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookReceipt {
+
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String DUPLICATE = "DUPLICATE";
+
+    private String eventId;
+    private String status;
+}
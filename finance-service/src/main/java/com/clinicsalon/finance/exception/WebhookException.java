@@ -0,0 +1,20 @@
+package com.clinicsalon.finance.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Webhook rejeitado: assinatura inválida, gateway desconhecido ou payload malformado
+ */
+public class WebhookException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public WebhookException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
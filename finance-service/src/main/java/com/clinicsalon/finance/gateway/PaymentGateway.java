@@ -1,5 +1,7 @@
 package com.clinicsalon.finance.gateway;
 
+import com.clinicsalon.finance.dto.GatewayWebhookEvent;
+
 import java.util.Map;
 import java.util.UUID;
 
@@ -39,6 +41,14 @@ public interface PaymentGateway {
      */
     Map<String, Object> checkPaymentStatus(String gatewayTransactionId);
     
+    /**
+     * Interpreta o corpo de um webhook enviado pelo gateway
+     * @param payload Corpo da requisição, como recebido
+     * @return Evento interpretado
+     * @throws IllegalArgumentException se o corpo não for um evento válido do gateway
+     */
+    GatewayWebhookEvent parseWebhookEvent(String payload);
+    
     /**
      * Retorna o nome do gateway
      * @return Nome do gateway
@@ -0,0 +1,73 @@
+package com.clinicsalon.finance.gateway;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Assinatura dos webhooks de pagamento: HMAC-SHA256 do corpo exato da requisição com o
+ * segredo compartilhado com o gateway (finance.payments.webhook.secret), em hexadecimal,
+ * opcionalmente com o prefixo "sha256=". A comparação é feita em tempo constante.
+ * O segredo não tem valor padrão: sem ele o serviço falha na inicialização.
+ */
+@Component
+public class WebhookSignatureVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String PREFIX = "sha256=";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public WebhookSignatureVerifier(@Value("${finance.payments.webhook.secret}") String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("finance.payments.webhook.secret (PAYMENT_WEBHOOK_SECRET) must be configured");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public boolean isValid(byte[] payload, String signature) {
+        if (signature == null || signature.isBlank()) {
+            return false;
+        }
+        String hex = signature.trim().toLowerCase();
+        if (hex.startsWith(PREFIX)) {
+            hex = hex.substring(PREFIX.length());
+        }
+        byte[] provided;
+        try {
+            provided = HexFormat.of().parseHex(hex);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(digest(payload), provided);
+    }
+
+    /**
+     * Assinatura do corpo, no formato esperado em {@link #isValid}
+     */
+    public String sign(byte[] payload) {
+        return PREFIX + HexFormat.of().formatHex(digest(payload));
+    }
+
+    private byte[] digest(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package com.clinicsalon.finance.gateway.impl;
 
+import com.clinicsalon.finance.dto.GatewayWebhookEvent;
 import com.clinicsalon.finance.gateway.PaymentGateway;
+import com.clinicsalon.finance.model.PaymentStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -19,6 +28,11 @@ public class AsaasPaymentGateway implements PaymentGateway {
 
     private static final String GATEWAY_NAME = "ASAAS";
     private static final String PAYMENT_BASE_URL = "https://sandbox.asaas.com/payment/";
+    // Valores lidos como BigDecimal exatos, sem passar por double nem perder a escala
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
+    private static final DateTimeFormatter ASAAS_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     
     @Override
     public Map<String, Object> generatePaymentLink(UUID transactionId, Double amount, String description) {
@@ -105,8 +119,77 @@ public class AsaasPaymentGateway implements PaymentGateway {
         return response;
     }
 
+    /**
+     * Interpreta um webhook de cobrança do Asaas
+     * https://docs.asaas.com/docs/webhook-para-cobrancas
+     */
+    @Override
+    public GatewayWebhookEvent parseWebhookEvent(String payload) {
+        JsonNode root;
+        try {
+            root = OBJECT_MAPPER.readTree(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid webhook payload: " + e.getOriginalMessage(), e);
+        }
+        String eventId = text(root, "id");
+        String eventType = text(root, "event");
+        if (eventId == null || eventType == null) {
+            throw new IllegalArgumentException("Webhook payload without event id or type");
+        }
+
+        JsonNode payment = root.path("payment");
+        String gatewayStatus = text(payment, "status");
+        return GatewayWebhookEvent.builder()
+                .eventId(eventId)
+                .eventType(eventType)
+                .gatewayPaymentId(text(payment, "id"))
+                .externalReference(text(payment, "externalReference"))
+                .gatewayStatus(gatewayStatus)
+                .status("PAYMENT_DELETED".equals(eventType) ? PaymentStatus.CANCELLED : toPaymentStatus(gatewayStatus))
+                .amount(payment.hasNonNull("value") ? payment.get("value").decimalValue() : null)
+                .occurredAt(parseDate(text(root, "dateCreated")))
+                .build();
+    }
+
     @Override
     public String getGatewayName() {
         return GATEWAY_NAME;
     }
+
+    /**
+     * Status de cobrança do Asaas para o status de pagamento do agendamento; nulo para
+     * status que não alteram a situação do pagamento (ex.: estorno ou chargeback em andamento)
+     */
+    private static PaymentStatus toPaymentStatus(String gatewayStatus) {
+        if (gatewayStatus == null) {
+            return null;
+        }
+        return switch (gatewayStatus) {
+            case "PENDING", "AWAITING_RISK_ANALYSIS" -> PaymentStatus.PENDING;
+            case "CONFIRMED", "RECEIVED", "RECEIVED_IN_CASH", "DUNNING_RECEIVED" -> PaymentStatus.PAID;
+            case "OVERDUE", "DUNNING_REQUESTED" -> PaymentStatus.OVERDUE;
+            case "REFUNDED" -> PaymentStatus.REFUNDED;
+            default -> null;
+        };
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        if (value == null) {
+            return LocalDateTime.now();
+        }
+        try {
+            return LocalDateTime.parse(value, ASAAS_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(value);
+            } catch (DateTimeParseException iso) {
+                throw new IllegalArgumentException("Invalid webhook date: " + value, iso);
+            }
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && !value.isNull() ? value.asText() : null;
+    }
 }
@@ -0,0 +1,12 @@
+package com.clinicsalon.finance.model;
+
+/**
+ * Status de pagamento de um agendamento, independente do gateway
+ */
+public enum PaymentStatus {
+    PENDING,
+    PAID,
+    OVERDUE,
+    REFUNDED,
+    CANCELLED
+}
@@ -0,0 +1,53 @@
+package com.clinicsalon.finance.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Status de pagamento atual de um agendamento, derivado dos eventos dos gateways.
+ * A versão aumenta a cada evento aplicado; pushedVersion é a última versão enviada ao
+ * appointment-service.
+ */
+@Entity
+@Table(name = "payment_status_projection")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentStatusProjection {
+
+    @Id
+    private String appointmentId;
+
+    private UUID transactionId;
+
+    private String gatewayPaymentId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus status;
+
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false)
+    private Long lastEventId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private Long pushedVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,56 @@
+package com.clinicsalon.finance.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de pagamento recebido de um gateway. A tabela é somente de inserção: os eventos
+ * são gravados por {@link com.clinicsalon.finance.repository.PaymentWebhookEventWriter}
+ * e lidos em ordem de ID pela projeção de status. O payload original não é mapeado.
+ */
+@Entity
+@Table(name = "payment_webhook_events")
+@Immutable
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentWebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String gateway;
+
+    @Column(nullable = false)
+    private String eventId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    private String gatewayPaymentId;
+
+    private String externalReference;
+
+    private String gatewayStatus;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus status;
+
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false)
+    private LocalDateTime receivedAt;
+}
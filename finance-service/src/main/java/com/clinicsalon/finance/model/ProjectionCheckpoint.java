@@ -0,0 +1,25 @@
+package com.clinicsalon.finance.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Último evento de pagamento aplicado por uma projeção
+ */
+@Entity
+@Table(name = "payment_projection_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionCheckpoint {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private Long lastEventId;
+}
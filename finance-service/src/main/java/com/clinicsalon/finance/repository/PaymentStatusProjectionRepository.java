@@ -0,0 +1,29 @@
+package com.clinicsalon.finance.repository;
+
+import com.clinicsalon.finance.model.PaymentStatusProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PaymentStatusProjectionRepository extends JpaRepository<PaymentStatusProjection, String> {
+
+    /**
+     * Projeções alteradas desde o último envio ao appointment-service
+     */
+    @Query("SELECT p FROM PaymentStatusProjection p WHERE p.version > p.pushedVersion ORDER BY p.updatedAt")
+    List<PaymentStatusProjection> findUnpushed(Pageable pageable);
+
+    /**
+     * Registra o envio de uma versão; não retrocede se uma versão mais nova já foi enviada
+     */
+    @Modifying
+    @Query("UPDATE PaymentStatusProjection p SET p.pushedVersion = :version " +
+           "WHERE p.appointmentId = :appointmentId AND p.pushedVersion < :version")
+    int markPushed(@Param("appointmentId") String appointmentId, @Param("version") Long version);
+}
@@ -0,0 +1,14 @@
+package com.clinicsalon.finance.repository;
+
+import com.clinicsalon.finance.model.PaymentWebhookEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+
+    List<PaymentWebhookEvent> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+}
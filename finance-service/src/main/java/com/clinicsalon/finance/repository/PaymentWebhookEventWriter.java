@@ -0,0 +1,72 @@
+package com.clinicsalon.finance.repository;
+
+import com.clinicsalon.finance.dto.GatewayWebhookEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Gravação dos eventos de webhook via JDBC, com um único INSERT por evento e sem leitura prévia.
+ * No PostgreSQL usa INSERT ... ON CONFLICT (gateway, event_id) DO NOTHING; nos demais bancos
+ * (H2 nos testes) a violação da restrição única indica o evento repetido.
+ */
+@Component
+@Slf4j
+public class PaymentWebhookEventWriter {
+
+    private static final String INSERT =
+            "INSERT INTO payment_webhook_events (gateway, event_id, event_type, gateway_payment_id, " +
+            "external_reference, gateway_status, status, amount, occurred_at, received_at, payload) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String POSTGRES_INSERT = INSERT + " ON CONFLICT (gateway, event_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public PaymentWebhookEventWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.postgres = isPostgres(dataSource);
+    }
+
+    /**
+     * Grava o evento se ele ainda não foi recebido
+     *
+     * @return false se o gateway já tinha entregue o mesmo evento
+     */
+    public boolean append(String gateway, GatewayWebhookEvent event, String payload, LocalDateTime receivedAt) {
+        try {
+            return jdbcTemplate.update(postgres ? POSTGRES_INSERT : INSERT, ps -> {
+                ps.setString(1, gateway);
+                ps.setString(2, event.getEventId());
+                ps.setString(3, event.getEventType());
+                ps.setString(4, event.getGatewayPaymentId());
+                ps.setString(5, event.getExternalReference());
+                ps.setString(6, event.getGatewayStatus());
+                ps.setString(7, event.getStatus() != null ? event.getStatus().name() : null);
+                ps.setBigDecimal(8, event.getAmount());
+                ps.setTimestamp(9, Timestamp.valueOf(event.getOccurredAt()));
+                ps.setTimestamp(10, Timestamp.valueOf(receivedAt));
+                ps.setString(11, payload);
+            }) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Could not detect database product, using plain INSERT for webhook events: {}", e.getMessage());
+            return false;
+        }
+    }
+}
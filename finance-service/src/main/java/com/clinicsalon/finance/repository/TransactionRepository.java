@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,6 +20,8 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
     
     List<Transaction> findByStatus(TransactionStatus status);
     
+    List<Transaction> findByPaymentGatewayIdIn(Collection<String> paymentGatewayIds);
+    
     @Query("SELECT t FROM Transaction t WHERE t.createdAt BETWEEN :startDate AND :endDate")
     List<Transaction> findByDateRange(LocalDateTime startDate, LocalDateTime endDate);
     
@@ -0,0 +1,254 @@
+package com.clinicsalon.finance.service;
+
+import com.clinicsalon.finance.client.AppointmentPaymentStatusClient;
+import com.clinicsalon.finance.dto.PaymentStatusResponse;
+import com.clinicsalon.finance.model.PaymentStatusProjection;
+import com.clinicsalon.finance.model.PaymentWebhookEvent;
+import com.clinicsalon.finance.model.ProjectionCheckpoint;
+import com.clinicsalon.finance.model.Transaction;
+import com.clinicsalon.finance.repository.PaymentStatusProjectionRepository;
+import com.clinicsalon.finance.repository.PaymentWebhookEventRepository;
+import com.clinicsalon.finance.repository.ProjectionCheckpointRepository;
+import com.clinicsalon.finance.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém a projeção de status de pagamento por agendamento a partir dos eventos de webhook
+ * e a envia ao appointment-service.
+ * <p>
+ * Os eventos são aplicados em ordem de ID, em lotes, com o checkpoint gravado na mesma
+ * transação e bloqueado durante o lote (uma instância por vez). Os IDs são contíguos enquanto
+ * todos os INSERTs foram confirmados, então um buraco na sequência pode ser um INSERT
+ * concorrente com ID menor ainda não confirmado: a leitura para antes do buraco e só o
+ * ultrapassa, com aviso no log, quando o evento seguinte foi recebido há mais de
+ * finance.payments.projection-gap-timeout. Buracos permanentes vêm de INSERTs desfeitos e de
+ * eventos repetidos (o ON CONFLICT também consome um ID) e atrasam os eventos seguintes no
+ * máximo por esse tempo. O agendamento vem da
+ * referência externa da cobrança ou, na falta dela, da transação com o mesmo ID no gateway.
+ * Um evento mais antigo que o último aplicado ao agendamento (entrega fora de ordem) é ignorado.
+ * <p>
+ * Cada alteração incrementa a versão da projeção; as versões ainda não enviadas são
+ * entregues em lote ao appointment-service até serem confirmadas.
+ */
+@Component
+@Slf4j
+public class PaymentStatusProjector {
+
+    public static final String CHECKPOINT = "payment-status";
+
+    private final PaymentWebhookEventRepository eventRepository;
+    private final PaymentStatusProjectionRepository projectionRepository;
+    private final ProjectionCheckpointRepository checkpointRepository;
+    private final TransactionRepository transactionRepository;
+    private final AppointmentPaymentStatusClient appointmentClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration gapTimeout;
+    private final int pushBatchSize;
+
+    public PaymentStatusProjector(PaymentWebhookEventRepository eventRepository,
+                                  PaymentStatusProjectionRepository projectionRepository,
+                                  ProjectionCheckpointRepository checkpointRepository,
+                                  TransactionRepository transactionRepository,
+                                  AppointmentPaymentStatusClient appointmentClient,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${finance.payments.projection-batch-size:500}") int batchSize,
+                                  @Value("${finance.payments.projection-gap-timeout:PT10S}") Duration gapTimeout,
+                                  @Value("${finance.payments.push-batch-size:200}") int pushBatchSize) {
+        this.eventRepository = eventRepository;
+        this.projectionRepository = projectionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionRepository = transactionRepository;
+        this.appointmentClient = appointmentClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(batchSize, 1);
+        this.gapTimeout = gapTimeout;
+        this.pushBatchSize = Math.max(pushBatchSize, 1);
+    }
+
+    /**
+     * Aplica os eventos pendentes, lote a lote
+     */
+    @Scheduled(fixedDelayString = "${finance.payments.projection-interval:PT1S}")
+    public void project() {
+        int read;
+        do {
+            Integer batch = transactionTemplate.execute(status -> projectBatch(LocalDateTime.now().minus(gapTimeout)));
+            read = batch != null ? batch : 0;
+        } while (read == batchSize);
+    }
+
+    /**
+     * Aplica um lote de eventos com IDs contíguos a partir do checkpoint. Um buraco na
+     * sequência só é ultrapassado se o evento seguinte foi recebido antes de gapDeadline.
+     *
+     * @return Quantidade de eventos consumidos
+     */
+    int projectBatch(LocalDateTime gapDeadline) {
+        ProjectionCheckpoint checkpoint = checkpointRepository.findByNameForUpdate(CHECKPOINT)
+                .orElseGet(() -> checkpointRepository.save(new ProjectionCheckpoint(CHECKPOINT, 0L)));
+
+        List<PaymentWebhookEvent> events = new ArrayList<>();
+        long expectedId = checkpoint.getLastEventId() + 1;
+        for (PaymentWebhookEvent event : eventRepository.findByIdGreaterThanOrderByIdAsc(
+                checkpoint.getLastEventId(), PageRequest.of(0, batchSize))) {
+            if (event.getId() != expectedId) {
+                if (!event.getReceivedAt().isBefore(gapDeadline)) {
+                    break;
+                }
+                log.warn("Payment event id(s) {}..{} still missing after {}, skipping them (rolled back or duplicate insert)",
+                        expectedId, event.getId() - 1, gapTimeout);
+            }
+            events.add(event);
+            expectedId = event.getId() + 1;
+        }
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Transaction> transactions = findTransactions(events);
+        Map<String, PaymentStatusProjection> projections = new HashMap<>();
+        projectionRepository.findAllById(events.stream()
+                        .map(event -> appointmentIdOf(event, transactions))
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .forEach(projection -> projections.put(projection.getAppointmentId(), projection));
+
+        Map<String, PaymentStatusProjection> changed = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (PaymentWebhookEvent event : events) {
+            if (event.getStatus() == null) {
+                continue;
+            }
+            String appointmentId = appointmentIdOf(event, transactions);
+            if (appointmentId == null) {
+                log.warn("Payment event {} ({}) has no matching appointment, skipping", event.getEventId(),
+                        event.getGatewayPaymentId());
+                continue;
+            }
+
+            PaymentStatusProjection projection = projections.get(appointmentId);
+            if (projection != null && event.getOccurredAt().isBefore(projection.getOccurredAt())) {
+                log.debug("Out-of-order payment event {} for appointment {} ignored", event.getEventId(), appointmentId);
+                continue;
+            }
+            if (projection == null) {
+                projection = PaymentStatusProjection.builder()
+                        .appointmentId(appointmentId)
+                        .version(0L)
+                        .pushedVersion(0L)
+                        .build();
+                projections.put(appointmentId, projection);
+            }
+
+            Transaction transaction = transactions.get(event.getGatewayPaymentId());
+            if (transaction != null) {
+                projection.setTransactionId(transaction.getId());
+            }
+            if (event.getGatewayPaymentId() != null) {
+                projection.setGatewayPaymentId(event.getGatewayPaymentId());
+            }
+            if (event.getAmount() != null) {
+                projection.setAmount(event.getAmount());
+            }
+            projection.setStatus(event.getStatus());
+            projection.setOccurredAt(event.getOccurredAt());
+            projection.setLastEventId(event.getId());
+            projection.setVersion(projection.getVersion() + 1);
+            projection.setUpdatedAt(now);
+            changed.put(appointmentId, projection);
+        }
+
+        projectionRepository.saveAll(changed.values());
+        checkpoint.setLastEventId(events.get(events.size() - 1).getId());
+        checkpointRepository.save(checkpoint);
+        log.info("Applied {} payment event(s), {} appointment payment status(es) changed", events.size(), changed.size());
+        return events.size();
+    }
+
+    /**
+     * Envia as projeções alteradas ao appointment-service, lote a lote, até que não haja
+     * pendências ou o envio falhe
+     */
+    @Scheduled(fixedDelayString = "${finance.payments.push-interval:PT2S}")
+    public void push() {
+        while (true) {
+            List<PaymentStatusProjection> pending = projectionRepository.findUnpushed(PageRequest.of(0, pushBatchSize));
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            Map<String, Object> result;
+            try {
+                result = appointmentClient.pushStatusUpdates(pending.stream()
+                        .map(PaymentStatusProjector::toResponse)
+                        .toList());
+            } catch (RuntimeException e) {
+                log.warn("Error pushing payment statuses to appointment-service: {}", e.getMessage());
+                result = null;
+            }
+            if (result == null) {
+                log.warn("Appointment-service unavailable; {} payment status update(s) pending", pending.size());
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> pending.forEach(projection ->
+                    projectionRepository.markPushed(projection.getAppointmentId(), projection.getVersion())));
+            log.info("Pushed {} payment status update(s) to appointment-service", pending.size());
+            if (pending.size() < pushBatchSize) {
+                return;
+            }
+        }
+    }
+
+    public static PaymentStatusResponse toResponse(PaymentStatusProjection projection) {
+        return PaymentStatusResponse.builder()
+                .appointmentId(projection.getAppointmentId())
+                .transactionId(projection.getTransactionId())
+                .gatewayPaymentId(projection.getGatewayPaymentId())
+                .status(projection.getStatus())
+                .amount(projection.getAmount())
+                .occurredAt(projection.getOccurredAt())
+                .version(projection.getVersion())
+                .build();
+    }
+
+    private Map<String, Transaction> findTransactions(List<PaymentWebhookEvent> events) {
+        Set<String> gatewayPaymentIds = events.stream()
+                .filter(event -> event.getStatus() != null)
+                .map(PaymentWebhookEvent::getGatewayPaymentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Transaction> transactions = new HashMap<>();
+        if (!gatewayPaymentIds.isEmpty()) {
+            transactionRepository.findByPaymentGatewayIdIn(gatewayPaymentIds)
+                    .forEach(transaction -> transactions.put(transaction.getPaymentGatewayId(), transaction));
+        }
+        return transactions;
+    }
+
+    private static String appointmentIdOf(PaymentWebhookEvent event, Map<String, Transaction> transactions) {
+        if (event.getExternalReference() != null && !event.getExternalReference().isBlank()) {
+            return event.getExternalReference().trim();
+        }
+        Transaction transaction = event.getGatewayPaymentId() != null ? transactions.get(event.getGatewayPaymentId()) : null;
+        return transaction != null ? transaction.getAppointmentId().toString() : null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.clinicsalon.finance.service;
+
+import com.clinicsalon.finance.dto.PaymentStatusResponse;
+import com.clinicsalon.finance.dto.WebhookReceipt;
+
+/**
+ * Recebimento dos webhooks dos gateways de pagamento e consulta do status de pagamento
+ * por agendamento, mantido a partir desses eventos
+ */
+public interface PaymentStatusService {
+
+    /**
+     * Valida a assinatura e grava o evento, sem processá-lo
+     * @param gateway Nome do gateway que enviou o webhook
+     * @param payload Corpo da requisição, como recebido
+     * @param signature Assinatura enviada pelo gateway
+     * @return ACCEPTED, ou DUPLICATE se o evento já havia sido recebido
+     */
+    WebhookReceipt receiveWebhook(String gateway, byte[] payload, String signature);
+    
+    /**
+     * Status de pagamento atual de um agendamento
+     * @param appointmentId ID do agendamento
+     * @return Status projetado; PENDING com versão 0 se nenhum evento foi recebido
+     */
+    PaymentStatusResponse getPaymentStatus(String appointmentId);
+}
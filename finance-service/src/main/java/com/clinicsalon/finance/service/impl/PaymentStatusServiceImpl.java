@@ -0,0 +1,73 @@
+package com.clinicsalon.finance.service.impl;
+
+import com.clinicsalon.finance.dto.GatewayWebhookEvent;
+import com.clinicsalon.finance.dto.PaymentStatusResponse;
+import com.clinicsalon.finance.dto.WebhookReceipt;
+import com.clinicsalon.finance.exception.WebhookException;
+import com.clinicsalon.finance.gateway.PaymentGateway;
+import com.clinicsalon.finance.gateway.WebhookSignatureVerifier;
+import com.clinicsalon.finance.model.PaymentStatus;
+import com.clinicsalon.finance.repository.PaymentStatusProjectionRepository;
+import com.clinicsalon.finance.repository.PaymentWebhookEventWriter;
+import com.clinicsalon.finance.service.PaymentStatusService;
+import com.clinicsalon.finance.service.PaymentStatusProjector;
+import com.clinicsalon.monitoring.aspect.MonitorPerformance;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentStatusServiceImpl implements PaymentStatusService {
+
+    private final PaymentGateway paymentGateway;
+    private final WebhookSignatureVerifier signatureVerifier;
+    private final PaymentWebhookEventWriter eventWriter;
+    private final PaymentStatusProjectionRepository projectionRepository;
+
+    @Override
+    @MonitorPerformance(description = "Receive payment gateway webhook", thresholdMillis = 200, alertOnError = true)
+    public WebhookReceipt receiveWebhook(String gateway, byte[] payload, String signature) {
+        if (!paymentGateway.getGatewayName().equalsIgnoreCase(gateway)) {
+            throw new WebhookException(HttpStatus.NOT_FOUND, "Unknown payment gateway: " + gateway);
+        }
+        if (!signatureVerifier.isValid(payload, signature)) {
+            log.warn("Rejected {} webhook with invalid signature", gateway);
+            throw new WebhookException(HttpStatus.UNAUTHORIZED, "Invalid webhook signature");
+        }
+
+        String body = new String(payload, StandardCharsets.UTF_8);
+        GatewayWebhookEvent event;
+        try {
+            event = paymentGateway.parseWebhookEvent(body);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected malformed {} webhook: {}", gateway, e.getMessage());
+            throw new WebhookException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        // O evento é apenas gravado; o status é aplicado por PaymentStatusProjector
+        boolean accepted = eventWriter.append(paymentGateway.getGatewayName(), event, body, LocalDateTime.now());
+        if (!accepted) {
+            log.debug("Duplicate {} webhook event {} ignored", gateway, event.getEventId());
+        }
+        return new WebhookReceipt(event.getEventId(), accepted ? WebhookReceipt.ACCEPTED : WebhookReceipt.DUPLICATE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaymentStatusResponse getPaymentStatus(String appointmentId) {
+        return projectionRepository.findById(appointmentId)
+                .map(PaymentStatusProjector::toResponse)
+                .orElseGet(() -> PaymentStatusResponse.builder()
+                        .appointmentId(appointmentId)
+                        .status(PaymentStatus.PENDING)
+                        .version(0L)
+                        .build());
+    }
+}
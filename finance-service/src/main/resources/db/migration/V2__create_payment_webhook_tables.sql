@@ -0,0 +1,43 @@
+-- Eventos recebidos dos gateways de pagamento (somente inserção; um registro por evento do gateway)
+CREATE TABLE payment_webhook_events (
+    id BIGSERIAL PRIMARY KEY,
+    gateway VARCHAR(20) NOT NULL,
+    event_id VARCHAR(100) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    gateway_payment_id VARCHAR(100),
+    external_reference VARCHAR(100),
+    gateway_status VARCHAR(50),
+    status VARCHAR(20),
+    amount DECIMAL(10,2),
+    occurred_at TIMESTAMP NOT NULL,
+    received_at TIMESTAMP NOT NULL,
+    payload TEXT NOT NULL,
+    CONSTRAINT uk_payment_webhook_events_event UNIQUE (gateway, event_id)
+);
+
+-- Status de pagamento por agendamento, derivado dos eventos
+CREATE TABLE payment_status_projection (
+    appointment_id VARCHAR(64) PRIMARY KEY,
+    transaction_id UUID,
+    gateway_payment_id VARCHAR(100),
+    status VARCHAR(20) NOT NULL,
+    amount DECIMAL(10,2),
+    occurred_at TIMESTAMP NOT NULL,
+    last_event_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    pushed_version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_payment_status_projection_unpushed ON payment_status_projection (appointment_id)
+    WHERE version > pushed_version;
+
+-- Último evento aplicado em cada projeção
+CREATE TABLE payment_projection_checkpoints (
+    name VARCHAR(50) PRIMARY KEY,
+    last_event_id BIGINT NOT NULL
+);
+
+INSERT INTO payment_projection_checkpoints (name, last_event_id) VALUES ('payment-status', 0);
+
+CREATE INDEX idx_transactions_payment_gateway_id ON transactions (payment_gateway_id);
@@ -24,7 +24,7 @@ import static org.mockito.Mockito.*;
 /**
  * Teste de integração para o monitoramento de cache do finance-service
  */
-@SpringBootTest
+@SpringBootTest(properties = "clinicsalon.security.gateway.signing-key=test-signing-key")
 @ActiveProfiles("test,monitoring")
 @Tag("cache")
 @Tag("monitoring")
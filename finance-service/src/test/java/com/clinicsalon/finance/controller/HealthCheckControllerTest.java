@@ -10,7 +10,8 @@ import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(HealthCheckController.class)
+@WebMvcTest(controllers = HealthCheckController.class,
+        properties = "clinicsalon.security.gateway.signing-key=test-signing-key")
 class HealthCheckControllerTest {
 
     @Autowired
@@ -0,0 +1,34 @@
+package com.clinicsalon.finance.gateway;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Gateway Asaas simulado para os testes: monta eventos de webhook no formato do Asaas e os
+ * assina com o mesmo segredo configurado no finance-service
+ */
+public class StubAsaasWebhooks {
+
+    public static final String SECRET = "test-webhook-secret";
+
+    private static final DateTimeFormatter ASAAS_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final WebhookSignatureVerifier signer = new WebhookSignatureVerifier(SECRET);
+
+    public byte[] paymentEvent(String eventId, String event, String paymentId, String paymentStatus,
+                               String externalReference, BigDecimal value, LocalDateTime dateCreated) {
+        String json = "{\"id\":\"" + eventId + "\",\"event\":\"" + event + "\"," +
+                "\"dateCreated\":\"" + ASAAS_DATE_TIME.format(dateCreated) + "\"," +
+                "\"payment\":{\"object\":\"payment\",\"id\":\"" + paymentId + "\"," +
+                "\"status\":\"" + paymentStatus + "\",\"value\":" + value.toPlainString() +
+                (externalReference != null ? ",\"externalReference\":\"" + externalReference + "\"" : "") +
+                "}}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public String sign(byte[] payload) {
+        return signer.sign(payload);
+    }
+}
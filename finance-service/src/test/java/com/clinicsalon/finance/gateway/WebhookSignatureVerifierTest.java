@@ -0,0 +1,44 @@
+package com.clinicsalon.finance.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookSignatureVerifierTest {
+
+    private final WebhookSignatureVerifier verifier = new WebhookSignatureVerifier("secret");
+
+    @Test
+    void isValid_SignatureOfSameBody_WithOrWithoutPrefix() {
+        // Arrange
+        byte[] payload = "{\"id\":\"evt_1\"}".getBytes(StandardCharsets.UTF_8);
+        String signature = verifier.sign(payload);
+
+        // Act & Assert
+        assertTrue(signature.startsWith("sha256="));
+        assertTrue(verifier.isValid(payload, signature));
+        assertTrue(verifier.isValid(payload, signature.substring("sha256=".length()).toUpperCase()));
+    }
+
+    @Test
+    void isValid_TamperedBodyOrMalformedSignature_IsRejected() {
+        // Arrange
+        byte[] payload = "{\"id\":\"evt_1\"}".getBytes(StandardCharsets.UTF_8);
+        String signature = verifier.sign(payload);
+
+        // Act & Assert
+        assertFalse(verifier.isValid("{\"id\":\"evt_2\"}".getBytes(StandardCharsets.UTF_8), signature));
+        assertFalse(new WebhookSignatureVerifier("other").isValid(payload, signature));
+        assertFalse(verifier.isValid(payload, "sha256=zz"));
+        assertFalse(verifier.isValid(payload, null));
+    }
+
+    @Test
+    void constructor_MissingSecret_FailsFast() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new WebhookSignatureVerifier(""));
+        assertThrows(IllegalStateException.class, () -> new WebhookSignatureVerifier(null));
+    }
+}
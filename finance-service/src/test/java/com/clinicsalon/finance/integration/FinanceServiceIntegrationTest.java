@@ -34,7 +34,8 @@ import static org.mockito.Mockito.*;
  * Testa fluxos completos de transações financeiras usando uma API REST
  * e verifica a correta persistência e integração com o gateway de pagamento
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "clinicsalon.security.gateway.signing-key=test-signing-key")
 @ActiveProfiles("test")
 @Tag("integration")
 public class FinanceServiceIntegrationTest {
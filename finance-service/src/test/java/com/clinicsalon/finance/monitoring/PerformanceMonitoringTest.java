@@ -26,7 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * Teste de integração para verificar o monitoramento de desempenho 
  * usando os aspectos definidos no módulo monitoring-commons
  */
-@SpringBootTest
+@SpringBootTest(properties = "clinicsalon.security.gateway.signing-key=test-signing-key")
 @ActiveProfiles("test,monitoring")
 @Tag("monitoring")
 @Tag("performance")
@@ -0,0 +1,221 @@
+package com.clinicsalon.finance.service;
+
+import com.clinicsalon.finance.client.AppointmentPaymentStatusClient;
+import com.clinicsalon.finance.dto.PaymentStatusResponse;
+import com.clinicsalon.finance.model.PaymentStatus;
+import com.clinicsalon.finance.model.PaymentStatusProjection;
+import com.clinicsalon.finance.model.PaymentWebhookEvent;
+import com.clinicsalon.finance.model.ProjectionCheckpoint;
+import com.clinicsalon.finance.model.Transaction;
+import com.clinicsalon.finance.repository.PaymentStatusProjectionRepository;
+import com.clinicsalon.finance.repository.PaymentWebhookEventRepository;
+import com.clinicsalon.finance.repository.ProjectionCheckpointRepository;
+import com.clinicsalon.finance.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentStatusProjectorTest {
+
+    @Mock
+    private PaymentWebhookEventRepository eventRepository;
+
+    @Mock
+    private PaymentStatusProjectionRepository projectionRepository;
+
+    @Mock
+    private ProjectionCheckpointRepository checkpointRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AppointmentPaymentStatusClient appointmentClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentStatusProjector projector;
+
+    private ProjectionCheckpoint checkpoint;
+
+    private final LocalDateTime t0 = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        projector = new PaymentStatusProjector(eventRepository, projectionRepository, checkpointRepository,
+                transactionRepository, appointmentClient, transactionManager, 100, Duration.ofSeconds(10), 2);
+        checkpoint = new ProjectionCheckpoint(PaymentStatusProjector.CHECKPOINT, 10L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void projectBatch_AppliesContiguousEventsInOrder_AndStopsAtRecentGap() {
+        // Arrange
+        UUID appointmentId = UUID.randomUUID();
+        Transaction transaction = Transaction.builder()
+                .id(UUID.randomUUID())
+                .appointmentId(appointmentId)
+                .paymentGatewayId("pay_2")
+                .build();
+        List<PaymentWebhookEvent> events = List.of(
+                event(11L, "42", "pay_1", PaymentStatus.PENDING, t0, t0),
+                event(12L, "42", "pay_1", PaymentStatus.PAID, t0.plusMinutes(5), t0.plusMinutes(5)),
+                event(13L, null, "pay_2", PaymentStatus.PAID, t0.plusMinutes(6), t0.plusMinutes(6)),
+                event(15L, "43", "pay_3", PaymentStatus.PAID, t0.plusMinutes(7), t0.plusMinutes(20)));
+        when(checkpointRepository.findByNameForUpdate(PaymentStatusProjector.CHECKPOINT)).thenReturn(Optional.of(checkpoint));
+        when(eventRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any())).thenReturn(events);
+        when(transactionRepository.findByPaymentGatewayIdIn(anyCollection())).thenReturn(List.of(transaction));
+        when(projectionRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        // Act
+        int applied = projector.projectBatch(t0.plusMinutes(10));
+
+        // Assert
+        assertEquals(3, applied);
+        assertEquals(13L, checkpoint.getLastEventId());
+        ArgumentCaptor<Iterable<PaymentStatusProjection>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(projectionRepository).saveAll(saved.capture());
+        List<PaymentStatusProjection> projections = new ArrayList<>();
+        saved.getValue().forEach(projections::add);
+        assertEquals(2, projections.size());
+
+        PaymentStatusProjection byReference = projections.get(0);
+        assertEquals("42", byReference.getAppointmentId());
+        assertEquals(PaymentStatus.PAID, byReference.getStatus());
+        assertEquals(2L, byReference.getVersion());
+        assertEquals(0L, byReference.getPushedVersion());
+
+        PaymentStatusProjection byTransaction = projections.get(1);
+        assertEquals(appointmentId.toString(), byTransaction.getAppointmentId());
+        assertEquals(transaction.getId(), byTransaction.getTransactionId());
+    }
+
+    @Test
+    void projectBatch_GapOlderThanTimeout_IsSkipped() {
+        // Arrange
+        when(checkpointRepository.findByNameForUpdate(PaymentStatusProjector.CHECKPOINT)).thenReturn(Optional.of(checkpoint));
+        when(eventRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any())).thenReturn(List.of(
+                event(11L, "42", "pay_1", PaymentStatus.PENDING, t0, t0),
+                event(14L, "42", "pay_1", PaymentStatus.PAID, t0.plusMinutes(1), t0.plusMinutes(1))));
+        when(projectionRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        // Act
+        int applied = projector.projectBatch(t0.plusMinutes(10));
+
+        // Assert
+        assertEquals(2, applied);
+        assertEquals(14L, checkpoint.getLastEventId());
+    }
+
+    @Test
+    void projectBatch_GapRightAfterCheckpoint_WaitsForMissingEvent() {
+        // Arrange
+        when(checkpointRepository.findByNameForUpdate(PaymentStatusProjector.CHECKPOINT)).thenReturn(Optional.of(checkpoint));
+        when(eventRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any()))
+                .thenReturn(List.of(event(12L, "42", "pay_1", PaymentStatus.PAID, t0.plusMinutes(15), t0.plusMinutes(15))));
+
+        // Act
+        int applied = projector.projectBatch(t0.plusMinutes(10));
+
+        // Assert
+        assertEquals(0, applied);
+        assertEquals(10L, checkpoint.getLastEventId());
+        verify(checkpointRepository, never()).save(any());
+        verify(projectionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void projectBatch_OlderEvent_DoesNotOverwriteNewerStatus() {
+        // Arrange
+        PaymentStatusProjection current = PaymentStatusProjection.builder()
+                .appointmentId("42")
+                .status(PaymentStatus.REFUNDED)
+                .occurredAt(t0.plusHours(1))
+                .lastEventId(9L)
+                .version(3L)
+                .pushedVersion(3L)
+                .build();
+        when(checkpointRepository.findByNameForUpdate(PaymentStatusProjector.CHECKPOINT)).thenReturn(Optional.of(checkpoint));
+        when(eventRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any()))
+                .thenReturn(List.of(event(11L, "42", "pay_1", PaymentStatus.PAID, t0, t0)));
+        when(projectionRepository.findAllById(anyIterable())).thenReturn(List.of(current));
+
+        // Act
+        projector.projectBatch(t0.plusMinutes(10));
+
+        // Assert
+        assertEquals(PaymentStatus.REFUNDED, current.getStatus());
+        assertEquals(3L, current.getVersion());
+        assertEquals(11L, checkpoint.getLastEventId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void push_SendsUnpushedVersions_AndMarksThemOnlyWhenConfirmed() {
+        // Arrange
+        PaymentStatusProjection projection = PaymentStatusProjection.builder()
+                .appointmentId("42")
+                .status(PaymentStatus.PAID)
+                .amount(new BigDecimal("150.00"))
+                .occurredAt(t0)
+                .version(2L)
+                .pushedVersion(1L)
+                .build();
+        when(projectionRepository.findUnpushed(any())).thenReturn(List.of(projection));
+        when(appointmentClient.pushStatusUpdates(anyList())).thenReturn(null);
+
+        // Act
+        projector.push();
+
+        // Assert
+        verify(projectionRepository, never()).markPushed(anyString(), anyLong());
+
+        // Arrange
+        when(appointmentClient.pushStatusUpdates(anyList())).thenReturn(Map.of("applied", 1));
+
+        // Act
+        projector.push();
+
+        // Assert
+        ArgumentCaptor<List<PaymentStatusResponse>> sent = ArgumentCaptor.forClass(List.class);
+        verify(appointmentClient, times(2)).pushStatusUpdates(sent.capture());
+        assertEquals("42", sent.getValue().get(0).getAppointmentId());
+        assertEquals(2L, sent.getValue().get(0).getVersion());
+        verify(projectionRepository).markPushed("42", 2L);
+    }
+
+    private PaymentWebhookEvent event(Long id, String externalReference, String paymentId, PaymentStatus status,
+                                      LocalDateTime occurredAt, LocalDateTime receivedAt) {
+        return PaymentWebhookEvent.builder()
+                .id(id)
+                .gateway("ASAAS")
+                .eventId("evt_" + id)
+                .eventType("PAYMENT_UPDATED")
+                .gatewayPaymentId(paymentId)
+                .externalReference(externalReference)
+                .status(status)
+                .amount(new BigDecimal("150.00"))
+                .occurredAt(occurredAt)
+                .receivedAt(receivedAt)
+                .build();
+    }
+}
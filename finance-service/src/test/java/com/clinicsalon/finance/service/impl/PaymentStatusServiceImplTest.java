@@ -0,0 +1,117 @@
+package com.clinicsalon.finance.service.impl;
+
+import com.clinicsalon.finance.dto.GatewayWebhookEvent;
+import com.clinicsalon.finance.dto.PaymentStatusResponse;
+import com.clinicsalon.finance.dto.WebhookReceipt;
+import com.clinicsalon.finance.exception.WebhookException;
+import com.clinicsalon.finance.gateway.StubAsaasWebhooks;
+import com.clinicsalon.finance.gateway.WebhookSignatureVerifier;
+import com.clinicsalon.finance.gateway.impl.AsaasPaymentGateway;
+import com.clinicsalon.finance.model.PaymentStatus;
+import com.clinicsalon.finance.repository.PaymentStatusProjectionRepository;
+import com.clinicsalon.finance.repository.PaymentWebhookEventWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentStatusServiceImplTest {
+
+    @Mock
+    private PaymentWebhookEventWriter eventWriter;
+
+    @Mock
+    private PaymentStatusProjectionRepository projectionRepository;
+
+    private final StubAsaasWebhooks gateway = new StubAsaasWebhooks();
+
+    private PaymentStatusServiceImpl paymentStatusService;
+
+    private final LocalDateTime paidAt = LocalDateTime.of(2024, 6, 1, 10, 15, 30);
+
+    @BeforeEach
+    void setUp() {
+        paymentStatusService = new PaymentStatusServiceImpl(new AsaasPaymentGateway(),
+                new WebhookSignatureVerifier(StubAsaasWebhooks.SECRET), eventWriter, projectionRepository);
+    }
+
+    @Test
+    void receiveWebhook_SignedEvent_IsAppendedWithMappedStatus() {
+        // Arrange
+        byte[] payload = gateway.paymentEvent("evt_1", "PAYMENT_RECEIVED", "pay_1", "RECEIVED",
+                "42", new BigDecimal("150.00"), paidAt);
+        when(eventWriter.append(eq("ASAAS"), any(), anyString(), any())).thenReturn(true);
+
+        // Act
+        WebhookReceipt receipt = paymentStatusService.receiveWebhook("asaas", payload, gateway.sign(payload));
+
+        // Assert
+        assertEquals(WebhookReceipt.ACCEPTED, receipt.getStatus());
+        ArgumentCaptor<GatewayWebhookEvent> event = ArgumentCaptor.forClass(GatewayWebhookEvent.class);
+        verify(eventWriter).append(eq("ASAAS"), event.capture(), eq(new String(payload, StandardCharsets.UTF_8)), any());
+        assertEquals("evt_1", event.getValue().getEventId());
+        assertEquals("pay_1", event.getValue().getGatewayPaymentId());
+        assertEquals("42", event.getValue().getExternalReference());
+        assertEquals(PaymentStatus.PAID, event.getValue().getStatus());
+        assertEquals(new BigDecimal("150.00"), event.getValue().getAmount());
+        assertEquals(paidAt, event.getValue().getOccurredAt());
+    }
+
+    @Test
+    void receiveWebhook_RedeliveredEvent_IsReportedAsDuplicate() {
+        // Arrange
+        byte[] payload = gateway.paymentEvent("evt_1", "PAYMENT_RECEIVED", "pay_1", "RECEIVED",
+                "42", new BigDecimal("150.00"), paidAt);
+        when(eventWriter.append(eq("ASAAS"), any(), anyString(), any())).thenReturn(false);
+
+        // Act
+        WebhookReceipt receipt = paymentStatusService.receiveWebhook("ASAAS", payload, gateway.sign(payload));
+
+        // Assert
+        assertEquals(WebhookReceipt.DUPLICATE, receipt.getStatus());
+    }
+
+    @Test
+    void receiveWebhook_InvalidSignatureOrPayload_IsRejectedWithoutAppending() {
+        // Arrange
+        byte[] payload = gateway.paymentEvent("evt_1", "PAYMENT_RECEIVED", "pay_1", "RECEIVED",
+                "42", new BigDecimal("150.00"), paidAt);
+        byte[] malformed = "{\"payment\":{}}".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        WebhookException unsigned = assertThrows(WebhookException.class,
+                () -> paymentStatusService.receiveWebhook("ASAAS", payload, "sha256=00"));
+        WebhookException invalid = assertThrows(WebhookException.class,
+                () -> paymentStatusService.receiveWebhook("ASAAS", malformed, gateway.sign(malformed)));
+        WebhookException unknown = assertThrows(WebhookException.class,
+                () -> paymentStatusService.receiveWebhook("other", payload, gateway.sign(payload)));
+
+        // Assert
+        assertEquals(HttpStatus.UNAUTHORIZED, unsigned.getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatus());
+        assertEquals(HttpStatus.NOT_FOUND, unknown.getStatus());
+        verifyNoInteractions(eventWriter);
+    }
+
+    @Test
+    void getPaymentStatus_WithoutEvents_IsPending() {
+        // Act
+        PaymentStatusResponse response = paymentStatusService.getPaymentStatus("42");
+
+        // Assert
+        assertEquals(PaymentStatus.PENDING, response.getStatus());
+        assertEquals(0L, response.getVersion());
+    }
+}
@@ -0,0 +1,23 @@
+package com.clinicsalon.loyalty.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO com a marca d'água dos dados de fidelidade, usada para invalidar resultados derivados
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataVersionResponse {
+
+    private String source;
+    private long records;
+    private LocalDateTime lastModified;
+    private String version;
+}
@@ -10,7 +10,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 /**
  * Cliente Feign para comunicação com o serviço de fidelidade
  */
-@FeignClient(name = "loyalty-service", path = "/api/v1/loyalty")
+@FeignClient(name = "loyalty-service", contextId = "loyaltyServiceClient", path = "/api/v1/loyalty")
 public interface LoyaltyClient {
 
     /**
@@ -33,4 +33,21 @@ public interface LoyaltyClient {
     ResponseEntity<LoyaltyResponse> updatePointsBalance(
             @PathVariable("clientId") Long clientId, 
             @RequestParam("pointsDelta") Integer pointsDelta);
+
+    /**
+     * Buscar o resumo do programa de fidelidade por nível, mantido incrementalmente pelo serviço
+     *
+     * @return Quantidade de contas, pontos ativos, emitidos e resgatados por nível
+     */
+    @GetMapping("/accounts/summary")
+    ResponseEntity<LoyaltySummaryResponse> getLoyaltySummary();
+
+    /**
+     * Buscar a versão atual dos dados de fidelidade, que muda a cada conta aberta,
+     * lançamento, expiração ou mudança de nível
+     *
+     * @return Marca d'água dos dados de fidelidade
+     */
+    @GetMapping("/accounts/data-version")
+    ResponseEntity<DataVersionResponse> getDataVersion();
 }
@@ -0,0 +1,38 @@
+package com.clinicsalon.loyalty.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO com o resumo do programa de fidelidade por nível
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltySummaryResponse {
+
+    private long totalAccounts;
+    private long activePoints;
+    private long pointsIssued;
+    private long pointsRedeemed;
+    private LocalDateTime updatedAt;
+    private List<TierSummary> tiers;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TierSummary {
+        private String tier; // BRONZE, SILVER, GOLD, PLATINUM
+        private long accountCount;
+        private long activePoints;
+        private long pointsIssued;
+        private long pointsRedeemed;
+    }
+}
@@ -0,0 +1,13 @@
+package com.clinicsalon.loyalty.client.config;
+
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração para habilitar os clientes Feign do módulo loyalty-service-client.
+ * Esta configuração deve ser importada para usar os clientes Feign.
+ */
+@Configuration
+@EnableFeignClients(basePackages = "com.clinicsalon.loyalty.client")
+public class LoyaltyClientConfig {
+}
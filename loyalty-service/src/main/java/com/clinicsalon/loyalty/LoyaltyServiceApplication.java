@@ -1,13 +1,16 @@
 package com.clinicsalon.loyalty;
 
+import com.clinicsalon.client.client.config.ClientClientConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableFeignClients
+@Import(ClientClientConfig.class)
 public class LoyaltyServiceApplication {
 
     public static void main(String[] args) {
@@ -1,17 +1,25 @@
 package com.clinicsalon.loyalty.controller;
 
+import com.clinicsalon.loyalty.dto.DataVersionResponse;
 import com.clinicsalon.loyalty.dto.LoyaltyAccountRequest;
 import com.clinicsalon.loyalty.dto.LoyaltyAccountResponse;
+import com.clinicsalon.loyalty.dto.LoyaltyBalanceChangeResponse;
+import com.clinicsalon.loyalty.dto.LoyaltySummaryResponse;
 import com.clinicsalon.loyalty.model.LoyaltyTier;
 import com.clinicsalon.loyalty.service.LoyaltyAccountService;
+import com.clinicsalon.loyalty.service.LoyaltyTierSummaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -21,6 +29,7 @@ import java.util.List;
 public class LoyaltyAccountController {
 
     private final LoyaltyAccountService loyaltyAccountService;
+    private final LoyaltyTierSummaryService tierSummaryService;
 
     @PostMapping
     @Operation(summary = "Criar uma nova conta de fidelidade")
@@ -29,6 +38,27 @@ public class LoyaltyAccountController {
         return new ResponseEntity<>(loyaltyAccountService.createLoyaltyAccount(request), HttpStatus.CREATED);
     }
 
+    @GetMapping("/summary")
+    @Operation(summary = "Resumo do programa de fidelidade por nível")
+    public ResponseEntity<LoyaltySummaryResponse> getLoyaltySummary() {
+        return ResponseEntity.ok(tierSummaryService.getSummary());
+    }
+
+    @GetMapping("/data-version")
+    @Operation(summary = "Versão dos dados de fidelidade, para invalidação de caches derivados")
+    public ResponseEntity<DataVersionResponse> getDataVersion() {
+        return ResponseEntity.ok(loyaltyAccountService.getDataVersion());
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Saldos e níveis alterados após o cursor (updatedAt, accountId), na ordem de alteração, para cópias locais dos saldos")
+    public ResponseEntity<List<LoyaltyBalanceChangeResponse>> getBalanceChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime modifiedAfter,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(loyaltyAccountService.getBalanceChanges(modifiedAfter, afterId, limit));
+    }
+
     @GetMapping("/{clientId}")
     @Operation(summary = "Buscar conta de fidelidade pelo ID do cliente")
     public ResponseEntity<LoyaltyAccountResponse> getLoyaltyAccountByClientId(
@@ -37,9 +67,9 @@ public class LoyaltyAccountController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar todas as contas de fidelidade")
-    public ResponseEntity<List<LoyaltyAccountResponse>> getAllLoyaltyAccounts() {
-        return ResponseEntity.ok(loyaltyAccountService.getAllLoyaltyAccounts());
+    @Operation(summary = "Listar as contas de fidelidade de forma paginada")
+    public ResponseEntity<Page<LoyaltyAccountResponse>> getAllLoyaltyAccounts(Pageable pageable) {
+        return ResponseEntity.ok(loyaltyAccountService.getAllLoyaltyAccounts(pageable));
     }
 
     @PatchMapping("/{clientId}/tier")
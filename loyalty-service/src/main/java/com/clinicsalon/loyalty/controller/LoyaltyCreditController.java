@@ -0,0 +1,36 @@
+package com.clinicsalon.loyalty.controller;
+
+import com.clinicsalon.loyalty.dto.LoyaltyCreditBatchRequest;
+import com.clinicsalon.loyalty.dto.LoyaltyCreditRequest;
+import com.clinicsalon.loyalty.dto.LoyaltyCreditResponse;
+import com.clinicsalon.loyalty.service.LoyaltyCreditService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/loyalty/credits")
+@RequiredArgsConstructor
+@Tag(name = "Loyalty Credit API", description = "API para crédito idempotente de pontos por evento de origem")
+public class LoyaltyCreditController {
+
+    private final LoyaltyCreditService creditService;
+
+    @PostMapping
+    @Operation(summary = "Creditar pontos de um evento, criando a conta se necessário; reenvios não creditam de novo")
+    public ResponseEntity<LoyaltyCreditResponse> credit(@Valid @RequestBody LoyaltyCreditRequest request) {
+        return ResponseEntity.ok(creditService.credit(request));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Creditar um lote de eventos em uma única transação")
+    public ResponseEntity<List<LoyaltyCreditResponse>> creditBatch(
+            @Valid @RequestBody LoyaltyCreditBatchRequest request) {
+        return ResponseEntity.ok(creditService.creditAll(request.getCredits()));
+    }
+}
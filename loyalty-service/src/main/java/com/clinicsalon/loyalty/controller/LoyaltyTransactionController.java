@@ -2,6 +2,7 @@ package com.clinicsalon.loyalty.controller;
 
 import com.clinicsalon.loyalty.dto.LoyaltyTransactionRequest;
 import com.clinicsalon.loyalty.dto.LoyaltyTransactionResponse;
+import com.clinicsalon.loyalty.dto.PointsExpirationSummary;
 import com.clinicsalon.loyalty.service.LoyaltyTransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -51,8 +52,7 @@ public class LoyaltyTransactionController {
 
     @PostMapping("/process-expired")
     @Operation(summary = "Processar pontos expirados")
-    public ResponseEntity<Void> processExpiredPoints() {
-        transactionService.processExpiredPoints();
-        return ResponseEntity.ok().build();
+    public ResponseEntity<PointsExpirationSummary> processExpiredPoints() {
+        return ResponseEntity.ok(transactionService.processExpiredPoints());
     }
 }
@@ -0,0 +1,24 @@
+package com.clinicsalon.loyalty.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca d'água dos dados de fidelidade. A versão muda a cada conta aberta, lançamento,
+ * expiração ou mudança de nível
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataVersionResponse {
+
+    private String source;
+    private long records;
+    private LocalDateTime lastModified;
+    private String version;
+}
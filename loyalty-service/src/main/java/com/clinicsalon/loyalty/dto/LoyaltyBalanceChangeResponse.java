@@ -0,0 +1,26 @@
+package com.clinicsalon.loyalty.dto;
+
+import com.clinicsalon.loyalty.model.LoyaltyTier;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Saldo e nível de uma conta alterada, lido do feed de alterações. O par (updatedAt, accountId)
+ * é o cursor da próxima página
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyBalanceChangeResponse {
+
+    private Long accountId;
+    private Long clientId;
+    private Integer pointsBalance;
+    private LoyaltyTier tier;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,23 @@
+package com.clinicsalon.loyalty.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Lote de créditos aplicado em uma única transação
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyCreditBatchRequest {
+
+    @NotEmpty(message = "At least one credit is required")
+    @Size(max = 500, message = "A batch must have at most 500 credits")
+    private List<@Valid LoyaltyCreditRequest> credits;
+}
@@ -0,0 +1,42 @@
+package com.clinicsalon.loyalty.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Crédito de pontos identificado pelo evento de origem. Reenviar o mesmo
+ * (sourceType, sourceId) não credita os pontos de novo
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyCreditRequest {
+
+    @NotNull(message = "Client ID is required")
+    private Long clientId;
+    
+    @NotNull(message = "Points are required")
+    @Min(value = 1, message = "Points must be at least 1")
+    private Integer points;
+    
+    @NotBlank(message = "Source type is required")
+    @Size(max = 50, message = "Source type must have at most 50 characters")
+    private String sourceType;
+    
+    @NotBlank(message = "Source ID is required")
+    @Size(max = 100, message = "Source ID must have at most 100 characters")
+    private String sourceId;
+    
+    private String description;
+    
+    private LocalDateTime expiryDate;
+}
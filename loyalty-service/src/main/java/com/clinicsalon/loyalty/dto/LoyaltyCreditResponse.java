@@ -0,0 +1,28 @@
+package com.clinicsalon.loyalty.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyCreditResponse {
+
+    private Long clientId;
+    private String sourceType;
+    private String sourceId;
+    private Integer points;
+    private Status status;
+    /** Lançamento criado agora ou, para duplicados, o lançamento original */
+    private Long transactionId;
+    
+    public enum Status {
+        /** Pontos creditados nesta requisição */
+        CREDITED,
+        /** O evento de origem já havia sido creditado; nada foi alterado */
+        DUPLICATE
+    }
+}
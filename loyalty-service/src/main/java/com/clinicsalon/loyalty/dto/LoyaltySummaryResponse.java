@@ -0,0 +1,36 @@
+package com.clinicsalon.loyalty.dto;
+
+import com.clinicsalon.loyalty.model.LoyaltyTier;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltySummaryResponse {
+
+    private long totalAccounts;
+    private long activePoints;
+    private long pointsIssued;
+    private long pointsRedeemed;
+    private LocalDateTime updatedAt;
+    private List<TierSummary> tiers;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TierSummary {
+        private LoyaltyTier tier;
+        private long accountCount;
+        private long activePoints;
+        private long pointsIssued;
+        private long pointsRedeemed;
+    }
+}
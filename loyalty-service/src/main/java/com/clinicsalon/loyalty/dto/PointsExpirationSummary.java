@@ -0,0 +1,22 @@
+package com.clinicsalon.loyalty.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointsExpirationSummary {
+
+    private LocalDateTime cutoff;
+    private int chunks;
+    private long transactionsExpired;
+    private long accountsUpdated;
+    private long pointsExpired;
+    private long durationMillis;
+}
@@ -5,11 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "loyalty_accounts")
+@Table(name = "loyalty_accounts",
+        indexes = @Index(name = "idx_loyalty_accounts_updated_at", columnList = "updated_at, id"))
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
@@ -38,6 +41,14 @@ public class LoyaltyAccount {
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    /**
+     * Versão para controle otimista das alterações de nível.
+     * Os incrementos de saldo são aplicados atomicamente em SQL e não alteram a versão.
+     */
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
     
     @PrePersist
     protected void onCreate() {
@@ -0,0 +1,58 @@
+package com.clinicsalon.loyalty.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Agregado materializado por nível de fidelidade.
+ * Mantido incrementalmente a cada lançamento no extrato, permite responder ao resumo
+ * do programa sem percorrer as contas. Cada nível é dividido em faixas (slots) escolhidas
+ * pelo ID da conta, para que escritas em contas diferentes não disputem a mesma linha.
+ */
+@Entity
+@Table(name = "loyalty_tier_summaries")
+@IdClass(LoyaltyTierSummary.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyTierSummary {
+
+    @Id
+    @Column(name = "tier", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private LoyaltyTier tier;
+
+    @Id
+    @Column(name = "slot", nullable = false)
+    private Integer slot;
+
+    @Column(name = "account_count", nullable = false)
+    private Long accountCount;
+
+    @Column(name = "active_points", nullable = false)
+    private Long activePoints;
+
+    @Column(name = "points_issued", nullable = false)
+    private Long pointsIssued;
+
+    @Column(name = "points_redeemed", nullable = false)
+    private Long pointsRedeemed;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LoyaltyTier tier;
+        private Integer slot;
+    }
+}
@@ -9,7 +9,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "loyalty_transactions")
+@Table(name = "loyalty_transactions", indexes = {
+        @Index(name = "idx_loyalty_transactions_expiry", columnList = "transaction_type, expired_at, expiry_date")
+}, uniqueConstraints = {
+        // Um evento de origem (ex.: agendamento concluído) gera no máximo um lançamento
+        @UniqueConstraint(name = "uk_loyalty_transactions_source", columnNames = {"source_type", "source_id"})
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -37,12 +42,27 @@ public class LoyaltyTransaction {
     @Column(name = "reference_id")
     private String referenceId;
     
+    /**
+     * Origem do lançamento (ex.: APPOINTMENT) e seu ID; nulos em lançamentos manuais
+     */
+    @Column(name = "source_type", length = 50)
+    private String sourceType;
+    
+    @Column(name = "source_id", length = 100)
+    private String sourceId;
+    
     @Column(name = "transaction_date", nullable = false)
     private LocalDateTime transactionDate;
     
     @Column(name = "expiry_date")
     private LocalDateTime expiryDate;
     
+    /**
+     * Momento em que os pontos desta transação foram expirados; nulo enquanto pendente
+     */
+    @Column(name = "expired_at")
+    private LocalDateTime expiredAt;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -2,9 +2,17 @@ package com.clinicsalon.loyalty.repository;
 
 import com.clinicsalon.loyalty.model.LoyaltyAccount;
 import com.clinicsalon.loyalty.model.LoyaltyTier;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +21,97 @@ public interface LoyaltyAccountRepository extends JpaRepository<LoyaltyAccount,
     
     Optional<LoyaltyAccount> findByClientId(Long clientId);
     
+    List<LoyaltyAccount> findByClientIdIn(Collection<Long> clientIds);
+    
     List<LoyaltyAccount> findByTier(LoyaltyTier tier);
     
     List<LoyaltyAccount> findByPointsBalanceGreaterThan(Integer pointsThreshold);
+
+    /**
+     * Busca a conta do cliente bloqueando a linha até o fim da transação
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM LoyaltyAccount a WHERE a.clientId = :clientId")
+    Optional<LoyaltyAccount> findByClientIdForUpdate(@Param("clientId") Long clientId);
+    
+    /**
+     * Busca as contas informadas bloqueando as linhas, em ordem de ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM LoyaltyAccount a WHERE a.id IN :ids ORDER BY a.id")
+    List<LoyaltyAccount> findAllByIdForUpdate(@Param("ids") List<Long> ids);
+
+    /**
+     * Aplica uma variação de pontos de forma atômica, sem leitura prévia da conta.
+     * O saldo nunca fica negativo e apenas créditos somam aos pontos acumulados.
+     *
+     * @return Quantidade de contas atualizadas (0 se a conta não existir)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LoyaltyAccount a SET " +
+           "a.pointsBalance = GREATEST(a.pointsBalance + :delta, 0), " +
+           "a.lifetimePoints = a.lifetimePoints + :earned, " +
+           "a.updatedAt = :now " +
+           "WHERE a.clientId = :clientId")
+    int applyPointsDelta(@Param("clientId") Long clientId,
+                         @Param("delta") int delta,
+                         @Param("earned") int earned,
+                         @Param("now") LocalDateTime now);
+    
+    /**
+     * Debita pontos de uma conta pelo ID da conta, de forma atômica e sem saldo negativo
+     *
+     * @return Quantidade de contas atualizadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LoyaltyAccount a SET " +
+           "a.pointsBalance = GREATEST(a.pointsBalance - :points, 0), " +
+           "a.updatedAt = :now " +
+           "WHERE a.id = :accountId")
+    int debitPoints(@Param("accountId") Long accountId,
+                    @Param("points") int points,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * Saldos das contas alteradas após o cursor (updatedAt, id), na ordem do cursor, para
+     * quem mantém uma cópia local dos saldos
+     */
+    @Query("SELECT a.id AS accountId, a.clientId AS clientId, a.pointsBalance AS pointsBalance, " +
+           "a.tier AS tier, a.updatedAt AS updatedAt " +
+           "FROM LoyaltyAccount a WHERE " +
+           "a.updatedAt > :modifiedAfter OR (a.updatedAt = :modifiedAfter AND a.id > :afterId) " +
+           "ORDER BY a.updatedAt, a.id")
+    List<BalanceChange> findBalancesModifiedAfter(@Param("modifiedAfter") LocalDateTime modifiedAfter,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    /**
+     * Marca d'água das contas e do extrato, usada para invalidar resultados derivados
+     * (ex.: relatórios em cache). Todo lançamento insere uma transação e toda variação
+     * de saldo ou nível atualiza o updatedAt da conta
+     */
+    @Query("SELECT COUNT(a) AS accounts, MAX(a.updatedAt) AS lastModified, " +
+           "(SELECT MAX(t.id) FROM LoyaltyTransaction t) AS lastTransactionId " +
+           "FROM LoyaltyAccount a")
+    DataWatermark findDataWatermark();
+
+    /**
+     * Quantidade e última alteração das contas e maior ID do extrato
+     */
+    interface DataWatermark {
+        Long getAccounts();
+        LocalDateTime getLastModified();
+        Long getLastTransactionId();
+    }
+
+    /**
+     * Saldo e nível de uma conta no momento da última alteração
+     */
+    interface BalanceChange {
+        Long getAccountId();
+        Long getClientId();
+        Integer getPointsBalance();
+        LoyaltyTier getTier();
+        LocalDateTime getUpdatedAt();
+    }
 }
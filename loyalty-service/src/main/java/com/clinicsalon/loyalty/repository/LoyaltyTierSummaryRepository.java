@@ -0,0 +1,102 @@
+package com.clinicsalon.loyalty.repository;
+
+import com.clinicsalon.loyalty.model.LoyaltyTier;
+import com.clinicsalon.loyalty.model.LoyaltyTierSummary;
+import com.clinicsalon.loyalty.model.LoyaltyTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LoyaltyTierSummaryRepository extends JpaRepository<LoyaltyTierSummary, LoyaltyTierSummary.Key> {
+
+    /**
+     * Soma as variações à faixa do agregado de forma atômica
+     *
+     * @return Quantidade de faixas atualizadas (0 se a faixa ainda não foi inicializada)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LoyaltyTierSummary s SET " +
+           "s.accountCount = s.accountCount + :accounts, " +
+           "s.activePoints = s.activePoints + :activePoints, " +
+           "s.pointsIssued = s.pointsIssued + :issued, " +
+           "s.pointsRedeemed = s.pointsRedeemed + :redeemed, " +
+           "s.updatedAt = :now " +
+           "WHERE s.tier = :tier AND s.slot = :slot")
+    int applyDelta(@Param("tier") LoyaltyTier tier,
+                   @Param("slot") int slot,
+                   @Param("accounts") long accounts,
+                   @Param("activePoints") long activePoints,
+                   @Param("issued") long issued,
+                   @Param("redeemed") long redeemed,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Bloqueia o agregado contra escritas até o fim da transação (PostgreSQL). Leituras
+     * continuam liberadas; lançamentos concorrentes aguardam na atualização da faixa
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE loyalty_tier_summaries IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    /**
+     * Soma as faixas de cada nível
+     */
+    @Query("SELECT s.tier AS tier, SUM(s.accountCount) AS accounts, " +
+           "SUM(s.activePoints) AS activePoints, SUM(s.pointsIssued) AS pointsIssued, " +
+           "SUM(s.pointsRedeemed) AS pointsRedeemed, MAX(s.updatedAt) AS updatedAt " +
+           "FROM LoyaltyTierSummary s GROUP BY s.tier")
+    List<TierSummaryTotals> sumByTier();
+
+    /**
+     * Quantidade de contas, saldo ativo e pontos acumulados agrupados pelo nível atual das contas
+     */
+    @Query("SELECT a.tier AS tier, COUNT(a) AS accounts, " +
+           "COALESCE(SUM(a.pointsBalance), 0) AS activePoints, " +
+           "COALESCE(SUM(a.lifetimePoints), 0) AS lifetimePoints " +
+           "FROM LoyaltyAccount a GROUP BY a.tier")
+    List<TierAccountTotals> sumAccountsByTier();
+
+    /**
+     * Pontos lançados com o tipo informado, agrupados pelo nível atual das contas
+     */
+    @Query("SELECT t.loyaltyAccount.tier AS tier, COALESCE(SUM(t.points), 0) AS points " +
+           "FROM LoyaltyTransaction t WHERE t.type = :type " +
+           "GROUP BY t.loyaltyAccount.tier")
+    List<TierPoints> sumTransactionPointsByTier(@Param("type") LoyaltyTransaction.TransactionType type);
+
+    /**
+     * Totais materializados de um nível
+     */
+    interface TierSummaryTotals {
+        LoyaltyTier getTier();
+        Long getAccounts();
+        Long getActivePoints();
+        Long getPointsIssued();
+        Long getPointsRedeemed();
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * Totais das contas de um nível
+     */
+    interface TierAccountTotals {
+        LoyaltyTier getTier();
+        Long getAccounts();
+        Long getActivePoints();
+        Long getLifetimePoints();
+    }
+
+    /**
+     * Soma de pontos de um nível
+     */
+    interface TierPoints {
+        LoyaltyTier getTier();
+        Long getPoints();
+    }
+}
@@ -4,10 +4,16 @@ import com.clinicsalon.loyalty.model.LoyaltyAccount;
 import com.clinicsalon.loyalty.model.LoyaltyTransaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,5 +27,59 @@ public interface LoyaltyTransactionRepository extends JpaRepository<LoyaltyTrans
     List<LoyaltyTransaction> findByLoyaltyAccountAndType(
             LoyaltyAccount account, LoyaltyTransaction.TransactionType type);
     
-    List<LoyaltyTransaction> findByExpiryDateBefore(LocalDateTime date);
+    /**
+     * Busca o próximo lote de transações do tipo informado vencidas e ainda não expiradas, bloqueando as linhas
+     * para que execuções concorrentes do job não processem o mesmo lote
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM LoyaltyTransaction t " +
+           "WHERE t.type = :type " +
+           "AND t.expiredAt IS NULL AND t.expiryDate < :now " +
+           "ORDER BY t.id")
+    List<LoyaltyTransaction> findPendingExpiration(@Param("type") LoyaltyTransaction.TransactionType type,
+                                                   @Param("now") LocalDateTime now,
+                                                   Pageable pageable);
+    
+    /**
+     * Marca as transações como expiradas; transações já marcadas são ignoradas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LoyaltyTransaction t SET t.expiredAt = :processedAt " +
+           "WHERE t.id IN :ids AND t.expiredAt IS NULL")
+    int markExpired(@Param("ids") List<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+    
+    /**
+     * Soma, por conta, os pontos das transações marcadas como expiradas em um lote
+     */
+    @Query("SELECT t.loyaltyAccount.id AS accountId, SUM(t.points) AS points, COUNT(t) AS transactions " +
+           "FROM LoyaltyTransaction t " +
+           "WHERE t.id IN :ids AND t.expiredAt = :processedAt " +
+           "GROUP BY t.loyaltyAccount.id")
+    List<AccountPointsTotal> sumExpiredPointsByAccount(@Param("ids") List<Long> ids,
+                                                       @Param("processedAt") LocalDateTime processedAt);
+    
+    /**
+     * Lançamentos já gravados para os eventos de origem informados
+     */
+    @Query("SELECT t.sourceId AS sourceId, t.id AS transactionId FROM LoyaltyTransaction t " +
+           "WHERE t.sourceType = :sourceType AND t.sourceId IN :sourceIds")
+    List<SourceTransaction> findBySource(@Param("sourceType") String sourceType,
+                                         @Param("sourceIds") Collection<String> sourceIds);
+    
+    /**
+     * Total de pontos de uma conta
+     */
+    interface AccountPointsTotal {
+        Long getAccountId();
+        Long getPoints();
+        Long getTransactions();
+    }
+    
+    /**
+     * Lançamento de um evento de origem
+     */
+    interface SourceTransaction {
+        String getSourceId();
+        Long getTransactionId();
+    }
 }
@@ -0,0 +1,33 @@
+package com.clinicsalon.loyalty.scheduler;
+
+import com.clinicsalon.loyalty.service.PointsExpirationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Agendador da expiração noturna de pontos de fidelidade
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PointsExpirationScheduler {
+
+    private final PointsExpirationService pointsExpirationService;
+
+    /**
+     * Expira os pontos vencidos
+     * Executa todos os dias às 03:00 por padrão
+     */
+    @Scheduled(cron = "${loyalty.expiration.cron:0 0 3 * * ?}")
+    public void expirePoints() {
+        try {
+            pointsExpirationService.expirePoints(LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Error while expiring loyalty points: {}", e.getMessage(), e);
+        }
+    }
+}
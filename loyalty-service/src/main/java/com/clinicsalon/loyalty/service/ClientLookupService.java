@@ -1,25 +1,49 @@
 package com.clinicsalon.loyalty.service;
 
+import com.clinicsalon.client.client.ClientBatchRequest;
 import com.clinicsalon.client.client.ClientClient;
-import lombok.RequiredArgsConstructor;
+import com.clinicsalon.client.client.ClientProjection;
+import com.clinicsalon.client.client.ClientResponse;
+import com.clinicsalon.monitoring.cache.CacheConfig;
+import com.clinicsalon.serviceclient.ParallelCalls;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import com.clinicsalon.monitoring.aspect.MonitorPerformance;
 
 /**
- * Serviço para buscar informações de clientes no microsserviço client-service
+ * Serviço para buscar informações de clientes no microsserviço client-service.
+ * Os nomes resolvidos ficam no cache {@link CacheConfig#CLIENTS_CACHE} (expiração por tempo),
+ * e a montagem de respostas em lote resolve todos os clientes fora do cache em uma única
+ * chamada a POST /api/clients/batch (uma por bloco de {@value #BATCH_SIZE} IDs). Quando há
+ * mais de um bloco, as chamadas são feitas em paralelo em threads virtuais.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ClientLookupService {
 
+    static final int BATCH_SIZE = 1000;
+
     private final ClientClient clientClient;
-    
+    private final Cache cache;
+
+    public ClientLookupService(ClientClient clientClient, CacheManager cacheManager) {
+        this.clientClient = clientClient;
+        this.cache = cacheManager.getCache(CacheConfig.CLIENTS_CACHE);
+    }
+
     /**
      * Busca o nome do cliente pelo ID
      * Utiliza circuit breaker para lidar com falhas no serviço de clientes
@@ -27,22 +51,93 @@ public class ClientLookupService {
     @CircuitBreaker(name = "clientService", fallbackMethod = "getClientNameFallback")
     @MonitorPerformance(description = "Buscar nome do cliente", thresholdMillis = 300, alertOnError = true)
     public String getClientName(Long clientId) {
+        String cached = cachedName(clientId);
+        if (cached != null) {
+            return cached;
+        }
+        return fetchName(clientId);
+    }
+
+    /**
+     * Busca os nomes de vários clientes, consultando o client-service em lote apenas para os
+     * IDs distintos que não estão em cache
+     *
+     * @param clientIds IDs dos clientes (podem se repetir)
+     * @return Mapa de ID para nome do cliente
+     */
+    @CircuitBreaker(name = "clientService", fallbackMethod = "getClientNamesFallback")
+    @MonitorPerformance(description = "Buscar nomes de clientes em lote", thresholdMillis = 500, alertOnError = true)
+    public Map<Long, String> getClientNames(Collection<Long> clientIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(clientIds);
+        Map<Long, String> names = new HashMap<>(distinctIds.size() * 2);
+
+        List<Long> missing = new ArrayList<>();
+        for (Long clientId : distinctIds) {
+            String name = cachedName(clientId);
+            if (name != null) {
+                names.put(clientId, name);
+            } else {
+                missing.add(clientId);
+            }
+        }
+
+        List<Callable<Map<Long, String>>> batches = new ArrayList<>();
+        for (int from = 0; from < missing.size(); from += BATCH_SIZE) {
+            List<Long> batch = missing.subList(from, Math.min(from + BATCH_SIZE, missing.size()));
+            batches.add(() -> fetchNames(batch));
+        }
+        if (!batches.isEmpty()) {
+            ParallelCalls.invokeAll(batches).forEach(names::putAll);
+        }
+
+        return names;
+    }
+
+    private Map<Long, String> fetchNames(List<Long> clientIds) {
+        log.info("Looking up {} client names in batch", clientIds.size());
+        Map<Long, String> names = new HashMap<>(clientIds.size() * 2);
+
+        ResponseEntity<List<ClientProjection>> response = clientClient.getClientsBatch(ClientBatchRequest.of(clientIds));
+        if (response == null || !response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new IllegalStateException("Client batch lookup failed with status "
+                    + (response != null ? response.getStatusCode() : "null"));
+        }
+
+        for (ClientProjection client : response.getBody()) {
+            if (client.getName() != null) {
+                names.put(client.getId(), client.getName());
+                if (cache != null) {
+                    cache.put(client.getId(), client.getName());
+                }
+            }
+        }
+        // IDs sem cadastro recebem o nome genérico, sem ir para o cache
+        for (Long clientId : clientIds) {
+            names.putIfAbsent(clientId, "Cliente " + clientId);
+        }
+        return names;
+    }
+
+    private String cachedName(Long clientId) {
+        return cache != null ? cache.get(clientId, String.class) : null;
+    }
+
+    private String fetchName(Long clientId) {
         log.info("Looking up client name for ID: {}", clientId);
-        
+
         // Chamada real ao cliente Feign para buscar o nome do cliente
-        ResponseEntity<?> response = clientClient.getClientById(clientId);
-        if (response != null && response.getBody() != null) {
-            // Assumindo que o response body é um Map<String, Object>
-            @SuppressWarnings("unchecked")
-            Map<String, Object> clientData = (Map<String, Object>) response.getBody();
-            if (clientData.containsKey("name")) {
-                return (String) clientData.get("name");
+        ResponseEntity<ClientResponse> response = clientClient.getClientById(clientId);
+        if (response != null && response.getBody() != null && response.getBody().getName() != null) {
+            String name = response.getBody().getName();
+            if (cache != null) {
+                cache.put(clientId, name);
             }
+            return name;
         }
         // Retornar um nome genérico se o response ou body for null ou não tiver nome
         return "Cliente " + clientId;
     }
-    
+
     /**
      * Método de fallback para quando o serviço de clientes está indisponível
      */
@@ -50,4 +145,18 @@ public class ClientLookupService {
         log.warn("Fallback for client lookup. Client ID: {}, Error: {}", clientId, ex.getMessage());
         return "Cliente #" + clientId;
     }
+
+    /**
+     * Método de fallback para a busca em lote: mantém os nomes já em cache
+     * e usa o nome genérico para os demais, sem armazená-lo
+     */
+    public Map<Long, String> getClientNamesFallback(Collection<Long> clientIds, Exception ex) {
+        log.warn("Fallback for bulk client lookup. Clients: {}, Error: {}", clientIds.size(), ex.getMessage());
+        Map<Long, String> names = new HashMap<>();
+        for (Long clientId : clientIds) {
+            String cached = cachedName(clientId);
+            names.put(clientId, cached != null ? cached : "Cliente #" + clientId);
+        }
+        return names;
+    }
 }
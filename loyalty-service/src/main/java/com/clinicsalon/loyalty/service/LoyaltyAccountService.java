@@ -2,18 +2,23 @@ package com.clinicsalon.loyalty.service;
 
 import com.clinicsalon.loyalty.dto.LoyaltyAccountRequest;
 import com.clinicsalon.loyalty.dto.LoyaltyAccountResponse;
+import com.clinicsalon.loyalty.dto.DataVersionResponse;
+import com.clinicsalon.loyalty.dto.LoyaltyBalanceChangeResponse;
 import com.clinicsalon.loyalty.exception.ResourceNotFoundException;
 import com.clinicsalon.loyalty.model.LoyaltyAccount;
 import com.clinicsalon.loyalty.model.LoyaltyTier;
 import com.clinicsalon.loyalty.repository.LoyaltyAccountRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import com.clinicsalon.monitoring.aspect.MonitorPerformance;
 
@@ -22,8 +27,12 @@ import com.clinicsalon.monitoring.aspect.MonitorPerformance;
 @Slf4j
 public class LoyaltyAccountService {
 
+    private static final int MAX_CHANGES_PAGE = 5_000;
+    private static final LocalDateTime CHANGES_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final LoyaltyAccountRepository loyaltyAccountRepository;
     private final ClientLookupService clientLookupService;
+    private final LoyaltyTierSummaryService tierSummaryService;
 
     @Transactional
     @MonitorPerformance(description = "Criar conta de fidelidade", thresholdMillis = 500, alertOnError = true)
@@ -49,6 +58,8 @@ public class LoyaltyAccountService {
                 .build();
         
         LoyaltyAccount savedAccount = loyaltyAccountRepository.save(account);
+        tierSummaryService.recordAccountOpened(
+                savedAccount.getId(), savedAccount.getTier(), savedAccount.getPointsBalance());
         
         // Retornar a resposta com os detalhes do cliente
         return buildLoyaltyAccountResponse(savedAccount, clientName);
@@ -68,18 +79,58 @@ public class LoyaltyAccountService {
     }
     
     @Transactional(readOnly = true)
-    @MonitorPerformance(description = "Listar todas as contas de fidelidade", thresholdMillis = 500)
-    public List<LoyaltyAccountResponse> getAllLoyaltyAccounts() {
-        log.info("Fetching all loyalty accounts");
-        
-        List<LoyaltyAccount> accounts = loyaltyAccountRepository.findAll();
-        
-        return accounts.stream()
-                .map(account -> {
-                    String clientName = clientLookupService.getClientName(account.getClientId());
-                    return buildLoyaltyAccountResponse(account, clientName);
-                })
-                .collect(Collectors.toList());
+    @MonitorPerformance(description = "Listar contas de fidelidade paginadas", thresholdMillis = 500)
+    public Page<LoyaltyAccountResponse> getAllLoyaltyAccounts(Pageable pageable) {
+        log.info("Fetching loyalty accounts page {} (size {})", pageable.getPageNumber(), pageable.getPageSize());
+        
+        Page<LoyaltyAccount> accounts = loyaltyAccountRepository.findAll(pageable);
+        
+        // Um único lookup por cliente distinto da página
+        Map<Long, String> clientNames = clientLookupService.getClientNames(
+                accounts.map(LoyaltyAccount::getClientId).getContent());
+        
+        return accounts.map(account ->
+                buildLoyaltyAccountResponse(account, clientNames.get(account.getClientId())));
+    }
+    
+    /**
+     * Versão atual dos dados de fidelidade, derivada da quantidade e da última alteração
+     * das contas e do maior ID do extrato
+     */
+    @Transactional(readOnly = true)
+    public DataVersionResponse getDataVersion() {
+        LoyaltyAccountRepository.DataWatermark watermark = loyaltyAccountRepository.findDataWatermark();
+        long accounts = watermark.getAccounts() != null ? watermark.getAccounts() : 0;
+        long lastTransactionId = watermark.getLastTransactionId() != null ? watermark.getLastTransactionId() : 0;
+        LocalDateTime lastModified = watermark.getLastModified();
+
+        return DataVersionResponse.builder()
+                .source("loyalty")
+                .records(accounts)
+                .lastModified(lastModified)
+                .version(accounts + "-" + lastTransactionId + "-" + (lastModified != null ? lastModified.toString() : "0"))
+                .build();
+    }
+
+    /**
+     * Página de saldos alterados após o cursor (updatedAt, accountId), na ordem do cursor
+     */
+    @Transactional(readOnly = true)
+    @MonitorPerformance(description = "Saldos de fidelidade alterados", thresholdMillis = 500)
+    public List<LoyaltyBalanceChangeResponse> getBalanceChanges(LocalDateTime modifiedAfter, Long afterId, int limit) {
+        return loyaltyAccountRepository.findBalancesModifiedAfter(
+                        modifiedAfter != null ? modifiedAfter : CHANGES_START,
+                        afterId != null ? afterId : 0L,
+                        PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_CHANGES_PAGE)))
+                .stream()
+                .map(change -> LoyaltyBalanceChangeResponse.builder()
+                        .accountId(change.getAccountId())
+                        .clientId(change.getClientId())
+                        .pointsBalance(change.getPointsBalance())
+                        .tier(change.getTier())
+                        .updatedAt(change.getUpdatedAt())
+                        .build())
+                .toList();
     }
     
     @Transactional
@@ -90,10 +141,13 @@ public class LoyaltyAccountService {
         LoyaltyAccount account = loyaltyAccountRepository.findByClientId(clientId)
                 .orElseThrow(() -> new ResourceNotFoundException("Loyalty account not found for client ID: " + clientId));
         
+        LoyaltyTier previousTier = account.getTier();
         account.setTier(newTier);
         account.setUpdatedAt(LocalDateTime.now());
         
         LoyaltyAccount savedAccount = loyaltyAccountRepository.save(account);
+        tierSummaryService.recordTierChange(
+                savedAccount.getId(), previousTier, newTier, savedAccount.getPointsBalance());
         String clientName = clientLookupService.getClientName(clientId);
         
         return buildLoyaltyAccountResponse(savedAccount, clientName);
@@ -104,30 +158,76 @@ public class LoyaltyAccountService {
     public LoyaltyAccountResponse updatePointsBalance(Long clientId, Integer pointsDelta) {
         log.info("Updating points balance for client ID: {} by {}", clientId, pointsDelta);
         
+        LoyaltyAccount savedAccount = applyPointsDelta(clientId, pointsDelta);
+        String clientName = clientLookupService.getClientName(clientId);
+        
+        return buildLoyaltyAccountResponse(savedAccount, clientName);
+    }
+    
+    /**
+     * Aplica uma variação de pontos que não é um resgate
+     *
+     * @see #applyPointsDelta(Long, int, boolean)
+     */
+    @Transactional
+    public LoyaltyAccount applyPointsDelta(Long clientId, int pointsDelta) {
+        return applyPointsDelta(clientId, pointsDelta, false).account();
+    }
+    
+    /**
+     * Aplica uma variação de pontos com um único UPDATE atômico e devolve a conta atualizada.
+     * Escritores concorrentes na mesma conta são serializados pelo lock de linha do banco,
+     * portanto nenhuma atualização é perdida. A promoção de nível é gravada pela entidade
+     * versionada enquanto o lock ainda está retido. Débitos bloqueiam a conta antes do UPDATE
+     * para que o resumo por nível receba a variação efetiva quando o saldo não cobre o débito.
+     *
+     * @param clientId ID do cliente
+     * @param pointsDelta Variação de pontos (positiva para créditos, negativa para débitos)
+     * @param redemption Indica se o débito é um resgate de pontos
+     * @return Conta com saldo, pontos acumulados e nível atualizados, e a variação efetiva
+     */
+    @Transactional
+    public AppliedPoints applyPointsDelta(Long clientId, int pointsDelta, boolean redemption) {
+        int appliedDelta = pointsDelta;
+        if (pointsDelta < 0) {
+            LoyaltyAccount locked = loyaltyAccountRepository.findByClientIdForUpdate(clientId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Loyalty account not found for client ID: " + clientId));
+            appliedDelta = Math.max(pointsDelta, -locked.getPointsBalance());
+        }
+        
+        int updated = loyaltyAccountRepository.applyPointsDelta(
+                clientId, appliedDelta, Math.max(appliedDelta, 0), LocalDateTime.now());
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Loyalty account not found for client ID: " + clientId);
+        }
+        
         LoyaltyAccount account = loyaltyAccountRepository.findByClientId(clientId)
                 .orElseThrow(() -> new ResourceNotFoundException("Loyalty account not found for client ID: " + clientId));
         
-        // Atualizar o saldo de pontos
-        Integer newPointsBalance = account.getPointsBalance() + pointsDelta;
-        if (newPointsBalance < 0) {
-            newPointsBalance = 0;
-        }
-        account.setPointsBalance(newPointsBalance);
+        LoyaltyTier currentTier = account.getTier();
+        tierSummaryService.recordPointsChange(account.getId(), currentTier, appliedDelta,
+                Math.max(appliedDelta, 0), redemption ? -appliedDelta : 0);
         
-        // Se estamos adicionando pontos, atualizar o total de pontos da vida
+        // Verificar e atualizar o tier com base nos pontos acumulados
         if (pointsDelta > 0) {
-            account.setLifetimePoints(account.getLifetimePoints() + pointsDelta);
-            
-            // Verificar e atualizar o tier com base nos pontos acumulados
             updateTierBasedOnLifetimePoints(account);
+            if (account.getTier() != currentTier) {
+                account = loyaltyAccountRepository.save(account);
+                tierSummaryService.recordTierChange(
+                        account.getId(), currentTier, account.getTier(), account.getPointsBalance());
+            }
         }
         
-        account.setUpdatedAt(LocalDateTime.now());
-        
-        LoyaltyAccount savedAccount = loyaltyAccountRepository.save(account);
-        String clientName = clientLookupService.getClientName(clientId);
-        
-        return buildLoyaltyAccountResponse(savedAccount, clientName);
+        return new AppliedPoints(account, appliedDelta);
+    }
+
+    /**
+     * Resultado de {@link #applyPointsDelta(Long, int, boolean)}
+     *
+     * @param account Conta atualizada
+     * @param appliedDelta Variação efetiva do saldo, limitada ao saldo disponível nos débitos
+     */
+    public record AppliedPoints(LoyaltyAccount account, int appliedDelta) {
     }
     
     private void updateTierBasedOnLifetimePoints(LoyaltyAccount account) {
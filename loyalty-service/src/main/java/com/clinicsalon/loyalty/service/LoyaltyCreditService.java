@@ -0,0 +1,194 @@
+package com.clinicsalon.loyalty.service;
+
+import com.clinicsalon.loyalty.dto.LoyaltyCreditRequest;
+import com.clinicsalon.loyalty.dto.LoyaltyCreditResponse;
+import com.clinicsalon.loyalty.model.LoyaltyAccount;
+import com.clinicsalon.loyalty.model.LoyaltyTier;
+import com.clinicsalon.loyalty.model.LoyaltyTransaction;
+import com.clinicsalon.loyalty.repository.LoyaltyAccountRepository;
+import com.clinicsalon.loyalty.repository.LoyaltyTransactionRepository;
+import com.clinicsalon.monitoring.aspect.MonitorPerformance;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Créditos de pontos idempotentes por evento de origem.
+ * Cada lote roda em uma única transação: cria as contas que ainda não existem, grava um
+ * lançamento por (sourceType, sourceId) novo e aplica um único UPDATE de saldo por conta.
+ * A restrição única em (source_type, source_id) garante que retentativas e requisições
+ * concorrentes com o mesmo evento não creditem os pontos duas vezes: se outra transação
+ * gravou o evento (ou criou a conta) primeiro, o lote é refeito e passa a enxergá-la.
+ */
+@Service
+@Slf4j
+public class LoyaltyCreditService {
+
+    private final LoyaltyTransactionRepository transactionRepository;
+    private final LoyaltyAccountRepository accountRepository;
+    private final LoyaltyAccountService accountService;
+    private final LoyaltyTierSummaryService tierSummaryService;
+    private final TransactionTemplate transactionTemplate;
+
+    public LoyaltyCreditService(LoyaltyTransactionRepository transactionRepository,
+                                LoyaltyAccountRepository accountRepository,
+                                LoyaltyAccountService accountService,
+                                LoyaltyTierSummaryService tierSummaryService,
+                                PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.accountService = accountService;
+        this.tierSummaryService = tierSummaryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @MonitorPerformance(description = "Creditar pontos por evento de origem", thresholdMillis = 500, alertOnError = true)
+    public LoyaltyCreditResponse credit(LoyaltyCreditRequest request) {
+        return creditAll(List.of(request)).get(0);
+    }
+
+    /**
+     * Credita um lote de eventos
+     *
+     * @param requests Créditos; eventos repetidos no lote são creditados uma única vez
+     * @return Resultado de cada crédito, na ordem da requisição
+     */
+    @MonitorPerformance(description = "Creditar lote de pontos por evento de origem", thresholdMillis = 2000, alertOnError = true)
+    public List<LoyaltyCreditResponse> creditAll(List<LoyaltyCreditRequest> requests) {
+        log.info("Crediting {} loyalty point event(s)", requests.size());
+        try {
+            return transactionTemplate.execute(status -> apply(requests));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Concurrent loyalty credit for the same event or new account, retrying: {}",
+                    e.getMostSpecificCause().getMessage());
+            return transactionTemplate.execute(status -> apply(requests));
+        }
+    }
+
+    private List<LoyaltyCreditResponse> apply(List<LoyaltyCreditRequest> requests) {
+        Map<SourceKey, Long> existing = findExistingTransactions(requests);
+
+        // Primeira ocorrência de cada evento ainda não creditado
+        Map<SourceKey, LoyaltyCreditRequest> pending = new LinkedHashMap<>();
+        for (LoyaltyCreditRequest request : requests) {
+            SourceKey key = SourceKey.of(request);
+            if (!existing.containsKey(key)) {
+                pending.putIfAbsent(key, request);
+            }
+        }
+
+        Map<SourceKey, Long> created = new HashMap<>();
+        if (!pending.isEmpty()) {
+            Map<Long, LoyaltyAccount> accounts = findOrCreateAccounts(pending.values().stream()
+                    .map(LoyaltyCreditRequest::getClientId)
+                    .collect(Collectors.toSet()));
+
+            // Os lançamentos são gravados antes dos saldos: um evento já gravado por outra
+            // transação falha aqui, antes de qualquer alteração de saldo
+            LocalDateTime now = LocalDateTime.now();
+            Map<SourceKey, LoyaltyTransaction> transactions = new LinkedHashMap<>();
+            pending.forEach((key, request) -> transactions.put(key, LoyaltyTransaction.builder()
+                    .loyaltyAccount(accounts.get(request.getClientId()))
+                    .type(LoyaltyTransaction.TransactionType.EARNED)
+                    .points(request.getPoints())
+                    .description(request.getDescription())
+                    .sourceType(key.sourceType())
+                    .sourceId(key.sourceId())
+                    .transactionDate(now)
+                    .expiryDate(request.getExpiryDate())
+                    .build()));
+            transactionRepository.saveAllAndFlush(transactions.values());
+            transactions.forEach((key, transaction) -> created.put(key, transaction.getId()));
+
+            // Um UPDATE por conta, em ordem de cliente para que lotes concorrentes bloqueiem na mesma ordem
+            Map<Long, Integer> pointsByClient = new TreeMap<>();
+            pending.values().forEach(request ->
+                    pointsByClient.merge(request.getClientId(), request.getPoints(), Integer::sum));
+            pointsByClient.forEach(accountService::applyPointsDelta);
+        }
+
+        Set<SourceKey> reported = new HashSet<>();
+        List<LoyaltyCreditResponse> responses = new ArrayList<>(requests.size());
+        for (LoyaltyCreditRequest request : requests) {
+            SourceKey key = SourceKey.of(request);
+            boolean isNew = pending.get(key) == request && reported.add(key);
+            responses.add(LoyaltyCreditResponse.builder()
+                    .clientId(request.getClientId())
+                    .sourceType(key.sourceType())
+                    .sourceId(key.sourceId())
+                    .points(request.getPoints())
+                    .status(isNew ? LoyaltyCreditResponse.Status.CREDITED : LoyaltyCreditResponse.Status.DUPLICATE)
+                    .transactionId(existing.getOrDefault(key, created.get(key)))
+                    .build());
+        }
+
+        long duplicates = responses.stream()
+                .filter(response -> response.getStatus() == LoyaltyCreditResponse.Status.DUPLICATE)
+                .count();
+        if (duplicates > 0) {
+            log.info("{} loyalty credit(s) already applied were ignored", duplicates);
+        }
+        return responses;
+    }
+
+    private Map<SourceKey, Long> findExistingTransactions(List<LoyaltyCreditRequest> requests) {
+        Map<String, Set<String>> sourceIdsByType = requests.stream()
+                .collect(Collectors.groupingBy(request -> request.getSourceType().trim(),
+                        Collectors.mapping(request -> request.getSourceId().trim(), Collectors.toSet())));
+
+        Map<SourceKey, Long> existing = new HashMap<>();
+        sourceIdsByType.forEach((sourceType, sourceIds) ->
+                transactionRepository.findBySource(sourceType, sourceIds).forEach(transaction ->
+                        existing.put(new SourceKey(sourceType, transaction.getSourceId()),
+                                transaction.getTransactionId())));
+        return existing;
+    }
+
+    /**
+     * Busca as contas dos clientes e cria as que faltam, com saldo zero. Ao contrário de
+     * {@link LoyaltyAccountService#createLoyaltyAccount}, não consulta o client-service:
+     * os eventos de origem já se referem a clientes existentes
+     */
+    private Map<Long, LoyaltyAccount> findOrCreateAccounts(Set<Long> clientIds) {
+        Map<Long, LoyaltyAccount> accounts = new HashMap<>();
+        accountRepository.findByClientIdIn(clientIds).forEach(account -> accounts.put(account.getClientId(), account));
+
+        List<LoyaltyAccount> missing = clientIds.stream()
+                .filter(clientId -> !accounts.containsKey(clientId))
+                .map(clientId -> LoyaltyAccount.builder()
+                        .clientId(clientId)
+                        .pointsBalance(0)
+                        .lifetimePoints(0)
+                        .tier(LoyaltyTier.BRONZE)
+                        .build())
+                .toList();
+        if (!missing.isEmpty()) {
+            log.info("Opening {} loyalty account(s) for credited clients", missing.size());
+            for (LoyaltyAccount account : accountRepository.saveAllAndFlush(missing)) {
+                tierSummaryService.recordAccountOpened(account.getId(), account.getTier(), 0);
+                accounts.put(account.getClientId(), account);
+            }
+        }
+        return accounts;
+    }
+
+    private record SourceKey(String sourceType, String sourceId) {
+
+        static SourceKey of(LoyaltyCreditRequest request) {
+            return new SourceKey(request.getSourceType().trim(), request.getSourceId().trim());
+        }
+    }
+}
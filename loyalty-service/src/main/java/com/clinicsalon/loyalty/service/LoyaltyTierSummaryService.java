@@ -0,0 +1,268 @@
+package com.clinicsalon.loyalty.service;
+
+import com.clinicsalon.loyalty.dto.LoyaltySummaryResponse;
+import com.clinicsalon.loyalty.model.LoyaltyAccount;
+import com.clinicsalon.loyalty.model.LoyaltyTier;
+import com.clinicsalon.loyalty.model.LoyaltyTierSummary;
+import com.clinicsalon.loyalty.model.LoyaltyTransaction;
+import com.clinicsalon.loyalty.repository.LoyaltyTierSummaryRepository;
+import com.clinicsalon.monitoring.aspect.MonitorPerformance;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Mantém o agregado materializado por nível ({@link LoyaltyTierSummary}).
+ * As variações são somadas com UPDATEs atômicos na mesma transação do lançamento,
+ * de modo que o resumo sempre acompanha o extrato. Cada conta escreve sempre na mesma
+ * faixa do nível; quando uma escrita toca mais de uma faixa, elas são atualizadas em
+ * ordem de nível para evitar deadlocks.
+ * <p>
+ * A inicialização e o recálculo bloqueiam a tabela do agregado no PostgreSQL: instâncias
+ * que sobem ao mesmo tempo inicializam uma de cada vez (a segunda já encontra as faixas), e
+ * os lançamentos concorrentes aguardam o recálculo e são somados depois dele.
+ */
+@Service
+@Slf4j
+public class LoyaltyTierSummaryService {
+
+    private final LoyaltyTierSummaryRepository summaryRepository;
+    private final int slots;
+    private final boolean postgres;
+
+    public LoyaltyTierSummaryService(LoyaltyTierSummaryRepository summaryRepository,
+                                     DataSource dataSource,
+                                     @Value("${loyalty.summary.slots:16}") int slots) {
+        this.summaryRepository = summaryRepository;
+        this.slots = Math.max(slots, 1);
+        this.postgres = isPostgres(dataSource);
+    }
+
+    /**
+     * Inicializa o agregado a partir das contas existentes quando ele ainda não foi criado,
+     * e cria as faixas que faltam quando o número de faixas aumentou
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    @Transactional
+    public void initialize() {
+        lock();
+        if (summaryRepository.count() == 0) {
+            rebuild();
+            return;
+        }
+
+        Set<LoyaltyTierSummary.Key> existing = new HashSet<>();
+        summaryRepository.findAll().forEach(row -> existing.add(new LoyaltyTierSummary.Key(row.getTier(), row.getSlot())));
+        LocalDateTime now = LocalDateTime.now();
+        List<LoyaltyTierSummary> missing = new ArrayList<>();
+        for (LoyaltyTier tier : LoyaltyTier.values()) {
+            for (int slot = 0; slot < slots; slot++) {
+                if (!existing.contains(new LoyaltyTierSummary.Key(tier, slot))) {
+                    missing.add(emptySlot(tier, slot, now));
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            log.info("Creating {} missing loyalty tier summary slot(s)", missing.size());
+            summaryRepository.saveAll(missing);
+        }
+    }
+
+    /**
+     * Recalcula o agregado a partir das contas e do extrato.
+     * Emissões e resgates passam a ser atribuídos ao nível atual de cada conta.
+     */
+    @Transactional
+    @MonitorPerformance(description = "Recalcular resumo por nível de fidelidade", thresholdMillis = 5000, alertOnError = true)
+    public void rebuild() {
+        lock();
+        log.info("Rebuilding loyalty tier summary");
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<LoyaltyTier, LoyaltyTierSummary> totals = new EnumMap<>(LoyaltyTier.class);
+        for (LoyaltyTier tier : LoyaltyTier.values()) {
+            totals.put(tier, emptySlot(tier, 0, now));
+        }
+        for (LoyaltyTierSummaryRepository.TierAccountTotals row : summaryRepository.sumAccountsByTier()) {
+            LoyaltyTierSummary summary = totals.get(row.getTier());
+            summary.setAccountCount(row.getAccounts());
+            summary.setActivePoints(row.getActivePoints());
+            summary.setPointsIssued(row.getLifetimePoints());
+        }
+        for (LoyaltyTierSummaryRepository.TierPoints row :
+                summaryRepository.sumTransactionPointsByTier(LoyaltyTransaction.TransactionType.REDEEMED)) {
+            totals.get(row.getTier()).setPointsRedeemed(row.getPoints());
+        }
+
+        List<LoyaltyTierSummary> rows = new ArrayList<>(LoyaltyTier.values().length * slots);
+        for (LoyaltyTier tier : LoyaltyTier.values()) {
+            rows.add(totals.get(tier));
+            for (int slot = 1; slot < slots; slot++) {
+                rows.add(emptySlot(tier, slot, now));
+            }
+        }
+
+        summaryRepository.deleteAllInBatch();
+        summaryRepository.saveAll(rows);
+    }
+
+    /**
+     * Registra a abertura de uma conta
+     */
+    @Transactional
+    public void recordAccountOpened(Long accountId, LoyaltyTier tier, int initialPoints) {
+        apply(tier, slotOf(accountId), 1, initialPoints, initialPoints, 0);
+    }
+
+    /**
+     * Registra um lançamento de pontos no nível em que a conta estava
+     *
+     * @param activePointsDelta Variação efetiva do saldo
+     * @param issued Pontos creditados ao acumulado
+     * @param redeemed Pontos resgatados
+     */
+    @Transactional
+    public void recordPointsChange(Long accountId, LoyaltyTier tier, long activePointsDelta, long issued, long redeemed) {
+        if (activePointsDelta == 0 && issued == 0 && redeemed == 0) {
+            return;
+        }
+        apply(tier, slotOf(accountId), 0, activePointsDelta, issued, redeemed);
+    }
+
+    /**
+     * Registra os débitos de um lote de expiração, somando as variações por faixa
+     * e atualizando as faixas em ordem
+     *
+     * @param accounts Contas debitadas, com o nível em que estavam
+     * @param debitedPoints Pontos efetivamente debitados por ID da conta
+     */
+    @Transactional
+    public void recordExpiredPoints(Collection<LoyaltyAccount> accounts, Map<Long, Integer> debitedPoints) {
+        TreeMap<Integer, Long> deltas = new TreeMap<>();
+        for (LoyaltyAccount account : accounts) {
+            int points = debitedPoints.getOrDefault(account.getId(), 0);
+            if (points > 0) {
+                int key = account.getTier().ordinal() * slots + slotOf(account.getId());
+                deltas.merge(key, (long) points, Long::sum);
+            }
+        }
+        LoyaltyTier[] tiers = LoyaltyTier.values();
+        deltas.forEach((key, points) -> apply(tiers[key / slots], key % slots, 0, -points, 0, 0));
+    }
+
+    /**
+     * Move a conta e o seu saldo de um nível para outro
+     */
+    @Transactional
+    public void recordTierChange(Long accountId, LoyaltyTier from, LoyaltyTier to, int pointsBalance) {
+        if (from == to) {
+            return;
+        }
+        int slot = slotOf(accountId);
+        if (from.ordinal() < to.ordinal()) {
+            apply(from, slot, -1, -pointsBalance, 0, 0);
+            apply(to, slot, 1, pointsBalance, 0, 0);
+        } else {
+            apply(to, slot, 1, pointsBalance, 0, 0);
+            apply(from, slot, -1, -pointsBalance, 0, 0);
+        }
+    }
+
+    /**
+     * Resumo do programa de fidelidade por nível
+     */
+    @Transactional(readOnly = true)
+    @MonitorPerformance(description = "Buscar resumo por nível de fidelidade", thresholdMillis = 200)
+    public LoyaltySummaryResponse getSummary() {
+        Map<LoyaltyTier, LoyaltySummaryResponse.TierSummary> tiers = new EnumMap<>(LoyaltyTier.class);
+        for (LoyaltyTier tier : LoyaltyTier.values()) {
+            tiers.put(tier, LoyaltySummaryResponse.TierSummary.builder().tier(tier).build());
+        }
+
+        LoyaltySummaryResponse response = LoyaltySummaryResponse.builder().build();
+        for (LoyaltyTierSummaryRepository.TierSummaryTotals row : summaryRepository.sumByTier()) {
+            LoyaltySummaryResponse.TierSummary tier = tiers.get(row.getTier());
+            tier.setAccountCount(row.getAccounts());
+            tier.setActivePoints(row.getActivePoints());
+            tier.setPointsIssued(row.getPointsIssued());
+            tier.setPointsRedeemed(row.getPointsRedeemed());
+
+            response.setTotalAccounts(response.getTotalAccounts() + row.getAccounts());
+            response.setActivePoints(response.getActivePoints() + row.getActivePoints());
+            response.setPointsIssued(response.getPointsIssued() + row.getPointsIssued());
+            response.setPointsRedeemed(response.getPointsRedeemed() + row.getPointsRedeemed());
+            if (row.getUpdatedAt() != null
+                    && (response.getUpdatedAt() == null || row.getUpdatedAt().isAfter(response.getUpdatedAt()))) {
+                response.setUpdatedAt(row.getUpdatedAt());
+            }
+        }
+        response.setTiers(new ArrayList<>(tiers.values()));
+
+        return response;
+    }
+
+    private void apply(LoyaltyTier tier, int slot, long accounts, long activePoints, long issued, long redeemed) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = summaryRepository.applyDelta(tier, slot, accounts, activePoints, issued, redeemed, now);
+        if (updated == 0) {
+            // Faixa ainda não inicializada (por exemplo, após aumentar o número de faixas)
+            log.warn("Loyalty tier summary slot {}/{} missing, creating it", tier, slot);
+            summaryRepository.saveAndFlush(LoyaltyTierSummary.builder()
+                    .tier(tier)
+                    .slot(slot)
+                    .accountCount(accounts)
+                    .activePoints(activePoints)
+                    .pointsIssued(issued)
+                    .pointsRedeemed(redeemed)
+                    .updatedAt(now)
+                    .build());
+        }
+    }
+
+    private void lock() {
+        if (postgres) {
+            summaryRepository.lockForRebuild();
+        }
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Could not detect database product, loyalty tier summary rebuild will not lock: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    int slotOf(Long accountId) {
+        return (int) Math.floorMod(accountId, (long) slots);
+    }
+
+    private LoyaltyTierSummary emptySlot(LoyaltyTier tier, int slot, LocalDateTime now) {
+        return LoyaltyTierSummary.builder()
+                .tier(tier)
+                .slot(slot)
+                .accountCount(0L)
+                .activePoints(0L)
+                .pointsIssued(0L)
+                .pointsRedeemed(0L)
+                .updatedAt(now)
+                .build();
+    }
+}
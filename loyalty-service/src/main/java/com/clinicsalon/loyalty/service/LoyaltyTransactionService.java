@@ -2,6 +2,7 @@ package com.clinicsalon.loyalty.service;
 
 import com.clinicsalon.loyalty.dto.LoyaltyTransactionRequest;
 import com.clinicsalon.loyalty.dto.LoyaltyTransactionResponse;
+import com.clinicsalon.loyalty.dto.PointsExpirationSummary;
 import com.clinicsalon.loyalty.exception.ResourceNotFoundException;
 import com.clinicsalon.loyalty.model.LoyaltyAccount;
 import com.clinicsalon.loyalty.model.LoyaltyTransaction;
@@ -29,6 +30,7 @@ public class LoyaltyTransactionService {
     private final LoyaltyAccountRepository accountRepository;
     private final LoyaltyAccountService accountService;
     private final ClientLookupService clientLookupService;
+    private final PointsExpirationService pointsExpirationService;
 
     @Transactional
     @MonitorPerformance(description = "Criar transação de fidelidade", thresholdMillis = 500, alertOnError = true)
@@ -36,25 +38,7 @@ public class LoyaltyTransactionService {
         log.info("Creating loyalty transaction for client ID: {} of type: {}", 
                  request.getClientId(), request.getType());
         
-        // Buscar a conta de fidelidade
-        LoyaltyAccount account = accountRepository.findByClientId(request.getClientId())
-                .orElseThrow(() -> new ResourceNotFoundException("Loyalty account not found for client ID: " + request.getClientId()));
-        
-        // Criar a transação
-        LoyaltyTransaction transaction = LoyaltyTransaction.builder()
-                .loyaltyAccount(account)
-                .type(request.getType())
-                .points(request.getPoints())
-                .description(request.getDescription())
-                .referenceId(request.getReferenceId())
-                .transactionDate(LocalDateTime.now())
-                .expiryDate(request.getExpiryDate())
-                .build();
-        
-        // Salvar a transação
-        LoyaltyTransaction savedTransaction = transactionRepository.save(transaction);
-        
-        // Atualizar o saldo de pontos da conta
+        // Calcular a variação do saldo de pontos da conta
         Integer pointsDelta;
         switch (request.getType()) {
             case EARNED:
@@ -71,9 +55,29 @@ public class LoyaltyTransactionService {
                 pointsDelta = 0;
         }
         
-        accountService.updatePointsBalance(request.getClientId(), pointsDelta);
+        // Atualizar o saldo atomicamente; a conta devolvida já reflete a variação
+        LoyaltyAccountService.AppliedPoints applied = accountService.applyPointsDelta(request.getClientId(),
+                pointsDelta, request.getType() == LoyaltyTransaction.TransactionType.REDEEMED);
+        LoyaltyAccount account = applied.account();
         
-        return buildTransactionResponse(savedTransaction, account.getClientId());
+        // Criar a transação com os pontos efetivamente movimentados (débitos limitados ao saldo)
+        boolean debit = request.getType() == LoyaltyTransaction.TransactionType.REDEEMED
+                || request.getType() == LoyaltyTransaction.TransactionType.EXPIRED;
+        LoyaltyTransaction transaction = LoyaltyTransaction.builder()
+                .loyaltyAccount(account)
+                .type(request.getType())
+                .points(debit ? -applied.appliedDelta() : applied.appliedDelta())
+                .description(request.getDescription())
+                .referenceId(request.getReferenceId())
+                .transactionDate(LocalDateTime.now())
+                .expiryDate(request.getExpiryDate())
+                .build();
+        
+        // Salvar a transação
+        LoyaltyTransaction savedTransaction = transactionRepository.save(transaction);
+        
+        return buildTransactionResponse(savedTransaction, account.getClientId(),
+                clientLookupService.getClientName(account.getClientId()));
     }
     
     @Transactional(readOnly = true)
@@ -86,7 +90,9 @@ public class LoyaltyTransactionService {
         
         Page<LoyaltyTransaction> transactions = transactionRepository.findByLoyaltyAccount(account, pageable);
         
-        return transactions.map(transaction -> buildTransactionResponse(transaction, clientId));
+        // Todas as linhas são do mesmo cliente: o nome é resolvido uma única vez
+        String clientName = clientLookupService.getClientName(clientId);
+        return transactions.map(transaction -> buildTransactionResponse(transaction, clientId, clientName));
     }
     
     @Transactional(readOnly = true)
@@ -102,42 +108,22 @@ public class LoyaltyTransactionService {
         List<LoyaltyTransaction> transactions = 
                 transactionRepository.findByLoyaltyAccountAndTransactionDateBetween(account, startDate, endDate);
         
+        String clientName = clientLookupService.getClientName(clientId);
         return transactions.stream()
-                .map(transaction -> buildTransactionResponse(transaction, clientId))
+                .map(transaction -> buildTransactionResponse(transaction, clientId, clientName))
                 .collect(Collectors.toList());
     }
     
-    @Transactional
-    @MonitorPerformance(description = "Processar pontos expirados", thresholdMillis = 1000, alertOnError = true)
-    public void processExpiredPoints() {
+    /**
+     * Expira os créditos vencidos em lotes; cada lote é confirmado em sua própria transação
+     */
+    public PointsExpirationSummary processExpiredPoints() {
         log.info("Processing expired points");
-        
-        LocalDateTime now = LocalDateTime.now();
-        List<LoyaltyTransaction> expiredTransactions = transactionRepository.findByExpiryDateBefore(now);
-        
-        for (LoyaltyTransaction transaction : expiredTransactions) {
-            if (transaction.getType() == LoyaltyTransaction.TransactionType.EARNED) {
-                // Criar uma transação de expiração
-                LoyaltyTransaction expirationTransaction = LoyaltyTransaction.builder()
-                        .loyaltyAccount(transaction.getLoyaltyAccount())
-                        .type(LoyaltyTransaction.TransactionType.EXPIRED)
-                        .points(transaction.getPoints())
-                        .description("Pontos expirados da transação #" + transaction.getId())
-                        .transactionDate(now)
-                        .build();
-                
-                transactionRepository.save(expirationTransaction);
-                
-                // Atualizar o saldo de pontos
-                Long clientId = transaction.getLoyaltyAccount().getClientId();
-                accountService.updatePointsBalance(clientId, -transaction.getPoints());
-            }
-        }
+        return pointsExpirationService.expirePoints(LocalDateTime.now());
     }
     
-    private LoyaltyTransactionResponse buildTransactionResponse(LoyaltyTransaction transaction, Long clientId) {
-        String clientName = clientLookupService.getClientName(clientId);
-        
+    private LoyaltyTransactionResponse buildTransactionResponse(LoyaltyTransaction transaction, Long clientId,
+                                                                String clientName) {
         return LoyaltyTransactionResponse.builder()
                 .id(transaction.getId())
                 .accountId(transaction.getLoyaltyAccount().getId())
@@ -0,0 +1,185 @@
+package com.clinicsalon.loyalty.service;
+
+import com.clinicsalon.loyalty.dto.PointsExpirationSummary;
+import com.clinicsalon.loyalty.model.LoyaltyAccount;
+import com.clinicsalon.loyalty.model.LoyaltyTransaction;
+import com.clinicsalon.loyalty.repository.LoyaltyAccountRepository;
+import com.clinicsalon.loyalty.repository.LoyaltyTransactionRepository;
+import com.clinicsalon.monitoring.aspect.MonitorPerformance;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Motor de expiração de pontos em lotes.
+ * Cada lote roda em sua própria transação: bloqueia os próximos créditos vencidos,
+ * marca-os como expirados, soma os pontos por conta no banco e aplica um único débito
+ * e um único lançamento EXPIRED por conta. Como as transações processadas ficam marcadas,
+ * reexecutar o job não expira os mesmos pontos duas vezes. As contas do lote são bloqueadas
+ * em ordem de ID para que o resumo por nível receba apenas os pontos efetivamente debitados.
+ */
+@Service
+@Slf4j
+public class PointsExpirationService {
+
+    private final LoyaltyTransactionRepository transactionRepository;
+    private final LoyaltyAccountRepository accountRepository;
+    private final LoyaltyTierSummaryService tierSummaryService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final Counter transactionsCounter;
+    private final Counter pointsCounter;
+    private final Counter accountsCounter;
+    private final Timer chunkTimer;
+    private final AtomicLong currentRunTransactions = new AtomicLong();
+
+    public PointsExpirationService(LoyaltyTransactionRepository transactionRepository,
+                                   LoyaltyAccountRepository accountRepository,
+                                   LoyaltyTierSummaryService tierSummaryService,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${loyalty.expiration.chunk-size:1000}") int chunkSize) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.tierSummaryService = tierSummaryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+
+        this.transactionsCounter = Counter.builder("loyalty.points.expiration.transactions")
+                .description("Transações de crédito expiradas")
+                .register(meterRegistry);
+        this.pointsCounter = Counter.builder("loyalty.points.expiration.points")
+                .description("Pontos expirados")
+                .register(meterRegistry);
+        this.accountsCounter = Counter.builder("loyalty.points.expiration.accounts")
+                .description("Débitos de expiração aplicados em contas")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("loyalty.points.expiration.chunk")
+                .description("Tempo de processamento de cada lote de expiração")
+                .register(meterRegistry);
+        meterRegistry.gauge("loyalty.points.expiration.current.run.transactions", currentRunTransactions);
+    }
+
+    /**
+     * Expira todos os créditos vencidos antes da data de corte
+     *
+     * @param cutoff Data de corte para a expiração
+     * @return Resumo da execução
+     */
+    @MonitorPerformance(description = "Expirar pontos em lotes", thresholdMillis = 60000, alertOnError = true)
+    public PointsExpirationSummary expirePoints(LocalDateTime cutoff) {
+        log.info("Starting points expiration for credits expiring before {} (chunk size {})", cutoff, chunkSize);
+        long start = System.nanoTime();
+        currentRunTransactions.set(0);
+
+        int chunks = 0;
+        long transactions = 0;
+        long accounts = 0;
+        long points = 0;
+
+        while (true) {
+            ChunkResult result = chunkTimer.record(
+                    () -> transactionTemplate.execute(status -> processChunk(cutoff)));
+            if (result == null || result.found() == 0) {
+                break;
+            }
+
+            chunks++;
+            transactions += result.transactions();
+            accounts += result.accounts();
+            points += result.points();
+            currentRunTransactions.set(transactions);
+
+            log.info("Expiration chunk {} done: {} transactions, {} accounts, {} points (total {} transactions)",
+                    chunks, result.transactions(), result.accounts(), result.points(), transactions);
+        }
+
+        long durationMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        log.info("Points expiration finished: {} chunks, {} transactions, {} accounts, {} points in {} ms",
+                chunks, transactions, accounts, points, durationMillis);
+
+        return PointsExpirationSummary.builder()
+                .cutoff(cutoff)
+                .chunks(chunks)
+                .transactionsExpired(transactions)
+                .accountsUpdated(accounts)
+                .pointsExpired(points)
+                .durationMillis(durationMillis)
+                .build();
+    }
+
+    private ChunkResult processChunk(LocalDateTime cutoff) {
+        List<LoyaltyTransaction> pending = transactionRepository.findPendingExpiration(
+                LoyaltyTransaction.TransactionType.EARNED, cutoff, PageRequest.of(0, chunkSize));
+        if (pending.isEmpty()) {
+            return new ChunkResult(0, 0, 0, 0);
+        }
+
+        List<Long> ids = new ArrayList<>(pending.size());
+        for (LoyaltyTransaction transaction : pending) {
+            ids.add(transaction.getId());
+        }
+
+        // Truncado para que a comparação com o valor gravado não dependa da precisão da coluna
+        LocalDateTime processedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        int marked = transactionRepository.markExpired(ids, processedAt);
+
+        List<LoyaltyTransactionRepository.AccountPointsTotal> totals =
+                transactionRepository.sumExpiredPointsByAccount(ids, processedAt);
+
+        List<Long> accountIds = totals.stream()
+                .map(LoyaltyTransactionRepository.AccountPointsTotal::getAccountId)
+                .toList();
+        List<LoyaltyAccount> accounts = accountRepository.findAllByIdForUpdate(accountIds);
+        Map<Long, Integer> balances = new HashMap<>(accounts.size() * 2);
+        for (LoyaltyAccount account : accounts) {
+            balances.put(account.getId(), account.getPointsBalance());
+        }
+
+        List<LoyaltyTransaction> expirations = new ArrayList<>(totals.size());
+        Map<Long, Integer> debitedPoints = new HashMap<>(totals.size() * 2);
+        long points = 0;
+        for (LoyaltyTransactionRepository.AccountPointsTotal total : totals) {
+            int accountPoints = (int) Math.min(total.getPoints(), Integer.MAX_VALUE);
+            accountRepository.debitPoints(total.getAccountId(), accountPoints, processedAt);
+            debitedPoints.put(total.getAccountId(),
+                    Math.min(accountPoints, balances.getOrDefault(total.getAccountId(), 0)));
+
+            expirations.add(LoyaltyTransaction.builder()
+                    .loyaltyAccount(accountRepository.getReferenceById(total.getAccountId()))
+                    .type(LoyaltyTransaction.TransactionType.EXPIRED)
+                    .points(accountPoints)
+                    .description("Pontos expirados de " + total.getTransactions() + " transação(ões)")
+                    .transactionDate(processedAt)
+                    .build());
+            points += accountPoints;
+        }
+        transactionRepository.saveAll(expirations);
+        tierSummaryService.recordExpiredPoints(accounts, debitedPoints);
+
+        transactionsCounter.increment(marked);
+        accountsCounter.increment(totals.size());
+        pointsCounter.increment(points);
+
+        return new ChunkResult(pending.size(), marked, totals.size(), points);
+    }
+
+    private record ChunkResult(int found, int transactions, int accounts, long points) {
+    }
+}
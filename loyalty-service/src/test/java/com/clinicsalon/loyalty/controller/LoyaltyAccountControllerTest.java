@@ -2,8 +2,10 @@ package com.clinicsalon.loyalty.controller;
 
 import com.clinicsalon.loyalty.dto.LoyaltyAccountRequest;
 import com.clinicsalon.loyalty.dto.LoyaltyAccountResponse;
+import com.clinicsalon.loyalty.dto.LoyaltySummaryResponse;
 import com.clinicsalon.loyalty.model.LoyaltyTier;
 import com.clinicsalon.loyalty.service.LoyaltyAccountService;
+import com.clinicsalon.loyalty.service.LoyaltyTierSummaryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +13,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -39,13 +45,18 @@ public class LoyaltyAccountControllerTest {
     @Mock
     private LoyaltyAccountService loyaltyAccountService;
 
+    @Mock
+    private LoyaltyTierSummaryService tierSummaryService;
+
     private LoyaltyAccountRequest accountRequest;
     private LoyaltyAccountResponse accountResponse;
     private final Long CLIENT_ID = 1L;
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(loyaltyAccountController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(loyaltyAccountController)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
         // Configurar request
         accountRequest = new LoyaltyAccountRequest();
         accountRequest.setClientId(CLIENT_ID);
@@ -107,15 +118,15 @@ public class LoyaltyAccountControllerTest {
 
         List<LoyaltyAccountResponse> accounts = Arrays.asList(accountResponse, account2);
 
-        when(loyaltyAccountService.getAllLoyaltyAccounts()).thenReturn(accounts);
+        when(loyaltyAccountService.getAllLoyaltyAccounts(any(Pageable.class))).thenReturn(new PageImpl<>(accounts, PageRequest.of(0, 20), 2));
 
-        mockMvc.perform(get("/api/v1/loyalty/accounts"))
+        mockMvc.perform(get("/api/v1/loyalty/accounts").param("page", "0").param("size", "20"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].clientName", is("João Silva")))
-                .andExpect(jsonPath("$[1].clientName", is("Maria Oliveira")))
-                .andExpect(jsonPath("$[0].tier", is("BRONZE")))
-                .andExpect(jsonPath("$[1].tier", is("SILVER")));
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].clientName", is("João Silva")))
+                .andExpect(jsonPath("$.content[1].clientName", is("Maria Oliveira")))
+                .andExpect(jsonPath("$.content[0].tier", is("BRONZE")))
+                .andExpect(jsonPath("$.content[1].tier", is("SILVER")));
     }
 
     @Test
@@ -159,4 +170,29 @@ public class LoyaltyAccountControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.pointsBalance", is(150)));
     }
+
+    @Test
+    void getLoyaltySummary_Success() throws Exception {
+        LoyaltySummaryResponse summary = LoyaltySummaryResponse.builder()
+                .totalAccounts(3)
+                .activePoints(900)
+                .pointsIssued(1500)
+                .pointsRedeemed(600)
+                .tiers(List.of(LoyaltySummaryResponse.TierSummary.builder()
+                        .tier(LoyaltyTier.BRONZE)
+                        .accountCount(3)
+                        .activePoints(900)
+                        .pointsIssued(1500)
+                        .pointsRedeemed(600)
+                        .build()))
+                .build();
+
+        when(tierSummaryService.getSummary()).thenReturn(summary);
+
+        mockMvc.perform(get("/api/v1/loyalty/accounts/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalAccounts", is(3)))
+                .andExpect(jsonPath("$.pointsRedeemed", is(600)))
+                .andExpect(jsonPath("$.tiers[0].tier", is("BRONZE")));
+    }
 }
@@ -33,7 +33,8 @@ import static org.mockito.Mockito.when;
  * Testes de integração para o serviço de fidelidade
  * Testa fluxos completos de acumulação e resgate de pontos usando a API REST
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "clinicsalon.security.gateway.signing-key=test-signing-key")
 @ActiveProfiles("test")
 @Tag("integration")
 public class LoyaltyServiceIntegrationTest {
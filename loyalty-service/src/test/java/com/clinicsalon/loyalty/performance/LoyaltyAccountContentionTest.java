@@ -0,0 +1,146 @@
+package com.clinicsalon.loyalty.performance;
+
+import com.clinicsalon.loyalty.dto.LoyaltySummaryResponse;
+import com.clinicsalon.loyalty.dto.LoyaltyTransactionRequest;
+import com.clinicsalon.loyalty.model.LoyaltyAccount;
+import com.clinicsalon.loyalty.model.LoyaltyTier;
+import com.clinicsalon.loyalty.model.LoyaltyTransaction;
+import com.clinicsalon.loyalty.repository.LoyaltyAccountRepository;
+import com.clinicsalon.loyalty.repository.LoyaltyTransactionRepository;
+import com.clinicsalon.loyalty.service.ClientLookupService;
+import com.clinicsalon.loyalty.service.LoyaltyAccountService;
+import com.clinicsalon.loyalty.service.LoyaltyTierSummaryService;
+import com.clinicsalon.loyalty.service.LoyaltyTransactionService;
+import com.clinicsalon.loyalty.service.PointsExpirationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de contenção: 64 escritores concorrentes lançando créditos e resgates
+ * na mesma conta de fidelidade. Com o incremento atômico nenhuma atualização pode ser
+ * perdida, então o saldo final deve ser exatamente a soma das variações.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loyalty_contention;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LoyaltyAccountService.class, LoyaltyTransactionService.class, LoyaltyTierSummaryService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Tag("performance")
+public class LoyaltyAccountContentionTest {
+
+    private static final int WRITERS = 64;
+    private static final int OPERATIONS_PER_WRITER = 50;
+    private static final int EARNED_POINTS = 10;
+    private static final int REDEEMED_POINTS = 5;
+    private static final int INITIAL_POINTS = 1000;
+    private static final Long CLIENT_ID = 42L;
+
+    @Autowired
+    private LoyaltyTransactionService transactionService;
+
+    @Autowired
+    private LoyaltyTierSummaryService tierSummaryService;
+
+    @Autowired
+    private LoyaltyAccountRepository accountRepository;
+
+    @Autowired
+    private LoyaltyTransactionRepository transactionRepository;
+
+    @MockBean
+    private ClientLookupService clientLookupService;
+
+    @MockBean
+    private PointsExpirationService pointsExpirationService;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountRepository.save(LoyaltyAccount.builder()
+                .clientId(CLIENT_ID)
+                .pointsBalance(INITIAL_POINTS)
+                .lifetimePoints(INITIAL_POINTS)
+                .tier(LoyaltyTier.BRONZE)
+                .build());
+        tierSummaryService.rebuild();
+    }
+
+    @Test
+    public void testConcurrentEarnAndRedeemOnSameAccount() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int writer = 0; writer < WRITERS; writer++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int op = 0; op < OPERATIONS_PER_WRITER; op++) {
+                    boolean earn = op % 2 == 0;
+                    transactionService.createTransaction(LoyaltyTransactionRequest.builder()
+                            .clientId(CLIENT_ID)
+                            .type(earn ? LoyaltyTransaction.TransactionType.EARNED
+                                    : LoyaltyTransaction.TransactionType.REDEEMED)
+                            .points(earn ? EARNED_POINTS : REDEEMED_POINTS)
+                            .build());
+                }
+                return null;
+            }));
+        }
+
+        Instant begin = Instant.now();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        Duration elapsed = Duration.between(begin, Instant.now());
+        executor.shutdown();
+
+        int totalOperations = WRITERS * OPERATIONS_PER_WRITER;
+        int earnedOperations = WRITERS * ((OPERATIONS_PER_WRITER + 1) / 2);
+        int redeemedOperations = totalOperations - earnedOperations;
+
+        LoyaltyAccount account = accountRepository.findByClientId(CLIENT_ID).orElseThrow();
+        assertEquals(INITIAL_POINTS + earnedOperations * EARNED_POINTS - redeemedOperations * REDEEMED_POINTS,
+                account.getPointsBalance());
+        assertEquals(INITIAL_POINTS + earnedOperations * EARNED_POINTS, account.getLifetimePoints());
+        assertEquals(LoyaltyTier.PLATINUM, account.getTier());
+        assertEquals(totalOperations, transactionRepository.count());
+
+        LoyaltySummaryResponse summary = tierSummaryService.getSummary();
+        assertEquals(1, summary.getTotalAccounts());
+        assertEquals(account.getPointsBalance().longValue(), summary.getActivePoints());
+        assertEquals(account.getLifetimePoints().longValue(), summary.getPointsIssued());
+        assertEquals((long) redeemedOperations * REDEEMED_POINTS, summary.getPointsRedeemed());
+
+        System.out.println("Escritores concorrentes: " + WRITERS);
+        System.out.println("Transações aplicadas: " + totalOperations);
+        System.out.println("Tempo total: " + elapsed.toMillis() + " ms");
+        System.out.println("Vazão: " + (totalOperations * 1000L / Math.max(1, elapsed.toMillis())) + " transações/s");
+    }
+}
@@ -1,16 +1,25 @@
 package com.clinicsalon.loyalty.service;
 
+import com.clinicsalon.client.client.ClientBatchRequest;
 import com.clinicsalon.client.client.ClientClient;
+import com.clinicsalon.client.client.ClientProjection;
 import com.clinicsalon.client.client.ClientResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import com.clinicsalon.monitoring.cache.CacheConfig;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -19,7 +28,6 @@ public class ClientLookupServiceTest {
     @Mock
     private ClientClient clientClient;
 
-    @InjectMocks
     private ClientLookupService clientLookupService;
 
     private final Long CLIENT_ID = 1L;
@@ -27,6 +35,9 @@ public class ClientLookupServiceTest {
 
     @BeforeEach
     void setUp() {
+        clientLookupService = new ClientLookupService(clientClient,
+                new ConcurrentMapCacheManager(CacheConfig.CLIENTS_CACHE));
+
         clientResponse = ClientResponse.builder()
                 .id(CLIENT_ID)
                 .name("João Silva")
@@ -51,13 +62,88 @@ public class ClientLookupServiceTest {
     @Test
     void getClientName_ClientServiceUnavailable_ReturnsFallback() {
         // Arrange
-        when(clientClient.getClientById(CLIENT_ID)).thenThrow(new RuntimeException("Service unavailable"));
+        RuntimeException unavailable = new RuntimeException("Service unavailable");
+        when(clientClient.getClientById(CLIENT_ID)).thenThrow(unavailable);
+
+        // Act & Assert
+        // Sem o proxy do Resilience4j a exceção chega ao chamador; o circuit breaker usa o fallback
+        assertThrows(RuntimeException.class, () -> clientLookupService.getClientName(CLIENT_ID));
+        String clientName = clientLookupService.getClientNameFallback(CLIENT_ID, unavailable);
+        assertEquals("Cliente #" + CLIENT_ID, clientName);
+        verify(clientClient).getClientById(CLIENT_ID);
+    }
+
+    @Test
+    void getClientName_CachesResolvedName() {
+        // Arrange
+        when(clientClient.getClientById(CLIENT_ID)).thenReturn(ResponseEntity.ok(clientResponse));
 
         // Act
+        clientLookupService.getClientName(CLIENT_ID);
         String clientName = clientLookupService.getClientName(CLIENT_ID);
 
         // Assert
-        assertEquals("Cliente #" + CLIENT_ID, clientName);
-        verify(clientClient).getClientById(CLIENT_ID);
+        assertEquals("João Silva", clientName);
+        verify(clientClient, times(1)).getClientById(CLIENT_ID);
+    }
+
+    @Test
+    void getClientNames_ResolvesMissingClientsInOneBatchCall() {
+        // Arrange
+        when(clientClient.getClientById(CLIENT_ID)).thenReturn(ResponseEntity.ok(clientResponse));
+        clientLookupService.getClientName(CLIENT_ID);
+        when(clientClient.getClientsBatch(any(ClientBatchRequest.class))).thenReturn(ResponseEntity.ok(List.of(
+                ClientProjection.builder().id(2L).name("Maria Oliveira").build())));
+
+        // Act
+        Map<Long, String> names = clientLookupService.getClientNames(List.of(CLIENT_ID, 2L, 3L, 2L, CLIENT_ID));
+
+        // Assert
+        assertEquals(3, names.size());
+        assertEquals("João Silva", names.get(CLIENT_ID));
+        assertEquals("Maria Oliveira", names.get(2L));
+        assertEquals("Cliente 3", names.get(3L));
+        verify(clientClient, times(1)).getClientsBatch(ClientBatchRequest.of(List.of(2L, 3L)));
+        verify(clientClient, times(1)).getClientById(CLIENT_ID);
+    }
+
+    @Test
+    void getClientNames_CachesBatchResults() {
+        // Arrange
+        when(clientClient.getClientsBatch(any(ClientBatchRequest.class))).thenReturn(ResponseEntity.ok(List.of(
+                ClientProjection.builder().id(2L).name("Maria Oliveira").build())));
+        clientLookupService.getClientNames(List.of(2L));
+
+        // Act
+        String name = clientLookupService.getClientName(2L);
+
+        // Assert
+        assertEquals("Maria Oliveira", name);
+        verify(clientClient, never()).getClientById(2L);
+    }
+
+    @Test
+    void getClientNames_BatchUnavailable_Throws() {
+        // Arrange
+        when(clientClient.getClientsBatch(any(ClientBatchRequest.class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> clientLookupService.getClientNames(List.of(2L)));
+    }
+
+    @Test
+    void getClientNamesFallback_KeepsCachedNames() {
+        // Arrange
+        when(clientClient.getClientById(CLIENT_ID)).thenReturn(ResponseEntity.ok(clientResponse));
+        clientLookupService.getClientName(CLIENT_ID);
+
+        // Act
+        Map<Long, String> names = clientLookupService.getClientNamesFallback(
+                List.of(CLIENT_ID, 2L), new RuntimeException("Service unavailable"));
+
+        // Assert
+        assertEquals("João Silva", names.get(CLIENT_ID));
+        assertEquals("Cliente #2", names.get(2L));
     }
 }
@@ -12,14 +12,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +37,9 @@ public class LoyaltyAccountServiceTest {
     @Mock
     private ClientLookupService clientLookupService;
 
+    @Mock
+    private LoyaltyTierSummaryService tierSummaryService;
+
     @InjectMocks
     private LoyaltyAccountService loyaltyAccountService;
 
@@ -144,22 +153,24 @@ public class LoyaltyAccountServiceTest {
                 .build();
         
         List<LoyaltyAccount> accounts = Arrays.asList(testAccount, account2);
+        Pageable pageable = PageRequest.of(0, 20);
         
-        when(loyaltyAccountRepository.findAll()).thenReturn(accounts);
-        when(clientLookupService.getClientName(1L)).thenReturn("João Silva");
-        when(clientLookupService.getClientName(2L)).thenReturn("Maria Oliveira");
+        when(loyaltyAccountRepository.findAll(pageable)).thenReturn(new PageImpl<>(accounts, pageable, 2));
+        when(clientLookupService.getClientNames(List.of(1L, 2L)))
+                .thenReturn(Map.of(1L, "João Silva", 2L, "Maria Oliveira"));
 
         // Act
-        List<LoyaltyAccountResponse> responses = loyaltyAccountService.getAllLoyaltyAccounts();
+        Page<LoyaltyAccountResponse> responses = loyaltyAccountService.getAllLoyaltyAccounts(pageable);
 
         // Assert
         assertNotNull(responses);
-        assertEquals(2, responses.size());
-        assertEquals("João Silva", responses.get(0).getClientName());
-        assertEquals("Maria Oliveira", responses.get(1).getClientName());
+        assertEquals(2, responses.getTotalElements());
+        assertEquals("João Silva", responses.getContent().get(0).getClientName());
+        assertEquals("Maria Oliveira", responses.getContent().get(1).getClientName());
         
-        verify(loyaltyAccountRepository).findAll();
-        verify(clientLookupService, times(2)).getClientName(any());
+        verify(loyaltyAccountRepository).findAll(pageable);
+        verify(clientLookupService, times(1)).getClientNames(List.of(1L, 2L));
+        verify(clientLookupService, never()).getClientName(any());
     }
 
     @Test
@@ -184,8 +195,11 @@ public class LoyaltyAccountServiceTest {
     @Test
     void updatePointsBalance_AddPoints_Success() {
         // Arrange
+        testAccount.setPointsBalance(150);
+        testAccount.setLifetimePoints(150);
+        when(loyaltyAccountRepository.applyPointsDelta(eq(CLIENT_ID), eq(50), eq(50), any(LocalDateTime.class)))
+                .thenReturn(1);
         when(loyaltyAccountRepository.findByClientId(CLIENT_ID)).thenReturn(Optional.of(testAccount));
-        when(loyaltyAccountRepository.save(any(LoyaltyAccount.class))).thenReturn(testAccount);
         when(clientLookupService.getClientName(CLIENT_ID)).thenReturn(CLIENT_NAME);
 
         // Act
@@ -195,16 +209,21 @@ public class LoyaltyAccountServiceTest {
         assertNotNull(response);
         assertEquals(150, response.getPointsBalance());
         
+        verify(loyaltyAccountRepository).applyPointsDelta(eq(CLIENT_ID), eq(50), eq(50), any(LocalDateTime.class));
         verify(loyaltyAccountRepository).findByClientId(CLIENT_ID);
-        verify(loyaltyAccountRepository).save(any(LoyaltyAccount.class));
+        verify(loyaltyAccountRepository, never()).save(any(LoyaltyAccount.class));
         verify(clientLookupService).getClientName(CLIENT_ID);
     }
 
     @Test
     void updatePointsBalance_SubtractPoints_Success() {
         // Arrange
+        when(loyaltyAccountRepository.findByClientIdForUpdate(CLIENT_ID)).thenReturn(Optional.of(
+                LoyaltyAccount.builder().id(1L).clientId(CLIENT_ID).pointsBalance(100).tier(LoyaltyTier.BRONZE).build()));
+        testAccount.setPointsBalance(50);
+        when(loyaltyAccountRepository.applyPointsDelta(eq(CLIENT_ID), eq(-50), eq(0), any(LocalDateTime.class)))
+                .thenReturn(1);
         when(loyaltyAccountRepository.findByClientId(CLIENT_ID)).thenReturn(Optional.of(testAccount));
-        when(loyaltyAccountRepository.save(any(LoyaltyAccount.class))).thenReturn(testAccount);
         when(clientLookupService.getClientName(CLIENT_ID)).thenReturn(CLIENT_NAME);
 
         // Act
@@ -213,19 +232,42 @@ public class LoyaltyAccountServiceTest {
         // Assert
         assertNotNull(response);
         assertEquals(50, response.getPointsBalance());
+        assertEquals(100, response.getLifetimePoints());
         
-        verify(loyaltyAccountRepository).findByClientId(CLIENT_ID);
-        verify(loyaltyAccountRepository).save(any(LoyaltyAccount.class));
+        verify(loyaltyAccountRepository).applyPointsDelta(eq(CLIENT_ID), eq(-50), eq(0), any(LocalDateTime.class));
+        verify(loyaltyAccountRepository, never()).save(any(LoyaltyAccount.class));
+        verify(tierSummaryService).recordPointsChange(1L, LoyaltyTier.BRONZE, -50, 0, 0);
         verify(clientLookupService).getClientName(CLIENT_ID);
     }
 
+    @Test
+    void applyPointsDelta_RedemptionAboveBalance_RecordsEffectiveDebit() {
+        // Arrange
+        when(loyaltyAccountRepository.findByClientIdForUpdate(CLIENT_ID)).thenReturn(Optional.of(testAccount));
+        when(loyaltyAccountRepository.applyPointsDelta(eq(CLIENT_ID), eq(-100), eq(0), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(loyaltyAccountRepository.findByClientId(CLIENT_ID)).thenReturn(Optional.of(
+                LoyaltyAccount.builder().id(1L).clientId(CLIENT_ID).pointsBalance(0).lifetimePoints(100)
+                        .tier(LoyaltyTier.BRONZE).build()));
+
+        // Act
+        LoyaltyAccountService.AppliedPoints applied = loyaltyAccountService.applyPointsDelta(CLIENT_ID, -150, true);
+
+        // Assert
+        assertEquals(0, applied.account().getPointsBalance());
+        assertEquals(-100, applied.appliedDelta());
+        verify(tierSummaryService).recordPointsChange(1L, LoyaltyTier.BRONZE, -100, 0, 100);
+    }
+
     @Test
     void updatePointsBalance_TierUpgrade_Success() {
         // Arrange
-        testAccount.setPointsBalance(1900);
-        testAccount.setLifetimePoints(1900);
+        testAccount.setPointsBalance(2100);
+        testAccount.setLifetimePoints(2100);
         testAccount.setTier(LoyaltyTier.BRONZE);
         
+        when(loyaltyAccountRepository.applyPointsDelta(eq(CLIENT_ID), eq(200), eq(200), any(LocalDateTime.class)))
+                .thenReturn(1);
         when(loyaltyAccountRepository.findByClientId(CLIENT_ID)).thenReturn(Optional.of(testAccount));
         when(loyaltyAccountRepository.save(any(LoyaltyAccount.class))).thenAnswer(invocation -> {
             LoyaltyAccount savedAccount = invocation.getArgument(0);
@@ -246,5 +288,22 @@ public class LoyaltyAccountServiceTest {
         
         verify(loyaltyAccountRepository).findByClientId(CLIENT_ID);
         verify(loyaltyAccountRepository).save(any(LoyaltyAccount.class));
+        verify(tierSummaryService).recordPointsChange(1L, LoyaltyTier.BRONZE, 200, 200, 0);
+        verify(tierSummaryService).recordTierChange(1L, LoyaltyTier.BRONZE, LoyaltyTier.SILVER, 2100);
+    }
+
+    @Test
+    void updatePointsBalance_AccountNotFound() {
+        // Arrange
+        when(loyaltyAccountRepository.applyPointsDelta(eq(CLIENT_ID), eq(50), eq(50), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () ->
+            loyaltyAccountService.updatePointsBalance(CLIENT_ID, 50)
+        );
+        
+        verify(loyaltyAccountRepository, never()).findByClientId(any());
+        verify(clientLookupService, never()).getClientName(any());
     }
 }
@@ -0,0 +1,179 @@
+package com.clinicsalon.loyalty.service;
+
+import com.clinicsalon.loyalty.dto.LoyaltyBalanceChangeResponse;
+import com.clinicsalon.loyalty.dto.LoyaltyCreditRequest;
+import com.clinicsalon.loyalty.dto.LoyaltyCreditResponse;
+import com.clinicsalon.loyalty.model.LoyaltyAccount;
+import com.clinicsalon.loyalty.model.LoyaltyTransaction;
+import com.clinicsalon.loyalty.repository.LoyaltyAccountRepository;
+import com.clinicsalon.loyalty.repository.LoyaltyTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loyalty_credit;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LoyaltyCreditService.class, LoyaltyAccountService.class, LoyaltyTierSummaryService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class LoyaltyCreditServiceTest {
+
+    @Autowired
+    private LoyaltyCreditService creditService;
+
+    @Autowired
+    private LoyaltyAccountService accountService;
+
+    @Autowired
+    private LoyaltyAccountRepository accountRepository;
+
+    @Autowired
+    private LoyaltyTransactionRepository transactionRepository;
+
+    @MockBean
+    private ClientLookupService clientLookupService;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void credit_RetriedEvent_CreditsOnce_AndOpensAccount() {
+        // Arrange
+        LoyaltyCreditRequest request = credit(7L, "15", 150);
+
+        // Act
+        LoyaltyCreditResponse first = creditService.credit(request);
+        LoyaltyCreditResponse retry = creditService.credit(request);
+
+        // Assert
+        assertEquals(LoyaltyCreditResponse.Status.CREDITED, first.getStatus());
+        assertEquals(LoyaltyCreditResponse.Status.DUPLICATE, retry.getStatus());
+        assertEquals(first.getTransactionId(), retry.getTransactionId());
+
+        LoyaltyAccount account = accountRepository.findByClientId(7L).orElseThrow();
+        assertEquals(150, account.getPointsBalance());
+        assertEquals(150, account.getLifetimePoints());
+        assertEquals(1, transactionRepository.count());
+    }
+
+    @Test
+    void creditAll_BatchWithRepeatedAndKnownEvents_CreditsEachEventOnce() {
+        // Arrange
+        creditService.credit(credit(1L, "10", 100));
+        List<LoyaltyCreditRequest> batch = List.of(
+                credit(1L, "10", 100),
+                credit(1L, "11", 40),
+                credit(2L, "12", 60),
+                credit(1L, "11", 40));
+
+        // Act
+        List<LoyaltyCreditResponse> result = creditService.creditAll(batch);
+
+        // Assert
+        assertEquals(List.of(LoyaltyCreditResponse.Status.DUPLICATE, LoyaltyCreditResponse.Status.CREDITED,
+                        LoyaltyCreditResponse.Status.CREDITED, LoyaltyCreditResponse.Status.DUPLICATE),
+                result.stream().map(LoyaltyCreditResponse::getStatus).toList());
+        assertEquals(140, accountRepository.findByClientId(1L).orElseThrow().getPointsBalance());
+        assertEquals(60, accountRepository.findByClientId(2L).orElseThrow().getPointsBalance());
+        assertEquals(3, transactionRepository.count());
+    }
+
+    @Test
+    void credit_ConcurrentRequestsForSameEvent_CreditOnce() throws Exception {
+        // Arrange
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<LoyaltyCreditResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return creditService.credit(credit(3L, "99", 80));
+            }));
+        }
+
+        // Act
+        start.countDown();
+        List<LoyaltyCreditResponse> results = new ArrayList<>();
+        for (Future<LoyaltyCreditResponse> future : futures) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, results.stream()
+                .filter(response -> response.getStatus() == LoyaltyCreditResponse.Status.CREDITED)
+                .count());
+        assertEquals(80, accountRepository.findByClientId(3L).orElseThrow().getPointsBalance());
+        assertEquals(1, transactionRepository.count());
+    }
+
+    @Test
+    void save_DuplicateSource_ViolatesUniqueConstraint() {
+        // Arrange
+        creditService.credit(credit(5L, "20", 10));
+        LoyaltyAccount account = accountRepository.findByClientId(5L).orElseThrow();
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> transactionRepository.saveAndFlush(
+                LoyaltyTransaction.builder()
+                        .loyaltyAccount(account)
+                        .type(LoyaltyTransaction.TransactionType.EARNED)
+                        .points(10)
+                        .sourceType("APPOINTMENT")
+                        .sourceId("20")
+                        .build()));
+    }
+
+    @Test
+    void getBalanceChanges_AfterCredits_ReturnsChangedAccountsFromCursor() {
+        // Arrange
+        creditService.creditAll(List.of(credit(1L, "30", 100), credit(2L, "31", 50)));
+        List<LoyaltyBalanceChangeResponse> all = accountService.getBalanceChanges(null, null, 10);
+        LoyaltyBalanceChangeResponse last = all.get(all.size() - 1);
+        creditService.credit(credit(1L, "32", 25));
+
+        // Act
+        List<LoyaltyBalanceChangeResponse> changes = accountService.getBalanceChanges(
+                last.getUpdatedAt(), last.getAccountId(), 10);
+
+        // Assert
+        assertEquals(2, all.size());
+        assertEquals(1, changes.size());
+        assertEquals(1L, changes.get(0).getClientId());
+        assertEquals(125, changes.get(0).getPointsBalance());
+    }
+
+    private LoyaltyCreditRequest credit(Long clientId, String appointmentId, int points) {
+        return LoyaltyCreditRequest.builder()
+                .clientId(clientId)
+                .points(points)
+                .sourceType("APPOINTMENT")
+                .sourceId(appointmentId)
+                .description("Pontos pelo agendamento #" + appointmentId)
+                .build();
+    }
+}
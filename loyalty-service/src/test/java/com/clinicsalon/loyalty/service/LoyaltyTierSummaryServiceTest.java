@@ -0,0 +1,156 @@
+package com.clinicsalon.loyalty.service;
+
+import com.clinicsalon.loyalty.dto.LoyaltyAccountRequest;
+import com.clinicsalon.loyalty.dto.LoyaltySummaryResponse;
+import com.clinicsalon.loyalty.dto.LoyaltyTransactionRequest;
+import com.clinicsalon.loyalty.model.LoyaltyTier;
+import com.clinicsalon.loyalty.model.LoyaltyTierSummary;
+import com.clinicsalon.loyalty.model.LoyaltyTransaction;
+import com.clinicsalon.loyalty.repository.LoyaltyAccountRepository;
+import com.clinicsalon.loyalty.repository.LoyaltyTierSummaryRepository;
+import com.clinicsalon.loyalty.repository.LoyaltyTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loyalty_tier_summary;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "loyalty.summary.slots=4"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LoyaltyAccountService.class, LoyaltyTransactionService.class, LoyaltyTierSummaryService.class,
+        PointsExpirationService.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class LoyaltyTierSummaryServiceTest {
+
+    @Autowired
+    private LoyaltyTierSummaryService tierSummaryService;
+
+    @Autowired
+    private LoyaltyAccountService accountService;
+
+    @Autowired
+    private LoyaltyTransactionService transactionService;
+
+    @Autowired
+    private PointsExpirationService pointsExpirationService;
+
+    @Autowired
+    private LoyaltyAccountRepository accountRepository;
+
+    @Autowired
+    private LoyaltyTransactionRepository transactionRepository;
+
+    @Autowired
+    private LoyaltyTierSummaryRepository summaryRepository;
+
+    @MockBean
+    private ClientLookupService clientLookupService;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        tierSummaryService.rebuild();
+    }
+
+    @Test
+    void ledgerWrites_KeepSummaryEqualToRebuild() {
+        // Arrange
+        for (long clientId = 1; clientId <= 5; clientId++) {
+            accountService.createLoyaltyAccount(account(clientId, 100));
+        }
+
+        // Act
+        transactionService.createTransaction(transaction(1L, LoyaltyTransaction.TransactionType.EARNED, 2500, null));
+        transactionService.createTransaction(transaction(2L, LoyaltyTransaction.TransactionType.REDEEMED, 40, null));
+        transactionService.createTransaction(transaction(3L, LoyaltyTransaction.TransactionType.REDEEMED, 500, null));
+        transactionService.createTransaction(transaction(4L, LoyaltyTransaction.TransactionType.EARNED, 80,
+                LocalDateTime.now().minusDays(1)));
+        accountService.updateTier(5L, LoyaltyTier.GOLD);
+        pointsExpirationService.expirePoints(LocalDateTime.now());
+
+        LoyaltySummaryResponse incremental = tierSummaryService.getSummary();
+        tierSummaryService.rebuild();
+        LoyaltySummaryResponse rebuilt = tierSummaryService.getSummary();
+
+        // Assert
+        assertEquals(5, incremental.getTotalAccounts());
+        assertEquals(2600 + 60 + 0 + 100 + 100, incremental.getActivePoints());
+        assertEquals(500 + 2580, incremental.getPointsIssued());
+        // O resgate de 500 pontos da conta 3 só debita os 100 disponíveis
+        assertEquals(140, incremental.getPointsRedeemed());
+
+        assertEquals(rebuilt.getTotalAccounts(), incremental.getTotalAccounts());
+        assertEquals(rebuilt.getActivePoints(), incremental.getActivePoints());
+        assertEquals(rebuilt.getPointsIssued(), incremental.getPointsIssued());
+        assertEquals(rebuilt.getPointsRedeemed(), incremental.getPointsRedeemed());
+        for (int i = 0; i < LoyaltyTier.values().length; i++) {
+            assertEquals(rebuilt.getTiers().get(i).getAccountCount(), incremental.getTiers().get(i).getAccountCount());
+            assertEquals(rebuilt.getTiers().get(i).getActivePoints(), incremental.getTiers().get(i).getActivePoints());
+        }
+        assertEquals(1, tierOf(incremental, LoyaltyTier.SILVER).getAccountCount());
+        assertEquals(1, tierOf(incremental, LoyaltyTier.GOLD).getAccountCount());
+        assertEquals(3, tierOf(incremental, LoyaltyTier.BRONZE).getAccountCount());
+    }
+
+    @Test
+    void getSummary_ReturnsEveryTier() {
+        // Act
+        LoyaltySummaryResponse summary = tierSummaryService.getSummary();
+
+        // Assert
+        assertEquals(LoyaltyTier.values().length, summary.getTiers().size());
+        assertEquals(0, summary.getTotalAccounts());
+    }
+
+    @Test
+    void initialize_ExistingSummary_OnlyAddsMissingSlots() {
+        // Arrange
+        accountService.createLoyaltyAccount(account(1L, 100));
+        summaryRepository.deleteById(new LoyaltyTierSummary.Key(LoyaltyTier.GOLD, 3));
+
+        // Act
+        tierSummaryService.initialize();
+        tierSummaryService.initialize();
+
+        // Assert
+        assertEquals(LoyaltyTier.values().length * 4L, summaryRepository.count());
+        assertEquals(100, tierSummaryService.getSummary().getActivePoints());
+    }
+
+    private LoyaltySummaryResponse.TierSummary tierOf(LoyaltySummaryResponse summary, LoyaltyTier tier) {
+        return summary.getTiers().stream().filter(t -> t.getTier() == tier).findFirst().orElseThrow();
+    }
+
+    private LoyaltyAccountRequest account(Long clientId, int initialPoints) {
+        LoyaltyAccountRequest request = new LoyaltyAccountRequest();
+        request.setClientId(clientId);
+        request.setInitialPoints(initialPoints);
+        return request;
+    }
+
+    private LoyaltyTransactionRequest transaction(Long clientId, LoyaltyTransaction.TransactionType type,
+                                                  int points, LocalDateTime expiryDate) {
+        return LoyaltyTransactionRequest.builder()
+                .clientId(clientId)
+                .type(type)
+                .points(points)
+                .expiryDate(expiryDate)
+                .build();
+    }
+}
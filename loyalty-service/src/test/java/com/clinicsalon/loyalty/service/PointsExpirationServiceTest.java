@@ -0,0 +1,120 @@
+package com.clinicsalon.loyalty.service;
+
+import com.clinicsalon.loyalty.dto.PointsExpirationSummary;
+import com.clinicsalon.loyalty.model.LoyaltyAccount;
+import com.clinicsalon.loyalty.model.LoyaltyTier;
+import com.clinicsalon.loyalty.model.LoyaltyTransaction;
+import com.clinicsalon.loyalty.repository.LoyaltyAccountRepository;
+import com.clinicsalon.loyalty.repository.LoyaltyTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loyalty_expiration;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "loyalty.expiration.chunk-size=3"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PointsExpirationService.class, LoyaltyTierSummaryService.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PointsExpirationServiceTest {
+
+    @Autowired
+    private PointsExpirationService pointsExpirationService;
+
+    @Autowired
+    private LoyaltyAccountRepository accountRepository;
+
+    @Autowired
+    private LoyaltyTransactionRepository transactionRepository;
+
+    private LoyaltyAccount firstAccount;
+    private LoyaltyAccount secondAccount;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        now = LocalDateTime.now();
+
+        firstAccount = accountRepository.save(account(1L, 500));
+        secondAccount = accountRepository.save(account(2L, 50));
+
+        // Conta 1: quatro créditos vencidos e um ainda válido
+        for (int i = 0; i < 4; i++) {
+            transactionRepository.save(earned(firstAccount, 100, now.minusDays(1)));
+        }
+        transactionRepository.save(earned(firstAccount, 100, now.plusDays(30)));
+
+        // Conta 2: créditos vencidos acima do saldo atual
+        transactionRepository.save(earned(secondAccount, 40, now.minusDays(2)));
+        transactionRepository.save(earned(secondAccount, 40, now.minusDays(2)));
+    }
+
+    @Test
+    void expirePoints_DebitsAggregatedPointsPerAccountInChunks() {
+        // Act
+        PointsExpirationSummary summary = pointsExpirationService.expirePoints(now);
+
+        // Assert
+        assertEquals(6, summary.getTransactionsExpired());
+        assertEquals(2, summary.getChunks());
+        assertEquals(480, summary.getPointsExpired());
+
+        assertEquals(100, accountRepository.findById(firstAccount.getId()).orElseThrow().getPointsBalance());
+        assertEquals(0, accountRepository.findById(secondAccount.getId()).orElseThrow().getPointsBalance());
+
+        List<LoyaltyTransaction> expirations = transactionRepository.findAll().stream()
+                .filter(t -> t.getType() == LoyaltyTransaction.TransactionType.EXPIRED)
+                .toList();
+        assertEquals(480, expirations.stream().mapToInt(LoyaltyTransaction::getPoints).sum());
+        assertEquals(summary.getAccountsUpdated(), expirations.size());
+    }
+
+    @Test
+    void expirePoints_IsIdempotent() {
+        // Arrange
+        pointsExpirationService.expirePoints(now);
+
+        // Act
+        PointsExpirationSummary secondRun = pointsExpirationService.expirePoints(now);
+
+        // Assert
+        assertEquals(0, secondRun.getTransactionsExpired());
+        assertEquals(0, secondRun.getChunks());
+        assertEquals(100, accountRepository.findById(firstAccount.getId()).orElseThrow().getPointsBalance());
+    }
+
+    private LoyaltyAccount account(Long clientId, int balance) {
+        return LoyaltyAccount.builder()
+                .clientId(clientId)
+                .pointsBalance(balance)
+                .lifetimePoints(balance)
+                .tier(LoyaltyTier.BRONZE)
+                .build();
+    }
+
+    private LoyaltyTransaction earned(LoyaltyAccount account, int points, LocalDateTime expiryDate) {
+        return LoyaltyTransaction.builder()
+                .loyaltyAccount(account)
+                .type(LoyaltyTransaction.TransactionType.EARNED)
+                .points(points)
+                .expiryDate(expiryDate)
+                .build();
+    }
+}
@@ -27,6 +27,7 @@ public class CacheConfig {
     public static final String APPOINTMENTS_CACHE = "appointments";
     public static final String PAYMENT_STATUS_CACHE = "paymentStatus";
     public static final String LOYALTY_POINTS_CACHE = "loyaltyPoints";
+    public static final String USER_ROLES_CACHE = "userRoles";
 
     /**
      * Configuração do gerenciador de cache com Caffeine
@@ -42,7 +43,8 @@ public class CacheConfig {
                 CLIENTS_CACHE,
                 APPOINTMENTS_CACHE,
                 PAYMENT_STATUS_CACHE,
-                LOYALTY_POINTS_CACHE
+                LOYALTY_POINTS_CACHE,
+                USER_ROLES_CACHE
         ));
         
         // Configuração padrão para todos os caches
@@ -4,25 +4,40 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.service.annotation.GetExchange;
 
 import java.util.List;
 
 /**
  * Cliente Feign para comunicação com o microserviço professional-service.
  * Permite acessar dados de profissionais com tolerância a falhas.
+ * As anotações {@code @GetExchange} permitem usar a mesma interface com o transporte
+ * por interface HTTP em threads virtuais ({@code clinicsalon.clients.professional-service.transport}).
  */
-@FeignClient(name = "professional-service", fallbackFactory = ProfessionalClientFallbackFactory.class)
+@FeignClient(name = "professional-service", fallbackFactory = ProfessionalClientFallbackFactory.class, primary = false)
 public interface ProfessionalClient {
 
     @GetMapping("/api/v1/professionals/{id}")
+    @GetExchange("/api/v1/professionals/{id}")
     ResponseEntity<ProfessionalResponse> findById(@PathVariable("id") Long id);
     
     @GetMapping("/api/v1/professionals/{id}/name")
+    @GetExchange("/api/v1/professionals/{id}/name")
     ResponseEntity<String> findNameById(@PathVariable("id") Long id);
     
     @GetMapping("/api/v1/professionals/active")
+    @GetExchange("/api/v1/professionals/active")
     ResponseEntity<List<ProfessionalResponse>> findAllActive();
     
     @GetMapping("/api/v1/professionals/specialization/{specialization}")
+    @GetExchange("/api/v1/professionals/specialization/{specialization}")
     ResponseEntity<List<ProfessionalResponse>> findBySpecialization(@PathVariable("specialization") String specialization);
+    
+    /**
+     * Alterações do cadastro desde a versão informada (ou o cadastro completo), usado por {@link ProfessionalRosterReplica}
+     */
+    @GetMapping("/api/v1/professionals/snapshot")
+    @GetExchange("/api/v1/professionals/snapshot")
+    ResponseEntity<ProfessionalRosterDelta> getRosterSnapshot(@RequestParam(value = "sinceVersion", required = false) Long sinceVersion);
 }
@@ -3,6 +3,7 @@ package com.clinicsalon.professional.client;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
@@ -66,5 +67,12 @@ public class ProfessionalClientFallbackFactory implements FallbackFactory<Profes
             logger.error("Falha ao buscar profissionais por especialização: {}, causa: {}", specialization, cause.getMessage());
             return ResponseEntity.ok(Collections.emptyList());
         }
+        
+        @Override
+        public ResponseEntity<ProfessionalRosterDelta> getRosterSnapshot(Long sinceVersion) {
+            logger.error("Falha ao sincronizar cadastro de profissionais desde a versão {}, causa: {}", sinceVersion, cause.getMessage());
+            // Sem corpo: a réplica mantém a última versão conhecida
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
     }
 }
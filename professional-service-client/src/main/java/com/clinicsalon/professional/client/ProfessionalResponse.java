@@ -1,5 +1,6 @@
 package com.clinicsalon.professional.client;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,6 +20,7 @@ public class ProfessionalResponse {
     private String email;
     private String phone;
     private String cpf;
+    @JsonAlias("isActive")
     private boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -0,0 +1,25 @@
+package com.clinicsalon.professional.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Alterações do cadastro de profissionais desde uma versão.
+ * Quando {@code full} é verdadeiro, {@code changed} é o cadastro completo.
+ * Diferenças podem repetir alterações já recebidas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfessionalRosterDelta {
+
+    private long version;
+    private boolean full;
+    private List<ProfessionalResponse> changed;
+    private List<Long> removed;
+}
@@ -0,0 +1,136 @@
+package com.clinicsalon.professional.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Réplica local do cadastro de profissionais.
+ * As leituras são servidas da memória; quando a cópia é mais antiga que {@code maxAge},
+ * a próxima leitura busca no professional-service apenas o que mudou desde a última versão.
+ * Se o serviço estiver indisponível, a última versão conhecida continua sendo usada.
+ */
+public class ProfessionalRosterReplica {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfessionalRosterReplica.class);
+
+    private final ProfessionalClient professionalClient;
+    private final Duration maxAge;
+    private final Clock clock;
+    private volatile State state = State.EMPTY;
+
+    public ProfessionalRosterReplica(ProfessionalClient professionalClient, Duration maxAge) {
+        this(professionalClient, maxAge, Clock.systemUTC());
+    }
+
+    ProfessionalRosterReplica(ProfessionalClient professionalClient, Duration maxAge, Clock clock) {
+        this.professionalClient = professionalClient;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    public Optional<ProfessionalResponse> findById(Long id) {
+        return Optional.ofNullable(fresh().byId.get(id));
+    }
+
+    public List<ProfessionalResponse> findAll() {
+        return fresh().all;
+    }
+
+    public List<ProfessionalResponse> findAllActive() {
+        return fresh().all.stream().filter(ProfessionalResponse::isActive).toList();
+    }
+
+    /**
+     * Versão do cadastro atualmente replicada (0 antes da primeira sincronização)
+     */
+    public long getVersion() {
+        return state.version;
+    }
+
+    /**
+     * Sincroniza com o professional-service
+     *
+     * @return true se a réplica foi atualizada
+     */
+    public synchronized boolean refresh() {
+        State current = state;
+        ResponseEntity<ProfessionalRosterDelta> response;
+        try {
+            response = professionalClient.getRosterSnapshot(current.version > 0 ? current.version : null);
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao sincronizar cadastro de profissionais: {}", e.getMessage());
+            state = current.touched(clock.instant());
+            return false;
+        }
+
+        ProfessionalRosterDelta delta = response != null ? response.getBody() : null;
+        if (delta == null || !response.getStatusCode().is2xxSuccessful()) {
+            state = current.touched(clock.instant());
+            return false;
+        }
+
+        Map<Long, ProfessionalResponse> byId = delta.isFull() ? new HashMap<>() : new HashMap<>(current.byId);
+        if (delta.getChanged() != null) {
+            delta.getChanged().forEach(professional -> byId.put(professional.getId(), professional));
+        }
+        if (delta.getRemoved() != null) {
+            delta.getRemoved().forEach(byId::remove);
+        }
+        state = new State(delta.getVersion(), byId, clock.instant());
+        logger.debug("Cadastro de profissionais replicado na versão {} ({} profissionais)", delta.getVersion(), byId.size());
+        return true;
+    }
+
+    private State fresh() {
+        if (isStale(state)) {
+            refreshIfStale();
+        }
+        return state;
+    }
+
+    private synchronized void refreshIfStale() {
+        // Outra thread pode ter sincronizado enquanto esta aguardava
+        if (isStale(state)) {
+            refresh();
+        }
+    }
+
+    private boolean isStale(State current) {
+        return current.refreshedAt == null
+                || Duration.between(current.refreshedAt, clock.instant()).compareTo(maxAge) >= 0;
+    }
+
+    private static final class State {
+
+        static final State EMPTY = new State(0L, Map.of(), null);
+
+        final long version;
+        final Map<Long, ProfessionalResponse> byId;
+        final List<ProfessionalResponse> all;
+        final Instant refreshedAt;
+
+        State(long version, Map<Long, ProfessionalResponse> byId, Instant refreshedAt) {
+            this.version = version;
+            this.byId = Map.copyOf(byId);
+            List<ProfessionalResponse> sorted = new ArrayList<>(byId.values());
+            sorted.sort(Comparator.comparing(ProfessionalResponse::getId));
+            this.all = List.copyOf(sorted);
+            this.refreshedAt = refreshedAt;
+        }
+
+        State touched(Instant now) {
+            return new State(version, byId, now);
+        }
+    }
+}
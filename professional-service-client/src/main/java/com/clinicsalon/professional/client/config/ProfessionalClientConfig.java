@@ -1,15 +1,46 @@
 package com.clinicsalon.professional.client.config;
 
+import com.clinicsalon.professional.client.ProfessionalClient;
+import com.clinicsalon.professional.client.ProfessionalClientFallbackFactory;
+import com.clinicsalon.professional.client.ProfessionalRosterReplica;
+import com.clinicsalon.serviceclient.HttpInterfaceClientConfig;
+import com.clinicsalon.serviceclient.HttpInterfaceClientFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
 
 /**
  * Configuração para habilitar os clientes Feign do módulo professional-service-client.
  * Esta configuração deve ser importada para usar os clientes Feign.
+ * Com {@code clinicsalon.clients.professional-service.transport=http-interface}, o
+ * {@link ProfessionalClient} injetado passa a ser a interface HTTP em threads virtuais, com o mesmo fallback.
  */
 @Configuration
 @EnableFeignClients(basePackages = "com.clinicsalon.professional.client")
+@Import({ProfessionalClientFallbackFactory.class, HttpInterfaceClientConfig.class})
 public class ProfessionalClientConfig {
-    // A anotação @EnableFeignClients é suficiente para habilitar 
-    // o escaneamento e registro dos clientes Feign no pacote especificado
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "clinicsalon.clients.professional-service", name = "transport", havingValue = "http-interface")
+    public ProfessionalClient professionalClientHttpInterface(HttpInterfaceClientFactory httpInterfaceClientFactory,
+                                                              ProfessionalClientFallbackFactory fallbackFactory) {
+        return httpInterfaceClientFactory.create(ProfessionalClient.class, "professional-service", fallbackFactory);
+    }
+
+    /**
+     * Réplica local do cadastro de profissionais, sincronizada por diferença de versão
+     */
+    @Bean
+    public ProfessionalRosterReplica professionalRosterReplica(
+            ProfessionalClient professionalClient,
+            @Value("${professional.roster.replica.max-age:30s}") Duration maxAge) {
+        return new ProfessionalRosterReplica(professionalClient, maxAge);
+    }
 }
@@ -0,0 +1,130 @@
+package com.clinicsalon.professional.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProfessionalRosterReplicaTest {
+
+    @Mock
+    private ProfessionalClient professionalClient;
+
+    private MutableClock clock;
+    private ProfessionalRosterReplica replica;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T10:00:00Z"));
+        replica = new ProfessionalRosterReplica(professionalClient, Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    void reads_LoadFullRosterOnceAndServeFromMemoryWhileFresh() {
+        // Arrange
+        when(professionalClient.getRosterSnapshot(null)).thenReturn(ResponseEntity.ok(
+                delta(1L, true, List.of(professional(1L, "Ana", true), professional(2L, "Bruno", false)), List.of())));
+
+        // Act
+        List<ProfessionalResponse> active = replica.findAllActive();
+        replica.findById(2L);
+
+        // Assert
+        assertEquals(1, active.size());
+        assertEquals("Ana", active.get(0).getName());
+        assertEquals(1L, replica.getVersion());
+        verify(professionalClient, times(1)).getRosterSnapshot(null);
+    }
+
+    @Test
+    void reads_WhenStale_ApplyOnlyTheDelta() {
+        // Arrange
+        when(professionalClient.getRosterSnapshot(null)).thenReturn(ResponseEntity.ok(
+                delta(1L, true, List.of(professional(1L, "Ana", true), professional(2L, "Bruno", true)), List.of())));
+        when(professionalClient.getRosterSnapshot(1L)).thenReturn(ResponseEntity.ok(
+                delta(3L, false, List.of(professional(1L, "Ana Paula", true)), List.of(2L))));
+        replica.findAll();
+
+        // Act
+        clock.advance(Duration.ofSeconds(31));
+        List<ProfessionalResponse> all = replica.findAll();
+
+        // Assert
+        assertEquals(1, all.size());
+        assertEquals("Ana Paula", all.get(0).getName());
+        assertEquals(3L, replica.getVersion());
+    }
+
+    @Test
+    void reads_ServiceUnavailable_KeepLastKnownRoster() {
+        // Arrange
+        when(professionalClient.getRosterSnapshot(null)).thenReturn(ResponseEntity.ok(
+                delta(1L, true, List.of(professional(1L, "Ana", true)), List.of())));
+        when(professionalClient.getRosterSnapshot(1L))
+                .thenReturn(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        replica.findAll();
+
+        // Act
+        clock.advance(Duration.ofSeconds(31));
+        boolean refreshed = replica.refresh();
+
+        // Assert
+        assertFalse(refreshed);
+        assertEquals("Ana", replica.findById(1L).orElseThrow().getName());
+        assertEquals(1L, replica.getVersion());
+    }
+
+    private static ProfessionalRosterDelta delta(long version, boolean full, List<ProfessionalResponse> changed, List<Long> removed) {
+        return ProfessionalRosterDelta.builder()
+                .version(version)
+                .full(full)
+                .changed(changed)
+                .removed(removed)
+                .build();
+    }
+
+    private static ProfessionalResponse professional(Long id, String name, boolean active) {
+        return ProfessionalResponse.builder().id(id).name(name).active(active).build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
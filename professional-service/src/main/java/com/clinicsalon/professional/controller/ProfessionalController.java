@@ -2,6 +2,7 @@ package com.clinicsalon.professional.controller;
 
 import com.clinicsalon.professional.dto.ProfessionalRequest;
 import com.clinicsalon.professional.dto.ProfessionalResponse;
+import com.clinicsalon.professional.dto.ProfessionalRosterDelta;
 import com.clinicsalon.professional.service.ProfessionalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -51,6 +52,13 @@ public class ProfessionalController {
         return ResponseEntity.ok(professionalService.getProfessionalsBySpecialization(specialization));
     }
 
+    @GetMapping("/snapshot")
+    @Operation(summary = "Sincronizar cadastro de profissionais",
+               description = "Retorna os profissionais alterados e removidos desde a versão informada, ou o cadastro completo")
+    public ResponseEntity<ProfessionalRosterDelta> getRosterSnapshot(@RequestParam(required = false) Long sinceVersion) {
+        return ResponseEntity.ok(professionalService.getRosterDelta(sinceVersion));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar profissional", description = "Atualiza os dados de um profissional existente")
     public ResponseEntity<ProfessionalResponse> updateProfessional(@PathVariable Long id, @Valid @RequestBody ProfessionalRequest request) {
@@ -0,0 +1,66 @@
+package com.clinicsalon.professional.controller;
+
+import com.clinicsalon.professional.dto.AvailabilityRequest;
+import com.clinicsalon.professional.dto.ProfessionalAvailabilityResponse;
+import com.clinicsalon.professional.dto.TimeOffRequest;
+import com.clinicsalon.professional.dto.TimeOffResponse;
+import com.clinicsalon.professional.dto.WeeklyScheduleRequest;
+import com.clinicsalon.professional.dto.WeeklyScheduleResponse;
+import com.clinicsalon.professional.service.ProfessionalScheduleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/professionals")
+@RequiredArgsConstructor
+@Tag(name = "Professional Schedule API", description = "Endpoints para agenda e disponibilidade de profissionais")
+public class ProfessionalScheduleController {
+
+    private final ProfessionalScheduleService scheduleService;
+
+    @GetMapping("/{id}/schedule")
+    @Operation(summary = "Buscar agenda semanal", description = "Retorna os expedientes e intervalos semanais do profissional")
+    public ResponseEntity<WeeklyScheduleResponse> getWeeklySchedule(@PathVariable Long id) {
+        return ResponseEntity.ok(scheduleService.getWeeklySchedule(id));
+    }
+
+    @PutMapping("/{id}/schedule")
+    @Operation(summary = "Atualizar agenda semanal", description = "Substitui todos os expedientes e intervalos semanais do profissional")
+    public ResponseEntity<WeeklyScheduleResponse> replaceWeeklySchedule(@PathVariable Long id,
+                                                                        @Valid @RequestBody WeeklyScheduleRequest request) {
+        return ResponseEntity.ok(scheduleService.replaceWeeklySchedule(id, request));
+    }
+
+    @GetMapping("/{id}/time-off")
+    @Operation(summary = "Listar ausências", description = "Retorna as ausências atuais e futuras do profissional")
+    public ResponseEntity<List<TimeOffResponse>> getUpcomingTimeOff(@PathVariable Long id) {
+        return ResponseEntity.ok(scheduleService.getUpcomingTimeOff(id));
+    }
+
+    @PostMapping("/{id}/time-off")
+    @Operation(summary = "Registrar ausência", description = "Registra um período em que o profissional não atende")
+    public ResponseEntity<TimeOffResponse> addTimeOff(@PathVariable Long id, @Valid @RequestBody TimeOffRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(scheduleService.addTimeOff(id, request));
+    }
+
+    @DeleteMapping("/{id}/time-off/{timeOffId}")
+    @Operation(summary = "Remover ausência", description = "Remove uma ausência registrada do profissional")
+    public ResponseEntity<Void> deleteTimeOff(@PathVariable Long id, @PathVariable Long timeOffId) {
+        scheduleService.deleteTimeOff(id, timeOffId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/availability")
+    @Operation(summary = "Consultar disponibilidade",
+               description = "Retorna, para cada profissional, um mapa de bits por dia com os minutos em que ele atende")
+    public ResponseEntity<List<ProfessionalAvailabilityResponse>> getAvailability(@Valid @RequestBody AvailabilityRequest request) {
+        return ResponseEntity.ok(scheduleService.getAvailability(request));
+    }
+}
@@ -0,0 +1,32 @@
+package com.clinicsalon.professional.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Consulta de disponibilidade de vários profissionais no intervalo de datas [from, to]
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityRequest {
+
+    @NotEmpty(message = "Informe ao menos um profissional")
+    @Size(max = 200, message = "Consulte no máximo 200 profissionais por vez")
+    private List<Long> professionalIds;
+
+    @NotNull(message = "A data inicial é obrigatória")
+    private LocalDate from;
+
+    @NotNull(message = "A data final é obrigatória")
+    private LocalDate to;
+}
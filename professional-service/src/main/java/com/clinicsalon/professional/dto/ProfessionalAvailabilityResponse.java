@@ -0,0 +1,29 @@
+package com.clinicsalon.professional.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Disponibilidade de um profissional, um mapa de bits por dia a partir de {@code from}:
+ * o bit m de {@code days[i]} indica que o profissional atende no minuto m (0 a 1439) do dia
+ * {@code from + i}. Os bits são serializados em Base64 (little-endian, formato de
+ * {@link java.util.BitSet#toByteArray()}); dias sem atendimento vêm como string vazia.
+ * {@code scheduleConfigured} é falso quando o profissional não cadastrou expediente: nesse caso
+ * não há restrição de horário e os dias trazem todos os minutos, exceto as ausências.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfessionalAvailabilityResponse {
+
+    private Long professionalId;
+    private LocalDate from;
+    private List<String> days;
+    private boolean scheduleConfigured;
+}
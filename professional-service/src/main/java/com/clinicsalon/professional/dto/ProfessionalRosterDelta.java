@@ -0,0 +1,29 @@
+package com.clinicsalon.professional.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Alterações do cadastro de profissionais desde uma versão.
+ * Quando {@code full} é verdadeiro, {@code changed} traz o cadastro completo e a réplica
+ * deve descartar o que tinha (primeira carga ou versão anterior às exclusões retidas).
+ * Diferenças podem repetir alterações já entregues; aplicá-las de novo não muda a réplica.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfessionalRosterDelta {
+
+    /**
+     * Instante da leitura, em milissegundos desde a época Unix; comparável entre as instâncias
+     */
+    private long version;
+    private boolean full;
+    private List<ProfessionalResponse> changed;
+    private List<Long> removed;
+}
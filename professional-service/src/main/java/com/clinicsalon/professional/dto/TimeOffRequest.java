@@ -0,0 +1,26 @@
+package com.clinicsalon.professional.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeOffRequest {
+
+    @NotNull(message = "O início da ausência é obrigatório")
+    private LocalDateTime startTime;
+
+    @NotNull(message = "O fim da ausência é obrigatório")
+    private LocalDateTime endTime;
+
+    @Size(max = 255, message = "O motivo deve ter no máximo 255 caracteres")
+    private String reason;
+}
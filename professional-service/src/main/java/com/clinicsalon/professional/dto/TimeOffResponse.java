@@ -0,0 +1,21 @@
+package com.clinicsalon.professional.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeOffResponse {
+
+    private Long id;
+    private Long professionalId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String reason;
+}
@@ -0,0 +1,25 @@
+package com.clinicsalon.professional.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Agenda semanal completa; substitui todos os períodos cadastrados do profissional
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeeklyScheduleRequest {
+
+    @NotNull(message = "Os períodos são obrigatórios")
+    @Size(max = 100, message = "A agenda semanal aceita no máximo 100 períodos")
+    private List<@Valid WorkingPeriodRequest> periods;
+}
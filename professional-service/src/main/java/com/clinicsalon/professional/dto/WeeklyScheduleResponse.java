@@ -0,0 +1,18 @@
+package com.clinicsalon.professional.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeeklyScheduleResponse {
+
+    private Long professionalId;
+    private List<WorkingPeriodResponse> periods;
+}
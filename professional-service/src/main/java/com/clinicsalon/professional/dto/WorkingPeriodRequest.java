@@ -0,0 +1,33 @@
+package com.clinicsalon.professional.dto;
+
+import com.clinicsalon.professional.model.WorkingPeriodType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkingPeriodRequest {
+
+    @NotNull(message = "O dia da semana é obrigatório")
+    private DayOfWeek dayOfWeek;
+
+    @NotNull(message = "O horário de início é obrigatório")
+    private LocalTime startTime;
+
+    /**
+     * 00:00 indica o fim do dia
+     */
+    @NotNull(message = "O horário de término é obrigatório")
+    private LocalTime endTime;
+
+    @Builder.Default
+    private WorkingPeriodType type = WorkingPeriodType.WORK;
+}
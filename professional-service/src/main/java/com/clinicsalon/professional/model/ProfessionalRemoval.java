@@ -0,0 +1,34 @@
+package com.clinicsalon.professional.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro da exclusão de um profissional, para que as réplicas do cadastro recebam a remoção
+ * na sincronização por diferenças. Mantido apenas durante professional.roster.tombstone-retention
+ */
+@Entity
+@Table(name = "professional_removals",
+       indexes = @Index(name = "idx_professional_removals_removed_at", columnList = "removed_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfessionalRemoval {
+
+    @Id
+    @Column(name = "professional_id")
+    private Long professionalId;
+
+    @Column(name = "removed_at", nullable = false)
+    private LocalDateTime removedAt;
+}
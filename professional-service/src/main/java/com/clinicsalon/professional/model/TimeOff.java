@@ -0,0 +1,47 @@
+package com.clinicsalon.professional.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ausência pontual de um profissional (férias, folga, compromisso), que se sobrepõe à agenda semanal
+ */
+@Entity
+@Table(name = "professional_time_off",
+       indexes = @Index(name = "idx_time_off_professional_period", columnList = "professional_id, start_time, end_time"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeOff {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "professional_id", nullable = false)
+    private Long professionalId;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Column
+    private String reason;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
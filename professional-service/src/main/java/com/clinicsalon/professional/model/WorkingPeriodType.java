@@ -0,0 +1,9 @@
+package com.clinicsalon.professional.model;
+
+/**
+ * Tipo de período da agenda semanal: expediente ou intervalo dentro do expediente
+ */
+public enum WorkingPeriodType {
+    WORK,
+    BREAK
+}
@@ -0,0 +1,23 @@
+package com.clinicsalon.professional.repository;
+
+import com.clinicsalon.professional.model.ProfessionalRemoval;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProfessionalRemovalRepository extends JpaRepository<ProfessionalRemoval, Long> {
+
+    List<ProfessionalRemoval> findByRemovedAtAfter(LocalDateTime after);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProfessionalRemoval r WHERE r.removedAt < :before")
+    int deleteByRemovedAtBefore(@Param("before") LocalDateTime before);
+}
@@ -4,6 +4,7 @@ import com.clinicsalon.professional.model.Professional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,8 @@ public interface ProfessionalRepository extends JpaRepository<Professional, Long
     
     List<Professional> findBySpecializationIgnoreCase(String specialization);
     
+    List<Professional> findByUpdatedAtAfter(LocalDateTime after);
+    
     boolean existsByEmail(String email);
     
     boolean existsByCpf(String cpf);
@@ -0,0 +1,34 @@
+package com.clinicsalon.professional.repository;
+
+import com.clinicsalon.professional.model.TimeOff;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TimeOffRepository extends JpaRepository<TimeOff, Long> {
+
+    Optional<TimeOff> findByIdAndProfessionalId(Long id, Long professionalId);
+
+    List<TimeOff> findByProfessionalIdAndEndTimeAfterOrderByStartTime(Long professionalId, LocalDateTime after);
+
+    /**
+     * Ausências dos profissionais que se sobrepõem ao período [from, to)
+     */
+    @Query("SELECT t FROM TimeOff t WHERE t.professionalId IN :professionalIds " +
+           "AND t.startTime < :to AND t.endTime > :from")
+    List<TimeOff> findOverlapping(@Param("professionalIds") Collection<Long> professionalIds,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM TimeOff t WHERE t.professionalId = :professionalId")
+    int deleteByProfessionalId(@Param("professionalId") Long professionalId);
+}
@@ -0,0 +1,23 @@
+package com.clinicsalon.professional.repository;
+
+import com.clinicsalon.professional.model.WorkingPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkingPeriodRepository extends JpaRepository<WorkingPeriod, Long> {
+
+    List<WorkingPeriod> findByProfessionalIdOrderByDayOfWeekAscStartTimeAsc(Long professionalId);
+
+    List<WorkingPeriod> findByProfessionalIdIn(Collection<Long> professionalIds);
+
+    @Modifying
+    @Query("DELETE FROM WorkingPeriod w WHERE w.professionalId = :professionalId")
+    int deleteByProfessionalId(@Param("professionalId") Long professionalId);
+}
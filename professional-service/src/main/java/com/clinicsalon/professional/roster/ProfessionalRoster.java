@@ -0,0 +1,225 @@
+package com.clinicsalon.professional.roster;
+
+import com.clinicsalon.professional.dto.ProfessionalResponse;
+import com.clinicsalon.professional.dto.ProfessionalRosterDelta;
+import com.clinicsalon.professional.mapper.ProfessionalMapper;
+import com.clinicsalon.professional.model.ProfessionalRemoval;
+import com.clinicsalon.professional.repository.ProfessionalRemovalRepository;
+import com.clinicsalon.professional.repository.ProfessionalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Cadastro de profissionais em memória, servido a partir de um {@link RosterSnapshot} imutável.
+ * Cada gravação gera uma nova versão após o commit; leitores nunca bloqueiam e sempre veem
+ * uma versão completa. Como outras instâncias também gravam, o cadastro é reconciliado com
+ * o banco periodicamente (professional.roster.reconcile-interval).
+ * <p>
+ * As diferenças para as réplicas dos outros serviços vêm do banco, e não da cópia em memória, para
+ * que qualquer instância responda a qualquer versão: a versão é o instante da leitura, as alterações
+ * são os profissionais com updated_at posterior a ela e as exclusões ficam em professional_removals.
+ * Cada leitura recua professional.roster.overlap para incluir gravações confirmadas depois de
+ * lidas as vizinhas; as repetições são inofensivas para a réplica. Exclusões mais antigas que
+ * professional.roster.tombstone-retention são apagadas; quem pedir diferenças desde antes disso
+ * recebe o cadastro completo.
+ */
+@Component
+@Slf4j
+public class ProfessionalRoster {
+
+    private final ProfessionalRepository professionalRepository;
+    private final ProfessionalRemovalRepository removalRepository;
+    private final ProfessionalMapper professionalMapper;
+    private final Duration overlap;
+    private final Duration tombstoneRetention;
+    private final Clock clock;
+    private volatile RosterSnapshot snapshot;
+
+    @Autowired
+    public ProfessionalRoster(ProfessionalRepository professionalRepository,
+                              ProfessionalRemovalRepository removalRepository,
+                              ProfessionalMapper professionalMapper,
+                              @Value("${professional.roster.overlap:10s}") Duration overlap,
+                              @Value("${professional.roster.tombstone-retention:10m}") Duration tombstoneRetention) {
+        // Mesmo fuso de updated_at, gravado com LocalDateTime.now() pelo ProfessionalService
+        this(professionalRepository, removalRepository, professionalMapper, overlap, tombstoneRetention,
+                Clock.systemDefaultZone());
+    }
+
+    ProfessionalRoster(ProfessionalRepository professionalRepository,
+                       ProfessionalRemovalRepository removalRepository,
+                       ProfessionalMapper professionalMapper,
+                       Duration overlap, Duration tombstoneRetention, Clock clock) {
+        this.professionalRepository = professionalRepository;
+        this.removalRepository = removalRepository;
+        this.professionalMapper = professionalMapper;
+        this.overlap = overlap;
+        this.tombstoneRetention = tombstoneRetention;
+        this.clock = clock;
+    }
+
+    /**
+     * Versão atual, carregada do banco no primeiro acesso
+     */
+    public RosterSnapshot current() {
+        RosterSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = RosterSnapshot.initial(loadAll());
+                    log.info("Professional roster loaded with {} professionals", snapshot.getAll().size());
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Alterações desde a versão informada, lidas do banco. Retorna o cadastro completo se a versão
+     * não for informada ou for anterior às exclusões já apagadas.
+     */
+    public ProfessionalRosterDelta delta(Long sinceVersion) {
+        Instant now = clock.instant();
+        LocalDateTime from = sinceVersion != null
+                ? toDateTime(Instant.ofEpochMilli(sinceVersion).minus(overlap))
+                : null;
+        if (from == null || from.isBefore(toDateTime(now.minus(tombstoneRetention)))) {
+            return ProfessionalRosterDelta.builder()
+                    .version(now.toEpochMilli())
+                    .full(true)
+                    .changed(loadAll())
+                    .removed(List.of())
+                    .build();
+        }
+
+        List<ProfessionalResponse> changed = professionalRepository.findByUpdatedAtAfter(from).stream()
+                .map(professionalMapper::toResponse)
+                .sorted(Comparator.comparing(ProfessionalResponse::getId))
+                .toList();
+        List<Long> removed = removalRepository.findByRemovedAtAfter(from).stream()
+                .map(ProfessionalRemoval::getProfessionalId)
+                .sorted()
+                .toList();
+
+        return ProfessionalRosterDelta.builder()
+                .version(now.toEpochMilli())
+                .full(false)
+                .changed(changed)
+                .removed(removed)
+                .build();
+    }
+
+    /**
+     * Publica a versão do profissional após o commit da transação corrente
+     */
+    public void put(ProfessionalResponse professional) {
+        afterCommit(() -> apply(List.of(professional), List.of()));
+    }
+
+    /**
+     * Registra a exclusão na transação corrente, para as réplicas, e remove o profissional
+     * da cópia em memória após o commit
+     */
+    public void remove(Long id) {
+        removalRepository.save(ProfessionalRemoval.builder()
+                .professionalId(id)
+                .removedAt(toDateTime(clock.instant()))
+                .build());
+        afterCommit(() -> apply(List.of(), List.of(id)));
+    }
+
+    /**
+     * Apaga as exclusões antigas, compara o cadastro com o banco e publica uma nova versão
+     * com as diferenças
+     */
+    @Scheduled(fixedDelayString = "${professional.roster.reconcile-interval:60000}",
+               initialDelayString = "${professional.roster.reconcile-interval:60000}")
+    public void reconcile() {
+        pruneRemovals();
+        RosterSnapshot current = current();
+        List<ProfessionalResponse> stored = loadAll();
+
+        List<ProfessionalResponse> changed = new ArrayList<>();
+        Set<Long> storedIds = new HashSet<>(stored.size() * 2);
+        for (ProfessionalResponse professional : stored) {
+            storedIds.add(professional.getId());
+            if (!Objects.equals(professional, current.get(professional.getId()))) {
+                changed.add(professional);
+            }
+        }
+        List<Long> removed = current.getAll().stream()
+                .map(ProfessionalResponse::getId)
+                .filter(id -> !storedIds.contains(id))
+                .toList();
+
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            // Uma gravação publicada durante a leitura do banco é mais recente que esta leitura
+            if (snapshot != current) {
+                log.debug("Professional roster changed during reconciliation, retrying on next run");
+                return;
+            }
+            snapshot = current.apply(changed, removed);
+        }
+        log.info("Professional roster reconciled to version {}: {} changed, {} removed",
+                snapshot.getVersion(), changed.size(), removed.size());
+    }
+
+    private synchronized void apply(List<ProfessionalResponse> changed, List<Long> removed) {
+        snapshot = current().apply(changed, removed);
+        log.debug("Professional roster at version {}", snapshot.getVersion());
+    }
+
+    private void pruneRemovals() {
+        int pruned = removalRepository.deleteByRemovedAtBefore(toDateTime(clock.instant().minus(tombstoneRetention)));
+        if (pruned > 0) {
+            log.debug("{} professional removals older than {} pruned", pruned, tombstoneRetention);
+        }
+    }
+
+    private List<ProfessionalResponse> loadAll() {
+        return professionalRepository.findAll().stream()
+                .map(professionalMapper::toResponse)
+                .toList();
+    }
+
+    /**
+     * Truncado à precisão da coluna, como o updated_at gravado pelo ProfessionalService
+     */
+    private LocalDateTime toDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, clock.getZone()).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.clinicsalon.professional.roster;
+
+import com.clinicsalon.professional.dto.ProfessionalResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cópia imutável do cadastro de profissionais em uma versão local da instância.
+ * As listas por situação e especialização são pré-calculadas na construção.
+ * Os objetos de resposta são compartilhados entre leitores e não devem ser alterados.
+ */
+public final class RosterSnapshot {
+
+    private final long version;
+    private final Map<Long, ProfessionalResponse> byId;
+    private final List<ProfessionalResponse> all;
+    private final List<ProfessionalResponse> active;
+    private final Map<String, List<ProfessionalResponse>> bySpecialization;
+
+    private RosterSnapshot(long version, Map<Long, ProfessionalResponse> byId) {
+        this.version = version;
+        this.byId = Collections.unmodifiableMap(byId);
+
+        List<ProfessionalResponse> sorted = new ArrayList<>(byId.values());
+        sorted.sort(Comparator.comparing(ProfessionalResponse::getId));
+        this.all = List.copyOf(sorted);
+        this.active = sorted.stream().filter(p -> Boolean.TRUE.equals(p.getIsActive())).toList();
+
+        Map<String, List<ProfessionalResponse>> specializations = new HashMap<>();
+        for (ProfessionalResponse professional : sorted) {
+            if (professional.getSpecialization() != null) {
+                specializations.computeIfAbsent(key(professional.getSpecialization()), k -> new ArrayList<>())
+                        .add(professional);
+            }
+        }
+        specializations.replaceAll((k, list) -> List.copyOf(list));
+        this.bySpecialization = Collections.unmodifiableMap(specializations);
+    }
+
+    /**
+     * Primeira versão, carregada do banco
+     */
+    public static RosterSnapshot initial(List<ProfessionalResponse> professionals) {
+        Map<Long, ProfessionalResponse> byId = new HashMap<>(professionals.size() * 2);
+        for (ProfessionalResponse professional : professionals) {
+            byId.put(professional.getId(), professional);
+        }
+        return new RosterSnapshot(1L, byId);
+    }
+
+    /**
+     * Nova versão com os profissionais alterados e removidos, ou a própria instância se não houver mudança
+     */
+    public RosterSnapshot apply(List<ProfessionalResponse> changed, List<Long> removed) {
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return this;
+        }
+        Map<Long, ProfessionalResponse> nextById = new HashMap<>(byId);
+        for (ProfessionalResponse professional : changed) {
+            nextById.put(professional.getId(), professional);
+        }
+        removed.forEach(nextById::remove);
+        return new RosterSnapshot(version + 1, nextById);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public ProfessionalResponse get(Long id) {
+        return byId.get(id);
+    }
+
+    public List<ProfessionalResponse> getAll() {
+        return all;
+    }
+
+    public List<ProfessionalResponse> getActive() {
+        return active;
+    }
+
+    public List<ProfessionalResponse> getBySpecialization(String specialization) {
+        return bySpecialization.getOrDefault(key(specialization), List.of());
+    }
+
+    private static String key(String specialization) {
+        return specialization.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,122 @@
+package com.clinicsalon.professional.schedule;
+
+import com.clinicsalon.professional.model.TimeOff;
+import com.clinicsalon.professional.model.WorkingPeriod;
+import com.clinicsalon.professional.model.WorkingPeriodType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Agenda semanal de um profissional em resolução de minuto: um mapa de bits de
+ * {@value #MINUTES_PER_DAY} posições por dia da semana, com os expedientes marcados e os
+ * intervalos removidos. A disponibilidade de uma data é o mapa do dia da semana sem os
+ * minutos cobertos por ausências. Um profissional sem nenhum período cadastrado não tem
+ * restrição de expediente ({@link #unconstrained()}): todos os minutos são disponíveis, exceto
+ * as ausências.
+ */
+public final class WeeklyAvailability {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final WeeklyAvailability EMPTY = new WeeklyAvailability(new BitSet[7]);
+
+    private static final WeeklyAvailability UNCONSTRAINED = fullWeek();
+
+    private final BitSet[] days;
+
+    private WeeklyAvailability(BitSet[] days) {
+        this.days = days;
+    }
+
+    public static WeeklyAvailability empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Agenda sem restrição de expediente, para profissionais que ainda não cadastraram períodos
+     */
+    public static WeeklyAvailability unconstrained() {
+        return UNCONSTRAINED;
+    }
+
+    public static WeeklyAvailability of(List<WorkingPeriod> periods) {
+        BitSet[] days = new BitSet[7];
+        for (WorkingPeriod period : periods) {
+            if (period.getType() == WorkingPeriodType.WORK) {
+                int day = period.getDayOfWeek().ordinal();
+                if (days[day] == null) {
+                    days[day] = new BitSet(MINUTES_PER_DAY);
+                }
+                days[day].set(startMinute(period.getStartTime()), endMinute(period.getEndTime()));
+            }
+        }
+        // Intervalos são aplicados depois, para prevalecerem sobre qualquer expediente do dia
+        for (WorkingPeriod period : periods) {
+            BitSet day = days[period.getDayOfWeek().ordinal()];
+            if (period.getType() == WorkingPeriodType.BREAK && day != null) {
+                day.clear(startMinute(period.getStartTime()), endMinute(period.getEndTime()));
+            }
+        }
+        return new WeeklyAvailability(days);
+    }
+
+    /**
+     * Minutos disponíveis na data, descontadas as ausências que a alcançam
+     */
+    public BitSet forDate(LocalDate date, List<TimeOff> timeOffs) {
+        BitSet template = days[date.getDayOfWeek().ordinal()];
+        if (template == null || template.isEmpty()) {
+            return new BitSet(0);
+        }
+
+        BitSet day = (BitSet) template.clone();
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        for (TimeOff timeOff : timeOffs) {
+            if (timeOff.getStartTime().isBefore(dayEnd) && timeOff.getEndTime().isAfter(dayStart)) {
+                LocalDateTime from = timeOff.getStartTime().isAfter(dayStart) ? timeOff.getStartTime() : dayStart;
+                LocalDateTime to = timeOff.getEndTime().isBefore(dayEnd) ? timeOff.getEndTime() : dayEnd;
+                // Minutos parcialmente cobertos também ficam indisponíveis
+                int fromMinute = (int) ChronoUnit.MINUTES.between(dayStart, from);
+                int toMinute = (int) Math.min(MINUTES_PER_DAY,
+                        ChronoUnit.MINUTES.between(dayStart, to.plusMinutes(1).minusNanos(1)));
+                day.clear(fromMinute, toMinute);
+            }
+        }
+        return day;
+    }
+
+    private static WeeklyAvailability fullWeek() {
+        BitSet[] days = new BitSet[7];
+        for (int day = 0; day < days.length; day++) {
+            days[day] = new BitSet(MINUTES_PER_DAY);
+            days[day].set(0, MINUTES_PER_DAY);
+        }
+        return new WeeklyAvailability(days);
+    }
+
+    public static String encode(BitSet minutes) {
+        return minutes.isEmpty() ? "" : Base64.getEncoder().encodeToString(minutes.toByteArray());
+    }
+
+    /**
+     * Minuto do dia em que o período começa
+     */
+    public static int startMinute(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Minuto do dia (exclusivo) em que o período termina; 00:00 representa o fim do dia
+     */
+    public static int endMinute(LocalTime time) {
+        int minute = time.getHour() * 60 + time.getMinute() + (time.getSecond() > 0 || time.getNano() > 0 ? 1 : 0);
+        return minute == 0 ? MINUTES_PER_DAY : minute;
+    }
+}
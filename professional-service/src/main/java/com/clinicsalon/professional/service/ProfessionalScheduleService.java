@@ -0,0 +1,231 @@
+package com.clinicsalon.professional.service;
+
+import com.clinicsalon.monitoring.aspect.MonitorPerformance;
+import com.clinicsalon.professional.dto.AvailabilityRequest;
+import com.clinicsalon.professional.dto.ProfessionalAvailabilityResponse;
+import com.clinicsalon.professional.dto.ProfessionalResponse;
+import com.clinicsalon.professional.dto.TimeOffRequest;
+import com.clinicsalon.professional.dto.TimeOffResponse;
+import com.clinicsalon.professional.dto.WeeklyScheduleRequest;
+import com.clinicsalon.professional.dto.WeeklyScheduleResponse;
+import com.clinicsalon.professional.dto.WorkingPeriodRequest;
+import com.clinicsalon.professional.dto.WorkingPeriodResponse;
+import com.clinicsalon.professional.exception.InvalidRequestException;
+import com.clinicsalon.professional.exception.ResourceNotFoundException;
+import com.clinicsalon.professional.model.TimeOff;
+import com.clinicsalon.professional.model.WorkingPeriod;
+import com.clinicsalon.professional.model.WorkingPeriodType;
+import com.clinicsalon.professional.repository.ProfessionalRepository;
+import com.clinicsalon.professional.repository.TimeOffRepository;
+import com.clinicsalon.professional.repository.WorkingPeriodRepository;
+import com.clinicsalon.professional.roster.ProfessionalRoster;
+import com.clinicsalon.professional.schedule.WeeklyAvailability;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Agenda dos profissionais: expedientes e intervalos semanais, ausências pontuais e a
+ * disponibilidade calculada a partir deles. A disponibilidade de vários profissionais é
+ * montada com duas consultas (períodos e ausências) e devolvida como mapas de bits por dia,
+ * para que o appointment-service faça busca de horários e validação de reservas em memória.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProfessionalScheduleService {
+
+    static final int MAX_AVAILABILITY_DAYS = 62;
+
+    private final ProfessionalRepository professionalRepository;
+    private final WorkingPeriodRepository workingPeriodRepository;
+    private final TimeOffRepository timeOffRepository;
+    private final ProfessionalRoster professionalRoster;
+
+    @Transactional(readOnly = true)
+    @MonitorPerformance(description = "Buscar agenda semanal do profissional", thresholdMillis = 200)
+    public WeeklyScheduleResponse getWeeklySchedule(Long professionalId) {
+        log.info("Fetching weekly schedule for professional ID: {}", professionalId);
+        ensureProfessionalExists(professionalId);
+
+        return toResponse(professionalId,
+                workingPeriodRepository.findByProfessionalIdOrderByDayOfWeekAscStartTimeAsc(professionalId));
+    }
+
+    @Transactional
+    @MonitorPerformance(description = "Atualizar agenda semanal do profissional", thresholdMillis = 500, alertOnError = true)
+    public WeeklyScheduleResponse replaceWeeklySchedule(Long professionalId, WeeklyScheduleRequest request) {
+        log.info("Replacing weekly schedule for professional ID: {} with {} periods",
+                professionalId, request.getPeriods().size());
+        ensureProfessionalExists(professionalId);
+
+        List<WorkingPeriod> periods = new ArrayList<>(request.getPeriods().size());
+        for (WorkingPeriodRequest period : request.getPeriods()) {
+            int start = WeeklyAvailability.startMinute(period.getStartTime());
+            int end = WeeklyAvailability.endMinute(period.getEndTime());
+            if (start >= end) {
+                throw new InvalidRequestException("Period on " + period.getDayOfWeek()
+                        + " must end after it starts: " + period.getStartTime() + " - " + period.getEndTime());
+            }
+            periods.add(WorkingPeriod.builder()
+                    .professionalId(professionalId)
+                    .dayOfWeek(period.getDayOfWeek())
+                    .startTime(period.getStartTime())
+                    .endTime(period.getEndTime())
+                    .type(period.getType() != null ? period.getType() : WorkingPeriodType.WORK)
+                    .build());
+        }
+
+        workingPeriodRepository.deleteByProfessionalId(professionalId);
+        List<WorkingPeriod> saved = workingPeriodRepository.saveAll(periods);
+        log.info("Weekly schedule updated for professional ID: {}", professionalId);
+
+        return toResponse(professionalId, saved);
+    }
+
+    @Transactional(readOnly = true)
+    @MonitorPerformance(description = "Listar ausências do profissional", thresholdMillis = 200)
+    public List<TimeOffResponse> getUpcomingTimeOff(Long professionalId) {
+        log.info("Fetching upcoming time off for professional ID: {}", professionalId);
+        ensureProfessionalExists(professionalId);
+
+        return timeOffRepository.findByProfessionalIdAndEndTimeAfterOrderByStartTime(professionalId, LocalDateTime.now())
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Transactional
+    @MonitorPerformance(description = "Registrar ausência do profissional", thresholdMillis = 300, alertOnError = true)
+    public TimeOffResponse addTimeOff(Long professionalId, TimeOffRequest request) {
+        log.info("Adding time off for professional ID: {} from {} to {}",
+                professionalId, request.getStartTime(), request.getEndTime());
+        ensureProfessionalExists(professionalId);
+
+        if (!request.getEndTime().isAfter(request.getStartTime())) {
+            throw new InvalidRequestException("Time off must end after it starts");
+        }
+
+        TimeOff timeOff = timeOffRepository.save(TimeOff.builder()
+                .professionalId(professionalId)
+                .startTime(request.getStartTime())
+                .endTime(request.getEndTime())
+                .reason(request.getReason())
+                .createdAt(LocalDateTime.now())
+                .build());
+        log.info("Time off created with ID: {}", timeOff.getId());
+
+        return toResponse(timeOff);
+    }
+
+    @Transactional
+    @MonitorPerformance(description = "Remover ausência do profissional", thresholdMillis = 300, alertOnError = true)
+    public void deleteTimeOff(Long professionalId, Long timeOffId) {
+        log.info("Deleting time off ID: {} of professional ID: {}", timeOffId, professionalId);
+
+        TimeOff timeOff = timeOffRepository.findByIdAndProfessionalId(timeOffId, professionalId)
+                .orElseThrow(() -> new ResourceNotFoundException("Time off not found with ID: " + timeOffId));
+        timeOffRepository.delete(timeOff);
+    }
+
+    /**
+     * Disponibilidade dos profissionais, em minutos, para cada dia do intervalo. Profissionais
+     * inativos ou inexistentes recebem todos os dias vazios; profissionais ativos sem expediente
+     * cadastrado recebem os dias inteiros, menos as ausências.
+     */
+    @Transactional(readOnly = true)
+    @MonitorPerformance(description = "Calcular disponibilidade de profissionais", thresholdMillis = 500)
+    public List<ProfessionalAvailabilityResponse> getAvailability(AvailabilityRequest request) {
+        LocalDate from = request.getFrom();
+        LocalDate to = request.getTo();
+        if (to.isBefore(from)) {
+            throw new InvalidRequestException("The end date must not be before the start date");
+        }
+        int dayCount = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (dayCount > MAX_AVAILABILITY_DAYS) {
+            throw new InvalidRequestException("Availability can be requested for at most "
+                    + MAX_AVAILABILITY_DAYS + " days at a time");
+        }
+
+        Set<Long> professionalIds = new LinkedHashSet<>(request.getProfessionalIds());
+        log.info("Computing availability of {} professionals from {} to {}", professionalIds.size(), from, to);
+
+        Map<Long, List<WorkingPeriod>> periodsByProfessional = new HashMap<>();
+        for (WorkingPeriod period : workingPeriodRepository.findByProfessionalIdIn(professionalIds)) {
+            periodsByProfessional.computeIfAbsent(period.getProfessionalId(), id -> new ArrayList<>()).add(period);
+        }
+        Map<Long, List<TimeOff>> timeOffByProfessional = new HashMap<>();
+        for (TimeOff timeOff : timeOffRepository.findOverlapping(
+                professionalIds, from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            timeOffByProfessional.computeIfAbsent(timeOff.getProfessionalId(), id -> new ArrayList<>()).add(timeOff);
+        }
+
+        List<ProfessionalAvailabilityResponse> responses = new ArrayList<>(professionalIds.size());
+        for (Long professionalId : professionalIds) {
+            ProfessionalResponse professional = professionalRoster.current().get(professionalId);
+            boolean active = professional != null && Boolean.TRUE.equals(professional.getIsActive());
+            List<WorkingPeriod> periods = periodsByProfessional.getOrDefault(professionalId, List.of());
+            // Sem expediente cadastrado o profissional atende sem restrição de horário
+            boolean scheduleConfigured = !periods.isEmpty();
+            WeeklyAvailability weekly = !active
+                    ? WeeklyAvailability.empty()
+                    : scheduleConfigured ? WeeklyAvailability.of(periods) : WeeklyAvailability.unconstrained();
+            List<TimeOff> timeOffs = timeOffByProfessional.getOrDefault(professionalId, List.of());
+
+            List<String> days = new ArrayList<>(dayCount);
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                days.add(WeeklyAvailability.encode(weekly.forDate(date, timeOffs)));
+            }
+            responses.add(ProfessionalAvailabilityResponse.builder()
+                    .professionalId(professionalId)
+                    .from(from)
+                    .days(days)
+                    .scheduleConfigured(scheduleConfigured)
+                    .build());
+        }
+        return responses;
+    }
+
+    private void ensureProfessionalExists(Long professionalId) {
+        if (professionalRoster.current().get(professionalId) == null
+                && !professionalRepository.existsById(professionalId)) {
+            throw new ResourceNotFoundException("Professional not found with ID: " + professionalId);
+        }
+    }
+
+    private WeeklyScheduleResponse toResponse(Long professionalId, List<WorkingPeriod> periods) {
+        return WeeklyScheduleResponse.builder()
+                .professionalId(professionalId)
+                .periods(periods.stream()
+                        .map(period -> WorkingPeriodResponse.builder()
+                                .id(period.getId())
+                                .dayOfWeek(period.getDayOfWeek())
+                                .startTime(period.getStartTime())
+                                .endTime(period.getEndTime())
+                                .type(period.getType())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private TimeOffResponse toResponse(TimeOff timeOff) {
+        return TimeOffResponse.builder()
+                .id(timeOff.getId())
+                .professionalId(timeOff.getProfessionalId())
+                .startTime(timeOff.getStartTime())
+                .endTime(timeOff.getEndTime())
+                .reason(timeOff.getReason())
+                .build();
+    }
+}
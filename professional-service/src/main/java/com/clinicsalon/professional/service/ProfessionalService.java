@@ -2,19 +2,23 @@ package com.clinicsalon.professional.service;
 
 import com.clinicsalon.professional.dto.ProfessionalRequest;
 import com.clinicsalon.professional.dto.ProfessionalResponse;
+import com.clinicsalon.professional.dto.ProfessionalRosterDelta;
 import com.clinicsalon.professional.exception.ResourceAlreadyExistsException;
 import com.clinicsalon.professional.exception.ResourceNotFoundException;
 import com.clinicsalon.professional.mapper.ProfessionalMapper;
 import com.clinicsalon.professional.model.Professional;
 import com.clinicsalon.professional.repository.ProfessionalRepository;
+import com.clinicsalon.professional.repository.TimeOffRepository;
+import com.clinicsalon.professional.repository.WorkingPeriodRepository;
+import com.clinicsalon.professional.roster.ProfessionalRoster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import com.clinicsalon.monitoring.aspect.MonitorPerformance;
 
@@ -25,6 +29,9 @@ public class ProfessionalService {
 
     private final ProfessionalRepository professionalRepository;
     private final ProfessionalMapper professionalMapper;
+    private final ProfessionalRoster professionalRoster;
+    private final WorkingPeriodRepository workingPeriodRepository;
+    private final TimeOffRepository timeOffRepository;
 
     @Transactional
     @MonitorPerformance(description = "Criar profissional", thresholdMillis = 500, alertOnError = true)
@@ -41,48 +48,56 @@ public class ProfessionalService {
         }
         
         Professional professional = professionalMapper.toEntity(request);
-        professional.setCreatedAt(LocalDateTime.now());
-        professional.setUpdatedAt(LocalDateTime.now());
+        LocalDateTime now = now();
+        professional.setCreatedAt(now);
+        professional.setUpdatedAt(now);
         
         Professional savedProfessional = professionalRepository.save(professional);
         log.info("Professional created with ID: {}", savedProfessional.getId());
         
-        return professionalMapper.toResponse(savedProfessional);
+        return publish(savedProfessional);
     }
     
     @MonitorPerformance(description = "Buscar profissional por ID", thresholdMillis = 200)
     public ProfessionalResponse getProfessionalById(Long id) {
         log.info("Fetching professional with ID: {}", id);
         
-        Professional professional = findProfessionalById(id);
-        return professionalMapper.toResponse(professional);
+        ProfessionalResponse cached = professionalRoster.current().get(id);
+        if (cached != null) {
+            return cached;
+        }
+        return professionalMapper.toResponse(findProfessionalById(id));
     }
     
     @MonitorPerformance(description = "Listar todos os profissionais", thresholdMillis = 300)
     public List<ProfessionalResponse> getAllProfessionals() {
         log.info("Fetching all professionals");
         
-        return professionalRepository.findAll().stream()
-                .map(professionalMapper::toResponse)
-                .collect(Collectors.toList());
+        return professionalRoster.current().getAll();
     }
     
     @MonitorPerformance(description = "Listar profissionais ativos", thresholdMillis = 300)
     public List<ProfessionalResponse> getActiveProfessionals() {
         log.info("Fetching active professionals");
         
-        return professionalRepository.findByIsActiveTrue().stream()
-                .map(professionalMapper::toResponse)
-                .collect(Collectors.toList());
+        return professionalRoster.current().getActive();
     }
     
     @MonitorPerformance(description = "Buscar profissionais por especialização", thresholdMillis = 300)
     public List<ProfessionalResponse> getProfessionalsBySpecialization(String specialization) {
         log.info("Fetching professionals with specialization: {}", specialization);
         
-        return professionalRepository.findBySpecializationIgnoreCase(specialization).stream()
-                .map(professionalMapper::toResponse)
-                .collect(Collectors.toList());
+        return professionalRoster.current().getBySpecialization(specialization);
+    }
+    
+    /**
+     * Alterações do cadastro desde a versão informada, para réplicas locais dos outros serviços
+     */
+    @MonitorPerformance(description = "Buscar alterações do cadastro de profissionais", thresholdMillis = 200)
+    public ProfessionalRosterDelta getRosterDelta(Long sinceVersion) {
+        log.info("Fetching professional roster changes since version {}", sinceVersion);
+        
+        return professionalRoster.delta(sinceVersion);
     }
     
     @Transactional
@@ -105,12 +120,12 @@ public class ProfessionalService {
         }
         
         professionalMapper.updateEntityFromRequest(request, professional);
-        professional.setUpdatedAt(LocalDateTime.now());
+        professional.setUpdatedAt(now());
         
         Professional updatedProfessional = professionalRepository.save(professional);
         log.info("Professional updated with ID: {}", updatedProfessional.getId());
         
-        return professionalMapper.toResponse(updatedProfessional);
+        return publish(updatedProfessional);
     }
     
     @Transactional
@@ -120,12 +135,12 @@ public class ProfessionalService {
         
         Professional professional = findProfessionalById(id);
         professional.setIsActive(false);
-        professional.setUpdatedAt(LocalDateTime.now());
+        professional.setUpdatedAt(now());
         
         Professional deactivatedProfessional = professionalRepository.save(professional);
         log.info("Professional deactivated with ID: {}", deactivatedProfessional.getId());
         
-        return professionalMapper.toResponse(deactivatedProfessional);
+        return publish(deactivatedProfessional);
     }
     
     @Transactional
@@ -135,12 +150,12 @@ public class ProfessionalService {
         
         Professional professional = findProfessionalById(id);
         professional.setIsActive(true);
-        professional.setUpdatedAt(LocalDateTime.now());
+        professional.setUpdatedAt(now());
         
         Professional activatedProfessional = professionalRepository.save(professional);
         log.info("Professional activated with ID: {}", activatedProfessional.getId());
         
-        return professionalMapper.toResponse(activatedProfessional);
+        return publish(activatedProfessional);
     }
     
     @Transactional
@@ -149,7 +164,10 @@ public class ProfessionalService {
         log.info("Deleting professional with ID: {}", id);
         
         Professional professional = findProfessionalById(id);
+        workingPeriodRepository.deleteByProfessionalId(id);
+        timeOffRepository.deleteByProfessionalId(id);
         professionalRepository.delete(professional);
+        professionalRoster.remove(id);
         
         log.info("Professional deleted with ID: {}", id);
     }
@@ -157,7 +175,21 @@ public class ProfessionalService {
     public String getProfessionalName(Long id) {
         log.info("Fetching professional name with ID: {}", id);
         
-        return findProfessionalById(id).getName();
+        ProfessionalResponse cached = professionalRoster.current().get(id);
+        return cached != null ? cached.getName() : findProfessionalById(id).getName();
+    }
+    
+    private ProfessionalResponse publish(Professional professional) {
+        ProfessionalResponse response = professionalMapper.toResponse(professional);
+        professionalRoster.put(response);
+        return response;
+    }
+    
+    /**
+     * Truncado à precisão da coluna, para que o cadastro em memória coincida com o banco na reconciliação
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
     
     private Professional findProfessionalById(Long id) {
@@ -0,0 +1,8 @@
+-- Exclusões de profissionais, consultadas pelas réplicas do cadastro na sincronização por diferenças.
+-- Compartilhada entre as instâncias; linhas mais antigas que professional.roster.tombstone-retention são apagadas.
+CREATE TABLE professional_removals (
+    professional_id BIGINT PRIMARY KEY,
+    removed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_professional_removals_removed_at ON professional_removals(removed_at);
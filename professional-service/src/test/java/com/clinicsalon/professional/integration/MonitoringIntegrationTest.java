@@ -20,7 +20,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * Testes de integração para verificar o funcionamento do módulo de monitoramento
  * no serviço de profissionais
  */
-@SpringBootTest
+@SpringBootTest(properties = "clinicsalon.security.gateway.signing-key=test-signing-key")
 @ActiveProfiles("monitoring")
 @Tag("integration")
 public class MonitoringIntegrationTest {
@@ -33,7 +33,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * Testes de integração para o serviço de profissionais
  * Testa fluxos completos de gerenciamento de profissionais e serviços usando a API REST
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "clinicsalon.security.gateway.signing-key=test-signing-key")
 @ActiveProfiles("test")
 @Tag("integration")
 public class ProfessionalServiceIntegrationTest {
@@ -0,0 +1,246 @@
+package com.clinicsalon.professional.roster;
+
+import com.clinicsalon.professional.dto.ProfessionalResponse;
+import com.clinicsalon.professional.dto.ProfessionalRosterDelta;
+import com.clinicsalon.professional.mapper.ProfessionalMapper;
+import com.clinicsalon.professional.model.Professional;
+import com.clinicsalon.professional.model.ProfessionalRemoval;
+import com.clinicsalon.professional.repository.ProfessionalRemovalRepository;
+import com.clinicsalon.professional.repository.ProfessionalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProfessionalRosterTest {
+
+    private static final Duration OVERLAP = Duration.ofSeconds(10);
+    private static final Duration RETENTION = Duration.ofMinutes(10);
+
+    @Mock
+    private ProfessionalRepository professionalRepository;
+
+    @Mock
+    private ProfessionalRemovalRepository removalRepository;
+
+    @Mock
+    private ProfessionalMapper professionalMapper;
+
+    private ProfessionalRoster roster;
+
+    private MutableClock clock;
+
+    private Professional ana;
+    private Professional bruno;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-06-01T10:00:00Z"));
+        roster = new ProfessionalRoster(professionalRepository, removalRepository, professionalMapper,
+                OVERLAP, RETENTION, clock);
+        ana = Professional.builder().id(1L).name("Ana").specialization("Cabelo").isActive(true).build();
+        bruno = Professional.builder().id(2L).name("Bruno").specialization("Unhas").isActive(false).build();
+        when(professionalMapper.toResponse(any(Professional.class))).thenAnswer(invocation -> response(invocation.getArgument(0)));
+    }
+
+    @Test
+    void current_LoadsOnceAndServesPrecomputedViews() {
+        // Arrange
+        when(professionalRepository.findAll()).thenReturn(List.of(bruno, ana));
+
+        // Act
+        RosterSnapshot snapshot = roster.current();
+        roster.current();
+
+        // Assert
+        assertEquals(1L, snapshot.getVersion());
+        assertEquals(List.of(1L, 2L), snapshot.getAll().stream().map(ProfessionalResponse::getId).toList());
+        assertEquals("Ana", snapshot.getActive().get(0).getName());
+        assertEquals(1, snapshot.getActive().size());
+        assertEquals("Bruno", snapshot.getBySpecialization("UNHAS").get(0).getName());
+        verify(professionalRepository, times(1)).findAll();
+    }
+
+    @Test
+    void delta_NoVersion_ReturnsFullRosterVersionedByReadTime() {
+        // Arrange
+        when(professionalRepository.findAll()).thenReturn(List.of(ana, bruno));
+
+        // Act
+        ProfessionalRosterDelta delta = roster.delta(null);
+
+        // Assert
+        assertTrue(delta.isFull());
+        assertEquals(2, delta.getChanged().size());
+        assertEquals(clock.instant().toEpochMilli(), delta.getVersion());
+    }
+
+    @Test
+    void delta_ReadsChangesAndRemovalsFromDatabase_WithOverlap() {
+        // Arrange
+        long sinceVersion = clock.instant().toEpochMilli();
+        clock.advance(Duration.ofMinutes(1));
+        LocalDateTime expectedFrom = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(sinceVersion).minus(OVERLAP), ZoneOffset.UTC);
+        Professional renamed = Professional.builder().id(1L).name("Ana Paula").isActive(true).build();
+        when(professionalRepository.findByUpdatedAtAfter(expectedFrom)).thenReturn(List.of(renamed));
+        when(removalRepository.findByRemovedAtAfter(expectedFrom)).thenReturn(List.of(
+                ProfessionalRemoval.builder().professionalId(2L).removedAt(expectedFrom.plusSeconds(5)).build()));
+
+        // Act
+        ProfessionalRosterDelta delta = roster.delta(sinceVersion);
+
+        // Assert
+        assertFalse(delta.isFull());
+        assertEquals(List.of("Ana Paula"), delta.getChanged().stream().map(ProfessionalResponse::getName).toList());
+        assertEquals(List.of(2L), delta.getRemoved());
+        assertEquals(clock.instant().toEpochMilli(), delta.getVersion());
+        verify(professionalRepository, never()).findAll();
+    }
+
+    @Test
+    void delta_SameVersionOnAnyInstance_ReturnsSameChanges() {
+        // Arrange
+        ProfessionalRoster otherInstance = new ProfessionalRoster(professionalRepository, removalRepository,
+                professionalMapper, OVERLAP, RETENTION, clock);
+        long sinceVersion = clock.instant().toEpochMilli();
+        when(professionalRepository.findByUpdatedAtAfter(any(LocalDateTime.class))).thenReturn(List.of(ana));
+        when(removalRepository.findByRemovedAtAfter(any(LocalDateTime.class))).thenReturn(List.of());
+
+        // Act
+        ProfessionalRosterDelta here = roster.delta(sinceVersion);
+        ProfessionalRosterDelta there = otherInstance.delta(sinceVersion);
+
+        // Assert
+        assertFalse(there.isFull());
+        assertEquals(here, there);
+    }
+
+    @Test
+    void delta_VersionOlderThanRemovalRetention_ReturnsFullRoster() {
+        // Arrange
+        long sinceVersion = clock.instant().toEpochMilli();
+        clock.advance(RETENTION);
+        when(professionalRepository.findAll()).thenReturn(List.of(ana));
+
+        // Act
+        ProfessionalRosterDelta delta = roster.delta(sinceVersion);
+
+        // Assert
+        assertTrue(delta.isFull());
+        assertEquals(1, delta.getChanged().size());
+        verify(removalRepository, never()).findByRemovedAtAfter(any());
+    }
+
+    @Test
+    void remove_RecordsRemovalForOtherInstances() {
+        // Arrange
+        when(professionalRepository.findAll()).thenReturn(List.of(ana, bruno));
+        roster.current();
+
+        // Act
+        roster.remove(2L);
+
+        // Assert
+        ArgumentCaptor<ProfessionalRemoval> removal = ArgumentCaptor.forClass(ProfessionalRemoval.class);
+        verify(removalRepository).save(removal.capture());
+        assertEquals(2L, removal.getValue().getProfessionalId());
+        assertEquals(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC), removal.getValue().getRemovedAt());
+        assertNull(roster.current().get(2L));
+    }
+
+    @Test
+    void reconcile_PublishesChangesMadeOutsideThisInstance() {
+        // Arrange
+        when(professionalRepository.findAll()).thenReturn(List.of(ana, bruno));
+        roster.current();
+        Professional updatedElsewhere = Professional.builder().id(1L).name("Ana Lima").isActive(true).build();
+        when(professionalRepository.findAll()).thenReturn(List.of(updatedElsewhere));
+
+        // Act
+        roster.reconcile();
+
+        // Assert
+        RosterSnapshot snapshot = roster.current();
+        assertEquals(2L, snapshot.getVersion());
+        assertEquals("Ana Lima", snapshot.get(1L).getName());
+        assertNull(snapshot.get(2L));
+    }
+
+    @Test
+    void reconcile_NoChanges_KeepsVersion() {
+        // Arrange
+        when(professionalRepository.findAll()).thenReturn(List.of(ana, bruno));
+        roster.current();
+
+        // Act
+        roster.reconcile();
+
+        // Assert
+        assertEquals(1L, roster.current().getVersion());
+    }
+
+    @Test
+    void reconcile_PrunesRemovalsOlderThanRetention() {
+        // Arrange
+        when(professionalRepository.findAll()).thenReturn(List.of(ana, bruno));
+
+        // Act
+        roster.reconcile();
+
+        // Assert
+        verify(removalRepository).deleteByRemovedAtBefore(
+                LocalDateTime.ofInstant(clock.instant().minus(RETENTION), ZoneOffset.UTC));
+    }
+
+    private static ProfessionalResponse response(Professional professional) {
+        return ProfessionalResponse.builder()
+                .id(professional.getId())
+                .name(professional.getName())
+                .specialization(professional.getSpecialization())
+                .isActive(professional.getIsActive())
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.clinicsalon.professional.schedule;
+
+import com.clinicsalon.professional.model.TimeOff;
+import com.clinicsalon.professional.model.WorkingPeriod;
+import com.clinicsalon.professional.model.WorkingPeriodType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeeklyAvailabilityTest {
+
+    // 2024-06-03 é uma segunda-feira
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+
+    @Test
+    void forDate_WorkMinusBreak() {
+        // Arrange
+        WeeklyAvailability weekly = WeeklyAvailability.of(List.of(
+                period(DayOfWeek.MONDAY, "09:00", "18:00", WorkingPeriodType.WORK),
+                period(DayOfWeek.MONDAY, "12:00", "13:00", WorkingPeriodType.BREAK)));
+
+        // Act
+        BitSet monday = weekly.forDate(MONDAY, List.of());
+        BitSet tuesday = weekly.forDate(MONDAY.plusDays(1), List.of());
+
+        // Assert
+        assertEquals(8 * 60, monday.cardinality());
+        assertEquals(9 * 60, monday.nextSetBit(0));
+        assertEquals(12 * 60, monday.nextClearBit(9 * 60));
+        assertEquals(13 * 60, monday.nextSetBit(12 * 60));
+        assertEquals(18 * 60, monday.nextClearBit(13 * 60));
+        assertTrue(tuesday.isEmpty());
+        assertEquals("", WeeklyAvailability.encode(tuesday));
+    }
+
+    @Test
+    void forDate_TimeOffSpanningDaysIsClippedToEachDay() {
+        // Arrange
+        WeeklyAvailability weekly = WeeklyAvailability.of(List.of(
+                period(DayOfWeek.MONDAY, "20:00", "00:00", WorkingPeriodType.WORK),
+                period(DayOfWeek.TUESDAY, "00:00", "12:00", WorkingPeriodType.WORK)));
+        TimeOff timeOff = TimeOff.builder()
+                .startTime(LocalDateTime.of(2024, 6, 3, 22, 30))
+                .endTime(LocalDateTime.of(2024, 6, 4, 8, 0, 30))
+                .build();
+
+        // Act
+        BitSet monday = weekly.forDate(MONDAY, List.of(timeOff));
+        BitSet tuesday = weekly.forDate(MONDAY.plusDays(1), List.of(timeOff));
+
+        // Assert
+        assertEquals(150, monday.cardinality());
+        assertEquals(22 * 60 + 30, monday.nextClearBit(20 * 60));
+        assertEquals(8 * 60 + 1, tuesday.nextSetBit(0));
+        assertEquals(12 * 60, tuesday.nextClearBit(8 * 60 + 1));
+    }
+
+    @Test
+    void encode_RoundTripsThroughBitSetBytes() {
+        // Arrange
+        WeeklyAvailability weekly = WeeklyAvailability.of(List.of(
+                period(DayOfWeek.MONDAY, "08:15", "11:45", WorkingPeriodType.WORK)));
+        BitSet monday = weekly.forDate(MONDAY, List.of());
+
+        // Act
+        BitSet decoded = BitSet.valueOf(Base64.getDecoder().decode(WeeklyAvailability.encode(monday)));
+
+        // Assert
+        assertEquals(monday, decoded);
+    }
+
+    private static WorkingPeriod period(DayOfWeek day, String start, String end, WorkingPeriodType type) {
+        return WorkingPeriod.builder()
+                .dayOfWeek(day)
+                .startTime(LocalTime.parse(start))
+                .endTime(LocalTime.parse(end))
+                .type(type)
+                .build();
+    }
+}
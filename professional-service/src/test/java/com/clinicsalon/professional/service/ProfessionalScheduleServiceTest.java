@@ -0,0 +1,97 @@
+package com.clinicsalon.professional.service;
+
+import com.clinicsalon.professional.dto.AvailabilityRequest;
+import com.clinicsalon.professional.dto.ProfessionalAvailabilityResponse;
+import com.clinicsalon.professional.dto.ProfessionalResponse;
+import com.clinicsalon.professional.model.TimeOff;
+import com.clinicsalon.professional.model.WorkingPeriod;
+import com.clinicsalon.professional.model.WorkingPeriodType;
+import com.clinicsalon.professional.repository.ProfessionalRepository;
+import com.clinicsalon.professional.repository.TimeOffRepository;
+import com.clinicsalon.professional.repository.WorkingPeriodRepository;
+import com.clinicsalon.professional.roster.ProfessionalRoster;
+import com.clinicsalon.professional.roster.RosterSnapshot;
+import com.clinicsalon.professional.schedule.WeeklyAvailability;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProfessionalScheduleServiceTest {
+
+    // 2024-06-03 é uma segunda-feira
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+
+    @Mock
+    private ProfessionalRepository professionalRepository;
+
+    @Mock
+    private WorkingPeriodRepository workingPeriodRepository;
+
+    @Mock
+    private TimeOffRepository timeOffRepository;
+
+    @Mock
+    private ProfessionalRoster professionalRoster;
+
+    @InjectMocks
+    private ProfessionalScheduleService scheduleService;
+
+    @Test
+    void getAvailability_ProfessionalWithoutPeriods_IsUnconstrainedExceptTimeOff() {
+        // Arrange
+        when(professionalRoster.current()).thenReturn(RosterSnapshot.initial(List.of(
+                ProfessionalResponse.builder().id(1L).isActive(true).build(),
+                ProfessionalResponse.builder().id(2L).isActive(true).build())));
+        WorkingPeriod work = WorkingPeriod.builder()
+                .professionalId(2L)
+                .dayOfWeek(DayOfWeek.MONDAY)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(18, 0))
+                .type(WorkingPeriodType.WORK)
+                .build();
+        TimeOff timeOff = TimeOff.builder()
+                .professionalId(1L)
+                .startTime(MONDAY.atTime(14, 0))
+                .endTime(MONDAY.atTime(15, 0))
+                .build();
+        when(workingPeriodRepository.findByProfessionalIdIn(anyCollection())).thenReturn(List.of(work));
+        when(timeOffRepository.findOverlapping(anyCollection(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(timeOff));
+
+        // Act
+        List<ProfessionalAvailabilityResponse> responses = scheduleService.getAvailability(
+                new AvailabilityRequest(List.of(1L, 2L), MONDAY, MONDAY.plusDays(1)));
+
+        // Assert
+        ProfessionalAvailabilityResponse unscheduled = responses.get(0);
+        assertFalse(unscheduled.isScheduleConfigured());
+        BitSet monday = decode(unscheduled.getDays().get(0));
+        assertEquals(WeeklyAvailability.MINUTES_PER_DAY - 60, monday.cardinality());
+        assertFalse(monday.get(14 * 60));
+        assertEquals(WeeklyAvailability.MINUTES_PER_DAY, decode(unscheduled.getDays().get(1)).cardinality());
+
+        ProfessionalAvailabilityResponse scheduled = responses.get(1);
+        assertTrue(scheduled.isScheduleConfigured());
+        assertEquals(9 * 60, decode(scheduled.getDays().get(0)).cardinality());
+        assertEquals("", scheduled.getDays().get(1));
+    }
+
+    private BitSet decode(String day) {
+        return BitSet.valueOf(Base64.getDecoder().decode(day));
+    }
+}
@@ -13,7 +13,7 @@ public interface ReportClient {
     /**
      * Solicita a geração de um relatório
      * @param request Detalhes do relatório a ser gerado
-     * @return Resposta contendo o relatório gerado
+     * @return Metadados do relatório e o endereço de download
      */
     @PostMapping("/api/reports")
     ResponseEntity<ReportResponse> generateReport(@RequestBody ReportRequest request);
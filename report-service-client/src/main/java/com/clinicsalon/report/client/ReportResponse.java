@@ -7,6 +7,9 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * Metadados de um relatório preparado; o arquivo é baixado em {@code downloadUrl}
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,9 +20,9 @@ public class ReportResponse {
     private ReportType reportType;
     private String reportName;
     private String contentType;
-    private byte[] reportContent;
+    private String downloadUrl;
     private LocalDateTime generatedAt;
+    private LocalDateTime expiresAt;
     private String status;
     private String message;
-    private Long fileSize;
 }
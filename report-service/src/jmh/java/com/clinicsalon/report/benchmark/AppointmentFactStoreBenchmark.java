@@ -0,0 +1,121 @@
+package com.clinicsalon.report.benchmark;
+
+import com.clinicsalon.report.analytics.AppointmentFactStore;
+import com.clinicsalon.report.analytics.FactGroup;
+import com.clinicsalon.report.analytics.FactGroupBy;
+import com.clinicsalon.report.analytics.FactQuery;
+import com.clinicsalon.report.client.AppointmentClient;
+import com.clinicsalon.report.client.AppointmentFactDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede as consultas do painel sobre a cópia em memória dos agendamentos, com alguns
+ * milhões de linhas sintéticas: total do período, receita por serviço e receita por
+ * cliente (milhares de grupos). A carga é feita pelo mesmo caminho da aplicação, com um
+ * {@link AppointmentClient} que gera as páginas sob demanda.
+ * <p>
+ * Executar com {@code mvn -P benchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AppointmentFactStoreBenchmark {
+
+    private static final LocalDateTime FIRST_START = LocalDateTime.of(2022, 1, 1, 8, 0);
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param("5000000")
+    private int rows;
+
+    @Param({"0", "1"})
+    private int parallelism;
+
+    private AppointmentFactStore store;
+    private FactQuery quarter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AppointmentClient client = (AppointmentClient) Proxy.newProxyInstance(
+                AppointmentClient.class.getClassLoader(),
+                new Class<?>[]{AppointmentClient.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getFacts" -> page(args[1] != null ? (Long) args[1] : 0L, (Integer) args[2]);
+                    case "toString" -> "SyntheticAppointmentClient";
+                    default -> null;
+                });
+        store = new AppointmentFactStore(client, null, true, 10_000,
+                Duration.ofMinutes(1), Duration.ofHours(6), Duration.ofSeconds(10), parallelism);
+        store.refresh();
+        quarter = FactQuery.between(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 3, 31)).revenueOnly();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.shutdown();
+    }
+
+    @Benchmark
+    public List<FactGroup> periodTotal() {
+        return store.aggregate(quarter, FactGroupBy.NONE);
+    }
+
+    @Benchmark
+    public List<FactGroup> revenueByService() {
+        return store.aggregate(quarter, FactGroupBy.SERVICE);
+    }
+
+    @Benchmark
+    public List<FactGroup> revenueByClient() {
+        return store.aggregate(quarter, FactGroupBy.CLIENT);
+    }
+
+    /**
+     * Página determinística a partir do cursor: o ID do agendamento define todos os campos
+     */
+    private List<AppointmentFactDto> page(long afterId, int limit) {
+        List<AppointmentFactDto> page = new ArrayList<>(limit);
+        for (long id = afterId + 1; id <= Math.min(afterId + limit, rows); id++) {
+            SplittableRandom random = new SplittableRandom(id);
+            long serviceId = 1 + random.nextInt(60);
+            page.add(AppointmentFactDto.builder()
+                    .appointmentId(id)
+                    .clientId((long) random.nextInt(50_000))
+                    .professionalId((long) random.nextInt(40))
+                    .startTime(FIRST_START.plusDays(random.nextInt(3 * 365)).plusMinutes(30L * random.nextInt(20)))
+                    .status(random.nextInt(10) == 0 ? "CANCELLED" : "COMPLETED")
+                    .updatedAt(UPDATED.plusSeconds(id))
+                    .services(List.of(AppointmentFactDto.Item.builder()
+                            .serviceId(serviceId)
+                            .serviceName("Serviço " + serviceId)
+                            .price(BigDecimal.valueOf(2_000 + random.nextInt(30_000), 2))
+                            .build()))
+                    .build());
+        }
+        return page;
+    }
+}
@@ -0,0 +1,145 @@
+package com.clinicsalon.report.benchmark;
+
+import com.clinicsalon.report.client.AppointmentDto;
+import com.clinicsalon.report.row.AppointmentRow;
+import com.clinicsalon.report.util.RecordDataSource;
+import net.sf.jasperreports.engine.JRDataSource;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperFillManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o preenchimento do relatório de agendamentos do cliente com as linhas em
+ * {@code Map<String, Object>} lidas pelo {@link JRBeanCollectionDataSource} e com as linhas em
+ * {@link AppointmentRow} lidas pelo {@link RecordDataSource}. Cada variante inclui o mapeamento
+ * dos DTOs recebidos do appointment-service, como acontece na preparação do relatório.
+ * <p>
+ * Executar com {@code mvn -P benchmark test-compile exec:exec}; o perfil {@code -prof gc}
+ * informa a taxa de alocação por operação junto com o tempo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReportFillBenchmark {
+
+    private static final String TEMPLATE = "reports/client_appointments.jrxml";
+
+    @Param("100000")
+    private int rows;
+
+    private List<AppointmentDto> appointments;
+    private JasperReport report;
+    private Map<String, Object> parameters;
+    private List<Map<String, Object>> mapRows;
+    private List<AppointmentRow> recordRows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, JRException {
+        appointments = new ArrayList<>(rows);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < rows; i++) {
+            appointments.add(AppointmentDto.builder()
+                    .id((long) i)
+                    .clientId(1L)
+                    .clientName("Cliente")
+                    .professionalId((long) (i % 20))
+                    .professionalName("Profissional " + (i % 20))
+                    .appointmentDate(start.plusMinutes(30L * i))
+                    .serviceName("Serviço " + (i % 12))
+                    .status("COMPLETED")
+                    .price(BigDecimal.valueOf(50 + i % 200, 0))
+                    .build());
+        }
+
+        try (InputStream template = new ClassPathResource(TEMPLATE).getInputStream()) {
+            report = JasperCompileManager.compileReport(template);
+        }
+        parameters = Map.of(
+                "CLIENT_NAME", "Cliente",
+                "CLIENT_ID", 1L,
+                "START_DATE", "2024-01-01",
+                "END_DATE", "2024-12-31");
+
+        mapRows = appointments.stream().map(ReportFillBenchmark::toMap).toList();
+        recordRows = appointments.stream().map(AppointmentRow::from).toList();
+    }
+
+    @Benchmark
+    public JasperPrint fillMapRows() throws JRException {
+        List<Map<String, Object>> data = appointments.stream().map(ReportFillBenchmark::toMap).toList();
+        return JasperFillManager.fillReport(report, new HashMap<>(parameters), new JRBeanCollectionDataSource(data));
+    }
+
+    @Benchmark
+    public JasperPrint fillRecordRows() throws JRException {
+        List<AppointmentRow> data = appointments.stream().map(AppointmentRow::from).toList();
+        return JasperFillManager.fillReport(report, new HashMap<>(parameters), new RecordDataSource(data));
+    }
+
+    /**
+     * Apenas a leitura dos campos do template, sem layout nem exportação
+     */
+    @Benchmark
+    public void readMapRows(Blackhole blackhole) throws JRException {
+        read(new JRBeanCollectionDataSource(mapRows), blackhole);
+    }
+
+    @Benchmark
+    public void readRecordRows(Blackhole blackhole) throws JRException {
+        read(new RecordDataSource(recordRows), blackhole);
+    }
+
+    private void read(JRDataSource dataSource, Blackhole blackhole) throws JRException {
+        JRField[] fields = report.getFields();
+        while (dataSource.next()) {
+            for (JRField field : fields) {
+                blackhole.consume(dataSource.getFieldValue(field));
+            }
+        }
+    }
+
+    // Mesmo formato das linhas montadas antes dos records
+    private static Map<String, Object> toMap(AppointmentDto appointment) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("appointmentId", appointment.getId());
+        data.put("clientId", appointment.getClientId());
+        data.put("clientName", appointment.getClientName());
+        data.put("serviceDate", appointment.getAppointmentDate());
+        data.put("serviceName", appointment.getServiceName());
+        data.put("professionalName", appointment.getProfessionalName());
+        data.put("status", appointment.getStatus());
+        data.put("price", appointment.getPrice());
+        return data;
+    }
+}
@@ -1,16 +1,22 @@
 package com.clinicsalon.report;
 
+import com.clinicsalon.loyalty.client.config.LoyaltyClientConfig;
 import com.clinicsalon.professional.client.config.ProfessionalClientConfig;
+import com.clinicsalon.report.scheduler.ReportScheduleProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableFeignClients
-@Import(ProfessionalClientConfig.class)
+@EnableScheduling
+@EnableConfigurationProperties(ReportScheduleProperties.class)
+@Import({ProfessionalClientConfig.class, LoyaltyClientConfig.class})
 public class ReportServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,362 @@
+package com.clinicsalon.report.analytics;
+
+import com.clinicsalon.report.client.AppointmentClient;
+import com.clinicsalon.report.client.AppointmentFactDto;
+import com.clinicsalon.report.client.DataVersionDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.LongToIntFunction;
+
+/**
+ * Cópia em memória dos fatos de agendamento, em colunas primitivas, para agregações
+ * sem consultar o appointment-service a cada relatório. A carga inicial e as atualizações
+ * leem os agendamentos alterados após um cursor (updatedAt, id); remoções, que não
+ * aparecem nessa leitura, são detectadas pela contagem da versão dos dados e corrigidas
+ * por uma recarga completa, também feita periodicamente.
+ * <p>
+ * Cada atualização relê a janela report.analytics.overlap anterior ao cursor: um agendamento
+ * cuja transação é confirmada depois que o cursor passou pelo seu updatedAt aparece nessa
+ * releitura, e os que já estavam aplicados são apenas substituídos pela mesma versão.
+ * Isso pressupõe que as transações do appointment-service são confirmadas em menos que
+ * essa janela; as confirmadas mais tarde só entram na próxima recarga completa.
+ * <p>
+ * Consultas leem sempre um snapshot imutável e rodam em um pool fork/join próprio.
+ */
+@Component
+@Slf4j
+public class AppointmentFactStore {
+
+    /** Linhas mínimas por folha do fork/join; abaixo disso a divisão custa mais que a varredura */
+    static final int MIN_LEAF_SIZE = 32_768;
+
+    /** Acima desta quantidade de grupos cada folha aloca arrays grandes: menos folhas */
+    private static final int LARGE_GROUP_COUNT = 65_536;
+
+    private static final int MAX_DAYS = 3_660;
+
+    /** Filtro por ID: qualquer valor, ou ID que não aparece na tabela (resultado vazio) */
+    private static final int ANY = -1;
+    private static final int UNKNOWN = -2;
+
+    private final AppointmentClient appointmentClient;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final int pageSize;
+    private final Duration refreshInterval;
+    private final Duration fullReloadInterval;
+    private final Duration overlap;
+    private final ForkJoinPool pool;
+
+    // Estado do escritor, acessado apenas em refresh()
+    private FactTable table;
+    private LocalDateTime cursorModified;
+    private long cursorId;
+    private Instant loadedAt;
+    private boolean reloadRequested;
+
+    // Estado publicado para as consultas
+    private volatile Published published;
+
+    private record Published(FactTable table, FactColumns columns, LocalDateTime refreshedAt) {
+    }
+
+    public AppointmentFactStore(AppointmentClient appointmentClient,
+                                TaskScheduler taskScheduler,
+                                @Value("${report.analytics.enabled:true}") boolean enabled,
+                                @Value("${report.analytics.page-size:5000}") int pageSize,
+                                @Value("${report.analytics.refresh-interval:1m}") Duration refreshInterval,
+                                @Value("${report.analytics.full-reload-interval:6h}") Duration fullReloadInterval,
+                                @Value("${report.analytics.overlap:10s}") Duration overlap,
+                                @Value("${report.analytics.parallelism:0}") int parallelism) {
+        this.appointmentClient = appointmentClient;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.refreshInterval = refreshInterval;
+        this.fullReloadInterval = fullReloadInterval;
+        this.overlap = overlap;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRefresh() {
+        if (!enabled) {
+            log.info("Appointment analytics store disabled");
+            return;
+        }
+        taskScheduler.scheduleWithFixedDelay(this::refresh, Instant.now(), refreshInterval);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Indica se a carga inicial já terminou; antes disso os relatórios usam o appointment-service
+     */
+    public boolean isReady() {
+        return published != null;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        Published current = published;
+        return current != null ? current.refreshedAt() : null;
+    }
+
+    public int getRowCount() {
+        Published current = published;
+        return current != null ? current.columns().size : 0;
+    }
+
+    /**
+     * Lê os agendamentos alterados desde a última leitura e publica um novo snapshot.
+     * Falhas mantêm o snapshot anterior e são tentadas de novo no próximo ciclo.
+     */
+    public synchronized void refresh() {
+        try {
+            boolean full = table == null || reloadRequested
+                    || Duration.between(loadedAt, Instant.now()).compareTo(fullReloadInterval) >= 0;
+            if (full) {
+                reload();
+            } else {
+                update();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Appointment analytics refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private void reload() {
+        long start = System.nanoTime();
+        FactTable fresh = new FactTable();
+        Cursor cursor = read(new Cursor(null, 0L), fresh::appendAll);
+        if (cursor == null) {
+            return;
+        }
+        fresh.dropDuplicates();
+        table = fresh;
+        cursorModified = cursor.modified();
+        cursorId = cursor.id();
+        loadedAt = Instant.now();
+        reloadRequested = false;
+        publish();
+        log.info("Appointment analytics store loaded: {} rows, {} appointments in {} ms",
+                table.size(), table.liveAppointments(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void update() {
+        // Alterações são aplicadas de uma vez: cada aplicação percorre a tabela procurando as versões anteriores
+        // A janela anterior ao cursor é relida (ver a documentação da classe)
+        List<AppointmentFactDto> facts = new ArrayList<>();
+        Cursor from = cursorModified != null ? new Cursor(cursorModified.minus(overlap), 0L) : new Cursor(null, 0L);
+        Cursor cursor = read(from, facts::addAll);
+        if (cursor == null) {
+            return;
+        }
+        table.apply(facts);
+        if (cursor.isAfter(cursorModified, cursorId)) {
+            cursorModified = cursor.modified();
+            cursorId = cursor.id();
+        }
+        if (!facts.isEmpty()) {
+            publish();
+        }
+
+        // Agendamentos removidos não aparecem na leitura incremental
+        DataVersionDto version = appointmentClient.getDataVersion();
+        if (version != null && version.getRecords() != null && version.getRecords() < table.liveAppointments()) {
+            log.info("Appointments were removed ({} < {}), reloading analytics store",
+                    version.getRecords(), table.liveAppointments());
+            reloadRequested = true;
+        }
+    }
+
+    private record Cursor(LocalDateTime modified, long id) {
+
+        boolean isAfter(LocalDateTime otherModified, long otherId) {
+            if (modified == null) {
+                return false;
+            }
+            if (otherModified == null) {
+                return true;
+            }
+            int byModified = modified.compareTo(otherModified);
+            return byModified > 0 || (byModified == 0 && id > otherId);
+        }
+    }
+
+    /**
+     * Lê todas as páginas a partir do cursor
+     *
+     * @return Cursor após a última página, ou null se o appointment-service não respondeu
+     */
+    private Cursor read(Cursor from, Consumer<List<AppointmentFactDto>> sink) {
+        Cursor cursor = from;
+        while (true) {
+            List<AppointmentFactDto> page = appointmentClient.getFacts(cursor.modified(), cursor.id(), pageSize);
+            if (page == null) {
+                log.warn("Appointment facts unavailable, keeping previous analytics snapshot");
+                return null;
+            }
+            if (page.isEmpty()) {
+                break;
+            }
+            sink.accept(page);
+            AppointmentFactDto last = page.get(page.size() - 1);
+            cursor = new Cursor(last.getUpdatedAt(), last.getAppointmentId());
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        return cursor;
+    }
+
+    private void publish() {
+        published = new Published(table, table.snapshot(), LocalDateTime.now());
+    }
+
+    /**
+     * Filtra e agrupa os fatos. Grupos sem linhas não aparecem no resultado.
+     *
+     * @throws IllegalStateException    se a carga inicial ainda não terminou
+     * @throws IllegalArgumentException se o agrupamento por dia não tiver período limitado
+     */
+    public List<FactGroup> aggregate(FactQuery query, FactGroupBy groupBy) {
+        Published current = published;
+        if (current == null) {
+            throw new IllegalStateException("Cópia analítica de agendamentos ainda não carregada");
+        }
+        FactColumns columns = current.columns();
+        FactTable dictionaries = current.table();
+
+        int client = codeOf(query.clientId(), dictionaries::clientCode);
+        int professional = codeOf(query.professionalId(), dictionaries::professionalCode);
+        int service = codeOf(query.serviceId(), dictionaries::serviceCode);
+        if (client == UNKNOWN || professional == UNKNOWN || service == UNKNOWN) {
+            return List.of();
+        }
+
+        int from = query.fromMinute();
+        int to = query.toMinute();
+        int keyMode;
+        int[] keys = null;
+        int groups;
+        switch (groupBy) {
+            case CLIENT -> {
+                keyMode = FactAggregation.KEY_COLUMN;
+                keys = columns.clients;
+                groups = columns.clientCount;
+            }
+            case PROFESSIONAL -> {
+                keyMode = FactAggregation.KEY_COLUMN;
+                keys = columns.professionals;
+                groups = columns.professionalCount;
+            }
+            case SERVICE -> {
+                keyMode = FactAggregation.KEY_COLUMN;
+                keys = columns.services;
+                groups = columns.serviceCount;
+            }
+            case STATUS -> {
+                keyMode = FactAggregation.KEY_STATUS;
+                groups = FactStatus.values().length;
+            }
+            case DAY -> {
+                if (query.from() == null || query.to() == null) {
+                    throw new IllegalArgumentException("Agrupamento por dia exige data inicial e final");
+                }
+                keyMode = FactAggregation.KEY_DAY;
+                groups = (int) Math.ceilDiv((long) to - from, FactAggregation.MINUTES_PER_DAY);
+                if (groups > MAX_DAYS) {
+                    throw new IllegalArgumentException("Período longo demais para agrupamento por dia");
+                }
+            }
+            default -> {
+                keyMode = FactAggregation.KEY_NONE;
+                groups = 1;
+            }
+        }
+        if (columns.size == 0 || groups <= 0) {
+            return List.of();
+        }
+
+        FactAggregation.Plan plan = new FactAggregation.Plan(from, to, query.statusMask() & FactStatus.ALL,
+                client, professional, service, keyMode, keys, groups, leafSize(columns.size, groups));
+        FactAggregation.Partial result = pool.invoke(new FactAggregation(columns, plan, 0, columns.size));
+        return toGroups(result, groupBy, columns, dictionaries, from);
+    }
+
+    private int codeOf(Long id, LongToIntFunction lookup) {
+        if (id == null) {
+            return ANY;
+        }
+        int code = lookup.applyAsInt(id);
+        return code >= 0 ? code : UNKNOWN;
+    }
+
+    /**
+     * Tamanho das folhas: algumas por thread para equilibrar a carga, mas só uma por thread
+     * quando os arrays de grupos de cada folha são grandes
+     */
+    private int leafSize(int rows, int groups) {
+        int leaves = pool.getParallelism() * (groups > LARGE_GROUP_COUNT ? 1 : 4);
+        return Math.max(MIN_LEAF_SIZE, (rows + leaves - 1) / leaves);
+    }
+
+    private List<FactGroup> toGroups(FactAggregation.Partial result, FactGroupBy groupBy, FactColumns columns,
+                                     FactTable dictionaries, int from) {
+        List<FactGroup> groups = new ArrayList<>();
+        for (int k = 0; k < result.items.length; k++) {
+            // Agendamentos sem serviços não aparecem por serviço, como nas consultas do appointment-service
+            if (result.items[k] == 0 || (groupBy == FactGroupBy.SERVICE && k == FactTable.NO_SERVICE)) {
+                continue;
+            }
+            long key;
+            String label = null;
+            switch (groupBy) {
+                case CLIENT -> key = columns.clientIds[k];
+                case PROFESSIONAL -> key = columns.professionalIds[k];
+                case SERVICE -> {
+                    key = columns.serviceIds[k];
+                    label = dictionaries.serviceName(key);
+                }
+                case STATUS -> {
+                    key = k;
+                    label = FactStatus.values()[k].name();
+                }
+                case DAY -> {
+                    LocalDate day = FactTable.dateTimeOf(from).toLocalDate().plusDays(k);
+                    key = day.toEpochDay();
+                    label = day.toString();
+                }
+                default -> key = 0;
+            }
+            groups.add(new FactGroup(key, label, result.items[k], result.visits[k], result.cents[k],
+                    result.first[k], result.last[k]));
+        }
+        if (groupBy != FactGroupBy.DAY && groupBy != FactGroupBy.STATUS) {
+            // Por serviço, a contagem é de itens: a marca de visita fica só no primeiro serviço do agendamento
+            Comparator<FactGroup> count = groupBy == FactGroupBy.SERVICE
+                    ? Comparator.comparingLong(FactGroup::items)
+                    : Comparator.comparingLong(FactGroup::visits);
+            groups.sort(count.reversed().thenComparing(Comparator.comparingLong(FactGroup::revenueCents).reversed()));
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,136 @@
+package com.clinicsalon.report.analytics;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Filtro e agrupamento sobre um intervalo de linhas do snapshot, dividido em fork/join.
+ * Cada folha percorre as colunas primitivas em um laço simples, com o predicado avaliado
+ * sem desvios (operadores {@code &} em vez de {@code &&}), e acumula em arrays indexados
+ * pelo código do grupo; os parciais são somados elemento a elemento na junção.
+ */
+final class FactAggregation extends RecursiveTask<FactAggregation.Partial> {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    /** Modos de chave: sem grupo, coluna de códigos, status ou dia */
+    static final int KEY_NONE = 0;
+    static final int KEY_COLUMN = 1;
+    static final int KEY_STATUS = 2;
+    static final int KEY_DAY = 3;
+
+    private final FactColumns columns;
+    private final Plan plan;
+    private final int lo;
+    private final int hi;
+
+    FactAggregation(FactColumns columns, Plan plan, int lo, int hi) {
+        this.columns = columns;
+        this.plan = plan;
+        this.lo = lo;
+        this.hi = hi;
+    }
+
+    /**
+     * Parâmetros resolvidos da consulta: códigos em vez de IDs (-1 não filtra) e a coluna da chave
+     */
+    record Plan(int fromMinute, int toMinute, int statusMask, int client, int professional, int service,
+                int keyMode, int[] keys, int groups, int leafSize) {
+    }
+
+    @Override
+    protected Partial compute() {
+        if (hi - lo <= plan.leafSize()) {
+            return scan();
+        }
+        int mid = (lo + hi) >>> 1;
+        FactAggregation left = new FactAggregation(columns, plan, lo, mid);
+        left.fork();
+        Partial right = new FactAggregation(columns, plan, mid, hi).compute();
+        return left.join().merge(right);
+    }
+
+    private Partial scan() {
+        Partial partial = new Partial(plan.groups());
+        long[] items = partial.items;
+        long[] visitCounts = partial.visits;
+        long[] cents = partial.cents;
+        int[] first = partial.first;
+        int[] last = partial.last;
+
+        int[] starts = columns.startMinutes;
+        byte[] statuses = columns.statuses;
+        byte[] visits = columns.visits;
+        long[] prices = columns.priceCents;
+        int[] clients = columns.clients;
+        int[] professionals = columns.professionals;
+        int[] services = columns.services;
+        int[] keys = plan.keys();
+
+        int from = plan.fromMinute();
+        int to = plan.toMinute();
+        int mask = plan.statusMask();
+        int client = plan.client();
+        int professional = plan.professional();
+        int service = plan.service();
+        int keyMode = plan.keyMode();
+
+        for (int i = lo; i < hi; i++) {
+            int minute = starts[i];
+            int status = statuses[i];
+            boolean match = minute >= from & minute < to
+                    & ((mask >>> status) & 1) != 0
+                    & (client < 0 | clients[i] == client)
+                    & (professional < 0 | professionals[i] == professional)
+                    & (service < 0 | services[i] == service);
+            if (!match) {
+                continue;
+            }
+            int key = switch (keyMode) {
+                case KEY_COLUMN -> keys[i];
+                case KEY_STATUS -> status;
+                case KEY_DAY -> (int) (((long) minute - from) / MINUTES_PER_DAY);
+                default -> 0;
+            };
+            items[key]++;
+            visitCounts[key] += visits[i];
+            cents[key] += prices[i];
+            first[key] = Math.min(first[key], minute);
+            last[key] = Math.max(last[key], minute);
+        }
+        return partial;
+    }
+
+    /**
+     * Acumuladores de uma folha, indexados pelo código do grupo
+     */
+    static final class Partial {
+
+        final long[] items;
+        final long[] visits;
+        final long[] cents;
+        final int[] first;
+        final int[] last;
+
+        Partial(int groups) {
+            items = new long[groups];
+            visits = new long[groups];
+            cents = new long[groups];
+            first = new int[groups];
+            last = new int[groups];
+            Arrays.fill(first, Integer.MAX_VALUE);
+            Arrays.fill(last, Integer.MIN_VALUE);
+        }
+
+        Partial merge(Partial other) {
+            for (int k = 0; k < items.length; k++) {
+                items[k] += other.items[k];
+                visits[k] += other.visits[k];
+                cents[k] += other.cents[k];
+                first[k] = Math.min(first[k], other.first[k]);
+                last[k] = Math.max(last[k], other.last[k]);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.clinicsalon.report.analytics;
+
+/**
+ * Snapshot imutável da tabela de fatos, em colunas de tipos primitivos: uma linha por
+ * serviço de cada agendamento (ou uma linha, sem serviço, para agendamentos sem itens).
+ * Consultas leem apenas as posições abaixo de {@code size}; a tabela só escreve além
+ * delas ou em cópias dos arrays, de modo que o snapshot não muda depois de publicado.
+ */
+final class FactColumns {
+
+    static final FactColumns EMPTY = new FactColumns(0, new long[0], new int[0], new int[0], new int[0],
+            new long[0], new int[0], new byte[0], new byte[0], new long[0], new long[0], new long[0], 0, 0, 0);
+
+    final int size;
+    final long[] appointmentIds;
+    /** Códigos densos de cliente, profissional e serviço (ver {@link IdDictionary}) */
+    final int[] clients;
+    final int[] professionals;
+    final int[] services;
+    /** Preço do serviço em centavos */
+    final long[] priceCents;
+    /** Início do agendamento em minutos desde a época (hora local, sem fuso) */
+    final int[] startMinutes;
+    /** Código do status (ver {@link FactStatus}); {@link FactStatus#REMOVED} para linhas substituídas */
+    final byte[] statuses;
+    /** 1 na primeira linha de cada agendamento: a soma conta visitas, não serviços */
+    final byte[] visits;
+    final long[] clientIds;
+    final long[] professionalIds;
+    final long[] serviceIds;
+    final int clientCount;
+    final int professionalCount;
+    final int serviceCount;
+
+    FactColumns(int size, long[] appointmentIds, int[] clients, int[] professionals, int[] services,
+                long[] priceCents, int[] startMinutes, byte[] statuses, byte[] visits,
+                long[] clientIds, long[] professionalIds, long[] serviceIds,
+                int clientCount, int professionalCount, int serviceCount) {
+        this.size = size;
+        this.appointmentIds = appointmentIds;
+        this.clients = clients;
+        this.professionals = professionals;
+        this.services = services;
+        this.priceCents = priceCents;
+        this.startMinutes = startMinutes;
+        this.statuses = statuses;
+        this.visits = visits;
+        this.clientIds = clientIds;
+        this.professionalIds = professionalIds;
+        this.serviceIds = serviceIds;
+        this.clientCount = clientCount;
+        this.professionalCount = professionalCount;
+        this.serviceCount = serviceCount;
+    }
+}
@@ -0,0 +1,35 @@
+package com.clinicsalon.report.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha do resultado de uma consulta à tabela de fatos
+ *
+ * @param key          ID do cliente, profissional ou serviço; ordinal do status; dia desde a época; 0 sem agrupamento
+ * @param label        Nome do serviço, nome do status ou data ISO, quando houver
+ * @param items        Serviços realizados (linhas da tabela)
+ * @param visits       Agendamentos distintos; por serviço, use {@code items}, pois apenas o
+ *                     primeiro serviço de cada agendamento conta a visita
+ * @param revenueCents Soma dos preços dos serviços, em centavos
+ */
+public record FactGroup(long key,
+                        String label,
+                        long items,
+                        long visits,
+                        long revenueCents,
+                        int firstMinute,
+                        int lastMinute) {
+
+    public BigDecimal revenue() {
+        return BigDecimal.valueOf(revenueCents, 2);
+    }
+
+    public LocalDateTime firstStart() {
+        return FactTable.dateTimeOf(firstMinute);
+    }
+
+    public LocalDateTime lastStart() {
+        return FactTable.dateTimeOf(lastMinute);
+    }
+}
@@ -0,0 +1,15 @@
+package com.clinicsalon.report.analytics;
+
+/**
+ * Dimensão de agrupamento das consultas à tabela de fatos
+ */
+public enum FactGroupBy {
+    /** Um único grupo com os totais do filtro */
+    NONE,
+    CLIENT,
+    PROFESSIONAL,
+    SERVICE,
+    STATUS,
+    /** Dias a partir do início do período, que precisa ser limitado */
+    DAY
+}
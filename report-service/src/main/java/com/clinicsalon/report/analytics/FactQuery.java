@@ -0,0 +1,61 @@
+package com.clinicsalon.report.analytics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Filtro de uma consulta à tabela de fatos. O período é semiaberto [from, to) sobre o
+ * início do agendamento; campos nulos não filtram.
+ */
+public record FactQuery(LocalDateTime from,
+                        LocalDateTime to,
+                        Long clientId,
+                        Long professionalId,
+                        Long serviceId,
+                        int statusMask) {
+
+    public static FactQuery all() {
+        return new FactQuery(null, null, null, null, null, FactStatus.ALL);
+    }
+
+    /**
+     * Período de datas inclusivas, como nos relatórios
+     */
+    public static FactQuery between(LocalDate startDate, LocalDate endDate) {
+        return new FactQuery(
+                startDate != null ? startDate.atStartOfDay() : null,
+                endDate != null ? endDate.plusDays(1).atStartOfDay() : null,
+                null, null, null, FactStatus.ALL);
+    }
+
+    public FactQuery client(Long clientId) {
+        return new FactQuery(from, to, clientId, professionalId, serviceId, statusMask);
+    }
+
+    public FactQuery professional(Long professionalId) {
+        return new FactQuery(from, to, clientId, professionalId, serviceId, statusMask);
+    }
+
+    public FactQuery service(Long serviceId) {
+        return new FactQuery(from, to, clientId, professionalId, serviceId, statusMask);
+    }
+
+    public FactQuery statuses(int statusMask) {
+        return new FactQuery(from, to, clientId, professionalId, serviceId, statusMask);
+    }
+
+    /**
+     * Apenas agendamentos que contam como receita (concluídos)
+     */
+    public FactQuery revenueOnly() {
+        return statuses(statusMask & FactStatus.REVENUE);
+    }
+
+    int fromMinute() {
+        return from != null ? FactTable.minuteOf(from) : Integer.MIN_VALUE;
+    }
+
+    int toMinute() {
+        return to != null ? FactTable.minuteOf(to) : Integer.MAX_VALUE;
+    }
+}
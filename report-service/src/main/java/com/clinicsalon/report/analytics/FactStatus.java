@@ -0,0 +1,53 @@
+package com.clinicsalon.report.analytics;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Status de agendamento na tabela de fatos, guardado como o ordinal em um byte. Filtros
+ * por status usam uma máscara de bits sobre o ordinal.
+ */
+public enum FactStatus {
+    PENDING,
+    SCHEDULED,
+    CONFIRMED,
+    IN_PROGRESS,
+    COMPLETED,
+    CANCELLED,
+    NO_SHOW,
+    OTHER;
+
+    /**
+     * Código das linhas substituídas por uma versão mais nova do agendamento: nenhuma
+     * máscara inclui este bit
+     */
+    static final byte REMOVED = 31;
+
+    public static final int ALL = (1 << values().length) - 1;
+
+    /** Status que contam como receita, como nas consultas do appointment-service */
+    public static final int REVENUE = COMPLETED.bit();
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public static FactStatus of(String name) {
+        if (name == null) {
+            return OTHER;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return OTHER;
+        }
+    }
+
+    public static int maskOf(Collection<FactStatus> statuses) {
+        int mask = 0;
+        for (FactStatus status : statuses) {
+            mask |= status.bit();
+        }
+        return mask;
+    }
+}
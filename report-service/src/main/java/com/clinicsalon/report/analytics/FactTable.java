@@ -0,0 +1,308 @@
+package com.clinicsalon.report.analytics;
+
+import com.clinicsalon.report.client.AppointmentFactDto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabela de fatos de agendamento em colunas primitivas, atualizada por um único escritor.
+ * Novas linhas são acrescentadas ao final; uma nova versão de um agendamento marca as
+ * linhas anteriores como removidas (em uma cópia da coluna de status, para não alterar
+ * snapshots já publicados) e é acrescentada de novo. Quando as linhas removidas passam
+ * de um quinto da tabela, ela é compactada.
+ */
+final class FactTable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** Código de serviço das linhas de agendamentos sem itens (primeiro código do dicionário) */
+    static final int NO_SERVICE = 0;
+
+    private final IdDictionary clientDictionary = new IdDictionary();
+    private final IdDictionary professionalDictionary = new IdDictionary();
+    private final IdDictionary serviceDictionary = new IdDictionary();
+    private final Map<Long, String> serviceNames = new ConcurrentHashMap<>();
+
+    private long[] appointmentIds = new long[INITIAL_CAPACITY];
+    private int[] clients = new int[INITIAL_CAPACITY];
+    private int[] professionals = new int[INITIAL_CAPACITY];
+    private int[] services = new int[INITIAL_CAPACITY];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+    private int[] startMinutes = new int[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private byte[] visits = new byte[INITIAL_CAPACITY];
+    private int size;
+    private int removed;
+    private long liveAppointments;
+
+    FactTable() {
+        serviceDictionary.encode(0L);
+    }
+
+    static int minuteOf(LocalDateTime dateTime) {
+        return Math.toIntExact(Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60));
+    }
+
+    static LocalDateTime dateTimeOf(int minute) {
+        if (minute == Integer.MAX_VALUE || minute == Integer.MIN_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(minute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Aplica um lote de agendamentos alterados: remove as versões anteriores e acrescenta as novas
+     */
+    void apply(Collection<AppointmentFactDto> facts) {
+        if (facts.isEmpty()) {
+            return;
+        }
+        // Um agendamento alterado durante a leitura aparece mais de uma vez: vale a última versão
+        Map<Long, AppointmentFactDto> latest = new LinkedHashMap<>();
+        for (AppointmentFactDto fact : facts) {
+            latest.remove(fact.getAppointmentId());
+            latest.put(fact.getAppointmentId(), fact);
+        }
+        if (size > 0) {
+            remove(latest.keySet().stream().mapToLong(Long::longValue).sorted().toArray());
+        }
+        for (AppointmentFactDto fact : latest.values()) {
+            append(fact);
+        }
+        if (removed > size / 5) {
+            compact();
+        }
+    }
+
+    /**
+     * Acrescenta uma página da carga completa, sem procurar versões anteriores
+     * (ver {@link #dropDuplicates()})
+     */
+    void appendAll(Collection<AppointmentFactDto> facts) {
+        for (AppointmentFactDto fact : facts) {
+            append(fact);
+        }
+    }
+
+    /**
+     * Depois da carga completa, mantém apenas a última versão dos agendamentos alterados
+     * durante a leitura, que aparecem de novo nas páginas seguintes
+     */
+    void dropDuplicates() {
+        long[] ids = new long[Math.toIntExact(liveAppointments)];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (visits[i] == 1 && statuses[i] != FactStatus.REMOVED) {
+                ids[count++] = appointmentIds[i];
+            }
+        }
+        Arrays.sort(ids, 0, count);
+        long[] duplicated = new long[0];
+        int duplicates = 0;
+        for (int i = 1; i < count; i++) {
+            if (ids[i] == ids[i - 1] && (duplicates == 0 || duplicated[duplicates - 1] != ids[i])) {
+                if (duplicates == duplicated.length) {
+                    duplicated = Arrays.copyOf(duplicated, Math.max(16, duplicates * 2));
+                }
+                duplicated[duplicates++] = ids[i];
+            }
+        }
+        if (duplicates == 0) {
+            return;
+        }
+
+        // A versão mais nova é a última: percorre de trás para frente removendo as anteriores
+        long[] sorted = Arrays.copyOf(duplicated, duplicates);
+        boolean[] kept = new boolean[duplicates];
+        byte[] updated = statuses.clone();
+        int end = size;
+        for (int i = size - 1; i >= 0; i--) {
+            if (visits[i] == 0) {
+                continue;
+            }
+            int index = Arrays.binarySearch(sorted, appointmentIds[i]);
+            if (index >= 0 && updated[i] != FactStatus.REMOVED) {
+                if (kept[index]) {
+                    for (int row = i; row < end; row++) {
+                        updated[row] = FactStatus.REMOVED;
+                        removed++;
+                    }
+                    liveAppointments--;
+                } else {
+                    kept[index] = true;
+                }
+            }
+            end = i;
+        }
+        statuses = updated;
+        if (removed > size / 5) {
+            compact();
+        }
+    }
+
+    /**
+     * Snapshot imutável do estado atual, para consultas concorrentes
+     */
+    FactColumns snapshot() {
+        return new FactColumns(size, appointmentIds, clients, professionals, services, priceCents, startMinutes,
+                statuses, visits,
+                clientDictionary.ids(), professionalDictionary.ids(), serviceDictionary.ids(),
+                clientDictionary.size(), professionalDictionary.size(), serviceDictionary.size());
+    }
+
+    int clientCode(long clientId) {
+        return clientDictionary.codeOf(clientId);
+    }
+
+    int professionalCode(long professionalId) {
+        return professionalDictionary.codeOf(professionalId);
+    }
+
+    int serviceCode(long serviceId) {
+        return serviceDictionary.codeOf(serviceId);
+    }
+
+    String serviceName(long serviceId) {
+        return serviceNames.get(serviceId);
+    }
+
+    long liveAppointments() {
+        return liveAppointments;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void append(AppointmentFactDto fact) {
+        int client = clientDictionary.encode(fact.getClientId());
+        int professional = professionalDictionary.encode(fact.getProfessionalId());
+        int minute = minuteOf(fact.getStartTime());
+        byte status = (byte) FactStatus.of(fact.getStatus()).ordinal();
+        List<AppointmentFactDto.Item> items = fact.getServices();
+
+        if (items == null || items.isEmpty()) {
+            appendRow(fact.getAppointmentId(), client, professional, NO_SERVICE, centsOf(fact.getPrice()),
+                    minute, status, true);
+        } else {
+            for (int i = 0; i < items.size(); i++) {
+                AppointmentFactDto.Item item = items.get(i);
+                if (item.getServiceName() != null) {
+                    serviceNames.put(item.getServiceId(), item.getServiceName());
+                }
+                appendRow(fact.getAppointmentId(), client, professional, serviceDictionary.encode(item.getServiceId()),
+                        centsOf(item.getPrice()), minute, status, i == 0);
+            }
+        }
+        liveAppointments++;
+    }
+
+    private void appendRow(long appointmentId, int client, int professional, int service, long cents,
+                           int minute, byte status, boolean firstOfAppointment) {
+        if (size == appointmentIds.length) {
+            grow(size * 2);
+        }
+        appointmentIds[size] = appointmentId;
+        clients[size] = client;
+        professionals[size] = professional;
+        services[size] = service;
+        priceCents[size] = cents;
+        startMinutes[size] = minute;
+        statuses[size] = status;
+        visits[size] = (byte) (firstOfAppointment ? 1 : 0);
+        size++;
+    }
+
+    /**
+     * Marca como removidas as linhas dos agendamentos informados (IDs ordenados). As linhas de
+     * um agendamento são contíguas e começam na linha com a marca de visita.
+     */
+    private void remove(long[] sortedIds) {
+        byte[] updated = null;
+        for (int i = 0; i < size; i++) {
+            if (visits[i] == 0 || statuses[i] == FactStatus.REMOVED
+                    || Arrays.binarySearch(sortedIds, appointmentIds[i]) < 0) {
+                continue;
+            }
+            if (updated == null) {
+                updated = statuses.clone();
+            }
+            int row = i;
+            do {
+                updated[row++] = FactStatus.REMOVED;
+                removed++;
+            } while (row < size && visits[row] == 0);
+            liveAppointments--;
+            i = row - 1;
+        }
+        if (updated != null) {
+            statuses = updated;
+        }
+    }
+
+    /**
+     * Reescreve a tabela sem as linhas removidas, em arrays novos
+     */
+    private void compact() {
+        int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(size - removed, 1)) * 2);
+        long[] newAppointmentIds = new long[capacity];
+        int[] newClients = new int[capacity];
+        int[] newProfessionals = new int[capacity];
+        int[] newServices = new int[capacity];
+        long[] newPriceCents = new long[capacity];
+        int[] newStartMinutes = new int[capacity];
+        byte[] newStatuses = new byte[capacity];
+        byte[] newVisits = new byte[capacity];
+
+        int target = 0;
+        for (int i = 0; i < size; i++) {
+            if (statuses[i] == FactStatus.REMOVED) {
+                continue;
+            }
+            newAppointmentIds[target] = appointmentIds[i];
+            newClients[target] = clients[i];
+            newProfessionals[target] = professionals[i];
+            newServices[target] = services[i];
+            newPriceCents[target] = priceCents[i];
+            newStartMinutes[target] = startMinutes[i];
+            newStatuses[target] = statuses[i];
+            newVisits[target] = visits[i];
+            target++;
+        }
+
+        appointmentIds = newAppointmentIds;
+        clients = newClients;
+        professionals = newProfessionals;
+        services = newServices;
+        priceCents = newPriceCents;
+        startMinutes = newStartMinutes;
+        statuses = newStatuses;
+        visits = newVisits;
+        size = target;
+        removed = 0;
+    }
+
+    private void grow(int capacity) {
+        appointmentIds = Arrays.copyOf(appointmentIds, capacity);
+        clients = Arrays.copyOf(clients, capacity);
+        professionals = Arrays.copyOf(professionals, capacity);
+        services = Arrays.copyOf(services, capacity);
+        priceCents = Arrays.copyOf(priceCents, capacity);
+        startMinutes = Arrays.copyOf(startMinutes, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        visits = Arrays.copyOf(visits, capacity);
+    }
+
+    private static long centsOf(BigDecimal price) {
+        return price != null ? price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0L;
+    }
+}
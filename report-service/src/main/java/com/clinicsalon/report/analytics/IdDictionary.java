@@ -0,0 +1,46 @@
+package com.clinicsalon.report.analytics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codificação de IDs externos em códigos densos (0, 1, 2...), para que os agrupamentos
+ * usem arrays indexados pelo código em vez de mapas. Apenas a atualização da tabela
+ * escreve; consultas concorrentes leem os códigos pelo mapa concorrente e os IDs pelo
+ * array publicado no snapshot, cujo prefixo nunca muda.
+ */
+final class IdDictionary {
+
+    private final Map<Long, Integer> codes = new ConcurrentHashMap<>();
+    private long[] ids = new long[64];
+    private int size;
+
+    int encode(long id) {
+        Integer code = codes.get(id);
+        if (code != null) {
+            return code;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size] = id;
+        codes.put(id, size);
+        return size++;
+    }
+
+    /**
+     * Código do ID, ou -1 se o ID nunca apareceu
+     */
+    int codeOf(long id) {
+        return codes.getOrDefault(id, -1);
+    }
+
+    long[] ids() {
+        return ids;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @FeignClient(name = "appointment-service", fallbackFactory = AppointmentClientFallbackFactory.class)
@@ -23,4 +24,33 @@ public interface AppointmentClient {
             @PathVariable Long professionalId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate);
+
+    @GetMapping("/api/appointments/data-version")
+    DataVersionDto getDataVersion();
+
+    // Agregados calculados no appointment-service: apenas os totais trafegam
+
+    @GetMapping("/api/appointments/analytics/revenue")
+    RevenueSummaryDto getRevenueSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate);
+
+    @GetMapping("/api/appointments/analytics/revenue/by-service")
+    List<ServiceStatsDto> getServiceRevenueBreakdown(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate);
+
+    @GetMapping("/api/appointments/analytics/services/popularity")
+    List<ServiceStatsDto> getServicesPopularity(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate);
+
+    @GetMapping("/api/appointments/analytics/clients/{clientId}/visits")
+    ClientVisitStatsDto getClientVisitStats(@PathVariable Long clientId);
+
+    @GetMapping("/api/appointments/analytics/facts")
+    List<AppointmentFactDto> getFacts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime modifiedAfter,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam int limit);
 }
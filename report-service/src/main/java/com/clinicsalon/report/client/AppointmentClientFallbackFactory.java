@@ -5,6 +5,7 @@ import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
@@ -36,5 +37,42 @@ public class AppointmentClientFallbackFactory implements FallbackFactory<Appoint
             log.error("Fallback para getAppointmentsByProfessionalId. ProfessionalId: {}, erro: {}", professionalId, cause.getMessage());
             return Collections.emptyList();
         }
+
+        @Override
+        public DataVersionDto getDataVersion() {
+            log.error("Fallback para getDataVersion, erro: {}", cause.getMessage());
+            return null;
+        }
+
+        @Override
+        public RevenueSummaryDto getRevenueSummary(LocalDate startDate, LocalDate endDate) {
+            log.error("Fallback para getRevenueSummary, erro: {}", cause.getMessage());
+            return null;
+        }
+
+        @Override
+        public List<ServiceStatsDto> getServiceRevenueBreakdown(LocalDate startDate, LocalDate endDate) {
+            log.error("Fallback para getServiceRevenueBreakdown, erro: {}", cause.getMessage());
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<ServiceStatsDto> getServicesPopularity(LocalDate startDate, LocalDate endDate) {
+            log.error("Fallback para getServicesPopularity, erro: {}", cause.getMessage());
+            return Collections.emptyList();
+        }
+
+        @Override
+        public ClientVisitStatsDto getClientVisitStats(Long clientId) {
+            log.error("Fallback para getClientVisitStats. ClientId: {}, erro: {}", clientId, cause.getMessage());
+            return null;
+        }
+
+        @Override
+        public List<AppointmentFactDto> getFacts(LocalDateTime modifiedAfter, Long afterId, int limit) {
+            // Lista vazia seria lida como "sem alterações": null interrompe a atualização da cópia analítica
+            log.error("Fallback para getFacts. Cursor: {}/{}, erro: {}", modifiedAfter, afterId, cause.getMessage());
+            return null;
+        }
     }
 }
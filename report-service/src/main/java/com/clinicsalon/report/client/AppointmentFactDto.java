@@ -0,0 +1,38 @@
+package com.clinicsalon.report.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Fato de agendamento lido incrementalmente do appointment-service, na ordem (updatedAt, appointmentId)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentFactDto {
+    private Long appointmentId;
+    private Long clientId;
+    private Long professionalId;
+    private LocalDateTime startTime;
+    private String status;
+    private BigDecimal price;
+    private LocalDateTime updatedAt;
+    private List<Item> services;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long serviceId;
+        private String serviceName;
+        private BigDecimal price;
+    }
+}
@@ -0,0 +1,30 @@
+package com.clinicsalon.report.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Estatísticas de visitas de um cliente, agregadas pelo appointment-service
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientVisitStatsDto {
+    private Long clientId;
+    private Long totalAppointments;
+    private Long completedAppointments;
+    private Long cancelledAppointments;
+    private Long noShowAppointments;
+    private BigDecimal totalSpent;
+    private LocalDateTime firstVisit;
+    private LocalDateTime lastVisit;
+    private List<ServiceStatsDto> services;
+    private List<ProfessionalStatsDto> favoriteProfessionals; // mais visitados primeiro
+}
@@ -0,0 +1,19 @@
+package com.clinicsalon.report.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataVersionDto {
+    private String source;
+    private Long records;
+    private LocalDateTime lastModified;
+    private String version; // muda a cada alteração dos dados da fonte
+}
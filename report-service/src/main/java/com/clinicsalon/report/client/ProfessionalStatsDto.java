@@ -0,0 +1,22 @@
+package com.clinicsalon.report.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Atendimentos e receita de um profissional, agregados pelo appointment-service
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfessionalStatsDto {
+    private Long professionalId;
+    private Long count;
+    private BigDecimal revenue;
+    private Double revenuePercentage;
+}
@@ -0,0 +1,26 @@
+package com.clinicsalon.report.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais de receita do período, agregados pelo appointment-service
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueSummaryDto {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long appointmentsCount;
+    private BigDecimal totalRevenue;
+    private BigDecimal averageTicket;
+    private String mostPopularService;
+    private String mostRevenueService;
+}
@@ -0,0 +1,27 @@
+package com.clinicsalon.report.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Atendimentos e receita de um serviço, agregados pelo appointment-service
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceStatsDto {
+    private Long serviceId;
+    private String serviceName;
+    private Long count;
+    private Double countPercentage;
+    private BigDecimal revenue;
+    private Double revenuePercentage;
+    private BigDecimal averagePrice;
+    private LocalDateTime lastAppointment;
+}
@@ -0,0 +1,84 @@
+package com.clinicsalon.report.controller;
+
+import com.clinicsalon.report.analytics.AppointmentFactStore;
+import com.clinicsalon.report.analytics.FactGroupBy;
+import com.clinicsalon.report.analytics.FactQuery;
+import com.clinicsalon.report.analytics.FactStatus;
+import com.clinicsalon.report.dto.AppointmentAnalyticsGroup;
+import com.clinicsalon.report.dto.AppointmentAnalyticsResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Consultas ad hoc do painel sobre a cópia em memória dos agendamentos, sem acessar o
+ * appointment-service a cada requisição
+ */
+@RestController
+@RequestMapping("/api/reports/analytics")
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentAnalyticsController {
+
+    private final AppointmentFactStore factStore;
+
+    /**
+     * Endpoint para filtrar e agrupar agendamentos. Sem status informados, considera
+     * todos; a receita só é comparável aos relatórios quando filtrada pelos concluídos
+     */
+    @GetMapping("/appointments")
+    public ResponseEntity<AppointmentAnalyticsResponse> aggregateAppointments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Long professionalId,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) List<FactStatus> status,
+            @RequestParam(defaultValue = "NONE") FactGroupBy groupBy) {
+        log.info("Appointment analytics request received: groupBy={}, from {} to {}", groupBy, startDate, endDate);
+
+        if (!factStore.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        FactQuery query = FactQuery.between(startDate, endDate)
+                .client(clientId)
+                .professional(professionalId)
+                .service(serviceId)
+                .statuses(status == null || status.isEmpty() ? FactStatus.ALL : FactStatus.maskOf(status));
+        try {
+            List<AppointmentAnalyticsGroup> groups = factStore.aggregate(query, groupBy).stream()
+                    .map(group -> AppointmentAnalyticsGroup.builder()
+                            .key(groupBy == FactGroupBy.NONE ? null : group.key())
+                            .label(group.label())
+                            // Por serviço, cada linha é um agendamento distinto; a marca de visita fica só no primeiro serviço
+                            .appointments(groupBy == FactGroupBy.SERVICE ? group.items() : group.visits())
+                            .services(group.items())
+                            .revenue(group.revenue())
+                            .firstAppointment(group.firstStart())
+                            .lastAppointment(group.lastStart())
+                            .build())
+                    .toList();
+            return ResponseEntity.ok(AppointmentAnalyticsResponse.builder()
+                    .groupBy(groupBy)
+                    .refreshedAt(factStore.getRefreshedAt())
+                    .groups(groups)
+                    .build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid appointment analytics request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
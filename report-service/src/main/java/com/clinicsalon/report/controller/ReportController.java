@@ -1,16 +1,32 @@
 package com.clinicsalon.report.controller;
 
+import com.clinicsalon.report.dto.PrecomputedReportResponse;
+import com.clinicsalon.report.dto.ReportFormat;
 import com.clinicsalon.report.dto.ReportRequest;
 import com.clinicsalon.report.dto.ReportResponse;
+import com.clinicsalon.report.service.CachedReport;
+import com.clinicsalon.report.service.PreparedReport;
+import com.clinicsalon.report.service.RenderedReport;
 import com.clinicsalon.report.service.ReportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -22,6 +38,7 @@ public class ReportController {
 
     /**
      * Endpoint para solicitar a geração de um relatório
+     * Retorna apenas os metadados e o endereço de download do arquivo
      */
     @PostMapping
     public ResponseEntity<ReportResponse> generateReport(@Valid @RequestBody ReportRequest request) {
@@ -30,23 +47,74 @@ public class ReportController {
     }
 
     /**
-     * Endpoint para download de um relatório com o conteúdo em bytes
-     * Retorna o relatório como um arquivo para download
+     * Endpoint para download de um relatório
+     * O arquivo é renderizado por completo antes de a resposta começar e enviado com Content-Length
      */
     @PostMapping("/download")
-    public ResponseEntity<byte[]> downloadReport(@Valid @RequestBody ReportRequest request) {
+    public ResponseEntity<StreamingResponseBody> downloadReport(
+            @Valid @RequestBody ReportRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Report download request received: {}", request.getReportType());
-        
-        ReportResponse report = reportService.generateReport(request);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(report.getContentType()));
-        headers.setContentDispositionFormData(
-                "attachment", 
-                generateFileName(report));
-        headers.setContentLength(report.getFileSize());
-        
-        return new ResponseEntity<>(report.getReportContent(), headers, HttpStatus.OK);
+        return download(request, ifNoneMatch);
+    }
+
+    /**
+     * Endpoint para download de um relatório preparado por POST /api/reports
+     */
+    @GetMapping("/{reportId}/content")
+    public ResponseEntity<StreamingResponseBody> downloadPreparedReport(
+            @PathVariable String reportId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("Prepared report download request received for ID: {}", reportId);
+
+        Optional<CachedReport> cached = reportService.findCachedReport(reportId);
+        if (cached.isPresent()) {
+            return matches(ifNoneMatch, reportId) ? notModified(reportId) : streamCachedReport(cached.get());
+        }
+        Optional<PreparedReport> prepared = reportService.findPreparedReport(reportId);
+        if (prepared.isPresent()) {
+            PreparedReport report = prepared.get();
+            return report.cacheKey() != null && matches(ifNoneMatch, report.cacheKey())
+                    ? notModified(report.cacheKey())
+                    : streamReport(report);
+        }
+
+        // Preparado por outra instância, ou já fora da memória desta: a requisição vem no próprio ID
+        return reportService.resolveReportRequest(reportId)
+                .map(request -> download(request, ifNoneMatch))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(ReportRequest request, String ifNoneMatch) {
+        // Relatórios pré-calculados são servidos sem consultar os serviços de origem
+        Optional<CachedReport> precomputed = reportService.findPrecomputedReport(request);
+        if (precomputed.isPresent()) {
+            String key = precomputed.get().key();
+            return matches(ifNoneMatch, key) ? notModified(key) : streamCachedReport(precomputed.get());
+        }
+
+        // A chave depende da versão atual dos dados: se o cliente já tem o arquivo, nada é gerado
+        Optional<String> cacheKey = reportService.getCacheKey(request);
+        if (cacheKey.isPresent()) {
+            if (matches(ifNoneMatch, cacheKey.get())) {
+                return notModified(cacheKey.get());
+            }
+            Optional<CachedReport> cached = reportService.findCachedReport(cacheKey.get());
+            if (cached.isPresent()) {
+                return streamCachedReport(cached.get());
+            }
+        }
+
+        // Os dados são coletados antes da resposta começar, para que falhas ainda virem status de erro
+        return streamReport(reportService.prepareReport(request, cacheKey.orElse(null)));
+    }
+
+    /**
+     * Endpoint para listar os relatórios recorrentes já pré-calculados
+     */
+    @GetMapping("/precomputed")
+    public ResponseEntity<List<PrecomputedReportResponse>> getPrecomputedReports() {
+        return ResponseEntity.ok(reportService.getPrecomputedReports());
     }
 
     /**
@@ -55,26 +123,95 @@ public class ReportController {
     @GetMapping("/{reportId}")
     public ResponseEntity<ReportResponse> getReportStatus(@PathVariable String reportId) {
         log.info("Report status request received for ID: {}", reportId);
-        
-        // Implementação simples - em um cenário real, buscaríamos o status no banco de dados
-        return ResponseEntity.ok(ReportResponse.builder()
-                .reportId(reportId)
-                .status("COMPLETED")
-                .build());
+
+        return reportService.getReportStatus(reportId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(ReportResponse.builder()
+                        .reportId(reportId)
+                        .status("NOT_FOUND")
+                        .message("Relatório não encontrado ou expirado")
+                        .build()));
     }
 
     /**
-     * Gera um nome de arquivo baseado no tipo de relatório e formato
+     * Renderiza o relatório antes de enviar o status, para que uma falha vire erro e não um
+     * arquivo truncado com 200; o arquivo temporário é apagado depois do envio
      */
-    private String generateFileName(ReportResponse report) {
-        String extension = switch (report.getContentType()) {
-            case "application/pdf" -> "pdf";
-            case "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet" -> "xlsx";
-            case "text/csv" -> "csv";
-            default -> "pdf";
+    private ResponseEntity<StreamingResponseBody> streamReport(PreparedReport report) {
+        HttpHeaders headers = fileHeaders(report.format(), report.fileName(), report.cacheKey());
+
+        RenderedReport rendered = reportService.renderReport(report);
+        headers.setContentLength(rendered.size());
+        StreamingResponseBody body = output -> {
+            try (rendered) {
+                Files.copy(rendered.file(), output);
+            }
         };
-        
-        return report.getReportName().replaceAll("\\s+", "_") + "_" + 
-               report.getGeneratedAt().toString().replaceAll("[^0-9]", "") + "." + extension;
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Envia o arquivo do cache; o arquivo é aberto antes da resposta para que uma remoção
+     * concorrente pelo limite de tamanho não interrompa o download
+     */
+    private ResponseEntity<StreamingResponseBody> streamCachedReport(CachedReport report) {
+        HttpHeaders headers = fileHeaders(report.format(), report.fileName(), report.key());
+        headers.setContentLength(report.size());
+
+        InputStream input;
+        try {
+            input = Files.newInputStream(report.file());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Arquivo do relatório em cache indisponível: " + report.key(), e);
+        }
+        StreamingResponseBody body = output -> {
+            try (input) {
+                input.transferTo(output);
+            }
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private HttpHeaders fileHeaders(ReportFormat format, String fileName, String cacheKey) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType()));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(fileName, StandardCharsets.UTF_8)
+                .build());
+        if (cacheKey != null) {
+            // Relatórios têm dados de clientes: apenas o navegador guarda, sempre revalidando pelo ETag
+            headers.setETag(etag(cacheKey));
+            headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        }
+        return headers;
+    }
+
+    private ResponseEntity<StreamingResponseBody> notModified(String cacheKey) {
+        log.info("Report {} not modified", cacheKey);
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag(cacheKey))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .build();
+    }
+
+    private boolean matches(String ifNoneMatch, String cacheKey) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String etag = etag(cacheKey);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String etag(String cacheKey) {
+        return "\"" + cacheKey + "\"";
     }
 }
@@ -0,0 +1,27 @@
+package com.clinicsalon.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha agregada do painel de agendamentos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentAnalyticsGroup {
+
+    private Long key;
+    private String label;
+    private long appointments;
+    private long services;
+    private BigDecimal revenue;
+    private LocalDateTime firstAppointment;
+    private LocalDateTime lastAppointment;
+}
@@ -0,0 +1,25 @@
+package com.clinicsalon.report.dto;
+
+import com.clinicsalon.report.analytics.FactGroupBy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resultado de uma consulta do painel sobre a cópia em memória dos agendamentos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentAnalyticsResponse {
+
+    private FactGroupBy groupBy;
+    /** Momento da última atualização da cópia; alterações posteriores ainda não aparecem */
+    private LocalDateTime refreshedAt;
+    private List<AppointmentAnalyticsGroup> groups;
+}
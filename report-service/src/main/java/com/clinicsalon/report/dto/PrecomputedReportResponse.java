@@ -0,0 +1,34 @@
+package com.clinicsalon.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Relatório recorrente pronto para download. Uma requisição com o mesmo tipo, período,
+ * profissional e formato é atendida por este arquivo
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrecomputedReportResponse {
+
+    private String definition;
+    private String reportId;
+    private ReportType reportType;
+    private String reportName;
+    private String format;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long professionalId;
+    private String contentType;
+    private long size;
+    private String downloadUrl;
+    private LocalDateTime generatedAt;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,40 @@
+package com.clinicsalon.report.dto;
+
+/**
+ * Formatos de saída dos relatórios, com o tipo de conteúdo e a extensão do arquivo
+ */
+public enum ReportFormat {
+    PDF("application/pdf", "pdf"),
+    EXCEL("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ReportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Converte o formato informado na requisição; formatos ausentes ou desconhecidos viram PDF
+     */
+    public static ReportFormat from(String format) {
+        if (format == null) {
+            return PDF;
+        }
+        return switch (format.toUpperCase()) {
+            case "EXCEL", "XLSX" -> EXCEL;
+            case "CSV" -> CSV;
+            default -> PDF;
+        };
+    }
+}
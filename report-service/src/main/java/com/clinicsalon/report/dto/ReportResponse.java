@@ -7,6 +7,10 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * Metadados de um relatório preparado. O arquivo não trafega no JSON: é gerado sob demanda
+ * e enviado em streaming por {@code downloadUrl} até {@code expiresAt}
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,9 +21,9 @@ public class ReportResponse {
     private ReportType reportType;
     private String reportName;
     private String contentType;
-    private byte[] reportContent;
+    private String downloadUrl;
     private LocalDateTime generatedAt;
+    private LocalDateTime expiresAt;
     private String status;
     private String message;
-    private Long fileSize;
 }
@@ -0,0 +1,34 @@
+package com.clinicsalon.report.row;
+
+import com.clinicsalon.report.client.AppointmentDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha de agendamento dos relatórios de cliente e de agenda de profissional.
+ * Os nomes dos componentes são os campos dos templates JRXML
+ */
+public record AppointmentRow(Long appointmentId,
+                             Long clientId,
+                             String clientName,
+                             Long professionalId,
+                             String professionalName,
+                             LocalDateTime serviceDate,
+                             String serviceName,
+                             String status,
+                             BigDecimal price) {
+
+    public static AppointmentRow from(AppointmentDto appointment) {
+        return new AppointmentRow(
+                appointment.getId(),
+                appointment.getClientId(),
+                appointment.getClientName(),
+                appointment.getProfessionalId(),
+                appointment.getProfessionalName(),
+                appointment.getAppointmentDate(),
+                appointment.getServiceName(),
+                appointment.getStatus(),
+                appointment.getPrice());
+    }
+}
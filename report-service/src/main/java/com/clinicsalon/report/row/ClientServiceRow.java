@@ -0,0 +1,14 @@
+package com.clinicsalon.report.row;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Serviço realizado por um cliente no relatório de histórico, com a quantidade de atendimentos
+ */
+public record ClientServiceRow(String serviceName,
+                               Integer serviceCount,
+                               LocalDateTime lastServiceDate,
+                               String serviceCategory,
+                               BigDecimal totalSpent) {
+}
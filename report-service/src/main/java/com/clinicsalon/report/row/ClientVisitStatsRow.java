@@ -0,0 +1,27 @@
+package com.clinicsalon.report.row;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estatísticas de visitas de um cliente no relatório de histórico
+ *
+ * @param services           Serviços realizados, dos mais frequentes aos menos
+ * @param professionalVisits Visitas por ID de profissional, dos mais visitados aos menos
+ */
+public record ClientVisitStatsRow(Integer totalAppointments,
+                                  BigDecimal totalSpent,
+                                  LocalDateTime firstVisit,
+                                  LocalDateTime lastVisit,
+                                  List<ClientServiceRow> services,
+                                  Map<Long, Integer> professionalVisits) {
+
+    /**
+     * Estatísticas sem dados, usadas quando o serviço de agendamentos não responde
+     */
+    public static ClientVisitStatsRow empty() {
+        return new ClientVisitStatsRow(0, BigDecimal.ZERO, null, null, List.of(), Map.of());
+    }
+}
@@ -0,0 +1,10 @@
+package com.clinicsalon.report.row;
+
+/**
+ * Profissional mais visitado por um cliente no relatório de histórico
+ */
+public record FavoriteProfessionalRow(Long id,
+                                      String name,
+                                      String specialization,
+                                      Integer visits) {
+}
@@ -0,0 +1,24 @@
+package com.clinicsalon.report.row;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Conta de fidelidade de um cliente, com o histórico de movimentações
+ *
+ * @param memberSince Data da primeira movimentação (ISO), ou a data atual para contas sem histórico
+ */
+public record LoyaltyAccountRow(Long clientId,
+                                String clientName,
+                                Integer points,
+                                String tier,
+                                String memberSince,
+                                List<PointsHistoryRow> pointsHistory) {
+
+    /**
+     * Conta sem pontos, usada quando os dados de fidelidade do cliente não estão disponíveis
+     */
+    public static LoyaltyAccountRow basic(Long clientId, String clientName) {
+        return new LoyaltyAccountRow(clientId, clientName, 0, "BRONZE", LocalDate.now().toString(), List.of());
+    }
+}
@@ -0,0 +1,25 @@
+package com.clinicsalon.report.row;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumo do programa de fidelidade, única linha do relatório de resumo de pontos
+ *
+ * @param accountsByTier   Quantidade de contas por nível, na ordem recebida do loyalty-service
+ * @param tierDistribution Linhas do sub-relatório por nível
+ */
+public record LoyaltySummaryRow(Integer totalActiveAccounts,
+                                Integer totalPointsIssued,
+                                Integer totalPointsRedeemed,
+                                Integer activePoints,
+                                Map<String, Integer> accountsByTier,
+                                List<LoyaltyTierRow> tierDistribution) {
+
+    /**
+     * Resumo sem dados, usado quando o serviço de fidelidade não responde
+     */
+    public static LoyaltySummaryRow empty() {
+        return new LoyaltySummaryRow(null, null, null, null, Map.of(), List.of());
+    }
+}
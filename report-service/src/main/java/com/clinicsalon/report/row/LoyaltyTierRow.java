@@ -0,0 +1,11 @@
+package com.clinicsalon.report.row;
+
+/**
+ * Contas e pontos de um nível do programa de fidelidade (sub-relatório do resumo)
+ */
+public record LoyaltyTierRow(String tier,
+                             Integer count,
+                             Integer activePoints,
+                             Integer pointsIssued,
+                             Integer pointsRedeemed) {
+}
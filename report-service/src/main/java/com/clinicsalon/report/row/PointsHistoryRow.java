@@ -0,0 +1,9 @@
+package com.clinicsalon.report.row;
+
+/**
+ * Movimentação de pontos no histórico de uma conta de fidelidade
+ */
+public record PointsHistoryRow(String date,
+                               Integer points,
+                               String description) {
+}
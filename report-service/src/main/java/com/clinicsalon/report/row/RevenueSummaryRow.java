@@ -0,0 +1,18 @@
+package com.clinicsalon.report.row;
+
+/**
+ * Totais do período no relatório de resumo de receitas
+ */
+public record RevenueSummaryRow(Double totalRevenue,
+                                Integer appointmentsCount,
+                                Double averageTicket,
+                                String mostPopularService,
+                                String mostRevenueService) {
+
+    /**
+     * Resumo sem dados, usado quando o serviço de agendamentos não responde
+     */
+    public static RevenueSummaryRow empty() {
+        return new RevenueSummaryRow(null, null, null, null, null);
+    }
+}
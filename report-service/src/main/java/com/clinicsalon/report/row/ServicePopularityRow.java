@@ -0,0 +1,20 @@
+package com.clinicsalon.report.row;
+
+import java.math.BigDecimal;
+
+/**
+ * Linha do relatório de popularidade de serviços
+ *
+ * @param availableProfessionals Profissionais ativos que oferecem o serviço, separados por vírgula
+ */
+public record ServicePopularityRow(String serviceName,
+                                   String category,
+                                   Integer count,
+                                   Double percentage,
+                                   BigDecimal revenue,
+                                   String availableProfessionals) {
+
+    public ServicePopularityRow withAvailableProfessionals(String availableProfessionals) {
+        return new ServicePopularityRow(serviceName, category, count, percentage, revenue, availableProfessionals);
+    }
+}
@@ -0,0 +1,10 @@
+package com.clinicsalon.report.row;
+
+/**
+ * Receita de um serviço no relatório de resumo de receitas
+ */
+public record ServiceRevenueRow(String serviceName,
+                                Integer count,
+                                Double percentage,
+                                Double revenue) {
+}
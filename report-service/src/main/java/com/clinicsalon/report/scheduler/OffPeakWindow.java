@@ -0,0 +1,32 @@
+package com.clinicsalon.report.scheduler;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Janela diária de baixo movimento em que os relatórios agendados podem ser renderizados.
+ * Pode atravessar a meia-noite (por exemplo, das 22:00 às 05:00)
+ *
+ * @param start Início da janela, inclusivo
+ * @param end   Fim da janela, exclusivo
+ */
+public record OffPeakWindow(LocalTime start, LocalTime end) {
+
+    public boolean contains(LocalTime time) {
+        if (start.equals(end)) {
+            return true;
+        }
+        if (start.isBefore(end)) {
+            return !time.isBefore(start) && time.isBefore(end);
+        }
+        return !time.isBefore(start) || time.isBefore(end);
+    }
+
+    /**
+     * Próximo início da janela depois do momento informado
+     */
+    public LocalDateTime nextStart(LocalDateTime now) {
+        LocalDateTime today = now.toLocalDate().atTime(start);
+        return today.isAfter(now) ? today : today.plusDays(1);
+    }
+}
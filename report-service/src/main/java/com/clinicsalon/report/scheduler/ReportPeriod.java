@@ -0,0 +1,33 @@
+package com.clinicsalon.report.scheduler;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Período de um relatório agendado, relativo à data da execução
+ */
+public enum ReportPeriod {
+    PREVIOUS_DAY,
+    PREVIOUS_WEEK,
+    PREVIOUS_MONTH,
+    CURRENT_MONTH;
+
+    public LocalDate startDate(LocalDate today) {
+        return switch (this) {
+            case PREVIOUS_DAY -> today.minusDays(1);
+            case PREVIOUS_WEEK -> today.minusWeeks(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case PREVIOUS_MONTH -> today.minusMonths(1).withDayOfMonth(1);
+            case CURRENT_MONTH -> today.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate endDate(LocalDate today) {
+        return switch (this) {
+            case PREVIOUS_DAY -> today.minusDays(1);
+            case PREVIOUS_WEEK -> startDate(today).plusDays(6);
+            case PREVIOUS_MONTH -> startDate(today).with(TemporalAdjusters.lastDayOfMonth());
+            case CURRENT_MONTH -> today.with(TemporalAdjusters.lastDayOfMonth());
+        };
+    }
+}
@@ -0,0 +1,206 @@
+package com.clinicsalon.report.scheduler;
+
+import com.clinicsalon.report.client.ProfessionalDto;
+import com.clinicsalon.report.dto.ReportRequest;
+import com.clinicsalon.report.dto.ReportType;
+import com.clinicsalon.report.service.PrecomputedReport;
+import com.clinicsalon.report.service.PrecomputedReportStore;
+import com.clinicsalon.report.service.ProfessionalDataService;
+import com.clinicsalon.report.service.ReportPrecomputeService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Agendador dos relatórios recorrentes (report.schedule.definitions). Cada definição dispara
+ * pelo seu cron, mas os relatórios só são renderizados dentro da janela de baixo movimento,
+ * no máximo {@code report.schedule.max-concurrent} ao mesmo tempo; o que não couber na
+ * janela aguarda a próxima. Uma definição ainda em andamento não é disparada de novo.
+ * <p>
+ * Com várias instâncias, só a que obtém a {@link ReportScheduleLock} da definição a executa;
+ * as demais pulam a execução e servem o resultado pelo catálogo compartilhado do
+ * {@link PrecomputedReportStore}.
+ */
+@Component
+@Slf4j
+public class ReportPrecomputeScheduler {
+
+    private final ReportScheduleProperties properties;
+    private final ReportPrecomputeService precomputeService;
+    private final PrecomputedReportStore precomputedReports;
+    private final ProfessionalDataService professionalDataService;
+    private final TaskScheduler taskScheduler;
+    private final ReportScheduleLock lock;
+    private final OffPeakWindow window;
+    private final ExecutorService executor;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public ReportPrecomputeScheduler(ReportScheduleProperties properties,
+                                     ReportPrecomputeService precomputeService,
+                                     PrecomputedReportStore precomputedReports,
+                                     ProfessionalDataService professionalDataService,
+                                     TaskScheduler taskScheduler,
+                                     ReportScheduleLock lock) {
+        this.properties = properties;
+        this.precomputeService = precomputeService;
+        this.precomputedReports = precomputedReports;
+        this.professionalDataService = professionalDataService;
+        this.taskScheduler = taskScheduler;
+        this.lock = lock;
+        this.window = properties.getOffPeakWindow();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getMaxConcurrent()),
+                Thread.ofPlatform().name("report-precompute-", 1).factory());
+    }
+
+    /**
+     * Registra os crons das definições. O catálogo sobrevive a reinícios, então na inicialização
+     * só são disparadas as definições cujo período atual ainda não está nele, por exemplo
+     * porque nenhuma instância estava no ar no horário do cron
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleDefinitions() {
+        if (!properties.isEnabled()) {
+            log.info("Report precomputation disabled");
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<PrecomputedReport> catalog = precomputedReports.getCatalog();
+        int scheduled = 0;
+        for (ReportScheduleProperties.Definition definition : properties.getDefinitions()) {
+            if (definition.getName() == null || definition.getCron() == null || definition.getReportType() == null) {
+                log.warn("Ignoring incomplete report schedule definition: {}", definition);
+                continue;
+            }
+            if (definition.getReportType() == ReportType.CLIENT_APPOINTMENTS
+                    || definition.getReportType() == ReportType.CLIENT_HISTORY) {
+                log.warn("Ignoring report schedule definition {}: per-client reports are not precomputed", definition.getName());
+                continue;
+            }
+            taskScheduler.schedule(() -> trigger(definition), new CronTrigger(definition.getCron()));
+            if (isPrecomputed(catalog, definition, today)) {
+                log.info("Recurring report {} is already precomputed for the current period", definition.getName());
+            } else {
+                trigger(definition);
+            }
+            scheduled++;
+        }
+        log.info("Scheduled {} recurring reports, off-peak window {}-{}", scheduled, window.start(), window.end());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void trigger(ReportScheduleProperties.Definition definition) {
+        if (!running.add(definition.getName())) {
+            log.info("Recurring report {} is still pending; skipping this run", definition.getName());
+            return;
+        }
+        // O período é calculado no disparo, mesmo que a renderização fique para a próxima janela
+        LocalDate runDate = LocalDate.now();
+        whenOffPeak(() -> dispatch(definition, runDate));
+    }
+
+    private static boolean isPrecomputed(List<PrecomputedReport> catalog, ReportScheduleProperties.Definition definition,
+                                         LocalDate runDate) {
+        LocalDate startDate = definition.getPeriod().startDate(runDate);
+        return catalog.stream().anyMatch(entry -> entry.definition().equals(definition.getName())
+                && startDate.equals(entry.request().getStartDate()));
+    }
+
+    private void dispatch(ReportScheduleProperties.Definition definition, LocalDate runDate) {
+        Optional<ReportScheduleLock.Lease> lease = lock.tryLock(definition.getName());
+        if (lease.isEmpty()) {
+            log.info("Recurring report {} is locked by another instance; skipping this run", definition.getName());
+            running.remove(definition.getName());
+            return;
+        }
+
+        List<ReportRequest> requests;
+        try {
+            requests = requests(definition, runDate);
+        } catch (Exception e) {
+            log.error("Error while preparing recurring report {}: {}", definition.getName(), e.getMessage(), e);
+            finish(definition, lease.get());
+            return;
+        }
+        if (requests.isEmpty()) {
+            finish(definition, lease.get());
+            return;
+        }
+
+        log.info("Precomputing recurring report {} ({} reports)", definition.getName(), requests.size());
+        AtomicInteger remaining = new AtomicInteger(requests.size());
+        for (ReportRequest request : requests) {
+            executor.execute(() -> render(definition, request, remaining, lease.get()));
+        }
+    }
+
+    private void render(ReportScheduleProperties.Definition definition, ReportRequest request,
+                        AtomicInteger remaining, ReportScheduleLock.Lease lease) {
+        // Itens que esperaram na fila além do fim da janela ficam para a próxima
+        if (!window.contains(LocalTime.now())) {
+            whenOffPeak(() -> executor.execute(() -> render(definition, request, remaining, lease)));
+            return;
+        }
+        try {
+            precomputeService.precompute(definition.getName(), request);
+        } catch (Exception e) {
+            log.error("Error while precomputing recurring report {}: {}", definition.getName(), e.getMessage(), e);
+        }
+        if (remaining.decrementAndGet() == 0) {
+            finish(definition, lease);
+            log.info("Recurring report {} finished", definition.getName());
+        }
+    }
+
+    private void finish(ReportScheduleProperties.Definition definition, ReportScheduleLock.Lease lease) {
+        lock.release(lease);
+        running.remove(definition.getName());
+    }
+
+    private void whenOffPeak(Runnable task) {
+        LocalDateTime now = LocalDateTime.now();
+        if (window.contains(now.toLocalTime())) {
+            task.run();
+            return;
+        }
+        LocalDateTime next = window.nextStart(now);
+        taskScheduler.schedule(() -> whenOffPeak(task), next.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private List<ReportRequest> requests(ReportScheduleProperties.Definition definition, LocalDate runDate) {
+        ReportRequest.ReportRequestBuilder request = ReportRequest.builder()
+                .reportType(definition.getReportType())
+                .startDate(definition.getPeriod().startDate(runDate))
+                .endDate(definition.getPeriod().endDate(runDate))
+                .format(definition.getFormat());
+        if (definition.getReportType() != ReportType.PROFESSIONAL_SCHEDULE) {
+            return List.of(request.build());
+        }
+
+        List<Long> professionalIds = definition.getProfessionalIds().isEmpty()
+                ? professionalDataService.getActiveProfessionals().stream().map(ProfessionalDto::getId).toList()
+                : definition.getProfessionalIds();
+        return professionalIds.stream()
+                .map(professionalId -> request.professionalId(professionalId).build())
+                .toList();
+    }
+}
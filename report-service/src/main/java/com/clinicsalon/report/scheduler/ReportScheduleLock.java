@@ -0,0 +1,91 @@
+package com.clinicsalon.report.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Trava de execução dos relatórios recorrentes, uma linha por definição em
+ * report_schedule_locks. A trava é obtida com um único INSERT ... ON CONFLICT, que só
+ * substitui a linha se a trava anterior já venceu, e vale no máximo
+ * {@code report.schedule.lock-at-most-for}, para que uma instância que caiu no meio da
+ * execução não bloqueie as seguintes. Ao terminar, a trava é mantida até completar
+ * {@code report.schedule.lock-at-least-for}, cobrindo a diferença de relógio entre as
+ * instâncias que disparam o mesmo cron.
+ */
+@Component
+@Slf4j
+public class ReportScheduleLock {
+
+    private static final String ACQUIRE =
+            "INSERT INTO report_schedule_locks (name, locked_until, locked_at, locked_by) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (name) DO UPDATE SET locked_until = EXCLUDED.locked_until, " +
+            "locked_at = EXCLUDED.locked_at, locked_by = EXCLUDED.locked_by " +
+            "WHERE report_schedule_locks.locked_until <= EXCLUDED.locked_at";
+
+    private static final String RELEASE =
+            "UPDATE report_schedule_locks SET locked_until = ? WHERE name = ? AND locked_by = ? AND locked_at = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration lockAtMostFor;
+    private final Duration lockAtLeastFor;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+
+    public ReportScheduleLock(DataSource dataSource, ReportScheduleProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.lockAtMostFor = properties.getLockAtMostFor();
+        this.lockAtLeastFor = properties.getLockAtLeastFor();
+    }
+
+    /**
+     * Tenta obter a trava da definição
+     *
+     * @return vazio se outra instância está com a trava ou o banco não respondeu
+     */
+    public Optional<Lease> tryLock(String name) {
+        // Na precisão da coluna, para que a liberação encontre a mesma trava
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        try {
+            int updated = jdbcTemplate.update(ACQUIRE, name, Timestamp.valueOf(now.plus(lockAtMostFor)),
+                    Timestamp.valueOf(now), owner);
+            return updated > 0 ? Optional.of(new Lease(name, now)) : Optional.empty();
+        } catch (DataAccessException e) {
+            log.warn("Could not acquire schedule lock {}: {}", name, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Libera a trava, mantendo-a até completar o tempo mínimo. Se a liberação falhar, a
+     * trava vence sozinha ao fim do tempo máximo
+     */
+    public void release(Lease lease) {
+        LocalDateTime minimum = lease.lockedAt().plus(lockAtLeastFor);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = minimum.isAfter(now) ? minimum : now;
+        try {
+            jdbcTemplate.update(RELEASE, Timestamp.valueOf(until), lease.name(), owner,
+                    Timestamp.valueOf(lease.lockedAt()));
+        } catch (DataAccessException e) {
+            log.warn("Could not release schedule lock {}: {}", lease.name(), e.getMessage());
+        }
+    }
+
+    /**
+     * Trava obtida por esta instância
+     *
+     * @param name     Nome da definição
+     * @param lockedAt Momento em que a trava foi obtida
+     */
+    public record Lease(String name, LocalDateTime lockedAt) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.clinicsalon.report.scheduler;
+
+import com.clinicsalon.report.dto.ReportType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Relatórios recorrentes pré-calculados na janela de baixo movimento (report.schedule)
+ */
+@Data
+@ConfigurationProperties(prefix = "report.schedule")
+public class ReportScheduleProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Janela em que os relatórios são renderizados; execuções fora dela aguardam o próximo início
+     */
+    private LocalTime offPeakStart = LocalTime.of(0, 0);
+    private LocalTime offPeakEnd = LocalTime.of(6, 0);
+
+    /**
+     * Relatórios renderizados ao mesmo tempo
+     */
+    private int maxConcurrent = 2;
+
+    /**
+     * Diretório dos arquivos pré-calculados; com mais de uma instância, deve ser um volume compartilhado
+     */
+    private String directory = System.getProperty("java.io.tmpdir") + "/clinicsalon-report-precomputed";
+    private DataSize maxSize = DataSize.ofGigabytes(1);
+
+    /**
+     * Tempo em que um relatório pré-calculado continua disponível, até a próxima execução
+     */
+    private Duration retention = Duration.ofDays(40);
+
+    /**
+     * Validade máxima da trava de uma execução ({@link ReportScheduleLock}), inclusive a espera
+     * pela próxima janela dos relatórios que não couberam na atual
+     */
+    private Duration lockAtMostFor = Duration.ofHours(24);
+
+    /**
+     * Tempo mínimo da trava, para que outra instância que dispare o mesmo cron um pouco
+     * depois não repita a execução
+     */
+    private Duration lockAtLeastFor = Duration.ofMinutes(5);
+
+    private List<Definition> definitions = new ArrayList<>();
+
+    public OffPeakWindow getOffPeakWindow() {
+        return new OffPeakWindow(offPeakStart, offPeakEnd);
+    }
+
+    /**
+     * Definição de um relatório recorrente
+     */
+    @Data
+    public static class Definition {
+
+        private String name;
+
+        /**
+         * Expressão cron da execução, no formato do Spring (com segundos)
+         */
+        private String cron;
+
+        private ReportType reportType;
+        private String format = "PDF";
+        private ReportPeriod period = ReportPeriod.PREVIOUS_MONTH;
+
+        /**
+         * Profissionais da agenda (PROFESSIONAL_SCHEDULE); vazio para todos os profissionais ativos
+         */
+        private List<Long> professionalIds = new ArrayList<>();
+    }
+}
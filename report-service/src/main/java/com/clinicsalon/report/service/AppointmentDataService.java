@@ -1,43 +1,63 @@
 package com.clinicsalon.report.service;
 
+import com.clinicsalon.report.analytics.AppointmentFactStore;
+import com.clinicsalon.report.analytics.FactGroup;
+import com.clinicsalon.report.analytics.FactGroupBy;
+import com.clinicsalon.report.analytics.FactQuery;
 import com.clinicsalon.report.client.AppointmentClient;
 import com.clinicsalon.report.client.AppointmentDto;
+import com.clinicsalon.report.client.ClientVisitStatsDto;
+import com.clinicsalon.report.client.RevenueSummaryDto;
+import com.clinicsalon.report.row.AppointmentRow;
+import com.clinicsalon.report.row.ClientServiceRow;
+import com.clinicsalon.report.row.ClientVisitStatsRow;
+import com.clinicsalon.report.row.RevenueSummaryRow;
+import com.clinicsalon.report.row.ServicePopularityRow;
+import com.clinicsalon.report.row.ServiceRevenueRow;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Serviço para buscar dados de agendamentos
- * Será implementado completamente quando o appointment-service-client estiver disponível
+ * Resumos e estatísticas são calculados na cópia em memória dos fatos de agendamento
+ * quando ela já está carregada, ou vêm agregados do appointment-service; apenas os
+ * relatórios de agendamentos individuais buscam as linhas de agendamento
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AppointmentDataService {
 
+    /** Profissionais mais visitados nas estatísticas do cliente, como no appointment-service */
+    private static final int FAVORITE_PROFESSIONALS = 5;
+
     private final AppointmentClient appointmentClient;
+    private final AppointmentFactStore factStore;
 
     /**
      * Busca agendamentos de um cliente em um período
      */
     @CircuitBreaker(name = "appointmentService", fallbackMethod = "getClientAppointmentsFallback")
-    public List<Map<String, Object>> getClientAppointments(Long clientId, LocalDate startDate, LocalDate endDate) {
+    public List<AppointmentRow> getClientAppointments(Long clientId, LocalDate startDate, LocalDate endDate) {
         log.info("Fetching appointments for client ID: {} from {} to {}", clientId, startDate, endDate);
         
         // Usa o Feign client para buscar os dados reais de agendamentos
         List<AppointmentDto> appointments = appointmentClient.getAppointmentsByClientId(clientId, startDate, endDate);
         return appointments.stream()
-                .map(this::mapAppointmentToReportData)
+                .map(AppointmentRow::from)
                 .collect(Collectors.toList());
     }
 
@@ -45,131 +65,247 @@ public class AppointmentDataService {
      * Busca agenda de um profissional em um período
      */
     @CircuitBreaker(name = "appointmentService", fallbackMethod = "getProfessionalScheduleFallback")
-    public List<Map<String, Object>> getProfessionalSchedule(Long professionalId, LocalDate startDate, LocalDate endDate) {
+    public List<AppointmentRow> getProfessionalSchedule(Long professionalId, LocalDate startDate, LocalDate endDate) {
         log.info("Fetching schedule for professional ID: {} from {} to {}", professionalId, startDate, endDate);
         
         // Usa o Feign client para buscar os dados reais da agenda do profissional
         List<AppointmentDto> appointments = appointmentClient.getAppointmentsByProfessionalId(professionalId, startDate, endDate);
         return appointments.stream()
-                .map(this::mapAppointmentToProfessionalSchedule)
+                .map(AppointmentRow::from)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Busca resumo de receitas em um período
+     * Busca resumo de receitas em um período, agregado no appointment-service
      */
     @CircuitBreaker(name = "appointmentService", fallbackMethod = "getRevenueSummaryFallback")
-    public Map<String, Object> getRevenueSummary(LocalDate startDate, LocalDate endDate) {
+    public RevenueSummaryRow getRevenueSummary(LocalDate startDate, LocalDate endDate) {
         log.info("Fetching revenue summary from {} to {}", startDate, endDate);
         
-        // Implementação temporária - será substituída por chamada real ao client Feign
-        return mockRevenueSummary();
+        if (factStore.isReady()) {
+            return localRevenueSummary(startDate, endDate);
+        }
+        RevenueSummaryDto summary = appointmentClient.getRevenueSummary(startDate, endDate);
+        if (summary == null) {
+            return RevenueSummaryRow.empty();
+        }
+        return new RevenueSummaryRow(
+                toDouble(summary.getTotalRevenue()),
+                toInteger(summary.getAppointmentsCount()),
+                toDouble(summary.getAverageTicket()),
+                summary.getMostPopularService(),
+                summary.getMostRevenueService());
     }
 
     /**
-     * Busca popularidade de serviços em um período
+     * Busca popularidade de serviços em um período, agregada no appointment-service
      */
     @CircuitBreaker(name = "appointmentService", fallbackMethod = "getServicesPopularityFallback")
-    public List<Map<String, Object>> getServicesPopularity(LocalDate startDate, LocalDate endDate) {
+    public List<ServicePopularityRow> getServicesPopularity(LocalDate startDate, LocalDate endDate) {
         log.info("Fetching services popularity from {} to {}", startDate, endDate);
         
-        // Implementação temporária - será substituída por chamada real ao client Feign
-        return mockServicesPopularity();
+        if (factStore.isReady()) {
+            return localServicesPopularity(startDate, endDate);
+        }
+        // O catálogo de serviços não tem categoria: a associação com profissionais usa o nome do serviço
+        return appointmentClient.getServicesPopularity(startDate, endDate).stream()
+                .map(service -> new ServicePopularityRow(
+                        service.getServiceName(),
+                        null,
+                        toInteger(service.getCount()),
+                        service.getCountPercentage(),
+                        service.getRevenue(),
+                        null))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Busca a receita por serviço em um período, agregada no appointment-service
+     */
+    @CircuitBreaker(name = "appointmentService", fallbackMethod = "getServiceRevenueBreakdownFallback")
+    public List<ServiceRevenueRow> getServiceRevenueBreakdown(LocalDate startDate, LocalDate endDate) {
+        log.info("Fetching service revenue breakdown from {} to {}", startDate, endDate);
+        
+        if (factStore.isReady()) {
+            return localServiceRevenueBreakdown(startDate, endDate);
+        }
+        return appointmentClient.getServiceRevenueBreakdown(startDate, endDate).stream()
+                .map(service -> new ServiceRevenueRow(
+                        service.getServiceName(),
+                        toInteger(service.getCount()),
+                        service.getRevenuePercentage(),
+                        toDouble(service.getRevenue())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Busca as estatísticas de visitas de um cliente sem carregar o histórico de agendamentos
+     */
+    @CircuitBreaker(name = "appointmentService", fallbackMethod = "getClientVisitStatsFallback")
+    public ClientVisitStatsRow getClientVisitStats(Long clientId) {
+        log.info("Fetching visit stats for client ID: {}", clientId);
+        
+        if (factStore.isReady()) {
+            return localClientVisitStats(clientId);
+        }
+        ClientVisitStatsDto stats = appointmentClient.getClientVisitStats(clientId);
+        if (stats == null) {
+            return ClientVisitStatsRow.empty();
+        }
+        
+        List<ClientServiceRow> services = stats.getServices() == null ? List.of() : stats.getServices().stream()
+                .map(service -> new ClientServiceRow(
+                        service.getServiceName(),
+                        toInteger(service.getCount()),
+                        service.getLastAppointment(),
+                        null,
+                        service.getRevenue()))
+                .collect(Collectors.toList());
+        
+        Map<Long, Integer> professionalVisits = new LinkedHashMap<>();
+        if (stats.getFavoriteProfessionals() != null) {
+            stats.getFavoriteProfessionals().forEach(professional ->
+                    professionalVisits.put(professional.getProfessionalId(), toInteger(professional.getCount())));
+        }
+        
+        return new ClientVisitStatsRow(
+                toInteger(stats.getTotalAppointments()),
+                stats.getTotalSpent() != null ? stats.getTotalSpent() : BigDecimal.ZERO,
+                stats.getFirstVisit(),
+                stats.getLastVisit(),
+                services,
+                professionalVisits);
     }
 
     // Métodos de fallback
 
-    public List<Map<String, Object>> getClientAppointmentsFallback(Long clientId, LocalDate startDate, LocalDate endDate, Exception ex) {
+    public List<AppointmentRow> getClientAppointmentsFallback(Long clientId, LocalDate startDate, LocalDate endDate, Exception ex) {
         log.warn("Fallback for client appointments. Client ID: {}, Error: {}", clientId, ex.getMessage());
         return Collections.emptyList();
     }
 
-    public List<Map<String, Object>> getProfessionalScheduleFallback(Long professionalId, LocalDate startDate, LocalDate endDate, Exception ex) {
+    public List<AppointmentRow> getProfessionalScheduleFallback(Long professionalId, LocalDate startDate, LocalDate endDate, Exception ex) {
         log.warn("Fallback for professional schedule. Professional ID: {}, Error: {}", professionalId, ex.getMessage());
         return Collections.emptyList();
     }
 
-    public Map<String, Object> getRevenueSummaryFallback(LocalDate startDate, LocalDate endDate, Exception ex) {
+    public RevenueSummaryRow getRevenueSummaryFallback(LocalDate startDate, LocalDate endDate, Exception ex) {
         log.warn("Fallback for revenue summary. Error: {}", ex.getMessage());
-        return new HashMap<>();
+        return RevenueSummaryRow.empty();
     }
 
-    public List<Map<String, Object>> getServicesPopularityFallback(LocalDate startDate, LocalDate endDate, Exception ex) {
+    public List<ServicePopularityRow> getServicesPopularityFallback(LocalDate startDate, LocalDate endDate, Exception ex) {
         log.warn("Fallback for services popularity. Error: {}", ex.getMessage());
         return Collections.emptyList();
     }
 
-    // Métodos auxiliares para mapear DTOs para formato de relatório
+    public List<ServiceRevenueRow> getServiceRevenueBreakdownFallback(LocalDate startDate, LocalDate endDate, Exception ex) {
+        log.warn("Fallback for service revenue breakdown. Error: {}", ex.getMessage());
+        return Collections.emptyList();
+    }
 
-    /**
-     * Mapeia um AppointmentDto para o formato usado nos relatórios de cliente
-     */
-    private Map<String, Object> mapAppointmentToReportData(AppointmentDto appointment) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("appointmentId", appointment.getId());
-        data.put("clientId", appointment.getClientId());
-        data.put("clientName", appointment.getClientName());
-        data.put("serviceDate", appointment.getAppointmentDate());
-        data.put("serviceName", appointment.getServiceName());
-        data.put("professionalName", appointment.getProfessionalName());
-        data.put("status", appointment.getStatus());
-        data.put("price", appointment.getPrice());
-        return data;
+    public ClientVisitStatsRow getClientVisitStatsFallback(Long clientId, Exception ex) {
+        log.warn("Fallback for client visit stats. Client ID: {}, Error: {}", clientId, ex.getMessage());
+        return ClientVisitStatsRow.empty();
     }
 
-    /**
-     * Mapeia um AppointmentDto para o formato usado nos relatórios de agenda de profissional
-     */
-    private Map<String, Object> mapAppointmentToProfessionalSchedule(AppointmentDto appointment) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("appointmentId", appointment.getId());
-        data.put("professionalId", appointment.getProfessionalId());
-        data.put("professionalName", appointment.getProfessionalName());
-        data.put("clientId", appointment.getClientId());
-        data.put("clientName", appointment.getClientName());
-        data.put("serviceDate", appointment.getAppointmentDate());
-        data.put("serviceName", appointment.getServiceName());
-        data.put("status", appointment.getStatus());
-        data.put("price", appointment.getPrice());
-        return data;
-    }
-
-    private Map<String, Object> mockRevenueSummary() {
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("totalRevenue", 8750.0);
-        summary.put("appointmentsCount", 125);
-        summary.put("averageTicket", 70.0);
-        summary.put("mostPopularService", "Corte de Cabelo");
-        summary.put("mostRevenueService", "Coloração");
-        
-        return summary;
-    }
-
-    private List<Map<String, Object>> mockServicesPopularity() {
-        Map<String, Object> service1 = new HashMap<>();
-        service1.put("serviceName", "Corte de Cabelo");
-        service1.put("count", 45);
-        service1.put("percentage", 36.0);
-        service1.put("revenue", 3600.0);
-
-        Map<String, Object> service2 = new HashMap<>();
-        service2.put("serviceName", "Coloração");
-        service2.put("count", 30);
-        service2.put("percentage", 24.0);
-        service2.put("revenue", 3000.0);
-
-        Map<String, Object> service3 = new HashMap<>();
-        service3.put("serviceName", "Manicure");
-        service3.put("count", 25);
-        service3.put("percentage", 20.0);
-        service3.put("revenue", 1250.0);
-
-        Map<String, Object> service4 = new HashMap<>();
-        service4.put("serviceName", "Outros");
-        service4.put("count", 25);
-        service4.put("percentage", 20.0);
-        service4.put("revenue", 900.0);
-
-        return List.of(service1, service2, service3, service4);
+    // Agregações sobre a cópia em memória dos fatos de agendamento (ver AppointmentFactStore)
+
+    private RevenueSummaryRow localRevenueSummary(LocalDate startDate, LocalDate endDate) {
+        FactQuery query = FactQuery.between(startDate, endDate).revenueOnly();
+        List<FactGroup> totals = factStore.aggregate(query, FactGroupBy.NONE);
+        if (totals.isEmpty()) {
+            return new RevenueSummaryRow(0.0, 0, 0.0, null, null);
+        }
+        FactGroup total = totals.get(0);
+        List<FactGroup> services = factStore.aggregate(query, FactGroupBy.SERVICE);
+        
+        return new RevenueSummaryRow(
+                total.revenue().doubleValue(),
+                Math.toIntExact(total.visits()),
+                total.revenue().divide(BigDecimal.valueOf(total.visits()), 2, RoundingMode.HALF_UP).doubleValue(),
+                services.isEmpty() ? null : services.get(0).label(),
+                services.stream()
+                        .max(Comparator.comparingLong(FactGroup::revenueCents))
+                        .map(FactGroup::label)
+                        .orElse(null));
+    }
+
+    private List<ServicePopularityRow> localServicesPopularity(LocalDate startDate, LocalDate endDate) {
+        List<FactGroup> services = factStore.aggregate(
+                FactQuery.between(startDate, endDate).revenueOnly(), FactGroupBy.SERVICE);
+        long totalCount = services.stream().mapToLong(FactGroup::items).sum();
+        
+        return services.stream()
+                .map(service -> new ServicePopularityRow(
+                        service.label(),
+                        null,
+                        Math.toIntExact(service.items()),
+                        percentage(service.items(), totalCount),
+                        service.revenue(),
+                        null))
+                .collect(Collectors.toList());
+    }
+
+    private List<ServiceRevenueRow> localServiceRevenueBreakdown(LocalDate startDate, LocalDate endDate) {
+        List<FactGroup> services = factStore.aggregate(
+                FactQuery.between(startDate, endDate).revenueOnly(), FactGroupBy.SERVICE);
+        long totalCents = services.stream().mapToLong(FactGroup::revenueCents).sum();
+        
+        return services.stream()
+                .sorted(Comparator.comparingLong(FactGroup::revenueCents).reversed())
+                .map(service -> new ServiceRevenueRow(
+                        service.label(),
+                        Math.toIntExact(service.items()),
+                        percentage(service.revenueCents(), totalCents),
+                        service.revenue().doubleValue()))
+                .collect(Collectors.toList());
+    }
+
+    private ClientVisitStatsRow localClientVisitStats(Long clientId) {
+        FactQuery all = FactQuery.all().client(clientId);
+        FactQuery revenue = all.revenueOnly();
+        
+        // Total de agendamentos e primeira/última visita em todos os status
+        List<FactGroup> byStatus = factStore.aggregate(all, FactGroupBy.STATUS);
+        long totalAppointments = byStatus.stream().mapToLong(FactGroup::visits).sum();
+        LocalDateTime firstVisit = byStatus.stream().map(FactGroup::firstStart).min(Comparator.naturalOrder()).orElse(null);
+        LocalDateTime lastVisit = byStatus.stream().map(FactGroup::lastStart).max(Comparator.naturalOrder()).orElse(null);
+        
+        BigDecimal totalSpent = factStore.aggregate(revenue, FactGroupBy.NONE).stream()
+                .findFirst()
+                .map(FactGroup::revenue)
+                .orElse(BigDecimal.ZERO);
+        
+        List<ClientServiceRow> services = factStore.aggregate(revenue, FactGroupBy.SERVICE).stream()
+                .map(service -> new ClientServiceRow(
+                        service.label(),
+                        Math.toIntExact(service.items()),
+                        service.lastStart(),
+                        null,
+                        service.revenue()))
+                .collect(Collectors.toList());
+        
+        Map<Long, Integer> professionalVisits = new LinkedHashMap<>();
+        factStore.aggregate(revenue, FactGroupBy.PROFESSIONAL).stream()
+                .limit(FAVORITE_PROFESSIONALS)
+                .forEach(professional -> professionalVisits.put(professional.key(), Math.toIntExact(professional.visits())));
+        
+        return new ClientVisitStatsRow(Math.toIntExact(totalAppointments), totalSpent, firstVisit, lastVisit,
+                services, professionalVisits);
+    }
+
+    private Double percentage(long part, long total) {
+        return total > 0
+                ? BigDecimal.valueOf(part * 100).divide(BigDecimal.valueOf(total), 2, RoundingMode.HALF_UP).doubleValue()
+                : 0.0;
+    }
+
+    private Double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : null;
+    }
+
+    private Integer toInteger(Long value) {
+        return value != null ? Math.toIntExact(value) : null;
     }
 }
@@ -0,0 +1,29 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.report.dto.ReportFormat;
+import com.clinicsalon.report.dto.ReportType;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Arquivo de relatório já renderizado, guardado no cache de resultados
+ *
+ * @param key         Chave do cache, usada também como ETag e ID do relatório
+ * @param reportType  Tipo do relatório
+ * @param reportName  Nome exibido do relatório
+ * @param format      Formato do arquivo
+ * @param fileName    Nome do arquivo para download
+ * @param file        Caminho do arquivo no disco
+ * @param size        Tamanho do arquivo em bytes
+ * @param generatedAt Momento da coleta dos dados
+ */
+public record CachedReport(String key,
+                           ReportType reportType,
+                           String reportName,
+                           ReportFormat format,
+                           String fileName,
+                           Path file,
+                           long size,
+                           LocalDateTime generatedAt) {
+}
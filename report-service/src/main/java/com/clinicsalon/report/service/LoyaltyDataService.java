@@ -1,22 +1,28 @@
 package com.clinicsalon.report.service;
 
+import com.clinicsalon.loyalty.client.LoyaltySummaryResponse;
 import com.clinicsalon.report.client.LoyaltyClient;
 import com.clinicsalon.report.client.LoyaltyPointsDto;
+import com.clinicsalon.report.row.LoyaltyAccountRow;
+import com.clinicsalon.report.row.LoyaltySummaryRow;
+import com.clinicsalon.report.row.LoyaltyTierRow;
+import com.clinicsalon.report.row.PointsHistoryRow;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Serviço para buscar dados de fidelidade
- * Será implementado completamente quando o loyalty-service-client estiver disponível
+ * O resumo do programa vem do agregado por nível do loyalty-service-client
  */
 @Service
 @RequiredArgsConstructor
@@ -24,82 +30,94 @@ import java.util.stream.Collectors;
 public class LoyaltyDataService {
 
     private final LoyaltyClient loyaltyClient;
+    private final com.clinicsalon.loyalty.client.LoyaltyClient loyaltySummaryClient;
     private final ClientDataService clientDataService;
 
     /**
-     * Busca resumo de pontos de fidelidade
+     * Busca resumo de pontos de fidelidade a partir do agregado por nível mantido
+     * pelo loyalty-service, em uma única chamada
      */
     @CircuitBreaker(name = "loyaltyService", fallbackMethod = "getLoyaltyPointsSummaryFallback")
-    public Map<String, Object> getLoyaltyPointsSummary() {
+    public LoyaltySummaryRow getLoyaltyPointsSummary() {
         log.info("Fetching loyalty points summary");
         
-        // Usar o cliente LoyaltyClient para buscar dados de todos os clientes
-        List<Map<String, Object>> allAccounts = getAllLoyaltyAccounts();
-        
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("totalActiveAccounts", allAccounts.size());
-        
-        int totalPointsIssued = 0;
-        int activePoints = 0;
-        
-        Map<String, Integer> tierCounts = new HashMap<>();
-        tierCounts.put("BRONZE", 0);
-        tierCounts.put("SILVER", 0);
-        tierCounts.put("GOLD", 0);
-        tierCounts.put("PLATINUM", 0);
+        LoyaltySummaryResponse response = loyaltySummaryClient.getLoyaltySummary().getBody();
+        if (response == null) {
+            return LoyaltySummaryRow.empty();
+        }
         
-        for (Map<String, Object> account : allAccounts) {
-            int points = (Integer) account.get("points");
-            activePoints += points;
-            String tier = (String) account.get("tier");
-            tierCounts.put(tier, tierCounts.getOrDefault(tier, 0) + 1);
+        Map<String, Integer> tierCounts = new LinkedHashMap<>();
+        List<LoyaltyTierRow> tierDistribution = new ArrayList<>();
+        if (response.getTiers() != null) {
+            for (LoyaltySummaryResponse.TierSummary tier : response.getTiers()) {
+                tierCounts.put(tier.getTier(), toInt(tier.getAccountCount()));
+                tierDistribution.add(new LoyaltyTierRow(
+                        tier.getTier(),
+                        toInt(tier.getAccountCount()),
+                        toInt(tier.getActivePoints()),
+                        toInt(tier.getPointsIssued()),
+                        toInt(tier.getPointsRedeemed())));
+            }
         }
         
-        summary.put("totalPointsIssued", activePoints + 18500); // Estimativa para pontos já resgatados
-        summary.put("totalPointsRedeemed", 18500); // Estimativa para pontos já resgatados
-        summary.put("activePoints", activePoints);
-        summary.put("accountsByTier", tierCounts);
+        return new LoyaltySummaryRow(
+                toInt(response.getTotalAccounts()),
+                toInt(response.getPointsIssued()),
+                toInt(response.getPointsRedeemed()),
+                toInt(response.getActivePoints()),
+                tierCounts,
+                tierDistribution);
+    }
+    
+    private int toInt(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Busca o total de pontos de um cliente
+     */
+    @CircuitBreaker(name = "loyaltyService", fallbackMethod = "getClientPointsFallback")
+    public int getClientPoints(Long clientId) {
+        log.info("Fetching total loyalty points for client ID: {}", clientId);
         
-        return summary;
+        Integer totalPoints = loyaltyClient.getTotalClientPoints(clientId);
+        return totalPoints != null ? totalPoints : 0;
+    }
+
+    /**
+     * Nível do programa de fidelidade correspondente a um total de pontos
+     */
+    public String determineClientTier(int points) {
+        return calculateTier(points);
     }
 
     /**
      * Busca conta de fidelidade de um cliente
      */
     @CircuitBreaker(name = "loyaltyService", fallbackMethod = "getClientLoyaltyAccountFallback")
-    public Map<String, Object> getClientLoyaltyAccount(Long clientId) {
+    public LoyaltyAccountRow getClientLoyaltyAccount(Long clientId) {
         log.info("Fetching loyalty account for client ID: {}", clientId);
         
         List<LoyaltyPointsDto> loyaltyPoints = loyaltyClient.getClientLoyaltyPoints(clientId);
         Integer totalPoints = loyaltyClient.getTotalClientPoints(clientId);
         String clientName = clientDataService.getClientName(clientId);
         
-        Map<String, Object> account = new HashMap<>();
-        account.put("clientId", clientId);
-        account.put("clientName", clientName);
-        account.put("points", totalPoints);
-        account.put("tier", calculateTier(totalPoints));
-        
         // Extrair o membro mais antigo para determinar quando o cliente entrou no programa
         String memberSince = loyaltyPoints.stream()
                 .min((p1, p2) -> p1.getCreatedAt().compareTo(p2.getCreatedAt()))
                 .map(p -> p.getCreatedAt().toLocalDate().toString())
                 .orElse(LocalDate.now().toString());
-        account.put("memberSince", memberSince);
         
         // Mapear histórico de pontos
-        List<Map<String, Object>> pointsHistory = loyaltyPoints.stream()
-                .map(p -> {
-                    Map<String, Object> history = new HashMap<>();
-                    history.put("date", p.getCreatedAt().toLocalDate().toString());
-                    history.put("points", p.getPoints());
-                    history.put("description", getDescription(p));
-                    return history;
-                })
+        List<PointsHistoryRow> pointsHistory = loyaltyPoints.stream()
+                .map(p -> new PointsHistoryRow(
+                        p.getCreatedAt().toLocalDate().toString(),
+                        p.getPoints(),
+                        getDescription(p)))
                 .collect(Collectors.toList());
-        account.put("pointsHistory", pointsHistory);
         
-        return account;
+        return new LoyaltyAccountRow(clientId, clientName, totalPoints, calculateTier(totalPoints),
+                memberSince, pointsHistory);
     }
     
     private String getDescription(LoyaltyPointsDto pointsDto) {
@@ -122,7 +140,7 @@ public class LoyaltyDataService {
      * Busca todas as contas de fidelidade
      */
     @CircuitBreaker(name = "loyaltyService", fallbackMethod = "getAllLoyaltyAccountsFallback")
-    public List<Map<String, Object>> getAllLoyaltyAccounts() {
+    public List<LoyaltyAccountRow> getAllLoyaltyAccounts() {
         log.info("Fetching all loyalty accounts");
         
         // Buscar todos os clientes
@@ -133,14 +151,7 @@ public class LoyaltyDataService {
                     } catch (Exception e) {
                         log.warn("Error fetching loyalty account for client {}: {}", client.getId(), e.getMessage());
                         // Criar conta básica para este cliente quando houver erro
-                        Map<String, Object> basicAccount = new HashMap<>();
-                        basicAccount.put("clientId", client.getId());
-                        basicAccount.put("clientName", client.getName());
-                        basicAccount.put("points", 0);
-                        basicAccount.put("tier", "BRONZE");
-                        basicAccount.put("memberSince", LocalDate.now().toString());
-                        basicAccount.put("pointsHistory", Collections.emptyList());
-                        return basicAccount;
+                        return LoyaltyAccountRow.basic(client.getId(), client.getName());
                     }
                 })
                 .collect(Collectors.toList());
@@ -148,17 +159,22 @@ public class LoyaltyDataService {
 
     // Métodos de fallback
 
-    public Map<String, Object> getLoyaltyPointsSummaryFallback(Exception ex) {
+    public LoyaltySummaryRow getLoyaltyPointsSummaryFallback(Exception ex) {
         log.warn("Fallback for loyalty points summary. Error: {}", ex.getMessage());
-        return new HashMap<>();
+        return LoyaltySummaryRow.empty();
+    }
+
+    public int getClientPointsFallback(Long clientId, Exception ex) {
+        log.warn("Fallback for client points. Client ID: {}, Error: {}", clientId, ex.getMessage());
+        return 0;
     }
 
-    public Map<String, Object> getClientLoyaltyAccountFallback(Long clientId, Exception ex) {
+    public LoyaltyAccountRow getClientLoyaltyAccountFallback(Long clientId, Exception ex) {
         log.warn("Fallback for client loyalty account. Client ID: {}, Error: {}", clientId, ex.getMessage());
-        return new HashMap<>();
+        return LoyaltyAccountRow.basic(clientId, null);
     }
 
-    public List<Map<String, Object>> getAllLoyaltyAccountsFallback(Exception ex) {
+    public List<LoyaltyAccountRow> getAllLoyaltyAccountsFallback(Exception ex) {
         log.warn("Fallback for all loyalty accounts. Error: {}", ex.getMessage());
         return Collections.emptyList();
     }
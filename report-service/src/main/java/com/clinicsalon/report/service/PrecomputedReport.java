@@ -0,0 +1,15 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.report.dto.ReportRequest;
+
+/**
+ * Relatório recorrente já renderizado na janela de baixo movimento
+ *
+ * @param definition Nome da definição agendada que gerou o relatório
+ * @param request    Requisição equivalente, com o período calculado na execução
+ * @param report     Arquivo renderizado
+ */
+public record PrecomputedReport(String definition,
+                                ReportRequest request,
+                                CachedReport report) {
+}
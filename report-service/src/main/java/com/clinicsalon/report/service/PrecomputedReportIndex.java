@@ -0,0 +1,155 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.report.dto.ReportFormat;
+import com.clinicsalon.report.dto.ReportRequest;
+import com.clinicsalon.report.dto.ReportType;
+import com.clinicsalon.report.scheduler.ReportScheduleProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Índice dos relatórios pré-calculados na tabela precomputed_reports, compartilhado entre as
+ * instâncias: o relatório gerado por uma delas é encontrado por todas, inclusive depois de um
+ * reinício. Guarda apenas o nome do arquivo, resolvido em {@code report.schedule.directory}.
+ * Falhas do banco são registradas e tratadas como relatório ausente; a requisição segue o
+ * caminho normal.
+ */
+@Component
+@Slf4j
+public class PrecomputedReportIndex {
+
+    private static final String COLUMNS =
+            "report_key, definition, report_type, report_name, format, requested_format, start_date, end_date, " +
+            "professional_id, file_name, stored_file, size, generated_at";
+
+    private static final String UPSERT =
+            "INSERT INTO precomputed_reports (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (report_key) DO UPDATE SET definition = EXCLUDED.definition, " +
+            "report_type = EXCLUDED.report_type, report_name = EXCLUDED.report_name, format = EXCLUDED.format, " +
+            "requested_format = EXCLUDED.requested_format, start_date = EXCLUDED.start_date, " +
+            "end_date = EXCLUDED.end_date, professional_id = EXCLUDED.professional_id, " +
+            "file_name = EXCLUDED.file_name, stored_file = EXCLUDED.stored_file, size = EXCLUDED.size, " +
+            "generated_at = EXCLUDED.generated_at";
+
+    private static final String SELECT_ONE = "SELECT " + COLUMNS + " FROM precomputed_reports WHERE report_key = ?";
+
+    private static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM precomputed_reports ORDER BY generated_at DESC";
+
+    private static final String DELETE = "DELETE FROM precomputed_reports WHERE report_key = ? AND generated_at = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path directory;
+    private final RowMapper<PrecomputedReport> rowMapper = (rs, rowNum) -> {
+        Long professionalId = rs.getObject("professional_id", Long.class);
+        Date startDate = rs.getDate("start_date");
+        Date endDate = rs.getDate("end_date");
+        ReportRequest request = ReportRequest.builder()
+                .reportType(ReportType.valueOf(rs.getString("report_type")))
+                .startDate(startDate != null ? startDate.toLocalDate() : null)
+                .endDate(endDate != null ? endDate.toLocalDate() : null)
+                .professionalId(professionalId)
+                .format(rs.getString("requested_format"))
+                .build();
+        CachedReport report = new CachedReport(rs.getString("report_key"), request.getReportType(),
+                rs.getString("report_name"), ReportFormat.valueOf(rs.getString("format")), rs.getString("file_name"),
+                resolve(rs.getString("stored_file")), rs.getLong("size"),
+                rs.getTimestamp("generated_at").toLocalDateTime());
+        return new PrecomputedReport(rs.getString("definition"), request, report);
+    };
+
+    public PrecomputedReportIndex(DataSource dataSource, ReportScheduleProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.directory = Paths.get(properties.getDirectory());
+    }
+
+    /**
+     * Registra o relatório, substituindo o anterior com a mesma chave
+     *
+     * @return false se o banco não respondeu
+     */
+    public boolean put(PrecomputedReport entry) {
+        ReportRequest request = entry.request();
+        CachedReport report = entry.report();
+        try {
+            jdbcTemplate.update(UPSERT, ps -> {
+                ps.setString(1, report.key());
+                ps.setString(2, entry.definition());
+                ps.setString(3, report.reportType().name());
+                ps.setString(4, report.reportName());
+                ps.setString(5, report.format().name());
+                ps.setString(6, request.getFormat());
+                ps.setObject(7, request.getStartDate() != null ? Date.valueOf(request.getStartDate()) : null, Types.DATE);
+                ps.setObject(8, request.getEndDate() != null ? Date.valueOf(request.getEndDate()) : null, Types.DATE);
+                ps.setObject(9, request.getProfessionalId(), Types.BIGINT);
+                ps.setString(10, report.fileName());
+                ps.setString(11, report.file().getFileName().toString());
+                ps.setLong(12, report.size());
+                ps.setTimestamp(13, timestamp(report.generatedAt()));
+            });
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Could not index precomputed report {}: {}", entry.definition(), e.getMessage());
+            return false;
+        }
+    }
+
+    public Optional<PrecomputedReport> get(String key) {
+        try {
+            return jdbcTemplate.query(SELECT_ONE, rowMapper, key).stream().findFirst();
+        } catch (DataAccessException e) {
+            log.warn("Could not read precomputed report {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Todos os relatórios indexados, dos mais recentes para os mais antigos
+     */
+    public List<PrecomputedReport> findAll() {
+        try {
+            return jdbcTemplate.query(SELECT_ALL, rowMapper);
+        } catch (DataAccessException e) {
+            log.warn("Could not read precomputed reports: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Remove a entrada, desde que não tenha sido substituída por uma geração mais nova
+     *
+     * @return true se a entrada foi removida
+     */
+    public boolean remove(CachedReport report) {
+        try {
+            return jdbcTemplate.update(DELETE, report.key(), timestamp(report.generatedAt())) > 0;
+        } catch (DataAccessException e) {
+            log.warn("Could not remove precomputed report {}: {}", report.key(), e.getMessage());
+            return false;
+        }
+    }
+
+    private Path resolve(String storedFile) {
+        return directory.resolve(storedFile);
+    }
+
+    /**
+     * Na precisão da coluna, para que a remoção encontre a mesma geração
+     */
+    private static Timestamp timestamp(LocalDateTime value) {
+        return Timestamp.valueOf(value.truncatedTo(ChronoUnit.MICROS));
+    }
+}
@@ -0,0 +1,244 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.report.dto.ReportRequest;
+import com.clinicsalon.report.scheduler.ReportScheduleProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Arquivos dos relatórios recorrentes pré-calculados, separados do cache de resultados para
+ * que o tráfego avulso não os descarte. A chave não depende da versão dos dados: o relatório
+ * é o retrato do momento da execução agendada e vale até ser substituído ou expirar
+ * ({@code report.schedule.retention}), então uma requisição equivalente é atendida sem
+ * nenhuma chamada aos serviços de origem.
+ * <p>
+ * Por isso uma requisição avulsa só é atendida com um retrato de período já encerrado quando
+ * ele foi gerado. O retrato de um período em andamento (CURRENT_MONTH, por exemplo) fica
+ * apenas no catálogo, com a data da geração, até a próxima execução substituí-lo; a
+ * requisição equivalente segue o caminho normal, com a versão atual dos dados.
+ * <p>
+ * Só uma instância gera cada relatório, mas todas o servem: o catálogo fica no
+ * {@link PrecomputedReportIndex} e os arquivos em {@code report.schedule.directory}, que com
+ * mais de uma instância deve ser um volume compartilhado. Nada é apagado na inicialização,
+ * então o catálogo sobrevive a reinícios. Cada geração grava um arquivo novo, e o da geração
+ * anterior só é apagado depois que o índice aponta para o novo.
+ */
+@Component
+@Slf4j
+public class PrecomputedReportStore {
+
+    static final String FILE_PREFIX = "precomputed-";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String DATA_VERSION = "precomputed";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxSize;
+    private final Duration retention;
+    private final Duration lockAtMostFor;
+    private final PrecomputedReportIndex index;
+
+    public PrecomputedReportStore(ReportScheduleProperties properties, PrecomputedReportIndex index) {
+        this.enabled = properties.isEnabled();
+        this.directory = Paths.get(properties.getDirectory());
+        this.maxSize = properties.getMaxSize().toBytes();
+        this.retention = properties.getRetention();
+        this.lockAtMostFor = properties.getLockAtMostFor();
+        this.index = index;
+        if (enabled) {
+            initializeDirectory();
+        }
+    }
+
+    /**
+     * Chave do relatório pré-calculado equivalente à requisição
+     */
+    public static String keyOf(ReportRequest request) {
+        return ReportCacheKey.of(request, DATA_VERSION);
+    }
+
+    /**
+     * Busca o relatório pré-calculado equivalente à requisição, sem consultar outros serviços
+     */
+    public Optional<CachedReport> find(ReportRequest request) {
+        if (!enabled || request.getReportType() == null || request.getEndDate() == null) {
+            return Optional.empty();
+        }
+        return get(keyOf(request))
+                .filter(report -> report.generatedAt().toLocalDate().isAfter(request.getEndDate()));
+    }
+
+    public Optional<CachedReport> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return index.get(key)
+                .filter(this::isAvailable)
+                .map(PrecomputedReport::report);
+    }
+
+    /**
+     * Relatórios disponíveis, por definição e período
+     */
+    public List<PrecomputedReport> getCatalog() {
+        if (!enabled) {
+            return List.of();
+        }
+        return index.findAll().stream()
+                .filter(this::isAvailable)
+                .sorted(Comparator.comparing(PrecomputedReport::definition)
+                        .thenComparing(entry -> entry.request().getStartDate(), Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(entry -> entry.report().key()))
+                .toList();
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    /**
+     * Grava o relatório escrito por {@code writer} e o publica no catálogo, substituindo a
+     * geração anterior com a mesma chave
+     *
+     * @return vazio se o arquivo não pôde ser gravado ou indexado, ou passa do limite de tamanho
+     */
+    Optional<CachedReport> save(String definition, ReportRequest request, PreparedReport report,
+                                Consumer<OutputStream> writer) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Path temporaryFile = null;
+        Path file = null;
+        try {
+            temporaryFile = Files.createTempFile(directory, FILE_PREFIX, TEMPORARY_SUFFIX);
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+                writer.accept(output);
+            }
+            long size = Files.size(temporaryFile);
+            if (size > maxSize) {
+                log.info("Precomputed report {} has {} bytes, larger than the store limit; not stored", definition, size);
+                return Optional.empty();
+            }
+
+            LocalDateTime generatedAt = report.generatedAt().truncatedTo(ChronoUnit.MICROS);
+            file = directory.resolve(FILE_PREFIX + report.cacheKey() + "-" + Timestamp.valueOf(generatedAt).getTime()
+                    + "." + report.format().getExtension());
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            CachedReport stored = new CachedReport(report.cacheKey(), report.reportType(), report.reportName(),
+                    report.format(), report.fileName(), file, size, generatedAt);
+            Optional<PrecomputedReport> previous = index.get(report.cacheKey());
+            if (!index.put(new PrecomputedReport(definition, request, stored))) {
+                deleteQuietly(file);
+                return Optional.empty();
+            }
+            Path storedFile = file;
+            previous.map(entry -> entry.report().file())
+                    .filter(previousFile -> !previousFile.equals(storedFile))
+                    .ifPresent(PrecomputedReportStore::deleteQuietly);
+            prune();
+            return Optional.of(stored);
+        } catch (IOException e) {
+            log.warn("Could not store precomputed report {}: {}", definition, e.getMessage());
+            if (file != null) {
+                deleteQuietly(file);
+            }
+            return Optional.empty();
+        } finally {
+            if (temporaryFile != null) {
+                deleteQuietly(temporaryFile);
+            }
+        }
+    }
+
+    /**
+     * Relatórios vencidos saem do índice e do disco. Um arquivo ausente apenas deixa o
+     * relatório indisponível nesta instância, sem removê-lo para as demais
+     */
+    private boolean isAvailable(PrecomputedReport entry) {
+        CachedReport report = entry.report();
+        if (isExpired(report)) {
+            remove(report);
+            return false;
+        }
+        if (!Files.exists(report.file())) {
+            log.debug("Precomputed report file {} not found in {}", report.file().getFileName(), directory);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remove os relatórios vencidos e, dos mais antigos para os mais novos, os que passam
+     * de {@code report.schedule.max-size}
+     */
+    private void prune() {
+        long totalSize = 0;
+        for (PrecomputedReport entry : index.findAll()) {
+            CachedReport report = entry.report();
+            totalSize += report.size();
+            if (totalSize > maxSize || isExpired(report)) {
+                remove(report);
+            }
+        }
+    }
+
+    private boolean isExpired(CachedReport report) {
+        return report.generatedAt().plus(retention).isBefore(LocalDateTime.now());
+    }
+
+    private void remove(CachedReport report) {
+        // Só a instância que removeu a linha apaga o arquivo, e só o daquela geração
+        if (index.remove(report)) {
+            deleteQuietly(report.file());
+        }
+    }
+
+    /**
+     * Cria o diretório e apaga os temporários abandonados por uma instância que caiu durante a
+     * gravação; nenhuma gravação dura mais que a trava da execução
+     */
+    private void initializeDirectory() {
+        try {
+            Files.createDirectories(directory);
+            Instant abandonedBefore = Instant.now().minus(lockAtMostFor);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + TEMPORARY_SUFFIX)) {
+                for (Path file : files) {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(abandonedBefore)) {
+                        deleteQuietly(file);
+                    }
+                }
+            }
+            log.info("Precomputed reports at {} (max {} bytes, retention {})", directory, maxSize, retention);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível preparar o diretório dos relatórios pré-calculados: " + directory, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete precomputed report file {}: {}", file, e.getMessage());
+        }
+    }
+}
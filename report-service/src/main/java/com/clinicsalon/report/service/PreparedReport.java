@@ -0,0 +1,46 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.report.dto.ReportFormat;
+import com.clinicsalon.report.dto.ReportType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relatório com os dados já coletados dos outros serviços, pronto para ser renderizado
+ * direto na saída da resposta
+ *
+ * @param reportType   Tipo do relatório
+ * @param reportName   Nome exibido do relatório
+ * @param format       Formato de saída
+ * @param templatePath Caminho do template JRXML no classpath
+ * @param parameters   Parâmetros do template
+ * @param data         Linhas do relatório
+ * @param generatedAt  Momento da coleta dos dados
+ * @param cacheKey     Chave no cache de resultados, ou null quando o relatório não é cacheado
+ */
+public record PreparedReport(ReportType reportType,
+                             String reportName,
+                             ReportFormat format,
+                             String templatePath,
+                             Map<String, Object> parameters,
+                             List<?> data,
+                             LocalDateTime generatedAt,
+                             String cacheKey) {
+
+    /**
+     * Cópia do relatório associada a uma chave do cache de resultados
+     */
+    public PreparedReport withCacheKey(String cacheKey) {
+        return new PreparedReport(reportType, reportName, format, templatePath, parameters, data, generatedAt, cacheKey);
+    }
+
+    /**
+     * Nome do arquivo para download, baseado no nome do relatório e no momento da geração
+     */
+    public String fileName() {
+        return reportName.replaceAll("\\s+", "_") + "_" +
+               generatedAt.toString().replaceAll("[^0-9]", "") + "." + format.getExtension();
+    }
+}
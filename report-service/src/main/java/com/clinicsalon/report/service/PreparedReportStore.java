@@ -0,0 +1,159 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.report.dto.ReportRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Relatórios preparados aguardando download, identificados pelo ID devolvido no JSON.
+ * <p>
+ * O ID é autossuficiente: leva a requisição e o instante de emissão, codificados em Base64
+ * URL-safe e assinados com HMAC-SHA256 ({@code report.download.signing-key}). Qualquer
+ * instância do report-service atende o GET /api/reports/{id}/content, sem afinidade no
+ * gateway: a instância que preparou o relatório ainda tem os dados coletados na memória
+ * (por tempo e quantidade limitados); as demais validam a assinatura e a validade
+ * ({@code report.download.handle-ttl}) e atendem a requisição do ID como um download direto,
+ * com a versão atual dos dados.
+ */
+@Component
+@Slf4j
+public class PreparedReportStore {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, PreparedReport> reports;
+    private final Duration timeToLive;
+    private final SecretKeySpec key;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Autowired
+    public PreparedReportStore(@Value("${report.download.handle-ttl:10m}") Duration timeToLive,
+                               @Value("${report.download.max-handles:500}") long maxHandles,
+                               @Value("${report.download.signing-key}") String signingKey,
+                               ObjectMapper objectMapper) {
+        this(timeToLive, maxHandles, signingKey, objectMapper, Clock.systemDefaultZone());
+    }
+
+    PreparedReportStore(Duration timeToLive, long maxHandles, String signingKey, ObjectMapper objectMapper, Clock clock) {
+        if (signingKey == null || signingKey.isBlank()) {
+            throw new IllegalStateException("report.download.signing-key must be configured");
+        }
+        this.timeToLive = timeToLive;
+        this.reports = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maxHandles)
+                .build();
+        this.key = new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    /**
+     * Emite o ID de download da requisição, válido por {@code report.download.handle-ttl}
+     * a partir de {@code issuedAt}
+     */
+    public String issue(ReportRequest request, LocalDateTime issuedAt) {
+        long issuedAtMillis = issuedAt.atZone(clock.getZone()).toInstant().toEpochMilli();
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(new Handle(request, issuedAtMillis));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Requisição de relatório não serializável", e);
+        }
+        String encoded = Base64.getUrlEncoder().withoutPadding().encodeToString(payload);
+        return encoded + "." + sign(encoded);
+    }
+
+    /**
+     * Registra o relatório preparado nesta instância com o ID emitido por {@link #issue}
+     */
+    public String put(String reportId, PreparedReport report) {
+        reports.put(reportId, report);
+        return reportId;
+    }
+
+    /**
+     * Relatório preparado nesta instância, se ainda estiver na memória
+     */
+    public Optional<PreparedReport> get(String reportId) {
+        return Optional.ofNullable(reports.getIfPresent(reportId));
+    }
+
+    /**
+     * Requisição contida no ID, se a assinatura confere e o ID não expirou
+     */
+    public Optional<IssuedRequest> resolve(String reportId) {
+        int separator = reportId.indexOf('.');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+        String encoded = reportId.substring(0, separator);
+        byte[] expected = sign(encoded).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, reportId.substring(separator + 1).getBytes(StandardCharsets.US_ASCII))) {
+            return Optional.empty();
+        }
+
+        Handle handle;
+        try {
+            handle = objectMapper.readValue(Base64.getUrlDecoder().decode(encoded), Handle.class);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Signed report handle could not be decoded: {}", e.getMessage());
+            return Optional.empty();
+        }
+        Instant issuedAt = Instant.ofEpochMilli(handle.issuedAt());
+        if (handle.request() == null || issuedAt.plus(timeToLive).isBefore(clock.instant())) {
+            return Optional.empty();
+        }
+        return Optional.of(new IssuedRequest(handle.request(), LocalDateTime.ofInstant(issuedAt, clock.getZone())));
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    private String sign(String encoded) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] signature = mac.doFinal(encoded.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    /**
+     * Conteúdo assinado do ID de download
+     */
+    private record Handle(ReportRequest request, long issuedAt) {
+    }
+
+    /**
+     * Requisição recuperada de um ID de download válido
+     *
+     * @param request  Requisição original do POST /api/reports
+     * @param issuedAt Momento em que o ID foi emitido
+     */
+    public record IssuedRequest(ReportRequest request, LocalDateTime issuedAt) {
+    }
+}
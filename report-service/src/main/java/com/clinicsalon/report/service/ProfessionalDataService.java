@@ -1,5 +1,7 @@
 package com.clinicsalon.report.service;
 
+import com.clinicsalon.professional.client.ProfessionalResponse;
+import com.clinicsalon.professional.client.ProfessionalRosterReplica;
 import com.clinicsalon.report.client.ProfessionalClient;
 import com.clinicsalon.report.client.ProfessionalDto;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -17,6 +19,7 @@ import java.util.Optional;
 public class ProfessionalDataService {
 
     private final ProfessionalClient professionalClient;
+    private final ProfessionalRosterReplica professionalRoster;
 
     /**
      * Busca informações de um profissional pelo ID
@@ -38,10 +41,14 @@ public class ProfessionalDataService {
     }
     
     /**
-     * Busca o nome de um profissional pelo ID
+     * Busca o nome de um profissional pelo ID, primeiro na réplica local do cadastro
      */
     @CircuitBreaker(name = "professionalService", fallbackMethod = "getProfessionalNameFallback")
     public String getProfessionalName(Long professionalId) {
+        Optional<String> replicated = professionalRoster.findById(professionalId).map(ProfessionalResponse::getName);
+        if (replicated.isPresent()) {
+            return replicated.get();
+        }
         log.info("Fetching professional name for ID: {}", professionalId);
         return professionalClient.getProfessionalName(professionalId);
     }
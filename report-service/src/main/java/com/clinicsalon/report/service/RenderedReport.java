@@ -0,0 +1,31 @@
+package com.clinicsalon.report.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Relatório já renderizado por completo em um arquivo temporário, aguardando o envio.
+ * O arquivo é apagado no {@link #close()}
+ *
+ * @param file Arquivo temporário com o conteúdo do relatório
+ * @param size Tamanho do arquivo em bytes
+ */
+@Slf4j
+public record RenderedReport(Path file, long size) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        deleteQuietly(file);
+    }
+
+    static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete rendered report file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.report.dto.ReportFormat;
+import com.clinicsalon.report.dto.ReportRequest;
+import com.clinicsalon.report.dto.ReportType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Chave do cache de resultados: SHA-256 da forma canônica da requisição somada à versão
+ * dos dados de origem. Entram apenas os campos usados pelo tipo de relatório (o resumo de
+ * fidelidade, por exemplo, ignora o período), com o formato normalizado e os parâmetros
+ * adicionais ordenados, de modo que requisições equivalentes gerem a mesma chave
+ */
+public final class ReportCacheKey {
+
+    private ReportCacheKey() {
+    }
+
+    public static String of(ReportRequest request, String dataVersion) {
+        ReportType reportType = request.getReportType();
+        StringBuilder canonical = new StringBuilder();
+        append(canonical, reportType.name());
+        append(canonical, ReportFormat.from(request.getFormat()).name());
+        if (usesPeriod(reportType)) {
+            append(canonical, String.valueOf(request.getStartDate()));
+            append(canonical, String.valueOf(request.getEndDate()));
+        }
+        if (reportType == ReportType.CLIENT_APPOINTMENTS || reportType == ReportType.CLIENT_HISTORY) {
+            append(canonical, String.valueOf(request.getClientId()));
+        }
+        if (reportType == ReportType.PROFESSIONAL_SCHEDULE) {
+            append(canonical, String.valueOf(request.getProfessionalId()));
+        }
+        if (request.getAdditionalParams() != null) {
+            for (Map.Entry<String, String> param : new TreeMap<>(request.getAdditionalParams()).entrySet()) {
+                append(canonical, param.getKey());
+                append(canonical, String.valueOf(param.getValue()));
+            }
+        }
+        append(canonical, dataVersion);
+        return sha256(canonical.toString());
+    }
+
+    private static boolean usesPeriod(ReportType reportType) {
+        return reportType != ReportType.LOYALTY_POINTS_SUMMARY && reportType != ReportType.CLIENT_HISTORY;
+    }
+
+    // Cada campo é prefixado pelo tamanho, para que valores com separadores não colidam
+    private static void append(StringBuilder canonical, String value) {
+        canonical.append(value.length()).append(':').append(value).append('|');
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.loyalty.client.DataVersionResponse;
+import com.clinicsalon.report.client.AppointmentClient;
+import com.clinicsalon.report.client.DataVersionDto;
+import com.clinicsalon.report.dto.ReportType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Serviço para buscar a versão dos dados de origem de cada relatório.
+ * A versão entra na chave do cache de resultados, então qualquer alteração nos
+ * agendamentos ou na fidelidade gera uma chave nova e o arquivo anterior deixa de ser usado
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportDataVersionService {
+
+    private final AppointmentClient appointmentClient;
+    private final com.clinicsalon.loyalty.client.LoyaltyClient loyaltySummaryClient;
+
+    /**
+     * Versão combinada das fontes usadas pelo tipo de relatório.
+     * Vazio quando alguma fonte não informou a versão: nesse caso o relatório não é cacheado
+     */
+    public Optional<String> getDataVersion(ReportType reportType) {
+        StringBuilder version = new StringBuilder();
+        if (usesAppointments(reportType)) {
+            String appointments = getAppointmentsVersion();
+            if (appointments == null) {
+                return Optional.empty();
+            }
+            version.append("appointments=").append(appointments).append(';');
+        }
+        if (usesLoyalty(reportType)) {
+            String loyalty = getLoyaltyVersion();
+            if (loyalty == null) {
+                return Optional.empty();
+            }
+            version.append("loyalty=").append(loyalty).append(';');
+        }
+        return Optional.of(version.toString());
+    }
+
+    private String getAppointmentsVersion() {
+        try {
+            DataVersionDto response = appointmentClient.getDataVersion();
+            return response != null ? response.getVersion() : null;
+        } catch (Exception ex) {
+            log.warn("Could not fetch appointments data version, report will not be cached: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private String getLoyaltyVersion() {
+        try {
+            DataVersionResponse response = loyaltySummaryClient.getDataVersion().getBody();
+            return response != null ? response.getVersion() : null;
+        } catch (Exception ex) {
+            log.warn("Could not fetch loyalty data version, report will not be cached: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private boolean usesAppointments(ReportType reportType) {
+        return reportType != ReportType.LOYALTY_POINTS_SUMMARY;
+    }
+
+    private boolean usesLoyalty(ReportType reportType) {
+        return reportType == ReportType.LOYALTY_POINTS_SUMMARY || reportType == ReportType.CLIENT_HISTORY;
+    }
+}
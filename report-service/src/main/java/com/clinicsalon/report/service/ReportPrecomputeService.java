@@ -0,0 +1,34 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.monitoring.aspect.MonitorPerformance;
+import com.clinicsalon.report.dto.ReportRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Renderiza um relatório recorrente e o publica no {@link PrecomputedReportStore}
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportPrecomputeService {
+
+    private final ReportService reportService;
+    private final PrecomputedReportStore precomputedReports;
+
+    @MonitorPerformance(description = "Pré-calcular relatório agendado", thresholdMillis = 60000, alertOnError = true)
+    public Optional<CachedReport> precompute(String definition, ReportRequest request) {
+        String key = PrecomputedReportStore.keyOf(request);
+        PreparedReport report = reportService.prepareReport(request, key);
+
+        Optional<CachedReport> precomputed = precomputedReports.save(definition, request, report,
+                output -> reportService.render(report, output));
+        precomputed.ifPresentOrElse(
+                file -> log.info("Precomputed report {} ({}) with {} bytes", definition, report.reportType(), file.size()),
+                () -> log.warn("Precomputed report {} ({}) was not stored", definition, report.reportType()));
+        return precomputed;
+    }
+}
@@ -0,0 +1,272 @@
+package com.clinicsalon.report.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache em disco dos relatórios já renderizados, endereçado por {@link ReportCacheKey}.
+ * Como a chave inclui a versão dos dados de origem, uma alteração nos agendamentos ou na
+ * fidelidade gera uma chave nova e o arquivo antigo apenas deixa de ser acessado até sair
+ * pelo limite de tamanho ({@code report.cache.max-size}, descartando os menos acessados)
+ * ou de idade ({@code report.cache.max-age}, que também limita o tempo de exibição de
+ * nomes de clientes e profissionais alterados depois da geração).
+ * <p>
+ * O índice fica em memória, então os arquivos do cache são apagados na inicialização. O
+ * diretório é marcado com o arquivo {@value #MARKER} e só os arquivos com o prefixo
+ * {@value #FILE_PREFIX} são apagados; um diretório não vazio sem a marca (por exemplo, um
+ * {@code report.cache.directory} apontado por engano para outro lugar) é recusado. Os arquivos
+ * são gravados em um temporário durante o envio da primeira resposta e só passam a ser
+ * servidos depois de completos.
+ */
+@Component
+@Slf4j
+public class ReportResultCache {
+
+    static final String MARKER = ".clinicsalon-report-cache";
+    static final String FILE_PREFIX = "report-";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxSize;
+    private final Duration maxAge;
+
+    // Ordem de acesso: o primeiro item é o menos usado recentemente
+    private final LinkedHashMap<String, CachedReport> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSize;
+
+    public ReportResultCache(@Value("${report.cache.enabled:true}") boolean enabled,
+                             @Value("${report.cache.directory:${java.io.tmpdir}/clinicsalon-report-cache}") String directory,
+                             @Value("${report.cache.max-size:512MB}") DataSize maxSize,
+                             @Value("${report.cache.max-age:24h}") Duration maxAge) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.maxSize = maxSize.toBytes();
+        this.maxAge = maxAge;
+        if (enabled) {
+            initializeDirectory();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Busca o arquivo de um relatório e o marca como usado recentemente
+     */
+    public synchronized Optional<CachedReport> get(String key) {
+        CachedReport report = entries.get(key);
+        if (report == null) {
+            return Optional.empty();
+        }
+        if (report.generatedAt().plus(maxAge).isBefore(LocalDateTime.now()) || !Files.exists(report.file())) {
+            remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(report);
+    }
+
+    /**
+     * Abre uma entrada para gravar o relatório enquanto ele é enviado.
+     * Retorna null se o arquivo temporário não puder ser criado; o relatório segue sem cache
+     */
+    public Entry newEntry(PreparedReport report) {
+        try {
+            Path temporaryFile = Files.createTempFile(directory, FILE_PREFIX, ".tmp");
+            return new Entry(report, temporaryFile);
+        } catch (IOException e) {
+            log.warn("Could not create report cache file in {}: {}", directory, e.getMessage());
+            return null;
+        }
+    }
+
+    public synchronized long getTotalSize() {
+        return totalSize;
+    }
+
+    private synchronized void register(PreparedReport report, Path temporaryFile, long size) throws IOException {
+        Path file = directory.resolve(FILE_PREFIX + report.cacheKey() + "." + report.format().getExtension());
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // Mesma chave, mesmo conteúdo: o arquivo anterior já foi substituído
+        CachedReport previous = entries.remove(report.cacheKey());
+        if (previous != null) {
+            totalSize -= previous.size();
+        }
+        entries.put(report.cacheKey(), new CachedReport(report.cacheKey(), report.reportType(), report.reportName(),
+                report.format(), report.fileName(), file, size, report.generatedAt()));
+        totalSize += size;
+
+        Iterator<Map.Entry<String, CachedReport>> eldest = entries.entrySet().iterator();
+        while (totalSize > maxSize && eldest.hasNext()) {
+            CachedReport evicted = eldest.next().getValue();
+            eldest.remove();
+            totalSize -= evicted.size();
+            deleteQuietly(evicted.file());
+        }
+    }
+
+    private void remove(String key) {
+        CachedReport removed = entries.remove(key);
+        if (removed != null) {
+            totalSize -= removed.size();
+            deleteQuietly(removed.file());
+        }
+    }
+
+    private void initializeDirectory() {
+        try {
+            Files.createDirectories(directory);
+            Path marker = directory.resolve(MARKER);
+            if (Files.exists(marker)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+                    for (Path file : files) {
+                        if (Files.isRegularFile(file)) {
+                            deleteQuietly(file);
+                        }
+                    }
+                }
+            } else {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                    if (files.iterator().hasNext()) {
+                        throw new IllegalStateException("O diretório do cache de relatórios " + directory
+                                + " não está vazio e não tem a marca " + MARKER + "; escolha um diretório exclusivo");
+                    }
+                }
+                Files.createFile(marker);
+            }
+            log.info("Report result cache at {} (max {} bytes, max age {})", directory, maxSize, maxAge);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível preparar o diretório do cache de relatórios: " + directory, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report cache file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Arquivo de um relatório sendo gravado. Sem {@link #commit()} o temporário é descartado
+     * no {@link #close()}, por exemplo quando a renderização falha ou o cliente desconecta
+     */
+    public final class Entry implements AutoCloseable {
+
+        private final PreparedReport report;
+        private final Path temporaryFile;
+        private OutputStream fileOutput;
+        private boolean committed;
+
+        private Entry(PreparedReport report, Path temporaryFile) throws IOException {
+            this.report = report;
+            this.temporaryFile = temporaryFile;
+            this.fileOutput = new BufferedOutputStream(Files.newOutputStream(temporaryFile));
+        }
+
+        /**
+         * Stream que escreve na resposta e no arquivo. Uma falha no arquivo apenas
+         * desliga o cache deste relatório, sem interromper a resposta
+         */
+        public OutputStream tee(OutputStream response) {
+            return new FilterOutputStream(response) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    if (fileOutput != null) {
+                        try {
+                            fileOutput.write(b);
+                        } catch (IOException e) {
+                            abandon(e);
+                        }
+                    }
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    if (fileOutput != null) {
+                        try {
+                            fileOutput.write(b, off, len);
+                        } catch (IOException e) {
+                            abandon(e);
+                        }
+                    }
+                }
+
+                @Override
+                public void close() throws IOException {
+                    // A resposta é fechada pelo Spring MVC
+                    flush();
+                }
+            };
+        }
+
+        /**
+         * Publica o arquivo completo no cache
+         */
+        public void commit() {
+            if (fileOutput == null) {
+                return;
+            }
+            try {
+                fileOutput.close();
+                fileOutput = null;
+                long size = Files.size(temporaryFile);
+                if (size > maxSize) {
+                    log.info("Report {} has {} bytes, larger than the cache limit; not cached", report.reportType(), size);
+                    return;
+                }
+                register(report, temporaryFile, size);
+                committed = true;
+            } catch (IOException e) {
+                log.warn("Could not store report {} in cache: {}", report.reportType(), e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() {
+            if (fileOutput != null) {
+                try {
+                    fileOutput.close();
+                } catch (IOException ignored) {
+                    // O arquivo é descartado em seguida
+                }
+                fileOutput = null;
+            }
+            if (!committed) {
+                deleteQuietly(temporaryFile);
+            }
+        }
+
+        private void abandon(IOException e) {
+            log.warn("Could not write report cache file {}: {}", temporaryFile, e.getMessage());
+            close();
+        }
+    }
+}
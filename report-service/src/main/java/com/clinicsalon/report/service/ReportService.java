@@ -1,20 +1,43 @@
 package com.clinicsalon.report.service;
 
 import com.clinicsalon.report.client.ProfessionalDto;
+import com.clinicsalon.report.dto.PrecomputedReportResponse;
+import com.clinicsalon.report.dto.ReportFormat;
 import com.clinicsalon.report.dto.ReportRequest;
 import com.clinicsalon.report.dto.ReportResponse;
 import com.clinicsalon.report.dto.ReportType;
+import com.clinicsalon.report.row.AppointmentRow;
+import com.clinicsalon.report.row.ClientServiceRow;
+import com.clinicsalon.report.row.ClientVisitStatsRow;
+import com.clinicsalon.report.row.FavoriteProfessionalRow;
+import com.clinicsalon.report.row.LoyaltySummaryRow;
+import com.clinicsalon.report.row.RevenueSummaryRow;
+import com.clinicsalon.report.row.ServicePopularityRow;
+import com.clinicsalon.report.row.ServiceRevenueRow;
+import com.clinicsalon.report.util.CsvReportWriter;
 import com.clinicsalon.report.util.JasperReportGenerator;
+import com.clinicsalon.report.util.ReportColumn;
+import com.clinicsalon.report.util.SubreportData;
+import com.clinicsalon.report.util.XlsxReportWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.clinicsalon.monitoring.aspect.MonitorPerformance;
@@ -29,81 +52,266 @@ public class ReportService {
     private final LoyaltyDataService loyaltyDataService;
     private final ProfessionalDataService professionalDataService;
     private final JasperReportGenerator reportGenerator;
+    private final CsvReportWriter csvReportWriter;
+    private final XlsxReportWriter xlsxReportWriter;
+    private final PreparedReportStore preparedReportStore;
+    private final ReportResultCache resultCache;
+    private final ReportDataVersionService dataVersionService;
+    private final PrecomputedReportStore precomputedReports;
     
     /**
-     * Gera um relatório baseado nos parâmetros fornecidos
+     * Prepara o relatório e devolve apenas os metadados e o endereço de download.
+     * O arquivo é renderizado no momento do download, antes da resposta; se o relatório já
+     * foi pré-calculado ou um idêntico sobre a mesma versão dos dados já estiver no cache,
+     * nada é coletado nem renderizado
      */
     @MonitorPerformance(description = "Gerar relatório", thresholdMillis = 2000, alertOnError = true)
     public ReportResponse generateReport(ReportRequest request) {
-        log.info("Generating report: {}", request.getReportType());
-        
-        byte[] reportContent;
-        String contentType;
-        String reportName;
-        
-        switch (request.getReportType()) {
-            case CLIENT_APPOINTMENTS:
-                reportContent = generateClientAppointmentsReport(request);
-                reportName = "Agendamentos do Cliente";
-                contentType = determineContentType(request.getFormat());
-                break;
-            case PROFESSIONAL_SCHEDULE:
-                reportContent = generateProfessionalScheduleReport(request);
-                reportName = "Agenda do Profissional";
-                contentType = determineContentType(request.getFormat());
-                break;
-            case REVENUE_SUMMARY:
-                reportContent = generateRevenueSummaryReport(request);
-                reportName = "Resumo de Receitas";
-                contentType = determineContentType(request.getFormat());
-                break;
-            case LOYALTY_POINTS_SUMMARY:
-                reportContent = generateLoyaltyPointsSummaryReport(request);
-                reportName = "Resumo do Programa de Fidelidade";
-                contentType = determineContentType(request.getFormat());
-                break;
-            case CLIENT_HISTORY:
-                reportContent = generateClientHistoryReport(request);
-                reportName = "Histórico de Cliente";
-                contentType = determineContentType(request.getFormat());
-                break;
-            case SERVICES_POPULARITY:
-                reportContent = generateServicesPopularityReport(request);
-                reportName = "Popularidade de Serviços";
-                contentType = determineContentType(request.getFormat());
-                break;
-            default:
-                throw new IllegalArgumentException("Tipo de relatório não suportado: " + request.getReportType());
+        Optional<CachedReport> precomputed = findPrecomputedReport(request);
+        if (precomputed.isPresent()) {
+            log.info("Report {} served from precomputed reports", request.getReportType());
+            return toResponse(precomputed.get(), precomputedReports.getRetention());
         }
         
-        return ReportResponse.builder()
-                .reportId(UUID.randomUUID().toString())
-                .reportType(request.getReportType())
-                .reportName(reportName)
-                .contentType(contentType)
-                .reportContent(reportContent)
-                .generatedAt(LocalDateTime.now())
-                .status("COMPLETED")
-                .fileSize((long) reportContent.length)
-                .build();
+        // O ID de download leva a requisição assinada: qualquer instância atende o download
+        Optional<String> cacheKey = getCacheKey(request);
+        Optional<CachedReport> cached = cacheKey.flatMap(resultCache::get);
+        if (cached.isPresent()) {
+            log.info("Report {} served from cache", request.getReportType());
+            LocalDateTime issuedAt = LocalDateTime.now();
+            return toResponse(preparedReportStore.issue(request, issuedAt), cached.get(), issuedAt);
+        }
+        
+        PreparedReport report = prepareReport(request, cacheKey.orElse(null));
+        String reportId = preparedReportStore.put(preparedReportStore.issue(request, report.generatedAt()), report);
+        return toResponse(reportId, report);
     }
     
-    private String determineContentType(String format) {
-        if (format == null) {
-            return "application/pdf";
+    /**
+     * Chave do relatório no cache de resultados, a partir da requisição e da versão atual
+     * dos dados de origem. Vazio quando o cache está desligado ou a versão não está disponível
+     */
+    public Optional<String> getCacheKey(ReportRequest request) {
+        if (!resultCache.isEnabled() || request.getReportType() == null) {
+            return Optional.empty();
         }
-        
-        return switch (format.toUpperCase()) {
-            case "PDF" -> "application/pdf";
-            case "EXCEL" -> "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-            case "CSV" -> "text/csv";
-            default -> "application/pdf";
+        return dataVersionService.getDataVersion(request.getReportType())
+                .map(dataVersion -> ReportCacheKey.of(request, dataVersion));
+    }
+    
+    /**
+     * Busca um relatório já renderizado no cache de resultados ou entre os pré-calculados
+     */
+    public Optional<CachedReport> findCachedReport(String cacheKey) {
+        return resultCache.get(cacheKey).or(() -> precomputedReports.get(cacheKey));
+    }
+    
+    /**
+     * Busca o relatório pré-calculado equivalente à requisição, sem consultar os serviços de origem
+     */
+    public Optional<CachedReport> findPrecomputedReport(ReportRequest request) {
+        return precomputedReports.find(request);
+    }
+    
+    /**
+     * Catálogo dos relatórios recorrentes já pré-calculados
+     */
+    public List<PrecomputedReportResponse> getPrecomputedReports() {
+        return precomputedReports.getCatalog().stream()
+                .map(entry -> PrecomputedReportResponse.builder()
+                        .definition(entry.definition())
+                        .reportId(entry.report().key())
+                        .reportType(entry.report().reportType())
+                        .reportName(entry.report().reportName())
+                        .format(entry.report().format().name())
+                        .startDate(entry.request().getStartDate())
+                        .endDate(entry.request().getEndDate())
+                        .professionalId(entry.request().getProfessionalId())
+                        .contentType(entry.report().format().getContentType())
+                        .size(entry.report().size())
+                        .downloadUrl("/api/reports/" + entry.report().key() + "/content")
+                        .generatedAt(entry.report().generatedAt())
+                        .expiresAt(entry.report().generatedAt().plus(precomputedReports.getRetention()))
+                        .build())
+                .toList();
+    }
+    
+    /**
+     * Coleta os dados do relatório nos outros serviços, sem renderizá-lo.
+     * Com a chave informada, o arquivo é guardado no cache de resultados ao ser renderizado
+     */
+    @MonitorPerformance(description = "Preparar relatório", thresholdMillis = 2000, alertOnError = true)
+    public PreparedReport prepareReport(ReportRequest request, String cacheKey) {
+        if (request.getReportType() == null) {
+            throw new IllegalArgumentException("Tipo de relatório é obrigatório");
+        }
+        log.info("Preparing report: {}", request.getReportType());
+        
+        ReportFormat format = ReportFormat.from(request.getFormat());
+        PreparedReport report = switch (request.getReportType()) {
+            case CLIENT_APPOINTMENTS -> prepareClientAppointmentsReport(request, format);
+            case PROFESSIONAL_SCHEDULE -> prepareProfessionalScheduleReport(request, format);
+            case REVENUE_SUMMARY -> prepareRevenueSummaryReport(request, format);
+            case LOYALTY_POINTS_SUMMARY -> prepareLoyaltyPointsSummaryReport(format);
+            case CLIENT_HISTORY -> prepareClientHistoryReport(request, format);
+            case SERVICES_POPULARITY -> prepareServicesPopularityReport(request, format);
         };
+        return cacheKey != null ? report.withCacheKey(cacheKey) : report;
+    }
+    
+    /**
+     * Busca um relatório preparado nesta instância que ainda não expirou
+     */
+    public Optional<PreparedReport> findPreparedReport(String reportId) {
+        return preparedReportStore.get(reportId);
+    }
+    
+    /**
+     * Requisição contida no ID de download, para atender o download em uma instância que não
+     * preparou o relatório. Vazio se o ID não foi emitido pelo report-service ou expirou
+     */
+    public Optional<ReportRequest> resolveReportRequest(String reportId) {
+        return preparedReportStore.resolve(reportId).map(PreparedReportStore.IssuedRequest::request);
+    }
+    
+    /**
+     * Metadados de um relatório preparado
+     */
+    public Optional<ReportResponse> getReportStatus(String reportId) {
+        return preparedReportStore.get(reportId).map(report -> toResponse(reportId, report))
+                .or(() -> resultCache.get(reportId).map(report -> toResponse(report, resultCache.getMaxAge())))
+                .or(() -> precomputedReports.get(reportId).map(report -> toResponse(report, precomputedReports.getRetention())))
+                .or(() -> preparedReportStore.resolve(reportId).map(issued -> toResponse(reportId, issued)));
+    }
+    
+    /**
+     * Renderiza o relatório por completo em um arquivo temporário, antes de a resposta começar:
+     * uma falha na renderização vira status de erro em vez de um download 200 truncado.
+     * Quem recebe o arquivo deve fechá-lo depois do envio
+     */
+    @MonitorPerformance(description = "Renderizar relatório", thresholdMillis = 5000, alertOnError = true)
+    public RenderedReport renderReport(PreparedReport report) {
+        Path file;
+        try {
+            file = Files.createTempFile("report-render-", "." + report.format().getExtension());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o arquivo temporário do relatório", e);
+        }
+        try {
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file))) {
+                writeReport(report, output);
+            }
+            return new RenderedReport(file, Files.size(file));
+        } catch (IOException e) {
+            RenderedReport.deleteQuietly(file);
+            throw new UncheckedIOException("Não foi possível renderizar o relatório " + report.reportType(), e);
+        } catch (RuntimeException e) {
+            RenderedReport.deleteQuietly(file);
+            throw e;
+        }
+    }
+    
+    /**
+     * Renderiza o relatório no stream de saída.
+     * Relatórios com chave de cache são gravados no cache enquanto são escritos
+     */
+    public void writeReport(PreparedReport report, OutputStream output) {
+        log.info("Rendering report {} as {}", report.reportType(), report.format());
+        
+        ReportResultCache.Entry entry = report.cacheKey() != null ? resultCache.newEntry(report) : null;
+        if (entry == null) {
+            render(report, output);
+            return;
+        }
+        try (entry) {
+            render(report, entry.tee(output));
+            entry.commit();
+        }
+    }
+    
+    /**
+     * Relatórios tabulares em CSV e XLSX são escritos linha a linha pelos exportadores em
+     * streaming; PDF e relatórios sem layout tabular passam pelo template JasperReports
+     */
+    void render(PreparedReport report, OutputStream output) {
+        Optional<List<? extends ReportColumn<?>>> columns = TabularReportColumns.forType(report.reportType());
+        if (columns.isEmpty() || report.format() == ReportFormat.PDF) {
+            reportGenerator.writeReport(report.templatePath(), report.parameters(), report.data(), report.format(), output);
+            return;
+        }
+        
+        // As colunas de cada tipo de relatório correspondem ao tipo de linha montado em prepareReport
+        @SuppressWarnings("unchecked")
+        List<ReportColumn<Object>> tabularColumns = (List<ReportColumn<Object>>) columns.get();
+        Iterator<?> rows = report.data().iterator();
+        long count = report.format() == ReportFormat.CSV
+                ? csvReportWriter.write(tabularColumns, rows, output)
+                : xlsxReportWriter.write(report.reportName(), tabularColumns, rows, output);
+        log.info("Exported {} rows of report {} as {}", count, report.reportType(), report.format());
+    }
+    
+    private ReportResponse toResponse(String reportId, PreparedReport report) {
+        return ReportResponse.builder()
+                .reportId(reportId)
+                .reportType(report.reportType())
+                .reportName(report.reportName())
+                .contentType(report.format().getContentType())
+                .downloadUrl("/api/reports/" + reportId + "/content")
+                .generatedAt(report.generatedAt())
+                .expiresAt(report.generatedAt().plus(preparedReportStore.getTimeToLive()))
+                .status("READY")
+                .build();
+    }
+    
+    private ReportResponse toResponse(String reportId, CachedReport report, LocalDateTime issuedAt) {
+        return ReportResponse.builder()
+                .reportId(reportId)
+                .reportType(report.reportType())
+                .reportName(report.reportName())
+                .contentType(report.format().getContentType())
+                .downloadUrl("/api/reports/" + reportId + "/content")
+                .generatedAt(report.generatedAt())
+                .expiresAt(issuedAt.plus(preparedReportStore.getTimeToLive()))
+                .status("READY")
+                .build();
+    }
+    
+    /**
+     * Metadados de um ID emitido por outra instância: o relatório só é preparado no download
+     */
+    private ReportResponse toResponse(String reportId, PreparedReportStore.IssuedRequest issued) {
+        return ReportResponse.builder()
+                .reportId(reportId)
+                .reportType(issued.request().getReportType())
+                .contentType(ReportFormat.from(issued.request().getFormat()).getContentType())
+                .downloadUrl("/api/reports/" + reportId + "/content")
+                .generatedAt(issued.issuedAt())
+                .expiresAt(issued.issuedAt().plus(preparedReportStore.getTimeToLive()))
+                .status("READY")
+                .build();
+    }
+    
+    private ReportResponse toResponse(CachedReport report, Duration retention) {
+        return ReportResponse.builder()
+                .reportId(report.key())
+                .reportType(report.reportType())
+                .reportName(report.reportName())
+                .contentType(report.format().getContentType())
+                .downloadUrl("/api/reports/" + report.key() + "/content")
+                .generatedAt(report.generatedAt())
+                .expiresAt(report.generatedAt().plus(retention))
+                .status("READY")
+                .build();
+    }
+    
+    private PreparedReport prepared(ReportType reportType, String reportName, ReportFormat format,
+                                    String templatePath, Map<String, Object> parameters, List<?> data) {
+        return new PreparedReport(reportType, reportName, format, templatePath, parameters, data, LocalDateTime.now(), null);
     }
     
     @MonitorPerformance(description = "Gerar relatório de agendamentos do cliente", thresholdMillis = 1500, alertOnError = true)
-    private byte[] generateClientAppointmentsReport(ReportRequest request) {
-        log.info("Generating client appointments report for client ID: {}", request.getClientId());
+    private PreparedReport prepareClientAppointmentsReport(ReportRequest request, ReportFormat format) {
+        log.info("Preparing client appointments report for client ID: {}", request.getClientId());
         
         // Validação do cliente
         Long clientId = request.getClientId();
@@ -118,7 +326,7 @@ public class ReportService {
         }
         
         // Busca agendamentos do cliente
-        List<Map<String, Object>> appointments = appointmentDataService.getClientAppointments(
+        List<AppointmentRow> appointments = appointmentDataService.getClientAppointments(
                 clientId, 
                 request.getStartDate(), 
                 request.getEndDate());
@@ -133,15 +341,15 @@ public class ReportService {
         parameters.put("TOTAL_APPOINTMENTS", appointments.size());
         
         // Gera o relatório usando o template JasperReports
-        return reportGenerator.generatePdfReport(
+        return prepared(ReportType.CLIENT_APPOINTMENTS, "Agendamentos do Cliente", format,
                 "reports/client_appointments.jrxml",
                 parameters,
                 appointments);
     }
     
     @MonitorPerformance(description = "Gerar relatório de agenda do profissional", thresholdMillis = 1500, alertOnError = true)
-    private byte[] generateProfessionalScheduleReport(ReportRequest request) {
-        log.info("Generating professional schedule report for professional ID: {}", request.getProfessionalId());
+    private PreparedReport prepareProfessionalScheduleReport(ReportRequest request, ReportFormat format) {
+        log.info("Preparing professional schedule report for professional ID: {}", request.getProfessionalId());
         
         // Validação do profissional
         Long professionalId = request.getProfessionalId();
@@ -150,11 +358,10 @@ public class ReportService {
         }
         
         // Busca dados do profissional
-        ProfessionalDto professional = professionalDataService.getProfessionalById(professionalId)
-                .orElseThrow(() -> new IllegalArgumentException("Profissional não encontrado: " + professionalId));
+        ProfessionalDto professional = professionalDataService.getProfessionalById(professionalId);
         
         // Busca agendamentos do profissional
-        List<Map<String, Object>> appointments = appointmentDataService.getProfessionalSchedule(
+        List<AppointmentRow> appointments = appointmentDataService.getProfessionalSchedule(
                 professionalId, 
                 request.getStartDate(), 
                 request.getEndDate());
@@ -170,23 +377,23 @@ public class ReportService {
         parameters.put("TOTAL_APPOINTMENTS", appointments.size());
         
         // Gera o relatório usando o template JasperReports
-        return reportGenerator.generatePdfReport(
+        return prepared(ReportType.PROFESSIONAL_SCHEDULE, "Agenda do Profissional", format,
                 "reports/professional_schedule.jrxml",
                 parameters,
                 appointments);
     }
     
     @MonitorPerformance(description = "Gerar relatório de resumo de receitas", thresholdMillis = 1500, alertOnError = true)
-    private byte[] generateRevenueSummaryReport(ReportRequest request) {
-        log.info("Generating revenue summary report from {} to {}", request.getStartDate(), request.getEndDate());
+    private PreparedReport prepareRevenueSummaryReport(ReportRequest request, ReportFormat format) {
+        log.info("Preparing revenue summary report from {} to {}", request.getStartDate(), request.getEndDate());
         
         // Busca resumo de receitas
-        Map<String, Object> revenueSummary = appointmentDataService.getRevenueSummary(
+        RevenueSummaryRow revenueSummary = appointmentDataService.getRevenueSummary(
                 request.getStartDate(), 
                 request.getEndDate());
         
         // Busca detalhamento por serviço
-        List<Map<String, Object>> serviceRevenue = appointmentDataService.getServiceRevenueBreakdown(
+        List<ServiceRevenueRow> serviceRevenue = appointmentDataService.getServiceRevenueBreakdown(
                 request.getStartDate(), 
                 request.getEndDate());
         
@@ -195,63 +402,40 @@ public class ReportService {
         parameters.put("START_DATE", request.getStartDate().toString());
         parameters.put("END_DATE", request.getEndDate().toString());
         parameters.put("REPORT_TITLE", "Resumo de Receitas");
-        parameters.put("TOTAL_REVENUE", revenueSummary.get("totalRevenue"));
-        parameters.put("APPOINTMENTS_COUNT", revenueSummary.get("appointmentsCount"));
-        parameters.put("AVERAGE_TICKET", revenueSummary.get("averageTicket"));
-        parameters.put("MOST_POPULAR_SERVICE", revenueSummary.get("mostPopularService"));
-        parameters.put("MOST_REVENUE_SERVICE", revenueSummary.get("mostRevenueService"));
+        parameters.put("TOTAL_REVENUE", revenueSummary.totalRevenue());
+        parameters.put("APPOINTMENTS_COUNT", revenueSummary.appointmentsCount());
+        parameters.put("AVERAGE_TICKET", revenueSummary.averageTicket());
+        parameters.put("MOST_POPULAR_SERVICE", revenueSummary.mostPopularService());
+        parameters.put("MOST_REVENUE_SERVICE", revenueSummary.mostRevenueService());
         
         // Gera o relatório usando o template JasperReports
-        return reportGenerator.generatePdfReport(
+        return prepared(ReportType.REVENUE_SUMMARY, "Resumo de Receitas", format,
                 "reports/revenue_summary.jrxml",
                 parameters,
                 serviceRevenue);
     }
     
-    private byte[] generateLoyaltyPointsSummaryReport(ReportRequest request) {
-        log.info("Generating loyalty points summary report");
-        
-        // Busca resumo de pontos de fidelidade por cliente
-        Map<Long, Integer> clientPointsMap = loyaltyDataService.getAllClientsTotalPoints();
-        
-        // Converte para uma lista de mapas para o relatório
-        List<Map<String, Object>> loyaltyData = new ArrayList<>();
-        clientPointsMap.forEach((clientId, points) -> {
-            Map<String, Object> clientData = new HashMap<>();
-            clientData.put("clientId", clientId);
-            clientData.put("clientName", clientDataService.getClientName(clientId));
-            clientData.put("points", points);
-            clientData.put("tier", loyaltyDataService.determineClientTier(points));
-            clientData.put("nextTier", loyaltyDataService.determineNextTier(points));
-            clientData.put("pointsToNextTier", loyaltyDataService.calculatePointsToNextTier(points));
-            loyaltyData.add(clientData);
-        });
+    private PreparedReport prepareLoyaltyPointsSummaryReport(ReportFormat format) {
+        log.info("Preparing loyalty points summary report");
+        
+        // Resumo agregado por nível, obtido em uma única chamada ao serviço de fidelidade
+        LoyaltySummaryRow summary = loyaltyDataService.getLoyaltyPointsSummary();
         
         // Preparação dos parâmetros para o relatório
         Map<String, Object> parameters = new HashMap<>();
-        parameters.put("REPORT_TITLE", "Resumo do Programa de Fidelidade");
-        parameters.put("START_DATE", request.getStartDate().toString());
-        parameters.put("END_DATE", request.getEndDate().toString());
-        parameters.put("TOTAL_CLIENTS", loyaltyData.size());
-        
-        // Estatísticas por tier
-        long bronzeCount = loyaltyData.stream().filter(d -> "BRONZE".equals(d.get("tier"))).count();
-        long silverCount = loyaltyData.stream().filter(d -> "PRATA".equals(d.get("tier"))).count();
-        long goldCount = loyaltyData.stream().filter(d -> "OURO".equals(d.get("tier"))).count();
-        
-        parameters.put("BRONZE_COUNT", bronzeCount);
-        parameters.put("SILVER_COUNT", silverCount);
-        parameters.put("GOLD_COUNT", goldCount);
+        parameters.put("reportTitle", "Resumo do Programa de Fidelidade");
+        parameters.put("reportDate", LocalDateTime.now().toLocalDate().toString());
+        parameters.put("tierDataSource", new SubreportData(summary.tierDistribution()));
         
         // Gera o relatório usando o template JasperReports
-        return reportGenerator.generatePdfReport(
-                "reports/loyalty_summary.jrxml",
+        return prepared(ReportType.LOYALTY_POINTS_SUMMARY, "Resumo do Programa de Fidelidade", format,
+                "reports/loyalty_points_summary.jrxml",
                 parameters,
-                loyaltyData);
+                List.of(summary));
     }
     
-    private byte[] generateClientHistoryReport(ReportRequest request) {
-        log.info("Generating client history report for client ID: {}", request.getClientId());
+    private PreparedReport prepareClientHistoryReport(ReportRequest request, ReportFormat format) {
+        log.info("Preparing client history report for client ID: {}", request.getClientId());
         
         // Validação do cliente
         Long clientId = request.getClientId();
@@ -265,58 +449,37 @@ public class ReportService {
             throw new IllegalArgumentException("Cliente não encontrado: " + clientId);
         }
         
-        // Busca histórico completo do cliente
-        List<Map<String, Object>> appointments = appointmentDataService.getClientAppointments(clientId, null, null);
+        // Estatísticas agregadas no appointment-service, sem trazer o histórico completo
+        ClientVisitStatsRow stats = appointmentDataService.getClientVisitStats(clientId);
         
         // Busca pontos de fidelidade
         int loyaltyPoints = loyaltyDataService.getClientPoints(clientId);
         String tier = loyaltyDataService.determineClientTier(loyaltyPoints);
         
-        // Busca profissionais preferidos do cliente
-        Map<Long, Integer> professionalVisits = appointments.stream()
-                .filter(appt -> appt.get("professionalId") != null)
-                .collect(Collectors.groupingBy(
-                        appt -> Long.parseLong(appt.get("professionalId").toString()),
-                        Collectors.summingInt(appt -> 1)));
-        
-        // Pega os 3 profissionais mais visitados pelo cliente
-        List<Long> favoriteProIds = professionalVisits.entrySet().stream()
-                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
+        // Busca dados completos dos 3 profissionais mais visitados (já vêm ordenados)
+        List<Long> favoriteProIds = stats.professionalVisits().keySet().stream()
                 .limit(3)
-                .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
         
-        // Busca dados completos dos profissionais preferidos
-        List<Map<String, Object>> favoriteProfessionals = new ArrayList<>();
+        List<FavoriteProfessionalRow> favoriteProfessionals = new ArrayList<>();
         for (Long proId : favoriteProIds) {
             try {
                 ProfessionalDto professional = professionalDataService.getProfessionalById(proId);
                 if (professional != null) {
-                    Map<String, Object> proData = new HashMap<>();
-                    proData.put("id", professional.getId());
-                    proData.put("name", professional.getName());
-                    proData.put("specialization", professional.getSpecialization());
-                    proData.put("visits", professionalVisits.get(proId));
-                    favoriteProfessionals.add(proData);
+                    favoriteProfessionals.add(new FavoriteProfessionalRow(
+                            professional.getId(),
+                            professional.getName(),
+                            professional.getSpecialization(),
+                            stats.professionalVisits().get(proId)));
                 }
             } catch (Exception e) {
                 log.warn("Não foi possível obter dados do profissional ID: {}", proId, e);
             }
         }
         
-        // Calcula estatísticas do cliente
-        double totalSpent = appointments.stream()
-                .mapToDouble(appt -> Double.parseDouble(appt.get("price").toString()))
-                .sum();
-        
-        Map<String, Long> serviceCount = appointments.stream()
-                .collect(Collectors.groupingBy(
-                        appt -> appt.get("serviceName").toString(),
-                        Collectors.counting()));
-        
-        String favoriteService = serviceCount.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
+        String favoriteService = stats.services().stream()
+                .findFirst()
+                .map(ClientServiceRow::serviceName)
                 .orElse("N/A");
         
         // Preparação dos parâmetros para o relatório
@@ -324,8 +487,8 @@ public class ReportService {
         parameters.put("CLIENT_NAME", clientName);
         parameters.put("CLIENT_ID", clientId);
         parameters.put("REPORT_TITLE", "Histórico do Cliente");
-        parameters.put("TOTAL_APPOINTMENTS", appointments.size());
-        parameters.put("TOTAL_SPENT", totalSpent);
+        parameters.put("TOTAL_APPOINTMENTS", stats.totalAppointments());
+        parameters.put("TOTAL_SPENT", stats.totalSpent().doubleValue());
         parameters.put("LOYALTY_POINTS", loyaltyPoints);
         parameters.put("LOYALTY_TIER", tier);
         parameters.put("FAVORITE_SERVICE", favoriteService);
@@ -334,49 +497,49 @@ public class ReportService {
         parameters.put("FAVORITE_PROFESSIONALS", favoriteProfessionals);
         
         // Gera o relatório usando o template JasperReports
-        return reportGenerator.generatePdfReport(
+        return prepared(ReportType.CLIENT_HISTORY, "Histórico de Cliente", format,
                 "reports/client_history.jrxml",
                 parameters,
-                appointments);
+                stats.services());
     }
     
-    private byte[] generateServicesPopularityReport(ReportRequest request) {
-        log.info("Generating services popularity report from {} to {}", request.getStartDate(), request.getEndDate());
+    private PreparedReport prepareServicesPopularityReport(ReportRequest request, ReportFormat format) {
+        log.info("Preparing services popularity report from {} to {}", request.getStartDate(), request.getEndDate());
         
         // Busca dados de popularidade de serviços
-        List<Map<String, Object>> servicesPopularity = appointmentDataService.getServicesPopularity(
+        List<ServicePopularityRow> servicesPopularity = appointmentDataService.getServicesPopularity(
                 request.getStartDate(), 
                 request.getEndDate());
         
         // Calcula total de agendamentos para estatísticas percentuais
         int totalAppointments = servicesPopularity.stream()
-                .mapToInt(service -> Integer.parseInt(service.get("count").toString()))
+                .filter(service -> service.count() != null)
+                .mapToInt(ServicePopularityRow::count)
                 .sum();
         
         // Calcula o serviço mais popular
         String mostPopularService = servicesPopularity.stream()
-                .max((s1, s2) -> Integer.parseInt(s1.get("count").toString()) - Integer.parseInt(s2.get("count").toString()))
-                .map(service -> service.get("serviceName").toString())
+                .filter(service -> service.count() != null)
+                .max(Comparator.comparingInt(ServicePopularityRow::count))
+                .map(ServicePopularityRow::serviceName)
                 .orElse("N/A");
                 
         // Busca profissionais ativos que podem oferecer os serviços
         List<ProfessionalDto> activeProfessionals = professionalDataService.getActiveProfessionals();
         
         // Enriquece os dados de serviços com os profissionais que os oferecem
-        for (Map<String, Object> serviceData : servicesPopularity) {
-            String serviceName = serviceData.get("serviceName").toString();
-            String serviceCategory = serviceData.get("category").toString();
-            
+        List<ServicePopularityRow> rows = new ArrayList<>(servicesPopularity.size());
+        for (ServicePopularityRow service : servicesPopularity) {
             // Filtra profissionais por especialização relacionada à categoria do serviço
             List<String> professionalNames = activeProfessionals.stream()
                     .filter(p -> p.getSpecialization() != null && 
-                            (p.getSpecialization().equalsIgnoreCase(serviceCategory) || 
-                             p.getSpecialization().contains(serviceName)))
+                            (p.getSpecialization().equalsIgnoreCase(service.category()) || 
+                             (service.serviceName() != null && p.getSpecialization().contains(service.serviceName()))))
                     .map(ProfessionalDto::getName)
                     .collect(Collectors.toList());
             
             // Adiciona a lista de profissionais para cada serviço
-            serviceData.put("availableProfessionals", String.join(", ", professionalNames));
+            rows.add(service.withAvailableProfessionals(String.join(", ", professionalNames)));
         }
         
         // Preparação dos parâmetros para o relatório
@@ -389,9 +552,9 @@ public class ReportService {
         parameters.put("TOTAL_PROFESSIONALS", activeProfessionals.size());
         
         // Gera o relatório usando o template JasperReports
-        return reportGenerator.generatePdfReport(
+        return prepared(ReportType.SERVICES_POPULARITY, "Popularidade de Serviços", format,
                 "reports/services_popularity.jrxml",
                 parameters,
-                servicesPopularity);
+                rows);
     }
 }
@@ -0,0 +1,70 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.report.dto.ReportType;
+import com.clinicsalon.report.row.AppointmentRow;
+import com.clinicsalon.report.row.ClientServiceRow;
+import com.clinicsalon.report.row.ServicePopularityRow;
+import com.clinicsalon.report.row.ServiceRevenueRow;
+import com.clinicsalon.report.util.ReportColumn;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Colunas dos relatórios tabulares exportados em CSV e XLSX sem o JasperReports, a partir
+ * das linhas montadas pelos serviços de dados. Relatórios sem layout tabular (como o resumo
+ * de fidelidade) continuam usando o template também nesses formatos.
+ */
+public final class TabularReportColumns {
+
+    private static final List<ReportColumn<AppointmentRow>> CLIENT_APPOINTMENTS = List.of(
+            new ReportColumn<>("Agendamento", AppointmentRow::appointmentId),
+            new ReportColumn<>("Data", AppointmentRow::serviceDate),
+            new ReportColumn<>("Serviço", AppointmentRow::serviceName),
+            new ReportColumn<>("Profissional", AppointmentRow::professionalName),
+            new ReportColumn<>("Status", AppointmentRow::status),
+            new ReportColumn<>("Valor", AppointmentRow::price));
+
+    private static final List<ReportColumn<ClientServiceRow>> CLIENT_HISTORY = List.of(
+            new ReportColumn<>("Serviço", ClientServiceRow::serviceName),
+            new ReportColumn<>("Atendimentos", ClientServiceRow::serviceCount),
+            new ReportColumn<>("Último atendimento", ClientServiceRow::lastServiceDate),
+            new ReportColumn<>("Total gasto", ClientServiceRow::totalSpent));
+
+    private static final List<ReportColumn<AppointmentRow>> PROFESSIONAL_SCHEDULE = List.of(
+            new ReportColumn<>("Agendamento", AppointmentRow::appointmentId),
+            new ReportColumn<>("Data", AppointmentRow::serviceDate),
+            new ReportColumn<>("Cliente", AppointmentRow::clientName),
+            new ReportColumn<>("Serviço", AppointmentRow::serviceName),
+            new ReportColumn<>("Status", AppointmentRow::status),
+            new ReportColumn<>("Valor", AppointmentRow::price));
+
+    private static final List<ReportColumn<ServiceRevenueRow>> SERVICE_REVENUE = List.of(
+            new ReportColumn<>("Serviço", ServiceRevenueRow::serviceName),
+            new ReportColumn<>("Atendimentos", ServiceRevenueRow::count),
+            new ReportColumn<>("Receita", ServiceRevenueRow::revenue));
+
+    private static final List<ReportColumn<ServicePopularityRow>> SERVICES_POPULARITY = List.of(
+            new ReportColumn<>("Serviço", ServicePopularityRow::serviceName),
+            new ReportColumn<>("Atendimentos", ServicePopularityRow::count),
+            new ReportColumn<>("Percentual", ServicePopularityRow::percentage),
+            new ReportColumn<>("Receita", ServicePopularityRow::revenue),
+            new ReportColumn<>("Profissionais", ServicePopularityRow::availableProfessionals));
+
+    private TabularReportColumns() {
+    }
+
+    /**
+     * Colunas do relatório, sobre o tipo de linha que o {@link ReportService} monta para ele
+     */
+    public static Optional<List<? extends ReportColumn<?>>> forType(ReportType reportType) {
+        return Optional.ofNullable(switch (reportType) {
+            case CLIENT_APPOINTMENTS -> CLIENT_APPOINTMENTS;
+            case CLIENT_HISTORY -> CLIENT_HISTORY;
+            case PROFESSIONAL_SCHEDULE -> PROFESSIONAL_SCHEDULE;
+            case REVENUE_SUMMARY -> SERVICE_REVENUE;
+            case SERVICES_POPULARITY -> SERVICES_POPULARITY;
+            case LOYALTY_POINTS_SUMMARY -> null;
+        });
+    }
+}
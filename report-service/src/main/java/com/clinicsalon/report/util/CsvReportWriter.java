@@ -0,0 +1,101 @@
+package com.clinicsalon.report.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Exportador CSV (RFC 4180) em streaming: cada linha é escrita assim que é lida do iterador,
+ * então a memória usada não depende da quantidade de linhas
+ */
+@Component
+@Slf4j
+public class CsvReportWriter {
+
+    // BOM para que o Excel abra o arquivo como UTF-8 (acentos nos nomes)
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final String LINE_SEPARATOR = "\r\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final char delimiter;
+
+    public CsvReportWriter(@Value("${report.export.csv.delimiter:,}") char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Escreve o cabeçalho e as linhas no stream de saída, que não é fechado
+     *
+     * @return Quantidade de linhas escritas, sem o cabeçalho
+     */
+    public <T> long write(List<ReportColumn<T>> columns, Iterator<? extends T> rows, OutputStream output) {
+        try {
+            output.write(UTF8_BOM);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+            for (int i = 0; i < columns.size(); i++) {
+                writeField(writer, i, columns.get(i).header());
+            }
+            writer.write(LINE_SEPARATOR);
+
+            long count = 0;
+            while (rows.hasNext()) {
+                T row = rows.next();
+                for (int i = 0; i < columns.size(); i++) {
+                    writeField(writer, i, format(columns.get(i).value().apply(row)));
+                }
+                writer.write(LINE_SEPARATOR);
+                count++;
+            }
+
+            // Não fecha o writer: o stream pertence a quem chamou
+            writer.flush();
+            return count;
+        } catch (IOException e) {
+            log.warn("Erro ao gerar relatório CSV: {}", e.getMessage());
+            throw new RuntimeException("Falha ao gerar relatório: " + e.getMessage(), e);
+        }
+    }
+
+    private void writeField(Writer writer, int index, String value) throws IOException {
+        if (index > 0) {
+            writer.write(delimiter);
+        }
+        if (value.indexOf(delimiter) < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(((Number) value).doubleValue()).toPlainString();
+        }
+        String text = value.toString();
+        // Textos iniciados por estes caracteres seriam interpretados como fórmula pelas planilhas
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            return "'" + text;
+        }
+        return text;
+    }
+}
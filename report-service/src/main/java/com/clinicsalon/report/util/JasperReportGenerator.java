@@ -1,14 +1,26 @@
 package com.clinicsalon.report.util;
 
+import com.clinicsalon.report.dto.ReportFormat;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+import net.sf.jasperreports.engine.export.JRCsvExporter;
+import net.sf.jasperreports.engine.export.JRPdfExporter;
+import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
+import net.sf.jasperreports.export.Exporter;
+import net.sf.jasperreports.export.ExporterInput;
+import net.sf.jasperreports.export.SimpleExporterInput;
+import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
+import net.sf.jasperreports.export.SimpleWriterExporterOutput;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,33 +41,98 @@ public class JasperReportGenerator {
      * @return Array de bytes contendo o PDF gerado
      */
     public byte[] generatePdfReport(String reportPath, Map<String, Object> parameters, List<?> dataSource) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeReport(reportPath, parameters, dataSource, ReportFormat.PDF, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Gera o relatório escrevendo direto no stream de saída, sem montar o arquivo em memória.
+     * O stream não é fechado.
+     *
+     * @param reportPath Caminho do template JRXML no classpath
+     * @param parameters Parâmetros para preencher o relatório
+     * @param dataSource Lista de dados para o relatório (opcional)
+     * @param format     Formato de saída
+     * @param output     Destino do arquivo (por exemplo, a saída da resposta HTTP)
+     */
+    public void writeReport(String reportPath, Map<String, Object> parameters, List<?> dataSource,
+                            ReportFormat format, OutputStream output) {
         try {
             // Carrega o template do relatório
-            InputStream reportTemplate = new ClassPathResource(reportPath).getInputStream();
-            JasperReport jasperReport = JasperCompileManager.compileReport(reportTemplate);
+            JasperReport jasperReport;
+            try (InputStream reportTemplate = new ClassPathResource(reportPath).getInputStream()) {
+                jasperReport = JasperCompileManager.compileReport(reportTemplate);
+            }
 
             // Prepara a fonte de dados
             JRDataSource jrDataSource = dataSource != null 
-                ? new JRBeanCollectionDataSource(dataSource) 
+                ? dataSource(dataSource) 
                 : new JREmptyDataSource();
 
             // Preenche o relatório com os dados
             JasperPrint jasperPrint = JasperFillManager.fillReport(
                     jasperReport, 
-                    parameters != null ? parameters : new HashMap<>(), 
+                    fillParameters(parameters), 
                     jrDataSource);
 
-            // Exporta para PDF
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            JasperExportManager.exportReportToPdfStream(jasperPrint, outputStream);
-            
-            return outputStream.toByteArray();
+            // Exporta direto para o stream
+            exporter(format, jasperPrint, output).exportReport();
+            output.flush();
         } catch (JRException | IOException e) {
-            log.error("Erro ao gerar relatório PDF: {}", e.getMessage(), e);
+            log.error("Erro ao gerar relatório {}: {}", format, e.getMessage(), e);
             throw new RuntimeException("Falha ao gerar relatório: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Cópia dos parâmetros para o preenchimento, que os altera, com as fontes de dados
+     * dos sub-relatórios criadas a partir de {@link SubreportData}
+     */
+    private Map<String, Object> fillParameters(Map<String, Object> parameters) {
+        Map<String, Object> fillParameters = new HashMap<>();
+        if (parameters != null) {
+            parameters.forEach((name, value) -> fillParameters.put(name, value instanceof SubreportData subreport
+                    ? dataSource(subreport.rows())
+                    : value));
+        }
+        return fillParameters;
+    }
+
+    /**
+     * Linhas em records são lidas pelos métodos de acesso ligados uma vez por campo;
+     * outros tipos seguem pela introspecção de propriedades do JavaBeans
+     */
+    @SuppressWarnings("unchecked")
+    private JRDataSource dataSource(Collection<?> rows) {
+        if (!rows.isEmpty() && rows.iterator().next() instanceof Record) {
+            return new RecordDataSource((Collection<? extends Record>) rows);
+        }
+        return new JRBeanCollectionDataSource(rows);
+    }
+
+    private Exporter<ExporterInput, ?, ?, ?> exporter(ReportFormat format, JasperPrint jasperPrint, OutputStream output) {
+        Exporter<ExporterInput, ?, ?, ?> exporter = switch (format) {
+            case PDF -> {
+                JRPdfExporter pdfExporter = new JRPdfExporter();
+                pdfExporter.setExporterOutput(new SimpleOutputStreamExporterOutput(output));
+                yield pdfExporter;
+            }
+            case EXCEL -> {
+                JRXlsxExporter xlsxExporter = new JRXlsxExporter();
+                xlsxExporter.setExporterOutput(new SimpleOutputStreamExporterOutput(output));
+                yield xlsxExporter;
+            }
+            case CSV -> {
+                JRCsvExporter csvExporter = new JRCsvExporter();
+                csvExporter.setExporterOutput(new SimpleWriterExporterOutput(output, StandardCharsets.UTF_8.name()));
+                yield csvExporter;
+            }
+        };
+        exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
+        return exporter;
+    }
+
     /**
      * Gera um relatório PDF com um mapa de dados como fonte de dados principal
      * e possíveis sub-relatórios
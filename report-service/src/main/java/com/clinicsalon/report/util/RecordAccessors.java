@@ -0,0 +1,80 @@
+package com.clinicsalon.report.util;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Leitores dos componentes de records, montados uma vez por tipo de linha. Cada leitor é uma
+ * {@link Function} gerada pelo {@link LambdaMetafactory} que chama o método de acesso
+ * diretamente, sem reflexão nem busca por nome a cada valor lido.
+ */
+final class RecordAccessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<Map<String, Function<Object, Object>>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, Function<Object, Object>> computeValue(Class<?> type) {
+            Map<String, Function<Object, Object>> accessors = new HashMap<>();
+            for (RecordComponent component : type.getRecordComponents()) {
+                accessors.put(component.getName(), accessor(component.getAccessor()));
+            }
+            return Map.copyOf(accessors);
+        }
+    };
+
+    private RecordAccessors() {
+    }
+
+    /**
+     * Leitor de um componente do record, ou null se o tipo não tiver o componente
+     */
+    static Function<Object, Object> get(Class<? extends Record> type, String component) {
+        return ACCESSORS.get(type).get(component);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> accessor(Method method) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(
+                    LOOKUP,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    handle.type());
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            // Records não públicos (por exemplo, declarados dentro de um método) são lidos pelo handle
+            return handle(method);
+        }
+    }
+
+    private static Function<Object, Object> handle(Method method) {
+        MethodHandle handle;
+        try {
+            method.setAccessible(true);
+            handle = LOOKUP.unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalStateException("Componente de record inacessível: " + method, e);
+        }
+        return row -> {
+            try {
+                return handle.invokeExact(row);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+}
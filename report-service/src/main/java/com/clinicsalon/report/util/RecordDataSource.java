@@ -0,0 +1,66 @@
+package com.clinicsalon.report.util;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+import net.sf.jasperreports.engine.JRRewindableDataSource;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Fonte de dados do JasperReports sobre linhas em records. Diferente do
+ * {@code JRBeanCollectionDataSource}, que resolve cada campo por introspecção de propriedades
+ * a cada linha, os campos do template são ligados aos métodos de acesso do record uma única
+ * vez e lidos por chamada direta. Campos sem componente correspondente são preenchidos com null.
+ */
+public class RecordDataSource implements JRRewindableDataSource {
+
+    private static final Function<Object, Object> MISSING = row -> null;
+
+    private final Collection<? extends Record> rows;
+    // O preenchimento reutiliza as mesmas instâncias de JRField em todas as linhas
+    private final Map<JRField, Function<Object, Object>> accessors = new IdentityHashMap<>();
+    private Iterator<? extends Record> iterator;
+    private Record current;
+    private Class<? extends Record> currentType;
+
+    public RecordDataSource(Collection<? extends Record> rows) {
+        this.rows = rows;
+        this.iterator = rows.iterator();
+    }
+
+    @Override
+    public boolean next() {
+        if (!iterator.hasNext()) {
+            current = null;
+            return false;
+        }
+        current = iterator.next();
+        if (current != null && current.getClass() != currentType) {
+            currentType = current.getClass();
+            accessors.clear();
+        }
+        return true;
+    }
+
+    @Override
+    public Object getFieldValue(JRField field) throws JRException {
+        if (current == null) {
+            return null;
+        }
+        Function<Object, Object> accessor = accessors.computeIfAbsent(field, f -> {
+            Function<Object, Object> componentAccessor = RecordAccessors.get(currentType, f.getName());
+            return componentAccessor != null ? componentAccessor : MISSING;
+        });
+        return accessor.apply(current);
+    }
+
+    @Override
+    public void moveFirst() {
+        iterator = rows.iterator();
+        current = null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.clinicsalon.report.util;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Coluna de um relatório tabular exportado sem o JasperReports
+ *
+ * @param header Cabeçalho da coluna
+ * @param value  Extrai o valor da coluna de uma linha
+ * @param <T>    Tipo das linhas do relatório
+ */
+public record ReportColumn<T>(String header, Function<? super T, ?> value) {
+
+    /**
+     * Coluna lida de uma linha em formato de mapa. As linhas dos serviços de dados são records,
+     * lidos por referência de método
+     */
+    public static ReportColumn<Map<String, Object>> of(String header, String key) {
+        return new ReportColumn<>(header, row -> row.get(key));
+    }
+}
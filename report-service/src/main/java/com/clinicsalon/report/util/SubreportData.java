@@ -0,0 +1,13 @@
+package com.clinicsalon.report.util;
+
+import java.util.Collection;
+
+/**
+ * Dados de um sub-relatório passados como parâmetro. O {@link JasperReportGenerator} cria uma
+ * fonte de dados nova a cada renderização, então o mesmo relatório preparado pode ser baixado
+ * mais de uma vez (inclusive em paralelo)
+ *
+ * @param rows Linhas do sub-relatório
+ */
+public record SubreportData(Collection<?> rows) {
+}
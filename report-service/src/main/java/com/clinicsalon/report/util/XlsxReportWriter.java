@@ -0,0 +1,152 @@
+package com.clinicsalon.report.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Exportador XLSX em streaming com o SXSSF do Apache POI: apenas uma janela fixa de linhas
+ * fica em memória e as anteriores são descarregadas em um arquivo temporário compactado,
+ * removido ao final. Ao atingir o limite de linhas de uma planilha do Excel, continua em
+ * uma nova aba.
+ */
+@Component
+@Slf4j
+public class XlsxReportWriter {
+
+    private static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    private static final int MAX_TEXT_LENGTH = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+
+    private final int windowSize;
+
+    public XlsxReportWriter(@Value("${report.export.xlsx.window-size:100}") int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Escreve a planilha no stream de saída, que não é fechado
+     *
+     * @return Quantidade de linhas escritas, sem os cabeçalhos
+     */
+    public <T> long write(String sheetName, List<ReportColumn<T>> columns, Iterator<? extends T> rows,
+                          OutputStream output) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, windowSize, true);
+        try {
+            Styles styles = new Styles(workbook);
+            int sheetCount = 1;
+            SXSSFSheet sheet = createSheet(workbook, sheetName, sheetCount, columns, styles);
+            int rowIndex = 1;
+
+            long count = 0;
+            while (rows.hasNext()) {
+                if (rowIndex == MAX_ROWS_PER_SHEET) {
+                    sheet = createSheet(workbook, sheetName, ++sheetCount, columns, styles);
+                    rowIndex = 1;
+                }
+                T row = rows.next();
+                Row sheetRow = sheet.createRow(rowIndex++);
+                for (int i = 0; i < columns.size(); i++) {
+                    setValue(sheetRow.createCell(i), columns.get(i).value().apply(row), styles);
+                }
+                count++;
+            }
+
+            workbook.write(output);
+            output.flush();
+            return count;
+        } catch (IOException e) {
+            log.warn("Erro ao gerar relatório XLSX: {}", e.getMessage());
+            throw new RuntimeException("Falha ao gerar relatório: " + e.getMessage(), e);
+        } finally {
+            // Remove os arquivos temporários com as linhas já descarregadas
+            workbook.dispose();
+        }
+    }
+
+    private <T> SXSSFSheet createSheet(SXSSFWorkbook workbook, String name, int number,
+                                       List<ReportColumn<T>> columns, Styles styles) {
+        String suffix = number > 1 ? " (" + number + ")" : "";
+        String base = name.length() + suffix.length() > MAX_SHEET_NAME_LENGTH
+                ? name.substring(0, MAX_SHEET_NAME_LENGTH - suffix.length())
+                : name;
+        SXSSFSheet sheet = workbook.createSheet(WorkbookUtil.createSafeSheetName(base + suffix));
+
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < columns.size(); i++) {
+            Cell cell = header.createCell(i);
+            cell.setCellValue(columns.get(i).header());
+            cell.setCellStyle(styles.header);
+            // Largura fixa pelo cabeçalho: o ajuste automático exigiria acompanhar todas as linhas
+            sheet.setColumnWidth(i, Math.min(Math.max(columns.get(i).header().length() + 4, 14), 60) * 256);
+        }
+        sheet.createFreezePane(0, 1);
+        return sheet;
+    }
+
+    private void setValue(Cell cell, Object value, Styles styles) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal || value instanceof Double || value instanceof Float) {
+            cell.setCellValue(((Number) value).doubleValue());
+            cell.setCellStyle(styles.decimal);
+        } else if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof LocalDateTime dateTime) {
+            cell.setCellValue(dateTime);
+            cell.setCellStyle(styles.dateTime);
+        } else if (value instanceof LocalDate date) {
+            cell.setCellValue(date);
+            cell.setCellStyle(styles.date);
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else {
+            String text = value.toString();
+            cell.setCellValue(text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text);
+        }
+    }
+
+    /**
+     * Estilos compartilhados por todas as células (o XLSX limita a quantidade de estilos)
+     */
+    private static final class Styles {
+
+        private final CellStyle header;
+        private final CellStyle decimal;
+        private final CellStyle date;
+        private final CellStyle dateTime;
+
+        private Styles(SXSSFWorkbook workbook) {
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            header = workbook.createCellStyle();
+            header.setFont(bold);
+
+            decimal = workbook.createCellStyle();
+            decimal.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+
+            date = workbook.createCellStyle();
+            date.setDataFormat(workbook.createDataFormat().getFormat("dd/mm/yyyy"));
+
+            dateTime = workbook.createCellStyle();
+            dateTime.setDataFormat(workbook.createDataFormat().getFormat("dd/mm/yyyy hh:mm"));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+-- Trava de cada relatório recorrente, para que só uma instância o pré-calcule por execução
+CREATE TABLE report_schedule_locks (
+    name VARCHAR(100) PRIMARY KEY,
+    locked_until TIMESTAMP NOT NULL,
+    locked_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
+);
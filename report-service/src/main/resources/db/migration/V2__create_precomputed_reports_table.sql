@@ -0,0 +1,19 @@
+-- Índice dos relatórios recorrentes pré-calculados, compartilhado entre as instâncias.
+-- Os arquivos ficam em report.schedule.directory, que deve ser o mesmo volume em todas elas.
+CREATE TABLE precomputed_reports (
+    report_key VARCHAR(128) PRIMARY KEY,
+    definition VARCHAR(100) NOT NULL,
+    report_type VARCHAR(50) NOT NULL,
+    report_name VARCHAR(255) NOT NULL,
+    format VARCHAR(20) NOT NULL,
+    requested_format VARCHAR(20),
+    start_date DATE,
+    end_date DATE,
+    professional_id BIGINT,
+    file_name VARCHAR(255) NOT NULL,
+    stored_file VARCHAR(255) NOT NULL,
+    size BIGINT NOT NULL,
+    generated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_precomputed_reports_generated_at ON precomputed_reports(generated_at);
@@ -0,0 +1,196 @@
+package com.clinicsalon.report.analytics;
+
+import com.clinicsalon.report.client.AppointmentClient;
+import com.clinicsalon.report.client.AppointmentFactDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentFactStoreTest {
+
+    @Mock
+    private AppointmentClient appointmentClient;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private AppointmentFactStore store;
+
+    private static final Duration OVERLAP = Duration.ofSeconds(10);
+
+    private final LocalDateTime march = LocalDateTime.of(2024, 3, 10, 14, 0);
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    void aggregate_BeforeFirstLoad_Throws() {
+        // Arrange
+        store = newStore(100, 2);
+
+        // Act & Assert
+        assertFalse(store.isReady());
+        assertThrows(IllegalStateException.class, () -> store.aggregate(FactQuery.all(), FactGroupBy.NONE));
+    }
+
+    @Test
+    void refresh_ReadsAllPages_AndGroupsByService() {
+        // Arrange
+        store = newStore(2, 2);
+        AppointmentFactDto first = fact(1L, 10L, "COMPLETED", march, item(100L, "Corte", "50.00"), item(200L, "Escova", "30.00"));
+        AppointmentFactDto second = fact(2L, 11L, "COMPLETED", march.plusDays(1), item(100L, "Corte", "50.00"));
+        AppointmentFactDto third = fact(3L, 10L, "CANCELLED", march.plusDays(2), item(200L, "Escova", "30.00"));
+        when(appointmentClient.getFacts(isNull(), eq(0L), eq(2))).thenReturn(List.of(first, second));
+        when(appointmentClient.getFacts(eq(second.getUpdatedAt()), eq(2L), eq(2))).thenReturn(List.of(third));
+
+        // Act
+        store.refresh();
+        List<FactGroup> services = store.aggregate(
+                FactQuery.between(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)).revenueOnly(),
+                FactGroupBy.SERVICE);
+
+        // Assert
+        assertTrue(store.isReady());
+        assertEquals(4, store.getRowCount());
+        assertEquals(2, services.size());
+        assertEquals("Corte", services.get(0).label());
+        assertEquals(2, services.get(0).items());
+        assertEquals(new BigDecimal("100.00"), services.get(0).revenue());
+        assertEquals("Escova", services.get(1).label());
+        assertEquals(1, services.get(1).items());
+    }
+
+    @Test
+    void refresh_ChangedAppointment_ReplacesPreviousVersion() {
+        // Arrange
+        store = newStore(100, 2);
+        AppointmentFactDto scheduled = fact(1L, 10L, "SCHEDULED", march, item(100L, "Corte", "50.00"));
+        AppointmentFactDto other = fact(2L, 11L, "COMPLETED", march, item(100L, "Corte", "50.00"));
+        AppointmentFactDto cancelled = fact(1L, 10L, "CANCELLED", march, item(100L, "Corte", "50.00"));
+        cancelled.setUpdatedAt(other.getUpdatedAt().plusMinutes(5));
+        when(appointmentClient.getFacts(isNull(), eq(0L), anyInt())).thenReturn(List.of(scheduled, other));
+        when(appointmentClient.getFacts(eq(other.getUpdatedAt().minus(OVERLAP)), eq(0L), anyInt()))
+                .thenReturn(List.of(other, cancelled));
+        store.refresh();
+
+        // Act
+        store.refresh();
+
+        // Assert
+        FactGroup revenue = store.aggregate(FactQuery.all().revenueOnly(), FactGroupBy.NONE).get(0);
+        assertEquals(1, revenue.visits());
+        assertEquals(new BigDecimal("50.00"), revenue.revenue());
+        List<FactGroup> byStatus = store.aggregate(FactQuery.all().client(10L), FactGroupBy.STATUS);
+        assertEquals(List.of("CANCELLED"), byStatus.stream().map(FactGroup::label).toList());
+    }
+
+    @Test
+    void refresh_AppointmentCommittedBehindCursor_IsPickedUpByOverlap() {
+        // Arrange
+        store = newStore(100, 2);
+        AppointmentFactDto first = fact(1L, 10L, "COMPLETED", march, item(100L, "Corte", "50.00"));
+        AppointmentFactDto third = fact(3L, 12L, "COMPLETED", march, item(100L, "Corte", "40.00"));
+        // Gravado antes do agendamento 3, mas confirmado só depois da primeira leitura
+        AppointmentFactDto late = fact(2L, 11L, "COMPLETED", march, item(100L, "Corte", "30.00"));
+        when(appointmentClient.getFacts(isNull(), eq(0L), anyInt())).thenReturn(List.of(first, third));
+        when(appointmentClient.getFacts(eq(third.getUpdatedAt().minus(OVERLAP)), eq(0L), anyInt()))
+                .thenReturn(List.of(first, late, third))
+                .thenReturn(List.of(first, late, third));
+        store.refresh();
+
+        // Act
+        store.refresh();
+        store.refresh();
+
+        // Assert: o reaplicado não duplica e o cursor não recua
+        FactGroup revenue = store.aggregate(FactQuery.all().revenueOnly(), FactGroupBy.NONE).get(0);
+        assertEquals(3, revenue.visits());
+        assertEquals(new BigDecimal("120.00"), revenue.revenue());
+        verify(appointmentClient, times(2)).getFacts(eq(third.getUpdatedAt().minus(OVERLAP)), eq(0L), anyInt());
+    }
+
+    @Test
+    void aggregate_ParallelScan_MatchesSequentialTotals() {
+        // Arrange
+        store = newStore(1_000_000, 4);
+        Random random = new Random(42);
+        String[] statuses = {"SCHEDULED", "CONFIRMED", "COMPLETED", "CANCELLED", "NO_SHOW"};
+        List<AppointmentFactDto> facts = new ArrayList<>();
+        for (long id = 1; id <= 200_000; id++) {
+            facts.add(fact(id, (long) random.nextInt(5_000), statuses[random.nextInt(statuses.length)],
+                    march.minusDays(random.nextInt(120)).withHour(8 + random.nextInt(10)),
+                    item((long) random.nextInt(40), null, random.nextInt(20_000) / 100 + ".00")));
+            facts.get(facts.size() - 1).setProfessionalId((long) random.nextInt(30));
+        }
+        when(appointmentClient.getFacts(isNull(), eq(0L), anyInt())).thenReturn(facts);
+        store.refresh();
+        LocalDate start = LocalDate.of(2024, 1, 15);
+        LocalDate end = LocalDate.of(2024, 2, 29);
+
+        Map<Long, Long> expected = new TreeMap<>();
+        for (AppointmentFactDto fact : facts) {
+            LocalDate day = fact.getStartTime().toLocalDate();
+            boolean revenue = fact.getStatus().equals("COMPLETED");
+            if (revenue && !day.isBefore(start) && !day.isAfter(end)) {
+                long cents = fact.getServices().get(0).getPrice().movePointRight(2).longValueExact();
+                expected.merge(fact.getProfessionalId(), cents, Long::sum);
+            }
+        }
+
+        // Act
+        List<FactGroup> result = store.aggregate(FactQuery.between(start, end).revenueOnly(), FactGroupBy.PROFESSIONAL);
+
+        // Assert
+        Map<Long, Long> actual = new TreeMap<>();
+        result.forEach(group -> actual.put(group.key(), group.revenueCents()));
+        assertEquals(expected, actual);
+    }
+
+    private AppointmentFactStore newStore(int pageSize, int parallelism) {
+        return new AppointmentFactStore(appointmentClient, taskScheduler, true, pageSize,
+                Duration.ofMinutes(1), Duration.ofHours(6), OVERLAP, parallelism);
+    }
+
+    private AppointmentFactDto fact(Long id, Long clientId, String status, LocalDateTime start,
+                                    AppointmentFactDto.Item... items) {
+        return AppointmentFactDto.builder()
+                .appointmentId(id)
+                .clientId(clientId)
+                .professionalId(1L)
+                .startTime(start)
+                .status(status)
+                .updatedAt(LocalDateTime.of(2024, 4, 1, 0, 0).plusSeconds(id))
+                .services(List.of(items))
+                .build();
+    }
+
+    private AppointmentFactDto.Item item(Long serviceId, String serviceName, String price) {
+        return AppointmentFactDto.Item.builder()
+                .serviceId(serviceId)
+                .serviceName(serviceName)
+                .price(new BigDecimal(price))
+                .build();
+    }
+}
@@ -1,8 +1,11 @@
 package com.clinicsalon.report.controller;
 
+import com.clinicsalon.report.dto.ReportFormat;
 import com.clinicsalon.report.dto.ReportRequest;
 import com.clinicsalon.report.dto.ReportResponse;
 import com.clinicsalon.report.dto.ReportType;
+import com.clinicsalon.report.service.PreparedReport;
+import com.clinicsalon.report.service.RenderedReport;
 import com.clinicsalon.report.service.ReportService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,18 +15,33 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(ReportController.class)
+@WebMvcTest(controllers = ReportController.class,
+        properties = "clinicsalon.security.gateway.signing-key=test-signing-key")
 class ReportControllerTest {
     
     @Autowired
@@ -37,6 +55,7 @@ class ReportControllerTest {
     
     private ReportRequest reportRequest;
     private ReportResponse reportResponse;
+    private PreparedReport preparedReport;
     
     @BeforeEach
     void setUp() {
@@ -55,11 +74,13 @@ class ReportControllerTest {
                 .reportType(ReportType.CLIENT_APPOINTMENTS)
                 .reportName("Agendamentos do Cliente")
                 .contentType("application/pdf")
-                .reportContent("Relatório de Agendamentos do Cliente".getBytes())
+                .downloadUrl("/api/reports/1/content")
                 .generatedAt(LocalDateTime.now())
-                .status("COMPLETED")
-                .fileSize(36L)
+                .status("READY")
                 .build();
+        
+        preparedReport = new PreparedReport(ReportType.CLIENT_APPOINTMENTS, "Agendamentos do Cliente",
+                ReportFormat.PDF, "reports/client_appointments.jrxml", Map.of(), List.of(), LocalDateTime.now(), null);
     }
     
     @Test
@@ -75,21 +96,93 @@ class ReportControllerTest {
                 .andExpect(jsonPath("$.reportId").isNotEmpty())
                 .andExpect(jsonPath("$.reportType").value("CLIENT_APPOINTMENTS"))
                 .andExpect(jsonPath("$.reportName").value("Agendamentos do Cliente"))
-                .andExpect(jsonPath("$.status").value("COMPLETED"));
+                .andExpect(jsonPath("$.status").value("READY"))
+                .andExpect(jsonPath("$.downloadUrl").value("/api/reports/1/content"))
+                .andExpect(jsonPath("$.reportContent").doesNotExist());
     }
     
     @Test
     void downloadReport_Success() throws Exception {
         // Arrange
-        when(reportService.generateReport(any(ReportRequest.class))).thenReturn(reportResponse);
+        when(reportService.prepareReport(any(ReportRequest.class), isNull())).thenReturn(preparedReport);
+        Path file = Files.writeString(Files.createTempFile("report-test-", ".pdf"), "%PDF");
+        when(reportService.renderReport(preparedReport)).thenReturn(new RenderedReport(file, 4));
+        
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/reports/download")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(reportRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Content-Disposition"))
+                .andExpect(header().string("Content-Length", "4"))
+                .andExpect(header().string("Content-Type", "application/pdf"))
+                .andExpect(content().string("%PDF"));
+        assertFalse(Files.exists(file));
+    }
+    
+    @Test
+    void downloadReport_RenderingFails_NoPartialResponse() {
+        // Arrange
+        when(reportService.prepareReport(any(ReportRequest.class), isNull())).thenReturn(preparedReport);
+        when(reportService.renderReport(preparedReport)).thenThrow(new IllegalStateException("template inválido"));
+        
+        // Act & Assert
+        // A falha acontece antes de a resposta começar: nenhum corpo parcial é enviado com 200
+        Exception exception = assertThrows(Exception.class, () -> mockMvc.perform(post("/api/reports/download")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(reportRequest))));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+    
+    @Test
+    void downloadReport_MatchingETag_NotModified() throws Exception {
+        // Arrange
+        when(reportService.getCacheKey(any(ReportRequest.class))).thenReturn(Optional.of("abc123"));
         
         // Act & Assert
         mockMvc.perform(post("/api/reports/download")
+                .header("If-None-Match", "\"abc123\"")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(reportRequest)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc123\""));
+        verify(reportService, never()).prepareReport(any(ReportRequest.class), any());
+    }
+    
+    @Test
+    void downloadPreparedReport_IdFromAnotherInstance_PreparesRequestFromId() throws Exception {
+        // Arrange
+        when(reportService.findPreparedReport("signed-id")).thenReturn(Optional.empty());
+        when(reportService.resolveReportRequest("signed-id")).thenReturn(Optional.of(reportRequest));
+        when(reportService.prepareReport(any(ReportRequest.class), isNull())).thenReturn(preparedReport);
+        Path file = Files.writeString(Files.createTempFile("report-test-", ".pdf"), "%PDF");
+        when(reportService.renderReport(preparedReport)).thenReturn(new RenderedReport(file, 4));
+        
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/reports/signed-id/content"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(header().exists("Content-Disposition"))
-                .andExpect(header().string("Content-Type", "application/pdf"));
+                .andExpect(content().string("%PDF"));
+        verify(reportService).prepareReport(eq(reportRequest), isNull());
+    }
+    
+    @Test
+    void downloadPreparedReport_Expired_NotFound() throws Exception {
+        // Arrange
+        when(reportService.findPreparedReport("expired")).thenReturn(Optional.empty());
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/reports/expired/content"))
+                .andExpect(status().isNotFound());
     }
     
     @Test
@@ -98,14 +191,15 @@ class ReportControllerTest {
         String reportId = UUID.randomUUID().toString();
         ReportResponse statusResponse = ReportResponse.builder()
                 .reportId(reportId)
-                .status("COMPLETED")
+                .status("READY")
                 .build();
+        when(reportService.getReportStatus(reportId)).thenReturn(Optional.of(statusResponse));
                 
         // Act & Assert
         mockMvc.perform(get("/api/reports/" + reportId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.reportId").value(reportId))
-                .andExpect(jsonPath("$.status").value("COMPLETED"));
+                .andExpect(jsonPath("$.status").value("READY"));
     }
     
     @Test
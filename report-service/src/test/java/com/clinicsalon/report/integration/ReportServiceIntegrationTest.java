@@ -29,7 +29,7 @@ import static org.mockito.Mockito.when;
  * Teste de integração para verificar a comunicação entre o ReportService e outros microsserviços
  * através dos clientes Feign. Utiliza mocks para simular as respostas dos outros serviços.
  */
-@SpringBootTest
+@SpringBootTest(properties = "clinicsalon.security.gateway.signing-key=test-signing-key")
 @ActiveProfiles("test")
 public class ReportServiceIntegrationTest {
 
@@ -96,9 +96,8 @@ public class ReportServiceIntegrationTest {
         assertNotNull(response);
         assertEquals(ReportType.PROFESSIONAL_SCHEDULE, response.getReportType());
         assertEquals("Agenda do Profissional", response.getReportName());
-        assertEquals("COMPLETED", response.getStatus());
-        assertNotNull(response.getReportContent());
-        assertTrue(response.getReportContent().length > 0);
+        assertEquals("READY", response.getStatus());
+        assertNotNull(response.getDownloadUrl());
     }
 
     @Test
@@ -132,9 +131,8 @@ public class ReportServiceIntegrationTest {
         assertNotNull(response);
         assertEquals(ReportType.LOYALTY_POINTS_SUMMARY, response.getReportType());
         assertEquals("Resumo do Programa de Fidelidade", response.getReportName());
-        assertEquals("COMPLETED", response.getStatus());
-        assertNotNull(response.getReportContent());
-        assertTrue(response.getReportContent().length > 0);
+        assertEquals("READY", response.getStatus());
+        assertNotNull(response.getDownloadUrl());
     }
 
     @Test
@@ -186,8 +184,7 @@ public class ReportServiceIntegrationTest {
         assertNotNull(response);
         assertEquals(ReportType.REVENUE_SUMMARY, response.getReportType());
         assertEquals("Resumo de Receitas", response.getReportName());
-        assertEquals("COMPLETED", response.getStatus());
-        assertNotNull(response.getReportContent());
-        assertTrue(response.getReportContent().length > 0);
+        assertEquals("READY", response.getStatus());
+        assertNotNull(response.getDownloadUrl());
     }
 }
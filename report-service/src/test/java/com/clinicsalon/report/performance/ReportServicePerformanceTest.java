@@ -40,7 +40,7 @@ import static org.mockito.Mockito.when;
  * Simula alta carga no sistema e mede a capacidade de processamento sob estresse
  */
 @ExtendWith(SpringExtension.class)
-@SpringBootTest
+@SpringBootTest(properties = "clinicsalon.security.gateway.signing-key=test-signing-key")
 @ActiveProfiles("test")
 @Tag("performance")
 public class ReportServicePerformanceTest {
@@ -171,7 +171,7 @@ public class ReportServicePerformanceTest {
                     ReportResponse response = reportService.generateReport(request);
                     
                     // Verificar resultado
-                    if (response != null && "COMPLETED".equals(response.getStatus())) {
+                    if (response != null && "READY".equals(response.getStatus())) {
                         successCount.incrementAndGet();
                     } else {
                         failureCount.incrementAndGet();
@@ -262,7 +262,7 @@ public class ReportServicePerformanceTest {
                     ReportResponse response = reportService.generateReport(request);
                     
                     // Verificar resultado
-                    if (response != null && "COMPLETED".equals(response.getStatus())) {
+                    if (response != null && "READY".equals(response.getStatus())) {
                         successCount.incrementAndGet();
                     } else {
                         failureCount.incrementAndGet();
@@ -354,7 +354,7 @@ public class ReportServicePerformanceTest {
                     ReportResponse response = reportService.generateReport(request);
                     
                     // Verificar resultado
-                    if (response != null && "COMPLETED".equals(response.getStatus())) {
+                    if (response != null && "READY".equals(response.getStatus())) {
                         successCount.incrementAndGet();
                     } else {
                         failureCount.incrementAndGet();
@@ -471,7 +471,7 @@ public class ReportServicePerformanceTest {
                     ReportResponse response = reportService.generateReport(request);
                     
                     // Verificar resultado
-                    if (response != null && "COMPLETED".equals(response.getStatus())) {
+                    if (response != null && "READY".equals(response.getStatus())) {
                         successCount.incrementAndGet();
                     } else {
                         failureCount.incrementAndGet();
@@ -607,7 +607,7 @@ public class ReportServicePerformanceTest {
                     
                     // Verificar resultado
                     if (response != null) {
-                        if ("COMPLETED".equals(response.getStatus())) {
+                        if ("READY".equals(response.getStatus())) {
                             successCount.incrementAndGet();
                         } else if ("PARTIAL".equals(response.getStatus())) {
                             // Relatório foi gerado parcialmente (recuperação de falha)
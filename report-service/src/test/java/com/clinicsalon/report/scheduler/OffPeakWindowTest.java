@@ -0,0 +1,46 @@
+package com.clinicsalon.report.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffPeakWindowTest {
+
+    @Test
+    void contains_WindowAcrossMidnight() {
+        // Arrange
+        OffPeakWindow window = new OffPeakWindow(LocalTime.of(22, 0), LocalTime.of(5, 0));
+
+        // Act & Assert
+        assertTrue(window.contains(LocalTime.of(23, 30)));
+        assertTrue(window.contains(LocalTime.of(2, 0)));
+        assertFalse(window.contains(LocalTime.of(5, 0)));
+        assertFalse(window.contains(LocalTime.of(12, 0)));
+    }
+
+    @Test
+    void nextStart_AfterTodaysStart_ReturnsTomorrow() {
+        // Arrange
+        OffPeakWindow window = new OffPeakWindow(LocalTime.of(1, 0), LocalTime.of(6, 0));
+        LocalDate today = LocalDate.of(2024, 3, 1);
+
+        // Act & Assert
+        assertEquals(today.atTime(1, 0), window.nextStart(today.atTime(0, 30)));
+        assertEquals(today.plusDays(1).atTime(1, 0), window.nextStart(today.atTime(8, 0)));
+    }
+
+    @Test
+    void previousMonth_CoversWholeMonth() {
+        // Arrange
+        LocalDate today = LocalDate.of(2024, 3, 1);
+
+        // Act & Assert
+        assertEquals(LocalDate.of(2024, 2, 1), ReportPeriod.PREVIOUS_MONTH.startDate(today));
+        assertEquals(LocalDate.of(2024, 2, 29), ReportPeriod.PREVIOUS_MONTH.endDate(today));
+        assertEquals(LocalDate.of(2024, 2, 19), ReportPeriod.PREVIOUS_WEEK.startDate(today));
+        assertEquals(LocalDate.of(2024, 2, 25), ReportPeriod.PREVIOUS_WEEK.endDate(today));
+    }
+}
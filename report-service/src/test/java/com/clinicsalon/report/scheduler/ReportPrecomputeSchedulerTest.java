@@ -0,0 +1,135 @@
+package com.clinicsalon.report.scheduler;
+
+import com.clinicsalon.report.dto.ReportRequest;
+import com.clinicsalon.report.dto.ReportType;
+import com.clinicsalon.report.service.PrecomputedReport;
+import com.clinicsalon.report.service.PrecomputedReportStore;
+import com.clinicsalon.report.service.ProfessionalDataService;
+import com.clinicsalon.report.service.ReportPrecomputeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportPrecomputeSchedulerTest {
+
+    @Mock
+    private ReportPrecomputeService precomputeService;
+
+    @Mock
+    private PrecomputedReportStore precomputedReports;
+
+    @Mock
+    private ProfessionalDataService professionalDataService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ReportScheduleLock lock;
+
+    private ReportScheduleProperties properties;
+
+    private ReportPrecomputeScheduler scheduler;
+
+    private ReportScheduleProperties.Definition definition;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReportScheduleProperties();
+        // Janela que cobre o dia inteiro
+        properties.setOffPeakStart(LocalTime.MIDNIGHT);
+        properties.setOffPeakEnd(LocalTime.MIDNIGHT);
+        properties.setMaxConcurrent(1);
+        scheduler = new ReportPrecomputeScheduler(properties, precomputeService, precomputedReports, professionalDataService,
+                taskScheduler, lock);
+
+        definition = new ReportScheduleProperties.Definition();
+        definition.setName("monthly-revenue-summary");
+        definition.setCron("0 0 1 1 * *");
+        definition.setReportType(ReportType.REVENUE_SUMMARY);
+        definition.setPeriod(ReportPeriod.PREVIOUS_MONTH);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void trigger_LockedByAnotherInstance_SkipsRun() {
+        // Arrange
+        when(lock.tryLock("monthly-revenue-summary")).thenReturn(Optional.empty());
+
+        // Act
+        scheduler.trigger(definition);
+        scheduler.trigger(definition);
+
+        // Assert
+        verify(lock, times(2)).tryLock("monthly-revenue-summary");
+        verifyNoInteractions(precomputeService);
+        verify(lock, never()).release(any());
+    }
+
+    @Test
+    void trigger_LockAcquired_PrecomputesAndReleasesLock() {
+        // Arrange
+        ReportScheduleLock.Lease lease = new ReportScheduleLock.Lease("monthly-revenue-summary", LocalDateTime.now());
+        when(lock.tryLock("monthly-revenue-summary")).thenReturn(Optional.of(lease));
+
+        // Act
+        scheduler.trigger(definition);
+
+        // Assert
+        verify(precomputeService, timeout(5000)).precompute(eq("monthly-revenue-summary"), any(ReportRequest.class));
+        verify(lock, timeout(5000)).release(lease);
+    }
+
+    @Test
+    void scheduleDefinitions_PeriodAlreadyInSharedCatalog_DoesNotRunAgainOnStartup() {
+        // Arrange
+        properties.getDefinitions().add(definition);
+        ReportRequest request = ReportRequest.builder()
+                .reportType(ReportType.REVENUE_SUMMARY)
+                .startDate(ReportPeriod.PREVIOUS_MONTH.startDate(LocalDate.now()))
+                .endDate(ReportPeriod.PREVIOUS_MONTH.endDate(LocalDate.now()))
+                .build();
+        when(precomputedReports.getCatalog()).thenReturn(List.of(
+                new PrecomputedReport("monthly-revenue-summary", request, null)));
+
+        // Act
+        scheduler.scheduleDefinitions();
+
+        // Assert
+        verify(taskScheduler).schedule(any(Runnable.class), any(CronTrigger.class));
+        verifyNoInteractions(lock, precomputeService);
+    }
+
+    @Test
+    void scheduleDefinitions_PeriodMissingFromCatalog_RunsOnStartup() {
+        // Arrange
+        properties.getDefinitions().add(definition);
+        when(precomputedReports.getCatalog()).thenReturn(List.of());
+        when(lock.tryLock("monthly-revenue-summary")).thenReturn(Optional.empty());
+
+        // Act
+        scheduler.scheduleDefinitions();
+
+        // Assert
+        verify(lock).tryLock("monthly-revenue-summary");
+    }
+}
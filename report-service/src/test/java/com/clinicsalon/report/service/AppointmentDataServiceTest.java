@@ -0,0 +1,135 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.report.analytics.AppointmentFactStore;
+import com.clinicsalon.report.analytics.FactGroup;
+import com.clinicsalon.report.analytics.FactGroupBy;
+import com.clinicsalon.report.analytics.FactQuery;
+import com.clinicsalon.report.client.AppointmentClient;
+import com.clinicsalon.report.client.ClientVisitStatsDto;
+import com.clinicsalon.report.client.ProfessionalStatsDto;
+import com.clinicsalon.report.client.RevenueSummaryDto;
+import com.clinicsalon.report.client.ServiceStatsDto;
+import com.clinicsalon.report.row.ClientVisitStatsRow;
+import com.clinicsalon.report.row.RevenueSummaryRow;
+import com.clinicsalon.report.row.ServiceRevenueRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentDataServiceTest {
+
+    @Mock
+    private AppointmentClient appointmentClient;
+
+    @Mock
+    private AppointmentFactStore factStore;
+
+    @InjectMocks
+    private AppointmentDataService appointmentDataService;
+
+    private final LocalDate startDate = LocalDate.of(2024, 3, 1);
+    private final LocalDate endDate = LocalDate.of(2024, 3, 31);
+
+    @Test
+    void getRevenueSummary_MapsAggregateFromAppointmentService() {
+        // Arrange
+        when(appointmentClient.getRevenueSummary(startDate, endDate)).thenReturn(RevenueSummaryDto.builder()
+                .appointmentsCount(125L)
+                .totalRevenue(new BigDecimal("8750.00"))
+                .averageTicket(new BigDecimal("70.00"))
+                .mostPopularService("Corte de Cabelo")
+                .mostRevenueService("Coloração")
+                .build());
+
+        // Act
+        RevenueSummaryRow result = appointmentDataService.getRevenueSummary(startDate, endDate);
+
+        // Assert
+        assertEquals(new RevenueSummaryRow(8750.0, 125, 70.0, "Corte de Cabelo", "Coloração"), result);
+    }
+
+    @Test
+    void getRevenueSummary_FallbackResponse_ReturnsEmptySummary() {
+        // Arrange
+        when(appointmentClient.getRevenueSummary(startDate, endDate)).thenReturn(null);
+
+        // Act
+        RevenueSummaryRow result = appointmentDataService.getRevenueSummary(startDate, endDate);
+
+        // Assert
+        assertEquals(RevenueSummaryRow.empty(), result);
+    }
+
+    @Test
+    void getServiceRevenueBreakdown_UsesRevenueShare() {
+        // Arrange
+        when(appointmentClient.getServiceRevenueBreakdown(startDate, endDate)).thenReturn(List.of(
+                ServiceStatsDto.builder()
+                        .serviceName("Coloração")
+                        .count(30L)
+                        .countPercentage(24.0)
+                        .revenue(new BigDecimal("3000.00"))
+                        .revenuePercentage(34.29)
+                        .build()));
+
+        // Act
+        List<ServiceRevenueRow> result = appointmentDataService.getServiceRevenueBreakdown(startDate, endDate);
+
+        // Assert
+        assertEquals(List.of(new ServiceRevenueRow("Coloração", 30, 34.29, 3000.0)), result);
+    }
+
+    @Test
+    void getClientVisitStats_KeepsProfessionalOrder() {
+        // Arrange
+        when(appointmentClient.getClientVisitStats(1L)).thenReturn(ClientVisitStatsDto.builder()
+                .clientId(1L)
+                .totalAppointments(12L)
+                .totalSpent(new BigDecimal("640.00"))
+                .services(List.of(ServiceStatsDto.builder().serviceName("Corte").count(8L)
+                        .revenue(new BigDecimal("400.00")).build()))
+                .favoriteProfessionals(List.of(
+                        ProfessionalStatsDto.builder().professionalId(7L).count(9L).build(),
+                        ProfessionalStatsDto.builder().professionalId(2L).count(3L).build()))
+                .build());
+
+        // Act
+        ClientVisitStatsRow result = appointmentDataService.getClientVisitStats(1L);
+
+        // Assert
+        assertEquals(12, result.totalAppointments());
+        assertEquals("Corte", result.services().get(0).serviceName());
+        assertEquals(8, result.services().get(0).serviceCount());
+        assertEquals(List.of(7L, 2L), List.copyOf(result.professionalVisits().keySet()));
+        verify(appointmentClient, never()).getAppointmentsByClientId(any(), any(), any());
+    }
+
+    @Test
+    void getServiceRevenueBreakdown_StoreReady_AggregatesLocally() {
+        // Arrange
+        when(factStore.isReady()).thenReturn(true);
+        when(factStore.aggregate(FactQuery.between(startDate, endDate).revenueOnly(), FactGroupBy.SERVICE))
+                .thenReturn(List.of(
+                        new FactGroup(1L, "Corte", 3, 3, 15000, 0, 0),
+                        new FactGroup(2L, "Coloração", 1, 1, 35000, 0, 0)));
+
+        // Act
+        List<ServiceRevenueRow> result = appointmentDataService.getServiceRevenueBreakdown(startDate, endDate);
+
+        // Assert
+        assertEquals(List.of(
+                new ServiceRevenueRow("Coloração", 1, 70.0, 350.0),
+                new ServiceRevenueRow("Corte", 3, 30.0, 150.0)), result);
+        verifyNoInteractions(appointmentClient);
+    }
+}
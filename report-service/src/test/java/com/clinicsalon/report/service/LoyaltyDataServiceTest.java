@@ -1,13 +1,17 @@
 package com.clinicsalon.report.service;
 
+import com.clinicsalon.loyalty.client.LoyaltySummaryResponse;
 import com.clinicsalon.report.client.LoyaltyClient;
 import com.clinicsalon.report.client.LoyaltyPointsDto;
+import com.clinicsalon.report.row.LoyaltySummaryRow;
+import com.clinicsalon.report.row.LoyaltyTierRow;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -22,6 +26,9 @@ class LoyaltyDataServiceTest {
     @Mock
     private LoyaltyClient loyaltyClient;
     
+    @Mock
+    private com.clinicsalon.loyalty.client.LoyaltyClient loyaltySummaryClient;
+    
     @Mock
     private ClientDataService clientDataService;
 
@@ -165,6 +172,38 @@ class LoyaltyDataServiceTest {
         verify(loyaltyClient, times(1)).getAllClientsTotalPoints();
     }
 
+    @Test
+    void getLoyaltyPointsSummary_UsesTierAggregate() {
+        // Arrange
+        LoyaltySummaryResponse response = LoyaltySummaryResponse.builder()
+                .totalAccounts(3)
+                .activePoints(900)
+                .pointsIssued(1500)
+                .pointsRedeemed(600)
+                .tiers(List.of(
+                        LoyaltySummaryResponse.TierSummary.builder().tier("BRONZE").accountCount(2).activePoints(300).build(),
+                        LoyaltySummaryResponse.TierSummary.builder().tier("GOLD").accountCount(1).activePoints(600).build()))
+                .build();
+        when(loyaltySummaryClient.getLoyaltySummary()).thenReturn(ResponseEntity.ok(response));
+
+        // Act
+        LoyaltySummaryRow result = loyaltyDataService.getLoyaltyPointsSummary();
+
+        // Assert
+        assertEquals(3, result.totalActiveAccounts());
+        assertEquals(1500, result.totalPointsIssued());
+        assertEquals(600, result.totalPointsRedeemed());
+        assertEquals(900, result.activePoints());
+        
+        assertEquals(2, result.accountsByTier().get("BRONZE"));
+        assertEquals(1, result.accountsByTier().get("GOLD"));
+        assertEquals(List.of("BRONZE", "GOLD"), result.tierDistribution().stream().map(LoyaltyTierRow::tier).toList());
+        assertEquals(600, result.tierDistribution().get(1).activePoints());
+        
+        verify(loyaltySummaryClient, times(1)).getLoyaltySummary();
+        verifyNoInteractions(loyaltyClient, clientDataService);
+    }
+
     @Test
     void determineTier_Bronze() {
         assertEquals("BRONZE", loyaltyDataService.determineTier(50));
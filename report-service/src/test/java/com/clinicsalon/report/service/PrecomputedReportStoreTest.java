@@ -0,0 +1,161 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.report.dto.ReportFormat;
+import com.clinicsalon.report.dto.ReportRequest;
+import com.clinicsalon.report.dto.ReportType;
+import com.clinicsalon.report.scheduler.ReportScheduleProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class PrecomputedReportStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private PrecomputedReportIndex index;
+
+    private final Map<String, PrecomputedReport> rows = new HashMap<>();
+
+    private ReportScheduleProperties properties;
+
+    private PrecomputedReportStore store;
+
+    @BeforeEach
+    void setUp() {
+        // Índice compartilhado em memória, com a mesma semântica da tabela precomputed_reports
+        lenient().when(index.put(any())).thenAnswer(invocation -> {
+            PrecomputedReport entry = invocation.getArgument(0);
+            rows.put(entry.report().key(), entry);
+            return true;
+        });
+        lenient().when(index.get(anyString())).thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+        lenient().when(index.findAll()).thenAnswer(invocation -> rows.values().stream()
+                .sorted(Comparator.comparing((PrecomputedReport entry) -> entry.report().generatedAt()).reversed())
+                .toList());
+        lenient().when(index.remove(any())).thenAnswer(invocation -> {
+            CachedReport report = invocation.getArgument(0);
+            PrecomputedReport current = rows.get(report.key());
+            return current != null && current.report().generatedAt().equals(report.generatedAt())
+                    && rows.remove(report.key()) != null;
+        });
+
+        properties = new ReportScheduleProperties();
+        properties.setDirectory(directory.toString());
+        store = new PrecomputedReportStore(properties, index);
+    }
+
+    @Test
+    void find_PeriodClosedWhenGenerated_ReturnsReport() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        ReportRequest request = request(today.minusDays(7), today.minusDays(1));
+        precompute(store, request, LocalDateTime.now());
+
+        // Act & Assert
+        assertTrue(store.find(request).isPresent());
+    }
+
+    @Test
+    void find_PeriodInProgressWhenGenerated_ReturnsEmpty_ButKeepsCatalogEntry() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        ReportRequest request = request(today.withDayOfMonth(1), today.plusMonths(1).withDayOfMonth(1).minusDays(1));
+        precompute(store, request, LocalDateTime.now());
+
+        // Act & Assert
+        assertTrue(store.find(request).isEmpty());
+        assertEquals(1, store.getCatalog().size());
+    }
+
+    @Test
+    void find_ReportPrecomputedByAnotherInstance_IsServedFromSharedIndex() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        ReportRequest request = request(today.minusDays(7), today.minusDays(1));
+        precompute(store, request, LocalDateTime.now());
+
+        // Act: outra réplica, ou esta mesma depois de reiniciar
+        PrecomputedReportStore otherInstance = new PrecomputedReportStore(properties, index);
+
+        // Assert
+        assertTrue(otherInstance.find(request).isPresent());
+        assertEquals(1, otherInstance.getCatalog().size());
+    }
+
+    @Test
+    void save_NewGeneration_ReplacesPreviousFile() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        ReportRequest request = request(today.minusDays(7), today.minusDays(1));
+        CachedReport previous = precompute(store, request, LocalDateTime.now().minusDays(1));
+
+        // Act
+        CachedReport current = precompute(store, request, LocalDateTime.now());
+
+        // Assert
+        assertFalse(Files.exists(previous.file()));
+        assertTrue(Files.exists(current.file()));
+        assertEquals(List.of(current.file()), store.getCatalog().stream().map(entry -> entry.report().file()).toList());
+    }
+
+    @Test
+    void getCatalog_ExpiredReport_IsRemovedWithItsFile() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        ReportRequest request = request(today.minusMonths(3), today.minusMonths(2));
+        CachedReport expired = precompute(store, request, LocalDateTime.now().minus(properties.getRetention()).minusDays(1));
+
+        // Act
+        List<PrecomputedReport> catalog = store.getCatalog();
+
+        // Assert
+        assertTrue(catalog.isEmpty());
+        assertTrue(rows.isEmpty());
+        assertFalse(Files.exists(expired.file()));
+    }
+
+    private ReportRequest request(LocalDate startDate, LocalDate endDate) {
+        return ReportRequest.builder()
+                .reportType(ReportType.REVENUE_SUMMARY)
+                .startDate(startDate)
+                .endDate(endDate)
+                .format("PDF")
+                .build();
+    }
+
+    private CachedReport precompute(PrecomputedReportStore target, ReportRequest request, LocalDateTime generatedAt) {
+        String key = PrecomputedReportStore.keyOf(request);
+        PreparedReport report = new PreparedReport(ReportType.REVENUE_SUMMARY, "Resumo de Faturamento",
+                ReportFormat.PDF, "reports/revenue.jrxml", Map.of(), List.of(), generatedAt, key);
+        return target.save("monthly-revenue-summary", request, report, output -> {
+            try {
+                output.write("%PDF".getBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).orElseThrow();
+    }
+}
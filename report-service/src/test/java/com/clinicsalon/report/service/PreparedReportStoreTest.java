@@ -0,0 +1,113 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.report.dto.ReportRequest;
+import com.clinicsalon.report.dto.ReportType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreparedReportStoreTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-03-01T10:00:00Z"));
+
+    private final ReportRequest request = ReportRequest.builder()
+            .reportType(ReportType.CLIENT_APPOINTMENTS)
+            .startDate(LocalDate.of(2024, 2, 1))
+            .endDate(LocalDate.of(2024, 2, 29))
+            .clientId(7L)
+            .format("CSV")
+            .additionalParams(Map.of("note", "a.b/c"))
+            .build();
+
+    @Test
+    void resolve_IdIssuedByAnotherInstance_ReturnsRequest() {
+        // Arrange
+        PreparedReportStore issuer = store("shared-key");
+        PreparedReportStore otherInstance = store("shared-key");
+        String reportId = issuer.issue(request, LocalDateTime.now(clock));
+
+        // Act
+        PreparedReportStore.IssuedRequest issued = otherInstance.resolve(reportId).orElseThrow();
+
+        // Assert
+        assertEquals(request, issued.request());
+        assertEquals(LocalDateTime.now(clock), issued.issuedAt());
+        assertTrue(otherInstance.get(reportId).isEmpty());
+    }
+
+    @Test
+    void resolve_TamperedId_ReturnsEmpty() {
+        // Arrange
+        PreparedReportStore store = store("shared-key");
+        String reportId = store.issue(request, LocalDateTime.now(clock));
+        ReportRequest forged = ReportRequest.builder()
+                .reportType(request.getReportType())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .clientId(8L)
+                .format(request.getFormat())
+                .build();
+        String forgedPayload = store.issue(forged, LocalDateTime.now(clock)).split("\\.")[0];
+
+        // Act & Assert
+        assertTrue(store.resolve(forgedPayload + "." + reportId.split("\\.")[1]).isEmpty());
+        assertTrue(store("other-key").resolve(reportId).isEmpty());
+        assertTrue(store.resolve("not-a-handle").isEmpty());
+    }
+
+    @Test
+    void resolve_ExpiredId_ReturnsEmpty() {
+        // Arrange
+        PreparedReportStore store = store("shared-key");
+        String reportId = store.issue(request, LocalDateTime.now(clock));
+
+        // Act
+        clock.advance(Duration.ofMinutes(11));
+
+        // Assert
+        assertTrue(store.resolve(reportId).isEmpty());
+    }
+
+    private PreparedReportStore store(String signingKey) {
+        return new PreparedReportStore(Duration.ofMinutes(10), 10, signingKey,
+                new ObjectMapper().findAndRegisterModules(), clock);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
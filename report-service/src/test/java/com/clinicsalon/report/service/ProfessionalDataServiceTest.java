@@ -1,5 +1,7 @@
 package com.clinicsalon.report.service;
 
+import com.clinicsalon.professional.client.ProfessionalResponse;
+import com.clinicsalon.professional.client.ProfessionalRosterReplica;
 import com.clinicsalon.report.client.ProfessionalClient;
 import com.clinicsalon.report.client.ProfessionalDto;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +19,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +28,9 @@ class ProfessionalDataServiceTest {
     @Mock
     private ProfessionalClient professionalClient;
 
+    @Mock
+    private ProfessionalRosterReplica professionalRoster;
+
     @InjectMocks
     private ProfessionalDataService professionalDataService;
 
@@ -127,6 +133,20 @@ class ProfessionalDataServiceTest {
         verify(professionalClient, times(1)).getProfessionalName(professionalId);
     }
 
+    @Test
+    void getProfessionalName_InReplica_DoesNotCallService() {
+        // Arrange
+        when(professionalRoster.findById(professionalId)).thenReturn(Optional.of(
+                ProfessionalResponse.builder().id(professionalId).name("João Silva").build()));
+
+        // Act
+        String result = professionalDataService.getProfessionalName(professionalId);
+
+        // Assert
+        assertEquals("João Silva", result);
+        verify(professionalClient, never()).getProfessionalName(anyLong());
+    }
+
     @Test
     void getProfessionalsBySpecialization_Success() {
         // Arrange
@@ -0,0 +1,122 @@
+package com.clinicsalon.report.service;
+
+import com.clinicsalon.report.dto.ReportFormat;
+import com.clinicsalon.report.dto.ReportType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportResultCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private ReportResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReportResultCache(true, directory.toString(), DataSize.ofBytes(10), Duration.ofHours(1));
+    }
+
+    @Test
+    void commit_StoresFileWhileStreamingResponse() throws IOException {
+        // Arrange
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        // Act
+        write("a", "1234", response);
+
+        // Assert
+        assertEquals("1234", response.toString());
+        CachedReport cached = cache.get("a").orElseThrow();
+        assertEquals("1234", Files.readString(cached.file()));
+        assertEquals(4, cached.size());
+        assertEquals(4, cache.getTotalSize());
+    }
+
+    @Test
+    void commit_OverSizeLimit_EvictsLeastRecentlyUsed() throws IOException {
+        // Arrange
+        write("a", "1234", new ByteArrayOutputStream());
+        write("b", "5678", new ByteArrayOutputStream());
+        cache.get("a");
+
+        // Act
+        write("c", "9012", new ByteArrayOutputStream());
+
+        // Assert
+        assertTrue(cache.get("a").isPresent());
+        assertTrue(cache.get("b").isEmpty());
+        assertTrue(cache.get("c").isPresent());
+        assertEquals(8, cache.getTotalSize());
+        assertFalse(Files.exists(directory.resolve("report-b.pdf")));
+    }
+
+    @Test
+    void close_WithoutCommit_DiscardsFile() throws IOException {
+        // Arrange
+        PreparedReport report = report("a");
+
+        // Act
+        try (ReportResultCache.Entry entry = cache.newEntry(report)) {
+            entry.tee(new ByteArrayOutputStream()).write("12".getBytes());
+        }
+
+        // Assert
+        assertTrue(cache.get("a").isEmpty());
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(ReportResultCache.MARKER), files.map(file -> file.getFileName().toString()).toList());
+        }
+    }
+
+    @Test
+    void constructor_MarkedDirectory_DeletesOnlyCacheFiles() throws IOException {
+        // Arrange
+        write("a", "1234", new ByteArrayOutputStream());
+        Path other = Files.writeString(directory.resolve("notas.txt"), "não é do cache");
+
+        // Act
+        new ReportResultCache(true, directory.toString(), DataSize.ofBytes(10), Duration.ofHours(1));
+
+        // Assert
+        assertFalse(Files.exists(directory.resolve("report-a.pdf")));
+        assertTrue(Files.exists(other));
+        assertTrue(Files.exists(directory.resolve(ReportResultCache.MARKER)));
+    }
+
+    @Test
+    void constructor_NonEmptyDirectoryWithoutMarker_IsRefused(@TempDir Path foreign) throws IOException {
+        // Arrange
+        Path file = Files.writeString(foreign.resolve("dados.csv"), "1;2;3");
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> new ReportResultCache(true, foreign.toString(), DataSize.ofBytes(10), Duration.ofHours(1)));
+        assertTrue(Files.exists(file));
+    }
+
+    private void write(String key, String content, OutputStream response) throws IOException {
+        try (ReportResultCache.Entry entry = cache.newEntry(report(key))) {
+            entry.tee(response).write(content.getBytes());
+            entry.commit();
+        }
+    }
+
+    private PreparedReport report(String key) {
+        return new PreparedReport(ReportType.REVENUE_SUMMARY, "Resumo de Receitas", ReportFormat.PDF,
+                "reports/revenue_summary.jrxml", Map.of(), List.of(), LocalDateTime.now(), key);
+    }
+}
@@ -1,18 +1,27 @@
 package com.clinicsalon.report.service;
 
+import com.clinicsalon.report.dto.ReportFormat;
 import com.clinicsalon.report.dto.ReportRequest;
 import com.clinicsalon.report.dto.ReportResponse;
 import com.clinicsalon.report.dto.ReportType;
+import com.clinicsalon.report.row.LoyaltySummaryRow;
+import com.clinicsalon.report.row.RevenueSummaryRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,6 +38,19 @@ class ReportServiceTest {
     @Mock
     private LoyaltyDataService loyaltyDataService;
     
+    @Spy
+    private PreparedReportStore preparedReportStore = new PreparedReportStore(Duration.ofMinutes(10), 100,
+            "test-signing-key", new ObjectMapper().findAndRegisterModules());
+    
+    @Mock
+    private ReportResultCache resultCache;
+    
+    @Mock
+    private ReportDataVersionService dataVersionService;
+    
+    @Mock
+    private PrecomputedReportStore precomputedReports;
+    
     @InjectMocks
     private ReportService reportService;
     
@@ -90,8 +112,8 @@ class ReportServiceTest {
         assertEquals("application/pdf", response.getContentType());
         assertNotNull(response.getReportId());
         assertNotNull(response.getGeneratedAt());
-        assertEquals("COMPLETED", response.getStatus());
-        assertTrue(response.getFileSize() > 0);
+        assertEquals("READY", response.getStatus());
+        assertEquals("/api/reports/" + response.getReportId() + "/content", response.getDownloadUrl());
     }
     
     @Test
@@ -106,12 +128,16 @@ class ReportServiceTest {
         assertEquals("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", response.getContentType());
         assertNotNull(response.getReportId());
         assertNotNull(response.getGeneratedAt());
-        assertEquals("COMPLETED", response.getStatus());
-        assertTrue(response.getFileSize() > 0);
+        assertEquals("READY", response.getStatus());
+        assertEquals("/api/reports/" + response.getReportId() + "/content", response.getDownloadUrl());
     }
     
     @Test
     void generateRevenueSummaryReport_Success() {
+        // Arrange
+        when(appointmentDataService.getRevenueSummary(any(), any()))
+                .thenReturn(new RevenueSummaryRow(8750.0, 125, 70.0, "Corte de Cabelo", "Coloração"));
+        
         // Act
         ReportResponse response = reportService.generateReport(revenueSummaryRequest);
         
@@ -122,12 +148,15 @@ class ReportServiceTest {
         assertEquals("application/pdf", response.getContentType());
         assertNotNull(response.getReportId());
         assertNotNull(response.getGeneratedAt());
-        assertEquals("COMPLETED", response.getStatus());
-        assertTrue(response.getFileSize() > 0);
+        assertEquals("READY", response.getStatus());
+        assertEquals("/api/reports/" + response.getReportId() + "/content", response.getDownloadUrl());
     }
     
     @Test
     void generateLoyaltyPointsSummaryReport_Success() {
+        // Arrange
+        when(loyaltyDataService.getLoyaltyPointsSummary()).thenReturn(LoyaltySummaryRow.empty());
+        
         // Act
         ReportResponse response = reportService.generateReport(loyaltyPointsSummaryRequest);
         
@@ -138,8 +167,8 @@ class ReportServiceTest {
         assertEquals("text/csv", response.getContentType());
         assertNotNull(response.getReportId());
         assertNotNull(response.getGeneratedAt());
-        assertEquals("COMPLETED", response.getStatus());
-        assertTrue(response.getFileSize() > 0);
+        assertEquals("READY", response.getStatus());
+        assertEquals("/api/reports/" + response.getReportId() + "/content", response.getDownloadUrl());
     }
     
     @Test
@@ -177,4 +206,59 @@ class ReportServiceTest {
         // Assert
         assertEquals("application/pdf", response.getContentType());
     }
+    
+    @Test
+    void generateReport_CachedResult_SkipsDataCollection() {
+        // Arrange
+        String dataVersion = "appointments=10-12-2024-03-01T10:00;";
+        String cacheKey = ReportCacheKey.of(revenueSummaryRequest, dataVersion);
+        CachedReport cached = new CachedReport(cacheKey, ReportType.REVENUE_SUMMARY, "Resumo de Receitas",
+                ReportFormat.PDF, "Resumo_de_Receitas.pdf", Path.of(cacheKey + ".pdf"), 1024, LocalDateTime.now());
+        when(resultCache.isEnabled()).thenReturn(true);
+        when(resultCache.get(cacheKey)).thenReturn(Optional.of(cached));
+        when(dataVersionService.getDataVersion(ReportType.REVENUE_SUMMARY)).thenReturn(Optional.of(dataVersion));
+        
+        // Act
+        ReportResponse response = reportService.generateReport(revenueSummaryRequest);
+        
+        // Assert: o ID leva a requisição, para que outra instância atenda o download pelo cache dela
+        assertEquals("READY", response.getStatus());
+        assertEquals("/api/reports/" + response.getReportId() + "/content", response.getDownloadUrl());
+        assertEquals(Optional.of(revenueSummaryRequest), reportService.resolveReportRequest(response.getReportId()));
+        verifyNoInteractions(appointmentDataService);
+    }
+    
+    @Test
+    void generateReport_PrecomputedResult_SkipsUpstreamServices() {
+        // Arrange
+        String key = PrecomputedReportStore.keyOf(revenueSummaryRequest);
+        CachedReport precomputed = new CachedReport(key, ReportType.REVENUE_SUMMARY, "Resumo de Receitas",
+                ReportFormat.PDF, "Resumo_de_Receitas.pdf", Path.of(key + ".pdf"), 2048, LocalDateTime.now());
+        when(precomputedReports.find(revenueSummaryRequest)).thenReturn(Optional.of(precomputed));
+        when(precomputedReports.getRetention()).thenReturn(Duration.ofDays(40));
+        
+        // Act
+        ReportResponse response = reportService.generateReport(revenueSummaryRequest);
+        
+        // Assert
+        assertEquals(key, response.getReportId());
+        assertEquals(precomputed.generatedAt().plusDays(40), response.getExpiresAt());
+        verifyNoInteractions(dataVersionService, appointmentDataService, resultCache);
+    }
+    
+    @Test
+    void generateReport_PreparedReport_IdResolvesOnAnotherInstance() {
+        // Arrange
+        when(loyaltyDataService.getLoyaltyPointsSummary()).thenReturn(LoyaltySummaryRow.empty());
+        PreparedReportStore otherInstance = new PreparedReportStore(Duration.ofMinutes(10), 100,
+                "test-signing-key", new ObjectMapper().findAndRegisterModules());
+        
+        // Act
+        ReportResponse response = reportService.generateReport(loyaltyPointsSummaryRequest);
+        
+        // Assert
+        assertTrue(otherInstance.get(response.getReportId()).isEmpty());
+        assertEquals(loyaltyPointsSummaryRequest,
+                otherInstance.resolve(response.getReportId()).orElseThrow().request());
+    }
 }
@@ -0,0 +1,78 @@
+package com.clinicsalon.report.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReportWriterTest {
+
+    private final CsvReportWriter writer = new CsvReportWriter(',');
+
+    private final List<ReportColumn<Map<String, Object>>> columns = List.of(
+            ReportColumn.of("Cliente", "clientName"),
+            ReportColumn.of("Data", "serviceDate"),
+            ReportColumn.of("Valor", "price"));
+
+    @Test
+    void write_QuotesAndEscapesFields() {
+        // Arrange
+        Map<String, Object> row = new HashMap<>();
+        row.put("clientName", "Silva, \"Ana\"");
+        row.put("serviceDate", LocalDate.of(2024, 3, 1));
+        row.put("price", 1.0E7);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long count = writer.write(columns, List.of(row).iterator(), output);
+
+        // Assert
+        assertEquals(1, count);
+        String csv = output.toString(StandardCharsets.UTF_8);
+        assertEquals("﻿Cliente,Data,Valor\r\n\"Silva, \"\"Ana\"\"\",2024-03-01,10000000\r\n", csv);
+    }
+
+    @Test
+    void write_NeutralizesFormulasAndEmptyValues() {
+        // Arrange
+        Map<String, Object> row = new HashMap<>();
+        row.put("clientName", "=HYPERLINK(\"http://exemplo\")");
+        row.put("price", new BigDecimal("-12.50"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        writer.write(columns, List.of(row).iterator(), output);
+
+        // Assert
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("\"'=HYPERLINK(\"\"http://exemplo\"\")\",,-12.50", lines[1]);
+    }
+
+    @Test
+    void write_StreamsRowsFromIterator() {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        var rows = IntStream.range(0, 10_000)
+                .mapToObj(i -> Map.<String, Object>of("clientName", "Cliente " + i, "price", i))
+                .iterator();
+
+        // Act
+        long count = writer.write(columns, rows, output);
+
+        // Assert
+        assertEquals(10_000, count);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(10_001, lines.length);
+        assertEquals("Cliente 9999,,9999", lines[10_000]);
+        assertTrue(Arrays.stream(lines).allMatch(line -> line.split(",", -1).length == 3));
+    }
+}
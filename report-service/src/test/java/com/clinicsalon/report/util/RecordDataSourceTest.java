@@ -0,0 +1,72 @@
+package com.clinicsalon.report.util;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.design.JRDesignField;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordDataSourceTest {
+
+    public record Row(String serviceName, int count, BigDecimal revenue) {
+    }
+
+    @Test
+    void getFieldValue_ReadsRecordComponents() throws JRException {
+        // Arrange
+        RecordDataSource dataSource = new RecordDataSource(List.of(
+                new Row("Corte de Cabelo", 45, new BigDecimal("3600.00")),
+                new Row("Manicure", 25, null)));
+        JRDesignField serviceName = field("serviceName");
+        JRDesignField count = field("count");
+        JRDesignField revenue = field("revenue");
+
+        // Act & Assert
+        assertTrue(dataSource.next());
+        assertEquals("Corte de Cabelo", dataSource.getFieldValue(serviceName));
+        assertEquals(45, dataSource.getFieldValue(count));
+        assertEquals(new BigDecimal("3600.00"), dataSource.getFieldValue(revenue));
+        assertTrue(dataSource.next());
+        assertEquals("Manicure", dataSource.getFieldValue(serviceName));
+        assertNull(dataSource.getFieldValue(revenue));
+        assertFalse(dataSource.next());
+    }
+
+    @Test
+    void getFieldValue_UnknownField_ReturnsNull() throws JRException {
+        // Arrange
+        RecordDataSource dataSource = new RecordDataSource(List.of(new Row("Coloração", 30, BigDecimal.TEN)));
+
+        // Act
+        dataSource.next();
+
+        // Assert
+        assertNull(dataSource.getFieldValue(field("category")));
+    }
+
+    @Test
+    void moveFirst_RestartsIteration() throws JRException {
+        // Arrange
+        RecordDataSource dataSource = new RecordDataSource(List.of(new Row("Coloração", 30, BigDecimal.TEN)));
+        JRDesignField serviceName = field("serviceName");
+        while (dataSource.next()) {
+            dataSource.getFieldValue(serviceName);
+        }
+
+        // Act
+        dataSource.moveFirst();
+
+        // Assert
+        assertTrue(dataSource.next());
+        assertEquals("Coloração", dataSource.getFieldValue(serviceName));
+    }
+
+    private JRDesignField field(String name) {
+        JRDesignField field = new JRDesignField();
+        field.setName(name);
+        return field;
+    }
+}
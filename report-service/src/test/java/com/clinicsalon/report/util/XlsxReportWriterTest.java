@@ -0,0 +1,56 @@
+package com.clinicsalon.report.util;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XlsxReportWriterTest {
+
+    // Janela pequena para que as linhas sejam descarregadas no temporário durante o teste
+    private final XlsxReportWriter writer = new XlsxReportWriter(10);
+
+    private final List<ReportColumn<Map<String, Object>>> columns = List.of(
+            ReportColumn.of("Cliente", "clientName"),
+            ReportColumn.of("Data", "serviceDate"),
+            ReportColumn.of("Valor", "price"));
+
+    @Test
+    void write_FlushesRowsAndKeepsCellTypes() throws IOException {
+        // Arrange
+        LocalDateTime date = LocalDateTime.of(2024, 3, 1, 14, 30);
+        var rows = IntStream.range(0, 1_000)
+                .mapToObj(i -> Map.<String, Object>of(
+                        "clientName", "Cliente " + i,
+                        "serviceDate", date,
+                        "price", new BigDecimal("80.50")))
+                .iterator();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long count = writer.write("Agendamentos do Cliente", columns, rows, output);
+
+        // Assert
+        assertEquals(1_000, count);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Agendamentos do Cliente");
+            assertEquals(1_000, sheet.getLastRowNum());
+            assertEquals("Valor", sheet.getRow(0).getCell(2).getStringCellValue());
+            assertEquals("Cliente 999", sheet.getRow(1_000).getCell(0).getStringCellValue());
+            assertEquals(date, sheet.getRow(1).getCell(1).getLocalDateTimeCellValue());
+            assertEquals(CellType.NUMERIC, sheet.getRow(1).getCell(2).getCellType());
+            assertEquals(80.5, sheet.getRow(1).getCell(2).getNumericCellValue());
+        }
+    }
+}
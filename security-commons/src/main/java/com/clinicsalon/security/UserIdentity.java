@@ -0,0 +1,45 @@
+package com.clinicsalon.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Identidade do usuário já autenticado pelo gateway ou pelo auth-service
+ *
+ * @param username Nome do usuário
+ * @param roles    Papéis do usuário (ex.: ROLE_ADMIN)
+ */
+public record UserIdentity(String username, List<String> roles) {
+
+    public UserIdentity {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+
+    /**
+     * Cria a identidade a partir da lista de papéis separada por vírgulas
+     */
+    public static UserIdentity of(String username, String roles) {
+        if (roles == null || roles.isBlank()) {
+            return new UserIdentity(username, List.of());
+        }
+        return new UserIdentity(username, Arrays.stream(roles.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .toList());
+    }
+
+    /**
+     * Authentication do Spring Security já autenticada, sem credenciais
+     */
+    public Authentication toAuthentication() {
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return UsernamePasswordAuthenticationToken.authenticated(username, null, authorities);
+    }
+}
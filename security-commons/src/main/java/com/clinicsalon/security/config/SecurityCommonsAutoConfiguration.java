@@ -0,0 +1,125 @@
+package com.clinicsalon.security.config;
+
+import com.clinicsalon.security.feign.GatewayHeadersRequestInterceptor;
+import com.clinicsalon.security.gateway.GatewayHeaderSigner;
+import com.clinicsalon.security.http.GatewayHeadersClientHttpRequestInterceptor;
+import com.clinicsalon.security.jwt.JwtTokenVerifier;
+import com.clinicsalon.security.web.GatewayAuthenticationFilter;
+import com.clinicsalon.security.web.GatewayAuthenticationResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderNotFoundException;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.time.Duration;
+
+/**
+ * Configuração automática da autenticação sem estado dos microsserviços.
+ * A identidade vem do envelope assinado pelo gateway (ou do JWT), sem consulta ao banco
+ * por requisição. Serviços sem SecurityFilterChain própria recebem uma cadeia padrão.
+ */
+@AutoConfiguration(before = {SecurityAutoConfiguration.class, UserDetailsServiceAutoConfiguration.class})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(SecurityFilterChain.class)
+public class SecurityCommonsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public GatewayAuthenticationResolver gatewayAuthenticationResolver(
+            @Value("${clinicsalon.security.gateway.signing-key}") String signingKey,
+            @Value("${clinicsalon.security.gateway.max-age:60s}") Duration maxAge,
+            @Value("${clinicsalon.security.jwt.token.secret-key:}") String jwtSecretKey) {
+        // Sem valor padrão: uma chave ausente falha na resolução da propriedade e uma vazia no signer
+        GatewayHeaderSigner signer = new GatewayHeaderSigner(signingKey, maxAge);
+        JwtTokenVerifier jwtTokenVerifier = jwtSecretKey.isBlank() ? null : new JwtTokenVerifier(jwtSecretKey);
+        return new GatewayAuthenticationResolver(signer, jwtTokenVerifier);
+    }
+
+    /**
+     * Cadeia padrão para serviços que não definem a sua: sem sessão, sem CSRF e com a
+     * identidade do gateway. Por padrão as rotas continuam abertas (chamadas internas e
+     * agendadas não carregam identidade); clinicsalon.security.require-authentication=true
+     * exige usuário autenticado em tudo exceto o actuator.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnMissingBean(SecurityFilterChain.class)
+    @EnableMethodSecurity
+    static class DefaultServiceSecurityConfiguration {
+
+        @Bean
+        public SecurityFilterChain serviceSecurityFilterChain(
+                HttpSecurity http,
+                GatewayAuthenticationResolver resolver,
+                @Value("${clinicsalon.security.require-authentication:false}") boolean requireAuthentication)
+                throws Exception {
+            http
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session
+                    .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authorizeHttpRequests(auth -> {
+                    auth.requestMatchers("/actuator/**").permitAll();
+                    if (requireAuthentication) {
+                        auth.anyRequest().authenticated();
+                    } else {
+                        auth.anyRequest().permitAll();
+                    }
+                })
+                .addFilterBefore(new GatewayAuthenticationFilter(resolver), UsernamePasswordAuthenticationFilter.class);
+
+            return http.build();
+        }
+
+        /**
+         * Os serviços não autenticam credenciais; isso também evita o usuário em memória
+         * com senha gerada que o Spring Boot criaria
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public AuthenticationManager serviceAuthenticationManager() {
+            return authentication -> {
+                throw new ProviderNotFoundException("Credentials are only verified by auth-service");
+            };
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "feign.RequestInterceptor")
+    static class FeignIdentityPropagationConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public GatewayHeadersRequestInterceptor gatewayHeadersRequestInterceptor() {
+            return new GatewayHeadersRequestInterceptor();
+        }
+    }
+
+    /**
+     * Mesmo repasse para os clientes por interface HTTP (RestClient)
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.web.client.RestClient")
+    static class RestClientIdentityPropagationConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public GatewayHeadersClientHttpRequestInterceptor gatewayHeadersClientHttpRequestInterceptor() {
+            return new GatewayHeadersClientHttpRequestInterceptor();
+        }
+    }
+}
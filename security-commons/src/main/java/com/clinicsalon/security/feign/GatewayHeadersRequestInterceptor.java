@@ -0,0 +1,35 @@
+package com.clinicsalon.security.feign;
+
+import com.clinicsalon.security.gateway.GatewayHeaders;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Repassa o envelope assinado pelo gateway nas chamadas Feign feitas durante uma requisição,
+ * para que o serviço chamado veja o mesmo usuário sem revalidar credenciais
+ */
+public class GatewayHeadersRequestInterceptor implements RequestInterceptor {
+
+    @Override
+    public void apply(RequestTemplate template) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
+        }
+
+        HttpServletRequest request = servletAttributes.getRequest();
+        if (request.getHeader(GatewayHeaders.SIGNATURE) == null) {
+            return;
+        }
+        for (String header : GatewayHeaders.ALL) {
+            String value = request.getHeader(header);
+            if (value != null && !template.headers().containsKey(header)) {
+                template.header(header, value);
+            }
+        }
+    }
+}
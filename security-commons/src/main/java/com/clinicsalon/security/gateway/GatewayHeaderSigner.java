@@ -0,0 +1,87 @@
+package com.clinicsalon.security.gateway;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Assinatura HMAC-SHA256 do envelope de identidade (usuário, papéis e instante de emissão)
+ * enviado pelo gateway. Os serviços confiam nos cabeçalhos apenas quando a assinatura confere
+ * e o envelope não é mais antigo que a idade máxima configurada.
+ * A chave não tem valor padrão: sem ela o serviço falha na inicialização.
+ */
+public class GatewayHeaderSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long maxAgeMillis;
+    private final ThreadLocal<Mac> macs;
+
+    public GatewayHeaderSigner(String signingKey, Duration maxAge) {
+        if (signingKey == null || signingKey.isBlank()) {
+            throw new IllegalStateException("clinicsalon.security.gateway.signing-key (GATEWAY_SIGNING_KEY) must be configured");
+        }
+        this.key = new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.maxAgeMillis = maxAge.toMillis();
+        // Mac não é thread-safe; uma instância por thread evita criar uma a cada requisição
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Assina o envelope de identidade
+     *
+     * @return Assinatura em Base64 URL-safe
+     */
+    public String sign(String username, String roles, long timestampMillis) {
+        Mac mac = macs.get();
+        byte[] signature = mac.doFinal(payload(username, roles, timestampMillis));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    /**
+     * Verifica a assinatura e a idade do envelope
+     *
+     * @param timestamp Valor do cabeçalho {@link GatewayHeaders#TIMESTAMP}
+     * @param signature Valor do cabeçalho {@link GatewayHeaders#SIGNATURE}
+     * @param nowMillis Instante atual
+     * @return true se o envelope foi emitido pelo gateway e ainda é válido
+     */
+    public boolean verify(String username, String roles, String timestamp, String signature, long nowMillis) {
+        if (username == null || timestamp == null || signature == null) {
+            return false;
+        }
+
+        long timestampMillis;
+        try {
+            timestampMillis = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Math.abs(nowMillis - timestampMillis) > maxAgeMillis) {
+            return false;
+        }
+
+        byte[] expected = sign(username, roles, timestampMillis).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] payload(String username, String roles, long timestampMillis) {
+        return (username + '\n' + (roles != null ? roles : "") + '\n' + timestampMillis)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
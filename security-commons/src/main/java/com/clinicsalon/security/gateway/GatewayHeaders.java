@@ -0,0 +1,19 @@
+package com.clinicsalon.security.gateway;
+
+import java.util.List;
+
+/**
+ * Cabeçalhos com a identidade do usuário adicionados pelo API Gateway
+ */
+public final class GatewayHeaders {
+
+    public static final String USER_NAME = "X-User-Name";
+    public static final String USER_ROLES = "X-User-Roles";
+    public static final String TIMESTAMP = "X-Auth-Timestamp";
+    public static final String SIGNATURE = "X-Auth-Signature";
+
+    public static final List<String> ALL = List.of(USER_NAME, USER_ROLES, TIMESTAMP, SIGNATURE);
+
+    private GatewayHeaders() {
+    }
+}
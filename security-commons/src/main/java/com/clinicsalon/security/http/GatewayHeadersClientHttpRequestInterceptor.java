@@ -0,0 +1,39 @@
+package com.clinicsalon.security.http;
+
+import com.clinicsalon.security.gateway.GatewayHeaders;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+
+/**
+ * Equivalente do {@link com.clinicsalon.security.feign.GatewayHeadersRequestInterceptor} para
+ * chamadas feitas com {@link org.springframework.web.client.RestClient} (clientes por interface HTTP):
+ * repassa o envelope assinado pelo gateway da requisição em andamento
+ */
+public class GatewayHeadersClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest incoming = servletAttributes.getRequest();
+            if (incoming.getHeader(GatewayHeaders.SIGNATURE) != null) {
+                for (String header : GatewayHeaders.ALL) {
+                    String value = incoming.getHeader(header);
+                    if (value != null && !request.getHeaders().containsKey(header)) {
+                        request.getHeaders().set(header, value);
+                    }
+                }
+            }
+        }
+        return execution.execute(request, body);
+    }
+}
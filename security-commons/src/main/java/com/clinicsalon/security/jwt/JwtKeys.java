@@ -0,0 +1,22 @@
+package com.clinicsalon.security.jwt;
+
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Base64;
+
+/**
+ * Derivação da chave HMAC dos tokens JWT a partir do segredo configurado.
+ * Deve ser a mesma usada pelo auth-service ao emitir os tokens.
+ */
+public final class JwtKeys {
+
+    private JwtKeys() {
+    }
+
+    public static Key signingKey(String secretKey) {
+        String encoded = Base64.getEncoder().encodeToString(secretKey.getBytes(StandardCharsets.UTF_8));
+        return Keys.hmacShaKeyFor(encoded.getBytes(StandardCharsets.UTF_8));
+    }
+}
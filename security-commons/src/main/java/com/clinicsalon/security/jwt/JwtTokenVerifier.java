@@ -0,0 +1,53 @@
+package com.clinicsalon.security.jwt;
+
+import com.clinicsalon.security.UserIdentity;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Verifica localmente os tokens JWT emitidos pelo auth-service (assinatura e expiração),
+ * sem consultar banco de dados ou outro serviço
+ */
+@Slf4j
+public class JwtTokenVerifier {
+
+    public static final String ROLES_CLAIM = "roles";
+
+    private final JwtParser parser;
+
+    public JwtTokenVerifier(String secretKey) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(JwtKeys.signingKey(secretKey))
+                .build();
+    }
+
+    /**
+     * Extrai a identidade de um token válido
+     *
+     * @param token Token JWT (sem o prefixo Bearer)
+     * @return Identidade do usuário ou vazio se o token for inválido
+     */
+    public Optional<UserIdentity> verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return Optional.of(new UserIdentity(claims.getSubject(), roles(claims)));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static List<String> roles(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (roles instanceof List<?> list) {
+            return list.stream().map(String::valueOf).toList();
+        }
+        return List.of();
+    }
+}
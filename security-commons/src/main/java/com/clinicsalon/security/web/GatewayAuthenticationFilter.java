@@ -0,0 +1,37 @@
+package com.clinicsalon.security.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Preenche o SecurityContext com a identidade resolvida por {@link GatewayAuthenticationResolver}.
+ * Deve ser adicionado à SecurityFilterChain, não registrado como bean, para não rodar duas vezes.
+ */
+public class GatewayAuthenticationFilter extends OncePerRequestFilter {
+
+    private final GatewayAuthenticationResolver resolver;
+
+    public GatewayAuthenticationFilter(GatewayAuthenticationResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            resolver.resolve(request).ifPresent(identity -> {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(identity.toAuthentication());
+                SecurityContextHolder.setContext(context);
+            });
+        }
+        chain.doFilter(request, response);
+    }
+}
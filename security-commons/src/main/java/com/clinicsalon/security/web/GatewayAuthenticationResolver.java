@@ -0,0 +1,55 @@
+package com.clinicsalon.security.web;
+
+import com.clinicsalon.security.UserIdentity;
+import com.clinicsalon.security.gateway.GatewayHeaderSigner;
+import com.clinicsalon.security.gateway.GatewayHeaders;
+import com.clinicsalon.security.jwt.JwtTokenVerifier;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Optional;
+
+/**
+ * Obtém a identidade do usuário a partir da requisição, sem acesso a banco ou chamadas remotas.
+ * Primeiro tenta o envelope assinado pelo gateway; se não houver, tenta o token JWT
+ * (quando o segredo do JWT estiver configurado no serviço).
+ */
+@Slf4j
+public class GatewayAuthenticationResolver {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final GatewayHeaderSigner signer;
+    private final JwtTokenVerifier jwtTokenVerifier;
+
+    /**
+     * @param signer           Verificador dos cabeçalhos do gateway (nulo desabilita)
+     * @param jwtTokenVerifier Verificador de JWT (nulo desabilita)
+     */
+    public GatewayAuthenticationResolver(GatewayHeaderSigner signer, JwtTokenVerifier jwtTokenVerifier) {
+        this.signer = signer;
+        this.jwtTokenVerifier = jwtTokenVerifier;
+    }
+
+    public Optional<UserIdentity> resolve(HttpServletRequest request) {
+        String signature = request.getHeader(GatewayHeaders.SIGNATURE);
+        if (signer != null && signature != null) {
+            String username = request.getHeader(GatewayHeaders.USER_NAME);
+            String roles = request.getHeader(GatewayHeaders.USER_ROLES);
+            if (signer.verify(username, roles, request.getHeader(GatewayHeaders.TIMESTAMP), signature,
+                    System.currentTimeMillis())) {
+                return Optional.of(UserIdentity.of(username, roles));
+            }
+            log.warn("Rejected gateway identity headers with invalid or expired signature for {} {}",
+                    request.getMethod(), request.getRequestURI());
+        }
+
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (jwtTokenVerifier != null && authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            return jwtTokenVerifier.verify(authorization.substring(BEARER_PREFIX.length()));
+        }
+
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,65 @@
+package com.clinicsalon.security.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayHeaderSignerTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final GatewayHeaderSigner signer = new GatewayHeaderSigner("test-signing-key", Duration.ofSeconds(60));
+
+    @Test
+    void verify_ValidSignature_ReturnsTrue() {
+        // Arrange
+        String signature = signer.sign("maria", "ROLE_USER,ROLE_ADMIN", NOW);
+
+        // Act & Assert
+        assertTrue(signer.verify("maria", "ROLE_USER,ROLE_ADMIN", String.valueOf(NOW), signature, NOW + 1000));
+    }
+
+    @Test
+    void verify_TamperedRoles_ReturnsFalse() {
+        // Arrange
+        String signature = signer.sign("maria", "ROLE_USER", NOW);
+
+        // Act & Assert
+        assertFalse(signer.verify("maria", "ROLE_USER,ROLE_ADMIN", String.valueOf(NOW), signature, NOW));
+    }
+
+    @Test
+    void verify_ExpiredEnvelope_ReturnsFalse() {
+        // Arrange
+        String signature = signer.sign("maria", "ROLE_USER", NOW);
+
+        // Act & Assert
+        assertFalse(signer.verify("maria", "ROLE_USER", String.valueOf(NOW), signature, NOW + 61_000));
+    }
+
+    @Test
+    void verify_DifferentKey_ReturnsFalse() {
+        // Arrange
+        GatewayHeaderSigner other = new GatewayHeaderSigner("another-key", Duration.ofSeconds(60));
+        String signature = other.sign("maria", "ROLE_USER", NOW);
+
+        // Act & Assert
+        assertFalse(signer.verify("maria", "ROLE_USER", String.valueOf(NOW), signature, NOW));
+    }
+
+    @Test
+    void verify_MalformedTimestamp_ReturnsFalse() {
+        // Act & Assert
+        assertFalse(signer.verify("maria", "ROLE_USER", "not-a-number", "signature", NOW));
+    }
+
+    @Test
+    void constructor_MissingKey_FailsFast() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new GatewayHeaderSigner("", Duration.ofSeconds(60)));
+        assertThrows(IllegalStateException.class, () -> new GatewayHeaderSigner(" ", Duration.ofSeconds(60)));
+        assertThrows(IllegalStateException.class, () -> new GatewayHeaderSigner(null, Duration.ofSeconds(60)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.clinicsalon.security.http;
+
+import com.clinicsalon.security.gateway.GatewayHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayHeadersClientHttpRequestInterceptorTest {
+
+    private final GatewayHeadersClientHttpRequestInterceptor interceptor = new GatewayHeadersClientHttpRequestInterceptor();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void intercept_SignedIncomingRequest_CopiesGatewayHeaders() throws Exception {
+        // Arrange
+        MockHttpServletRequest incoming = new MockHttpServletRequest();
+        incoming.addHeader(GatewayHeaders.USER_NAME, "maria");
+        incoming.addHeader(GatewayHeaders.USER_ROLES, "ROLE_USER");
+        incoming.addHeader(GatewayHeaders.TIMESTAMP, "1700000000000");
+        incoming.addHeader(GatewayHeaders.SIGNATURE, "assinatura");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+        MockClientHttpRequest outgoing = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://client-service/api/clients/1"));
+
+        // Act
+        interceptor.intercept(outgoing, new byte[0], (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        // Assert
+        assertEquals("maria", outgoing.getHeaders().getFirst(GatewayHeaders.USER_NAME));
+        assertEquals("ROLE_USER", outgoing.getHeaders().getFirst(GatewayHeaders.USER_ROLES));
+        assertEquals("1700000000000", outgoing.getHeaders().getFirst(GatewayHeaders.TIMESTAMP));
+        assertEquals("assinatura", outgoing.getHeaders().getFirst(GatewayHeaders.SIGNATURE));
+    }
+
+    @Test
+    void intercept_NoRequestInProgress_SendsRequestUnchanged() throws Exception {
+        // Arrange
+        MockClientHttpRequest outgoing = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://client-service/api/clients/1"));
+
+        // Act
+        interceptor.intercept(outgoing, new byte[0], (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        // Assert
+        GatewayHeaders.ALL.forEach(header -> assertFalse(outgoing.getHeaders().containsKey(header)));
+    }
+}
@@ -0,0 +1,107 @@
+package com.clinicsalon.security.web;
+
+import com.clinicsalon.security.UserIdentity;
+import com.clinicsalon.security.gateway.GatewayHeaderSigner;
+import com.clinicsalon.security.gateway.GatewayHeaders;
+import com.clinicsalon.security.jwt.JwtKeys;
+import com.clinicsalon.security.jwt.JwtTokenVerifier;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayAuthenticationResolverTest {
+
+    private static final String JWT_SECRET = "testsecretkeythatshouldbelongerthanthisinproduction";
+
+    private final GatewayHeaderSigner signer = new GatewayHeaderSigner("test-signing-key", Duration.ofSeconds(60));
+    private final GatewayAuthenticationResolver resolver =
+            new GatewayAuthenticationResolver(signer, new JwtTokenVerifier(JWT_SECRET));
+
+    @Test
+    void resolve_SignedHeaders_BuildsAuthenticationWithRoles() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(GatewayHeaders.USER_NAME, "maria");
+        request.addHeader(GatewayHeaders.USER_ROLES, "ROLE_USER,ROLE_ADMIN");
+        request.addHeader(GatewayHeaders.TIMESTAMP, String.valueOf(now));
+        request.addHeader(GatewayHeaders.SIGNATURE, signer.sign("maria", "ROLE_USER,ROLE_ADMIN", now));
+
+        // Act
+        Optional<UserIdentity> identity = resolver.resolve(request);
+
+        // Assert
+        assertTrue(identity.isPresent());
+        Authentication authentication = identity.get().toAuthentication();
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("maria", authentication.getName());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void resolve_UnsignedHeaders_AreIgnored() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(GatewayHeaders.USER_NAME, "maria");
+        request.addHeader(GatewayHeaders.USER_ROLES, "ROLE_ADMIN");
+
+        // Act & Assert
+        assertTrue(resolver.resolve(request).isEmpty());
+    }
+
+    @Test
+    void resolve_ForgedSignature_IsRejected() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(GatewayHeaders.USER_NAME, "maria");
+        request.addHeader(GatewayHeaders.USER_ROLES, "ROLE_ADMIN");
+        request.addHeader(GatewayHeaders.TIMESTAMP, String.valueOf(now));
+        request.addHeader(GatewayHeaders.SIGNATURE, signer.sign("maria", "ROLE_USER", now));
+
+        // Act & Assert
+        assertTrue(resolver.resolve(request).isEmpty());
+    }
+
+    @Test
+    void resolve_BearerToken_VerifiedLocally() {
+        // Arrange
+        String token = Jwts.builder()
+                .setClaims(Map.of(JwtTokenVerifier.ROLES_CLAIM, List.of("ROLE_USER")))
+                .setSubject("joao")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(JwtKeys.signingKey(JWT_SECRET), SignatureAlgorithm.HS256)
+                .compact();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+
+        // Act
+        Optional<UserIdentity> identity = resolver.resolve(request);
+
+        // Assert
+        assertEquals(Optional.of(new UserIdentity("joao", List.of("ROLE_USER"))), identity);
+    }
+
+    @Test
+    void resolve_InvalidBearerToken_ReturnsEmpty() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer invalid.jwt.token");
+
+        // Act & Assert
+        assertTrue(resolver.resolve(request).isEmpty());
+    }
+}
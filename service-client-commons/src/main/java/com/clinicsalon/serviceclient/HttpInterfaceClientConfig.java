@@ -0,0 +1,53 @@
+package com.clinicsalon.serviceclient;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerInterceptor;
+import org.springframework.cloud.client.loadbalancer.RetryLoadBalancerInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuração da fábrica de clientes por interface HTTP, importada pelas configurações
+ * dos módulos *-service-client. Com o Spring Cloud LoadBalancer presente, a URL base
+ * {@code http://<serviço>} é resolvida pelo Eureka como nos clientes Feign.
+ * <p>
+ * Assim como os {@code RequestInterceptor} nos clientes Feign, os beans
+ * {@link ClientHttpRequestInterceptor} do contexto (por exemplo, o repasse da identidade do
+ * gateway do security-commons) são aplicados a todos os clientes, antes do balanceamento.
+ */
+@Configuration
+public class HttpInterfaceClientConfig {
+
+    @Bean
+    public HttpInterfaceClientFactory httpInterfaceClientFactory(Environment environment,
+                                                                 ObjectProvider<RestClient.Builder> restClientBuilder,
+                                                                 ObjectProvider<LoadBalancerInterceptor> loadBalancerInterceptor,
+                                                                 ObjectProvider<RetryLoadBalancerInterceptor> retryLoadBalancerInterceptor,
+                                                                 ObjectProvider<ClientHttpRequestInterceptor> requestInterceptors,
+                                                                 BeanFactory beanFactory) {
+        List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
+        requestInterceptors.orderedStream()
+                .filter(interceptor -> !(interceptor instanceof LoadBalancerInterceptor)
+                        && !(interceptor instanceof RetryLoadBalancerInterceptor))
+                .forEach(interceptors::add);
+
+        ClientHttpRequestInterceptor interceptor = loadBalancerInterceptor.getIfAvailable();
+        if (interceptor == null) {
+            interceptor = retryLoadBalancerInterceptor.getIfAvailable();
+        }
+        if (interceptor != null) {
+            interceptors.add(interceptor);
+        }
+        return new HttpInterfaceClientFactory(environment,
+                () -> restClientBuilder.getIfAvailable(RestClient::builder),
+                interceptors,
+                beanFactory);
+    }
+}
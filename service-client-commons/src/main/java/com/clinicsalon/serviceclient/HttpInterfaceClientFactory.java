@@ -0,0 +1,147 @@
+package com.clinicsalon.serviceclient;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.support.RestClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Cria clientes de serviço a partir das mesmas interfaces dos clientes Feign, anotadas também
+ * com {@code @HttpExchange}. As chamadas usam o {@link HttpClient} do JDK, que não prende uma
+ * thread de plataforma enquanto espera a resposta quando o chamador roda em thread virtual
+ * ({@code spring.threads.virtual.enabled}) ou em {@link ParallelCalls}; o número de threads
+ * deixa de limitar quantas chamadas podem estar em andamento.
+ * <p>
+ * As falhas seguem o mesmo caminho do Feign: o circuit breaker do Resilience4j indicado em
+ * {@code clinicsalon.clients.<serviço>.circuit-breaker} (quando o serviço usa Resilience4j)
+ * e, em seguida, a mesma {@link FallbackFactory} do cliente Feign.
+ */
+public class HttpInterfaceClientFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpInterfaceClientFactory.class);
+
+    private static final String PREFIX = "clinicsalon.clients.";
+    private static final boolean RESILIENCE4J_PRESENT = ClassUtils.isPresent(
+            "io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry", HttpInterfaceClientFactory.class.getClassLoader());
+
+    private final Environment environment;
+    private final Supplier<RestClient.Builder> restClientBuilder;
+    private final List<ClientHttpRequestInterceptor> requestInterceptors;
+    private final BeanFactory beanFactory;
+
+    public HttpInterfaceClientFactory(Environment environment,
+                                      Supplier<RestClient.Builder> restClientBuilder,
+                                      List<ClientHttpRequestInterceptor> requestInterceptors,
+                                      BeanFactory beanFactory) {
+        this.environment = environment;
+        this.restClientBuilder = restClientBuilder;
+        this.requestInterceptors = requestInterceptors;
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * Cria o cliente do serviço
+     *
+     * @param type            Interface do cliente, com anotações {@code @HttpExchange}
+     * @param serviceId       Nome do serviço no Eureka, usado também como prefixo da configuração
+     * @param fallbackFactory Fallback do cliente Feign correspondente
+     * @return Implementação da interface
+     */
+    public <T> T create(Class<T> type, String serviceId, FallbackFactory<? extends T> fallbackFactory) {
+        String prefix = PREFIX + serviceId + ".";
+        String url = environment.getProperty(prefix + "url", "http://" + serviceId);
+        Duration connectTimeout = environment.getProperty(prefix + "connect-timeout", Duration.class, Duration.ofSeconds(2));
+        Duration readTimeout = environment.getProperty(prefix + "read-timeout", Duration.class, Duration.ofSeconds(10));
+        String circuitBreakerName = environment.getProperty(prefix + "circuit-breaker", serviceId);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+
+        RestClient restClient = restClientBuilder.get()
+                .baseUrl(url)
+                .requestFactory(requestFactory)
+                .requestInterceptors(interceptors -> interceptors.addAll(requestInterceptors))
+                .build();
+        T target = HttpServiceProxyFactory.builderFor(RestClientAdapter.create(restClient))
+                .build()
+                .createClient(type);
+
+        CallGuard guard = RESILIENCE4J_PRESENT
+                ? Resilience4jCallGuard.of(beanFactory, circuitBreakerName)
+                : CallGuard.NONE;
+        log.info("Client {} for {} using HTTP interface transport at {}", type.getSimpleName(), serviceId, url);
+
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new GuardedInvocationHandler<>(type, target, guard, fallbackFactory)));
+    }
+
+    /**
+     * Proteção aplicada a cada chamada antes do fallback
+     */
+    interface CallGuard {
+
+        CallGuard NONE = new CallGuard() {
+            @Override
+            public <R> R call(Callable<R> call) throws Exception {
+                return call.call();
+            }
+        };
+
+        <R> R call(Callable<R> call) throws Exception;
+    }
+
+    private record GuardedInvocationHandler<T>(Class<T> type, T target, CallGuard guard,
+                                               FallbackFactory<? extends T> fallbackFactory) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "HttpInterfaceClient[" + type.getName() + "]";
+                    default -> method.invoke(this, args);
+                };
+            }
+            try {
+                return guard.call(() -> call(target, method, args));
+            } catch (Exception e) {
+                return call(fallbackFactory.create(e), method, args);
+            }
+        }
+
+        private static Object call(Object target, Method method, Object[] args) throws Exception {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof Exception cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.clinicsalon.serviceclient;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Execução concorrente de chamadas entre serviços em threads virtuais, uma por chamada.
+ * A concorrência do fan-out deixa de depender do tamanho de um pool de threads.
+ * Os atributos da requisição em andamento ({@link RequestContextHolder}) são repassados a
+ * cada chamada, para que os interceptors encaminhem a identidade do usuário.
+ */
+public final class ParallelCalls {
+
+    private ParallelCalls() {
+    }
+
+    /**
+     * Executa as chamadas em paralelo e aguarda todas
+     *
+     * @param calls Chamadas a executar
+     * @return Resultados, na ordem das chamadas
+     * @throws RuntimeException a primeira falha encontrada, na ordem das chamadas
+     */
+    public static <T> List<T> invokeAll(List<? extends Callable<T>> calls) {
+        if (calls.size() == 1) {
+            return List.of(call(calls.get(0)));
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            List<Future<T>> futures = new ArrayList<>(calls.size());
+            for (Callable<T> call : calls) {
+                futures.add(executor.submit(() -> callWithAttributes(attributes, call)));
+            }
+
+            List<T> results = new ArrayList<>(calls.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw unchecked(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for service calls", e);
+        }
+    }
+
+    private static <T> T callWithAttributes(RequestAttributes attributes, Callable<T> call) throws Exception {
+        if (attributes == null) {
+            return call.call();
+        }
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            return call.call();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static <T> T call(Callable<T> call) {
+        try {
+            return call.call();
+        } catch (Exception e) {
+            throw unchecked(e);
+        }
+    }
+
+    private static RuntimeException unchecked(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,48 @@
+package com.clinicsalon.serviceclient;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.beans.factory.BeanFactory;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Circuit breaker do Resilience4j do serviço consumidor; carregada apenas quando o Resilience4j está no classpath
+ */
+final class Resilience4jCallGuard implements HttpInterfaceClientFactory.CallGuard {
+
+    private final BeanFactory beanFactory;
+    private final String name;
+    private volatile CircuitBreaker circuitBreaker;
+
+    private Resilience4jCallGuard(BeanFactory beanFactory, String name) {
+        this.beanFactory = beanFactory;
+        this.name = name;
+    }
+
+    static HttpInterfaceClientFactory.CallGuard of(BeanFactory beanFactory, String name) {
+        return new Resilience4jCallGuard(beanFactory, name);
+    }
+
+    @Override
+    public <R> R call(Callable<R> call) throws Exception {
+        CircuitBreaker breaker = circuitBreaker();
+        return breaker != null ? breaker.executeCallable(call) : call.call();
+    }
+
+    /**
+     * Resolvido na primeira chamada, quando o registro do serviço já foi criado
+     */
+    private CircuitBreaker circuitBreaker() {
+        CircuitBreaker breaker = circuitBreaker;
+        if (breaker == null) {
+            CircuitBreakerRegistry registry = beanFactory.getBeanProvider(CircuitBreakerRegistry.class).getIfAvailable();
+            if (registry == null) {
+                return null;
+            }
+            breaker = registry.circuitBreaker(name);
+            circuitBreaker = breaker;
+        }
+        return breaker;
+    }
+}
@@ -0,0 +1,180 @@
+package com.clinicsalon.serviceclient.feign;
+
+import feign.Client;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerAutoConfiguration;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.FeignLoadBalancerAutoConfiguration;
+import org.springframework.cloud.openfeign.loadbalancer.LoadBalancerFeignRequestTransformer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuração automática do transporte HTTP de todos os clientes Feign dos serviços que
+ * dependem deste módulo (diretamente ou por um *-service-client). Substitui o
+ * {@code HttpURLConnection} padrão do Feign, que abre uma conexão por chamada sem limite,
+ * por um pool do Apache HttpClient 5 com limite total e por destino, keep-alive,
+ * validação de conexões ociosas e descompressão das respostas.
+ * <p>
+ * O pool publica no Micrometer as métricas {@code httpcomponents.httpclient.pool.*}
+ * (conexões em uso, livres, pedidos aguardando conexão e limites) com a tag
+ * {@code httpclient=feign}, e {@code feign.http.client.pool.saturation} com a fração
+ * do limite total em uso.
+ * <p>
+ * Desligado com {@code clinicsalon.feign.http-client.enabled=false}; um bean
+ * {@link Client} do próprio serviço também tem precedência.
+ */
+@AutoConfiguration(
+        after = LoadBalancerAutoConfiguration.class,
+        afterName = "org.springframework.cloud.loadbalancer.config.BlockingLoadBalancerClientAutoConfiguration",
+        before = FeignLoadBalancerAutoConfiguration.class)
+@ConditionalOnClass({Client.class, PoolingHttpClientConnectionManager.class})
+@ConditionalOnProperty(prefix = "clinicsalon.feign.http-client", name = "enabled", matchIfMissing = true)
+public class FeignHttpClientAutoConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(FeignHttpClientAutoConfiguration.class);
+
+    static final String PREFIX = "clinicsalon.feign.http-client.";
+
+    @Bean
+    @ConditionalOnMissingBean(name = "feignConnectionManager")
+    public PoolingHttpClientConnectionManager feignConnectionManager(
+            @Value("${" + PREFIX + "max-connections:200}") int maxConnections,
+            @Value("${" + PREFIX + "max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${" + PREFIX + "connect-timeout:2s}") Duration connectTimeout,
+            @Value("${" + PREFIX + "time-to-live:5m}") Duration timeToLive,
+            @Value("${" + PREFIX + "validate-after-inactivity:2s}") Duration validateAfterInactivity) {
+        log.info("Feign HTTP client pool: {} connections, {} per route", maxConnections, maxConnectionsPerRoute);
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                // LIFO mantém quentes as conexões mais recentes e deixa as demais expirarem
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "feignHttpClient")
+    public CloseableHttpClient feignHttpClient(
+            PoolingHttpClientConnectionManager feignConnectionManager,
+            @Value("${" + PREFIX + "keep-alive:30s}") Duration keepAlive,
+            @Value("${" + PREFIX + "evict-idle-after:30s}") Duration evictIdleAfter,
+            @Value("${" + PREFIX + "compression:true}") boolean compression) {
+        var builder = HttpClients.custom()
+                .setConnectionManager(feignConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(evictIdleAfter))
+                // Retentativas ficam com o Retryer do Feign e com o Resilience4j
+                .disableAutomaticRetries()
+                .disableCookieManagement();
+        if (!compression) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+
+    /**
+     * Serviços sem balanceador: apenas o transporte com pool. Os métodos {@code @Bean} desta
+     * classe são avaliados depois das configurações internas, então o cliente com balanceador
+     * tem precedência
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public Client feignClient(CloseableHttpClient feignHttpClient,
+                              PoolingHttpClientConnectionManager feignConnectionManager,
+                              Environment environment) {
+        return pooledClient(feignHttpClient, feignConnectionManager, environment);
+    }
+
+    /**
+     * Transporte atrás do balanceador do Spring Cloud, que resolve {@code http://<serviço>}
+     * pelo Eureka; sem este bean o Feign criaria o balanceador sobre o cliente padrão.
+     * Clientes com {@code url} fixa usam o transporte sem o balanceador.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(LoadBalancerClientFactory.class)
+    @ConditionalOnBean(LoadBalancerClient.class)
+    static class LoadBalancedFeignClientConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public Client feignClient(CloseableHttpClient feignHttpClient,
+                                  PoolingHttpClientConnectionManager feignConnectionManager,
+                                  Environment environment,
+                                  LoadBalancerClient loadBalancerClient,
+                                  LoadBalancerClientFactory loadBalancerClientFactory,
+                                  List<LoadBalancerFeignRequestTransformer> transformers) {
+            return new FeignBlockingLoadBalancerClient(
+                    pooledClient(feignHttpClient, feignConnectionManager, environment),
+                    loadBalancerClient, loadBalancerClientFactory, transformers);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class FeignConnectionPoolMetricsConfiguration {
+
+        @Bean
+        public MeterBinder feignConnectionPoolMetrics(PoolingHttpClientConnectionManager feignConnectionManager) {
+            return registry -> {
+                new PoolingHttpClientConnectionManagerMetricsBinder(feignConnectionManager, "feign").bindTo(registry);
+                Gauge.builder("feign.http.client.pool.saturation", feignConnectionManager,
+                                FeignHttpClientAutoConfiguration::saturation)
+                        .description("Fração do limite total do pool de conexões do Feign em uso")
+                        .tags(Tags.of("httpclient", "feign"))
+                        .register(registry);
+            };
+        }
+    }
+
+    static PooledHttpClient5FeignClient pooledClient(CloseableHttpClient httpClient,
+                                                     PoolingHttpClientConnectionManager connectionManager,
+                                                     Environment environment) {
+        return new PooledHttpClient5FeignClient(httpClient, connectionManager,
+                target -> environment.getProperty(PREFIX + "targets." + target + ".max-connections", Integer.class, 0),
+                Timeout.of(environment.getProperty(PREFIX + "connection-request-timeout", Duration.class, Duration.ofSeconds(1))),
+                TimeValue.of(environment.getProperty(PREFIX + "keep-alive", Duration.class, Duration.ofSeconds(30))));
+    }
+
+    static double saturation(PoolingHttpClientConnectionManager connectionManager) {
+        PoolStats stats = connectionManager.getTotalStats();
+        return stats.getMax() > 0 ? (double) stats.getLeased() / stats.getMax() : 0;
+    }
+}
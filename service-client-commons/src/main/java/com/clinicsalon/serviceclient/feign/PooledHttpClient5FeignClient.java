@@ -0,0 +1,200 @@
+package com.clinicsalon.serviceclient.feign;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * {@link Client} do Feign sobre o Apache HttpClient 5 com pool de conexões compartilhado
+ * por todos os {@code @FeignClient} do serviço. As conexões ficam abertas entre chamadas
+ * (keep-alive), as respostas gzip/deflate são descomprimidas pelo HttpClient e cada destino
+ * tem seu próprio limite de conexões: na primeira chamada a uma instância, o limite
+ * configurado para o serviço ({@code clinicsalon.feign.http-client.targets.<serviço>.max-connections})
+ * é aplicado à rota dela.
+ * <p>
+ * Os tempos de leitura e o redirecionamento seguem as {@link Request.Options} de cada cliente;
+ * o tempo de conexão é o do pool.
+ */
+public class PooledHttpClient5FeignClient implements Client {
+
+    private final CloseableHttpClient httpClient;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final ToIntFunction<String> targetMaxConnections;
+    private final Timeout connectionRequestTimeout;
+    private final TimeValue keepAlive;
+    private final Set<HttpRoute> configuredRoutes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param httpClient               Cliente construído sobre o pool
+     * @param connectionManager        Pool de conexões
+     * @param targetMaxConnections     Limite de conexões por instância para o nome do serviço; 0 usa o padrão do pool
+     * @param connectionRequestTimeout Tempo máximo de espera por uma conexão livre no pool
+     * @param keepAlive                Tempo de keep-alive quando o servidor não informa um
+     */
+    public PooledHttpClient5FeignClient(CloseableHttpClient httpClient,
+                                        PoolingHttpClientConnectionManager connectionManager,
+                                        ToIntFunction<String> targetMaxConnections,
+                                        Timeout connectionRequestTimeout,
+                                        TimeValue keepAlive) {
+        this.httpClient = httpClient;
+        this.connectionManager = connectionManager;
+        this.targetMaxConnections = targetMaxConnections;
+        this.connectionRequestTimeout = connectionRequestTimeout;
+        this.keepAlive = keepAlive;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        HttpUriRequestBase httpRequest = toHttpRequest(request, options);
+        configureRoute(request, httpRequest);
+
+        CloseableHttpResponse httpResponse = httpClient.execute(httpRequest);
+        return toResponse(request, httpResponse);
+    }
+
+    private HttpUriRequestBase toHttpRequest(Request request, Request.Options options) {
+        HttpUriRequestBase httpRequest = new HttpUriRequestBase(request.httpMethod().name(), URI.create(request.url()));
+        httpRequest.setConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(connectionRequestTimeout)
+                .setResponseTimeout(Timeout.ofMilliseconds(options.readTimeoutMillis()))
+                .setRedirectsEnabled(options.isFollowRedirects())
+                .setConnectionKeepAlive(keepAlive)
+                .build());
+
+        String contentType = null;
+        for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+            String name = header.getKey();
+            // O tamanho e a codificação de transferência vêm da entidade
+            if (name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH) || name.equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING)) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                if (name.equalsIgnoreCase(HttpHeaders.CONTENT_TYPE)) {
+                    contentType = value;
+                }
+                httpRequest.addHeader(name, value);
+            }
+        }
+
+        if (request.body() != null) {
+            ContentType type = contentType != null ? ContentType.parseLenient(contentType) : null;
+            if (type != null && type.getCharset() == null && request.charset() != null) {
+                type = type.withCharset(request.charset());
+            }
+            httpRequest.setEntity(new ByteArrayEntity(request.body(), type));
+        }
+        return httpRequest;
+    }
+
+    /**
+     * Aplica o limite do serviço à rota da instância escolhida pelo balanceador
+     */
+    private void configureRoute(Request request, HttpUriRequestBase httpRequest) {
+        if (request.requestTemplate() == null || request.requestTemplate().feignTarget() == null) {
+            return;
+        }
+        URI uri = URI.create(request.url());
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+        HttpRoute route = new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port), null, secure);
+        if (configuredRoutes.add(route)) {
+            int maxConnections = targetMaxConnections.applyAsInt(request.requestTemplate().feignTarget().name());
+            if (maxConnections > 0) {
+                connectionManager.setMaxPerRoute(route, maxConnections);
+            }
+        }
+    }
+
+    private Response toResponse(Request request, CloseableHttpResponse httpResponse) throws IOException {
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        for (Header header : httpResponse.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>(1)).add(header.getValue());
+        }
+
+        HttpEntity entity = httpResponse.getEntity();
+        Response.Body body = null;
+        if (entity == null) {
+            httpResponse.close();
+        } else {
+            body = new EntityBody(entity, httpResponse);
+        }
+
+        return Response.builder()
+                .status(httpResponse.getCode())
+                .reason(httpResponse.getReasonPhrase())
+                .headers(headers)
+                .request(request)
+                .body(body)
+                .build();
+    }
+
+    /**
+     * Corpo lido direto da conexão; fechar o corpo devolve a conexão ao pool
+     */
+    private static final class EntityBody implements Response.Body {
+
+        private final HttpEntity entity;
+        private final CloseableHttpResponse httpResponse;
+
+        private EntityBody(HttpEntity entity, CloseableHttpResponse httpResponse) {
+            this.entity = entity;
+            this.httpResponse = httpResponse;
+        }
+
+        @Override
+        public Integer length() {
+            long length = entity.getContentLength();
+            return length >= 0 && length <= Integer.MAX_VALUE ? (int) length : null;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return entity.isRepeatable();
+        }
+
+        @Override
+        public InputStream asInputStream() throws IOException {
+            return entity.getContent();
+        }
+
+        @Override
+        public Reader asReader(Charset charset) throws IOException {
+            Util.checkNotNull(charset, "charset should not be null");
+            return new InputStreamReader(asInputStream(), charset);
+        }
+
+        @Override
+        public void close() throws IOException {
+            httpResponse.close();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.clinicsalon.serviceclient;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.service.annotation.GetExchange;
+import org.springframework.web.service.annotation.HttpExchange;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpInterfaceClientFactoryTest {
+
+    private HttpServer server;
+    private HttpInterfaceClientFactory factory;
+    private final AtomicReference<Throwable> fallbackCause = new AtomicReference<>();
+    private final AtomicReference<String> receivedUser = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/greetings/", exchange -> {
+            String name = exchange.getRequestURI().getPath().substring("/api/greetings/".length());
+            receivedUser.set(exchange.getRequestHeaders().getFirst("X-User-Name"));
+            int status = "error".equals(name) ? 500 : 200;
+            byte[] body = ("Olá, " + name).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain;charset=UTF-8");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("clinicsalon.clients.greeting-service.url", "http://localhost:" + server.getAddress().getPort());
+        factory = new HttpInterfaceClientFactory(environment, RestClient::builder, List.of(), new DefaultListableBeanFactory());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void create_CallsServiceThroughHttpInterface() {
+        // Arrange
+        GreetingClient client = factory.create(GreetingClient.class, "greeting-service", fallbackFactory());
+
+        // Act
+        ResponseEntity<String> response = client.greet("Ana");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Olá, Ana", response.getBody());
+        assertNull(fallbackCause.get());
+    }
+
+    @Test
+    void create_ServiceError_UsesFallbackFactory() {
+        // Arrange
+        GreetingClient client = factory.create(GreetingClient.class, "greeting-service", fallbackFactory());
+
+        // Act
+        ResponseEntity<String> response = client.greet("error");
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertInstanceOf(HttpServerErrorException.class, fallbackCause.get());
+    }
+
+    @Test
+    void create_AppliesRequestInterceptors() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("clinicsalon.clients.greeting-service.url", "http://localhost:" + server.getAddress().getPort());
+        ClientHttpRequestInterceptor identity = (request, body, execution) -> {
+            request.getHeaders().set("X-User-Name", "maria");
+            return execution.execute(request, body);
+        };
+        GreetingClient client = new HttpInterfaceClientFactory(environment, RestClient::builder, List.of(identity),
+                new DefaultListableBeanFactory()).create(GreetingClient.class, "greeting-service", fallbackFactory());
+
+        // Act
+        client.greet("Ana");
+
+        // Assert
+        assertEquals("maria", receivedUser.get());
+    }
+
+    private FallbackFactory<GreetingClient> fallbackFactory() {
+        return cause -> {
+            fallbackCause.set(cause);
+            return name -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        };
+    }
+
+    @HttpExchange("/api/greetings")
+    interface GreetingClient {
+
+        @GetExchange("/{name}")
+        ResponseEntity<String> greet(@PathVariable("name") String name);
+    }
+}
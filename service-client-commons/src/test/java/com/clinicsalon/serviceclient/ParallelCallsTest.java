@@ -0,0 +1,78 @@
+package com.clinicsalon.serviceclient;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelCallsTest {
+
+    @Test
+    void invokeAll_RunsEveryCallConcurrentlyAndKeepsOrder() {
+        // Arrange: cada chamada só termina quando todas estiverem em andamento
+        int calls = 500;
+        CountDownLatch allStarted = new CountDownLatch(calls);
+        List<Callable<Integer>> tasks = new ArrayList<>(calls);
+        for (int i = 0; i < calls; i++) {
+            int index = i;
+            tasks.add(() -> {
+                allStarted.countDown();
+                assertTrue(allStarted.await(10, TimeUnit.SECONDS));
+                return index;
+            });
+        }
+
+        // Act
+        List<Integer> results = ParallelCalls.invokeAll(tasks);
+
+        // Assert
+        assertEquals(calls, results.size());
+        for (int i = 0; i < calls; i++) {
+            assertEquals(i, results.get(i));
+        }
+    }
+
+    @Test
+    void invokeAll_PropagatesFailure() {
+        // Arrange
+        List<Callable<String>> tasks = List.of(
+                () -> "ok",
+                () -> {
+                    throw new IllegalStateException("falha");
+                });
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> ParallelCalls.invokeAll(tasks));
+        assertEquals("falha", exception.getMessage());
+    }
+
+    @Test
+    void invokeAll_PropagatesRequestAttributesToEveryCall() {
+        // Arrange
+        RequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        List<Callable<RequestAttributes>> tasks = List.of(
+                RequestContextHolder::getRequestAttributes,
+                RequestContextHolder::getRequestAttributes);
+
+        try {
+            // Act
+            List<RequestAttributes> results = ParallelCalls.invokeAll(tasks);
+
+            // Assert
+            assertSame(attributes, results.get(0));
+            assertSame(attributes, results.get(1));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
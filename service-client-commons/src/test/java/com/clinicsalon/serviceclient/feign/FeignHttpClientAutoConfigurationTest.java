@@ -0,0 +1,49 @@
+package com.clinicsalon.serviceclient.feign;
+
+import feign.Client;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.loadbalancer.config.BlockingLoadBalancerClientAutoConfiguration;
+import org.springframework.cloud.loadbalancer.config.LoadBalancerAutoConfiguration;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.FeignLoadBalancerAutoConfiguration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeignHttpClientAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    FeignHttpClientAutoConfiguration.class,
+                    LoadBalancerAutoConfiguration.class,
+                    BlockingLoadBalancerClientAutoConfiguration.class,
+                    FeignLoadBalancerAutoConfiguration.class))
+            // Conversão de "2s" para Duration, como no SpringApplication
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()));
+
+    @Test
+    void feignClient_WrapsPooledClientInLoadBalancer() {
+        contextRunner.run(context -> {
+            // Assert
+            Client client = context.getBean(Client.class);
+            assertInstanceOf(FeignBlockingLoadBalancerClient.class, client);
+            assertInstanceOf(PooledHttpClient5FeignClient.class, ((FeignBlockingLoadBalancerClient) client).getDelegate());
+            assertTrue(context.containsBean("feignConnectionPoolMetrics"));
+            assertNotNull(context.getBean(MeterBinder.class));
+        });
+    }
+
+    @Test
+    void feignClient_Disabled_KeepsDefaultTransport() {
+        contextRunner.withPropertyValues("clinicsalon.feign.http-client.enabled=false").run(context -> {
+            // Assert
+            Client client = context.getBean(Client.class);
+            assertInstanceOf(FeignBlockingLoadBalancerClient.class, client);
+            assertInstanceOf(Client.Default.class, ((FeignBlockingLoadBalancerClient) client).getDelegate());
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.clinicsalon.serviceclient.feign;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Body;
+import feign.Feign;
+import feign.Headers;
+import feign.Param;
+import feign.RequestLine;
+import feign.Target;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledHttpClient5FeignClientTest {
+
+    private HttpServer server;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private GreetingApi api;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/greetings/", exchange -> {
+            String name = exchange.getRequestURI().getPath().substring("/greetings/".length());
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(("Olá, " + name).getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/plain;charset=UTF-8");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, compressed.size());
+            exchange.getResponseBody().write(compressed.toByteArray());
+            exchange.close();
+        });
+        server.createContext("/echo", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", exchange.getRequestHeaders().getFirst("Content-Type"));
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        FeignHttpClientAutoConfiguration configuration = new FeignHttpClientAutoConfiguration();
+        connectionManager = configuration.feignConnectionManager(10, 5,
+                Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofSeconds(2));
+        httpClient = configuration.feignHttpClient(connectionManager, Duration.ofSeconds(30), Duration.ofSeconds(30), true);
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("clinicsalon.feign.http-client.targets.greeting-service.max-connections", "3");
+
+        api = Feign.builder()
+                .client(FeignHttpClientAutoConfiguration.pooledClient(httpClient, connectionManager, environment))
+                .target(new Target.HardCodedTarget<>(GreetingApi.class, "greeting-service",
+                        "http://localhost:" + server.getAddress().getPort()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void execute_DecompressesResponseAndSendsBody() {
+        // Act
+        String greeting = api.greet("Ana");
+        String echo = api.echo("Bruno");
+
+        // Assert
+        assertEquals("Olá, Ana", greeting);
+        assertEquals("{\"name\":\"Bruno\"}", echo);
+    }
+
+    @Test
+    void execute_ReusesConnectionsAndAppliesTargetLimit() {
+        // Act
+        api.greet("Ana");
+        api.greet("Bruno");
+
+        // Assert
+        PoolStats stats = connectionManager.getTotalStats();
+        assertEquals(0, stats.getLeased());
+        assertEquals(1, stats.getAvailable());
+        assertEquals(0.0, FeignHttpClientAutoConfiguration.saturation(connectionManager));
+
+        HttpRoute route = new HttpRoute(new HttpHost("http", "localhost", server.getAddress().getPort()), null, false);
+        assertEquals(3, connectionManager.getMaxPerRoute(route));
+    }
+
+    interface GreetingApi {
+
+        @RequestLine("GET /greetings/{name}")
+        String greet(@Param("name") String name);
+
+        @RequestLine("POST /echo")
+        @Headers("Content-Type: application/json")
+        @Body("%7B\"name\":\"{name}\"%7D")
+        String echo(@Param("name") String name);
+    }
+}